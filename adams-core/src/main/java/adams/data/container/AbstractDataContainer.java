@@ -15,7 +15,7 @@
 
 /*
  * DataContainer.java
- * Copyright (C) 2009-2013 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2009-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.container;
@@ -53,6 +53,9 @@ public abstract class AbstractDataContainer<T extends DataPoint>
   /** the unique ID. */
   protected long m_UUID;
 
+  /** the number of modifications. */
+  protected transient long m_ModificationCount;
+
   /**
    * Initializes the container.
    */
@@ -265,15 +268,40 @@ public abstract class AbstractDataContainer<T extends DataPoint>
    * Method that gets notified about changes in the collection of data points.
    * Just passes the modified state through.
    * <br><br>
-   * The default implementation only passes the value through.
+   * The default implementation increments the modification count if
+   * modified and passes the value through. Derived classes must call this
+   * method when overriding it.
    *
    * @param modified	whether the action modified the collection
    * @return		the same as the input
    */
   protected boolean modifiedListener(boolean modified) {
+    if (modified)
+      m_ModificationCount++;
     return modified;
   }
 
+  /**
+   * Notifies the container that one of its points got modified in place.
+   *
+   * @see		#getModificationCount()
+   */
+  public synchronized void pointModified() {
+    modifiedListener(true);
+  }
+
+  /**
+   * Returns the number of modifications so far, i.e., a counter that changes
+   * whenever points get added, removed or modified via their setters. Can be
+   * used for detecting whether data derived from the points is outdated.
+   * Modifications through the iterator are not counted.
+   *
+   * @return		the modification count
+   */
+  public synchronized long getModificationCount() {
+    return m_ModificationCount;
+  }
+
   /**
    * Removes all the points.
    */
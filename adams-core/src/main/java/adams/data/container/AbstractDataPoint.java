@@ -15,7 +15,7 @@
 
 /*
  * DataPoint.java
- * Copyright (C) 2009 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2009-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.container;
@@ -62,6 +62,17 @@ public abstract class AbstractDataPoint
     return (m_Parent != null);
   }
 
+  /**
+   * Notifies the parent (if any) that the point got modified in place.
+   * To be called by setters of derived classes.
+   *
+   * @see		AbstractDataContainer#pointModified()
+   */
+  protected void notifyParent() {
+    if (m_Parent instanceof AbstractDataContainer)
+      ((AbstractDataContainer) m_Parent).pointModified();
+  }
+
   /**
    * Compares this object with the specified object for order.  Returns a
    * negative integer, zero, or a positive integer as this object is less
@@ -15,7 +15,7 @@
 
 /**
  * AbstractFeatureConverter.java
- * Copyright (C) 2014 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.featureconverter;
 
@@ -197,4 +197,45 @@ public abstract class AbstractFeatureConverter<D,R>
     
     return doGenerateRow(data);
   }
+
+  /**
+   * Returns whether the converter can assemble rows into a single dataset.
+   * <br>
+   * Default implementation returns false.
+   *
+   * @return		true if supported
+   * @see		#generateDataset(List)
+   */
+  public boolean canGenerateDataset() {
+    return false;
+  }
+
+  /**
+   * Performs the actual assembly of the rows into a single dataset.
+   * Only gets called if {@link #canGenerateDataset()} returns true.
+   * <br>
+   * Default implementation returns null.
+   *
+   * @param rows	the rows generated with this converter
+   * @return		the dataset
+   */
+  protected D doGenerateDataset(List<R> rows) {
+    return null;
+  }
+
+  /**
+   * Assembles the rows into a single dataset, using the current header.
+   *
+   * @param rows	the rows generated with this converter
+   * @return		the dataset
+   * @see		#canGenerateDataset()
+   */
+  public D generateDataset(List<R> rows) {
+    if (!canGenerateDataset())
+      throw new IllegalStateException("Converter cannot generate datasets: " + getClass().getName());
+    if (m_Header == null)
+      throw new IllegalStateException("No header available! generatedHeader called?");
+
+    return doGenerateDataset(rows);
+  }
 }
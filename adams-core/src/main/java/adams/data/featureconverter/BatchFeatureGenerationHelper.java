@@ -0,0 +1,109 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * BatchFeatureGenerationHelper.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.featureconverter;
+
+import adams.core.Performance;
+import adams.multiprocess.ParallelJobs;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Helper for feature generators that process batches of data (images,
+ * timeseries, etc) in parallel and convert the generated rows with their
+ * feature converter.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class BatchFeatureGenerationHelper {
+
+  /**
+   * Generates the rows for the data in parallel and converts them
+   * sequentially, as converters share the header. The header of the
+   * converter must have been initialized already. The rows are returned in
+   * the order of the data.
+   *
+   * @param converter	the converter to use
+   * @param data	the data to process
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @param rows	generates the (post-processed) rows for a single data item
+   * @param copies	creates the row generation for a worker thread, eg using a copy of the generator
+   * @param <T>		the type of data
+   * @return		the converted rows
+   */
+  public static <T> Object[] generate(AbstractFeatureConverter converter, List<T> data, int numThreads, Function<T,List<Object>[]> rows, Supplier<Function<T,List<Object>[]>> copies) {
+    List<Object>				result;
+    List<List<Object>[]>			generated;
+    List<Callable<List<Object>[]>>		jobs;
+    final ThreadLocal<Function<T,List<Object>[]>>	threadRows;
+
+    if (data.isEmpty())
+      return (Object[]) Array.newInstance(converter.getRowFormat(), 0);
+
+    // generate features
+    generated  = new ArrayList<>();
+    numThreads = Performance.determineNumThreads(numThreads);
+    if ((numThreads < 2) || (data.size() < 2)) {
+      for (T item: data)
+	generated.add(rows.apply(item));
+    }
+    else {
+      // each thread uses its own copy of the generator
+      threadRows = ThreadLocal.withInitial(copies);
+      jobs       = new ArrayList<>();
+      for (final T item: data)
+	jobs.add(() -> threadRows.get().apply(item));
+      generated.addAll(ParallelJobs.invokeAll(jobs, numThreads, "Failed to generate features!"));
+    }
+
+    // convert rows (sequentially, as converters share the header)
+    result = new ArrayList<>();
+    for (List<Object>[] list: generated) {
+      for (List<Object> row: list)
+	result.add(converter.generateRow(row));
+    }
+
+    return result.toArray((Object[]) Array.newInstance(converter.getRowFormat(), result.size()));
+  }
+
+  /**
+   * Generates the rows for the data and assembles them into a single dataset.
+   *
+   * @param converter	the converter to use
+   * @param data	the data to process
+   * @param generate	generates the converted rows for the data, eg in parallel
+   * @param <T>		the type of data
+   * @return		the dataset
+   * @see		AbstractFeatureConverter#canGenerateDataset()
+   */
+  public static <T> Object generateDataset(AbstractFeatureConverter converter, List<T> data, Function<List<T>,Object[]> generate) {
+    if (!converter.canGenerateDataset())
+      throw new IllegalStateException("Converter cannot generate datasets: " + converter.getClass().getName());
+    if (data.isEmpty())
+      throw new IllegalStateException("No data provided!");
+
+    return converter.generateDataset(Arrays.asList(generate.apply(data)));
+  }
+}
@@ -15,7 +15,7 @@
 
 /**
  * AbstractImageContainer.java
- * Copyright (C) 2012-2016 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2012-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.image;
 
@@ -25,6 +25,12 @@ import java.awt.image.BufferedImage;
 
 /**
  * Ancestor for various image format containers.
+ * <br><br>
+ * Supports copy-on-write: containers obtained via {@link #getCopyOnWriteClone()}
+ * share the image with the original container, which must not be modified
+ * while the clone is in use. Code that wants to modify the image of such a
+ * clone has to obtain it via {@link #getWritableImage()}, which creates a
+ * copy of the image the first time it is called.
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
  * @version $Revision$
@@ -46,6 +52,66 @@ public abstract class AbstractImageContainer<T>
   /** the field for the name. */
   public final static String FIELD_NAME = "Name";
 
+  /** whether the content is shared with other containers. */
+  protected transient boolean m_SharedContent;
+
+  /**
+   * Sets the content to use.
+   *
+   * @param value	the content
+   */
+  @Override
+  public void setContent(T value) {
+    super.setContent(value);
+    m_SharedContent = false;
+  }
+
+  /**
+   * Returns whether the image is shared with other containers, i.e., it
+   * must not be modified directly.
+   *
+   * @return		true if shared
+   * @see		#getWritableImage()
+   */
+  public boolean isContentShared() {
+    return m_SharedContent;
+  }
+
+  /**
+   * Returns a clone of the container that shares the image with this
+   * container. Report and notes get copied. The clone creates a copy of
+   * the image when calling {@link #getWritableImage()}. This container
+   * is left untouched, i.e., its image must not be modified while the
+   * clone is in use.
+   *
+   * @return		the clone
+   */
+  public synchronized AbstractImageContainer<T> getCopyOnWriteClone() {
+    AbstractImageContainer<T>	result;
+
+    result = (AbstractImageContainer<T>) getHeader();
+    if (m_Content != null) {
+      result.m_Content       = m_Content;
+      result.m_SharedContent = true;
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the image for modification. If the image is shared with other
+   * containers, a copy gets created first.
+   *
+   * @return		the image that can be modified
+   */
+  public synchronized T getWritableImage() {
+    if (m_SharedContent && (m_Content != null)) {
+      m_Content       = cloneContent();
+      m_SharedContent = false;
+    }
+    return m_Content;
+  }
+
   /**
    * Sets the image to use.
    *
@@ -56,7 +122,9 @@ public abstract class AbstractImageContainer<T>
   }
 
   /**
-   * Returns the store image.
+   * Returns the stored image, for reading only. The image must not be
+   * modified, as it can be shared with other containers and data derived
+   * from it may be cached. Use {@link #getWritableImage()} instead.
    *
    * @return		the image
    */
@@ -15,7 +15,7 @@
 
 /*
  * AbstractImageTransformer.java
- * Copyright (C) 2012-2016 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2012-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image;
@@ -24,11 +24,19 @@ import adams.core.CleanUpHandler;
 import adams.core.QuickInfoSupporter;
 import adams.core.option.AbstractOptionHandler;
 import adams.core.option.OptionUtils;
+import adams.data.InPlaceProcessing;
 import adams.flow.core.Actor;
 import adams.flow.core.FlowContextHandler;
 
 /**
  * Abstract base class for AbstractImage transformations.
+ * <br><br>
+ * By default, the image gets copied before it is handed to
+ * {@link #doTransform(AbstractImageContainer)}. Transformers that only read
+ * the image (or obtain it via {@link AbstractImageContainer#getWritableImage()}
+ * when modifying it) can return true in {@link #supportsCopyOnWrite()} to
+ * avoid the copy. Transformers implementing {@link InPlaceProcessing} receive
+ * the original container when no copy is requested.
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
  * @version $Revision$
@@ -95,11 +103,45 @@ public abstract class AbstractImageTransformer<T extends AbstractImageContainer>
       throw new IllegalStateException("No image provided!");
   }
 
+  /**
+   * Returns whether the transformer supports copy-on-write, i.e., it never
+   * modifies the image of the container passed to
+   * {@link #doTransform(AbstractImageContainer)}, other than the one obtained
+   * via {@link AbstractImageContainer#getWritableImage()}.
+   * <br><br>
+   * Default implementation returns false.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  protected boolean supportsCopyOnWrite() {
+    return false;
+  }
+
+  /**
+   * Prepares the image for {@link #doTransform(AbstractImageContainer)}:
+   * returns the image itself for in-place processing, a copy-on-write clone
+   * if supported and a full copy otherwise.
+   *
+   * @param img		the image to prepare
+   * @return		the image to transform
+   * @see		#supportsCopyOnWrite()
+   */
+  protected T prepareImage(T img) {
+    if ((this instanceof InPlaceProcessing) && ((InPlaceProcessing) this).getNoCopy())
+      return img;
+    else if (supportsCopyOnWrite())
+      return (T) img.getCopyOnWriteClone();
+    else
+      return (T) img.getClone();
+  }
+
   /**
    * Performs the actual transforming of the image.
    *
-   * @param img		the image to transform (can be modified, since it is a copy)
+   * @param img		the image to transform (can be modified if a copy,
+   * 			otherwise use {@link AbstractImageContainer#getWritableImage()})
    * @return		the generated image(s)
+   * @see		#prepareImage(AbstractImageContainer)
    */
   protected abstract T[] doTransform(T img);
 
@@ -111,12 +153,20 @@ public abstract class AbstractImageTransformer<T extends AbstractImageContainer>
    */
   public T[] transform(T img) {
     T[]		result;
+    T		input;
     int		i;
 
     checkImage(img);
-    result = doTransform((T) img.getClone());
-    for (i = 0; i < result.length; i++)
+    input  = prepareImage(img);
+    result = doTransform(input);
+    for (i = 0; i < result.length; i++) {
+      // output must not share the image with the caller's container
+      if (input.isContentShared() && (result[i].getContent() == img.getContent())) {
+	result[i].m_SharedContent = true;
+	result[i].getWritableImage();
+      }
       result[i].getNotes().addProcessInformation(this);
+    }
 
     return result;
   }
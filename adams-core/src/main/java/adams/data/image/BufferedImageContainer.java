@@ -15,7 +15,7 @@
 
 /**
  * BufferedImageContainer.java
- * Copyright (C) 2012-2014 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2012-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.image;
 
@@ -33,6 +33,9 @@ public class BufferedImageContainer
   /** for serialization. */
   private static final long serialVersionUID = 740331649074560705L;
 
+  /** the integral image (summed-area tables) of the image. */
+  protected transient IntegralImage m_IntegralImage;
+
   /**
    * Returns the width of the image.
    * 
@@ -70,7 +73,58 @@ public class BufferedImageContainer
   }
 
   /**
-   * Turns the image into a buffered image.
+   * Returns bulk access to the pixels of the image, for reading only.
+   * Use {@link #getWritablePixelAccess()} for modifying pixels.
+   *
+   * @return		the pixel access
+   */
+  public BufferedImagePixels getPixelAccess() {
+    return new BufferedImagePixels(m_Content);
+  }
+
+  /**
+   * Returns bulk access to the pixels of the image, for reading and writing.
+   * A shared image gets copied first.
+   *
+   * @return		the pixel access
+   * @see		#getWritableImage()
+   */
+  public BufferedImagePixels getWritablePixelAccess() {
+    return new BufferedImagePixels(getWritableImage());
+  }
+
+  /**
+   * Returns the integral image (summed-area tables) for region statistics.
+   * The integral image gets computed once and is kept with the container,
+   * until a different image gets set or the image gets modified via
+   * {@link #getWritableImage()} or {@link #getWritablePixelAccess()}.
+   * Modifications of the image obtained via {@link #getImage()},
+   * {@link #toBufferedImage()} or {@link #getPixelAccess()} are not detected,
+   * as these images must not be modified.
+   *
+   * @return		the integral image
+   */
+  public synchronized IntegralImage getIntegralImage() {
+    if ((m_IntegralImage == null) || (m_IntegralImage.getImage() != m_Content))
+      m_IntegralImage = new IntegralImage(m_Content);
+    return m_IntegralImage;
+  }
+
+  /**
+   * Returns the image for modification. If the image is shared with other
+   * containers, a copy gets created first.
+   *
+   * @return		the image that can be modified
+   */
+  @Override
+  public synchronized BufferedImage getWritableImage() {
+    m_IntegralImage = null;
+    return super.getWritableImage();
+  }
+
+  /**
+   * Turns the image into a buffered image. The image must not be modified,
+   * use {@link #getWritableImage()} instead.
    * 
    * @return		the buffered image
    */
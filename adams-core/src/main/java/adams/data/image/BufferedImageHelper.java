@@ -15,7 +15,7 @@
 
 /*
  * BufferedImageHelper.java
- * Copyright (C) 2011-2020 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2011-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.image;
 
@@ -40,6 +40,7 @@ import java.awt.image.ColorModel;
 import java.awt.image.WritableRaster;
 import java.io.File;
 import java.io.FileInputStream;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 
@@ -93,21 +94,7 @@ public class BufferedImageHelper {
    * @see		BufferedImage#getRGB(int, int)
    */
   public static int[] getPixels(BufferedImage img) {
-    int[]	result;
-    int		y;
-    int		x;
-    int		i;
-
-    result = new int[img.getWidth() * img.getHeight()];
-    i      = 0;
-    for (y = 0; y < img.getHeight(); y++) {
-      for (x = 0; x < img.getWidth(); x++) {
-	result[i] = img.getRGB(x, y);
-	i++;
-      }
-    }
-
-    return result;
+    return new BufferedImagePixels(img).toARGB();
   }
 
   /**
@@ -118,12 +105,7 @@ public class BufferedImageHelper {
    * @see		BufferedImage#getRGB(int, int)
    */
   public static IntArrayMatrixView getPixelMatrix(BufferedImage img) {
-    int[]	data;
-    
-    data = new int[img.getWidth() * img.getHeight()];
-    img.getRGB(0, 0, img.getWidth(), img.getHeight(), data, 0, img.getWidth());
-    
-    return new IntArrayMatrixView(data, img.getWidth(), img.getHeight());
+    return new IntArrayMatrixView(getPixels(img), img.getWidth(), img.getHeight());
   }
 
   /**
@@ -177,22 +159,18 @@ public class BufferedImageHelper {
    */
   public static int[][] getRGBPixels(BufferedImage img) {
     int[][]	result;
-    int		y;
-    int		x;
+    int[]	pixels;
     int		i;
     int		pixel;
 
-    result = new int[img.getWidth() * img.getHeight()][4];
-    i      = 0;
-    for (y = 0; y < img.getHeight(); y++) {
-      for (x = 0; x < img.getWidth(); x++) {
-	pixel = img.getRGB(x, y);
-	result[i][0] = (pixel >> 16) & 0xFF;  // R
-	result[i][1] = (pixel >>  8) & 0xFF;  // G
-	result[i][2] = (pixel >>  0) & 0xFF;  // B
-	result[i][3] = (pixel >> 24) & 0xFF;  // A
-	i++;
-      }
+    pixels = getPixels(img);
+    result = new int[pixels.length][4];
+    for (i = 0; i < pixels.length; i++) {
+      pixel = pixels[i];
+      result[i][0] = (pixel >> 16) & 0xFF;  // R
+      result[i][1] = (pixel >>  8) & 0xFF;  // G
+      result[i][2] = (pixel >>  0) & 0xFF;  // B
+      result[i][3] = (pixel >> 24) & 0xFF;  // A
     }
 
     return result;
@@ -207,14 +185,13 @@ public class BufferedImageHelper {
    */
   public static int[][] getPixelRaster(BufferedImage img) {
     int[][]	result;
+    int[]	pixels;
     int		y;
-    int		x;
 
-    result = new int[img.getHeight()][img.getWidth()];
-    for (y = 0; y < img.getHeight(); y++) {
-      for (x = 0; x < img.getWidth(); x++)
-	result[y][x] = img.getRGB(x, y);
-    }
+    pixels = getPixels(img);
+    result = new int[img.getHeight()][];
+    for (y = 0; y < img.getHeight(); y++)
+      result[y] = Arrays.copyOfRange(pixels, y * img.getWidth(), (y + 1) * img.getWidth());
 
     return result;
   }
@@ -575,39 +552,25 @@ public class BufferedImageHelper {
    */
   public static int[][] histogram(BufferedImage img, boolean gray) {
     int[][]	result;
-    int		width;
-    int		height;
-    int		x;
-    int		y;
-    int[]	split;
+    int[]	pixels;
+    int		pixel;
     int		i;
     
     if (gray) {
       result = new int[1][256];
-      img    = convert(img, BufferedImage.TYPE_BYTE_GRAY);
-      height = img.getHeight();
-      width  = img.getWidth();
-      split  = new int[1];
-
-      for (y = 0; y < height; y++) {
-	for (x = 0; x < width; x++) {
-	  split[0] = (img.getRGB(x, y) >> 8) & 0xFF;
-	  result[0][split[0]]++;
-	}
-      }
+      pixels = getPixels(convert(img, BufferedImage.TYPE_BYTE_GRAY));
+      for (i = 0; i < pixels.length; i++)
+	result[0][(pixels[i] >> 8) & 0xFF]++;
     }
     else {
       result = new int[4][256];
-      img    = convert(img, BufferedImage.TYPE_4BYTE_ABGR);
-      height = img.getHeight();
-      width  = img.getWidth();
-
-      for (y = 0; y < height; y++) {
-	for (x = 0; x < width; x++) {
-	  split = split(img.getRGB(x, y));
-	  for (i = 0; i < split.length; i++)
-	    result[i][split[i]]++;
-	}
+      pixels = getPixels(convert(img, BufferedImage.TYPE_4BYTE_ABGR));
+      for (i = 0; i < pixels.length; i++) {
+	pixel = pixels[i];
+	result[0][(pixel >> 16) & 0xFF]++;  // R
+	result[1][(pixel >>  8) & 0xFF]++;  // G
+	result[2][pixel & 0xFF]++;          // B
+	result[3][(pixel >> 24) & 0xFF]++;  // A
       }
     }
     
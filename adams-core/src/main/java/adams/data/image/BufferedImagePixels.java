@@ -0,0 +1,548 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * BufferedImagePixels.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.image;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+
+/**
+ * Bulk access to the pixels of a {@link BufferedImage}, using the packed
+ * ARGB representation of {@link BufferedImage#getRGB(int, int)}.
+ * <br><br>
+ * For the common types (INT_RGB, INT_ARGB, 3BYTE_BGR and 4BYTE_ABGR) the
+ * backing arrays of the raster are accessed directly, bypassing the color
+ * model. All other types (e.g., gray or indexed images) fall back on the
+ * bulk getRGB/setRGB methods of the image. In either case, the values are
+ * the same as the ones of {@link BufferedImage#getRGB(int, int)}.
+ * <br><br>
+ * Pixels are addressed either via x/y or via their row-wise index.
+ * Per-channel views can be obtained via {@link #channel(int)}.
+ * <br><br>
+ * NB: direct access to the data buffer prevents the image from being
+ * accelerated by Java2D.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class BufferedImagePixels {
+
+  /**
+   * The supported memory layouts.
+   */
+  public enum Layout {
+    /** packed int, no alpha. */
+    INT_RGB,
+    /** packed int, with alpha. */
+    INT_ARGB,
+    /** interleaved bytes: blue, green, red. */
+    BYTE_BGR,
+    /** interleaved bytes: alpha, blue, green, red. */
+    BYTE_ABGR,
+    /** any other layout, accessed via getRGB/setRGB. */
+    GENERIC
+  }
+
+  /** the red channel. */
+  public final static int RED = 0;
+
+  /** the green channel. */
+  public final static int GREEN = 1;
+
+  /** the blue channel. */
+  public final static int BLUE = 2;
+
+  /** the alpha channel. */
+  public final static int ALPHA = 3;
+
+  /** the opaque alpha mask. */
+  protected final static int OPAQUE = 0xFF000000;
+
+  /** the underlying image. */
+  protected BufferedImage m_Image;
+
+  /** the width. */
+  protected int m_Width;
+
+  /** the height. */
+  protected int m_Height;
+
+  /** the layout. */
+  protected Layout m_Layout;
+
+  /** the backing int array (INT layouts). */
+  protected int[] m_Ints;
+
+  /** the backing byte array (BYTE layouts). */
+  protected byte[] m_Bytes;
+
+  /**
+   * Initializes the pixel access.
+   *
+   * @param img		the image to access
+   */
+  public BufferedImagePixels(BufferedImage img) {
+    if (img == null)
+      throw new IllegalArgumentException("No image provided!");
+
+    m_Image  = img;
+    m_Width  = img.getWidth();
+    m_Height = img.getHeight();
+    m_Layout = determineLayout(img);
+    switch (m_Layout) {
+      case INT_RGB:
+      case INT_ARGB:
+	m_Ints = ((DataBufferInt) img.getRaster().getDataBuffer()).getData();
+	break;
+      case BYTE_BGR:
+      case BYTE_ABGR:
+	m_Bytes = ((DataBufferByte) img.getRaster().getDataBuffer()).getData();
+	break;
+    }
+  }
+
+  /**
+   * Determines the layout of the image. Only images whose raster is not a
+   * sub-raster (e.g., from {@link BufferedImage#getSubimage(int, int, int, int)})
+   * can be accessed directly.
+   *
+   * @param img		the image to inspect
+   * @return		the layout
+   */
+  protected static Layout determineLayout(BufferedImage img) {
+    WritableRaster	raster;
+    DataBuffer		buffer;
+    SampleModel		model;
+    int			bands;
+
+    raster = img.getRaster();
+    buffer = raster.getDataBuffer();
+    model  = raster.getSampleModel();
+
+    if ((raster.getSampleModelTranslateX() != 0) || (raster.getSampleModelTranslateY() != 0))
+      return Layout.GENERIC;
+    if ((buffer.getNumBanks() != 1) || (buffer.getOffset() != 0))
+      return Layout.GENERIC;
+
+    switch (img.getType()) {
+      case BufferedImage.TYPE_INT_RGB:
+      case BufferedImage.TYPE_INT_ARGB:
+	if (!(buffer instanceof DataBufferInt) || !(model instanceof SinglePixelPackedSampleModel))
+	  return Layout.GENERIC;
+	if (((SinglePixelPackedSampleModel) model).getScanlineStride() != img.getWidth())
+	  return Layout.GENERIC;
+	return (img.getType() == BufferedImage.TYPE_INT_RGB) ? Layout.INT_RGB : Layout.INT_ARGB;
+
+      case BufferedImage.TYPE_3BYTE_BGR:
+      case BufferedImage.TYPE_4BYTE_ABGR:
+	bands = (img.getType() == BufferedImage.TYPE_3BYTE_BGR) ? 3 : 4;
+	if (!(buffer instanceof DataBufferByte) || !(model instanceof ComponentSampleModel))
+	  return Layout.GENERIC;
+	if (((ComponentSampleModel) model).getPixelStride() != bands)
+	  return Layout.GENERIC;
+	if (((ComponentSampleModel) model).getScanlineStride() != img.getWidth() * bands)
+	  return Layout.GENERIC;
+	return (bands == 3) ? Layout.BYTE_BGR : Layout.BYTE_ABGR;
+
+      default:
+	return Layout.GENERIC;
+    }
+  }
+
+  /**
+   * Returns the underlying image.
+   *
+   * @return		the image
+   */
+  public BufferedImage getImage() {
+    return m_Image;
+  }
+
+  /**
+   * Returns the width of the image.
+   *
+   * @return		the width
+   */
+  public int getWidth() {
+    return m_Width;
+  }
+
+  /**
+   * Returns the height of the image.
+   *
+   * @return		the height
+   */
+  public int getHeight() {
+    return m_Height;
+  }
+
+  /**
+   * Returns the number of pixels.
+   *
+   * @return		the number of pixels
+   */
+  public int size() {
+    return m_Width * m_Height;
+  }
+
+  /**
+   * Returns the layout in use.
+   *
+   * @return		the layout
+   */
+  public Layout getLayout() {
+    return m_Layout;
+  }
+
+  /**
+   * Returns whether the backing array gets accessed directly.
+   *
+   * @return		true if direct access
+   */
+  public boolean isDirect() {
+    return (m_Layout != Layout.GENERIC);
+  }
+
+  /**
+   * Returns the ARGB value of the pixel at the specified location.
+   *
+   * @param x		the x coordinate
+   * @param y		the y coordinate
+   * @return		the ARGB value
+   */
+  public int getARGB(int x, int y) {
+    if (m_Layout == Layout.GENERIC)
+      return m_Image.getRGB(x, y);
+    return get(y * m_Width + x);
+  }
+
+  /**
+   * Returns the ARGB value of the pixel with the specified row-wise index.
+   *
+   * @param index	the pixel index
+   * @return		the ARGB value
+   */
+  public int get(int index) {
+    int		offset;
+
+    switch (m_Layout) {
+      case INT_RGB:
+	return m_Ints[index] | OPAQUE;
+      case INT_ARGB:
+	return m_Ints[index];
+      case BYTE_BGR:
+	offset = index * 3;
+	return OPAQUE
+	  | ((m_Bytes[offset + 2] & 0xFF) << 16)
+	  | ((m_Bytes[offset + 1] & 0xFF) << 8)
+	  | (m_Bytes[offset] & 0xFF);
+      case BYTE_ABGR:
+	offset = index * 4;
+	return ((m_Bytes[offset] & 0xFF) << 24)
+	  | ((m_Bytes[offset + 3] & 0xFF) << 16)
+	  | ((m_Bytes[offset + 2] & 0xFF) << 8)
+	  | (m_Bytes[offset + 1] & 0xFF);
+      default:
+	return m_Image.getRGB(index % m_Width, index / m_Width);
+    }
+  }
+
+  /**
+   * Sets the ARGB value of the pixel at the specified location.
+   *
+   * @param x		the x coordinate
+   * @param y		the y coordinate
+   * @param argb	the ARGB value
+   */
+  public void setARGB(int x, int y, int argb) {
+    if (m_Layout == Layout.GENERIC)
+      m_Image.setRGB(x, y, argb);
+    else
+      set(y * m_Width + x, argb);
+  }
+
+  /**
+   * Sets the ARGB value of the pixel with the specified row-wise index.
+   *
+   * @param index	the pixel index
+   * @param argb	the ARGB value
+   */
+  public void set(int index, int argb) {
+    int		offset;
+
+    switch (m_Layout) {
+      case INT_RGB:
+	m_Ints[index] = argb & 0x00FFFFFF;
+	break;
+      case INT_ARGB:
+	m_Ints[index] = argb;
+	break;
+      case BYTE_BGR:
+	offset = index * 3;
+	m_Bytes[offset]     = (byte) argb;
+	m_Bytes[offset + 1] = (byte) (argb >> 8);
+	m_Bytes[offset + 2] = (byte) (argb >> 16);
+	break;
+      case BYTE_ABGR:
+	offset = index * 4;
+	m_Bytes[offset]     = (byte) (argb >> 24);
+	m_Bytes[offset + 1] = (byte) argb;
+	m_Bytes[offset + 2] = (byte) (argb >> 8);
+	m_Bytes[offset + 3] = (byte) (argb >> 16);
+	break;
+      default:
+	m_Image.setRGB(index % m_Width, index / m_Width, argb);
+    }
+  }
+
+  /**
+   * Returns all pixels as ARGB values (row-wise).
+   *
+   * @return		the pixels
+   */
+  public int[] toARGB() {
+    return toARGB(null);
+  }
+
+  /**
+   * Returns all pixels as ARGB values (row-wise).
+   *
+   * @param buffer	the array to fill, gets allocated if null or too small
+   * @return		the pixels
+   */
+  public int[] toARGB(int[] buffer) {
+    int		i;
+    int		n;
+
+    n = size();
+    if ((buffer == null) || (buffer.length < n))
+      buffer = new int[n];
+
+    switch (m_Layout) {
+      case INT_ARGB:
+	System.arraycopy(m_Ints, 0, buffer, 0, n);
+	break;
+      case GENERIC:
+	m_Image.getRGB(0, 0, m_Width, m_Height, buffer, 0, m_Width);
+	break;
+      default:
+	for (i = 0; i < n; i++)
+	  buffer[i] = get(i);
+    }
+
+    return buffer;
+  }
+
+  /**
+   * Sets all pixels from the ARGB values (row-wise).
+   *
+   * @param pixels	the pixels
+   */
+  public void fromARGB(int[] pixels) {
+    int		i;
+    int		n;
+
+    n = size();
+    if (pixels.length < n)
+      throw new IllegalArgumentException("Expected at least " + n + " pixels, but got: " + pixels.length);
+
+    switch (m_Layout) {
+      case INT_ARGB:
+	System.arraycopy(pixels, 0, m_Ints, 0, n);
+	break;
+      case GENERIC:
+	m_Image.setRGB(0, 0, m_Width, m_Height, pixels, 0, m_Width);
+	break;
+      default:
+	for (i = 0; i < n; i++)
+	  set(i, pixels[i]);
+    }
+  }
+
+  /**
+   * Returns the value of the channel of the specified pixel.
+   *
+   * @param index	the pixel index
+   * @param channel	the channel (RED, GREEN, BLUE, ALPHA)
+   * @return		the value (0-255)
+   */
+  public int getChannel(int index, int channel) {
+    return (get(index) >> shift(channel)) & 0xFF;
+  }
+
+  /**
+   * Returns the values of the channel as array (row-wise).
+   *
+   * @param channel	the channel (RED, GREEN, BLUE, ALPHA)
+   * @return		the values (0-255)
+   */
+  public int[] getChannel(int channel) {
+    int[]	result;
+    int		i;
+    int		shift;
+
+    result = toARGB();
+    shift  = shift(channel);
+    for (i = 0; i < result.length; i++)
+      result[i] = (result[i] >> shift) & 0xFF;
+
+    return result;
+  }
+
+  /**
+   * Returns the bit shift for the channel in the ARGB value.
+   *
+   * @param channel	the channel (RED, GREEN, BLUE, ALPHA)
+   * @return		the shift
+   */
+  protected static int shift(int channel) {
+    switch (channel) {
+      case RED:
+	return 16;
+      case GREEN:
+	return 8;
+      case BLUE:
+	return 0;
+      case ALPHA:
+	return 24;
+      default:
+	throw new IllegalArgumentException("Unknown channel: " + channel);
+    }
+  }
+
+  /**
+   * Returns a view on the specified channel.
+   *
+   * @param channel	the channel (RED, GREEN, BLUE, ALPHA)
+   * @return		the view
+   */
+  public ChannelView channel(int channel) {
+    return new ChannelView(this, channel);
+  }
+
+  /**
+   * View on a single channel of the pixels, reading and writing values
+   * in the range 0-255.
+   */
+  public static class ChannelView {
+
+    /** the owning pixel access. */
+    protected BufferedImagePixels m_Owner;
+
+    /** the channel. */
+    protected int m_Channel;
+
+    /** the bit shift. */
+    protected int m_Shift;
+
+    /** the byte offset within a pixel (BYTE layouts), -1 if not present. */
+    protected int m_ByteOffset;
+
+    /**
+     * Initializes the view.
+     *
+     * @param owner	the owning pixel access
+     * @param channel	the channel (RED, GREEN, BLUE, ALPHA)
+     */
+    protected ChannelView(BufferedImagePixels owner, int channel) {
+      m_Owner      = owner;
+      m_Channel    = channel;
+      m_Shift      = shift(channel);
+      m_ByteOffset = -1;
+      switch (owner.getLayout()) {
+	case BYTE_BGR:
+	  if (channel != ALPHA)
+	    m_ByteOffset = 2 - channel;
+	  break;
+	case BYTE_ABGR:
+	  m_ByteOffset = (channel == ALPHA) ? 0 : 3 - channel;
+	  break;
+      }
+    }
+
+    /**
+     * Returns the channel of this view.
+     *
+     * @return		the channel
+     */
+    public int getChannel() {
+      return m_Channel;
+    }
+
+    /**
+     * Returns the channel value of the pixel with the specified index.
+     *
+     * @param index	the pixel index
+     * @return		the value (0-255)
+     */
+    public int get(int index) {
+      if (m_ByteOffset > -1)
+	return m_Owner.m_Bytes[index * (m_Owner.m_Layout == Layout.BYTE_BGR ? 3 : 4) + m_ByteOffset] & 0xFF;
+      return (m_Owner.get(index) >> m_Shift) & 0xFF;
+    }
+
+    /**
+     * Returns the channel value of the pixel at the specified location.
+     *
+     * @param x		the x coordinate
+     * @param y		the y coordinate
+     * @return		the value (0-255)
+     */
+    public int get(int x, int y) {
+      if (m_Owner.m_Layout == Layout.GENERIC)
+	return (m_Owner.getARGB(x, y) >> m_Shift) & 0xFF;
+      return get(y * m_Owner.m_Width + x);
+    }
+
+    /**
+     * Sets the channel value of the pixel with the specified index.
+     *
+     * @param index	the pixel index
+     * @param value	the value (0-255)
+     */
+    public void set(int index, int value) {
+      int	argb;
+
+      if (m_ByteOffset > -1) {
+	m_Owner.m_Bytes[index * (m_Owner.m_Layout == Layout.BYTE_BGR ? 3 : 4) + m_ByteOffset] = (byte) value;
+      }
+      else {
+	argb = m_Owner.get(index);
+	argb = (argb & ~(0xFF << m_Shift)) | ((value & 0xFF) << m_Shift);
+	m_Owner.set(index, argb);
+      }
+    }
+
+    /**
+     * Sets the channel value of the pixel at the specified location.
+     *
+     * @param x		the x coordinate
+     * @param y		the y coordinate
+     * @param value	the value (0-255)
+     */
+    public void set(int x, int y, int value) {
+      set(y * m_Owner.m_Width + x, value);
+    }
+  }
+}
@@ -0,0 +1,422 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * IntegralImage.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.image;
+
+import adams.core.LRUCache;
+
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Summed-area tables for a {@link BufferedImage}, allowing the sum, mean and
+ * standard deviation of a channel or the number of pixels with a certain
+ * color (label) to be determined for any rectangular region in constant
+ * time.
+ * <br>
+ * The tables get computed lazily, per channel and per label, when they are
+ * queried for the first time. Regions get clipped to the image bounds.
+ * As every label requires a table the size of the image, only the count
+ * tables of the most recently queried labels are kept.
+ * <br>
+ * The integral image is a snapshot, changes to the image after the tables
+ * were computed are not reflected.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class IntegralImage {
+
+  /**
+   * The channels.
+   */
+  public enum Channel {
+    RED(16),
+    GREEN(8),
+    BLUE(0),
+    ALPHA(24);
+
+    /** the bit shift for the ARGB value. */
+    private final int m_Shift;
+
+    /**
+     * Initializes the channel.
+     *
+     * @param shift	the bit shift
+     */
+    Channel(int shift) {
+      m_Shift = shift;
+    }
+
+    /**
+     * Returns the channel value of the ARGB value.
+     *
+     * @param argb	the ARGB value
+     * @return		the channel value (0-255)
+     */
+    public int get(int argb) {
+      return (argb >> m_Shift) & 0xFF;
+    }
+  }
+
+  /** the default maximum number of count tables to keep. */
+  public static final int DEFAULT_MAX_COUNTS = 16;
+
+  /** the underlying image. */
+  protected BufferedImage m_Image;
+
+  /** the width of the image. */
+  protected int m_Width;
+
+  /** the height of the image. */
+  protected int m_Height;
+
+  /** the ARGB pixels (obtained on demand). */
+  protected int[] m_Pixels;
+
+  /** the sum tables (channel - table). */
+  protected Map<Channel,long[]> m_Sums;
+
+  /** the tables for the sums of squares (channel - table). */
+  protected Map<Channel,long[]> m_SumSquares;
+
+  /** the count tables (RGB - table), least recently used ones get dropped. */
+  protected LRUCache<Integer,int[]> m_Counts;
+
+  /**
+   * Initializes the integral image, keeping at most
+   * {@link #DEFAULT_MAX_COUNTS} count tables.
+   *
+   * @param image	the image to compute the tables for
+   */
+  public IntegralImage(BufferedImage image) {
+    this(image, DEFAULT_MAX_COUNTS);
+  }
+
+  /**
+   * Initializes the integral image.
+   *
+   * @param image	the image to compute the tables for
+   * @param maxCounts	the maximum number of count tables to keep (at least 1)
+   */
+  public IntegralImage(BufferedImage image, int maxCounts) {
+    m_Image      = image;
+    m_Width      = image.getWidth();
+    m_Height     = image.getHeight();
+    m_Sums       = new HashMap<>();
+    m_SumSquares = new HashMap<>();
+    m_Counts     = new LRUCache<>(Math.max(1, maxCounts));
+  }
+
+  /**
+   * Returns the number of count tables currently kept.
+   *
+   * @return		the number of tables
+   */
+  public synchronized int numCounts() {
+    return m_Counts.sizeUsed();
+  }
+
+  /**
+   * Returns the underlying image.
+   *
+   * @return		the image
+   */
+  public BufferedImage getImage() {
+    return m_Image;
+  }
+
+  /**
+   * Returns the width of the image.
+   *
+   * @return		the width
+   */
+  public int getWidth() {
+    return m_Width;
+  }
+
+  /**
+   * Returns the height of the image.
+   *
+   * @return		the height
+   */
+  public int getHeight() {
+    return m_Height;
+  }
+
+  /**
+   * Returns the ARGB pixels of the image.
+   *
+   * @return		the pixels
+   */
+  protected int[] getPixels() {
+    if (m_Pixels == null)
+      m_Pixels = new BufferedImagePixels(m_Image).toARGB();
+    return m_Pixels;
+  }
+
+  /**
+   * Computes the sum tables for the channel.
+   *
+   * @param channel	the channel to compute the tables for
+   */
+  protected void computeSums(Channel channel) {
+    int[]	pixels;
+    long[]	sums;
+    long[]	squares;
+    int		x;
+    int		y;
+    int		value;
+    long	rowSum;
+    long	rowSquares;
+    int		stride;
+
+    pixels  = getPixels();
+    stride  = m_Width + 1;
+    sums    = new long[stride * (m_Height + 1)];
+    squares = new long[stride * (m_Height + 1)];
+    for (y = 0; y < m_Height; y++) {
+      rowSum     = 0;
+      rowSquares = 0;
+      for (x = 0; x < m_Width; x++) {
+	value       = channel.get(pixels[y * m_Width + x]);
+	rowSum     += value;
+	rowSquares += value * value;
+	sums[(y + 1) * stride + x + 1]    = sums[y * stride + x + 1] + rowSum;
+	squares[(y + 1) * stride + x + 1] = squares[y * stride + x + 1] + rowSquares;
+      }
+    }
+
+    m_Sums.put(channel, sums);
+    m_SumSquares.put(channel, squares);
+  }
+
+  /**
+   * Computes the count table for the color.
+   *
+   * @param rgb		the RGB value (alpha gets ignored)
+   * @return		the table
+   */
+  protected int[] computeCounts(int rgb) {
+    int[]	pixels;
+    int[]	counts;
+    int		x;
+    int		y;
+    int		rowCount;
+    int		stride;
+
+    pixels = getPixels();
+    stride = m_Width + 1;
+    counts = new int[stride * (m_Height + 1)];
+    for (y = 0; y < m_Height; y++) {
+      rowCount = 0;
+      for (x = 0; x < m_Width; x++) {
+	if ((pixels[y * m_Width + x] & 0x00FFFFFF) == rgb)
+	  rowCount++;
+	counts[(y + 1) * stride + x + 1] = counts[y * stride + x + 1] + rowCount;
+      }
+    }
+
+    m_Counts.put(rgb, counts);
+
+    return counts;
+  }
+
+  /**
+   * Clips the region to the image bounds.
+   *
+   * @param x		the left edge
+   * @param y		the top edge
+   * @param width	the width
+   * @param height	the height
+   * @return		the clipped region (x0, y0, x1, y1; exclusive), null if empty
+   */
+  protected int[] clip(int x, int y, int width, int height) {
+    int		x0;
+    int		y0;
+    int		x1;
+    int		y1;
+
+    x0 = Math.max(0, x);
+    y0 = Math.max(0, y);
+    x1 = (int) Math.min(m_Width, (long) x + width);
+    y1 = (int) Math.min(m_Height, (long) y + height);
+    if ((x0 >= x1) || (y0 >= y1))
+      return null;
+
+    return new int[]{x0, y0, x1, y1};
+  }
+
+  /**
+   * Returns the region sum from the table.
+   *
+   * @param table	the table to use
+   * @param region	the clipped region
+   * @return		the sum
+   */
+  protected long sum(long[] table, int[] region) {
+    int		stride;
+
+    stride = m_Width + 1;
+    return table[region[3] * stride + region[2]]
+      - table[region[1] * stride + region[2]]
+      - table[region[3] * stride + region[0]]
+      + table[region[1] * stride + region[0]];
+  }
+
+  /**
+   * Returns the number of pixels in the region (after clipping).
+   *
+   * @param x		the left edge
+   * @param y		the top edge
+   * @param width	the width
+   * @param height	the height
+   * @return		the number of pixels
+   */
+  public int area(int x, int y, int width, int height) {
+    int[]	region;
+
+    region = clip(x, y, width, height);
+    if (region == null)
+      return 0;
+
+    return (region[2] - region[0]) * (region[3] - region[1]);
+  }
+
+  /**
+   * Returns the sum of the channel values in the region.
+   *
+   * @param channel	the channel
+   * @param x		the left edge
+   * @param y		the top edge
+   * @param width	the width
+   * @param height	the height
+   * @return		the sum
+   */
+  public synchronized long sum(Channel channel, int x, int y, int width, int height) {
+    int[]	region;
+
+    region = clip(x, y, width, height);
+    if (region == null)
+      return 0;
+    if (!m_Sums.containsKey(channel))
+      computeSums(channel);
+
+    return sum(m_Sums.get(channel), region);
+  }
+
+  /**
+   * Returns the sum of the squared channel values in the region.
+   *
+   * @param channel	the channel
+   * @param x		the left edge
+   * @param y		the top edge
+   * @param width	the width
+   * @param height	the height
+   * @return		the sum of squares
+   */
+  public synchronized long sumSquares(Channel channel, int x, int y, int width, int height) {
+    int[]	region;
+
+    region = clip(x, y, width, height);
+    if (region == null)
+      return 0;
+    if (!m_SumSquares.containsKey(channel))
+      computeSums(channel);
+
+    return sum(m_SumSquares.get(channel), region);
+  }
+
+  /**
+   * Returns the mean of the channel values in the region.
+   *
+   * @param channel	the channel
+   * @param x		the left edge
+   * @param y		the top edge
+   * @param width	the width
+   * @param height	the height
+   * @return		the mean, NaN if region is empty
+   */
+  public double mean(Channel channel, int x, int y, int width, int height) {
+    int		n;
+
+    n = area(x, y, width, height);
+    if (n == 0)
+      return Double.NaN;
+
+    return (double) sum(channel, x, y, width, height) / n;
+  }
+
+  /**
+   * Returns the (sample) standard deviation of the channel values in the
+   * region.
+   *
+   * @param channel	the channel
+   * @param x		the left edge
+   * @param y		the top edge
+   * @param width	the width
+   * @param height	the height
+   * @return		the standard deviation, NaN if less than two pixels
+   */
+  public double stdev(Channel channel, int x, int y, int width, int height) {
+    int		n;
+    double	sum;
+    double	squares;
+
+    n = area(x, y, width, height);
+    if (n < 2)
+      return Double.NaN;
+
+    sum     = sum(channel, x, y, width, height);
+    squares = sumSquares(channel, x, y, width, height);
+
+    return Math.sqrt(Math.max(0.0, (squares - sum * sum / n) / (n - 1)));
+  }
+
+  /**
+   * Returns the number of pixels in the region that have the specified
+   * color (eg the label in a segmentation layer).
+   *
+   * @param rgb		the color, alpha gets ignored
+   * @param x		the left edge
+   * @param y		the top edge
+   * @param width	the width
+   * @param height	the height
+   * @return		the number of pixels
+   */
+  public synchronized int count(int rgb, int x, int y, int width, int height) {
+    int[]	region;
+    int[]	table;
+    int		stride;
+
+    region = clip(x, y, width, height);
+    if (region == null)
+      return 0;
+    rgb   &= 0x00FFFFFF;
+    table  = m_Counts.get(rgb);
+    if (table == null)
+      table = computeCounts(rgb);
+    stride = m_Width + 1;
+    return table[region[3] * stride + region[2]]
+      - table[region[1] * stride + region[2]]
+      - table[region[3] * stride + region[0]]
+      + table[region[1] * stride + region[0]];
+  }
+}
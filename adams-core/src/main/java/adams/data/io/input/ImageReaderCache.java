@@ -0,0 +1,296 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * ImageReaderCache.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.io.input;
+
+import adams.core.io.PlaceholderFile;
+import adams.data.image.AbstractImageContainer;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache for decoded images, bounded by the (estimated) number of bytes
+ * that the images occupy in memory. The key consists of the absolute path,
+ * the timestamp of the last modification, the file size and the commandline
+ * of the reader, i.e., modified files get read again.
+ * <br>
+ * The shared instance gets released once its last user is done with it.
+ * <br>
+ * The cache stores and returns copies of the containers, so that changes
+ * to the images or reports do not affect the cached data.
+ * <br>
+ * This class is thread-safe.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class ImageReaderCache {
+
+  /** the shared instance. */
+  protected static ImageReaderCache m_Singleton;
+
+  /** the users of the shared instance (user - requested bytes). */
+  protected static Map<Object,Long> m_Users = new IdentityHashMap<>();
+
+  /** the cached images (key - container). */
+  protected LinkedHashMap<String,AbstractImageContainer> m_Cache;
+
+  /** the sizes of the cached images (key - bytes). */
+  protected Map<String,Long> m_Sizes;
+
+  /** the maximum number of bytes to cache. */
+  protected long m_MaxBytes;
+
+  /** the number of bytes currently cached. */
+  protected long m_Bytes;
+
+  /**
+   * Initializes the cache.
+   *
+   * @param maxBytes	the maximum number of bytes to cache
+   */
+  public ImageReaderCache(long maxBytes) {
+    m_Cache    = new LinkedHashMap<>(16, 0.75f, true);
+    m_Sizes    = new LinkedHashMap<>();
+    m_MaxBytes = maxBytes;
+    m_Bytes    = 0;
+  }
+
+  /**
+   * Sets the maximum number of bytes to cache. Removes the least recently
+   * used images if necessary.
+   *
+   * @param value	the maximum
+   */
+  public synchronized void setMaxBytes(long value) {
+    m_MaxBytes = value;
+    shrink();
+  }
+
+  /**
+   * Returns the maximum number of bytes to cache.
+   *
+   * @return		the maximum
+   */
+  public synchronized long getMaxBytes() {
+    return m_MaxBytes;
+  }
+
+  /**
+   * Returns the number of bytes currently cached.
+   *
+   * @return		the bytes
+   */
+  public synchronized long getBytes() {
+    return m_Bytes;
+  }
+
+  /**
+   * Returns the number of cached images.
+   *
+   * @return		the number of images
+   */
+  public synchronized int size() {
+    return m_Cache.size();
+  }
+
+  /**
+   * Removes all images from the cache.
+   */
+  public synchronized void clear() {
+    m_Cache.clear();
+    m_Sizes.clear();
+    m_Bytes = 0;
+  }
+
+  /**
+   * Removes least recently used images until the cache fits into the
+   * maximum number of bytes.
+   */
+  protected void shrink() {
+    Iterator<Map.Entry<String,AbstractImageContainer>>	iter;
+    Map.Entry<String,AbstractImageContainer>		entry;
+
+    iter = m_Cache.entrySet().iterator();
+    while ((m_Bytes > m_MaxBytes) && iter.hasNext()) {
+      entry = iter.next();
+      m_Bytes -= m_Sizes.remove(entry.getKey());
+      iter.remove();
+    }
+  }
+
+  /**
+   * Generates the key for the file/reader combination.
+   *
+   * @param reader	the reader in use
+   * @param file	the file to read
+   * @return		the key
+   */
+  protected String createKey(AbstractImageReader reader, PlaceholderFile file) {
+    return file.getAbsolutePath() + "\t" + file.lastModified() + "\t" + file.length() + "\t" + reader.toCommandLine();
+  }
+
+  /**
+   * Estimates the number of bytes that the image occupies in memory.
+   *
+   * @param cont	the container to estimate
+   * @return		the number of bytes
+   */
+  protected long estimateBytes(AbstractImageContainer cont) {
+    DataBuffer	buffer;
+
+    if (cont.getImage() instanceof BufferedImage) {
+      buffer = ((BufferedImage) cont.getImage()).getRaster().getDataBuffer();
+      return (long) buffer.getSize() * buffer.getNumBanks() * Math.max(1, DataBuffer.getDataTypeSize(buffer.getDataType()) / 8);
+    }
+
+    return (long) cont.getWidth() * cont.getHeight() * 4;
+  }
+
+  /**
+   * Returns the cached image for the file.
+   *
+   * @param reader	the reader in use
+   * @param file	the file to look up
+   * @return		a copy of the cached image, null if not cached
+   */
+  public AbstractImageContainer get(AbstractImageReader reader, PlaceholderFile file) {
+    AbstractImageContainer	result;
+    String			key;
+
+    key = createKey(reader, file);
+    synchronized(this) {
+      result = m_Cache.get(key);
+    }
+    if (result != null)
+      result = (AbstractImageContainer) result.getClone();
+
+    return result;
+  }
+
+  /**
+   * Adds the image for the file to the cache. Images larger than the
+   * maximum number of bytes are not cached.
+   *
+   * @param reader	the reader in use
+   * @param file	the file that was read
+   * @param cont	the image to cache (a copy gets stored)
+   */
+  public void put(AbstractImageReader reader, PlaceholderFile file, AbstractImageContainer cont) {
+    String	key;
+    long	bytes;
+    Long	old;
+
+    bytes = estimateBytes(cont);
+    if (bytes > getMaxBytes())
+      return;
+
+    key  = createKey(reader, file);
+    cont = (AbstractImageContainer) cont.getClone();
+    synchronized(this) {
+      old = m_Sizes.put(key, bytes);
+      if (old != null)
+	m_Bytes -= old;
+      m_Cache.put(key, cont);
+      m_Bytes += bytes;
+      shrink();
+    }
+  }
+
+  /**
+   * Reads the image, using the cached one if available.
+   *
+   * @param reader	the reader to use
+   * @param file	the file to read
+   * @return		the image container, null if failed to read
+   */
+  public AbstractImageContainer read(AbstractImageReader reader, PlaceholderFile file) {
+    AbstractImageContainer	result;
+
+    result = get(reader, file);
+    if (result == null) {
+      result = reader.read(file);
+      if (result != null)
+	put(reader, file, result);
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the shared cache, registering the user of the cache. The cache
+   * can hold the largest number of bytes requested by its current users.
+   * Users must call {@link #release(Object)} once they no longer need the
+   * cache.
+   *
+   * @param user	the user of the cache, e.g., the actor
+   * @param maxBytes	the minimum number of bytes the cache must be able to hold
+   * @return		the cache
+   */
+  public static synchronized ImageReaderCache getSingleton(Object user, long maxBytes) {
+    m_Users.put(user, maxBytes);
+    if (m_Singleton == null)
+      m_Singleton = new ImageReaderCache(maxBytes);
+    else if (m_Singleton.getMaxBytes() < maxBytes)
+      m_Singleton.setMaxBytes(maxBytes);
+    return m_Singleton;
+  }
+
+  /**
+   * Unregisters the user of the shared cache. The cache gets shrunk to the
+   * largest number of bytes requested by the remaining users. Once the last
+   * user has released the cache, all images get removed.
+   *
+   * @param user	the user of the cache
+   * @see		#getSingleton(Object, long)
+   */
+  public static synchronized void release(Object user) {
+    long	maxBytes;
+
+    if (m_Users.remove(user) == null)
+      return;
+    if (m_Singleton == null)
+      return;
+
+    if (m_Users.isEmpty()) {
+      m_Singleton.clear();
+      m_Singleton = null;
+    }
+    else {
+      maxBytes = 0;
+      for (long bytes: m_Users.values())
+	maxBytes = Math.max(maxBytes, bytes);
+      m_Singleton.setMaxBytes(maxBytes);
+    }
+  }
+
+  /**
+   * Returns the number of users of the shared cache.
+   *
+   * @return		the number of users
+   */
+  public static synchronized int getNumUsers() {
+    return m_Users.size();
+  }
+}
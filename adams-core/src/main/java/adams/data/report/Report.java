@@ -15,7 +15,7 @@
 
 /*
  * Report.java
- * Copyright (C) 2009-2020 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2009-2026 University of Waikato, Hamilton, New Zealand
  *
  */
 
@@ -40,9 +40,11 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data structure for a report.
@@ -79,6 +81,12 @@ public class Report
   /** the database ID of the data structure this report belongs to. */
   protected int m_DatabaseID;
 
+  /** the modification counter. */
+  protected transient long m_ModificationCount;
+
+  /** data structures derived from the values (eg decoded objects), discarded on modification. */
+  protected transient Map<String,Object> m_DerivedData;
+
   /**
    * Default constructor.
    */
@@ -147,6 +155,7 @@ public class Report
    */
   public void addField(AbstractField field) {
     m_Fields.put(field.getName(), field);
+    modified();
   }
 
   /**
@@ -293,6 +302,7 @@ public class Report
     AbstractField f = m_Fields.get(key);
     if (f == null) {
       m_Params.put(new Field(key, DataType.UNKNOWN), Field.fixString(value));
+      modified();
     }
     else {
       Object o = f.valueOf(value);
@@ -301,6 +311,7 @@ public class Report
 	return;
       }
       m_Params.put(f, o);
+      modified();
     }
   }
 
@@ -316,6 +327,7 @@ public class Report
       m_Params.put(
         new Field(key, DataType.guessType(Field.fixString(value.toString()))),
 	Field.fixString(value.toString()));
+      modified();
     }
     else {
       Object o = f.valueOf(value.toString());
@@ -324,6 +336,7 @@ public class Report
 	return;
       }
       m_Params.put(f, value);
+      modified();
     }
   }
 
@@ -334,14 +347,19 @@ public class Report
    */
   public void setParams(Hashtable<AbstractField,Object> ht) {
     m_Params = ht;
+    modified();
   }
 
   /**
    * Get the parameters.
+   * <br>
+   * Since the hashtable can be modified directly, any derived data gets
+   * discarded.
    *
    * @return hashtable of parameters
    */
   public Hashtable<AbstractField,Object> getParams() {
+    modified();
     return(m_Params);
   }
 
@@ -464,6 +482,7 @@ public class Report
       m_Fields.remove(key.getName());
       m_Fields.put(key.getName(), key);
     }
+    modified();
 
     return true;
   }
@@ -585,7 +604,13 @@ public class Report
    * 			if the field wasn't present
    */
   public Object removeValue(AbstractField key) {
-    return m_Params.remove(key);
+    Object	result;
+
+    result = m_Params.remove(key);
+    if (result != null)
+      modified();
+
+    return result;
   }
 
   /**
@@ -605,6 +630,8 @@ public class Report
 
     for (AbstractField key: remove)
       m_Params.remove(key);
+    if (remove.size() > 0)
+      modified();
 
     return (remove.size() > 0);
   }
@@ -626,10 +653,65 @@ public class Report
 
     for (AbstractField key: remove)
       m_Params.remove(key);
+    if (remove.size() > 0)
+      modified();
 
     return (remove.size() > 0);
   }
 
+  /**
+   * Flags the report as modified, discarding any derived data.
+   */
+  protected synchronized void modified() {
+    m_ModificationCount++;
+    if (m_DerivedData != null)
+      m_DerivedData.clear();
+  }
+
+  /**
+   * Returns the modification counter, which gets incremented whenever
+   * fields or values change.
+   *
+   * @return		the counter
+   */
+  public synchronized long getModificationCount() {
+    return m_ModificationCount;
+  }
+
+  /**
+   * Returns derived data (eg decoded objects) stored under the key.
+   * Derived data gets discarded whenever the report is modified, it does
+   * not get serialized or cloned.
+   *
+   * @param key		the key of the data
+   * @return		the data, null if not available
+   * @see		#setDerivedData(String, Object, long)
+   */
+  public synchronized Object getDerivedData(String key) {
+    if (m_DerivedData == null)
+      return null;
+    return m_DerivedData.get(key);
+  }
+
+  /**
+   * Stores derived data under the key, as long as the report hasn't been
+   * modified since the data was generated.
+   *
+   * @param key		the key of the data
+   * @param value	the data
+   * @param modificationCount	the modification counter at the time the data was generated
+   * @return		true if stored
+   * @see		#getModificationCount()
+   */
+  public synchronized boolean setDerivedData(String key, Object value, long modificationCount) {
+    if (modificationCount != m_ModificationCount)
+      return false;
+    if (m_DerivedData == null)
+      m_DerivedData = new HashMap<>();
+    m_DerivedData.put(key, value);
+    return true;
+  }
+
   /**
    * Updates certain dependant fields. This method should be called before
    * saving it to the database, after loading it from the database or when
@@ -687,6 +769,7 @@ public class Report
     m_Params     = (Hashtable<AbstractField,Object>) other.m_Params.clone();
     m_LoggingLevel = other.m_LoggingLevel;
     m_DatabaseID = other.m_DatabaseID;
+    modified();
   }
 
   /**
@@ -15,7 +15,7 @@
 
 /*
  * XYSequence.java
- * Copyright (C) 2009-2016 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2009-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.sequence;
@@ -321,7 +321,7 @@ public class XYSequence
   @Override
   protected boolean modifiedListener(boolean modified) {
     invalidateMinMax();
-    return modified;
+    return super.modifiedListener(modified);
   }
 
   /**
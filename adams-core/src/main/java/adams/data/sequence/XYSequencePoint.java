@@ -15,7 +15,7 @@
 
 /*
  * XYSequencePoint.java
- * Copyright (C) 2009-2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2009-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.sequence;
@@ -108,6 +108,7 @@ public class XYSequencePoint
    */
   public void setX(double value) {
     m_X = value;
+    notifyParent();
   }
 
   /**
@@ -144,6 +145,7 @@ public class XYSequencePoint
    */
   public void setY(double value) {
     m_Y = value;
+    notifyParent();
   }
 
   /**
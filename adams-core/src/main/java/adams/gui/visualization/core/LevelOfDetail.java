@@ -0,0 +1,519 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * LevelOfDetail.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.gui.visualization.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Level-of-detail helper for painting large sequences (sorted by X).
+ * <br><br>
+ * Precomputes a pyramid of the positions of the minimum/maximum Y values
+ * for blocks of 2, 4, 8, ... points, which allows determining the minimum
+ * and maximum of any range of points in logarithmic time. From this, the
+ * M4 envelope (first, minimum, maximum and last point per pixel column) of
+ * the visible range is computed in time proportional to the number of
+ * pixel columns rather than the number of points. For thin lines without
+ * anti-aliasing, a polyline through the envelope paints the same pixels as
+ * one through all the points. With anti-aliasing, the rendering can differ
+ * slightly, as the blending depends on the actual segments being drawn.
+ * The envelope consists of indices of actual points, i.e., it can be used
+ * for resolving hits as well.
+ * <br><br>
+ * See: Uwe Jugel, Zbigniew Jerzak, Gregor Hackenbroich, Volker Markl (2014).
+ * M4: A Visualization-Oriented Time Series Data Aggregation.
+ * Proceedings of the VLDB Endowment 7(10).
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class LevelOfDetail {
+
+  /** the maximum number of envelopes to cache (ie zoom levels/positions). */
+  public final static int MAX_ENVELOPES = 8;
+
+  /**
+   * Caches the level-of-detail data per data object (identity), discarding
+   * data objects that were not used in the last paint cycle. Cached data is
+   * only returned if the modification count of the data object is still the
+   * same as when the data was stored.
+   */
+  public static class Cache {
+
+    /** the maximum number of cached objects within a paint cycle. */
+    public final static int MAX_CACHE_SIZE = 256;
+
+    /**
+     * Container for the level-of-detail data and the modification count of
+     * the data object it was computed from.
+     */
+    protected static class Entry {
+
+      /** the level-of-detail data. */
+      public final LevelOfDetail lod;
+
+      /** the modification count. */
+      public final long modificationCount;
+
+      /**
+       * Initializes the entry.
+       *
+       * @param lod			the level-of-detail data
+       * @param modificationCount	the modification count of the data object
+       */
+      public Entry(LevelOfDetail lod, long modificationCount) {
+	this.lod               = lod;
+	this.modificationCount = modificationCount;
+      }
+    }
+
+    /** the objects used in the current paint cycle. */
+    protected Map<Object,Entry> m_Current;
+
+    /** the objects used in the previous paint cycle. */
+    protected Map<Object,Entry> m_Previous;
+
+    /**
+     * Initializes the cache.
+     */
+    public Cache() {
+      m_Current  = new IdentityHashMap<>();
+      m_Previous = new IdentityHashMap<>();
+    }
+
+    /**
+     * Starts a new paint cycle.
+     */
+    public synchronized void next() {
+      m_Previous = m_Current;
+      m_Current  = new IdentityHashMap<>();
+    }
+
+    /**
+     * Returns the cached data for the object.
+     *
+     * @param data		the data object
+     * @param modificationCount	the current modification count of the data object
+     * @return			the cached data, null if not available or outdated
+     * @see			adams.data.container.AbstractDataContainer#getModificationCount()
+     */
+    public synchronized LevelOfDetail get(Object data, long modificationCount) {
+      Entry	entry;
+
+      entry = m_Current.get(data);
+      if (entry == null) {
+	entry = m_Previous.remove(data);
+	if (entry != null)
+	  m_Current.put(data, entry);
+      }
+      if ((entry == null) || (entry.modificationCount != modificationCount))
+	return null;
+
+      return entry.lod;
+    }
+
+    /**
+     * Stores the data for the object.
+     *
+     * @param data		the data object
+     * @param modificationCount	the modification count of the data object the
+     * 				level-of-detail data was computed from
+     * @param lod		the level-of-detail data
+     */
+    public synchronized void put(Object data, long modificationCount, LevelOfDetail lod) {
+      if (m_Current.size() >= MAX_CACHE_SIZE)
+	m_Current.clear();
+      m_Current.put(data, new Entry(lod, modificationCount));
+    }
+
+    /**
+     * Removes all cached data.
+     */
+    public synchronized void clear() {
+      m_Current.clear();
+      m_Previous.clear();
+    }
+  }
+
+  /** the X values (sorted ascending). */
+  protected double[] m_X;
+
+  /** the Y values. */
+  protected double[] m_Y;
+
+  /** whether the X values are sorted ascending. */
+  protected boolean m_Sorted;
+
+  /** the positions of the minimum per level (level k: blocks of 2^k points). */
+  protected int[][] m_Min;
+
+  /** the positions of the maximum per level (level k: blocks of 2^k points). */
+  protected int[][] m_Max;
+
+  /** the column boundaries of the cached envelopes (most recent last). */
+  protected List<double[]> m_Boundaries;
+
+  /** the cached envelopes (most recent last). */
+  protected List<int[]> m_Envelopes;
+
+  /**
+   * Initializes the level-of-detail data.
+   *
+   * @param x		the X values (should be sorted ascending), not copied
+   * @param y		the Y values, not copied
+   * @see		#isSorted()
+   */
+  public LevelOfDetail(double[] x, double[] y) {
+    int		levels;
+    int		k;
+    int		i;
+    int[]	prevMin;
+    int[]	prevMax;
+    int		len;
+
+    if (x.length != y.length)
+      throw new IllegalArgumentException("Number of X and Y values differ: " + x.length + " != " + y.length);
+
+    m_X          = x;
+    m_Y          = y;
+    m_Boundaries = new ArrayList<>();
+    m_Envelopes  = new ArrayList<>();
+    m_Sorted     = true;
+    for (i = 1; i < x.length; i++) {
+      if (x[i] < x[i - 1]) {
+	m_Sorted = false;
+	break;
+      }
+    }
+
+    levels = 0;
+    while ((1L << levels) < x.length)
+      levels++;
+    m_Min = new int[levels + 1][];
+    m_Max = new int[levels + 1][];
+    for (k = 1; k <= levels; k++) {
+      len      = (int) ((x.length + (1L << k) - 1) >> k);
+      m_Min[k] = new int[len];
+      m_Max[k] = new int[len];
+      prevMin  = m_Min[k - 1];
+      prevMax  = m_Max[k - 1];
+      for (i = 0; i < len; i++) {
+	if (k == 1) {
+	  m_Min[k][i] = minOf(2*i, Math.min(2*i + 1, x.length - 1));
+	  m_Max[k][i] = maxOf(2*i, Math.min(2*i + 1, x.length - 1));
+	}
+	else if (2*i + 1 < prevMin.length) {
+	  m_Min[k][i] = minOf(prevMin[2*i], prevMin[2*i + 1]);
+	  m_Max[k][i] = maxOf(prevMax[2*i], prevMax[2*i + 1]);
+	}
+	else {
+	  m_Min[k][i] = prevMin[2*i];
+	  m_Max[k][i] = prevMax[2*i];
+	}
+      }
+    }
+  }
+
+  /**
+   * Returns the position with the smaller Y value.
+   *
+   * @param a		the first position
+   * @param b		the second position
+   * @return		the position with the smaller value
+   */
+  protected int minOf(int a, int b) {
+    return (m_Y[b] < m_Y[a]) ? b : a;
+  }
+
+  /**
+   * Returns the position with the larger Y value.
+   *
+   * @param a		the first position
+   * @param b		the second position
+   * @return		the position with the larger value
+   */
+  protected int maxOf(int a, int b) {
+    return (m_Y[b] > m_Y[a]) ? b : a;
+  }
+
+  /**
+   * Returns whether the X values are sorted ascending. Only sorted data can
+   * be used for computing envelopes.
+   *
+   * @return		true if sorted
+   */
+  public boolean isSorted() {
+    return m_Sorted;
+  }
+
+  /**
+   * Returns the number of points.
+   *
+   * @return		the number of points
+   */
+  public int size() {
+    return m_X.length;
+  }
+
+  /**
+   * Returns the X value of the point.
+   *
+   * @param index	the index of the point
+   * @return		the X value
+   */
+  public double getX(int index) {
+    return m_X[index];
+  }
+
+  /**
+   * Returns the Y value of the point.
+   *
+   * @param index	the index of the point
+   * @return		the Y value
+   */
+  public double getY(int index) {
+    return m_Y[index];
+  }
+
+  /**
+   * Returns the index of the first point with an X value of at least the
+   * specified one.
+   *
+   * @param x		the X value
+   * @return		the index, size() if none
+   */
+  public int findFirst(double x) {
+    int		low;
+    int		high;
+    int		mid;
+
+    low  = 0;
+    high = m_X.length;
+    while (low < high) {
+      mid = (low + high) >>> 1;
+      if (m_X[mid] < x)
+	low = mid + 1;
+      else
+	high = mid;
+    }
+
+    return low;
+  }
+
+  /**
+   * Returns the index of the last point with an X value of at most the
+   * specified one.
+   *
+   * @param x		the X value
+   * @return		the index, -1 if none
+   */
+  public int findLast(double x) {
+    return findFirst(Math.nextUp(x)) - 1;
+  }
+
+  /**
+   * Returns the position of the minimum or maximum in the range.
+   *
+   * @param from	the first index (incl)
+   * @param to		the last index (incl)
+   * @param min		whether to look for the minimum or maximum
+   * @return		the position
+   */
+  protected int find(int from, int to, boolean min) {
+    int		result;
+    int		i;
+    int		k;
+    int		cand;
+
+    result = from;
+    i      = from;
+    while (i <= to) {
+      k = Math.min(
+	(i == 0) ? m_Min.length - 1 : Integer.numberOfTrailingZeros(i),
+	31 - Integer.numberOfLeadingZeros(to - i + 1));
+      k = Math.min(k, m_Min.length - 1);
+      if (k == 0)
+	cand = i;
+      else
+	cand = min ? m_Min[k][i >> k] : m_Max[k][i >> k];
+      result = min ? minOf(result, cand) : maxOf(result, cand);
+      i += 1 << k;
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the position of the smallest Y value in the range.
+   *
+   * @param from	the first index (incl)
+   * @param to		the last index (incl)
+   * @return		the position
+   */
+  public int findMin(int from, int to) {
+    return find(from, to, true);
+  }
+
+  /**
+   * Returns the position of the largest Y value in the range.
+   *
+   * @param from	the first index (incl)
+   * @param to		the last index (incl)
+   * @return		the position
+   */
+  public int findMax(int from, int to) {
+    return find(from, to, false);
+  }
+
+  /**
+   * Computes the M4 envelope for the pixel columns defined by the boundaries
+   * (column i covers X values from boundaries[i] (incl) to boundaries[i+1]
+   * (excl), the last column includes its upper boundary). The points just
+   * outside the boundaries are included as well, so lines can be drawn to
+   * the edges. The most recently used envelopes are cached, so that
+   * switching between zoom levels does not require recomputing them.
+   *
+   * @param boundaries	the column boundaries (ascending), one more than columns
+   * @return		the indices of the points in the envelope (ascending)
+   */
+  public synchronized int[] envelope(double[] boundaries) {
+    int[]	result;
+    int[]	cand;
+    int		count;
+    int		from;
+    int		to;
+    int		col;
+    int		i;
+
+    for (i = m_Boundaries.size() - 1; i >= 0; i--) {
+      if (Arrays.equals(boundaries, m_Boundaries.get(i))) {
+	m_Boundaries.add(m_Boundaries.remove(i));
+	m_Envelopes.add(m_Envelopes.remove(i));
+	return m_Envelopes.get(m_Envelopes.size() - 1);
+      }
+    }
+
+    result = new int[Math.min(m_X.length, 4 * boundaries.length + 2)];
+    count  = 0;
+    cand   = new int[4];
+    from   = findFirst(boundaries[0]);
+    if (from > 0)
+      result[count++] = from - 1;
+    for (col = 0; col < boundaries.length - 1; col++) {
+      if (col == boundaries.length - 2)
+	to = findLast(boundaries[col + 1]);
+      else
+	to = findFirst(boundaries[col + 1]) - 1;
+      if (to >= from) {
+	cand[0] = from;
+	cand[1] = findMin(from, to);
+	cand[2] = findMax(from, to);
+	cand[3] = to;
+	Arrays.sort(cand);
+	for (i = 0; i < cand.length; i++) {
+	  if ((count == 0) || (cand[i] > result[count - 1]))
+	    result[count++] = cand[i];
+	}
+      }
+      from = Math.max(from, to + 1);
+    }
+    if (from < m_X.length)
+      result[count++] = from;
+
+    result = Arrays.copyOf(result, count);
+    m_Boundaries.add(boundaries.clone());
+    m_Envelopes.add(result);
+    while (m_Boundaries.size() > MAX_ENVELOPES) {
+      m_Boundaries.remove(0);
+      m_Envelopes.remove(0);
+    }
+
+    return result;
+  }
+
+  /**
+   * Checks whether the pixel position hits the vertical min/max segment that
+   * the envelope paints for the pixel columns around the position. Only
+   * applies to columns with at least two points, sparse data has to be
+   * checked by the caller. Hits are resolved to the closer of the points
+   * with the minimum and maximum value.
+   *
+   * @param axisX	the horizontal axis
+   * @param axisY	the vertical axis
+   * @param x		the X pixel position
+   * @param y		the Y pixel position
+   * @param tolerance	the tolerance in pixels
+   * @return		the index of the point, -1 if no hit
+   */
+  public int findHit(AxisPanel axisX, AxisPanel axisY, int x, int y, int tolerance) {
+    double	fromX;
+    double	toX;
+    int		from;
+    int		to;
+    int		min;
+    int		max;
+    int		posMin;
+    int		posMax;
+
+    fromX = axisX.posToValue(x - tolerance);
+    toX   = axisX.posToValue(x + tolerance);
+    from  = findFirst(Math.min(fromX, toX));
+    to    = findLast(Math.max(fromX, toX));
+    if (to <= from)
+      return -1;
+
+    min    = findMin(from, to);
+    max    = findMax(from, to);
+    posMin = axisY.valueToPos(m_Y[min]);
+    posMax = axisY.valueToPos(m_Y[max]);
+    if ((y < Math.min(posMin, posMax) - tolerance) || (y > Math.max(posMin, posMax) + tolerance))
+      return -1;
+
+    return (Math.abs(y - posMin) <= Math.abs(y - posMax)) ? min : max;
+  }
+
+  /**
+   * Computes the column boundaries from the horizontal axis, i.e., the
+   * X values at each pixel position.
+   *
+   * @param axis	the horizontal axis
+   * @return		the boundaries
+   */
+  public static double[] boundaries(AxisPanel axis) {
+    double[]	result;
+    double	tmp;
+    int		i;
+
+    result = new double[Math.max(1, axis.getLength()) + 1];
+    for (i = 0; i < result.length; i++)
+      result[i] = axis.posToValue(i);
+    if (result[0] > result[result.length - 1]) {
+      for (i = 0; i < result.length / 2; i++) {
+	tmp = result[i];
+	result[i] = result[result.length - 1 - i];
+	result[result.length - 1 - i] = tmp;
+      }
+    }
+
+    return result;
+  }
+}
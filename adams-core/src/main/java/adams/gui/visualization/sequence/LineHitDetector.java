@@ -15,7 +15,7 @@
 
 /*
  * LineHitDetector.java
- * Copyright (C) 2009-2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2009-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.gui.visualization.sequence;
@@ -24,6 +24,7 @@ import adams.data.sequence.XYSequence;
 import adams.data.sequence.XYSequencePoint;
 import adams.data.sequence.XYSequenceUtils;
 import adams.gui.visualization.core.AxisPanel;
+import adams.gui.visualization.core.LevelOfDetail;
 import adams.gui.visualization.core.plot.Axis;
 
 import java.awt.event.MouseEvent;
@@ -95,6 +96,8 @@ public class LineHitDetector
     double			dist;
     List<XYSequencePoint>	points;
     boolean			logging;
+    LinePaintlet		paintlet;
+    LevelOfDetail		lod;
 
     result     = new ArrayList<>();
     axisBottom = m_Owner.getPlot().getAxis(Axis.BOTTOM);
@@ -102,6 +105,9 @@ public class LineHitDetector
     y          = axisLeft.posToValue(e.getY());
     x          = axisBottom.posToValue(e.getX());
     logging    = isLoggingEnabled();
+    paintlet   = null;
+    if ((m_Owner instanceof LinePaintlet) && !((LinePaintlet) m_Owner).getPaintAll() && ((LinePaintlet) m_Owner).getLevelOfDetail())
+      paintlet = (LinePaintlet) m_Owner;
 
     for (i = 0; i < m_Owner.getSequencePanel().getContainerManager().count(); i++) {
       if (!m_Owner.getSequencePanel().getContainerManager().get(i).isVisible())
@@ -114,6 +120,20 @@ public class LineHitDetector
       if (logging)
 	getLogger().info("\n" + s.getID() + ":");
 
+      // dense data: check the min/max segment painted for the pixel columns
+      if (paintlet != null) {
+	lod = paintlet.getLevelOfDetail(s);
+	if (lod.isSorted()) {
+	  index = lod.findHit(axisBottom, axisLeft, e.getX(), e.getY(), m_MinimumPixelDifference);
+	  if (index > -1) {
+	    if (logging)
+	      getLogger().info("envelope hit!");
+	    result.add(points.get(index));
+	    continue;
+	  }
+	}
+      }
+
       indices = XYSequenceUtils.findEnclosingXs(points, x);
       // do we have only one point available?
       if ((indices[0] == -1) || (indices[1] == -1)) {
@@ -15,7 +15,7 @@
 
 /*
  * LinePaintlet.java
- * Copyright (C) 2009-2016 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2009-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.gui.visualization.sequence;
@@ -27,6 +27,7 @@ import adams.gui.core.AntiAliasingSupporter;
 import adams.gui.core.GUIHelper;
 import adams.gui.event.PaintEvent.PaintMoment;
 import adams.gui.visualization.core.AxisPanel;
+import adams.gui.visualization.core.LevelOfDetail;
 import adams.gui.visualization.core.PaintletWithMarkers;
 import adams.gui.visualization.core.plot.Axis;
 
@@ -80,6 +81,12 @@ public class LinePaintlet
   /** whether anti-aliasing is enabled. */
   protected boolean m_AntiAliasingEnabled;
 
+  /** whether level-of-detail painting is enabled. */
+  protected boolean m_LevelOfDetail;
+
+  /** the cached level-of-detail data. */
+  protected transient LevelOfDetail.Cache m_LevelOfDetailCache;
+
   /**
    * Returns a string describing the object.
    *
@@ -116,6 +123,10 @@ public class LinePaintlet
     m_OptionManager.add(
 	    "paint-all", "paintAll",
 	    false);
+
+    m_OptionManager.add(
+	    "level-of-detail", "levelOfDetail",
+	    false);
   }
 
   /**
@@ -279,6 +290,164 @@ public class LinePaintlet
   public String antiAliasingEnabledTipText() {
     return "If enabled, uses anti-aliasing for drawing lines.";
   }
+  /**
+   * Sets whether to paint only the envelope of the points in the visible
+   * range rather than all the points.
+   *
+   * @param value	true if to paint only the envelope
+   */
+  public void setLevelOfDetail(boolean value) {
+    m_LevelOfDetail = value;
+    memberChanged();
+  }
+
+  /**
+   * Returns whether to paint only the envelope of the points in the visible
+   * range rather than all the points.
+   *
+   * @return		true if to paint only the envelope
+   */
+  public boolean getLevelOfDetail() {
+    return m_LevelOfDetail;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String levelOfDetailTipText() {
+    return
+      "If enabled, only the M4 envelope (first, min, max and last point per pixel column) "
+	+ "of the points in the visible range gets painted, which is considerably faster "
+	+ "for large sequences; the lines are the same, but the rendering can differ "
+	+ "slightly, e.g., due to anti-aliasing, and markers are only painted for the "
+	+ "points in the envelope; sequences not sorted by X are always painted completely.";
+  }
+
+  /**
+   * Returns the level-of-detail data for the sequence, using cached data
+   * if available.
+   *
+   * @param data	the sequence to get the data for
+   * @return		the level-of-detail data
+   */
+  public LevelOfDetail getLevelOfDetail(XYSequence data) {
+    LevelOfDetail		result;
+    List<XYSequencePoint>	points;
+    double[]			x;
+    double[]			y;
+    long			modCount;
+    int				i;
+
+    if (m_LevelOfDetailCache == null)
+      m_LevelOfDetailCache = new LevelOfDetail.Cache();
+
+    modCount = data.getModificationCount();
+    result   = m_LevelOfDetailCache.get(data, modCount);
+    if (result == null) {
+      points = data.toList();
+      x      = new double[points.size()];
+      y      = new double[points.size()];
+      for (i = 0; i < points.size(); i++) {
+	x[i] = points.get(i).getX();
+	y[i] = points.get(i).getY();
+      }
+      result = new LevelOfDetail(x, y);
+      m_LevelOfDetailCache.put(data, modCount, result);
+    }
+
+    return result;
+  }
+
+  /**
+   * Draws the marker at the specified position.
+   *
+   * @param g		the graphics context
+   * @param marker	the type of marker to draw
+   * @param x		the X position
+   * @param y		the Y position
+   */
+  protected void drawMarker(Graphics g, MarkerShape marker, int x, int y) {
+    int[]	xs;
+    int[]	ys;
+
+    if (marker == MarkerShape.BOX) {
+      g.drawRect(
+	  x - (m_MarkerExtent / 2),
+	  y - (m_MarkerExtent / 2),
+	  m_MarkerExtent - 1,
+	  m_MarkerExtent - 1);
+    }
+    else if (marker == MarkerShape.CIRCLE) {
+      g.drawArc(
+	  x - (m_MarkerExtent / 2),
+	  y - (m_MarkerExtent / 2),
+	  m_MarkerExtent - 1,
+	  m_MarkerExtent - 1,
+	  0,
+	  360);
+    }
+    else if (marker == MarkerShape.TRIANGLE) {
+      xs = new int[3];
+      ys = new int[3];
+      xs[0] = x - (m_MarkerExtent / 2);
+      ys[0] = y + (m_MarkerExtent / 2);
+      xs[1] = xs[0] + m_MarkerExtent;
+      ys[1] = ys[0];
+      xs[2] = x;
+      ys[2] = ys[0] - m_MarkerExtent;
+      g.drawPolygon(xs, ys, 3);
+    }
+  }
+
+  /**
+   * Draws the M4 envelope of the visible range of the data.
+   *
+   * @param g		the graphics context
+   * @param lod		the level-of-detail data to draw
+   * @param marker	the type of marker to draw
+   */
+  protected void drawLevelOfDetail(Graphics g, LevelOfDetail lod, MarkerShape marker) {
+    int[]		indices;
+    int			currX;
+    int			currY;
+    int			prevX;
+    int			prevY;
+    int			prevMarkerX;
+    int			prevMarkerY;
+    AxisPanel		axisX;
+    AxisPanel		axisY;
+    int			i;
+
+    axisX   = getPanel().getPlot().getAxis(Axis.BOTTOM);
+    axisY   = getPanel().getPlot().getAxis(Axis.LEFT);
+    indices = lod.envelope(LevelOfDetail.boundaries(axisX));
+    if (indices.length == 0)
+      return;
+
+    prevX       = axisX.valueToPos(lod.getX(indices[0]));
+    prevY       = axisY.valueToPos(lod.getY(indices[0]));
+    prevMarkerX = 0;
+    prevMarkerY = 0;
+
+    for (i = 0; i < indices.length; i++) {
+      currX = axisX.valueToPos(lod.getX(indices[i]));
+      currY = axisY.valueToPos(lod.getY(indices[i]));
+      g.drawLine(prevX, prevY, currX, currY);
+      if (marker != MarkerShape.NONE) {
+	if (Math.sqrt(Math.pow(currX - prevMarkerX, 2) + Math.pow(currY - prevMarkerY, 2)) > m_MarkerExtent * 2) {
+	  drawMarker(g, marker, currX, currY);
+	  prevMarkerX = currX;
+	  prevMarkerY = currY;
+	}
+      }
+      prevX = currX;
+      prevY = currY;
+    }
+  }
+
   /**
    * Draws the custom data with the given color.
    *
@@ -331,14 +500,23 @@ public class LinePaintlet
     int				i;
     int				start;
     int				end;
+    LevelOfDetail		lod;
+
+    g.setColor(color);
+    GUIHelper.configureAntiAliasing(g, m_AntiAliasingEnabled);
+
+    if (!m_PaintAll && m_LevelOfDetail) {
+      lod = getLevelOfDetail(data);
+      if (lod.isSorted()) {
+	drawLevelOfDetail(g, lod, marker);
+	return;
+      }
+    }
 
     points = data.toList();
     axisX  = getPanel().getPlot().getAxis(Axis.BOTTOM);
     axisY  = getPanel().getPlot().getAxis(Axis.LEFT);
 
-    g.setColor(color);
-    GUIHelper.configureAntiAliasing(g, m_AntiAliasingEnabled);
-
     // find the start and end points for painting
     if (m_PaintAll) {
       start = 0;
@@ -375,34 +553,7 @@ public class LinePaintlet
       g.drawLine(prevX, prevY, currX, currY);
       if (marker != MarkerShape.NONE) {
 	if (Math.sqrt(Math.pow(currX - prevMarkerX, 2) + Math.pow(currY - prevMarkerY, 2)) > m_MarkerExtent * 2) {
-	  if (marker == MarkerShape.BOX) {
-	    g.drawRect(
-		currX - (m_MarkerExtent / 2),
-		currY - (m_MarkerExtent / 2),
-		m_MarkerExtent - 1,
-		m_MarkerExtent - 1);
-	  }
-	  else if (marker == MarkerShape.CIRCLE) {
-	    g.drawArc(
-		currX - (m_MarkerExtent / 2),
-		currY - (m_MarkerExtent / 2),
-		m_MarkerExtent - 1,
-		m_MarkerExtent - 1,
-		0,
-		360);
-	  }
-	  else if (marker == MarkerShape.TRIANGLE) {
-	    int[] x = new int[3];
-	    int[] y = new int[3];
-	    x[0] = currX - (m_MarkerExtent / 2);
-	    y[0] = currY + (m_MarkerExtent / 2);
-	    x[1] = x[0] + m_MarkerExtent;
-	    y[1] = y[0];
-	    x[2] = currX;
-	    y[2] = y[0] - m_MarkerExtent;
-	    g.drawPolygon(x, y, 3);
-	  }
-
+	  drawMarker(g, marker, currX, currY);
 	  prevMarkerX = currX;
 	  prevMarkerY = currY;
 	}
@@ -445,6 +596,10 @@ public class LinePaintlet
     int		i;
     XYSequence 	data;
 
+    if (m_LevelOfDetailCache == null)
+      m_LevelOfDetailCache = new LevelOfDetail.Cache();
+    m_LevelOfDetailCache.next();
+
     // paint all points
     synchronized(getActualContainerManager()) {
       for (i = 0; i < getActualContainerManager().count(); i++) {
@@ -0,0 +1,74 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * ParallelJobs.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package adams.multiprocess;
+
+import adams.core.Performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Helper for executing a batch of jobs on a temporary thread pool and
+ * collecting their results in the order of the jobs.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class ParallelJobs {
+
+  /**
+   * Executes the jobs in parallel and returns their results in the order of
+   * the jobs. The pool never uses more threads than there are jobs and gets
+   * shut down once all jobs have finished or one of them failed.
+   *
+   * @param jobs	the jobs to execute
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @param error	the error message to use if a job fails
+   * @param <T>		the type of result
+   * @return		the results
+   * @throws IllegalStateException	if a job fails or the execution gets interrupted, wraps the cause
+   */
+  public static <T> List<T> invokeAll(List<? extends Callable<T>> jobs, int numThreads, String error) {
+    List<T>		result;
+    ForkJoinPool	pool;
+
+    result = new ArrayList<>();
+    if (jobs.isEmpty())
+      return result;
+
+    numThreads = Math.max(1, Math.min(Performance.determineNumThreads(numThreads), jobs.size()));
+    pool       = new ForkJoinPool(numThreads);
+    try {
+      for (Future<T> future: pool.invokeAll(jobs))
+	result.add(future.get());
+    }
+    catch (Exception e) {
+      throw new IllegalStateException(error, e);
+    }
+    finally {
+      pool.shutdownNow();
+    }
+
+    return result;
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * BufferedImagePixelsTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.image;
+
+import adams.data.image.BufferedImagePixels.Layout;
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Tests the {@link BufferedImagePixels} class.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class BufferedImagePixelsTest
+  extends AdamsTestCase {
+
+  /** the image types to test. */
+  protected final static int[] TYPES = new int[]{
+    BufferedImage.TYPE_INT_RGB,
+    BufferedImage.TYPE_INT_ARGB,
+    BufferedImage.TYPE_3BYTE_BGR,
+    BufferedImage.TYPE_4BYTE_ABGR,
+    BufferedImage.TYPE_BYTE_GRAY,
+  };
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public BufferedImagePixelsTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Generates an image with random pixels.
+   *
+   * @param type	the image type
+   * @return		the image
+   */
+  protected BufferedImage newImage(int type) {
+    BufferedImage	result;
+    Random		rnd;
+    int			x;
+    int			y;
+
+    rnd    = new Random(42);
+    result = new BufferedImage(13, 7, type);
+    for (y = 0; y < result.getHeight(); y++) {
+      for (x = 0; x < result.getWidth(); x++)
+	result.setRGB(x, y, rnd.nextInt());
+    }
+
+    return result;
+  }
+
+  /**
+   * Tests that the values are the same as with getRGB.
+   */
+  public void testRead() {
+    BufferedImage	img;
+    BufferedImagePixels	pixels;
+    int[]		argb;
+    int			x;
+    int			y;
+
+    for (int type: TYPES) {
+      img    = newImage(type);
+      pixels = new BufferedImagePixels(img);
+      argb   = pixels.toARGB();
+      assertEquals("direct access, type " + type, type != BufferedImage.TYPE_BYTE_GRAY, pixels.isDirect());
+      for (y = 0; y < img.getHeight(); y++) {
+	for (x = 0; x < img.getWidth(); x++) {
+	  assertEquals("pixel " + x + "/" + y + ", type " + type, img.getRGB(x, y), argb[y * img.getWidth() + x]);
+	  assertEquals("pixel " + x + "/" + y + ", type " + type, img.getRGB(x, y), pixels.getARGB(x, y));
+	  assertEquals("red " + x + "/" + y + ", type " + type, (img.getRGB(x, y) >> 16) & 0xFF, pixels.channel(BufferedImagePixels.RED).get(x, y));
+	  assertEquals("alpha " + x + "/" + y + ", type " + type, (img.getRGB(x, y) >> 24) & 0xFF, pixels.channel(BufferedImagePixels.ALPHA).get(x, y));
+	}
+      }
+    }
+  }
+
+  /**
+   * Tests that writing has the same effect as setRGB.
+   */
+  public void testWrite() {
+    BufferedImage	expected;
+    BufferedImage	actual;
+    BufferedImagePixels	pixels;
+    int[]		argb;
+    int			x;
+    int			y;
+
+    for (int type: TYPES) {
+      expected = new BufferedImage(13, 7, type);
+      actual   = new BufferedImage(13, 7, type);
+      argb     = newImage(BufferedImage.TYPE_INT_ARGB).getRGB(0, 0, 13, 7, null, 0, 13);
+      expected.setRGB(0, 0, 13, 7, argb, 0, 13);
+      pixels   = new BufferedImagePixels(actual);
+      pixels.fromARGB(argb);
+      for (y = 0; y < expected.getHeight(); y++) {
+	for (x = 0; x < expected.getWidth(); x++)
+	  assertEquals("pixel " + x + "/" + y + ", type " + type, expected.getRGB(x, y), actual.getRGB(x, y));
+      }
+    }
+  }
+
+  /**
+   * Tests that sub-images fall back on generic access.
+   */
+  public void testSubimage() {
+    BufferedImage	img;
+    BufferedImage	sub;
+    BufferedImagePixels	pixels;
+    int[]		argb;
+
+    img    = newImage(BufferedImage.TYPE_INT_ARGB);
+    sub    = img.getSubimage(2, 1, 5, 4);
+    pixels = new BufferedImagePixels(sub);
+    assertEquals("layout", Layout.GENERIC, pixels.getLayout());
+    argb   = pixels.toARGB();
+    assertEquals("first pixel", img.getRGB(2, 1), argb[0]);
+    assertEquals("last pixel", img.getRGB(6, 4), argb[argb.length - 1]);
+  }
+
+  /**
+   * Returns a test suite.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(BufferedImagePixelsTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
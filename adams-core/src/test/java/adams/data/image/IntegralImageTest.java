@@ -0,0 +1,204 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * IntegralImageTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.image;
+
+import adams.data.image.IntegralImage.Channel;
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Tests the {@link IntegralImage} class.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class IntegralImageTest
+  extends AdamsTestCase {
+
+  /** the colors to use for the labels. */
+  protected final static int[] LABELS = new int[]{0xFF000000, 0xFFFF0000, 0xFF00FF00};
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public IntegralImageTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Generates an image with random pixels, using only a few colors in the
+   * left half.
+   *
+   * @return		the image
+   */
+  protected BufferedImage newImage() {
+    BufferedImage	result;
+    Random		rnd;
+    int			x;
+    int			y;
+
+    rnd    = new Random(42);
+    result = new BufferedImage(23, 17, BufferedImage.TYPE_INT_ARGB);
+    for (y = 0; y < result.getHeight(); y++) {
+      for (x = 0; x < result.getWidth(); x++) {
+	if (x < result.getWidth() / 2)
+	  result.setRGB(x, y, LABELS[rnd.nextInt(LABELS.length)]);
+	else
+	  result.setRGB(x, y, rnd.nextInt());
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Tests the sums and counts against looping over the pixels.
+   */
+  public void testRegions() {
+    BufferedImage	image;
+    IntegralImage	integral;
+    int[][]		regions;
+    long		sum;
+    long		squares;
+    int			count;
+    int			x;
+    int			y;
+    int			value;
+
+    image    = newImage();
+    integral = new IntegralImage(image);
+    regions  = new int[][]{
+      {0, 0, 23, 17},
+      {3, 4, 5, 6},
+      {10, 0, 1, 17},
+      {22, 16, 1, 1},
+    };
+
+    for (int[] region: regions) {
+      assertEquals("area", region[2] * region[3], integral.area(region[0], region[1], region[2], region[3]));
+      for (Channel channel: Channel.values()) {
+	sum     = 0;
+	squares = 0;
+	for (y = region[1]; y < region[1] + region[3]; y++) {
+	  for (x = region[0]; x < region[0] + region[2]; x++) {
+	    value    = channel.get(image.getRGB(x, y));
+	    sum     += value;
+	    squares += value * value;
+	  }
+	}
+	assertEquals("sum " + channel, sum, integral.sum(channel, region[0], region[1], region[2], region[3]));
+	assertEquals("squares " + channel, squares, integral.sumSquares(channel, region[0], region[1], region[2], region[3]));
+	assertEquals("mean " + channel, (double) sum / (region[2] * region[3]), integral.mean(channel, region[0], region[1], region[2], region[3]), 1E-9);
+      }
+      for (int label: LABELS) {
+	count = 0;
+	for (y = region[1]; y < region[1] + region[3]; y++) {
+	  for (x = region[0]; x < region[0] + region[2]; x++) {
+	    if ((image.getRGB(x, y) & 0x00FFFFFF) == (label & 0x00FFFFFF))
+	      count++;
+	  }
+	}
+	assertEquals("count " + Integer.toHexString(label), count, integral.count(label, region[0], region[1], region[2], region[3]));
+      }
+    }
+  }
+
+  /**
+   * Tests regions that extend beyond the image.
+   */
+  public void testClipping() {
+    IntegralImage	integral;
+
+    integral = new IntegralImage(newImage());
+    assertEquals("area", 4, integral.area(-2, -2, 4, 4));
+    assertEquals("sum", integral.sum(Channel.RED, 0, 0, 2, 2), integral.sum(Channel.RED, -2, -2, 4, 4));
+    assertEquals("area", 0, integral.area(30, 30, 4, 4));
+    assertEquals("sum", 0, integral.sum(Channel.RED, 30, 30, 4, 4));
+    assertTrue("mean", Double.isNaN(integral.mean(Channel.RED, 30, 30, 4, 4)));
+    assertTrue("stdev", Double.isNaN(integral.stdev(Channel.RED, 0, 0, 1, 1)));
+  }
+
+  /**
+   * Tests that only a limited number of count tables is kept.
+   */
+  public void testCountsLimit() {
+    BufferedImage	image;
+    IntegralImage	integral;
+    int			expected;
+
+    image    = newImage();
+    integral = new IntegralImage(image, 2);
+    expected = integral.count(LABELS[0], 0, 0, 23, 17);
+    integral.count(LABELS[1], 0, 0, 23, 17);
+    integral.count(LABELS[2], 0, 0, 23, 17);
+    assertEquals("#tables", 2, integral.numCounts());
+    // dropped table gets recomputed
+    assertEquals("count after eviction", expected, integral.count(LABELS[0], 0, 0, 23, 17));
+    assertEquals("#tables after eviction", 2, integral.numCounts());
+  }
+
+  /**
+   * Tests that the container keeps the integral image until modified.
+   */
+  public void testContainer() {
+    BufferedImageContainer	cont;
+    IntegralImage		integral;
+
+    cont = new BufferedImageContainer();
+    cont.setImage(newImage());
+    integral = cont.getIntegralImage();
+    assertSame("same integral image", integral, cont.getIntegralImage());
+    cont.getImage();
+    cont.toBufferedImage();
+    cont.getPixelAccess();
+    assertSame("same integral image after reading", integral, cont.getIntegralImage());
+    cont.getWritableImage();
+    assertNotSame("new integral image", integral, cont.getIntegralImage());
+    integral = cont.getIntegralImage();
+    cont.setImage(newImage());
+    assertNotSame("new integral image", integral, cont.getIntegralImage());
+  }
+
+  /**
+   * Returns a test suite.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(IntegralImageTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
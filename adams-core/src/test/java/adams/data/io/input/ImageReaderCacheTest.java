@@ -0,0 +1,190 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * ImageReaderCacheTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.io.input;
+
+import adams.core.io.PlaceholderFile;
+import adams.data.image.AbstractImageContainer;
+import adams.data.image.BufferedImageContainer;
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Tests the {@link ImageReaderCache} class.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class ImageReaderCacheTest
+  extends AdamsTestCase {
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public ImageReaderCacheTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Generates an ARGB image (4 bytes per pixel).
+   *
+   * @param width	the width
+   * @param height	the height
+   * @return		the container
+   */
+  protected BufferedImageContainer newImage(int width, int height) {
+    BufferedImageContainer	result;
+
+    result = new BufferedImageContainer();
+    result.setImage(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+
+    return result;
+  }
+
+  /**
+   * Tests that copies get stored and returned.
+   */
+  public void testCopies() {
+    ImageReaderCache		cache;
+    JAIImageReader		reader;
+    PlaceholderFile		file;
+    BufferedImageContainer	cont;
+    AbstractImageContainer	cached;
+
+    cache  = new ImageReaderCache(1024 * 1024);
+    reader = new JAIImageReader();
+    file   = new PlaceholderFile("${TMP}/cache1.png");
+    cont   = newImage(10, 10);
+    cache.put(reader, file, cont);
+    assertEquals("size", 1, cache.size());
+    assertEquals("bytes", 400, cache.getBytes());
+
+    cont.getImage().setRGB(0, 0, 0xFFFF0000);
+    cached = cache.get(reader, file);
+    assertNotNull("cached", cached);
+    assertEquals("pixel", 0, ((BufferedImage) cached.getImage()).getRGB(0, 0));
+
+    ((BufferedImage) cached.getImage()).setRGB(0, 0, 0xFFFF0000);
+    cached = cache.get(reader, file);
+    assertEquals("pixel", 0, ((BufferedImage) cached.getImage()).getRGB(0, 0));
+
+    assertNull("other file", cache.get(reader, new PlaceholderFile("${TMP}/cache2.png")));
+  }
+
+  /**
+   * Tests that least recently used images get removed.
+   */
+  public void testEviction() {
+    ImageReaderCache		cache;
+    JAIImageReader		reader;
+    PlaceholderFile[]		files;
+    int				i;
+
+    cache  = new ImageReaderCache(1000);
+    reader = new JAIImageReader();
+    files  = new PlaceholderFile[3];
+    for (i = 0; i < files.length; i++) {
+      files[i] = new PlaceholderFile("${TMP}/cache" + i + ".png");
+      cache.put(reader, files[i], newImage(10, 10));
+    }
+    assertEquals("size", 2, cache.size());
+    assertNull("first", cache.get(reader, files[0]));
+    assertNotNull("second", cache.get(reader, files[1]));
+    assertNotNull("third", cache.get(reader, files[2]));
+
+    cache.put(reader, new PlaceholderFile("${TMP}/large.png"), newImage(100, 100));
+    assertEquals("size", 2, cache.size());
+
+    cache.setMaxBytes(500);
+    assertEquals("size", 1, cache.size());
+    assertNotNull("third", cache.get(reader, files[2]));
+
+    cache.clear();
+    assertEquals("size", 0, cache.size());
+    assertEquals("bytes", 0, cache.getBytes());
+  }
+
+  /**
+   * Tests that the shared cache gets shrunk and released by its users.
+   */
+  public void testSingleton() {
+    ImageReaderCache		cache;
+    JAIImageReader		reader;
+    PlaceholderFile[]		files;
+    Object			user1;
+    Object			user2;
+    int				i;
+
+    user1  = new Object();
+    user2  = new Object();
+    reader = new JAIImageReader();
+    cache  = ImageReaderCache.getSingleton(user1, 400);
+    assertSame("same cache", cache, ImageReaderCache.getSingleton(user2, 1000));
+    assertEquals("users", 2, ImageReaderCache.getNumUsers());
+    assertEquals("max bytes", 1000, cache.getMaxBytes());
+    files = new PlaceholderFile[2];
+    for (i = 0; i < files.length; i++) {
+      files[i] = new PlaceholderFile("${TMP}/shared" + i + ".png");
+      cache.put(reader, files[i], newImage(10, 10));
+    }
+    assertEquals("size", 2, cache.size());
+
+    // shrinks to the remaining user
+    ImageReaderCache.release(user2);
+    assertEquals("users", 1, ImageReaderCache.getNumUsers());
+    assertEquals("max bytes", 400, cache.getMaxBytes());
+    assertEquals("size", 1, cache.size());
+
+    // released twice
+    ImageReaderCache.release(user2);
+    assertEquals("users", 1, ImageReaderCache.getNumUsers());
+
+    // last user
+    ImageReaderCache.release(user1);
+    assertEquals("users", 0, ImageReaderCache.getNumUsers());
+    assertEquals("size", 0, cache.size());
+    assertNotSame("new cache", cache, ImageReaderCache.getSingleton(user1, 400));
+    ImageReaderCache.release(user1);
+  }
+
+  /**
+   * Returns a test suite.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(ImageReaderCacheTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
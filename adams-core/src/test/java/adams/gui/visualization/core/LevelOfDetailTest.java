@@ -0,0 +1,246 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * LevelOfDetailTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.gui.visualization.core;
+
+import adams.data.sequence.XYSequence;
+import adams.data.sequence.XYSequencePoint;
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import java.util.Arrays;
+
+/**
+ * Tests the {@link LevelOfDetail} class.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class LevelOfDetailTest
+  extends AdamsTestCase {
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public LevelOfDetailTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Generates noisy Y values.
+   *
+   * @param n		the number of values
+   * @return		the values
+   */
+  protected double[] generateY(int n) {
+    double[]	result;
+    int		i;
+
+    result = new double[n];
+    for (i = 0; i < n; i++)
+      result[i] = Math.sin(i / 50.0) + ((i * 7919) % 101) / 101.0;
+
+    return result;
+  }
+
+  /**
+   * Generates equidistant X values.
+   *
+   * @param n		the number of values
+   * @return		the values
+   */
+  protected double[] generateX(int n) {
+    double[]	result;
+    int		i;
+
+    result = new double[n];
+    for (i = 0; i < n; i++)
+      result[i] = i * 0.5;
+
+    return result;
+  }
+
+  /**
+   * Tests the range minimum/maximum queries against a linear scan.
+   */
+  public void testMinMax() {
+    LevelOfDetail	lod;
+    double[]		y;
+    int			from;
+    int			to;
+    int			min;
+    int			max;
+    int			i;
+
+    for (int n: new int[]{1, 2, 3, 17, 1000}) {
+      y   = generateY(n);
+      lod = new LevelOfDetail(generateX(n), y);
+      for (from = 0; from < n; from += 1 + n / 20) {
+	for (to = from; to < n; to += 1 + n / 15) {
+	  min = from;
+	  max = from;
+	  for (i = from; i <= to; i++) {
+	    if (y[i] < y[min])
+	      min = i;
+	    if (y[i] > y[max])
+	      max = i;
+	  }
+	  assertEquals("min [" + from + ";" + to + "] of " + n, y[min], y[lod.findMin(from, to)]);
+	  assertEquals("max [" + from + ";" + to + "] of " + n, y[max], y[lod.findMax(from, to)]);
+	}
+      }
+    }
+  }
+
+  /**
+   * Tests the envelope.
+   */
+  public void testEnvelope() {
+    LevelOfDetail	lod;
+    double[]		x;
+    double[]		y;
+    double[]		boundaries;
+    int[]		envelope;
+    int			col;
+    int			i;
+    double		min;
+    double		max;
+    boolean		foundMin;
+    boolean		foundMax;
+
+    x   = generateX(100000);
+    y   = generateY(100000);
+    lod = new LevelOfDetail(x, y);
+    assertTrue("sorted", lod.isSorted());
+
+    boundaries = new double[201];
+    for (i = 0; i < boundaries.length; i++)
+      boundaries[i] = 10000.0 + i * 50.0;
+    envelope = lod.envelope(boundaries);
+    assertTrue("size", envelope.length <= 4 * 200 + 2);
+    assertSame("cached", envelope, lod.envelope(boundaries.clone()));
+    assertEquals("before", lod.findFirst(boundaries[0]) - 1, envelope[0]);
+    assertEquals("after", lod.findLast(boundaries[200]) + 1, envelope[envelope.length - 1]);
+    for (i = 1; i < envelope.length; i++)
+      assertTrue("ascending", envelope[i] > envelope[i - 1]);
+
+    for (col = 0; col < 200; col++) {
+      min      = Double.POSITIVE_INFINITY;
+      max      = Double.NEGATIVE_INFINITY;
+      for (i = 0; i < x.length; i++) {
+	if ((x[i] >= boundaries[col]) && (x[i] < boundaries[col + 1])) {
+	  min = Math.min(min, y[i]);
+	  max = Math.max(max, y[i]);
+	}
+      }
+      foundMin = false;
+      foundMax = false;
+      for (i = 0; i < envelope.length; i++) {
+	if ((x[envelope[i]] >= boundaries[col]) && (x[envelope[i]] < boundaries[col + 1])) {
+	  foundMin = foundMin || (y[envelope[i]] == min);
+	  foundMax = foundMax || (y[envelope[i]] == max);
+	}
+      }
+      assertTrue("min in column " + col, foundMin);
+      assertTrue("max in column " + col, foundMax);
+    }
+  }
+
+  /**
+   * Tests unsorted and empty data.
+   */
+  public void testSpecialCases() {
+    LevelOfDetail	lod;
+
+    lod = new LevelOfDetail(new double[]{1.0, 0.0, 2.0}, new double[]{1.0, 2.0, 3.0});
+    assertFalse("unsorted", lod.isSorted());
+
+    lod = new LevelOfDetail(new double[0], new double[0]);
+    assertEquals("empty", 0, lod.envelope(new double[]{0.0, 1.0, 2.0}).length);
+
+    lod = new LevelOfDetail(new double[]{5.0}, new double[]{1.0});
+    assertTrue("single", Arrays.equals(new int[]{0}, lod.envelope(new double[]{0.0, 10.0})));
+  }
+
+  /**
+   * Tests that cached data gets invalidated when the data object changes.
+   */
+  public void testCache() {
+    LevelOfDetail.Cache	cache;
+    LevelOfDetail	lod;
+    XYSequence		seq;
+    XYSequencePoint	point;
+    long		count;
+    int			i;
+
+    seq = new XYSequence();
+    for (i = 0; i < 10; i++)
+      seq.add(new XYSequencePoint(i, i * 2.0));
+    cache = new LevelOfDetail.Cache();
+    lod   = new LevelOfDetail(generateX(10), generateY(10));
+    count = seq.getModificationCount();
+    cache.put(seq, count, lod);
+    assertSame("unchanged", lod, cache.get(seq, seq.getModificationCount()));
+
+    // modifying a point in place keeps the size
+    point = seq.toList().get(3);
+    point.setY(-1.0);
+    assertEquals("size", 10, seq.size());
+    assertTrue("count after setY", seq.getModificationCount() > count);
+    assertNull("outdated after setY", cache.get(seq, seq.getModificationCount()));
+
+    // replacing a point keeps the size
+    count = seq.getModificationCount();
+    cache.put(seq, count, lod);
+    seq.add(new XYSequencePoint(5, 42.0));
+    assertEquals("size", 10, seq.size());
+    assertNull("outdated after replace", cache.get(seq, seq.getModificationCount()));
+
+    // survives one paint cycle without use, but not two
+    count = seq.getModificationCount();
+    cache.put(seq, count, lod);
+    cache.next();
+    assertSame("previous cycle", lod, cache.get(seq, count));
+    cache.next();
+    cache.next();
+    assertNull("evicted", cache.get(seq, count));
+  }
+
+  /**
+   * Returns the test suite.
+   *
+   * @return		the suite
+   */
+  public static Test suite() {
+    return new TestSuite(LevelOfDetailTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
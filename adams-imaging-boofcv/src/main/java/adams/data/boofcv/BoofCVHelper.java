@@ -15,7 +15,7 @@
 
 /**
  * BoofCVHelper.java
- * Copyright (C) 2013-2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2013-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.boofcv;
 
@@ -159,6 +159,78 @@ public class BoofCVHelper {
       return toBoofCVImage(cont.toBufferedImage(), type);
   }
   
+  /**
+   * Converts the image to the specified type if necessary, using an image
+   * from the pool of the current thread as target. The image must be handed
+   * back with {@link #releaseTemporary(ImageBase...)} once no longer needed
+   * and must not be passed on.
+   *
+   * @param img		the image to convert
+   * @param type	the type of image
+   * @return		the (temporary) image
+   * @see		BoofCVImagePool
+   */
+  public static ImageBase toTemporaryBoofCVImage(BufferedImage img, BoofCVImageType type) {
+    ImageSingleBand	result;
+
+    if (type == BoofCVImageType.MULTIBAND)
+      return toBoofCVImage(img, type);
+
+    result = BoofCVImagePool.getPool().acquire(type.getImageClass(), img.getWidth(), img.getHeight());
+    return ConvertBufferedImage.convertFromSingle(img, result, type.getImageClass());
+  }
+
+  /**
+   * Converts the image to the specified type if necessary, using an image
+   * from the pool of the current thread as target. The image must be handed
+   * back with {@link #releaseTemporary(ImageBase...)} once no longer needed
+   * and must not be passed on.
+   *
+   * @param img		the image to convert
+   * @param type	the type of image
+   * @return		the (temporary) image, the image itself if already the correct type
+   * @see		BoofCVImagePool
+   */
+  public static ImageBase toTemporaryBoofCVImage(ImageBase img, BoofCVImageType type) {
+    if (img.getClass() == type.getImageClass())
+      return img;
+    else
+      return toTemporaryBoofCVImage(toBufferedImage(img), type);
+  }
+
+  /**
+   * Converts the image container to the specified image type if necessary,
+   * using an image from the pool of the current thread as target. The image
+   * must be handed back with {@link #releaseTemporary(ImageBase...)} once no
+   * longer needed and must not be passed on.
+   *
+   * @param cont	the image container to convert
+   * @param type	the type of image
+   * @return		the (temporary) image
+   * @see		BoofCVImagePool
+   */
+  public static ImageBase toTemporaryBoofCVImage(AbstractImageContainer cont, BoofCVImageType type) {
+    if (cont instanceof BoofCVImageContainer)
+      return toTemporaryBoofCVImage(((BoofCVImageContainer) cont).getImage(), type);
+    else
+      return toTemporaryBoofCVImage(cont.toBufferedImage(), type);
+  }
+
+  /**
+   * Hands back temporary images to the pool of the current thread. Images
+   * that did not come from the pool are ignored.
+   *
+   * @param imgs	the images to release, can contain nulls
+   * @see		#toTemporaryBoofCVImage(AbstractImageContainer, BoofCVImageType)
+   */
+  public static void releaseTemporary(ImageBase... imgs) {
+    BoofCVImagePool	pool;
+
+    pool = BoofCVImagePool.getPool();
+    for (ImageBase img: imgs)
+      pool.release(img);
+  }
+
   /**
    * Creates a {@link BoofCVImageContainer} container if necessary, using 
    * {@link BoofCVImageType#FLOAT_32}, otherwise it just casts the object.
@@ -222,7 +294,7 @@ public class BoofCVHelper {
    */
   public static boolean isBinary(BoofCVImageContainer img) {
     boolean result = true;
-    ImageUInt8 greyscale = (ImageUInt8) toBoofCVImage(img, BoofCVImageType.UNSIGNED_INT_8);
+    ImageUInt8 greyscale = (ImageUInt8) toTemporaryBoofCVImage(img, BoofCVImageType.UNSIGNED_INT_8);
     Set<Byte> values = new HashSet<>();
     for(byte pixel : greyscale.getData()) {
       values.add(pixel);
@@ -231,6 +303,7 @@ public class BoofCVHelper {
 	break;
       }
     }
+    releaseTemporary(greyscale);
     return result;
   }
 }
@@ -0,0 +1,162 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * BoofCVImagePool.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.boofcv;
+
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageSingleBand;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-thread pool of single-band BoofCV images, keyed by image type and
+ * dimensions. Used for temporary images (eg the input of a detector) that
+ * are only needed while processing a single token, avoiding the allocation
+ * of large arrays for every token of a video stream.
+ * <br>
+ * Images obtained via {@link #acquire(Class, int, int)} must be returned
+ * with {@link #release(ImageBase)} once no longer used, and must not be
+ * passed on (eg in a container). Releasing images that did not come from
+ * the pool has no effect.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class BoofCVImagePool {
+
+  /** the maximum number of free images to keep per type/dimensions. */
+  public final static int MAX_IMAGES_PER_KEY = 2;
+
+  /** the maximum number of types/dimensions to keep images for. */
+  public final static int MAX_KEYS = 8;
+
+  /** the pools of the threads. */
+  protected static final ThreadLocal<BoofCVImagePool> POOLS = ThreadLocal.withInitial(BoofCVImagePool::new);
+
+  /** the free images (key - images), least recently used key first. */
+  protected Map<String,Deque<ImageSingleBand>> m_Free;
+
+  /** the images currently handed out. */
+  protected Set<ImageBase> m_Leased;
+
+  /**
+   * Initializes the pool.
+   */
+  protected BoofCVImagePool() {
+    m_Free = new LinkedHashMap<String,Deque<ImageSingleBand>>(16, 0.75f, true) {
+      private static final long serialVersionUID = 8218838924468713612L;
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String,Deque<ImageSingleBand>> eldest) {
+	return size() > MAX_KEYS;
+      }
+    };
+    m_Leased = Collections.newSetFromMap(new IdentityHashMap<>());
+  }
+
+  /**
+   * Generates the key for the type and dimensions.
+   *
+   * @param cls		the image class
+   * @param width	the width
+   * @param height	the height
+   * @return		the key
+   */
+  protected String createKey(Class cls, int width, int height) {
+    return cls.getName() + "\t" + width + "\t" + height;
+  }
+
+  /**
+   * Returns an image of the specified type and dimensions, either from the
+   * pool or newly created. The content of the image is undefined.
+   *
+   * @param cls		the image class
+   * @param width	the width
+   * @param height	the height
+   * @return		the image
+   * @param <T>		the type of image
+   */
+  public <T extends ImageSingleBand> T acquire(Class<T> cls, int width, int height) {
+    T				result;
+    Deque<ImageSingleBand>	free;
+
+    free = m_Free.get(createKey(cls, width, height));
+    if ((free != null) && !free.isEmpty())
+      result = (T) free.pop();
+    else
+      result = GeneralizedImageOps.createSingleBand(cls, width, height);
+    m_Leased.add(result);
+
+    return result;
+  }
+
+  /**
+   * Returns the image to the pool. Images that were not obtained from the
+   * pool are ignored.
+   *
+   * @param img		the image to return, can be null
+   */
+  public void release(ImageBase img) {
+    Deque<ImageSingleBand>	free;
+    String			key;
+
+    if ((img == null) || !m_Leased.remove(img))
+      return;
+
+    key  = createKey(img.getClass(), img.getWidth(), img.getHeight());
+    free = m_Free.get(key);
+    if (free == null) {
+      free = new ArrayDeque<>();
+      m_Free.put(key, free);
+    }
+    if (free.size() < MAX_IMAGES_PER_KEY)
+      free.push((ImageSingleBand) img);
+  }
+
+  /**
+   * Returns whether the image was obtained from the pool and not released yet.
+   *
+   * @param img		the image to check
+   * @return		true if from pool
+   */
+  public boolean isLeased(ImageBase img) {
+    return m_Leased.contains(img);
+  }
+
+  /**
+   * Removes all free images.
+   */
+  public void clear() {
+    m_Free.clear();
+  }
+
+  /**
+   * Returns the pool of the current thread.
+   *
+   * @return		the pool
+   */
+  public static BoofCVImagePool getPool() {
+    return POOLS.get();
+  }
+}
@@ -15,7 +15,7 @@
 
 /*
  * Otsu.java
- * Copyright (C) 2014-2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.boofcv.features;
@@ -245,8 +245,13 @@ public class Otsu
     result    = new List[1];
     result[0] = new ArrayList<Object>();
 
-    gray = BoofCVHelper.toBoofCVImage(img.getImage(), BoofCVImageType.UNSIGNED_INT_8);
-    result[0].add(GThresholdImageOps.computeOtsu((ImageUInt8) gray, m_Min, m_Max));
+    gray = BoofCVHelper.toTemporaryBoofCVImage(img.getImage(), BoofCVImageType.UNSIGNED_INT_8);
+    try {
+      result[0].add(GThresholdImageOps.computeOtsu((ImageUInt8) gray, m_Min, m_Max));
+    }
+    finally {
+      BoofCVHelper.releaseTemporary(gray);
+    }
 
     return result;
   }
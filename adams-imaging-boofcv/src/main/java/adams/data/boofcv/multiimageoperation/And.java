@@ -15,7 +15,7 @@
 
 /*
  * And.java
- * Copyright (C) 2015-2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.boofcv.multiimageoperation;
@@ -115,19 +115,24 @@ public class And
     result    = new BoofCVImageContainer[1];
     img       = new ImageUInt8[images.length];
     for (i = 0; i < images.length; i++)
-      img[i] = (ImageUInt8) BoofCVHelper.toBoofCVImage(images[i], BoofCVImageType.UNSIGNED_INT_8);
-    output    = (ImageUInt8) BoofCVHelper.clone(img[0]);
-    for (y = 0; y < images[0].getHeight(); y++) {
-      for (x = 0; x < images[0].getWidth(); x++) {
-	val  = img[0].get(x, y);
-	same = true;
-	for (i = 1; i < img.length; i++) {
-	  if (val != img[i].get(x, y))
-	    same = false;
+      img[i] = (ImageUInt8) BoofCVHelper.toTemporaryBoofCVImage(images[i], BoofCVImageType.UNSIGNED_INT_8);
+    try {
+      output = (ImageUInt8) BoofCVHelper.clone(img[0]);
+      for (y = 0; y < images[0].getHeight(); y++) {
+	for (x = 0; x < images[0].getWidth(); x++) {
+	  val  = img[0].get(x, y);
+	  same = true;
+	  for (i = 1; i < img.length; i++) {
+	    if (val != img[i].get(x, y))
+	      same = false;
+	  }
+	  output.set(x, y, same ? 0 : 1);
 	}
-	output.set(x, y, same ? 0 : 1);
       }
     }
+    finally {
+      BoofCVHelper.releaseTemporary(img);
+    }
     result[0] = new BoofCVImageContainer();
     result[0].setImage(output);
 
@@ -15,7 +15,7 @@
 
 /*
  * Or.java
- * Copyright (C) 2015-2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.boofcv.multiimageoperation;
@@ -112,15 +112,20 @@ public class Or
     ImageUInt8			output;
 
     result    = new BoofCVImageContainer[1];
-    img0      = (ImageUInt8) BoofCVHelper.toBoofCVImage(images[0], BoofCVImageType.UNSIGNED_INT_8);
-    img1      = (ImageUInt8) BoofCVHelper.toBoofCVImage(images[1], BoofCVImageType.UNSIGNED_INT_8);
-    output    = (ImageUInt8) BoofCVHelper.clone(img0);
-    for (y = 0; y < images[0].getHeight(); y++) {
-      for (x = 0; x < images[0].getWidth(); x++) {
-	or = (img0.get(x, y) == 0) || (img1.get(x, y) == 0) ? 0 : 1;
-	output.set(x, y, or);
+    img0      = (ImageUInt8) BoofCVHelper.toTemporaryBoofCVImage(images[0], BoofCVImageType.UNSIGNED_INT_8);
+    img1      = (ImageUInt8) BoofCVHelper.toTemporaryBoofCVImage(images[1], BoofCVImageType.UNSIGNED_INT_8);
+    try {
+      output = (ImageUInt8) BoofCVHelper.clone(img0);
+      for (y = 0; y < images[0].getHeight(); y++) {
+	for (x = 0; x < images[0].getWidth(); x++) {
+	  or = (img0.get(x, y) == 0) || (img1.get(x, y) == 0) ? 0 : 1;
+	  output.set(x, y, or);
+	}
       }
     }
+    finally {
+      BoofCVHelper.releaseTemporary(img0, img1);
+    }
     result[0] = new BoofCVImageContainer();
     result[0].setImage(output);
 
@@ -15,7 +15,7 @@
 
 /*
  * XOr.java
- * Copyright (C) 2015-2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.boofcv.multiimageoperation;
@@ -112,15 +112,20 @@ public class XOr
     ImageUInt8			output;
 
     result    = new BoofCVImageContainer[1];
-    img0      = (ImageUInt8) BoofCVHelper.toBoofCVImage(images[0], BoofCVImageType.UNSIGNED_INT_8);
-    img1      = (ImageUInt8) BoofCVHelper.toBoofCVImage(images[1], BoofCVImageType.UNSIGNED_INT_8);
-    output    = (ImageUInt8) BoofCVHelper.clone(img0);
-    for (y = 0; y < images[0].getHeight(); y++) {
-      for (x = 0; x < images[0].getWidth(); x++) {
-	xor = ((img0.get(x, y) == 0) || (img1.get(x, y) == 0)) && (img0.get(x, y) != img1.get(x, y)) ? 0 : 1;
-	output.set(x, y, xor);
+    img0      = (ImageUInt8) BoofCVHelper.toTemporaryBoofCVImage(images[0], BoofCVImageType.UNSIGNED_INT_8);
+    img1      = (ImageUInt8) BoofCVHelper.toTemporaryBoofCVImage(images[1], BoofCVImageType.UNSIGNED_INT_8);
+    try {
+      output = (ImageUInt8) BoofCVHelper.clone(img0);
+      for (y = 0; y < images[0].getHeight(); y++) {
+	for (x = 0; x < images[0].getWidth(); x++) {
+	  xor = ((img0.get(x, y) == 0) || (img1.get(x, y) == 0)) && (img0.get(x, y) != img1.get(x, y)) ? 0 : 1;
+	  output.set(x, y, xor);
+	}
       }
     }
+    finally {
+      BoofCVHelper.releaseTemporary(img0, img1);
+    }
     result[0] = new BoofCVImageContainer();
     result[0].setImage(output);
 
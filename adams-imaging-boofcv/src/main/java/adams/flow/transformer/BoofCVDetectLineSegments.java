@@ -15,7 +15,7 @@
 
 /**
  * BoofCVDetectLineSegments.java
- * Copyright (C) 2014-201 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.flow.transformer;
 
@@ -326,9 +326,14 @@ public class BoofCVDetectLineSegments
     
     try {
       cont     = (AbstractImageContainer) m_InputToken.getPayload();
-      input    = (ImageFloat32) BoofCVHelper.toBoofCVImage(cont, BoofCVImageType.FLOAT_32);
-      detector = FactoryDetectLineAlgs.lineRansac(m_RegionSize, m_ThresholdEdge, m_ThresholdAngle, m_ConnectLines, ImageFloat32.class, ImageFloat32.class);
-      found    = detector.detect(input);
+      input    = (ImageFloat32) BoofCVHelper.toTemporaryBoofCVImage(cont, BoofCVImageType.FLOAT_32);
+      try {
+	detector = FactoryDetectLineAlgs.lineRansac(m_RegionSize, m_ThresholdEdge, m_ThresholdAngle, m_ConnectLines, ImageFloat32.class, ImageFloat32.class);
+	found    = detector.detect(input);
+      }
+      finally {
+	BoofCVHelper.releaseTemporary(input);
+      }
       
       sheet = new DefaultSpreadSheet();
       row   = sheet.getHeaderRow();
@@ -15,7 +15,7 @@
 
 /**
  * BoofCVDetectLines.java
- * Copyright (C) 2013-2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2013-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.flow.transformer;
 
@@ -431,7 +431,7 @@ public class BoofCVDetectLines
     
     try {
       cont   = (AbstractImageContainer) m_InputToken.getPayload();
-      input  = (ImageSInt16) BoofCVHelper.toBoofCVImage(cont, BoofCVImageType.SIGNED_INT_16);
+      input  = (ImageSInt16) BoofCVHelper.toTemporaryBoofCVImage(cont, BoofCVImageType.SIGNED_INT_16);
       config = new ConfigHoughPolar(
 	  m_LocalMaxRadius, 
 	  m_MinCounts, 
@@ -443,7 +443,12 @@ public class BoofCVDetectLines
 	  config, 
 	  ImageSInt16.class,
 	  ImageSInt16.class);
-      found = detector.detect(input);
+      try {
+	found = detector.detect(input);
+      }
+      finally {
+	BoofCVHelper.releaseTemporary(input);
+      }
       
       sheet = new DefaultSpreadSheet();
       row   = sheet.getHeaderRow();
@@ -15,18 +15,19 @@
 
 /**
  * BinaryContours.java
- * Copyright (C) 2014-2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.flow.transformer.locateobjects;
 
 import adams.core.License;
 import adams.core.QuickInfoHelper;
 import adams.core.annotation.MixedCopyright;
+import adams.data.boofcv.BoofCVHelper;
+import adams.data.boofcv.BoofCVImageType;
 import boofcv.alg.filter.binary.BinaryImageOps;
 import boofcv.alg.filter.binary.Contour;
 import boofcv.alg.filter.binary.ThresholdImageOps;
 import boofcv.alg.misc.ImageStatistics;
-import boofcv.core.image.ConvertBufferedImage;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
@@ -223,12 +224,17 @@ public class BinaryContours
     int			bottom;
     double 		mean;
 
-    input  = ConvertBufferedImage.convertFromSingle(image, null, ImageFloat32.class);
+    input  = (ImageFloat32) BoofCVHelper.toTemporaryBoofCVImage(image, BoofCVImageType.FLOAT_32);
     binary = new ImageUInt8(input.width, input.height);
-    // the mean pixel value is often a reasonable threshold when creating a binary image
-    mean = ImageStatistics.mean(input);
-    // create a binary image by thresholding
-    ThresholdImageOps.threshold(input, binary, (float) mean, true);
+    try {
+      // the mean pixel value is often a reasonable threshold when creating a binary image
+      mean = ImageStatistics.mean(input);
+      // create a binary image by thresholding
+      ThresholdImageOps.threshold(input, binary, (float) mean, true);
+    }
+    finally {
+      BoofCVHelper.releaseTemporary(input);
+    }
     // reduce noise with some filtering?
     if (m_RemoveSmallBlobs) {
       filtered = BinaryImageOps.erode8(binary, 1, null);
@@ -15,17 +15,18 @@
 
 /**
  * CannyBinary.java
- * Copyright (C) 2014-2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.flow.transformer.locateobjects;
 
 import adams.core.License;
 import adams.core.QuickInfoHelper;
 import adams.core.annotation.MixedCopyright;
+import adams.data.boofcv.BoofCVHelper;
+import adams.data.boofcv.BoofCVImageType;
 import boofcv.alg.feature.detect.edge.CannyEdge;
 import boofcv.alg.filter.binary.BinaryImageOps;
 import boofcv.alg.filter.binary.Contour;
-import boofcv.core.image.ConvertBufferedImage;
 import boofcv.factory.feature.detect.edge.FactoryEdgeDetectors;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.image.ImageFloat32;
@@ -321,11 +322,16 @@ public class CannyBinary
     int						top;
     int						bottom;
 
-    input  = ConvertBufferedImage.convertFromSingle(image, null, ImageFloat32.class);
+    input  = (ImageFloat32) BoofCVHelper.toTemporaryBoofCVImage(image, BoofCVImageType.FLOAT_32);
     binary = new ImageUInt8(input.width, input.height);
-    // Finds edges inside the image
-    canny = FactoryEdgeDetectors.canny(m_BlurRadius, true, true, ImageFloat32.class, ImageFloat32.class);
-    canny.process(input, m_ThresholdLow, m_ThresholdHigh, binary);
+    try {
+      // Finds edges inside the image
+      canny = FactoryEdgeDetectors.canny(m_BlurRadius, true, true, ImageFloat32.class, ImageFloat32.class);
+      canny.process(input, m_ThresholdLow, m_ThresholdHigh, binary);
+    }
+    finally {
+      BoofCVHelper.releaseTemporary(input);
+    }
     contours = BinaryImageOps.contour(binary, m_ConnectRule, null);
     
     result = new LocatedObjects();
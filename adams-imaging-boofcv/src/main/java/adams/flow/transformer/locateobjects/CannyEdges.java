@@ -15,17 +15,18 @@
 
 /**
  * CannyEdges.java
- * Copyright (C) 2014-2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.flow.transformer.locateobjects;
 
 import adams.core.License;
 import adams.core.QuickInfoHelper;
 import adams.core.annotation.MixedCopyright;
+import adams.data.boofcv.BoofCVHelper;
+import adams.data.boofcv.BoofCVImageType;
 import boofcv.alg.feature.detect.edge.CannyEdge;
 import boofcv.alg.feature.detect.edge.EdgeContour;
 import boofcv.alg.feature.detect.edge.EdgeSegment;
-import boofcv.core.image.ConvertBufferedImage;
 import boofcv.factory.feature.detect.edge.FactoryEdgeDetectors;
 import boofcv.struct.image.ImageFloat32;
 import georegression.struct.point.Point2D_I32;
@@ -254,11 +255,16 @@ public class CannyEdges
     int						top;
     int						bottom;
 
-    input  = ConvertBufferedImage.convertFromSingle(image, null, ImageFloat32.class);
-    // Finds edges inside the image
-    canny = FactoryEdgeDetectors.canny(m_BlurRadius, true, true, ImageFloat32.class, ImageFloat32.class);
-    canny.process(input, m_ThresholdLow, m_ThresholdHigh, null);
-    contours = canny.getContours();
+    input  = (ImageFloat32) BoofCVHelper.toTemporaryBoofCVImage(image, BoofCVImageType.FLOAT_32);
+    try {
+      // Finds edges inside the image
+      canny = FactoryEdgeDetectors.canny(m_BlurRadius, true, true, ImageFloat32.class, ImageFloat32.class);
+      canny.process(input, m_ThresholdLow, m_ThresholdHigh, null);
+      contours = canny.getContours();
+    }
+    finally {
+      BoofCVHelper.releaseTemporary(input);
+    }
     
     result = new LocatedObjects();
     for (EdgeContour contour: contours) {
@@ -0,0 +1,123 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * BoofCVImagePoolTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.boofcv;
+
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import boofcv.core.image.ConvertBufferedImage;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Tests the {@link BoofCVImagePool} class.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class BoofCVImagePoolTest
+  extends AdamsTestCase {
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public BoofCVImagePoolTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Tests reusing images.
+   */
+  public void testReuse() {
+    BoofCVImagePool	pool;
+    ImageFloat32	img1;
+    ImageFloat32	img2;
+    ImageUInt8		other;
+
+    pool = BoofCVImagePool.getPool();
+    pool.clear();
+    img1 = pool.acquire(ImageFloat32.class, 20, 10);
+    img2 = pool.acquire(ImageFloat32.class, 20, 10);
+    assertNotSame("different images", img1, img2);
+    assertTrue("leased", pool.isLeased(img1));
+    pool.release(img1);
+    assertFalse("leased", pool.isLeased(img1));
+    assertSame("reused", img1, pool.acquire(ImageFloat32.class, 20, 10));
+    assertNotSame("different dimensions", img2, pool.acquire(ImageFloat32.class, 10, 20));
+
+    // images not from the pool are ignored
+    other = new ImageUInt8(20, 10);
+    pool.release(other);
+    assertNotSame("not pooled", other, pool.acquire(ImageUInt8.class, 20, 10));
+  }
+
+  /**
+   * Tests that temporary images have the same content as regular conversions.
+   */
+  public void testTemporary() {
+    BufferedImage	image;
+    Random		rnd;
+    ImageFloat32	expected;
+    ImageFloat32	actual;
+    int			i;
+    int			x;
+    int			y;
+
+    rnd   = new Random(1);
+    image = new BufferedImage(13, 7, BufferedImage.TYPE_BYTE_GRAY);
+    for (i = 0; i < 3; i++) {
+      for (y = 0; y < image.getHeight(); y++) {
+	for (x = 0; x < image.getWidth(); x++)
+	  image.getRaster().setSample(x, y, 0, rnd.nextInt(256));
+      }
+      expected = ConvertBufferedImage.convertFromSingle(image, null, ImageFloat32.class);
+      actual   = (ImageFloat32) BoofCVHelper.toTemporaryBoofCVImage(image, BoofCVImageType.FLOAT_32);
+      for (y = 0; y < image.getHeight(); y++) {
+	for (x = 0; x < image.getWidth(); x++)
+	  assertEquals("pixel " + x + "/" + y, expected.get(x, y), actual.get(x, y), 0.0f);
+      }
+      BoofCVHelper.releaseTemporary(actual);
+    }
+  }
+
+  /**
+   * Returns a test suite.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(BoofCVImagePoolTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
@@ -15,17 +15,19 @@
 
 /*
  * AbstractImageFeatureGenerator.java
- * Copyright (C) 2012-2018 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2012-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image;
 
 import adams.core.CleanUpHandler;
+import adams.core.Performance;
 import adams.core.ShallowCopySupporter;
 import adams.core.base.BaseString;
 import adams.core.option.AbstractOptionHandler;
 import adams.core.option.OptionUtils;
 import adams.data.featureconverter.AbstractFeatureConverter;
+import adams.data.featureconverter.BatchFeatureGenerationHelper;
 import adams.data.featureconverter.HeaderDefinition;
 import adams.data.featureconverter.SpreadSheet;
 import adams.data.report.DataType;
@@ -33,6 +35,7 @@ import adams.data.report.Field;
 import adams.data.report.Report;
 
 import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Level;
 
@@ -353,6 +356,24 @@ public abstract class AbstractImageFeatureGenerator<T extends AbstractImageConta
     return result;
   }
   
+  /**
+   * Creates the header using the given image, if necessary.
+   *
+   * @param img		the image to use for creating the header
+   * @see		#createHeader(T)
+   */
+  protected void initHeader(T img) {
+    HeaderDefinition	header;
+
+    if (!m_Converter.isInitialized()) {
+      header = createHeader(img);
+      if (header == null)
+	throw new IllegalStateException("Failed to create header!");
+      header = postProcessHeader(header);
+      m_Converter.generateHeader(header);
+    }
+  }
+
   /**
    * Process the given image. This method will also create the header if
    * necessary.
@@ -363,20 +384,13 @@ public abstract class AbstractImageFeatureGenerator<T extends AbstractImageConta
    */
   public Object[] generate(T img) {
     Object[]		result;
-    HeaderDefinition	header;
     List<Object>[]	data;
     int			i;
 
     checkData(img);
 
     // create header if necessary
-    if (!m_Converter.isInitialized()) {
-      header = createHeader(img);
-      if (header == null)
-	throw new IllegalStateException("Failed to create header!");
-      header = postProcessHeader(header);
-      m_Converter.generateHeader(header);
-    }
+    initHeader(img);
 
     data   = generateRows(img);
     data   = postProcessRows(img, data);
@@ -387,6 +401,73 @@ public abstract class AbstractImageFeatureGenerator<T extends AbstractImageConta
     return result;
   }
 
+  /**
+   * Processes the given images, generating the features of the images in
+   * parallel. The header gets created from the first image, if necessary.
+   * The rows are returned in the order of the images.
+   *
+   * @param imgs	the images to process
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @return		the generated rows
+   */
+  public Object[] generate(T[] imgs, int numThreads) {
+    return generate(Arrays.asList(imgs), numThreads);
+  }
+
+  /**
+   * Processes the given images, generating the features of the images in
+   * parallel. The header gets created from the first image, if necessary.
+   * The rows are returned in the order of the images.
+   *
+   * @param imgs	the images to process
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @return		the generated rows
+   */
+  public Object[] generate(List<T> imgs, int numThreads) {
+    for (T img: imgs)
+      checkData(img);
+
+    // create header if necessary
+    if (!imgs.isEmpty())
+      initHeader(imgs.get(0));
+
+    return BatchFeatureGenerationHelper.generate(
+      m_Converter, imgs, numThreads,
+      (T img) -> postProcessRows(img, generateRows(img)),
+      () -> {
+	final AbstractImageFeatureGenerator<T> generator = (AbstractImageFeatureGenerator<T>) shallowCopy(true);
+	return (T img) -> generator.postProcessRows(img, generator.generateRows(img));
+      });
+  }
+
+  /**
+   * Processes the given images, generating the features of the images in
+   * parallel, and assembles the rows into a single dataset. The header gets
+   * created from the first image, if necessary.
+   *
+   * @param imgs	the images to process
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @return		the dataset
+   * @see		AbstractFeatureConverter#canGenerateDataset()
+   */
+  public Object generateDataset(List<T> imgs, final int numThreads) {
+    return BatchFeatureGenerationHelper.generateDataset(m_Converter, imgs, (List<T> list) -> generate(list, numThreads));
+  }
+
+  /**
+   * Processes the given images, generating the features of the images in
+   * parallel, and assembles the rows into a single dataset. The header gets
+   * created from the first image, if necessary.
+   *
+   * @param imgs	the images to process
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @return		the dataset
+   * @see		AbstractFeatureConverter#canGenerateDataset()
+   */
+  public Object generateDataset(T[] imgs, int numThreads) {
+    return generateDataset(Arrays.asList(imgs), numThreads);
+  }
+
   /**
    * Compares this object with the specified object for order.  Returns a
    * negative integer, zero, or a positive integer as this object is less
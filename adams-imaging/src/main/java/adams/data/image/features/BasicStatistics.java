@@ -15,14 +15,13 @@
 
 /*
  * BasicStatistics.java
- * Copyright (C) 2018 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2018-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.features;
 
 import adams.data.featureconverter.HeaderDefinition;
 import adams.data.image.BufferedImageContainer;
-import adams.data.image.BufferedImageHelper;
 import adams.data.report.DataType;
 import adams.data.statistics.StatUtils;
 
@@ -113,7 +112,7 @@ public class BasicStatistics
   @Override
   public List<Object>[] generateRows(BufferedImageContainer img) {
     List<Object>[]		result;
-    int[][]			p;
+    int[]			pixels;
     List<Double[]>		rgb;
     int				i;
     int				n;
@@ -123,10 +122,10 @@ public class BasicStatistics
     rgb.add(new Double[img.getHeight() * img.getWidth()]);
     rgb.add(new Double[img.getHeight() * img.getWidth()]);
     rgb.add(new Double[img.getHeight() * img.getWidth()]);
-    p = BufferedImageHelper.getRGBPixels(img.getImage());
-    for (i = 0; i < p.length; i++) {
+    pixels = DecodedImageCache.getPixels(img, DecodedImageCache.ORIGINAL);
+    for (i = 0; i < pixels.length; i++) {
       for (n = 0; n < 3; n++)
-	rgb.get(n)[i] = (double) p[i][n];
+	rgb.get(n)[i] = (double) ((pixels[i] >> (16 - n * 8)) & 0xFF);
     }
 
     result    = new List[1];
@@ -15,14 +15,13 @@
 
 /*
  * ColorCounts.java
- * Copyright (C) 2020 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2020-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.features;
 
 import adams.data.featureconverter.HeaderDefinition;
 import adams.data.image.BufferedImageContainer;
-import adams.data.image.BufferedImageHelper;
 import adams.data.report.DataType;
 import adams.gui.core.ColorHelper;
 import gnu.trove.map.TIntIntMap;
@@ -112,15 +111,13 @@ public class ColorCounts
   @Override
   public List<Object>[] generateRows(BufferedImageContainer img) {
     List<Object>[]		result;
-    BufferedImage		image;
     int[]			pixels;
     int				i;
     int				color;
     TIntIntMap			colors;
     int[]			keys;
 
-    image     = BufferedImageHelper.convert(img.getImage(), BufferedImage.TYPE_4BYTE_ABGR);
-    pixels    = BufferedImageHelper.getPixels(image);
+    pixels    = DecodedImageCache.getPixels(img, BufferedImage.TYPE_4BYTE_ABGR);
     colors    = new TIntIntHashMap();
     // remove alpha channel
     for (i = 0; i < pixels.length; i++) {
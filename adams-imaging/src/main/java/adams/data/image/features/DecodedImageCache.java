@@ -0,0 +1,211 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * DecodedImageCache.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.image.features;
+
+import adams.data.image.BufferedImageContainer;
+import adams.data.image.BufferedImageHelper;
+import adams.data.image.BufferedImagePixels;
+
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-thread cache for converted images and decoded pixels, allowing
+ * several feature generators to share the decoding work for the same image
+ * (eg in {@link MultiBufferedImageFeatureGenerator}).
+ * <br>
+ * The cache is only active between {@link #enter(BufferedImageContainer)}
+ * and {@link #leave(BufferedImageContainer)}, outside of that (or for other
+ * images) the data is computed on the fly. The cached data must not be
+ * modified.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class DecodedImageCache {
+
+  /** the type for using the image as is. */
+  public final static int ORIGINAL = -1;
+
+  /** the active cache of the current thread. */
+  protected static final ThreadLocal<DecodedImageCache> ACTIVE = new ThreadLocal<>();
+
+  /** the image that is being cached. */
+  protected BufferedImage m_Image;
+
+  /** the nesting depth. */
+  protected int m_Depth;
+
+  /** the cache that was active before this one. */
+  protected DecodedImageCache m_Previous;
+
+  /** the converted images (image type - image). */
+  protected Map<Integer,BufferedImage> m_Images;
+
+  /** the ARGB pixels (image type - pixels). */
+  protected Map<Integer,int[]> m_Pixels;
+
+  /**
+   * Initializes the cache.
+   *
+   * @param image	the image to cache the data for
+   * @param previous	the cache that was active before, can be null
+   */
+  protected DecodedImageCache(BufferedImage image, DecodedImageCache previous) {
+    m_Image    = image;
+    m_Depth    = 1;
+    m_Previous = previous;
+    m_Images   = new HashMap<>();
+    m_Pixels   = new HashMap<>();
+  }
+
+  /**
+   * Converts the image into the specified type.
+   *
+   * @param type	the image type, {@link #ORIGINAL} for the image as is
+   * @return		the image
+   */
+  protected BufferedImage convert(int type) {
+    BufferedImage	result;
+
+    if (type == ORIGINAL)
+      return m_Image;
+
+    result = m_Images.get(type);
+    if (result == null) {
+      result = BufferedImageHelper.convert(m_Image, type);
+      m_Images.put(type, result);
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the ARGB pixels of the image converted into the specified type.
+   *
+   * @param type	the image type, {@link #ORIGINAL} for the image as is
+   * @return		the pixels
+   */
+  protected int[] pixels(int type) {
+    int[]	result;
+
+    result = m_Pixels.get(type);
+    if (result == null) {
+      result = new BufferedImagePixels(convert(type)).toARGB();
+      m_Pixels.put(type, result);
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the active cache for the image in the current thread.
+   *
+   * @param image	the image to get the cache for
+   * @return		the cache, null if none active for this image
+   */
+  protected static DecodedImageCache get(BufferedImage image) {
+    DecodedImageCache	result;
+
+    result = ACTIVE.get();
+    if ((result != null) && (result.m_Image != image))
+      result = null;
+
+    return result;
+  }
+
+  /**
+   * Activates caching for the image in the current thread. Calls can be
+   * nested, every call must be matched with a call to
+   * {@link #leave(BufferedImageContainer)}.
+   *
+   * @param img		the image to cache the data for
+   */
+  public static void enter(BufferedImageContainer img) {
+    DecodedImageCache	cache;
+
+    cache = get(img.getImage());
+    if (cache != null)
+      cache.m_Depth++;
+    else
+      ACTIVE.set(new DecodedImageCache(img.getImage(), ACTIVE.get()));
+  }
+
+  /**
+   * Deactivates caching for the image in the current thread, once all
+   * nested calls have been left.
+   *
+   * @param img		the image to stop caching the data for
+   */
+  public static void leave(BufferedImageContainer img) {
+    DecodedImageCache	cache;
+
+    cache = get(img.getImage());
+    if (cache == null)
+      return;
+    cache.m_Depth--;
+    if (cache.m_Depth == 0) {
+      if (cache.m_Previous == null)
+	ACTIVE.remove();
+      else
+	ACTIVE.set(cache.m_Previous);
+    }
+  }
+
+  /**
+   * Returns the image converted into the specified type.
+   *
+   * @param img		the image to convert
+   * @param type	the image type, {@link #ORIGINAL} for the image as is
+   * @return		the converted image
+   * @see		BufferedImageHelper#convert(BufferedImage, int)
+   */
+  public static BufferedImage getImage(BufferedImageContainer img, int type) {
+    DecodedImageCache	cache;
+
+    cache = get(img.getImage());
+    if (cache != null)
+      return cache.convert(type);
+    else if (type == ORIGINAL)
+      return img.getImage();
+    else
+      return BufferedImageHelper.convert(img.getImage(), type);
+  }
+
+  /**
+   * Returns the ARGB pixels (row-wise) of the image converted into the
+   * specified type.
+   *
+   * @param img		the image to get the pixels for
+   * @param type	the image type, {@link #ORIGINAL} for the image as is
+   * @return		the pixels
+   * @see		BufferedImageHelper#getPixels(BufferedImage)
+   */
+  public static int[] getPixels(BufferedImageContainer img, int type) {
+    DecodedImageCache	cache;
+
+    cache = get(img.getImage());
+    if (cache != null)
+      return cache.pixels(type);
+    else
+      return new BufferedImagePixels(getImage(img, type)).toARGB();
+  }
+}
@@ -15,7 +15,7 @@
 
 /*
  * Entropy.java
- * Copyright (C) 2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.features;
@@ -167,8 +167,19 @@ public class Entropy
    * @return		the entropy
    */
   protected double calculateShannonEntropy(BufferedImage img){
+    return calculateShannonEntropy(BufferedImageHelper.getPixels(img), img.getWidth(), img.getHeight());
+  }
+
+  /**
+   * Calculates the Shannon entropy.
+   * 
+   * @param pixels	the ARGB pixels (row-wise) to calculate the entropy for
+   * @param width	the width of the image
+   * @param height	the height of the image
+   * @return		the entropy
+   */
+  protected double calculateShannonEntropy(int[] pixels, int width, int height){
     double 			result;
-    List<String> 		values;
     int 			n;
     Map<Integer, Integer> 	occ;
     int				i;
@@ -180,19 +191,16 @@ public class Entropy
     int 			d;
     double 			p;
     
-    values = new ArrayList<String>();
     n      = 0;
     occ    = new HashMap<Integer, Integer>();
-    for (i = 0; i < img.getHeight(); i += m_StepSize) {
-      for (j = 0; j < img.getWidth(); j += m_StepSize) {
-	pixel = img.getRGB(j, i);
+    for (i = 0; i < height; i += m_StepSize) {
+      for (j = 0; j < width; j += m_StepSize) {
+	pixel = pixels[i * width + j];
 	red   = (pixel >> 16) & 0xff;
 	green = (pixel >> 8) & 0xff;
 	blue  = (pixel) & 0xff;
 	//0.2989 * R + 0.5870 * G + 0.1140 * B greyscale conversion
 	d = (int) Math.round(0.2989 * red + 0.5870 * green + 0.1140 * blue);
-	if (!values.contains(String.valueOf(d)))
-	  values.add(String.valueOf(d));
 	if (occ.containsKey(d))
 	  occ.put(d, occ.get(d) + 1);
 	else
@@ -219,13 +227,13 @@ public class Entropy
   @Override
   public List<Object>[] generateRows(BufferedImageContainer img) {
     List<Object>[]		result;
-    BufferedImage		image;
+    int[]			pixels;
 
     result    = null;
-    image     = BufferedImageHelper.convert(img.getImage(), BufferedImage.TYPE_4BYTE_ABGR);
+    pixels    = DecodedImageCache.getPixels(img, BufferedImage.TYPE_4BYTE_ABGR);
     result    = new List[1];
     result[0] = new ArrayList<Object>();
-    result[0].add(calculateShannonEntropy(image));
+    result[0].add(calculateShannonEntropy(pixels, img.getWidth(), img.getHeight()));
 
     return result;
   }
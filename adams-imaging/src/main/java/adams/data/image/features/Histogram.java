@@ -15,7 +15,7 @@
 
 /*
  * Histogram.java
- * Copyright (C) 2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2017-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.features;
@@ -24,7 +24,6 @@ import adams.core.EnumWithCustomDisplay;
 import adams.core.option.AbstractOption;
 import adams.data.featureconverter.HeaderDefinition;
 import adams.data.image.BufferedImageContainer;
-import adams.data.image.BufferedImageHelper;
 import adams.data.report.DataType;
 import adams.data.statistics.AbstractArrayStatistic.StatisticContainer;
 import adams.data.statistics.ArrayHistogram;
@@ -411,11 +410,11 @@ public class Histogram
     List<Object>[]		result;
     double[]			values;
     Integer[][]			p;
-    BufferedImage		image;
+    int				type;
     int				i;
     int				n;
     int				size;
-    int[][]			pixels;
+    int[]			pixels;
     float[]			rgb;
     float[]			conv;
     ArrayHistogram<Integer>	histogram;
@@ -428,7 +427,7 @@ public class Histogram
     size = img.getHeight() * img.getWidth();
     switch (m_HistogramType) {
       case GRAY:
-        image  = BufferedImageHelper.convert(img.getImage(), BufferedImage.TYPE_BYTE_GRAY);
+        type   = BufferedImage.TYPE_BYTE_GRAY;
 	values = new double[m_NumBins];
 	p      = new Integer[1][size];
 	break;
@@ -437,7 +436,7 @@ public class Histogram
       case YUV:
       case YIQ:
       case HSV:
-        image  = BufferedImageHelper.convert(img.getImage(), BufferedImage.TYPE_3BYTE_BGR);
+        type   = BufferedImage.TYPE_3BYTE_BGR;
 	values = new double[m_NumBins * 3];
 	p      = new Integer[3][size];
 	break;
@@ -447,26 +446,26 @@ public class Histogram
     }
 
     // fill data structures
-    pixels = BufferedImageHelper.getRGBPixels(image);
+    pixels = DecodedImageCache.getPixels(img, type);
     rgb    = new float[3];
     conv   = new float[3];
     switch (m_HistogramType) {
       case GRAY:
 	for (i = 0; i < size; i++)
-	  p[0][i] = pixels[i][0];
+	  p[0][i] = (pixels[i] >> 16) & 0xFF;
 	break;
 
       case RGB:
 	for (i = 0; i < size; i++) {
 	  for (n = 0; n < 3; n++)
-	    p[n][i] = pixels[i][n];
+	    p[n][i] = (pixels[i] >> (16 - n * 8)) & 0xFF;
 	}
 	break;
 
       case YUV:
 	for (i = 0; i < size; i++) {
 	  for (n = 0; n < 3; n++)
-	    rgb[n] = (float) (pixels[i][n] / 255.0);
+	    rgb[n] = (float) (((pixels[i] >> (16 - n * 8)) & 0xFF) / 255.0);
 	  ColorUtils.convertRGBtoYUV(rgb, conv);
 	  for (n = 0; n < 3; n++)
 	    p[n][i] = (int) (conv[n] * 255.0);
@@ -476,7 +475,7 @@ public class Histogram
       case YIQ:
 	for (i = 0; i < size; i++) {
 	  for (n = 0; n < 3; n++)
-	    rgb[n] = (float) (pixels[i][n] / 255.0);
+	    rgb[n] = (float) (((pixels[i] >> (16 - n * 8)) & 0xFF) / 255.0);
 	  ColorUtils.convertRGBtoYIQ(rgb, conv);
 	  for (n = 0; n < 3; n++)
 	    p[n][i] = (int) (conv[n] * 255.0);
@@ -486,7 +485,7 @@ public class Histogram
       case HSV:
 	for (i = 0; i < size; i++) {
 	  for (n = 0; n < 3; n++)
-	    rgb[n] = (float) (pixels[i][n] / 255.0);
+	    rgb[n] = (float) (((pixels[i] >> (16 - n * 8)) & 0xFF) / 255.0);
 	  ColorUtils.convertRGBtoHSV(rgb, conv);
 	  for (n = 0; n < 3; n++)
 	    p[n][i] = (int) (conv[n] * 255.0);
@@ -15,7 +15,7 @@
 
 /**
  * MultiBufferedImageFeatureGenerator.java
- * Copyright (C) 2014-2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.image.features;
 
@@ -207,10 +207,16 @@ public class MultiBufferedImageFeatureGenerator
     int			subMax;
     List<Object>	filler;
     
-    // generate features
+    // generate features (sharing the decoded pixels)
     sub = new List[m_SubGenerators.length][];
-    for (i = 0; i < m_SubGenerators.length; i++)
-      sub[i] = m_SubGenerators[i].postProcessRows(img, m_SubGenerators[i].generateRows(img));
+    DecodedImageCache.enter(img);
+    try {
+      for (i = 0; i < m_SubGenerators.length; i++)
+	sub[i] = m_SubGenerators[i].postProcessRows(img, m_SubGenerators[i].generateRows(img));
+    }
+    finally {
+      DecodedImageCache.leave(img);
+    }
     
     // fill with missing values, if necessary
     max = 0;
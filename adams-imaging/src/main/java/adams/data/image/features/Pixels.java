@@ -15,7 +15,7 @@
 
 /*
  * Pixels.java
- * Copyright (C) 2011-2014 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2011-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.features;
@@ -28,6 +28,7 @@ import java.util.List;
 import adams.data.featureconverter.HeaderDefinition;
 import adams.data.image.BufferedImageContainer;
 import adams.data.image.BufferedImageHelper;
+import adams.data.image.BufferedImagePixels;
 import adams.data.report.DataType;
 
 /**
@@ -209,9 +210,9 @@ public class Pixels
     switch (m_PixelType) {
       case RGB_SINGLE:
 	if (img.getImage().getType() == BufferedImage.TYPE_BYTE_GRAY) {
-	  rgbas = BufferedImageHelper.getRGBPixels(img.getImage());
-	  for (i = 0; i < rgbas.length; i++)
-	    result[0].add(rgbas[i][0]);   // R = G = B
+	  pixels = img.getPixelAccess().getChannel(BufferedImagePixels.RED);
+	  for (i = 0; i < pixels.length; i++)
+	    result[0].add(pixels[i]);   // R = G = B
 	}
 	else {
 	  pixels = BufferedImageHelper.getPixels(img.getImage());
@@ -0,0 +1,263 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * RegionStatistics.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.image.features;
+
+import adams.data.featureconverter.HeaderDefinition;
+import adams.data.image.BufferedImageContainer;
+import adams.data.image.IntegralImage;
+import adams.data.image.IntegralImage.Channel;
+import adams.data.report.DataType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ <!-- globalinfo-start -->
+ * Splits the image into a grid and calculates mean&#47;stdev for each channel (R,G,B) of each cell.<br>
+ * Uses the integral image of the container, i.e., the statistics of each cell are computed in constant time.
+ * <br><br>
+ <!-- globalinfo-end -->
+ *
+ <!-- options-start -->
+ * <pre>-logging-level &lt;OFF|SEVERE|WARNING|INFO|CONFIG|FINE|FINER|FINEST&gt; (property: loggingLevel)
+ * &nbsp;&nbsp;&nbsp;The logging level for outputting errors and debugging output.
+ * &nbsp;&nbsp;&nbsp;default: WARNING
+ * </pre>
+ *
+ * <pre>-converter &lt;adams.data.featureconverter.AbstractFeatureConverter&gt; (property: converter)
+ * &nbsp;&nbsp;&nbsp;The feature converter to use to produce the output data.
+ * &nbsp;&nbsp;&nbsp;default: adams.data.featureconverter.SpreadSheet -data-row-type adams.data.spreadsheet.DenseDataRow -spreadsheet-type adams.data.spreadsheet.DefaultSpreadSheet
+ * </pre>
+ *
+ * <pre>-prefix &lt;java.lang.String&gt; (property: prefix)
+ * &nbsp;&nbsp;&nbsp;The (optional) prefix to use for the feature names.
+ * &nbsp;&nbsp;&nbsp;default:
+ * </pre>
+ *
+ * <pre>-field &lt;adams.data.report.Field&gt; [-field ...] (property: fields)
+ * &nbsp;&nbsp;&nbsp;The fields to add to the output.
+ * &nbsp;&nbsp;&nbsp;default:
+ * </pre>
+ *
+ * <pre>-notes &lt;adams.core.base.BaseString&gt; [-notes ...] (property: notes)
+ * &nbsp;&nbsp;&nbsp;The notes to add as attributes to the generated data, eg 'PROCESS INFORMATION'
+ * &nbsp;&nbsp;&nbsp;.
+ * &nbsp;&nbsp;&nbsp;default:
+ * </pre>
+ *
+ * <pre>-num-rows &lt;int&gt; (property: numRows)
+ * &nbsp;&nbsp;&nbsp;The number of rows in the grid.
+ * &nbsp;&nbsp;&nbsp;default: 2
+ * &nbsp;&nbsp;&nbsp;minimum: 1
+ * </pre>
+ *
+ * <pre>-num-cols &lt;int&gt; (property: numCols)
+ * &nbsp;&nbsp;&nbsp;The number of columns in the grid.
+ * &nbsp;&nbsp;&nbsp;default: 2
+ * &nbsp;&nbsp;&nbsp;minimum: 1
+ * </pre>
+ *
+ <!-- options-end -->
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class RegionStatistics
+  extends AbstractBufferedImageFeatureGenerator {
+
+  /** for serialization. */
+  private static final long serialVersionUID = 2935398723418283841L;
+
+  /** the channels to compute the statistics for. */
+  public final static Channel[] CHANNELS = {Channel.RED, Channel.GREEN, Channel.BLUE};
+
+  /** the number of rows. */
+  protected int m_NumRows;
+
+  /** the number of columns. */
+  protected int m_NumCols;
+
+  /**
+   * Returns a string describing the object.
+   *
+   * @return 			a description suitable for displaying in the gui
+   */
+  @Override
+  public String globalInfo() {
+    return
+      "Splits the image into a grid and calculates mean/stdev for each channel (R,G,B) of each cell.\n"
+	+ "Uses the integral image of the container, i.e., the statistics of "
+	+ "each cell are computed in constant time.";
+  }
+
+  /**
+   * Adds options to the internal list of options.
+   */
+  @Override
+  public void defineOptions() {
+    super.defineOptions();
+
+    m_OptionManager.add(
+      "num-rows", "numRows",
+      2, 1, null);
+
+    m_OptionManager.add(
+      "num-cols", "numCols",
+      2, 1, null);
+  }
+
+  /**
+   * Sets the number of rows in the grid.
+   *
+   * @param value 	the number of rows
+   */
+  public void setNumRows(int value) {
+    if (getOptionManager().isValid("numRows", value)) {
+      m_NumRows = value;
+      reset();
+    }
+  }
+
+  /**
+   * Returns the number of rows in the grid.
+   *
+   * @return 		the number of rows
+   */
+  public int getNumRows() {
+    return m_NumRows;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String numRowsTipText() {
+    return "The number of rows in the grid.";
+  }
+
+  /**
+   * Sets the number of columns in the grid.
+   *
+   * @param value 	the number of columns
+   */
+  public void setNumCols(int value) {
+    if (getOptionManager().isValid("numCols", value)) {
+      m_NumCols = value;
+      reset();
+    }
+  }
+
+  /**
+   * Returns the number of columns in the grid.
+   *
+   * @return 		the number of columns
+   */
+  public int getNumCols() {
+    return m_NumCols;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String numColsTipText() {
+    return "The number of columns in the grid.";
+  }
+
+  /**
+   * Creates the header from a template image.
+   *
+   * @param img		the image to act as a template
+   * @return		the generated header
+   */
+  @Override
+  public HeaderDefinition createHeader(BufferedImageContainer img) {
+    HeaderDefinition	result;
+    int			row;
+    int			col;
+    String		cell;
+
+    result = new HeaderDefinition();
+    for (row = 0; row < m_NumRows; row++) {
+      for (col = 0; col < m_NumCols; col++) {
+	cell = "cell-" + (row + 1) + "-" + (col + 1) + "-";
+	for (String c: new String[]{"R", "G", "B"}) {
+	  result.add(cell + c + "-mean", DataType.NUMERIC);
+	  result.add(cell + c + "-stdev", DataType.NUMERIC);
+	}
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Turns NaN (eg for empty cells) into missing values.
+   *
+   * @param value	the value to convert
+   * @return		the value, null if NaN
+   */
+  protected Double toValue(double value) {
+    if (Double.isNaN(value))
+      return null;
+    else
+      return value;
+  }
+
+  /**
+   * Performs the actual feature generation.
+   *
+   * @param img		the image to process
+   * @return		the generated features
+   */
+  @Override
+  public List<Object>[] generateRows(BufferedImageContainer img) {
+    List<Object>[]	result;
+    IntegralImage	integral;
+    int			row;
+    int			col;
+    int			x;
+    int			y;
+    int			width;
+    int			height;
+
+    integral  = img.getIntegralImage();
+    result    = new List[1];
+    result[0] = new ArrayList<>();
+    for (row = 0; row < m_NumRows; row++) {
+      y      = (int) ((long) row * integral.getHeight() / m_NumRows);
+      height = (int) ((long) (row + 1) * integral.getHeight() / m_NumRows) - y;
+      for (col = 0; col < m_NumCols; col++) {
+	x     = (int) ((long) col * integral.getWidth() / m_NumCols);
+	width = (int) ((long) (col + 1) * integral.getWidth() / m_NumCols) - x;
+	for (Channel c: CHANNELS) {
+	  result[0].add(toValue(integral.mean(c, x, y, width, height)));
+	  result[0].add(toValue(integral.stdev(c, x, y, width, height)));
+	}
+      }
+    }
+
+    return result;
+  }
+}
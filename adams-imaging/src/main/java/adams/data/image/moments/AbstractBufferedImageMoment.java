@@ -15,12 +15,13 @@
 
 /**
  * AbstractBufferedMoment.java
- * Copyright (C) 2016 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2016-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.moments;
 
 import adams.data.image.BufferedImageContainer;
+import adams.data.image.features.DecodedImageCache;
 
 import java.awt.Color;
 import java.awt.image.BufferedImage;
@@ -109,11 +110,12 @@ public abstract class AbstractBufferedImageMoment
    */
   public static boolean[][] imageToMatrix(BufferedImageContainer img, Color background) {
     BufferedImage image = img.toBufferedImage();
+    int[] pixels = DecodedImageCache.getPixels(img, DecodedImageCache.ORIGINAL);
     int bg = background.getRGB();
     boolean[][] result = new boolean[image.getHeight()][image.getWidth()];
     for (int y = 0; y < image.getHeight(); y++) {
       for (int x = 0; x < image.getWidth(); x++) {
-	if(image.getRGB(x, y) == bg)
+	if(pixels[y * image.getWidth() + x] == bg)
 	  result[y][x] = false;
 	else
 	  result[y][x] = true;
@@ -15,7 +15,7 @@
 
 /*
  * Binary.java
- * Copyright (C) 2014 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.transformer;
@@ -25,6 +25,7 @@ import java.awt.image.BufferedImage;
 import adams.core.QuickInfoHelper;
 import adams.data.image.BufferedImageContainer;
 import adams.data.image.BufferedImageHelper;
+import adams.data.image.BufferedImagePixels;
 
 /**
  <!-- globalinfo-start -->
@@ -52,7 +53,8 @@ import adams.data.image.BufferedImageHelper;
  * @version $Revision: 7706 $
  */
 public class Binary
-  extends AbstractBufferedImageTransformer {
+  extends AbstractBufferedImageTransformer
+  implements TileableTransformer {
 
   /** for serialization. */
   private static final long serialVersionUID = 2959486760492196174L;
@@ -128,6 +130,16 @@ public class Binary
     return QuickInfoHelper.toString(this, "threshold", m_Threshold, "threshold: ");
   }
   
+  /**
+   * Returns the radius of the neighbourhood used for computing an output pixel.
+   *
+   * @return		0 for point operation
+   */
+  @Override
+  public int getKernelRadius() {
+    return 0;
+  }
+
   /**
    * Performs no transformation at all, just returns the input.
    *
@@ -137,32 +149,28 @@ public class Binary
   @Override
   protected BufferedImageContainer[] doTransform(BufferedImageContainer img) {
     BufferedImageContainer[]	result;
-    int 			width;
-    int 			height;
     BufferedImage		image;
-    int				x;
-    int				y;
-    int[]			channels;
+    BufferedImagePixels		access;
+    int[]			pixels;
+    int				pixel;
+    int				n;
     int				i;
 
-    width     = img.getWidth();
-    height    = img.getHeight();
     result    = new BufferedImageContainer[1];
     result[0] = (BufferedImageContainer) img.getHeader();
     image     = BufferedImageHelper.convert(img.getImage(), BufferedImage.TYPE_BYTE_GRAY);
 
-    for (y = 0; y < height; y++) {
-      for (x = 0; x < width; x++) {
-	channels = BufferedImageHelper.split(image.getRGB(x, y));
-	for (i = 0; i <= 3; i++) {
-	  if (channels[i] < m_Threshold)
-	    channels[i] = 0;
-	  else
-	    channels[i] = 255;
-	}
-	image.setRGB(x, y, BufferedImageHelper.combine(channels));
+    access    = new BufferedImagePixels(image);
+    pixels    = access.toARGB();
+    for (n = 0; n < pixels.length; n++) {
+      pixel = 0;
+      for (i = 0; i < 32; i += 8) {
+	if (((pixels[n] >> i) & 0xFF) >= m_Threshold)
+	  pixel |= 0xFF << i;
       }
+      pixels[n] = pixel;
     }
+    access.fromARGB(pixels);
 
     result[0].setImage(image);
 
@@ -15,7 +15,7 @@
 
 /*
  * BinaryMask.java
- * Copyright (C) 2014 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.transformer;
@@ -24,6 +24,7 @@ import java.awt.Color;
 import java.awt.image.BufferedImage;
 
 import adams.core.QuickInfoHelper;
+import adams.data.InPlaceProcessing;
 import adams.data.image.BufferedImageContainer;
 
 /**
@@ -56,13 +57,19 @@ import adams.data.image.BufferedImageContainer;
  * &nbsp;&nbsp;&nbsp;default: #ffffff
  * </pre>
  * 
+ * <pre>-no-copy &lt;boolean&gt; (property: noCopy)
+ * &nbsp;&nbsp;&nbsp;If enabled, no copy of the image is created before processing it.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ * 
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
  * @version $Revision: 7706 $
  */
 public class BinaryMask
-  extends AbstractBufferedImageTransformer {
+  extends AbstractBufferedImageTransformer
+  implements InPlaceProcessing {
 
   /** for serialization. */
   private static final long serialVersionUID = 2959486760492196174L;
@@ -88,6 +95,9 @@ public class BinaryMask
   
   /** the color to replace the pixels with. */
   protected Color m_ReplacementColor;
+
+  /** whether to skip creating a copy of the image. */
+  protected boolean m_NoCopy;
   
   /**
    * Returns a string describing the object.
@@ -120,6 +130,10 @@ public class BinaryMask
     m_OptionManager.add(
 	"replacement-color", "replacementColor",
 	Color.WHITE);
+
+    m_OptionManager.add(
+	"no-copy", "noCopy",
+	false);
   }
 
   /**
@@ -214,6 +228,35 @@ public class BinaryMask
     return "The color to replace pixels selected by the replacement type with.";
   }
 
+  /**
+   * Sets whether to skip creating a copy of the image before processing it.
+   *
+   * @param value	true if to skip creating copy
+   */
+  public void setNoCopy(boolean value) {
+    m_NoCopy = value;
+    reset();
+  }
+
+  /**
+   * Returns whether to skip creating a copy of the image before processing it.
+   *
+   * @return		true if copying is skipped
+   */
+  public boolean getNoCopy() {
+    return m_NoCopy;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the gui
+   */
+  public String noCopyTipText() {
+    return "If enabled, no copy of the image is created before processing it.";
+  }
+
   /**
    * Returns a quick info about the object, which can be displayed in the GUI.
    *
@@ -230,6 +273,16 @@ public class BinaryMask
     return result;
   }
   
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
   /**
    * Performs no transformation at all, just returns the input.
    *
@@ -257,7 +310,7 @@ public class BinaryMask
     bimage = mask[0].getImage();
 
     // replace pixels
-    image  = img.getImage();
+    image  = img.getWritableImage();
     width  = image.getWidth();
     height = image.getHeight();
     color  = m_ReplacementColor.getRGB();
@@ -15,7 +15,7 @@
 
 /*
  * ChangeCanvasSize.java
- * Copyright (C) 2014-2016 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.transformer;
@@ -246,6 +246,16 @@ public class ChangeCanvasSize
     return "The background color to use.";
   }
   
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
   /**
    * Performs no transformation at all, just returns the input.
    *
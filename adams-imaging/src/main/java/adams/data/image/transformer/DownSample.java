@@ -15,7 +15,7 @@
 
 /*
  * DownSample.java
- * Copyright (C) 2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2017-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.image.transformer;
 
@@ -120,6 +120,16 @@ public class DownSample
     return QuickInfoHelper.toString(this, "nthPixel", m_NthPixel, "nth: ");
   }
 
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
   /**
    * Performs the actual transforming of the image.
    *
@@ -15,7 +15,7 @@
 
 /*
  * GaussianBlur.java
- * Copyright (C) 2011-2013 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2011-2026 University of Waikato, Hamilton, New Zealand
  * Copyright (C) Jerry Huxtable
  */
 
@@ -65,7 +65,8 @@ import adams.data.image.BufferedImageContainer;
     url = "http://www.jhlabs.com/ip/blurring.html"
 )
 public class GaussianBlur
-  extends AbstractBufferedImageTransformer {
+  extends AbstractBufferedImageTransformer
+  implements TileableTransformer {
 
   /** for serialization. */
   private static final long serialVersionUID = 2959486760492196174L;
@@ -224,6 +225,26 @@ public class GaussianBlur
     return new Kernel(rows, 1, matrix);
   }
 
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
+  /**
+   * Returns the radius of the neighbourhood used for computing an output pixel.
+   *
+   * @return		the radius in pixels
+   */
+  @Override
+  public int getKernelRadius() {
+    return (int) Math.ceil(m_Radius);
+  }
+
   /**
    * Performs no transformation at all, just returns the input.
    *
@@ -15,7 +15,7 @@
 
 /*
  * GrayOrIndexedColorizer.java
- * Copyright (C) 2020 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2020-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.image.transformer;
@@ -180,6 +180,16 @@ public class GrayOrIndexedColorizer
     return QuickInfoHelper.toString(this, "forceGrayScale", m_ForceGrayScale, "gray-scale");
   }
 
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
   /**
    * Performs the actual transforming of the image.
    *
@@ -15,7 +15,7 @@
 
 /*
  * Grayscale.java
- * Copyright (C) 2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2017-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.image.transformer;
 
@@ -48,7 +48,8 @@ import java.awt.image.BufferedImage;
  * @author  fracpete (fracpete at waikato dot ac dot nz)
  */
 public class Grayscale
-  extends AbstractBufferedImageTransformer {
+  extends AbstractBufferedImageTransformer
+  implements TileableTransformer {
 
   /** for serialization. */
   private static final long serialVersionUID = 8400999643470579756L;
@@ -117,6 +118,26 @@ public class Grayscale
     return QuickInfoHelper.toString(this, "luminance", m_Luminance, "luminance: ");
   }
 
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
+  /**
+   * Returns the radius of the neighbourhood used for computing an output pixel.
+   *
+   * @return		0 for point operation
+   */
+  @Override
+  public int getKernelRadius() {
+    return 0;
+  }
+
   /**
    * Performs the actual transforming of the image.
    *
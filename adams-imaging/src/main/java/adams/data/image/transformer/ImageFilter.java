@@ -15,7 +15,7 @@
 
 /*
  * ImageFilter.java
- * Copyright (C) 2014 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.transformer;
@@ -169,6 +169,16 @@ public class ImageFilter
     return result;
   }
 
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
   /**
    * Generates the subimages.
    *
@@ -15,7 +15,7 @@
 
 /*
  * ImageType.java
- * Copyright (C) 2014 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.transformer;
@@ -161,6 +161,16 @@ public class ImageType
     return QuickInfoHelper.toString(this, "type", m_Type);
   }
   
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
   /**
    * Performs no transformation at all, just returns the input.
    *
@@ -15,7 +15,7 @@
 
 /**
  * LaplaceOfGaussian.java
- * Copyright (C) 2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.image.transformer;
 
@@ -216,6 +216,16 @@ public class LaplaceOfGaussian
     return result;
   }
 
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
   /**
    * Performs the actual transforming of the image.
    *
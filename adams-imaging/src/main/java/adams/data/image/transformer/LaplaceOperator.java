@@ -15,7 +15,7 @@
 
 /**
  * LaplaceOperator.java
- * Copyright (C) 2014 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.image.transformer;
 
@@ -74,6 +74,16 @@ public class LaplaceOperator
 	+ "http://docs.opencv.org/modules/imgproc/doc/filtering.html?highlight=laplacian#laplacian";
   }
 
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
   /**
    * Performs the actual transforming of the image.
    *
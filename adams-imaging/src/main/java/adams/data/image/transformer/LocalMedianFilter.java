@@ -15,15 +15,15 @@
 
 /**
  * LocalMedianFilter.java
- * Copyright (C) 2016 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2016-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.transformer;
 
 import adams.data.image.BufferedImageContainer;
 import adams.data.image.BufferedImageHelper;
+import adams.data.image.BufferedImagePixels;
 
-import java.awt.image.BufferedImage;
 import java.util.Arrays;
 
 /**
@@ -32,8 +32,29 @@ import java.util.Arrays;
  * @author sjb90
  * @version $Revision$
  */
-public class LocalMedianFilter extends AbstractBufferedImageTransformer {
+public class LocalMedianFilter extends AbstractBufferedImageTransformer
+  implements TileableTransformer {
   final int K = 4;
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
+  /**
+   * Returns the radius of the neighbourhood used for computing an output pixel.
+   *
+   * @return		the radius in pixels
+   */
+  @Override
+  public int getKernelRadius() {
+    return 1;
+  }
+
   /**
    * Performs the actual transforming of the image.
    *
@@ -47,47 +68,40 @@ public class LocalMedianFilter extends AbstractBufferedImageTransformer {
     int 	height 	= img.getHeight();
     int 	width 	= img.getWidth();
     int[] 	pixels 	= new int[2*K+1];
-    BufferedImage image = img.getImage();
-    BufferedImage copy  = BufferedImageHelper.deepCopy(image);
+    int[]	r	= new int[2*K+1];
+    int[]	g	= new int[2*K+1];
+    int[]	b	= new int[2*K+1];
+    // snapshot of the original pixels, the image gets modified in place
+    int[]	orig	= img.getPixelAccess().toARGB();
+    BufferedImagePixels out = img.getWritablePixelAccess();
 
     for (int h = 1; h < height - 1; h++) {
       for (int w = 1; w < width - 1; w++) {
 	int k = 0;
 	for (int x = -1; x < 2; x++) {
 	  for (int y = -1; y < 2; y++) {
-	    pixels[k] = copy.getRGB(w+x,h+y);
+	    pixels[k] = orig[(h+y)*width + w+x];
 	    k++;
 	  }
 	}
-        image.setRGB(w,h,getMedian(pixels));
+        out.setARGB(w,h,getMedian(pixels, r, g, b));
       }
     }
     result[0] = new BufferedImageContainer();
-    result[0].setImage(image);
+    result[0].setImage(out.getImage());
     return result;
   }
 
-  private int getMedian(int[] pixels) {
-    int result;
-    int[] r = new int[9];
-    int[] g = new int[9];
-    int[] b = new int[9];
-
+  private int getMedian(int[] pixels, int[] r, int[] g, int[] b) {
     for (int i = 0; i < pixels.length; i++) {
-      int[] channels = BufferedImageHelper.split(pixels[i]);
-      r[i] = channels[0];
-      g[i] = channels[1];
-      b[i] = channels[2];
+      r[i] = (pixels[i] >> 16) & 0xFF;
+      g[i] = (pixels[i] >> 8) & 0xFF;
+      b[i] = pixels[i] & 0xFF;
     }
     Arrays.sort(r);
     Arrays.sort(g);
     Arrays.sort(b);
-    int[] median = new int[4];
-    median[0] = r[K];
-    median[1] = g[K];
-    median[2] = b[K];
-    result = BufferedImageHelper.combine(median);
-    return result;
+    return BufferedImageHelper.combine(r[K], g[K], b[K], 0);
   }
 
   /**
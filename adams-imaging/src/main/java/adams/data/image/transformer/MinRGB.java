@@ -15,7 +15,7 @@
 
 /**
  * MaxRGB.java
- * Copyright (C) 2016 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2016-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.transformer;
@@ -35,7 +35,28 @@ import java.awt.image.BufferedImage;
  * @author sjb90
  * @version $Revision$
  */
-public class MinRGB extends AbstractBufferedImageTransformer {
+public class MinRGB extends AbstractBufferedImageTransformer
+  implements TileableTransformer {
+
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
+  /**
+   * Returns the radius of the neighbourhood used for computing an output pixel.
+   *
+   * @return		0 for point operation
+   */
+  @Override
+  public int getKernelRadius() {
+    return 0;
+  }
 
   /**
 
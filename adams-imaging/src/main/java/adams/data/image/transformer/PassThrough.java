@@ -15,7 +15,7 @@
 
 /*
  * PassThrough.java
- * Copyright (C) 2011-2012 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2011-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.transformer;
@@ -44,7 +44,8 @@ import adams.data.image.BufferedImageContainer;
  * @version $Revision$
  */
 public class PassThrough
-  extends AbstractBufferedImageTransformer {
+  extends AbstractBufferedImageTransformer
+  implements TileableTransformer {
 
   /** for serialization. */
   private static final long serialVersionUID = 2959486760492196174L;
@@ -59,6 +60,16 @@ public class PassThrough
     return "A dummy transform that just passes the image through.";
   }
 
+  /**
+   * Returns the radius of the neighbourhood used for computing an output pixel.
+   *
+   * @return		0 for point operation
+   */
+  @Override
+  public int getKernelRadius() {
+    return 0;
+  }
+
   /**
    * Performs no transformation at all, just returns the input.
    *
@@ -15,7 +15,7 @@
 
 /*
  * ReplaceColors.java
- * Copyright (C) 2020 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2020-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.image.transformer;
@@ -23,6 +23,7 @@ package adams.data.image.transformer;
 import adams.core.Utils;
 import adams.core.base.BaseColor;
 import adams.data.image.BufferedImageContainer;
+import adams.data.image.BufferedImagePixels;
 import gnu.trove.map.TIntIntMap;
 import gnu.trove.map.hash.TIntIntHashMap;
 
@@ -55,7 +56,8 @@ import java.awt.Color;
  * @author FracPete (fracpete at waikato dot ac dot nz)
  */
 public class ReplaceColors
-  extends AbstractBufferedImageTransformer {
+  extends AbstractBufferedImageTransformer
+  implements TileableTransformer {
 
   private static final long serialVersionUID = -7828174332731436229L;
 
@@ -151,6 +153,26 @@ public class ReplaceColors
     return "The replacement colors.";
   }
 
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
+  /**
+   * Returns the radius of the neighbourhood used for computing an output pixel.
+   *
+   * @return		0 for point operation
+   */
+  @Override
+  public int getKernelRadius() {
+    return 0;
+  }
+
   /**
    * Performs the actual transforming of the image.
    *
@@ -162,7 +184,8 @@ public class ReplaceColors
     BufferedImageContainer[]	result;
     TIntIntMap			colors;
     int				i;
-    int[]			pixels;
+    BufferedImagePixels		pixels;
+    int				pixel;
 
     colors = new TIntIntHashMap();
     for (i = 0; i < m_OldColors.length; i++)
@@ -170,12 +193,12 @@ public class ReplaceColors
 
     result    = new BufferedImageContainer[1];
     result[0] = (BufferedImageContainer) img.getClone();
-    pixels    = result[0].getImage().getRGB(0, 0, result[0].getImage().getWidth(), result[0].getImage().getHeight(), null, 0, result[0].getImage().getWidth());
-    for (i = 0; i < pixels.length; i++) {
-      if (colors.containsKey(pixels[i]))
-        pixels[i] = colors.get(pixels[i]);
+    pixels    = result[0].getWritablePixelAccess();
+    for (i = 0; i < pixels.size(); i++) {
+      pixel = pixels.get(i);
+      if (colors.containsKey(pixel))
+        pixels.set(i, colors.get(pixel));
     }
-    result[0].getImage().setRGB(0, 0, result[0].getImage().getWidth(), result[0].getImage().getHeight(), pixels, 0, result[0].getImage().getWidth());
 
     return result;
   }
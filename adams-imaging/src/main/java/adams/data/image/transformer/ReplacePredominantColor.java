@@ -15,7 +15,7 @@
 
 /*
  * ReplacePredominantColor.java
- * Copyright (C) 2020 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2020-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.image.transformer;
@@ -106,6 +106,16 @@ public class ReplacePredominantColor
     return "The replacement color.";
   }
 
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
   /**
    * Performs the actual transforming of the image.
    *
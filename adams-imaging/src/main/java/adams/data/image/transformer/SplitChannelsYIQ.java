@@ -15,7 +15,7 @@
 
 /*
  * SplitChannelsYIQ.java
- * Copyright (C) 2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2017-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.transformer;
@@ -135,6 +135,16 @@ public class SplitChannelsYIQ
       throw new IllegalStateException("No channel(s) selected!");
   }
 
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
   /**
    * Generates the channels.
    *
@@ -15,7 +15,7 @@
 
 /*
  * ThresholdReplacement.java
- * Copyright (C) 2016 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2016-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.image.transformer;
@@ -23,6 +23,7 @@ package adams.data.image.transformer;
 import adams.core.QuickInfoHelper;
 import adams.data.image.BufferedImageContainer;
 import adams.data.image.BufferedImageHelper;
+import adams.data.image.BufferedImagePixels;
 
 import java.awt.Color;
 import java.awt.image.BufferedImage;
@@ -63,7 +64,8 @@ import java.awt.image.BufferedImage;
  * @version $Revision: 7706 $
  */
 public class ThresholdReplacement
-  extends AbstractBufferedImageTransformer {
+  extends AbstractBufferedImageTransformer
+  implements TileableTransformer {
 
   /** for serialization. */
   private static final long serialVersionUID = 2959486760492196174L;
@@ -224,6 +226,26 @@ public class ThresholdReplacement
     return result;
   }
   
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
+  /**
+   * Returns the radius of the neighbourhood used for computing an output pixel.
+   *
+   * @return		0 for point operation
+   */
+  @Override
+  public int getKernelRadius() {
+    return 0;
+  }
+
   /**
    * Performs no transformation at all, just returns the input.
    *
@@ -233,40 +255,33 @@ public class ThresholdReplacement
   @Override
   protected BufferedImageContainer[] doTransform(BufferedImageContainer img) {
     BufferedImageContainer[]	result;
-    int 			width;
-    int 			height;
-    BufferedImage 		imageGray;
-    BufferedImage		imageNew;
-    int				x;
-    int				y;
-    int[]			channels;
+    int[] 			gray;
+    BufferedImagePixels		imageNew;
+    int				i;
+    int				value;
     int				replace;
 
-    width     = img.getWidth();
-    height    = img.getHeight();
     result    = new BufferedImageContainer[1];
     result[0] = (BufferedImageContainer) img.getHeader();
-    imageGray = BufferedImageHelper.convert(img.getImage(), BufferedImage.TYPE_BYTE_GRAY);
-    imageNew  = BufferedImageHelper.deepCopy(img.getImage());
+    gray      = BufferedImageHelper.getPixels(BufferedImageHelper.convert(img.getImage(), BufferedImage.TYPE_BYTE_GRAY));
+    imageNew  = new BufferedImagePixels(BufferedImageHelper.deepCopy(img.getImage()));
     replace   = m_ReplacementColor.getRGB();
 
-    for (y = 0; y < height; y++) {
-      for (x = 0; x < width; x++) {
-	channels = BufferedImageHelper.split(imageGray.getRGB(x, y));
-	switch (m_Type) {
-	  case REMOVE_ABOVE:
-	    if (channels[0] > m_Threshold)
-	      imageNew.setRGB(x, y, replace);
-	    break;
-	  case REMOVE_BELOW:
-	    if (channels[0] < m_Threshold)
-	      imageNew.setRGB(x, y, replace);
-	    break;
-	}
+    for (i = 0; i < gray.length; i++) {
+      value = (gray[i] >> 16) & 0xFF;
+      switch (m_Type) {
+	case REMOVE_ABOVE:
+	  if (value > m_Threshold)
+	    imageNew.set(i, replace);
+	  break;
+	case REMOVE_BELOW:
+	  if (value < m_Threshold)
+	    imageNew.set(i, replace);
+	  break;
       }
     }
 
-    result[0].setImage(imageNew);
+    result[0].setImage(imageNew.getImage());
 
     return result;
   }
@@ -0,0 +1,43 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * TileableTransformer.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.image.transformer;
+
+/**
+ * Interface for image transformers that can be applied to tiles of an image
+ * independently, i.e., the value of an output pixel only depends on the
+ * input pixels within the kernel radius and the output has the same size
+ * as the input.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ * @see Tiled
+ */
+public interface TileableTransformer {
+
+  /**
+   * Returns the radius of the neighbourhood that is used for computing an
+   * output pixel. Tiles get extended by this radius (halo) before
+   * processing them.
+   *
+   * @return		the radius in pixels, 0 for point operations,
+   * 			-1 if the current setup cannot be processed in tiles
+   */
+  public int getKernelRadius();
+}
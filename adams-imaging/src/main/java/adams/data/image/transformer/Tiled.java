@@ -0,0 +1,368 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Tiled.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.image.transformer;
+
+import adams.core.Performance;
+import adams.core.QuickInfoHelper;
+import adams.data.image.BufferedImageContainer;
+import adams.multiprocess.ParallelJobs;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ <!-- globalinfo-start -->
+ * Splits the image into tiles and applies the base transformer to the tiles in parallel, stitching the results back together.<br>
+ * The base transformer must implement adams.data.image.transformer.TileableTransformer; its kernel radius determines the halo around each tile. Images that are not larger than a single tile and transformers that cannot be tiled with their current setup are processed as a whole.<br>
+ * The report of the input image gets passed on.
+ * <br><br>
+ <!-- globalinfo-end -->
+ *
+ <!-- options-start -->
+ * <pre>-logging-level &lt;OFF|SEVERE|WARNING|INFO|CONFIG|FINE|FINER|FINEST&gt; (property: loggingLevel)
+ * &nbsp;&nbsp;&nbsp;The logging level for outputting errors and debugging output.
+ * &nbsp;&nbsp;&nbsp;default: WARNING
+ * </pre>
+ *
+ * <pre>-transformer &lt;adams.data.image.transformer.AbstractBufferedImageTransformer&gt; (property: transformer)
+ * &nbsp;&nbsp;&nbsp;The base transformer to apply to the tiles; must implement adams.data.image.transformer.TileableTransformer.
+ * &nbsp;&nbsp;&nbsp;default: adams.data.image.transformer.PassThrough
+ * </pre>
+ *
+ * <pre>-tile-size &lt;int&gt; (property: tileSize)
+ * &nbsp;&nbsp;&nbsp;The width and height of the tiles (excluding the halo).
+ * &nbsp;&nbsp;&nbsp;default: 512
+ * &nbsp;&nbsp;&nbsp;minimum: 1
+ * </pre>
+ *
+ * <pre>-num-threads &lt;int&gt; (property: numThreads)
+ * &nbsp;&nbsp;&nbsp;The number of threads to use for parallel execution; &gt; 0: specific number
+ * &nbsp;&nbsp;&nbsp;of cores to use (capped by actual number of cores available, 1 = sequential
+ * &nbsp;&nbsp;&nbsp;execution); = 0: number of cores; &lt; 0: number of free cores (eg -2 means
+ * &nbsp;&nbsp;&nbsp;2 free cores; minimum of one core is used)
+ * &nbsp;&nbsp;&nbsp;default: -1
+ * </pre>
+ *
+ <!-- options-end -->
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class Tiled
+  extends AbstractBufferedImageTransformer {
+
+  /** for serialization. */
+  private static final long serialVersionUID = -1460335284478062457L;
+
+  /** the base transformer. */
+  protected AbstractBufferedImageTransformer m_Transformer;
+
+  /** the tile size. */
+  protected int m_TileSize;
+
+  /** the number of threads to use. */
+  protected int m_NumThreads;
+
+  /**
+   * Returns a string describing the object.
+   *
+   * @return 			a description suitable for displaying in the gui
+   */
+  @Override
+  public String globalInfo() {
+    return
+      "Splits the image into tiles and applies the base transformer to the "
+	+ "tiles in parallel, stitching the results back together.\n"
+	+ "The base transformer must implement " + TileableTransformer.class.getName() + "; "
+	+ "its kernel radius determines the halo around each tile. Images that "
+	+ "are not larger than a single tile and transformers that cannot be "
+	+ "tiled with their current setup are processed as a whole.\n"
+	+ "The report of the input image gets passed on.";
+  }
+
+  /**
+   * Adds options to the internal list of options.
+   */
+  @Override
+  public void defineOptions() {
+    super.defineOptions();
+
+    m_OptionManager.add(
+      "transformer", "transformer",
+      new PassThrough());
+
+    m_OptionManager.add(
+      "tile-size", "tileSize",
+      512, 1, null);
+
+    m_OptionManager.add(
+      "num-threads", "numThreads",
+      -1);
+  }
+
+  /**
+   * Sets the base transformer.
+   *
+   * @param value	the transformer
+   */
+  public void setTransformer(AbstractBufferedImageTransformer value) {
+    if (!(value instanceof TileableTransformer)) {
+      getLogger().severe("Transformer does not implement " + TileableTransformer.class.getName() + ": " + value.getClass().getName());
+      return;
+    }
+    m_Transformer = value;
+    reset();
+  }
+
+  /**
+   * Returns the base transformer.
+   *
+   * @return		the transformer
+   */
+  public AbstractBufferedImageTransformer getTransformer() {
+    return m_Transformer;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the gui
+   */
+  public String transformerTipText() {
+    return "The base transformer to apply to the tiles; must implement " + TileableTransformer.class.getName() + ".";
+  }
+
+  /**
+   * Sets the tile size.
+   *
+   * @param value	the size
+   */
+  public void setTileSize(int value) {
+    if (getOptionManager().isValid("tileSize", value)) {
+      m_TileSize = value;
+      reset();
+    }
+  }
+
+  /**
+   * Returns the tile size.
+   *
+   * @return		the size
+   */
+  public int getTileSize() {
+    return m_TileSize;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the gui
+   */
+  public String tileSizeTipText() {
+    return "The width and height of the tiles (excluding the halo).";
+  }
+
+  /**
+   * Sets the number of threads to use.
+   *
+   * @param value	the number of threads
+   */
+  public void setNumThreads(int value) {
+    m_NumThreads = value;
+    reset();
+  }
+
+  /**
+   * Returns the number of threads to use.
+   *
+   * @return		the number of threads
+   */
+  public int getNumThreads() {
+    return m_NumThreads;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the gui
+   */
+  public String numThreadsTipText() {
+    return Performance.getNumThreadsHelp();
+  }
+
+  /**
+   * Returns a quick info about the object, which can be displayed in the GUI.
+   *
+   * @return		null if no info available, otherwise short string
+   */
+  @Override
+  public String getQuickInfo() {
+    String	result;
+
+    result = QuickInfoHelper.toString(this, "transformer", m_Transformer, "transformer: ");
+    result += QuickInfoHelper.toString(this, "tileSize", m_TileSize, ", tile: ");
+    result += QuickInfoHelper.toString(this, "numThreads", Performance.getNumThreadsQuickInfo(m_NumThreads), ", threads: ");
+
+    return result;
+  }
+
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
+  /**
+   * Copies the specified region of the image, retaining the image type.
+   *
+   * @param img		the image to copy from
+   * @param region	the region to copy
+   * @return		the copy
+   */
+  protected static BufferedImage extract(BufferedImage img, Rectangle region) {
+    WritableRaster	raster;
+
+    raster = img.getRaster().createCompatibleWritableRaster(region.width, region.height);
+    raster.setDataElements(0, 0, region.width, region.height, img.getRaster().getDataElements(region.x, region.y, region.width, region.height, null));
+
+    return new BufferedImage(img.getColorModel(), raster, img.isAlphaPremultiplied(), null);
+  }
+
+  /**
+   * Generates the tiles (without halo).
+   *
+   * @param width	the width of the image
+   * @param height	the height of the image
+   * @return		the tiles
+   */
+  protected List<Rectangle> tiles(int width, int height) {
+    List<Rectangle>	result;
+    int			x;
+    int			y;
+
+    result = new ArrayList<>();
+    for (y = 0; y < height; y += m_TileSize) {
+      for (x = 0; x < width; x += m_TileSize)
+	result.add(new Rectangle(x, y, Math.min(m_TileSize, width - x), Math.min(m_TileSize, height - y)));
+    }
+
+    return result;
+  }
+
+  /**
+   * Performs the actual transforming of the image.
+   *
+   * @param img		the image to transform (can be modified, since it is a copy)
+   * @return		the generated image(s)
+   */
+  @Override
+  protected BufferedImageContainer[] doTransform(BufferedImageContainer img) {
+    BufferedImageContainer[]		result;
+    final BufferedImage			input;
+    final int				radius;
+    final Rectangle			bounds;
+    List<Rectangle>			tiles;
+    List<Callable<BufferedImage>>	jobs;
+    List<BufferedImage>			processed;
+    final ThreadLocal<AbstractBufferedImageTransformer>	transformers;
+    BufferedImage			output;
+    BufferedImage			tile;
+    ColorModel				cm;
+    Rectangle				core;
+    Rectangle				halo;
+    int					i;
+
+    radius = ((TileableTransformer) m_Transformer).getKernelRadius();
+    input  = img.getImage();
+    if ((radius < 0) || ((img.getWidth() <= m_TileSize) && (img.getHeight() <= m_TileSize))) {
+      if (isLoggingEnabled())
+	getLogger().info("Processing image as a whole");
+      return m_Transformer.transform(img);
+    }
+
+    // each thread uses its own copy of the transformer
+    transformers = new ThreadLocal<AbstractBufferedImageTransformer>() {
+      @Override
+      protected AbstractBufferedImageTransformer initialValue() {
+	AbstractBufferedImageTransformer result = (AbstractBufferedImageTransformer) m_Transformer.shallowCopy(true);
+	result.setFlowContext(getFlowContext());
+	return result;
+      }
+    };
+
+    bounds = new Rectangle(0, 0, img.getWidth(), img.getHeight());
+    tiles  = tiles(img.getWidth(), img.getHeight());
+    jobs   = new ArrayList<>();
+    for (Rectangle t: tiles) {
+      final Rectangle region = new Rectangle(t.x - radius, t.y - radius, t.width + 2*radius, t.height + 2*radius).intersection(bounds);
+      jobs.add(() -> {
+	BufferedImageContainer		cont;
+	BufferedImageContainer[]	transformed;
+	cont = new BufferedImageContainer();
+	cont.setImage(extract(input, region));
+	transformed = transformers.get().transform(cont);
+	if ((transformed.length != 1) || (transformed[0].getWidth() != region.width) || (transformed[0].getHeight() != region.height))
+	  throw new IllegalStateException("Transformer must generate a single image of the same size as the input!");
+	return transformed[0].getImage();
+      });
+    }
+
+    if (isLoggingEnabled())
+      getLogger().info("Processing " + tiles.size() + " tiles with halo of " + radius);
+
+    processed = ParallelJobs.invokeAll(jobs, m_NumThreads, "Failed to process tiles!");
+    output    = null;
+    for (i = 0; i < tiles.size(); i++) {
+      tile = processed.get(i);
+      core = tiles.get(i);
+      halo = new Rectangle(core.x - radius, core.y - radius, core.width + 2*radius, core.height + 2*radius).intersection(bounds);
+      if (output == null) {
+	cm     = tile.getColorModel();
+	output = new BufferedImage(cm, cm.createCompatibleWritableRaster(img.getWidth(), img.getHeight()), cm.isAlphaPremultiplied(), null);
+      }
+      if (tile.getColorModel().equals(output.getColorModel()))
+	output.getRaster().setDataElements(
+	  core.x, core.y, core.width, core.height,
+	  tile.getRaster().getDataElements(core.x - halo.x, core.y - halo.y, core.width, core.height, null));
+      else
+	output.setRGB(
+	  core.x, core.y, core.width, core.height,
+	  tile.getRGB(core.x - halo.x, core.y - halo.y, core.width, core.height, null, 0, core.width), 0, core.width);
+    }
+
+    result    = new BufferedImageContainer[1];
+    result[0] = (BufferedImageContainer) img.getHeader();
+    result[0].setImage(output);
+
+    return result;
+  }
+}
@@ -15,7 +15,7 @@
 
 /*
  * TrimapColorizer.java
- * Copyright (C) 2018 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2018-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.image.transformer;
@@ -126,6 +126,16 @@ public class TrimapColorizer
     return "The color provider to use for coloring in the trimap image.";
   }
 
+  /**
+   * Returns whether the transformer supports copy-on-write.
+   *
+   * @return		true if copy-on-write is supported
+   */
+  @Override
+  protected boolean supportsCopyOnWrite() {
+    return true;
+  }
+
   /**
    * Performs the actual transforming of the image.
    *
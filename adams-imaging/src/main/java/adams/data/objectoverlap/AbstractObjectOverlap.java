@@ -15,7 +15,7 @@
 
 /*
  * AbstractObjectOverlap.java
- * Copyright (C) 2019-2020 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2019-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.objectoverlap;
@@ -24,9 +24,12 @@ import adams.core.base.BaseString;
 import adams.core.option.AbstractOptionHandler;
 import adams.flow.transformer.locateobjects.LocatedObject;
 import adams.flow.transformer.locateobjects.LocatedObjects;
+import adams.flow.transformer.locateobjects.LocatedObjectsIndex;
 
 import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -210,6 +213,44 @@ public abstract class AbstractObjectOverlap
     matches.get(thisObj).add(otherObj);
   }
 
+  /**
+   * Creates a spatial index for the predictions, if the minimum ratio
+   * allows pruning of objects that do not overlap at all.
+   *
+   * @param predictions	the predictions to index
+   * @param minRatio	the minimum ratio for an overlap
+   * @return		the index, null if all objects have to be compared
+   */
+  protected LocatedObjectsIndex createIndex(LocatedObjects predictions, double minRatio) {
+    if ((minRatio > 0) && (predictions.size() > 1))
+      return new LocatedObjectsIndex(predictions);
+    else
+      return null;
+  }
+
+  /**
+   * Returns the predictions to compare the object with, in their original
+   * order. Objects whose bounding boxes do not overlap get skipped if an
+   * index is available, as they have an overlap ratio of 0.
+   *
+   * @param predictions	all the predictions
+   * @param index	the spatial index of the predictions, can be null
+   * @param thisObj	the object to get the candidates for
+   * @return		the candidates
+   */
+  protected List<LocatedObject> candidates(LocatedObjects predictions, LocatedObjectsIndex index, LocatedObject thisObj) {
+    List<LocatedObject>	result;
+
+    if (index == null)
+      return predictions;
+
+    result = new ArrayList<>();
+    for (int i: index.overlapping(thisObj))
+      result.add(index.get(i));
+
+    return result;
+  }
+
   /**
    * Computes the overlapping objects between the annotations and the predictions.
    *
@@ -15,7 +15,7 @@
 
 /*
  * AreaRatio.java
- * Copyright (C) 2019-2020 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2019-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.objectoverlap;
@@ -24,6 +24,7 @@ import adams.core.QuickInfoHelper;
 import adams.core.logging.LoggingHelper;
 import adams.flow.transformer.locateobjects.LocatedObject;
 import adams.flow.transformer.locateobjects.LocatedObjects;
+import adams.flow.transformer.locateobjects.LocatedObjectsIndex;
 import com.github.fracpete.javautils.struct.Struct2;
 
 import java.util.HashSet;
@@ -304,6 +305,7 @@ public class AreaRatio
     LocatedObject	tmpObj;
     LocatedObject	otherObjectHighest;
     double		ratio;
+    LocatedObjectsIndex	index;
     double		ratio2;
 
     result = new LocatedObjects();
@@ -312,6 +314,7 @@ public class AreaRatio
     }
     else {
       Set<LocatedObject> matchingObjects = new HashSet<>();
+      index = createIndex(predictions, m_MinOverlapRatio);
       for (LocatedObject thisObj : annotations) {
         if (isLoggingEnabled()) {
           if (LoggingHelper.isAtLeast(getLogger(), Level.FINE))
@@ -327,8 +330,9 @@ public class AreaRatio
 	  thisLabel = "" + thisObj.getMetaData().get(m_LabelKey);
 	actObj = thisObj;
 	otherObjectHighest = null;
-	for (LocatedObject otherObj : predictions) {
+	if (predictions.size() > 0)
 	  initMatch(matches, thisObj);
+	for (LocatedObject otherObj : candidates(predictions, index, thisObj)) {
 	  if (m_ExcludeIdentical && thisObj.equals(otherObj))
 	    continue;
 	  ratio = thisObj.overlapRatio(otherObj);
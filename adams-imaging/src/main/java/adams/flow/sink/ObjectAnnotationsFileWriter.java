@@ -0,0 +1,306 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * ObjectAnnotationsFileWriter.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.flow.sink;
+
+import adams.core.QuickInfoHelper;
+import adams.core.io.FileUtils;
+import adams.data.report.Report;
+import adams.flow.core.FlushSupporter;
+import adams.flow.transformer.locateobjects.ObjectAnnotations;
+import adams.flow.transformer.locateobjects.ObjectPrefixHandler;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ <!-- globalinfo-start -->
+ * Writes the object annotations of each image as a single line of JSON to the output file.<br>
+ * The file is written incrementally, i.e., the annotations do not have to be collected in memory first. Use adams.flow.transformer.ObjectAnnotationsFileReader for reading them again image by image.<br>
+ * Reports get converted using the specified object prefix.
+ * <br><br>
+ <!-- globalinfo-end -->
+ *
+ <!-- flow-summary-start -->
+ * Input&#47;output:<br>
+ * - accepts:<br>
+ * &nbsp;&nbsp;&nbsp;adams.flow.transformer.locateobjects.ObjectAnnotations<br>
+ * &nbsp;&nbsp;&nbsp;adams.data.report.Report<br>
+ * <br><br>
+ <!-- flow-summary-end -->
+ *
+ <!-- options-start -->
+ * <pre>-logging-level &lt;OFF|SEVERE|WARNING|INFO|CONFIG|FINE|FINER|FINEST&gt; (property: loggingLevel)
+ * &nbsp;&nbsp;&nbsp;The logging level for outputting errors and debugging output.
+ * &nbsp;&nbsp;&nbsp;default: WARNING
+ * </pre>
+ *
+ * <pre>-name &lt;java.lang.String&gt; (property: name)
+ * &nbsp;&nbsp;&nbsp;The name of the actor.
+ * &nbsp;&nbsp;&nbsp;default: ObjectAnnotationsFileWriter
+ * </pre>
+ *
+ * <pre>-annotation &lt;adams.core.base.BaseAnnotation&gt; (property: annotations)
+ * &nbsp;&nbsp;&nbsp;The annotations to attach to this actor.
+ * &nbsp;&nbsp;&nbsp;default:
+ * </pre>
+ *
+ * <pre>-skip &lt;boolean&gt; (property: skip)
+ * &nbsp;&nbsp;&nbsp;If set to true, transformation is skipped and the input token is just forwarded
+ * &nbsp;&nbsp;&nbsp;as it is.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ *
+ * <pre>-stop-flow-on-error &lt;boolean&gt; (property: stopFlowOnError)
+ * &nbsp;&nbsp;&nbsp;If set to true, the flow execution at this level gets stopped in case this
+ * &nbsp;&nbsp;&nbsp;actor encounters an error; the error gets propagated; useful for critical
+ * &nbsp;&nbsp;&nbsp;actors.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ *
+ * <pre>-silent &lt;boolean&gt; (property: silent)
+ * &nbsp;&nbsp;&nbsp;If enabled, then no errors are output in the console; Note: the enclosing
+ * &nbsp;&nbsp;&nbsp;actor handler must have this enabled as well.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ *
+ * <pre>-output &lt;adams.core.io.PlaceholderFile&gt; (property: outputFile)
+ * &nbsp;&nbsp;&nbsp;The name of the output file.
+ * &nbsp;&nbsp;&nbsp;default: ${CWD}
+ * </pre>
+ *
+ * <pre>-append &lt;boolean&gt; (property: append)
+ * &nbsp;&nbsp;&nbsp;If set to true, the annotations get appended to an existing file rather
+ * &nbsp;&nbsp;&nbsp;than replacing it with the first image.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ *
+ * <pre>-prefix &lt;java.lang.String&gt; (property: prefix)
+ * &nbsp;&nbsp;&nbsp;The report field prefix used for the objects when receiving reports.
+ * &nbsp;&nbsp;&nbsp;default: Object.
+ * </pre>
+ *
+ <!-- options-end -->
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class ObjectAnnotationsFileWriter
+  extends AbstractAppendableFileWriter
+  implements ObjectPrefixHandler, FlushSupporter {
+
+  /** for serialization. */
+  private static final long serialVersionUID = -6263307286517318840L;
+
+  /** the prefix for the objects in reports. */
+  protected String m_Prefix;
+
+  /** the writer for the output file. */
+  protected transient BufferedWriter m_Writer;
+
+  /**
+   * Returns a string describing the object.
+   *
+   * @return 			a description suitable for displaying in the gui
+   */
+  @Override
+  public String globalInfo() {
+    return
+      "Writes the object annotations of each image as a single line of JSON "
+	+ "to the output file.\n"
+	+ "The file is written incrementally, i.e., the annotations do not have "
+	+ "to be collected in memory first. Use "
+	+ "adams.flow.transformer.ObjectAnnotationsFileReader for reading them "
+	+ "again image by image.\n"
+	+ "Reports get converted using the specified object prefix.";
+  }
+
+  /**
+   * Adds options to the internal list of options.
+   */
+  @Override
+  public void defineOptions() {
+    super.defineOptions();
+
+    m_OptionManager.add(
+      "prefix", "prefix",
+      "Object.");
+  }
+
+  /**
+   * Resets the scheme.
+   */
+  @Override
+  protected void reset() {
+    super.reset();
+
+    closeWriter();
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  @Override
+  public String outputFileTipText() {
+    return "The name of the output file.";
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  @Override
+  public String appendTipText() {
+    return
+      "If set to true, the annotations get appended to an existing file "
+	+ "rather than replacing it with the first image.";
+  }
+
+  /**
+   * Sets the prefix for the objects in reports.
+   *
+   * @param value 	the prefix
+   */
+  public void setPrefix(String value) {
+    m_Prefix = value;
+    reset();
+  }
+
+  /**
+   * Returns the prefix for the objects in reports.
+   *
+   * @return 		the prefix
+   */
+  public String getPrefix() {
+    return m_Prefix;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String prefixTipText() {
+    return "The report field prefix used for the objects when receiving reports.";
+  }
+
+  /**
+   * Returns a quick info about the actor, which will be displayed in the GUI.
+   *
+   * @return		null if no info available, otherwise short string
+   */
+  @Override
+  public String getQuickInfo() {
+    String	result;
+
+    result  = super.getQuickInfo();
+    result += QuickInfoHelper.toString(this, "prefix", m_Prefix, ", prefix: ");
+
+    return result;
+  }
+
+  /**
+   * Returns the class that the consumer accepts.
+   *
+   * @return		the Class of objects that can be processed
+   */
+  @Override
+  public Class[] accepts() {
+    return new Class[]{ObjectAnnotations.class, Report.class};
+  }
+
+  /**
+   * Executes the flow item.
+   *
+   * @return		null if everything is fine, otherwise error message
+   */
+  @Override
+  protected String doExecute() {
+    String		result;
+    ObjectAnnotations	annotations;
+
+    result      = null;
+    annotations = null;
+
+    if (m_OutputFile.isDirectory())
+      result = "Output file points to a directory: " + m_OutputFile;
+    else if (m_InputToken.hasPayload(ObjectAnnotations.class))
+      annotations = m_InputToken.getPayload(ObjectAnnotations.class);
+    else if (m_InputToken.hasPayload(Report.class))
+      annotations = ObjectAnnotations.fromReport(m_InputToken.getPayload(Report.class), m_Prefix);
+    else
+      result = m_InputToken.unhandledData();
+
+    if (result == null) {
+      try {
+	if (m_Writer == null)
+	  m_Writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(m_OutputFile.getAbsoluteFile(), m_Append), StandardCharsets.UTF_8));
+	m_Writer.write(annotations.toJson().toJSONString());
+	m_Writer.newLine();
+      }
+      catch (Exception e) {
+	result = handleException("Failed to write annotations to: " + m_OutputFile, e);
+	closeWriter();
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Performs the flush.
+   */
+  public void performFlush() {
+    if (m_Writer != null) {
+      try {
+	m_Writer.flush();
+      }
+      catch (Exception e) {
+	handleException("Failed to flush annotations to: " + m_OutputFile, e);
+      }
+    }
+  }
+
+  /**
+   * Closes the output file, if open.
+   */
+  protected void closeWriter() {
+    if (m_Writer != null) {
+      FileUtils.closeQuietly(m_Writer);
+      m_Writer = null;
+    }
+  }
+
+  /**
+   * Cleans up after the execution has finished.
+   */
+  @Override
+  public void wrapUp() {
+    closeWriter();
+    super.wrapUp();
+  }
+}
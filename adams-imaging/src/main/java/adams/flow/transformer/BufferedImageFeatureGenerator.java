@@ -15,12 +15,13 @@
 
 /*
  * BufferedImageFeatureGenerator.java
- * Copyright (C) 2011-2018 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2011-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.flow.transformer;
 
 import adams.core.ObjectCopyHelper;
+import adams.core.Performance;
 import adams.core.QuickInfoHelper;
 import adams.core.VariableName;
 import adams.data.image.AbstractImageContainer;
@@ -35,10 +36,12 @@ import adams.flow.core.Token;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Hashtable;
+import java.util.List;
 
 /**
  <!-- globalinfo-start -->
- * Applies an JAI flattener to the incoming image and outputs the generated features.
+ * Applies an JAI flattener to the incoming image and outputs the generated features.<br>
+ * Arrays of images get processed in parallel and the features get output as a single dataset (if supported by the converter).
  * <br><br>
  <!-- globalinfo-end -->
  *
@@ -46,6 +49,7 @@ import java.util.Hashtable;
  * Input&#47;output:<br>
  * - accepts:<br>
  * &nbsp;&nbsp;&nbsp;adams.data.image.AbstractImage<br>
+ * &nbsp;&nbsp;&nbsp;adams.data.image.AbstractImageContainer[]<br>
  * - generates:<br>
  * &nbsp;&nbsp;&nbsp;weka.core.Instance<br>
  * <br><br>
@@ -84,6 +88,15 @@ import java.util.Hashtable;
  * &nbsp;&nbsp;&nbsp;default: adams.data.jai.flattener.Pixels
  * </pre>
  * 
+ * <pre>-num-threads &lt;int&gt; (property: numThreads)
+ * &nbsp;&nbsp;&nbsp;The number of threads to use for processing arrays of images; The number 
+ * &nbsp;&nbsp;&nbsp;of threads to use for parallel execution; &gt; 0: specific number of cores 
+ * &nbsp;&nbsp;&nbsp;to use (capped by actual number of cores available, 1 = sequential execution
+ * &nbsp;&nbsp;&nbsp;); = 0: number of cores; &lt; 0: number of free cores (eg -2 means 2 free 
+ * &nbsp;&nbsp;&nbsp;cores; minimum of one core is used)
+ * &nbsp;&nbsp;&nbsp;default: 1
+ * </pre>
+ * 
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
@@ -110,6 +123,9 @@ public class BufferedImageFeatureGenerator
   /** the variable to listen to. */
   protected VariableName m_VariableName;
 
+  /** the number of threads to use for arrays of images. */
+  protected int m_NumThreads;
+
   /** the generated objects. */
   protected ArrayList m_Queue;
 
@@ -122,7 +138,9 @@ public class BufferedImageFeatureGenerator
   public String globalInfo() {
     return
         "Applies an BufferedImage feature generator to the incoming image and outputs "
-      + "the generated features.";
+      + "the generated features.\n"
+      + "Arrays of images get processed in parallel and the features get output "
+      + "as a single dataset (if supported by the converter).";
   }
 
   /**
@@ -139,6 +157,10 @@ public class BufferedImageFeatureGenerator
     m_OptionManager.add(
       "var-name", "variableName",
       new VariableName());
+
+    m_OptionManager.add(
+      "num-threads", "numThreads",
+      1);
   }
 
   /**
@@ -220,6 +242,35 @@ public class BufferedImageFeatureGenerator
     return "The variable to monitor for resetting trainable batch filters.";
   }
 
+  /**
+   * Sets the number of threads to use for arrays of images.
+   *
+   * @param value 	the number of threads
+   */
+  public void setNumThreads(int value) {
+    m_NumThreads = value;
+    reset();
+  }
+
+  /**
+   * Returns the number of threads to use for arrays of images.
+   *
+   * @return 		the number of threads
+   */
+  public int getNumThreads() {
+    return m_NumThreads;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String numThreadsTipText() {
+    return "The number of threads to use for processing arrays of images; " + Performance.getNumThreadsHelp();
+  }
+
   /**
    * Returns a quick info about the actor, which will be displayed in the GUI.
    *
@@ -231,6 +282,7 @@ public class BufferedImageFeatureGenerator
 
     result = QuickInfoHelper.toString(this, "algorithm", m_Algorithm, "algorithm: ");
     result += QuickInfoHelper.toString(this, "variableName", m_VariableName.paddedValue(), ", monitor: ");
+    result += QuickInfoHelper.toString(this, "numThreads", Performance.getNumThreadsQuickInfo(m_NumThreads), ", threads: ");
 
     return result;
   }
@@ -306,7 +358,7 @@ public class BufferedImageFeatureGenerator
    * @return		the Class of objects that can be processed
    */
   public Class[] accepts() {
-    return new Class[]{AbstractImageContainer.class};
+    return new Class[]{AbstractImageContainer.class, AbstractImageContainer[].class};
   }
 
   /**
@@ -317,6 +369,8 @@ public class BufferedImageFeatureGenerator
   public Class[] generates() {
     if (m_Algorithm == null)
       return new Class[]{Object.class};
+    else if (m_Algorithm.getConverter().canGenerateDataset())
+      return new Class[]{m_Algorithm.getRowFormat(), m_Algorithm.getDatasetFormat()};
     else
       return new Class[]{m_Algorithm.getRowFormat()};
   }
@@ -328,17 +382,33 @@ public class BufferedImageFeatureGenerator
    */
   @Override
   protected String doExecute() {
-    String			result;
-    BufferedImageContainer	cont;
+    String				result;
+    BufferedImageContainer		cont;
+    AbstractImageContainer[]		conts;
+    List<BufferedImageContainer>	batch;
 
     result = null;
 
     m_Queue.clear();
     try {
-      cont = JAIHelper.toBufferedImageContainer((AbstractImageContainer) m_InputToken.getPayload());
       if (m_ActualAlgorithm == null)
         m_ActualAlgorithm = ObjectCopyHelper.copyObject(m_Algorithm);
-      m_Queue.addAll(Arrays.asList(m_ActualAlgorithm.generate(cont)));
+      if (m_InputToken.getPayload() instanceof AbstractImageContainer[]) {
+        conts = (AbstractImageContainer[]) m_InputToken.getPayload();
+        batch = new ArrayList<>();
+        for (AbstractImageContainer c: conts)
+          batch.add(JAIHelper.toBufferedImageContainer(c));
+        if (batch.size() > 0) {
+          if (m_ActualAlgorithm.getConverter().canGenerateDataset())
+            m_Queue.add(m_ActualAlgorithm.generateDataset(batch, m_NumThreads));
+          else
+            m_Queue.addAll(Arrays.asList(m_ActualAlgorithm.generate(batch, m_NumThreads)));
+        }
+      }
+      else {
+        cont = JAIHelper.toBufferedImageContainer((AbstractImageContainer) m_InputToken.getPayload());
+        m_Queue.addAll(Arrays.asList(m_ActualAlgorithm.generate(cont)));
+      }
     }
     catch (Exception e) {
       result = handleException("Failed to generate features: ", e);
@@ -15,7 +15,7 @@
 
 /*
  * DeleteOverlappingImageObjects.java
- * Copyright (C) 2018 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2018-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.flow.transformer;
@@ -33,6 +33,7 @@ import adams.data.report.ReportHandler;
 import adams.flow.core.Token;
 import adams.flow.transformer.locateobjects.LocatedObject;
 import adams.flow.transformer.locateobjects.LocatedObjects;
+import adams.flow.transformer.locateobjects.LocatedObjectsIndex;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 
@@ -332,6 +333,44 @@ public class DeleteOverlappingImageObjects
     return new Class[]{AbstractImageContainer.class, Report.class, ReportHandler.class};
   }
 
+  /**
+   * Flags objects for deletion if the two objects overlap, according to the
+   * removal strategy.
+   *
+   * @param obj1	the first object
+   * @param obj2	the second object
+   * @param delete	for storing the indices of the objects to delete
+   */
+  protected void flagOverlap(LocatedObject obj1, LocatedObject obj2, TIntSet delete) {
+    int		area1;
+    int		area2;
+
+    if ((obj1.overlapRatio(obj2) >= m_MinOverlapRatio) || (obj2.overlapRatio(obj1) >= m_MinOverlapRatio)) {
+      area1 = obj1.getWidth() * obj1.getHeight();
+      area2 = obj2.getWidth() * obj2.getHeight();
+      switch (m_RemovalStrategy) {
+	case REMOVE_LARGER_OBJECT:
+	  if (area1 > area2)
+	    delete.add(obj1.getIndex());
+	  else
+	    delete.add(obj2.getIndex());
+	  break;
+	case REMOVE_SMALLER_OBJECT:
+	  if (area1 < area2)
+	    delete.add(obj1.getIndex());
+	  else
+	    delete.add(obj2.getIndex());
+	  break;
+	case REMOVE_BOTH:
+	  delete.add(obj1.getIndex());
+	  delete.add(obj2.getIndex());
+	  break;
+	default:
+	  throw new IllegalStateException("Unhandled removal strategy: " + m_RemovalStrategy);
+      }
+    }
+  }
+
   /**
    * Executes the flow item.
    *
@@ -350,8 +389,7 @@ public class DeleteOverlappingImageObjects
     LocatedObject	obj1;
     LocatedObject	obj2;
     TIntSet		delete;
-    int			area1;
-    int			area2;
+    LocatedObjectsIndex	index;
     int[]		deleteIndices;
     TIntSet		allIndices;
     int			o;
@@ -403,35 +441,22 @@ public class DeleteOverlappingImageObjects
       }
 
       // find overlapping objects
+      // (objects without any overlap have a ratio of 0 and can be skipped)
+      index = null;
+      if ((m_MinOverlapRatio > 0) && (objects.size() > 2))
+        index = new LocatedObjectsIndex(objects.subList(0, objects.size() - 1));
       for (i = 0; i < objects.size() - 2; i++) {
         obj1 = objects.get(i);
-        for (n = i + 1; n < objects.size() - 1; n++) {
-          obj2 = objects.get(n);
-	  if ((obj1.overlapRatio(obj2) >= m_MinOverlapRatio) || (obj2.overlapRatio(obj1) >= m_MinOverlapRatio)) {
-	    area1 = obj1.getWidth() * obj1.getHeight();
-	    area2 = obj2.getWidth() * obj2.getHeight();
-	    switch (m_RemovalStrategy) {
-	      case REMOVE_LARGER_OBJECT:
-	        if (area1 > area2)
-	          delete.add(obj1.getIndex());
-	        else
-	          delete.add(obj2.getIndex());
-	        break;
-	      case REMOVE_SMALLER_OBJECT:
-	        if (area1 < area2)
-	          delete.add(obj1.getIndex());
-	        else
-		  delete.add(obj2.getIndex());
-	        break;
-	      case REMOVE_BOTH:
-	        delete.add(obj1.getIndex());
-	        delete.add(obj2.getIndex());
-	        break;
-	      default:
-	        throw new IllegalStateException("Unhandled removal strategy: " + m_RemovalStrategy);
-	    }
+        if (index != null) {
+          for (int m : index.overlapping(obj1)) {
+            if (m > i)
+              flagOverlap(obj1, objects.get(m), delete);
 	  }
 	}
+	else {
+	  for (n = i + 1; n < objects.size() - 1; n++)
+	    flagOverlap(obj1, objects.get(n), delete);
+	}
       }
 
       if (delete.size() > 0) {
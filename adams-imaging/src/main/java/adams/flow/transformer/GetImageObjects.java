@@ -15,7 +15,7 @@
 
 /*
  * GetImageObjects.java
- * Copyright (C) 2017-2020 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2017-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.flow.transformer;
@@ -27,6 +27,7 @@ import adams.data.objectfinder.ObjectFinder;
 import adams.data.report.Report;
 import adams.flow.transformer.locateobjects.LocatedObject;
 import adams.flow.transformer.locateobjects.LocatedObjects;
+import adams.flow.transformer.locateobjects.ObjectAnnotations;
 
 /**
  <!-- globalinfo-start -->
@@ -39,6 +40,7 @@ import adams.flow.transformer.locateobjects.LocatedObjects;
  * - accepts:<br>
  * &nbsp;&nbsp;&nbsp;adams.data.image.AbstractImageContainer<br>
  * &nbsp;&nbsp;&nbsp;adams.data.report.Report<br>
+ * &nbsp;&nbsp;&nbsp;adams.flow.transformer.locateobjects.ObjectAnnotations<br>
  * - generates:<br>
  * &nbsp;&nbsp;&nbsp;adams.flow.transformer.locateobjects.LocatedObject<br>
  * <br><br>
@@ -222,7 +224,7 @@ public class GetImageObjects
    */
   @Override
   public Class[] accepts() {
-    return new Class[]{AbstractImageContainer.class, Report.class};
+    return new Class[]{AbstractImageContainer.class, Report.class, ObjectAnnotations.class};
   }
 
   /**
@@ -253,8 +255,11 @@ public class GetImageObjects
 
     result = null;
 
-    report = null;
-    if (m_InputToken.hasPayload(AbstractImageContainer.class))
+    report  = null;
+    objects = null;
+    if (m_InputToken.hasPayload(ObjectAnnotations.class))
+      objects = m_InputToken.getPayload(ObjectAnnotations.class).getIndexedObjects();
+    else if (m_InputToken.hasPayload(AbstractImageContainer.class))
       report = m_InputToken.getPayload(AbstractImageContainer.class).getReport();
     else if (m_InputToken.hasPayload(Report.class))
       report = m_InputToken.getPayload(Report.class);
@@ -263,7 +268,8 @@ public class GetImageObjects
 
     m_Queue.clear();
     if (result == null) {
-      objects = LocatedObjects.fromReport(report, m_Finder.getPrefix());
+      if (objects == null)
+	objects = LocatedObjects.fromReport(report, m_Finder.getPrefix());
       if (m_CleanIndices)
         objects.resetIndex();
       m_Queue.addAll(objects.subset(m_Finder.find(objects)));
@@ -15,37 +15,47 @@
 
 /*
  * ImageFileReader.java
- * Copyright (C) 2014-2020 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.flow.transformer;
 
+import adams.core.Performance;
 import adams.core.QuickInfoHelper;
 import adams.core.base.BaseRegExp;
 import adams.core.io.FileUtils;
 import adams.core.io.PlaceholderDirectory;
 import adams.core.io.PlaceholderFile;
+import adams.core.option.OptionUtils;
 import adams.data.image.AbstractImageContainer;
 import adams.data.io.input.AbstractImageReader;
 import adams.data.io.input.AbstractReportReader;
 import adams.data.io.input.DefaultSimpleReportReader;
+import adams.data.io.input.ImageReaderCache;
 import adams.data.io.input.JAIImageReader;
 import adams.data.report.Report;
 import adams.flow.core.Token;
 import adams.flow.source.filesystemsearch.LocalFileSearch;
 
 import java.io.File;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 
 /**
  <!-- globalinfo-start -->
  * Reads any file format that the specified image reader supports.<br>
- * If meta-data is associated with the image, then this can be loaded as well.
+ * If meta-data is associated with the image, then this can be loaded as well.<br>
+ * Arrays of files get forwarded one image at a time, with the next images getting decoded in the background if read-ahead is enabled. Images that fail to load get skipped (and logged).<br>
+ * Decoded images can be stored in a cache that is shared across all readers, using the largest cache size of all the readers. The cache gets emptied once the last of these readers has finished.
  * <br><br>
  <!-- globalinfo-end -->
  *
@@ -53,7 +63,9 @@ import java.util.logging.Level;
  * Input&#47;output:<br>
  * - accepts:<br>
  * &nbsp;&nbsp;&nbsp;java.lang.String<br>
+ * &nbsp;&nbsp;&nbsp;java.lang.String[]<br>
  * &nbsp;&nbsp;&nbsp;java.io.File<br>
+ * &nbsp;&nbsp;&nbsp;java.io.File[]<br>
  * - generates:<br>
  * &nbsp;&nbsp;&nbsp;adams.data.image.AbstractImageContainer<br>
  * <br><br>
@@ -114,6 +126,29 @@ import java.util.logging.Level;
  * &nbsp;&nbsp;&nbsp;default: adams.data.io.input.DefaultSimpleReportReader
  * </pre>
  *
+ * <pre>-cache-size &lt;int&gt; (property: cacheSize)
+ * &nbsp;&nbsp;&nbsp;The size in MB of the cache for decoded images that is shared across all
+ * &nbsp;&nbsp;&nbsp;readers; images get read again if the file was modified; 0 turns off caching.
+ * &nbsp;&nbsp;&nbsp;default: 0
+ * &nbsp;&nbsp;&nbsp;minimum: 0
+ * </pre>
+ *
+ * <pre>-read-ahead &lt;int&gt; (property: readAhead)
+ * &nbsp;&nbsp;&nbsp;The number of images to decode in the background when processing arrays
+ * &nbsp;&nbsp;&nbsp;of files; 0 turns off read-ahead.
+ * &nbsp;&nbsp;&nbsp;default: 0
+ * &nbsp;&nbsp;&nbsp;minimum: 0
+ * </pre>
+ *
+ * <pre>-num-threads &lt;int&gt; (property: numThreads)
+ * &nbsp;&nbsp;&nbsp;The number of threads to use for decoding images in the background; The
+ * &nbsp;&nbsp;&nbsp;number of threads to use for parallel execution; &gt; 0: specific number
+ * &nbsp;&nbsp;&nbsp;of cores to use (capped by actual number of cores available, 1 = sequential
+ * &nbsp;&nbsp;&nbsp;execution); = 0: number of cores; &lt; 0: number of free cores (eg -2 means
+ * &nbsp;&nbsp;&nbsp;2 free cores; minimum of one core is used)
+ * &nbsp;&nbsp;&nbsp;default: 1
+ * </pre>
+ *
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
@@ -144,6 +179,33 @@ public class ImageFileReader
   /** for reading the meta-data. */
   protected AbstractReportReader m_MetaDataReader;
 
+  /** the size of the image cache in MB. */
+  protected int m_CacheSize;
+
+  /** the number of images to decode in advance. */
+  protected int m_ReadAhead;
+
+  /** the number of threads to use for decoding. */
+  protected int m_NumThreads;
+
+  /** the files that still need reading. */
+  protected transient Deque<PlaceholderFile> m_Files;
+
+  /** the files currently being decoded in the background. */
+  protected transient Deque<PlaceholderFile> m_PendingFiles;
+
+  /** the images currently being decoded in the background. */
+  protected transient Deque<Future<AbstractImageContainer>> m_PendingImages;
+
+  /** for decoding in the background. */
+  protected transient ExecutorService m_Executor;
+
+  /** the readers for the background threads. */
+  protected transient ThreadLocal<AbstractImageReader> m_ThreadReaders;
+
+  /** the shared image cache in use. */
+  protected transient ImageReaderCache m_Cache;
+
   /**
    * Returns a string describing the object.
    *
@@ -153,7 +215,13 @@ public class ImageFileReader
   public String globalInfo() {
     return
       "Reads any file format that the specified image reader supports.\n"
-      + "If meta-data is associated with the image, then this can be loaded as well.";
+      + "If meta-data is associated with the image, then this can be loaded as well.\n"
+      + "Arrays of files get forwarded one image at a time, with the next images "
+      + "getting decoded in the background if read-ahead is enabled. Images that "
+      + "fail to load get skipped (and logged).\n"
+      + "Decoded images can be stored in a cache that is shared across all readers, "
+      + "using the largest cache size of all the readers. The cache gets emptied "
+      + "once the last of these readers has finished.";
   }
 
   /**
@@ -178,6 +246,28 @@ public class ImageFileReader
     m_OptionManager.add(
       "meta-data-reader", "metaDataReader",
       new DefaultSimpleReportReader());
+
+    m_OptionManager.add(
+      "cache-size", "cacheSize",
+      0, 0, null);
+
+    m_OptionManager.add(
+      "read-ahead", "readAhead",
+      0, 0, null);
+
+    m_OptionManager.add(
+      "num-threads", "numThreads",
+      1);
+  }
+
+  /**
+   * Resets the scheme.
+   */
+  @Override
+  protected void reset() {
+    super.reset();
+
+    cleanUp();
   }
 
   /**
@@ -296,13 +386,106 @@ public class ImageFileReader
     return "The reader to use for the meta-data.";
   }
 
+  /**
+   * Sets the size of the shared cache for decoded images.
+   *
+   * @param value 	the size in MB, 0 to turn off
+   */
+  public void setCacheSize(int value) {
+    if (getOptionManager().isValid("cacheSize", value)) {
+      m_CacheSize = value;
+      reset();
+    }
+  }
+
+  /**
+   * Returns the size of the shared cache for decoded images.
+   *
+   * @return 		the size in MB, 0 if turned off
+   */
+  public int getCacheSize() {
+    return m_CacheSize;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String cacheSizeTipText() {
+    return
+      "The size in MB of the cache for decoded images that is shared across all "
+	+ "readers; images get read again if the file was modified; 0 turns off caching.";
+  }
+
+  /**
+   * Sets the number of images to decode in the background.
+   *
+   * @param value 	the number of images, 0 to turn off
+   */
+  public void setReadAhead(int value) {
+    if (getOptionManager().isValid("readAhead", value)) {
+      m_ReadAhead = value;
+      reset();
+    }
+  }
+
+  /**
+   * Returns the number of images to decode in the background.
+   *
+   * @return 		the number of images, 0 if turned off
+   */
+  public int getReadAhead() {
+    return m_ReadAhead;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String readAheadTipText() {
+    return "The number of images to decode in the background when processing arrays of files; 0 turns off read-ahead.";
+  }
+
+  /**
+   * Sets the number of threads to use for decoding in the background.
+   *
+   * @param value 	the number of threads: &gt;0 = specific number (capped by # of CPUs/cores, 1 = sequential execution); 0 = # of CPUs/cores; &lt;0 = # of free CPUs/cores
+   */
+  public void setNumThreads(int value) {
+    m_NumThreads = value;
+    reset();
+  }
+
+  /**
+   * Returns the number of threads to use for decoding in the background.
+   *
+   * @return 		the number of threads: &gt;0 = specific number (capped by # of CPUs/cores, 1 = sequential execution); 0 = # of CPUs/cores; &lt;0 = # of free CPUs/cores
+   */
+  public int getNumThreads() {
+    return m_NumThreads;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String numThreadsTipText() {
+    return "The number of threads to use for decoding images in the background; " + Performance.getNumThreadsHelp();
+  }
+
   /**
    * Returns the class that the consumer accepts.
    *
    * @return		the Class of objects that can be processed
    */
   public Class[] accepts() {
-    return new Class[]{String.class, File.class};
+    return new Class[]{String.class, String[].class, File.class, File[].class};
   }
 
   /**
@@ -328,6 +511,12 @@ public class ImageFileReader
       result += QuickInfoHelper.toString(this, "metaDataLocation", m_MetaDataLocation, ", location: ");
       result += QuickInfoHelper.toString(this, "metaDataReader", m_MetaDataReader, ", meta-data: ");
     }
+    if (m_CacheSize > 0)
+      result += QuickInfoHelper.toString(this, "cacheSize", m_CacheSize, ", cache (MB): ");
+    if (m_ReadAhead > 0) {
+      result += QuickInfoHelper.toString(this, "readAhead", m_ReadAhead, ", read-ahead: ");
+      result += QuickInfoHelper.toString(this, "numThreads", Performance.getNumThreadsQuickInfo(m_NumThreads), ", threads: ");
+    }
 
     return result;
   }
@@ -399,6 +588,116 @@ public class ImageFileReader
     return result.toArray(new PlaceholderFile[0]);
   }
 
+  /**
+   * Reads the image, using the shared cache if enabled.
+   *
+   * @param reader	the reader to use
+   * @param file	the file to read
+   * @return		the image, null if failed to read
+   */
+  protected AbstractImageContainer readImage(AbstractImageReader reader, PlaceholderFile file) {
+    ImageReaderCache	cache;
+
+    cache = m_Cache;
+    if (cache != null)
+      return cache.read(reader, file);
+    else
+      return reader.read(file);
+  }
+
+  /**
+   * Loads the meta-data associated with the image file, if enabled.
+   *
+   * @param file	the image file
+   * @param cont	the image to add the meta-data to
+   */
+  protected void loadMetaData(PlaceholderFile file, AbstractImageContainer cont) {
+    PlaceholderFile[]		metaFiles;
+    Report			metaData;
+    List	 		reports;
+    Report			report;
+
+    if (!m_LoadMetaData)
+      return;
+
+    metaFiles = listMetaDataFiles(file);
+    metaData  = null;
+    for (PlaceholderFile metaFile: metaFiles) {
+      m_MetaDataReader.setInput(metaFile);
+      reports = m_MetaDataReader.read();
+      for (Object obj: reports) {
+	report = (Report) obj;
+	if (metaData == null)
+	  metaData = report;
+	else
+	  metaData.mergeWith(report);
+      }
+    }
+    if (metaData != null)
+      cont.getReport().mergeWith(metaData);
+  }
+
+  /**
+   * Submits files for decoding in the background until the read-ahead
+   * limit is reached.
+   */
+  protected void readAhead() {
+    if ((m_Executor == null) || (m_Files == null) || isStopped())
+      return;
+
+    while ((m_PendingImages.size() < m_ReadAhead) && !m_Files.isEmpty()) {
+      final PlaceholderFile next = m_Files.poll();
+      m_PendingFiles.add(next);
+      m_PendingImages.add(m_Executor.submit(() -> readImage(m_ThreadReaders.get(), next)));
+    }
+  }
+
+  /**
+   * Returns the next image from the array of files, skipping images that
+   * fail to load.
+   *
+   * @return		the image, null if no more images available
+   */
+  protected AbstractImageContainer nextImage() {
+    AbstractImageContainer	result;
+    PlaceholderFile		file;
+    Exception			error;
+
+    result = null;
+
+    while ((result == null) && !isStopped()) {
+      readAhead();
+      file  = null;
+      error = null;
+      try {
+	if (!m_PendingFiles.isEmpty()) {
+	  file   = m_PendingFiles.poll();
+	  result = m_PendingImages.poll().get();
+	}
+	else if (!m_Files.isEmpty()) {
+	  file   = m_Files.poll();
+	  result = readImage(m_Reader, file);
+	}
+	else {
+	  break;
+	}
+      }
+      catch (Exception e) {
+	error = e;
+      }
+
+      if (result == null) {
+	getLogger().log(Level.SEVERE, "Failed to read image: " + file, error);
+	continue;
+      }
+
+      loadMetaData(file, result);
+      readAhead();
+    }
+
+    return result;
+  }
+
   /**
    * Executes the flow item.
    *
@@ -409,21 +708,45 @@ public class ImageFileReader
     String			result;
     PlaceholderFile		file;
     AbstractImageContainer	cont;
-    PlaceholderFile[]		metaFiles;
-    Report			metaData;
-    List	 		reports;
-    Report			report;
-
-    result = null;
+    Object			payload;
+    final AbstractImageReader	reader;
+
+    result  = null;
+    payload = m_InputToken.getPayload();
+    if ((m_CacheSize > 0) && (m_Cache == null))
+      m_Cache = ImageReaderCache.getSingleton(this, m_CacheSize * 1024L * 1024L);
+
+    // array of files?
+    if ((payload instanceof String[]) || (payload instanceof File[])) {
+      cleanUp();
+      m_Files         = new ArrayDeque<>();
+      m_PendingFiles  = new ArrayDeque<>();
+      m_PendingImages = new ArrayDeque<>();
+      if (payload instanceof String[]) {
+	for (String f: (String[]) payload)
+	  m_Files.add(new PlaceholderFile(f));
+      }
+      else {
+	for (File f: (File[]) payload)
+	  m_Files.add(new PlaceholderFile(f));
+      }
+      if ((m_ReadAhead > 0) && (m_Files.size() > 1)) {
+	reader          = m_Reader;
+	m_ThreadReaders = ThreadLocal.withInitial(() -> (AbstractImageReader) OptionUtils.shallowCopy(reader, true));
+	m_Executor      = Executors.newFixedThreadPool(Performance.determineNumThreads(m_NumThreads));
+	readAhead();
+      }
+      return null;
+    }
 
-    if (m_InputToken.getPayload() instanceof String)
-      file = new PlaceholderFile((String) m_InputToken.getPayload());
+    if (payload instanceof String)
+      file = new PlaceholderFile((String) payload);
     else
-      file = new PlaceholderFile((File) m_InputToken.getPayload());
+      file = new PlaceholderFile((File) payload);
 
     cont = null;
     try {
-      cont = m_Reader.read(file);
+      cont = readImage(m_Reader, file);
       if (cont != null)
         m_OutputToken = new Token(cont);
       else
@@ -434,24 +757,57 @@ public class ImageFileReader
     }
 
     // meta-data?
-    if (m_LoadMetaData && (result == null)) {
-      metaFiles = listMetaDataFiles(file);
-      metaData  = null;
-      for (PlaceholderFile metaFile: metaFiles) {
-        m_MetaDataReader.setInput(metaFile);
-        reports = m_MetaDataReader.read();
-        for (Object obj: reports) {
-          report = (Report) obj;
-          if (metaData == null)
-            metaData = report;
-          else
-            metaData.mergeWith(report);
-	}
-      }
-      if ((cont != null) && (metaData != null))
-        cont.getReport().mergeWith(metaData);
-    }
+    if ((cont != null) && (result == null))
+      loadMetaData(file, cont);
 
     return result;
   }
+
+  /**
+   * Checks whether there is pending output to be collected after
+   * executing the flow item.
+   *
+   * @return		true if there is pending output
+   */
+  @Override
+  public boolean hasPendingOutput() {
+    AbstractImageContainer	cont;
+
+    if ((m_OutputToken == null) && (m_Files != null)) {
+      cont = nextImage();
+      if (cont != null)
+	m_OutputToken = new Token(cont);
+      else
+	cleanUp();
+    }
+
+    return super.hasPendingOutput();
+  }
+
+  /**
+   * Stops the background decoding and discards any remaining files.
+   */
+  protected void cleanUp() {
+    if (m_Executor != null) {
+      m_Executor.shutdownNow();
+      m_Executor = null;
+    }
+    m_ThreadReaders = null;
+    m_Files         = null;
+    m_PendingFiles  = null;
+    m_PendingImages = null;
+  }
+
+  /**
+   * Cleans up after the execution has finished.
+   */
+  @Override
+  public void wrapUp() {
+    cleanUp();
+    if (m_Cache != null) {
+      ImageReaderCache.release(this);
+      m_Cache = null;
+    }
+    super.wrapUp();
+  }
 }
@@ -15,7 +15,7 @@
 
 /*
  * ImageObjectFilter.java
- * Copyright (C) 2017-2020 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2017-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.flow.transformer;
@@ -30,10 +30,12 @@ import adams.data.report.MutableReportHandler;
 import adams.data.report.Report;
 import adams.flow.core.Token;
 import adams.flow.transformer.locateobjects.LocatedObjects;
+import adams.flow.transformer.locateobjects.ObjectAnnotations;
 
 /**
  <!-- globalinfo-start -->
- * Uses the specified object finder to locate objects and then applies the object filter to the located objects (modifies the report).
+ * Uses the specified object finder to locate objects and then applies the object filter to the located objects (modifies the report).<br>
+ * Object annotations get filtered directly, without going through a report.
  * <br><br>
  <!-- globalinfo-end -->
  *
@@ -42,9 +44,11 @@ import adams.flow.transformer.locateobjects.LocatedObjects;
  * - accepts:<br>
  * &nbsp;&nbsp;&nbsp;adams.data.report.Report<br>
  * &nbsp;&nbsp;&nbsp;adams.data.report.MutableReportHandler<br>
+ * &nbsp;&nbsp;&nbsp;adams.flow.transformer.locateobjects.ObjectAnnotations<br>
  * - generates:<br>
  * &nbsp;&nbsp;&nbsp;adams.data.report.Report<br>
  * &nbsp;&nbsp;&nbsp;adams.data.report.MutableReportHandler<br>
+ * &nbsp;&nbsp;&nbsp;adams.flow.transformer.locateobjects.ObjectAnnotations<br>
  * <br><br>
  <!-- flow-summary-end -->
  *
@@ -132,7 +136,10 @@ public class ImageObjectFilter
    */
   @Override
   public String globalInfo() {
-    return "Uses the specified object finder to locate objects and then applies the object filter to the located objects (modifies the report).";
+    return
+      "Uses the specified object finder to locate objects and then applies "
+	+ "the object filter to the located objects (modifies the report).\n"
+	+ "Object annotations get filtered directly, without going through a report.";
   }
 
   /**
@@ -287,7 +294,7 @@ public class ImageObjectFilter
    */
   @Override
   public Class[] accepts() {
-    return new Class[]{Report.class, MutableReportHandler.class};
+    return new Class[]{Report.class, MutableReportHandler.class, ObjectAnnotations.class};
   }
 
   /**
@@ -297,7 +304,7 @@ public class ImageObjectFilter
    */
   @Override
   public Class[] generates() {
-    return new Class[]{Report.class, MutableReportHandler.class};
+    return new Class[]{Report.class, MutableReportHandler.class, ObjectAnnotations.class};
   }
 
   /**
@@ -317,6 +324,35 @@ public class ImageObjectFilter
     return result;
   }
 
+  /**
+   * Locates the objects of interest and applies the filter to them.
+   *
+   * @param objs	the objects to process
+   * @return		the filtered objects (plus all others if keeping all objects)
+   */
+  protected LocatedObjects filterObjects(LocatedObjects objs) {
+    int[]		indices;
+    LocatedObjects	result;
+
+    if (m_CleanIndices)
+      objs.resetIndex();
+
+    // find objects of interest
+    indices = m_Finder.find(objs);
+
+    // compile new objects
+    result = objs.subset(indices);
+
+    // filter objects
+    m_Filter.setFlowContext(this);
+    result = m_Filter.filter(result);
+
+    if (m_KeepAllObjects)
+      result.addAll(objs.subset(indices, true));
+
+    return result;
+  }
+
   /**
    * Executes the flow item.
    *
@@ -326,18 +362,20 @@ public class ImageObjectFilter
   protected String doExecute() {
     String			result;
     MutableReportHandler	handler;
-    int[]			indices;
     Report			report;
     Report			newReport;
     LocatedObjects		objs;
     LocatedObjects		newObjs;
-    LocatedObjects		otherObjs;
-    boolean			cleaned;
-
-    result  = null;
-    report  = null;
-    handler = null;
-    if (m_InputToken.hasPayload(MutableReportHandler.class)) {
+    ObjectAnnotations		annotations;
+
+    result      = null;
+    report      = null;
+    handler     = null;
+    annotations = null;
+    if (m_InputToken.hasPayload(ObjectAnnotations.class)) {
+      annotations = m_InputToken.getPayload(ObjectAnnotations.class);
+    }
+    else if (m_InputToken.hasPayload(MutableReportHandler.class)) {
       handler = m_InputToken.getPayload(MutableReportHandler.class);
       report  = handler.getReport();
     }
@@ -348,15 +386,19 @@ public class ImageObjectFilter
       result = m_InputToken.unhandledData();
     }
 
-    if (result == null) {
+    if ((result == null) && (annotations != null)) {
       try {
-	objs = LocatedObjects.fromReport(report, m_Finder.getPrefix());
-
-	if (m_CleanIndices)
-	  objs.resetIndex();
-
-	// find objects of interest
-	indices = m_Finder.find(objs);
+	newObjs       = filterObjects(annotations.getIndexedObjects());
+	m_OutputToken = new Token(new ObjectAnnotations(annotations.getFilename(), newObjs));
+      }
+      catch (Exception e) {
+	result = handleException("Failed to filter objects!", e);
+      }
+    }
+    else if (result == null) {
+      try {
+	objs    = LocatedObjects.fromReport(report, m_Finder.getPrefix());
+	newObjs = filterObjects(objs);
 
 	// remove all old objects
         for (AbstractField field : report.getFields()) {
@@ -364,18 +406,7 @@ public class ImageObjectFilter
             report.removeValue(field);
         }
 
-	// compile new objects
-	newObjs = objs.subset(indices);
-
-	// filter objects
-	m_Filter.setFlowContext(this);
-	newObjs = m_Filter.filter(newObjs);
-
 	// add objects to report
-        if (m_KeepAllObjects) {
-          otherObjs = objs.subset(indices, true);
-          newObjs.addAll(otherObjs);
-        }
 	newReport = newObjs.toReport(m_Finder.getPrefix());
 	for (AbstractField field : newReport.getFields()) {
 	  report.addField(field);
@@ -15,7 +15,7 @@
 
 /*
  * MergeObjectLocations.java
- * Copyright (C) 2016-2018 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2016-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.flow.transformer;
@@ -32,6 +32,10 @@ import adams.flow.control.StorageName;
 import adams.flow.core.Token;
 import adams.flow.transformer.locateobjects.LocatedObject;
 import adams.flow.transformer.locateobjects.LocatedObjects;
+import adams.flow.transformer.locateobjects.LocatedObjectsIndex;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  <!-- globalinfo-start -->
@@ -574,6 +578,8 @@ public class MergeObjectLocations
     LocatedObjects		thisObjs;
     LocatedObjects		otherObjs;
     LocatedObjects		mergedObjs;
+    LocatedObjectsIndex	index;
+    List<LocatedObject>	candidates;
     boolean			add;
     int				overlaps;
     Object			output;
@@ -625,10 +631,20 @@ public class MergeObjectLocations
         mergedObjs.addAll(otherObjs);
       }
       else {
+        // objects without any overlap have a ratio of 0 and can be skipped
+        index = null;
+        if ((m_MinOverlapRatio > 0) && (otherObjs.size() > 1))
+          index = new LocatedObjectsIndex(otherObjs);
         for (LocatedObject thisObj : thisObjs) {
           add = true;
           overlaps = 0;
-          for (LocatedObject otherObj : otherObjs) {
+          candidates = otherObjs;
+          if (index != null) {
+            candidates = new ArrayList<>();
+            for (int i : index.overlapping(thisObj))
+              candidates.add(index.get(i));
+          }
+          for (LocatedObject otherObj : candidates) {
             if (thisObj.overlapRatio(otherObj) >= m_MinOverlapRatio) {
               overlaps++;
               switch (m_OverlapAction) {
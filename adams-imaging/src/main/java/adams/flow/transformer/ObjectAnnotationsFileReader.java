@@ -0,0 +1,264 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * ObjectAnnotationsFileReader.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.flow.transformer;
+
+import adams.core.io.FileUtils;
+import adams.core.io.PlaceholderFile;
+import adams.flow.core.Token;
+import adams.flow.sink.ObjectAnnotationsFileWriter;
+import adams.flow.transformer.locateobjects.ObjectAnnotations;
+import net.minidev.json.JSONObject;
+import net.minidev.json.parser.JSONParser;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+
+/**
+ <!-- globalinfo-start -->
+ * Reads object annotations stored as JSON lines (one image per line, see adams.flow.sink.ObjectAnnotationsFileWriter) and forwards them image by image.<br>
+ * The file is read incrementally, i.e., only the annotations of the current image are kept in memory.
+ * <br><br>
+ <!-- globalinfo-end -->
+ *
+ <!-- flow-summary-start -->
+ * Input&#47;output:<br>
+ * - accepts:<br>
+ * &nbsp;&nbsp;&nbsp;java.lang.String<br>
+ * &nbsp;&nbsp;&nbsp;java.io.File<br>
+ * - generates:<br>
+ * &nbsp;&nbsp;&nbsp;adams.flow.transformer.locateobjects.ObjectAnnotations<br>
+ * <br><br>
+ <!-- flow-summary-end -->
+ *
+ <!-- options-start -->
+ * <pre>-logging-level &lt;OFF|SEVERE|WARNING|INFO|CONFIG|FINE|FINER|FINEST&gt; (property: loggingLevel)
+ * &nbsp;&nbsp;&nbsp;The logging level for outputting errors and debugging output.
+ * &nbsp;&nbsp;&nbsp;default: WARNING
+ * </pre>
+ *
+ * <pre>-name &lt;java.lang.String&gt; (property: name)
+ * &nbsp;&nbsp;&nbsp;The name of the actor.
+ * &nbsp;&nbsp;&nbsp;default: ObjectAnnotationsFileReader
+ * </pre>
+ *
+ * <pre>-annotation &lt;adams.core.base.BaseAnnotation&gt; (property: annotations)
+ * &nbsp;&nbsp;&nbsp;The annotations to attach to this actor.
+ * &nbsp;&nbsp;&nbsp;default:
+ * </pre>
+ *
+ * <pre>-skip &lt;boolean&gt; (property: skip)
+ * &nbsp;&nbsp;&nbsp;If set to true, transformation is skipped and the input token is just forwarded
+ * &nbsp;&nbsp;&nbsp;as it is.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ *
+ * <pre>-stop-flow-on-error &lt;boolean&gt; (property: stopFlowOnError)
+ * &nbsp;&nbsp;&nbsp;If set to true, the flow execution at this level gets stopped in case this
+ * &nbsp;&nbsp;&nbsp;actor encounters an error; the error gets propagated; useful for critical
+ * &nbsp;&nbsp;&nbsp;actors.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ *
+ * <pre>-silent &lt;boolean&gt; (property: silent)
+ * &nbsp;&nbsp;&nbsp;If enabled, then no errors are output in the console; Note: the enclosing
+ * &nbsp;&nbsp;&nbsp;actor handler must have this enabled as well.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ *
+ <!-- options-end -->
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class ObjectAnnotationsFileReader
+  extends AbstractTransformer {
+
+  /** for serialization. */
+  private static final long serialVersionUID = 4197592613380398711L;
+
+  /** the file currently being read. */
+  protected transient PlaceholderFile m_File;
+
+  /** the reader for the current file. */
+  protected transient BufferedReader m_Reader;
+
+  /** the parser to use. */
+  protected transient JSONParser m_Parser;
+
+  /** the current line number. */
+  protected transient int m_LineNo;
+
+  /**
+   * Returns a string describing the object.
+   *
+   * @return 			a description suitable for displaying in the gui
+   */
+  @Override
+  public String globalInfo() {
+    return
+      "Reads object annotations stored as JSON lines (one image per line, see "
+	+ ObjectAnnotationsFileWriter.class.getName() + ") and "
+	+ "forwards them image by image.\n"
+	+ "The file is read incrementally, i.e., only the annotations of the "
+	+ "current image are kept in memory.";
+  }
+
+  /**
+   * Resets the scheme.
+   */
+  @Override
+  protected void reset() {
+    super.reset();
+
+    closeReader();
+  }
+
+  /**
+   * Returns the class that the consumer accepts.
+   *
+   * @return		the Class of objects that can be processed
+   */
+  @Override
+  public Class[] accepts() {
+    return new Class[]{String.class, File.class};
+  }
+
+  /**
+   * Returns the class of objects that it generates.
+   *
+   * @return		the Class of the generated tokens
+   */
+  @Override
+  public Class[] generates() {
+    return new Class[]{ObjectAnnotations.class};
+  }
+
+  /**
+   * Executes the flow item.
+   *
+   * @return		null if everything is fine, otherwise error message
+   */
+  @Override
+  protected String doExecute() {
+    String	result;
+
+    result = null;
+
+    closeReader();
+    if (m_InputToken.hasPayload(String.class))
+      m_File = new PlaceholderFile(m_InputToken.getPayload(String.class));
+    else if (m_InputToken.hasPayload(File.class))
+      m_File = new PlaceholderFile(m_InputToken.getPayload(File.class));
+    else
+      result = m_InputToken.unhandledData();
+
+    if (result == null) {
+      try {
+	m_Reader = new BufferedReader(new InputStreamReader(new FileInputStream(m_File.getAbsoluteFile()), StandardCharsets.UTF_8));
+	m_Parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
+	m_LineNo = 0;
+      }
+      catch (Exception e) {
+	result = handleException("Failed to open annotations file: " + m_File, e);
+	closeReader();
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Reads the annotations of the next image.
+   *
+   * @return		the annotations, null if no more available
+   */
+  protected ObjectAnnotations nextAnnotations() {
+    ObjectAnnotations	result;
+    String		line;
+
+    result = null;
+
+    try {
+      while ((result == null) && !isStopped() && ((line = m_Reader.readLine()) != null)) {
+	m_LineNo++;
+	line = line.trim();
+	if (line.isEmpty())
+	  continue;
+	try {
+	  result = ObjectAnnotations.fromJson((JSONObject) m_Parser.parse(line));
+	}
+	catch (Exception e) {
+	  getLogger().log(Level.SEVERE, "Failed to parse line #" + m_LineNo + " of " + m_File + ": " + line, e);
+	}
+      }
+    }
+    catch (Exception e) {
+      getLogger().log(Level.SEVERE, "Failed to read from " + m_File, e);
+    }
+
+    return result;
+  }
+
+  /**
+   * Checks whether there is pending output to be collected after
+   * executing the flow item.
+   *
+   * @return		true if there is pending output
+   */
+  @Override
+  public boolean hasPendingOutput() {
+    ObjectAnnotations	annotations;
+
+    if ((m_OutputToken == null) && (m_Reader != null)) {
+      annotations = nextAnnotations();
+      if (annotations != null)
+	m_OutputToken = new Token(annotations);
+      else
+	closeReader();
+    }
+
+    return super.hasPendingOutput();
+  }
+
+  /**
+   * Closes the current file, if any.
+   */
+  protected void closeReader() {
+    if (m_Reader != null) {
+      FileUtils.closeQuietly(m_Reader);
+      m_Reader = null;
+    }
+    m_Parser = null;
+    m_File   = null;
+  }
+
+  /**
+   * Cleans up after the execution has finished.
+   */
+  @Override
+  public void wrapUp() {
+    closeReader();
+    super.wrapUp();
+  }
+}
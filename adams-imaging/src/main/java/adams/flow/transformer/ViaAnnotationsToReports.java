@@ -15,7 +15,7 @@
 
 /*
  * ViaAnnotationsToReports.java
- * Copyright (C) 2019 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2019-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.flow.transformer;
@@ -23,8 +23,10 @@ package adams.flow.transformer;
 import adams.core.QuickInfoHelper;
 import adams.core.base.BaseKeyValuePair;
 import adams.data.report.Report;
+import adams.flow.sink.ObjectAnnotationsFileWriter;
 import adams.flow.transformer.locateobjects.LocatedObject;
 import adams.flow.transformer.locateobjects.LocatedObjects;
+import adams.flow.transformer.locateobjects.ObjectAnnotations;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
 
@@ -36,7 +38,8 @@ import java.util.Map;
 
 /**
  <!-- globalinfo-start -->
- * Converts the JSON object passing through to Reports.
+ * Converts the JSON object passing through to Reports.<br>
+ * Can output adams.flow.transformer.locateobjects.ObjectAnnotations instead, which store the objects in typed form and which can be written incrementally with adams.flow.sink.ObjectAnnotationsFileWriter.
  * <br><br>
  * <!-- globalinfo-end -->
  * <p>
@@ -99,6 +102,13 @@ import java.util.Map;
  * &nbsp;&nbsp;&nbsp;default:
  * </pre>
  *
+ * <pre>-output-annotations &lt;boolean&gt; (property: outputAnnotations)
+ * &nbsp;&nbsp;&nbsp;If enabled, adams.flow.transformer.locateobjects.ObjectAnnotations get
+ * &nbsp;&nbsp;&nbsp;output instead of Reports, storing the objects in typed form rather than
+ * &nbsp;&nbsp;&nbsp;as string-encoded report fields.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ *
  <!-- options-end -->
  *
  * @author Hisham Abdel Qader (habdelqa at waikato dot ac dot nz)
@@ -118,6 +128,9 @@ public class ViaAnnotationsToReports
   /** the label mappings converted into a Map of (key,value) pairs. */
   protected Map<String,String> m_Mappings;
 
+  /** whether to output object annotations instead of reports. */
+  protected boolean m_OutputAnnotations;
+
   /**
    * Returns a string describing the object.
    *
@@ -125,7 +138,11 @@ public class ViaAnnotationsToReports
    */
   @Override
   public String globalInfo() {
-    return "Converts the JSON object passing through to Reports.";
+    return
+      "Converts the JSON object passing through to Reports.\n"
+	+ "Can output " + ObjectAnnotations.class.getName() + " instead, which "
+	+ "store the objects in typed form and which can be written incrementally "
+	+ "with " + ObjectAnnotationsFileWriter.class.getName() + ".";
   }
 
   /**
@@ -142,6 +159,10 @@ public class ViaAnnotationsToReports
     m_OptionManager.add(
       "label-mapping", "labelMapping",
       new BaseKeyValuePair[0]);
+
+    m_OptionManager.add(
+      "output-annotations", "outputAnnotations",
+      false);
   }
 
   /**
@@ -161,7 +182,10 @@ public class ViaAnnotationsToReports
    */
   @Override
   protected Class getItemClass() {
-    return Report.class;
+    if (m_OutputAnnotations)
+      return ObjectAnnotations.class;
+    else
+      return Report.class;
   }
 
   /**
@@ -233,6 +257,38 @@ public class ViaAnnotationsToReports
     return "Label mapping, in the form old=new\\n. No label mapping if empty.";
   }
 
+  /**
+   * Sets whether to output object annotations instead of reports.
+   *
+   * @param value 	true if to output annotations
+   */
+  public void setOutputAnnotations(boolean value) {
+    m_OutputAnnotations = value;
+    reset();
+  }
+
+  /**
+   * Returns whether to output object annotations instead of reports.
+   *
+   * @return 		true if to output annotations
+   */
+  public boolean getOutputAnnotations() {
+    return m_OutputAnnotations;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String outputAnnotationsTipText() {
+    return
+      "If enabled, " + ObjectAnnotations.class.getName() + " get output "
+	+ "instead of Reports, storing the objects in typed form rather than "
+	+ "as string-encoded report fields.";
+  }
+
   /**
    * Returns a quick info about the actor, which will be displayed in the GUI.
    *
@@ -251,6 +307,7 @@ public class ViaAnnotationsToReports
     result += QuickInfoHelper.toString(this, "labelMapping", m_LabelMapping, "label-mapping: ");
     options = new ArrayList<>();
     QuickInfoHelper.add(options, QuickInfoHelper.toString(this, "outputArray", m_OutputArray, "output array"));
+    QuickInfoHelper.add(options, QuickInfoHelper.toString(this, "outputAnnotations", m_OutputAnnotations, "annotations"));
     result += QuickInfoHelper.flatten(options);
 
     return result;
@@ -348,10 +405,14 @@ public class ViaAnnotationsToReports
 	  if (label != null) object.getMetaData().put("type", label);
 	  objects.add(object);
 	}
-	report = objects.toReport("Object.");
-	report.setStringValue("Filename", image.getAsString("filename"));
-
-	m_Queue.add(report);
+	if (m_OutputAnnotations) {
+	  m_Queue.add(new ObjectAnnotations(image.getAsString("filename"), objects));
+	}
+	else {
+	  report = objects.toReport("Object.");
+	  report.setStringValue("Filename", image.getAsString("filename"));
+	  m_Queue.add(report);
+	}
       }
     } catch (Exception e) {
       result = handleException("Failed to parse VIA json object", e);
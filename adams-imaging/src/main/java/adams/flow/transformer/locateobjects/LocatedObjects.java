@@ -15,7 +15,7 @@
 
 /*
  * LocatedObjects.java
- * Copyright (C) 2014-2020 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.flow.transformer.locateobjects;
 
@@ -76,6 +76,9 @@ public class LocatedObjects
   /** the key for the index of a group. */
   public final static String KEY_INDEX = "index";
 
+  /** the key for caching the decoded objects in the report. */
+  public final static String DERIVED_DATA_KEY = LocatedObjects.class.getName();
+
   /** the logger in use. */
   protected Logger m_Logger;
 
@@ -506,12 +509,39 @@ public class LocatedObjects
 
   /**
    * Retrieves all objects from the report.
+   * <br>
+   * The decoded objects get cached in the report (until it gets modified),
+   * the returned objects are always a copy and can be modified.
    *
    * @param report	the report to process
    * @param prefixes	the prefixes to look for
    * @return		the objects found
+   * @see		Report#getDerivedData(String)
    */
   public static LocatedObjects fromReport(Report report, String[] prefixes) {
+    LocatedObjects	result;
+    String		key;
+    long		count;
+
+    key    = DERIVED_DATA_KEY + "\t" + Utils.flatten(prefixes, "\t");
+    result = (LocatedObjects) report.getDerivedData(key);
+    if (result == null) {
+      count  = report.getModificationCount();
+      result = parseReport(report, prefixes);
+      report.setDerivedData(key, result, count);
+    }
+
+    return result.getClone();
+  }
+
+  /**
+   * Parses all objects from the report fields.
+   *
+   * @param report	the report to process
+   * @param prefixes	the prefixes to look for
+   * @return		the objects found
+   */
+  protected static LocatedObjects parseReport(Report report, String[] prefixes) {
     LocatedObjects  			result;
     LocatedObject			obj;
     String				current;
@@ -0,0 +1,324 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * LocatedObjectsIndex.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.flow.transformer.locateobjects;
+
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TIntArrayList;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Uniform grid over the bounding boxes of a list of located objects, for
+ * quickly determining the objects that overlap with a query object.
+ * <br>
+ * The candidates returned by {@link #overlapping(LocatedObject)} are exactly
+ * the objects for which {@link LocatedObject#overlap(LocatedObject)} returns
+ * true, i.e., all objects that can have an overlap ratio larger than 0.
+ * Indices are returned in ascending order, so iterating over them visits the
+ * objects in the same order as iterating over the original list.
+ * <br>
+ * The index is a snapshot, changes to the list or the objects after
+ * creating the index are not reflected.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class LocatedObjectsIndex
+  implements Serializable {
+
+  private static final long serialVersionUID = -3482587064296728714L;
+
+  /** the indexed objects. */
+  protected List<LocatedObject> m_Objects;
+
+  /** the size of a grid cell in pixels. */
+  protected int m_CellSize;
+
+  /** the left-most coordinate of the grid. */
+  protected int m_MinX;
+
+  /** the top-most coordinate of the grid. */
+  protected int m_MinY;
+
+  /** the number of columns. */
+  protected int m_Columns;
+
+  /** the number of rows. */
+  protected int m_Rows;
+
+  /** the start of each cell in {@link #m_CellItems} (length: cells + 1). */
+  protected int[] m_CellStart;
+
+  /** the object indices, grouped by cell. */
+  protected int[] m_CellItems;
+
+  /**
+   * Initializes the index, using the average object size as cell size.
+   *
+   * @param objects	the objects to index
+   */
+  public LocatedObjectsIndex(List<LocatedObject> objects) {
+    this(objects, -1);
+  }
+
+  /**
+   * Initializes the index.
+   *
+   * @param objects	the objects to index
+   * @param cellSize	the size of the grid cells, &lt;1 for automatic
+   */
+  public LocatedObjectsIndex(List<LocatedObject> objects, int cellSize) {
+    m_Objects = new ArrayList<>(objects);
+    build(cellSize);
+  }
+
+  /**
+   * Returns the left edge used for indexing.
+   *
+   * @param obj		the object
+   * @return		the edge
+   */
+  protected static int left(LocatedObject obj) {
+    return obj.getX();
+  }
+
+  /**
+   * Returns the right edge used for indexing (inclusive). Degenerate
+   * objects (width &lt; 1) occupy their left edge.
+   *
+   * @param obj		the object
+   * @return		the edge
+   */
+  protected static int right(LocatedObject obj) {
+    return Math.max(obj.getX(), obj.getX() + obj.getWidth() - 1);
+  }
+
+  /**
+   * Returns the top edge used for indexing.
+   *
+   * @param obj		the object
+   * @return		the edge
+   */
+  protected static int top(LocatedObject obj) {
+    return obj.getY();
+  }
+
+  /**
+   * Returns the bottom edge used for indexing (inclusive). Degenerate
+   * objects (height &lt; 1) occupy their top edge.
+   *
+   * @param obj		the object
+   * @return		the edge
+   */
+  protected static int bottom(LocatedObject obj) {
+    return Math.max(obj.getY(), obj.getY() + obj.getHeight() - 1);
+  }
+
+  /**
+   * Builds the grid.
+   *
+   * @param cellSize	the size of the grid cells, &lt;1 for automatic
+   */
+  protected void build(int cellSize) {
+    int			i;
+    int			maxX;
+    int			maxY;
+    long		sum;
+    long		cells;
+    int[]		count;
+    int[]		pos;
+    int			x;
+    int			y;
+    int			cell;
+    LocatedObject	obj;
+
+    m_MinX = Integer.MAX_VALUE;
+    m_MinY = Integer.MAX_VALUE;
+    maxX   = Integer.MIN_VALUE;
+    maxY   = Integer.MIN_VALUE;
+    sum    = 0;
+    for (i = 0; i < m_Objects.size(); i++) {
+      obj    = m_Objects.get(i);
+      m_MinX = Math.min(m_MinX, left(obj));
+      m_MinY = Math.min(m_MinY, top(obj));
+      maxX   = Math.max(maxX, right(obj));
+      maxY   = Math.max(maxY, bottom(obj));
+      sum   += (long) right(obj) - left(obj) + 1;
+      sum   += (long) bottom(obj) - top(obj) + 1;
+    }
+
+    if (m_Objects.isEmpty()) {
+      m_MinX      = 0;
+      m_MinY      = 0;
+      m_CellSize  = 1;
+      m_Columns   = 0;
+      m_Rows      = 0;
+      m_CellStart = new int[1];
+      m_CellItems = new int[0];
+      return;
+    }
+
+    // average object extent, unless specified
+    if (cellSize < 1)
+      cellSize = (int) Math.max(1, sum / (2L * m_Objects.size()));
+    // limit the number of (mostly empty) cells
+    while (true) {
+      cells = (((long) maxX - m_MinX) / cellSize + 1) * (((long) maxY - m_MinY) / cellSize + 1);
+      if (cells <= 4L * m_Objects.size() + 16)
+	break;
+      cellSize *= 2;
+    }
+    m_CellSize = cellSize;
+    m_Columns  = (int) (((long) maxX - m_MinX) / cellSize + 1);
+    m_Rows     = (int) (((long) maxY - m_MinY) / cellSize + 1);
+
+    // count entries per cell
+    count = new int[m_Columns * m_Rows];
+    for (i = 0; i < m_Objects.size(); i++) {
+      obj = m_Objects.get(i);
+      for (y = row(top(obj)); y <= row(bottom(obj)); y++) {
+	for (x = column(left(obj)); x <= column(right(obj)); x++)
+	  count[y * m_Columns + x]++;
+      }
+    }
+    m_CellStart = new int[count.length + 1];
+    for (i = 0; i < count.length; i++)
+      m_CellStart[i + 1] = m_CellStart[i] + count[i];
+
+    // fill cells, object indices are in ascending order within each cell
+    m_CellItems = new int[m_CellStart[count.length]];
+    pos         = Arrays.copyOf(m_CellStart, count.length);
+    for (i = 0; i < m_Objects.size(); i++) {
+      obj = m_Objects.get(i);
+      for (y = row(top(obj)); y <= row(bottom(obj)); y++) {
+	for (x = column(left(obj)); x <= column(right(obj)); x++) {
+	  cell = y * m_Columns + x;
+	  m_CellItems[pos[cell]++] = i;
+	}
+      }
+    }
+  }
+
+  /**
+   * Returns the grid column for the x coordinate, clipped to the grid.
+   *
+   * @param x		the x coordinate
+   * @return		the column
+   */
+  protected int column(int x) {
+    long	result;
+
+    result = ((long) x - m_MinX) / m_CellSize;
+    return (int) Math.max(0, Math.min(m_Columns - 1, result));
+  }
+
+  /**
+   * Returns the grid row for the y coordinate, clipped to the grid.
+   *
+   * @param y		the y coordinate
+   * @return		the row
+   */
+  protected int row(int y) {
+    long	result;
+
+    result = ((long) y - m_MinY) / m_CellSize;
+    return (int) Math.max(0, Math.min(m_Rows - 1, result));
+  }
+
+  /**
+   * Returns the number of indexed objects.
+   *
+   * @return		the number of objects
+   */
+  public int size() {
+    return m_Objects.size();
+  }
+
+  /**
+   * Returns the object at the specified position.
+   *
+   * @param index	the index of the object
+   * @return		the object
+   */
+  public LocatedObject get(int index) {
+    return m_Objects.get(index);
+  }
+
+  /**
+   * Returns the size of the grid cells in use.
+   *
+   * @return		the size in pixels
+   */
+  public int getCellSize() {
+    return m_CellSize;
+  }
+
+  /**
+   * Returns the indices of the objects that overlap with the specified
+   * object (according to {@link LocatedObject#overlap(LocatedObject)}).
+   *
+   * @param obj		the object to look for overlaps
+   * @return		the indices of the overlapping objects, sorted ascending
+   */
+  public int[] overlapping(LocatedObject obj) {
+    TIntList	candidates;
+    TIntList	result;
+    int		x;
+    int		y;
+    int		i;
+    int		cell;
+    int		last;
+    int		index;
+
+    if (m_Objects.isEmpty())
+      return new int[0];
+    if ((right(obj) < m_MinX) || (bottom(obj) < m_MinY))
+      return new int[0];
+    if (((long) left(obj) - m_MinX) / m_CellSize >= m_Columns)
+      return new int[0];
+    if (((long) top(obj) - m_MinY) / m_CellSize >= m_Rows)
+      return new int[0];
+
+    candidates = new TIntArrayList();
+    for (y = row(top(obj)); y <= row(bottom(obj)); y++) {
+      for (x = column(left(obj)); x <= column(right(obj)); x++) {
+	cell = y * m_Columns + x;
+	for (i = m_CellStart[cell]; i < m_CellStart[cell + 1]; i++)
+	  candidates.add(m_CellItems[i]);
+      }
+    }
+    candidates.sort();
+
+    result = new TIntArrayList();
+    last   = -1;
+    for (i = 0; i < candidates.size(); i++) {
+      index = candidates.get(i);
+      if (index == last)
+	continue;
+      last = index;
+      if (obj.overlap(m_Objects.get(index)))
+	result.add(index);
+    }
+
+    return result.toArray();
+  }
+}
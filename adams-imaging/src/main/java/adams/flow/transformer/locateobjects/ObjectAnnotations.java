@@ -0,0 +1,312 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * ObjectAnnotations.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.flow.transformer.locateobjects;
+
+import adams.core.CloneHandler;
+import adams.data.report.Report;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+
+import java.awt.Polygon;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Container for the object annotations of a single image, storing the
+ * objects in typed form rather than as string-encoded report fields.
+ * <br>
+ * Can be turned into a single line of JSON (and back), which is used for
+ * streaming large annotation datasets image by image:
+ * <pre>
+ * {"filename": "img.jpg", "objects": [{"x": 1, "y": 2, "width": 3, "height": 4, "poly_x": [...], "poly_y": [...], "meta": {"type": "cat"}}]}
+ * </pre>
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class ObjectAnnotations
+  implements Serializable, CloneHandler<ObjectAnnotations> {
+
+  /** for serialization. */
+  private static final long serialVersionUID = -2350431929138432711L;
+
+  /** the JSON key for the filename. */
+  public final static String KEY_FILENAME = "filename";
+
+  /** the JSON key for the objects. */
+  public final static String KEY_OBJECTS = "objects";
+
+  /** the JSON key for the x coordinate. */
+  public final static String KEY_X = "x";
+
+  /** the JSON key for the y coordinate. */
+  public final static String KEY_Y = "y";
+
+  /** the JSON key for the width. */
+  public final static String KEY_WIDTH = "width";
+
+  /** the JSON key for the height. */
+  public final static String KEY_HEIGHT = "height";
+
+  /** the JSON key for the meta-data. */
+  public final static String KEY_META = "meta";
+
+  /** the report field for the filename. */
+  public final static String FIELD_FILENAME = "Filename";
+
+  /** the image filename (no path), can be null. */
+  protected String m_Filename;
+
+  /** the objects. */
+  protected LocatedObjects m_Objects;
+
+  /**
+   * Initializes the container.
+   *
+   * @param filename	the image filename, can be null
+   * @param objects	the objects
+   */
+  public ObjectAnnotations(String filename, LocatedObjects objects) {
+    m_Filename = filename;
+    m_Objects  = (objects == null) ? new LocatedObjects() : objects;
+  }
+
+  /**
+   * Returns the image filename.
+   *
+   * @return		the filename, null if not available
+   */
+  public String getFilename() {
+    return m_Filename;
+  }
+
+  /**
+   * Returns the objects.
+   *
+   * @return		the objects
+   */
+  public LocatedObjects getObjects() {
+    return m_Objects;
+  }
+
+  /**
+   * Returns a copy of the objects with indices, as required by the object
+   * finders. If any object lacks an index, all objects get numbered
+   * (1-based) in list order, like when going through a report.
+   *
+   * @return		the indexed copy of the objects
+   */
+  public LocatedObjects getIndexedObjects() {
+    LocatedObjects	result;
+
+    result = m_Objects.getClone();
+    for (LocatedObject obj: result) {
+      if (obj.getIndex() == -1) {
+	result.resetIndex();
+	break;
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the number of objects.
+   *
+   * @return		the number of objects
+   */
+  public int size() {
+    return m_Objects.size();
+  }
+
+  /**
+   * Returns a clone of the object.
+   *
+   * @return		the clone
+   */
+  public ObjectAnnotations getClone() {
+    return new ObjectAnnotations(m_Filename, m_Objects.getClone());
+  }
+
+  /**
+   * Turns the annotations into a report, for actors that require reports.
+   *
+   * @param prefix	the prefix to use for the objects, eg "Object."
+   * @return		the report
+   * @see		LocatedObjects#toReport(String)
+   */
+  public Report toReport(String prefix) {
+    Report	result;
+
+    result = m_Objects.toReport(prefix);
+    if (m_Filename != null)
+      result.setStringValue(FIELD_FILENAME, m_Filename);
+
+    return result;
+  }
+
+  /**
+   * Turns the annotations into a JSON object.
+   *
+   * @return		the JSON object
+   */
+  public JSONObject toJson() {
+    JSONObject	result;
+    JSONArray	objects;
+    JSONObject	object;
+    JSONObject	meta;
+    JSONArray	poly;
+
+    result = new JSONObject();
+    if (m_Filename != null)
+      result.put(KEY_FILENAME, m_Filename);
+    objects = new JSONArray();
+    for (LocatedObject obj: m_Objects) {
+      object = new JSONObject();
+      object.put(KEY_X, obj.getX());
+      object.put(KEY_Y, obj.getY());
+      object.put(KEY_WIDTH, obj.getWidth());
+      object.put(KEY_HEIGHT, obj.getHeight());
+      if (obj.hasPolygon()) {
+	poly = new JSONArray();
+	for (int x: obj.getPolygonX())
+	  poly.add(x);
+	object.put(LocatedObject.KEY_POLY_X, poly);
+	poly = new JSONArray();
+	for (int y: obj.getPolygonY())
+	  poly.add(y);
+	object.put(LocatedObject.KEY_POLY_Y, poly);
+      }
+      meta = new JSONObject();
+      for (String key: obj.getMetaData().keySet()) {
+	if (key.equals(LocatedObject.KEY_POLY_X) || key.equals(LocatedObject.KEY_POLY_Y))
+	  continue;
+	meta.put(key, obj.getMetaData().get(key));
+      }
+      if (meta.size() > 0)
+	object.put(KEY_META, meta);
+      objects.add(object);
+    }
+    result.put(KEY_OBJECTS, objects);
+
+    return result;
+  }
+
+  /**
+   * Converts a JSON array of numbers into an int array.
+   *
+   * @param array	the array to convert
+   * @return		the coordinates
+   */
+  protected static int[] toCoordinates(JSONArray array) {
+    int[]	result;
+    int		i;
+
+    result = new int[array.size()];
+    for (i = 0; i < result.length; i++)
+      result[i] = ((Number) array.get(i)).intValue();
+
+    return result;
+  }
+
+  /**
+   * Parses the annotations from the JSON object.
+   *
+   * @param json	the JSON object to parse
+   * @return		the annotations
+   * @see		#toJson()
+   */
+  public static ObjectAnnotations fromJson(JSONObject json) {
+    LocatedObjects	objects;
+    LocatedObject	obj;
+    JSONArray		array;
+    JSONObject		object;
+    JSONObject		meta;
+    Map<String,Object>	metaData;
+    Object		value;
+    int[]		x;
+    int[]		y;
+    int			i;
+
+    objects = new LocatedObjects();
+    array   = (JSONArray) json.get(KEY_OBJECTS);
+    if (array != null) {
+      for (i = 0; i < array.size(); i++) {
+	object   = (JSONObject) array.get(i);
+	metaData = new HashMap<>();
+	meta     = (JSONObject) object.get(KEY_META);
+	if (meta != null) {
+	  for (String key: meta.keySet()) {
+	    value = meta.get(key);
+	    // indices are strings, all other numbers are stored as double in reports
+	    if (key.equals(LocatedObjects.KEY_INDEX))
+	      value = (value instanceof Number) ? "" + ((Number) value).intValue() : "" + value;
+	    else if (value instanceof Number)
+	      value = ((Number) value).doubleValue();
+	    metaData.put(key, value);
+	  }
+	}
+	obj = new LocatedObject(
+	  null,
+	  object.getAsNumber(KEY_X).intValue(),
+	  object.getAsNumber(KEY_Y).intValue(),
+	  object.getAsNumber(KEY_WIDTH).intValue(),
+	  object.getAsNumber(KEY_HEIGHT).intValue(),
+	  metaData);
+	if (object.containsKey(LocatedObject.KEY_POLY_X) && object.containsKey(LocatedObject.KEY_POLY_Y)) {
+	  x = toCoordinates((JSONArray) object.get(LocatedObject.KEY_POLY_X));
+	  y = toCoordinates((JSONArray) object.get(LocatedObject.KEY_POLY_Y));
+	  if ((x.length > 0) && (x.length == y.length))
+	    obj.setPolygon(new Polygon(x, y, x.length));
+	}
+	objects.add(obj);
+      }
+    }
+
+    return new ObjectAnnotations(json.getAsString(KEY_FILENAME), objects);
+  }
+
+  /**
+   * Extracts the annotations from the report.
+   *
+   * @param report	the report to use
+   * @param prefix	the object prefix, eg "Object."
+   * @return		the annotations
+   */
+  public static ObjectAnnotations fromReport(Report report, String prefix) {
+    String	filename;
+
+    filename = null;
+    if (report.hasValue(FIELD_FILENAME))
+      filename = report.getStringValue(FIELD_FILENAME);
+
+    return new ObjectAnnotations(filename, LocatedObjects.fromReport(report, prefix));
+  }
+
+  /**
+   * Returns a short description of the annotations.
+   *
+   * @return		the description
+   */
+  @Override
+  public String toString() {
+    return "filename=" + m_Filename + ", #objects=" + m_Objects.size();
+  }
+}
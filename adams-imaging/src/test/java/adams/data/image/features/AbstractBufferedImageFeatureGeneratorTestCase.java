@@ -15,7 +15,7 @@
 
 /*
  * AbstractBufferedImageFeatureGeneratorTestCase.java
- * Copyright (C) 2011-2021 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2011-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.image.features;
 
@@ -25,6 +25,7 @@ import adams.core.Utils;
 import adams.core.io.FileUtils;
 import adams.core.io.PlaceholderFile;
 import adams.data.image.BufferedImageContainer;
+import adams.data.image.BufferedImageHelper;
 import adams.data.io.input.ApacheCommonsImageReader;
 import adams.data.spreadsheet.Cell;
 import adams.data.spreadsheet.Row;
@@ -33,7 +34,10 @@ import adams.test.AdamsTestCase;
 import adams.test.TestHelper;
 import adams.test.TmpFile;
 
+import java.awt.image.BufferedImage;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Ancestor for test cases tailored for buffered image feature generators.
@@ -84,6 +88,38 @@ public abstract class AbstractBufferedImageFeatureGeneratorTestCase
     return result;
   }
 
+  /**
+   * Generates a variant of the image with the same dimensions, but different
+   * pixel values.
+   *
+   * @param img		the image to generate the variant for
+   * @param invert	whether to invert the colors or halve the intensities
+   * @return		the variant
+   */
+  protected BufferedImageContainer variant(BufferedImageContainer img, boolean invert) {
+    BufferedImageContainer	result;
+    BufferedImage		image;
+    int				x;
+    int				y;
+    int				pixel;
+
+    image = BufferedImageHelper.deepCopy(img.getImage());
+    for (y = 0; y < image.getHeight(); y++) {
+      for (x = 0; x < image.getWidth(); x++) {
+	pixel = image.getRGB(x, y);
+	if (invert)
+	  pixel = (pixel & 0xFF000000) | (~pixel & 0x00FFFFFF);
+	else
+	  pixel = (pixel & 0xFF000000) | ((pixel >> 1) & 0x007F7F7F);
+	image.setRGB(x, y, pixel);
+      }
+    }
+    result = (BufferedImageContainer) img.getHeader();
+    result.setImage(image);
+
+    return result;
+  }
+
   /**
    * Processes the input data and returns the processed data.
    *
@@ -243,4 +279,49 @@ public abstract class AbstractBufferedImageFeatureGeneratorTestCase
       m_TestHelper.deleteFileFromTmp(output[i]);
     }
   }
+
+  /**
+   * Tests whether batch processing (in parallel) generates the same rows
+   * as processing the images one by one.
+   */
+  public void testBatch() {
+    BufferedImageContainer			data;
+    List<BufferedImageContainer>		batch;
+    AbstractBufferedImageFeatureGenerator[]	setups;
+    AbstractBufferedImageFeatureGenerator	parallel;
+    List<Object>				expected;
+    Object[]					actual;
+    String[]					input;
+    int						i;
+    int						n;
+
+    if (m_NoRegressionTest)
+      return;
+
+    input  = getRegressionInputFiles();
+    setups = getRegressionSetups();
+    for (i = 0; i < input.length; i++) {
+      data = load(input[i]);
+      assertNotNull("Could not load data from " + input[i], data);
+      batch = new ArrayList<>();
+      batch.add(data);
+      batch.add(variant(data, true));
+      batch.add(variant(data, false));
+
+      parallel = (AbstractBufferedImageFeatureGenerator) setups[i].shallowCopy();
+      expected = new ArrayList<>();
+      for (BufferedImageContainer img: batch) {
+	for (Object row: process(img, setups[i]))
+	  expected.add(row);
+      }
+      actual = parallel.generate(batch, 2);
+      assertEquals("Number of rows differ for setup #" + (i+1), expected.size(), actual.length);
+      for (n = 0; n < actual.length; n++)
+	assertEquals("Row #" + (n+1) + " differs for setup #" + (i+1), toString(expected.get(n)), toString(actual[n]));
+
+      if (setups[i] instanceof Destroyable)
+	((Destroyable) setups[i]).destroy();
+      parallel.destroy();
+    }
+  }
 }
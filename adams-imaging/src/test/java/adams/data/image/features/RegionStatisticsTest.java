@@ -0,0 +1,94 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * RegionStatisticsTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.image.features;
+
+import adams.env.Environment;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Test class for the RegionStatistics feature generator. Run from the command line with: <br><br>
+ * java adams.data.image.features.RegionStatisticsTest
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class RegionStatisticsTest
+  extends AbstractBufferedImageFeatureGeneratorTestCase {
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public RegionStatisticsTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Returns the filenames (without path) of the input data files to use
+   * in the regression test.
+   *
+   * @return		the filenames
+   */
+  @Override
+  protected String[] getRegressionInputFiles() {
+    return new String[]{
+	"adams_icon.png",
+	"adams_icon.png",
+    };
+  }
+
+  /**
+   * Returns the setups to use in the regression test.
+   *
+   * @return		the setups
+   */
+  @Override
+  protected AbstractBufferedImageFeatureGenerator[] getRegressionSetups() {
+    RegionStatistics[]	result;
+
+    result    = new RegionStatistics[2];
+    result[0] = new RegionStatistics();
+    result[1] = new RegionStatistics();
+    result[1].setNumRows(3);
+    result[1].setNumCols(5);
+
+    return result;
+  }
+
+  /**
+   * Returns the test suite.
+   *
+   * @return		the suite
+   */
+  public static Test suite() {
+    return new TestSuite(RegionStatisticsTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * TiledTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.image.transformer;
+
+import adams.data.image.BufferedImageContainer;
+import adams.data.image.BufferedImageHelper;
+import adams.env.Environment;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Test class for the Tiled transformer. Run from the command line with: <br><br>
+ * java adams.data.image.transformer.TiledTest
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class TiledTest
+  extends AbstractBufferedImageTransformerTestCase {
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public TiledTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Returns the filenames (without path) of the input data files to use
+   * in the regression test.
+   *
+   * @return		the filenames
+   */
+  @Override
+  protected String[] getRegressionInputFiles() {
+    return new String[]{
+	"adams_logo.png",
+	"adams_logo.png",
+	"adams_logo.png"
+    };
+  }
+
+  /**
+   * Returns the setups to use in the regression test.
+   *
+   * @return		the setups
+   */
+  @Override
+  protected AbstractBufferedImageTransformer[] getRegressionSetups() {
+    Tiled[]		result;
+    GaussianBlur	blur;
+
+    result    = new Tiled[3];
+    result[0] = new Tiled();
+    result[1] = new Tiled();
+    blur      = new GaussianBlur();
+    blur.setRadius(10.0);
+    result[1].setTransformer(blur);
+    result[1].setTileSize(32);
+    result[2] = new Tiled();
+    result[2].setTransformer(new LocalMedianFilter());
+    result[2].setTileSize(17);
+
+    return result;
+  }
+
+  /**
+   * Tests whether tiled processing generates the same output as processing
+   * the image as a whole.
+   */
+  public void testSameAsWhole() {
+    BufferedImageContainer		img;
+    AbstractBufferedImageTransformer[]	bases;
+    Tiled				tiled;
+    GaussianBlur			blur;
+    int[]				expected;
+    int[]				actual;
+
+    img = load("adams_logo.png");
+    assertNotNull("Failed to load image", img);
+
+    blur = new GaussianBlur();
+    blur.setRadius(5.0);
+    bases = new AbstractBufferedImageTransformer[]{
+      blur,
+      new LocalMedianFilter(),
+      new Grayscale(),
+    };
+
+    for (AbstractBufferedImageTransformer base: bases) {
+      tiled = new Tiled();
+      tiled.setTransformer((AbstractBufferedImageTransformer) base.shallowCopy());
+      tiled.setTileSize(23);
+      tiled.setNumThreads(2);
+      expected = BufferedImageHelper.getPixels(base.transform(img)[0].getImage());
+      actual   = BufferedImageHelper.getPixels(tiled.transform(img)[0].getImage());
+      assertEqualsArrays("Tiled output differs for " + base.getClass().getName(), expected, actual);
+    }
+  }
+
+  /**
+   * Returns the test suite.
+   *
+   * @return		the suite
+   */
+  public static Test suite() {
+    return new TestSuite(TiledTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
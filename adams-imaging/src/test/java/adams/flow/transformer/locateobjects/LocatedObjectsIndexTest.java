@@ -0,0 +1,147 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * LocatedObjectsIndexTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.flow.transformer.locateobjects;
+
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TIntArrayList;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import java.util.Random;
+
+/**
+ * Tests the {@link LocatedObjectsIndex} class.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class LocatedObjectsIndexTest
+  extends AdamsTestCase {
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public LocatedObjectsIndexTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Generates random objects, including some degenerate ones.
+   *
+   * @param num		the number of objects
+   * @param seed	the seed value
+   * @return		the objects
+   */
+  protected LocatedObjects newObjects(int num, long seed) {
+    LocatedObjects	result;
+    Random		rnd;
+    int			i;
+
+    rnd    = new Random(seed);
+    result = new LocatedObjects();
+    for (i = 0; i < num; i++) {
+      if (i % 17 == 0)
+	result.add(new LocatedObject(rnd.nextInt(500), rnd.nextInt(500), rnd.nextInt(2), rnd.nextInt(2)));
+      else if (i % 23 == 0)
+	result.add(new LocatedObject(rnd.nextInt(500), rnd.nextInt(500), 1 + rnd.nextInt(400), 1 + rnd.nextInt(400)));
+      else
+	result.add(new LocatedObject(rnd.nextInt(500) - 20, rnd.nextInt(500) - 20, 1 + rnd.nextInt(40), 1 + rnd.nextInt(40)));
+    }
+
+    return result;
+  }
+
+  /**
+   * Determines the overlapping objects by brute force.
+   *
+   * @param objects	the objects to check
+   * @param obj		the object to find the overlaps for
+   * @return		the indices
+   */
+  protected int[] bruteForce(LocatedObjects objects, LocatedObject obj) {
+    TIntList	result;
+    int		i;
+
+    result = new TIntArrayList();
+    for (i = 0; i < objects.size(); i++) {
+      if (obj.overlap(objects.get(i)))
+	result.add(i);
+    }
+
+    return result.toArray();
+  }
+
+  /**
+   * Tests that the index returns the same objects as a pairwise comparison.
+   */
+  public void testOverlapping() {
+    LocatedObjects	objects;
+    LocatedObjects	queries;
+    LocatedObjectsIndex	index;
+
+    objects = newObjects(300, 1);
+    queries = newObjects(100, 2);
+    queries.add(new LocatedObject(-100, -100, 10, 10));
+    queries.add(new LocatedObject(1000, 1000, 10, 10));
+    queries.add(new LocatedObject(-100, -100, 1000, 1000));
+
+    for (int cellSize: new int[]{-1, 1, 7, 1000}) {
+      index = new LocatedObjectsIndex(objects, cellSize);
+      assertEquals("size", objects.size(), index.size());
+      for (LocatedObject query: queries)
+	assertEqualsArrays("overlaps of " + query + ", cell size " + cellSize, bruteForce(objects, query), index.overlapping(query));
+      for (LocatedObject query: objects)
+	assertEqualsArrays("overlaps of " + query + ", cell size " + cellSize, bruteForce(objects, query), index.overlapping(query));
+    }
+  }
+
+  /**
+   * Tests an empty index.
+   */
+  public void testEmpty() {
+    LocatedObjectsIndex	index;
+
+    index = new LocatedObjectsIndex(new LocatedObjects());
+    assertEquals("size", 0, index.size());
+    assertEquals("overlaps", 0, index.overlapping(new LocatedObject(0, 0, 10, 10)).length);
+  }
+
+  /**
+   * Returns a test suite.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(LocatedObjectsIndexTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * LocatedObjectsTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.flow.transformer.locateobjects;
+
+import adams.data.report.DataType;
+import adams.data.report.Field;
+import adams.data.report.Report;
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Tests the {@link LocatedObjects} class.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class LocatedObjectsTest
+  extends AdamsTestCase {
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public LocatedObjectsTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Generates a report with objects.
+   *
+   * @return		the report
+   */
+  protected Report newReport() {
+    LocatedObjects	objects;
+
+    objects = new LocatedObjects();
+    objects.add(new LocatedObject(10, 20, 30, 40));
+    objects.add(new LocatedObject(50, 60, 70, 80));
+    objects.get(1).getMetaData().put("type", "cat");
+
+    return objects.toReport("Object.");
+  }
+
+  /**
+   * Tests the round trip via reports.
+   */
+  public void testFromReport() {
+    Report		report;
+    LocatedObjects	objects;
+
+    report  = newReport();
+    objects = LocatedObjects.fromReport(report, "Object.");
+    assertEquals("# of objects", 2, objects.size());
+    assertEquals("x", 50, objects.find(2).getX());
+    assertEquals("type", "cat", objects.find(2).getMetaData().get("type"));
+  }
+
+  /**
+   * Tests that the cached objects cannot be modified via the returned ones.
+   */
+  public void testCopies() {
+    Report		report;
+    LocatedObjects	objects;
+
+    report  = newReport();
+    objects = LocatedObjects.fromReport(report, "Object.");
+    objects.find(1).getMetaData().put("type", "dog");
+    objects.remove(0);
+    objects = LocatedObjects.fromReport(report, "Object.");
+    assertEquals("# of objects", 2, objects.size());
+    assertFalse("type", objects.find(1).getMetaData().containsKey("type"));
+  }
+
+  /**
+   * Tests that modifications of the report are reflected.
+   */
+  public void testModification() {
+    Report		report;
+    LocatedObjects	objects;
+
+    report  = newReport();
+    objects = LocatedObjects.fromReport(report, "Object.");
+    assertEquals("# of objects", 2, objects.size());
+
+    report.setValue(new Field("Object.2.x", DataType.NUMERIC), 55.0);
+    objects = LocatedObjects.fromReport(report, "Object.");
+    assertEquals("x", 55, objects.find(2).getX());
+
+    report.removeValuesStartingWith("Object.1.");
+    objects = LocatedObjects.fromReport(report, "Object.");
+    assertEquals("# of objects", 1, objects.size());
+
+    report.mergeWith(new LocatedObjects(new LocatedObject(1, 2, 3, 4)).toReport("Other."));
+    assertEquals("# of objects", 1, LocatedObjects.fromReport(report, "Object.").size());
+    assertEquals("# of objects", 1, LocatedObjects.fromReport(report, "Other.").size());
+    assertEquals("# of objects", 2, LocatedObjects.fromReport(report, new String[]{"Object.", "Other."}).size());
+  }
+
+  /**
+   * Returns a test suite.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(LocatedObjectsTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * ObjectAnnotationsTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.flow.transformer.locateobjects;
+
+import adams.data.report.Report;
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import net.minidev.json.JSONObject;
+import net.minidev.json.parser.JSONParser;
+
+import java.awt.Polygon;
+
+/**
+ * Tests the {@link ObjectAnnotations} class.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class ObjectAnnotationsTest
+  extends AdamsTestCase {
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public ObjectAnnotationsTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Generates annotations with a box and a polygon.
+   *
+   * @return		the annotations
+   */
+  protected ObjectAnnotations newAnnotations() {
+    LocatedObjects	objects;
+
+    objects = new LocatedObjects();
+    objects.add(new LocatedObject(10, 20, 30, 40));
+    objects.get(0).getMetaData().put("type", "dog");
+    objects.get(0).getMetaData().put("score", 0.75);
+    objects.add(new LocatedObject(new Polygon(new int[]{50, 80, 60}, new int[]{60, 70, 90}, 3)));
+    objects.get(1).getMetaData().put("type", "cat");
+
+    return new ObjectAnnotations("img.jpg", objects);
+  }
+
+  /**
+   * Tests the round trip via a line of JSON.
+   */
+  public void testJson() throws Exception {
+    ObjectAnnotations	annotations;
+    String		line;
+    LocatedObject	obj;
+
+    line        = newAnnotations().toJson().toJSONString();
+    assertEquals("single line", -1, line.indexOf('\n'));
+    annotations = ObjectAnnotations.fromJson((JSONObject) new JSONParser(JSONParser.MODE_JSON_SIMPLE).parse(line));
+    assertEquals("filename", "img.jpg", annotations.getFilename());
+    assertEquals("# of objects", 2, annotations.size());
+    obj = annotations.getObjects().get(0);
+    assertEquals("x", 10, obj.getX());
+    assertEquals("height", 40, obj.getHeight());
+    assertEquals("type", "dog", obj.getMetaData().get("type"));
+    assertEquals("score", 0.75, obj.getMetaData().get("score"));
+    assertFalse("polygon", obj.hasPolygon());
+    obj = annotations.getObjects().get(1);
+    assertTrue("polygon", obj.hasPolygon());
+    assertEquals("polygon x", 80, obj.getPolygonX()[1]);
+    assertEquals("polygon y", 90, obj.getPolygonY()[2]);
+    assertEquals("width", 30, obj.getWidth());
+  }
+
+  /**
+   * Tests the conversion from/to reports.
+   */
+  public void testReport() {
+    Report		report;
+    ObjectAnnotations	annotations;
+
+    report      = newAnnotations().toReport("Object.");
+    annotations = ObjectAnnotations.fromReport(report, "Object.");
+    assertEquals("filename", "img.jpg", annotations.getFilename());
+    assertEquals("# of objects", 2, annotations.size());
+    assertEquals("type", "cat", annotations.getObjects().find(2).getMetaData().get("type"));
+  }
+
+  /**
+   * Tests that objects get indexed for the object finders.
+   */
+  public void testIndices() {
+    ObjectAnnotations	annotations;
+    LocatedObjects	objects;
+
+    annotations = newAnnotations();
+    objects     = annotations.getIndexedObjects();
+    assertEquals("index", 1, objects.get(0).getIndex());
+    assertEquals("index", 2, objects.get(1).getIndex());
+    assertEquals("no index", -1, annotations.getObjects().get(0).getIndex());
+  }
+
+  /**
+   * Returns a test suite.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(ObjectAnnotationsTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
@@ -15,12 +15,18 @@
 
 /**
  * AbstractAutoCorrelation.java
- * Copyright (C) 2015 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.autocorrelation;
 
+import adams.core.Performance;
 import adams.core.option.AbstractOptionHandler;
+import adams.multiprocess.ParallelJobs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * Ancestor for autocorrelatin algorithms..
@@ -61,4 +67,38 @@ public abstract class AbstractAutoCorrelation
     check(data);
     return doCorrelate(data);
   }
+
+  /**
+   * Performs autocorrelation on a batch of signals, processing them in
+   * parallel. The order of the signals is preserved.
+   *
+   * @param data	the signals to process
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @return		the processed signals
+   */
+  public double[][] correlate(final double[][] data, int numThreads) {
+    final double[][]		result;
+    List<Callable<Integer>>	jobs;
+    int				i;
+
+    result     = new double[data.length][];
+    numThreads = Performance.determineNumThreads(numThreads);
+    if ((numThreads < 2) || (data.length < 2)) {
+      for (i = 0; i < data.length; i++)
+	result[i] = correlate(data[i]);
+    }
+    else {
+      jobs = new ArrayList<>();
+      for (i = 0; i < data.length; i++) {
+	final int index = i;
+	jobs.add(() -> {
+	  result[index] = correlate(data[index]);
+	  return index;
+	});
+      }
+      ParallelJobs.invokeAll(jobs, numThreads, "Failed to perform autocorrelation!");
+    }
+
+    return result;
+  }
 }
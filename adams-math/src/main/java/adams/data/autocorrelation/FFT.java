@@ -15,7 +15,7 @@
 
 /**
  * FFT.java
- * Copyright (C) 2015 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.autocorrelation;
@@ -29,6 +29,7 @@ import adams.data.utils.AutoCorrelation;
 /**
  <!-- globalinfo-start -->
  * Uses FFT approach to autocorrelation.<br>
+ * Signals of arbitrary length are supported, the FFT plans get cached per length. Linear (ie non-circular) autocorrelation zero-pads the signal to the next power of 2 of at least twice its length.<br>
  * <br>
  * For more information see:<br>
  * WikiPedia. Autocorrelation.
@@ -57,6 +58,12 @@ import adams.data.utils.AutoCorrelation;
  * &nbsp;&nbsp;&nbsp;default: false
  * </pre>
  * 
+ * <pre>-linear &lt;boolean&gt; (property: linear)
+ * &nbsp;&nbsp;&nbsp;If enabled, linear (ie non-circular) autocorrelation is performed, using
+ * &nbsp;&nbsp;&nbsp;zero-padding.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ * 
  <!-- options-end -->
  *
  * @author FracPete (fracpete at waikato dot ac dot nz)
@@ -76,6 +83,9 @@ public class FFT
   /** whether to normalize. */
   protected boolean m_Normalize;
 
+  /** whether to perform linear autocorrelation. */
+  protected boolean m_Linear;
+
   /**
    * Returns a string describing the object.
    *
@@ -84,7 +94,10 @@ public class FFT
   @Override
   public String globalInfo() {
     return
-      "Uses FFT approach to autocorrelation.\n\n"
+      "Uses FFT approach to autocorrelation.\n"
+      + "Signals of arbitrary length are supported, the FFT plans get cached "
+      + "per length. Linear (ie non-circular) autocorrelation zero-pads the "
+      + "signal to the next power of 2 of at least twice its length.\n\n"
       + "For more information see:\n"
       + getTechnicalInformation().toString();
   }
@@ -99,6 +112,10 @@ public class FFT
     m_OptionManager.add(
 	    "normalize", "normalize",
 	    false);
+
+    m_OptionManager.add(
+	    "linear", "linear",
+	    false);
   }
 
   /**
@@ -131,26 +148,42 @@ public class FFT
   }
 
   /**
-   * Returns technical information on autocorrelation.
+   * Sets whether to perform linear (ie non-circular) autocorrelation.
    *
-   * @return		the technical information
+   * @param value	true if linear
    */
-  @Override
-  public TechnicalInformation getTechnicalInformation() {
-    return AutoCorrelation.getTechnicalInformation();
+  public void setLinear(boolean value) {
+    m_Linear = value;
+    reset();
+  }
+
+  /**
+   * Returns whether to perform linear (ie non-circular) autocorrelation.
+   *
+   * @return		true if linear
+   */
+  public boolean getLinear() {
+    return m_Linear;
   }
 
   /**
-   * Hook method for checks.
+   * Returns the tip text for this property.
    *
-   * @param data	the data to check
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String linearTipText() {
+    return "If enabled, linear (ie non-circular) autocorrelation is performed, using zero-padding.";
+  }
+
+  /**
+   * Returns technical information on autocorrelation.
+   *
+   * @return		the technical information
    */
   @Override
-  protected void check(double[] data) {
-    super.check(data);
-    if (data.length % 2 != 0)
-      throw new IllegalStateException(
-	"Length of signal array must be even, provided: " + data.length);
+  public TechnicalInformation getTechnicalInformation() {
+    return AutoCorrelation.getTechnicalInformation();
   }
 
   /**
@@ -161,6 +194,9 @@ public class FFT
    */
   @Override
   protected double[] doCorrelate(double[] data) {
-    return AutoCorrelation.fft(data, m_Normalize);
+    if (m_Linear)
+      return AutoCorrelation.linear(data, m_Normalize);
+    else
+      return AutoCorrelation.fft(data, m_Normalize);
   }
 }
@@ -15,7 +15,7 @@
 
 /*
  * AbstractAutocorrelation.java
- * Copyright (C) 2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.filter;
@@ -26,6 +26,8 @@ import adams.data.container.DataContainer;
 import adams.data.container.DataPoint;
 import gnu.trove.list.array.TDoubleArrayList;
 
+import java.util.List;
+
 /**
  * Abstract ancestor for autocorrelation filters.
  *
@@ -123,15 +125,17 @@ public abstract class AbstractAutocorrelation<T extends DataContainer>
   protected T processData(T data) {
     T 			result;
     int 		i;
+    List<DataPoint>	points;
     TDoubleArrayList 	list;
     boolean 		padded;
     double 		diff;
     double[] 		ac;
 
     padded = false;
-    list = new TDoubleArrayList();
-    for (i = 0; i < data.size(); i++)
-      list.add(getY((DataPoint) data.toList().get(i)));
+    points = data.toList();
+    list   = new TDoubleArrayList(points.size() + 1);
+    for (i = 0; i < points.size(); i++)
+      list.add(getY(points.get(i)));
 
     if (list.size() % 2 != 0) {
       padded = true;
@@ -141,17 +145,18 @@ public abstract class AbstractAutocorrelation<T extends DataContainer>
     ac = m_Algorithm.correlate(list.toArray());
 
     result = (T) data.getHeader();
-    for (i = 0; i < data.size(); i++)
-      result.add(newDataPoint(getX((DataPoint) data.toList().get(i)), ac[i]));
+    for (i = 0; i < points.size(); i++)
+      result.add(newDataPoint(getX(points.get(i)), ac[i]));
 
     if (padded) {
-      diff = getX((DataPoint) data.toList().get(data.size() - 1))
-	- getX((DataPoint) data.toList().get(data.size() - 2));
+      diff = getX(points.get(points.size() - 1))
+	- getX(points.get(points.size() - 2));
       result.add(
-	newDataPoint(getX((DataPoint) data.toList().get(data.size() - 1)) + diff,
+	newDataPoint(getX(points.get(points.size() - 1)) + diff,
 	  ac[ac.length - 1]));
     }
 
     return result;
   }
+
 }
\ No newline at end of file
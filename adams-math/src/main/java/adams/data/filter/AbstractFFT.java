@@ -15,7 +15,7 @@
 
 /*
  * AbstractFFT.java
- * Copyright (C) 2014 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.filter;
@@ -30,11 +30,15 @@ import adams.data.container.DataContainer;
 import adams.data.container.DataPoint;
 import adams.data.padding.PaddingHelper;
 import adams.data.padding.PaddingType;
+import adams.data.utils.FFTPlans;
+import org.jtransforms.fft.DoubleFFT_1D;
 
 import java.util.List;
 
 /**
  * Abstract ancestor for Fast Fourier Transform filters based on the <a href="http://jsci.sourceforge.net/">JSci library</a>.
+ * Without padding, the data gets transformed using cached JTransforms plans instead,
+ * which support arbitrary lengths.
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
  * @version $Revision: 9820 $
@@ -56,6 +60,9 @@ public abstract class AbstractFFT<T extends DataContainer>
   /** whether to return complex or real part of the transformation. */
   protected boolean m_Real;
 
+  /** whether to skip the padding to the next power of 2. */
+  protected boolean m_NoPadding;
+
   /**
    * Returns a string describing the object.
    *
@@ -106,6 +113,10 @@ public abstract class AbstractFFT<T extends DataContainer>
     m_OptionManager.add(
 	    "real", "real",
 	    true);
+
+    m_OptionManager.add(
+	    "no-padding", "noPadding",
+	    false);
   }
 
   /**
@@ -195,6 +206,68 @@ public abstract class AbstractFFT<T extends DataContainer>
     return "If enabled, the real part of the tranformation is returned.";
   }
 
+  /**
+   * Sets whether to skip the padding to the next power of 2.
+   *
+   * @param value 	true if to skip padding
+   */
+  public void setNoPadding(boolean value) {
+    m_NoPadding = value;
+    reset();
+  }
+
+  /**
+   * Returns whether to skip the padding to the next power of 2.
+   *
+   * @return 		true if padding is skipped
+   */
+  public boolean getNoPadding() {
+    return m_NoPadding;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String noPaddingTipText() {
+    return "If enabled, the data is not padded to the next power of 2 and "
+      + "transformed with cached plans that support arbitrary lengths; the "
+      + "padding type is ignored in that case.";
+  }
+
+  /**
+   * Transforms the data without padding, using the cached plan for the
+   * length of the data.
+   *
+   * @param real	the data to transform
+   * @return		the transformed data (real and imaginary parts interleaved)
+   * @see		FFTPlans
+   */
+  protected double[] transform(double[] real) {
+    double[]		result;
+    DoubleFFT_1D	plan;
+    int			i;
+
+    result = new double[real.length * 2];
+    if (real.length == 0)
+      return result;
+
+    plan = FFTPlans.get(real.length);
+    if (m_InverseTransform) {
+      for (i = 0; i < real.length; i++)
+	result[i * 2] = real[i];
+      plan.complexInverse(result, true);
+    }
+    else {
+      System.arraycopy(real, 0, result, 0, real.length);
+      plan.realForwardFull(result);
+    }
+
+    return result;
+  }
+
   /**
    * Returns the Y-value of the DataPoint.
    *
@@ -227,6 +300,7 @@ public abstract class AbstractFFT<T extends DataContainer>
     List<DataPoint>	points;
     DataPoint		newPoint;
     double[]		real;
+    double[]		complex;
     Complex[]		transformed;
     double		value;
 
@@ -236,22 +310,36 @@ public abstract class AbstractFFT<T extends DataContainer>
     real = new double[data.size()];
     for (i = 0; i < data.size(); i++)
       real[i] = getValue(points.get(i));
-    real = PaddingHelper.padPow2(real, m_PaddingType);
-
-    // transform data
-    if (m_InverseTransform)
-      transformed = FourierMath.inverseTransform(real);
-    else
-      transformed = FourierMath.transform(real);
-
-    // generate output data
-    for (i = 0; i < transformed.length; i++) {
-      if (m_Real)
-	value = transformed[i].real();
+
+    if (m_NoPadding) {
+      complex = transform(real);
+      for (i = 0; i < real.length; i++) {
+	if (m_Real)
+	  value = complex[i * 2];
+	else
+	  value = complex[i * 2 + 1];
+	newPoint = newDataPoint(points, i, value);
+	result.add(newPoint);
+      }
+    }
+    else {
+      real = PaddingHelper.padPow2(real, m_PaddingType);
+
+      // transform data
+      if (m_InverseTransform)
+	transformed = FourierMath.inverseTransform(real);
       else
-	value = transformed[i].imag();
-      newPoint = newDataPoint(points, i, value);
-      result.add(newPoint);
+	transformed = FourierMath.transform(real);
+
+      // generate output data
+      for (i = 0; i < transformed.length; i++) {
+	if (m_Real)
+	  value = transformed[i].real();
+	else
+	  value = transformed[i].imag();
+	newPoint = newDataPoint(points, i, value);
+	result.add(newPoint);
+      }
     }
 
     return result;
@@ -15,11 +15,12 @@
 
 /*
  * AbstractLOWESS.java
- * Copyright (C) 2013-2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2013-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.filter;
 
+import adams.core.Performance;
 import adams.core.TechnicalInformation;
 import adams.core.TechnicalInformationHandler;
 import adams.data.container.DataContainer;
@@ -48,6 +49,9 @@ public abstract class AbstractLOWESS<T extends DataContainer>
   /** Size of window size for calculating lowess. */
   protected int m_WindowSize;
 
+  /** the number of threads to use. */
+  protected int m_NumThreads;
+
   /**
    * Returns a string describing the object.
    *
@@ -82,6 +86,10 @@ public abstract class AbstractLOWESS<T extends DataContainer>
     m_OptionManager.add(
 	    "window-size", "windowSize",
 	    20, LOWESS.MIN_WINDOW_SIZE, null);
+
+    m_OptionManager.add(
+	    "num-threads", "numThreads",
+	    1);
   }
 
   /**
@@ -119,6 +127,35 @@ public abstract class AbstractLOWESS<T extends DataContainer>
     return "The window size to use, must be at least " + LOWESS.MIN_WINDOW_SIZE + ".";
   }
 
+  /**
+   * Sets the number of threads to use.
+   *
+   * @param value 	the number of threads
+   */
+  public void setNumThreads(int value) {
+    m_NumThreads = value;
+    reset();
+  }
+
+  /**
+   * Returns the number of threads to use.
+   *
+   * @return 		the number of threads
+   */
+  public int getNumThreads() {
+    return m_NumThreads;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String numThreadsTipText() {
+    return "The number of threads to use for processing large datasets in chunks; " + Performance.getNumThreadsHelp();
+  }
+
   /**
    * Returns the X/Y values of the DataPoint as Point2D.
    *
@@ -147,15 +184,36 @@ public abstract class AbstractLOWESS<T extends DataContainer>
     int			i;
     List<Point2D>	raw;
     List<Point2D>	smoothed;
-
-    raw = new ArrayList<Point2D>();
-    for (i = 0; i < data.size(); i++)
-      raw.add(convert((DataPoint) data.toList().get(i)));
-    smoothed = LOWESS.calculate(raw, m_WindowSize);
+    double[]		x;
+    double[]		y;
+    double[]		values;
+    Point2D		point;
+    boolean		sorted;
+
+    raw    = new ArrayList<>(data.size());
+    x      = new double[data.size()];
+    y      = new double[data.size()];
+    sorted = true;
+    for (i = 0; i < data.size(); i++) {
+      point = convert((DataPoint) data.toList().get(i));
+      raw.add(point);
+      x[i] = point.getX();
+      y[i] = point.getY();
+      if ((i > 0) && (x[i] < x[i - 1]))
+	sorted = false;
+    }
 
     result = (T) data.getHeader();
-    for (i = 0; i < smoothed.size(); i++)
-      result.add(newDataPoint(smoothed.get(i)));
+    if (sorted) {
+      values = LOWESS.calculate(x, y, m_WindowSize, m_NumThreads);
+      for (i = 0; i < values.length; i++)
+	result.add(newDataPoint(new Point2D.Double(x[i], values[i])));
+    }
+    else {
+      smoothed = LOWESS.calculate(raw, m_WindowSize);
+      for (i = 0; i < smoothed.size(); i++)
+	result.add(newDataPoint(smoothed.get(i)));
+    }
 
     return result;
   }
@@ -15,11 +15,12 @@
 
 /*
  * AbstractSavitzkyGolay.java
- * Copyright (C) 2008-2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2008-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.filter;
 
+import adams.core.Performance;
 import adams.core.TechnicalInformation;
 import adams.core.TechnicalInformationHandler;
 import adams.data.NotesHandler;
@@ -55,6 +56,9 @@ public abstract class AbstractSavitzkyGolay<T extends DataContainer>
   /** the number of points to the right of a data point. */
   protected int m_NumPointsRight;
 
+  /** the number of threads to use. */
+  protected int m_NumThreads;
+
   /** the calculated coefficients. */
   protected double[] m_Coefficients;
 
@@ -114,6 +118,10 @@ public abstract class AbstractSavitzkyGolay<T extends DataContainer>
     m_OptionManager.add(
 	    "right", "numPointsRight",
 	    3, 0, null);
+
+    m_OptionManager.add(
+	    "num-threads", "numThreads",
+	    1);
   }
 
   /**
@@ -267,6 +275,35 @@ public abstract class AbstractSavitzkyGolay<T extends DataContainer>
     return "The number of points right of a data point, >= 0.";
   }
 
+  /**
+   * Sets the number of threads to use.
+   *
+   * @param value 	the number of threads
+   */
+  public void setNumThreads(int value) {
+    m_NumThreads = value;
+    reset();
+  }
+
+  /**
+   * Returns the number of threads to use.
+   *
+   * @return 		the number of threads
+   */
+  public int getNumThreads() {
+    return m_NumThreads;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String numThreadsTipText() {
+    return "The number of threads to use for processing large datasets in chunks; " + Performance.getNumThreadsHelp();
+  }
+
   /**
    * Returns the X-value of the DataPoint.
    *
@@ -305,11 +342,9 @@ public abstract class AbstractSavitzkyGolay<T extends DataContainer>
   protected T processData(T data) {
     T			result;
     int			i;
-    int			n;
-    int			width;
     List<DataPoint>	points;
     DataPoint		newPoint;
-    double		value;
+    double[]		values;
 
     if (m_Coefficients == null) {
       if (data.size() < m_NumPointsLeft + m_NumPointsRight + 1) {
@@ -325,16 +360,13 @@ public abstract class AbstractSavitzkyGolay<T extends DataContainer>
 
     result = (T) data.getHeader();
     points = data.toList();
-    width  = m_NumPointsLeft + m_NumPointsRight + 1;
-    for (i = 0; i <= points.size() - width; i++) {
-      // apply coefficients to window
-      value = 0;
-      for (n = 0; n < width; n++)
-	value += m_Coefficients[n] * getValue(points.get(i + n));
-
-      newPoint = newDataPoint(points.get(i + m_NumPointsLeft), value);
+    values = new double[points.size()];
+    for (i = 0; i < values.length; i++)
+      values[i] = getValue(points.get(i));
+    values = adams.data.utils.SavitzkyGolay.apply(values, m_Coefficients, m_NumThreads);
+    for (i = 0; i < values.length; i++) {
+      newPoint = newDataPoint(points.get(i + m_NumPointsLeft), values[i]);
       postProcess(points.get(i + m_NumPointsLeft), newPoint);
-
       result.add(newPoint);
     }
 
@@ -15,7 +15,7 @@
 
 /**
  * AutoCorrelation.java
- * Copyright (C) 2015 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, NZ
  * Copyright (C) 2012 Gene on Stackoverflow
  */
 
@@ -26,8 +26,12 @@ import adams.core.TechnicalInformation;
 import adams.core.TechnicalInformation.Field;
 import adams.core.TechnicalInformation.Type;
 import adams.core.annotation.MixedCopyright;
+import adams.data.padding.PaddingHelper;
+import gnu.trove.list.array.TIntArrayList;
 import org.jtransforms.fft.DoubleFFT_1D;
 
+import java.util.Arrays;
+
 /**
  * Contains methods related to autocorrelation.
  * See <a href="https://en.wikipedia.org/wiki/Autocorrelation" target="_blank">WikiPedia</a>.
@@ -80,38 +84,58 @@ public class AutoCorrelation {
   }
 
   /**
-   * Uses FFT to perform autocorrelation.
+   * Uses FFT to perform (circular) autocorrelation. Signals of arbitrary
+   * length are supported, the FFT plans get cached per length.
    *
-   * @param x		the sigal, must be even length
+   * @param x		the signal, not modified
    * @param normalize	whether to normalize the output
    * @return		the autocorrelation
+   * @see		FFTPlans
    */
   public static double[] fft(double[] x, boolean normalize) {
     double[] 		result;
+    double[]		data;
     int 		n;
     int			i;
     DoubleFFT_1D 	fft;
-    DoubleFFT_1D 	ifft;
-
-    if (x.length % 2 != 0)
-      throw new IllegalStateException("Signal array must be of even length, provided: " + x.length);
 
-    n      = x.length;
-    result = new double[n];
-
-    fft = new DoubleFFT_1D(n);
-    fft.realForward(x);
-    result[0] = sqr(x[0]);
-    if (normalize)
-      result[0] = 0;  // For statistical convention, zero out the mean
-    result[1] = sqr(x[1]);
-    for (i = 2; i < n; i += 2) {
-      result[i] = sqr(x[i]) + sqr(x[i+1]);
-      result[i+1] = 0;
+    n = x.length;
+    if (n == 0)
+      return new double[0];
+
+    fft = FFTPlans.get(n);
+    if (n % 2 == 0) {
+      // packed real transform
+      data   = x.clone();
+      result = new double[n];
+      fft.realForward(data);
+      result[0] = sqr(data[0]);
+      if (normalize)
+	result[0] = 0;  // For statistical convention, zero out the mean
+      result[1] = sqr(data[1]);
+      for (i = 2; i < n; i += 2) {
+	result[i] = sqr(data[i]) + sqr(data[i+1]);
+	result[i+1] = 0;
+      }
+      fft.realInverse(result, true);
+    }
+    else {
+      // odd lengths have no symmetric packed layout, use full complex spectrum
+      data = new double[2 * n];
+      System.arraycopy(x, 0, data, 0, n);
+      fft.realForwardFull(data);
+      for (i = 0; i < n; i++) {
+	data[2*i] = sqr(data[2*i]) + sqr(data[2*i+1]);
+	data[2*i+1] = 0;
+      }
+      if (normalize)
+	data[0] = 0;  // For statistical convention, zero out the mean
+      fft.complexInverse(data, true);
+      result = new double[n];
+      for (i = 0; i < n; i++)
+	result[i] = data[2*i];
     }
 
-    ifft = new DoubleFFT_1D(n);
-    ifft.realInverse(result, true);
     // For statistical convention, normalize by dividing through with variance
     if (normalize) {
       for (i = 1; i < n; i++)
@@ -122,6 +146,86 @@ public class AutoCorrelation {
     return result;
   }
 
+  /**
+   * Uses FFT to perform linear (ie non-circular) autocorrelation. The signal
+   * gets zero-padded to the next power of 2 of at least twice its length,
+   * avoiding the wrap-around of the circular version.
+   *
+   * @param x		the signal, not modified
+   * @param normalize	whether to normalize the output (subtracts the mean
+   * 			and divides by the variance)
+   * @return		the autocorrelation for the lags 0 to n-1
+   */
+  public static double[] linear(double[] x, boolean normalize) {
+    double[]	result;
+    double[]	padded;
+    double	mean;
+    int		n;
+    int		i;
+
+    n = x.length;
+    if (n == 0)
+      return new double[0];
+
+    mean = 0;
+    if (normalize) {
+      for (i = 0; i < n; i++)
+	mean += x[i];
+      mean /= n;
+    }
+    padded = new double[PaddingHelper.nextPowerOf2(2 * n)];
+    for (i = 0; i < n; i++)
+      padded[i] = x[i] - mean;
+    result = Arrays.copyOf(fft(padded, false), n);
+
+    if (normalize) {
+      for (i = 1; i < n; i++)
+	result[i] /= result[0];
+      result[0] = 1;
+    }
+
+    return result;
+  }
+
+  /**
+   * Determines the most likely periods from the autocorrelation, ie the
+   * lags of the local maxima following the first zero crossing, sorted by
+   * decreasing autocorrelation.
+   *
+   * @param ac		the autocorrelation (lag 0 first)
+   * @param max		the maximum number of periods to return
+   * @return		the lags of the periods, empty if none found
+   */
+  public static int[] findPeriods(double[] ac, int max) {
+    TIntArrayList	peaks;
+    int[]		result;
+    Integer[]		sorted;
+    int			start;
+    int			i;
+
+    // skip the lobe around lag 0
+    start = 1;
+    while ((start < ac.length) && (ac[start] > 0))
+      start++;
+
+    peaks = new TIntArrayList();
+    for (i = start + 1; i < ac.length - 1; i++) {
+      if ((ac[i] > 0) && (ac[i] > ac[i - 1]) && (ac[i] >= ac[i + 1]))
+	peaks.add(i);
+    }
+
+    sorted = new Integer[peaks.size()];
+    for (i = 0; i < sorted.length; i++)
+      sorted[i] = peaks.get(i);
+    Arrays.sort(sorted, (o1, o2) -> Double.compare(ac[o2], ac[o1]));
+
+    result = new int[Math.min(max, sorted.length)];
+    for (i = 0; i < result.length; i++)
+      result[i] = sorted[i];
+
+    return result;
+  }
+
   /**
    * Returns technical information on autocorrelation.
    *
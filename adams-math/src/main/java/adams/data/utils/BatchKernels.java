@@ -0,0 +1,196 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * BatchKernels.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.utils;
+
+import JSci.maths.Complex;
+import JSci.maths.FourierMath;
+import JSci.maths.wavelet.FWT;
+import adams.core.Performance;
+import adams.multiprocess.ParallelJobs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Batch versions of the PAA, SAX, wavelet and FFT transforms, operating on
+ * rows of primitive values. The rows get split into contiguous chunks that
+ * are processed in parallel; output arrays are allocated once per row and
+ * the inner loops work on plain arrays only.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class BatchKernels {
+
+  /** the number of chunks per thread (for load balancing). */
+  public final static int CHUNKS_PER_THREAD = 4;
+
+  /**
+   * Processes a range of rows.
+   */
+  public interface RowRangeKernel {
+
+    /**
+     * Processes the rows.
+     *
+     * @param from	the first row (incl)
+     * @param to	the last row (excl)
+     * @throws Exception	if processing fails
+     */
+    public void process(int from, int to) throws Exception;
+  }
+
+  /**
+   * Runs the kernel over all rows, splitting them into contiguous chunks
+   * that get processed in parallel.
+   *
+   * @param numRows	the number of rows
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @param kernel	the kernel to apply
+   */
+  public static void run(int numRows, int numThreads, final RowRangeKernel kernel) {
+    List<Callable<Integer>>	jobs;
+    int				chunk;
+    int				i;
+
+    numThreads = Performance.determineNumThreads(numThreads);
+    if ((numThreads < 2) || (numRows < 2)) {
+      try {
+	kernel.process(0, numRows);
+      }
+      catch (Exception e) {
+	throw new IllegalStateException("Failed to process rows!", e);
+      }
+      return;
+    }
+
+    chunk = Math.max(1, (numRows + numThreads * CHUNKS_PER_THREAD - 1) / (numThreads * CHUNKS_PER_THREAD));
+    jobs  = new ArrayList<>();
+    for (i = 0; i < numRows; i += chunk) {
+      final int from = i;
+      final int to   = Math.min(numRows, i + chunk);
+      jobs.add(() -> {
+	kernel.process(from, to);
+	return from;
+      });
+    }
+    ParallelJobs.invokeAll(jobs, numThreads, "Failed to process rows!");
+  }
+
+  /**
+   * Piecewise Aggregate Approximation of all rows.
+   *
+   * @param rows	the rows to process
+   * @param numWindows	the number of windows
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @return		the approximations
+   * @see		SAXUtils#PAA(double[], int, double[])
+   */
+  public static double[][] PAA(final double[][] rows, final int numWindows, int numThreads) {
+    final double[][]	result;
+
+    result = new double[rows.length][];
+    run(rows.length, numThreads, (from, to) -> {
+      for (int i = from; i < to; i++) {
+	result[i] = new double[numWindows];
+	SAXUtils.PAA(rows[i], numWindows, result[i]);
+      }
+    });
+
+    return result;
+  }
+
+  /**
+   * Converts all rows into SAX labels.
+   *
+   * @param rows	the rows to process
+   * @param numWindows	the number of windows
+   * @param bps		the breakpoints
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @return		the labels
+   * @see		SAXUtils#toSAX(double[], int, double[], double[])
+   */
+  public static double[][] toSAX(final double[][] rows, final int numWindows, final double[] bps, int numThreads) {
+    final double[][]	result;
+
+    result = new double[rows.length][];
+    run(rows.length, numThreads, (from, to) -> {
+      for (int i = from; i < to; i++) {
+	result[i] = new double[numWindows];
+	SAXUtils.toSAX(rows[i], numWindows, bps, result[i]);
+      }
+    });
+
+    return result;
+  }
+
+  /**
+   * Applies the fast wavelet transform to all rows (in place). Each chunk of
+   * rows uses its own transform instance.
+   *
+   * @param rows	the rows to process
+   * @param fwt		for creating the transform
+   * @param inverse	whether to perform the inverse transform
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   */
+  public static void wavelet(final float[][] rows, final Supplier<FWT> fwt, final boolean inverse, int numThreads) {
+    run(rows.length, numThreads, (from, to) -> {
+      FWT transform = fwt.get();
+      for (int i = from; i < to; i++) {
+	if (inverse)
+	  transform.invTransform(rows[i]);
+	else
+	  transform.transform(rows[i]);
+      }
+    });
+  }
+
+  /**
+   * Applies the FFT to all rows, which must have a length that is a power
+   * of 2.
+   *
+   * @param rows	the rows to process
+   * @param inverse	whether to perform the inverse transform
+   * @param real	whether to return the real or the imaginary parts
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @return		the real or imaginary parts
+   */
+  public static double[][] fft(final double[][] rows, final boolean inverse, final boolean real, int numThreads) {
+    final double[][]	result;
+
+    result = new double[rows.length][];
+    run(rows.length, numThreads, (from, to) -> {
+      Complex[] transformed;
+      for (int i = from; i < to; i++) {
+	if (inverse)
+	  transformed = FourierMath.inverseTransform(rows[i]);
+	else
+	  transformed = FourierMath.transform(rows[i]);
+	result[i] = new double[transformed.length];
+	for (int n = 0; n < transformed.length; n++)
+	  result[i][n] = real ? transformed[n].real() : transformed[n].imag();
+      }
+    });
+
+    return result;
+  }
+}
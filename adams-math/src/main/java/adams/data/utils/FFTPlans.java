@@ -0,0 +1,96 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * FFTPlans.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.utils;
+
+import org.jtransforms.fft.DoubleFFT_1D;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the FFT plans (incl. twiddle factors) per signal length, as
+ * setting up a plan is costly compared to the actual transform, especially
+ * for lengths that are not a power of 2 (JTransforms uses mixed radix or
+ * Bluestein's algorithm for these). The plans only hold read-only
+ * precomputed data and can be used by multiple threads concurrently.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class FFTPlans {
+
+  /** the maximum number of plans to cache. */
+  public final static int MAX_CACHE_SIZE = 32;
+
+  /** the cached plans (key: signal length). */
+  protected static Map<Integer,DoubleFFT_1D> m_Cache = new LinkedHashMap<Integer,DoubleFFT_1D>(16, 0.75f, true) {
+    private static final long serialVersionUID = -2640281418932734046L;
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Integer,DoubleFFT_1D> eldest) {
+      return size() > MAX_CACHE_SIZE;
+    }
+  };
+
+  /**
+   * Returns the plan for the specified signal length, creating and caching
+   * it if necessary.
+   *
+   * @param n		the length of the signal
+   * @return		the plan
+   */
+  public static DoubleFFT_1D get(int n) {
+    DoubleFFT_1D	result;
+
+    if (n < 1)
+      throw new IllegalArgumentException("Signal length must be at least 1, provided: " + n);
+
+    synchronized(m_Cache) {
+      result = m_Cache.get(n);
+    }
+    if (result == null) {
+      result = new DoubleFFT_1D(n);
+      synchronized(m_Cache) {
+	m_Cache.put(n, result);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the number of cached plans.
+   *
+   * @return		the number of plans
+   */
+  public static int size() {
+    synchronized(m_Cache) {
+      return m_Cache.size();
+    }
+  }
+
+  /**
+   * Removes all cached plans.
+   */
+  public static void clear() {
+    synchronized(m_Cache) {
+      m_Cache.clear();
+    }
+  }
+}
@@ -15,21 +15,24 @@
 
 /**
  * LOWESS.java
- * Copyright (C) 2009-2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2009-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.utils;
 
+import adams.core.Performance;
 import adams.core.TechnicalInformation;
 import adams.core.TechnicalInformation.Field;
 import adams.core.TechnicalInformation.Type;
 import adams.core.logging.Logger;
 import adams.core.logging.LoggingHelper;
 import adams.gui.core.Point2DComparator;
+import adams.multiprocess.ParallelJobs;
 
 import java.awt.geom.Point2D;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * A helper class for LOWESS.
@@ -48,115 +51,183 @@ public class LOWESS {
   /** the minimum window size. */
   public final static int MIN_WINDOW_SIZE = 1;
   
+  /** the minimum number of points per chunk when evaluating in parallel. */
+  public final static int MIN_CHUNK_SIZE = 10000;
+
   /**
    * Performs LOWESS on the given data.
    * 
    * @param points	the points to process
+   * @param windowSize	the number of nearest neighbors to use
+   * @return		the smoothed points, sorted on ascending x
    */
   public static List<Point2D> calculate(List<Point2D> points, int windowSize) {
     List<Point2D>	result;
-    ArrayList<Point2D> 	closest;
+    double[]		x;
+    double[]		y;
+    double[]		smoothed;
     int 		i;
-    int 		j;
-    int 		index;
-    double 		ref;
-    int 		left;
-    int 		right;
-    double 		max;
-    double[] 		relDist;
-    double[] 		weighting;
-    double 		sumWts;
-    double 		sumWtX;
-    double 		sumWtX2;
-    double 		sumWtY;
-    double 		sumWtXY;
-    double 		denom;
-    double 		slope;
-    double 		intercept;
-    double 		val;
-    
-    result = new ArrayList<Point2D>();
-    points = new ArrayList<Point2D>(points);
+
+    points = new ArrayList<>(points);
 
     //sort the points on ascending x value
     Collections.sort(points, m_Comparator);
-    
+
+    x = new double[points.size()];
+    y = new double[points.size()];
+    for (i = 0; i < points.size(); i++) {
+      x[i] = points.get(i).getX();
+      y[i] = points.get(i).getY();
+    }
+    smoothed = calculate(x, y, windowSize);
+
+    result = new ArrayList<>(points.size());
+    for (i = 0; i < x.length; i++)
+      result.add(new Point2D.Double(x[i], smoothed[i]));
+
+    return result;
+  }
+
+  /**
+   * Performs LOWESS on the given data.
+   *
+   * @param x		the x values, must be sorted ascending
+   * @param y		the corresponding y values
+   * @param windowSize	the number of nearest neighbors to use
+   * @return		the smoothed y values
+   */
+  public static double[] calculate(double[] x, double[] y, int windowSize) {
+    return calculate(x, y, windowSize, 1);
+  }
+
+  /**
+   * Performs LOWESS on the given data. Large datasets get split into chunks
+   * that are evaluated in parallel.
+   *
+   * @param x		the x values, must be sorted ascending
+   * @param y		the corresponding y values
+   * @param windowSize	the number of nearest neighbors to use
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @return		the smoothed y values
+   */
+  public static double[] calculate(final double[] x, final double[] y, int windowSize, int numThreads) {
+    final double[]		result;
+    final int			window;
+    List<Callable<Integer>>	jobs;
+    int				chunkSize;
+    int				i;
+
+    if (x.length != y.length)
+      throw new IllegalArgumentException("Number of x and y values differ: " + x.length + " != " + y.length);
+
+    result = new double[x.length];
+    if (x.length == 0)
+      return result;
+
     //If the number of data points is less than the window size specified
-    if (windowSize > points.size()) {
-      windowSize = points.size();
+    if (windowSize > x.length) {
+      windowSize = x.length;
       m_Logger.warning("Window size changed to number of points");
     }
-    
-    for (i = 0; i< points.size(); i++) {
-      closest = new ArrayList<Point2D>();
-      closest.add(points.get(i));
-      index = 1;
-      ref   = points.get(i).getX();
-      left  = i -1;
-      right = i +1;
-      while (index <windowSize) {
-	//if no points to the left
-	if (left < 0) {
-	  closest.add(points.get(right));
-	  right ++;
-	}
-	//if no points to the right
-	else if (right > points.size() -1) {
-	  closest.add(points.get(left));
-	  left --;
-	}
-	else {
-	  //if point to the right is closer
-	  if (Math.abs(points.get(right).getX() - ref) < Math.abs(points.get(left).getX() - ref)) {
-	    closest.add(points.get(right));
-	    right ++;
-	  }
-	  //if point to the left is closer
-	  else {
-	    closest.add(points.get(left));
-	    left --;
-	  }
-	}
-	index++;
+    window = windowSize;
+
+    numThreads = Performance.determineNumThreads(numThreads);
+    if ((numThreads < 2) || (x.length < 2 * MIN_CHUNK_SIZE)) {
+      calculate(x, y, window, 0, x.length, result);
+    }
+    else {
+      chunkSize = Math.max(MIN_CHUNK_SIZE, x.length / (numThreads * 4) + 1);
+      jobs      = new ArrayList<>();
+      for (i = 0; i < x.length; i += chunkSize) {
+	final int start = i;
+	final int end   = Math.min(x.length, i + chunkSize);
+	jobs.add(() -> calculate(x, y, window, start, end, result));
       }
+      ParallelJobs.invokeAll(jobs, numThreads, "Failed to calculate LOWESS!");
+    }
 
-      //distance from the reference point of the furthest away point
-      max = Math.abs(closest.get(windowSize -1).getX() - ref);
+    return result;
+  }
+
+  /**
+   * Smoothes the specified range of points. The nearest neighbors of a
+   * point form a contiguous block in the sorted data, which only ever moves
+   * to the right, hence no lists of neighbors need to be built.
+   *
+   * @param x		the x values, must be sorted ascending
+   * @param y		the corresponding y values
+   * @param windowSize	the number of nearest neighbors to use (at most the number of points)
+   * @param start	the first point to smooth (incl)
+   * @param end		the last point to smooth (excl)
+   * @param result	for storing the smoothed y values
+   * @return		the number of points processed
+   */
+  protected static int calculate(double[] x, double[] y, int windowSize, int start, int end, double[] result) {
+    int 	i;
+    int 	j;
+    int 	left;
+    int 	right;
+    double 	ref;
+    double 	max;
+    double 	dist;
+    double 	weight;
+    double 	sumWts;
+    double 	sumWtX;
+    double 	sumWtX2;
+    double 	sumWtY;
+    double 	sumWtXY;
+    double 	denom;
+    double 	slope;
+    double 	intercept;
 
-      relDist = new double[closest.size()];
-      //calculate the relative distances
-      for (j = 0; j < closest.size(); j++)
-	relDist[j] = Math.abs((closest.get(j).getX() - ref)) / max;
+    left = Math.max(0, start - windowSize + 1);
+    for (i = start; i < end; i++) {
+      ref  = x[i];
+      // the window must contain the point itself
+      left = Math.max(left, i - windowSize + 1);
+      // shift the window as long as the point to the right is closer
+      while ((left < i) && (left + windowSize < x.length) && (x[left + windowSize] - ref < ref - x[left]))
+	left++;
+      right = left + windowSize - 1;
 
-      //apply the tri-cube weight function
-      weighting = new double[relDist.length];
-      for (j = 0; j < relDist.length; j++)
-	weighting[j] = Math.pow((1 - (Math.pow(relDist[j], 3.0))), 3.0);
+      //distance from the reference point of the furthest away point
+      max = Math.max(ref - x[left], x[right] - ref);
 
-      //now fit a weighted least squares
+      //now fit a weighted least squares, using the tri-cube weight function
       //based on code that excel uses for lowess
       sumWts  = 0;
       sumWtX  = 0;
       sumWtX2 = 0;
       sumWtY  = 0;
       sumWtXY = 0;
-      for (j = 0; j< weighting.length; j++) {
-	sumWts  += weighting[j];
-	sumWtX  += weighting[j] * closest.get(j).getX();
-	sumWtX2 += weighting[j] * Math.pow(closest.get(j).getX(), 2.0);
-	sumWtY  += weighting[j] * closest.get(j).getY();
-	sumWtXY += weighting[j] * closest.get(j).getY() * closest.get(j).getX();
+      for (j = left; j <= right; j++) {
+	if (max > 0) {
+	  dist   = Math.abs(x[j] - ref) / max;
+	  weight = 1 - dist * dist * dist;
+	  weight = weight * weight * weight;
+	}
+	else {
+	  weight = 1;
+	}
+	sumWts  += weight;
+	sumWtX  += weight * x[j];
+	sumWtX2 += weight * x[j] * x[j];
+	sumWtY  += weight * y[j];
+	sumWtXY += weight * y[j] * x[j];
+      }
+      denom = sumWts * sumWtX2 - sumWtX * sumWtX;
+      if (denom == 0) {
+	// no spread in x: weighted mean
+	result[i] = sumWtY / sumWts;
+      }
+      else {
+	slope     = (sumWts * sumWtXY - sumWtX * sumWtY) / denom;
+	intercept = (sumWtX2 * sumWtY - sumWtX * sumWtXY) / denom;
+	result[i] = slope * ref + intercept;
       }
-      denom     = sumWts * sumWtX2 - Math.pow(sumWtX, 2.0);
-      slope     = (sumWts * sumWtXY - sumWtX * sumWtY)/denom;
-      intercept = (sumWtX2 * sumWtY - sumWtX * sumWtXY) /denom;
-      val       = slope* closest.get(0).getX() + intercept;
-
-      //add point calculated using weighted least squares
-      result.add(new Point2D.Double(closest.get(0).getX(), val));
     }
-    
-    return result;
+
+    return end - start;
   }
 
   /**
@@ -15,7 +15,7 @@
 
 /*
  * SAXUtils.java
- * Copyright (C) 2010-2014 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2010-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.utils;
 
@@ -38,11 +38,23 @@ public class SAXUtils {
    * @return		PAA
    */
   public static double[] PAA(double[] inarray, int numwindows){  
+    double[] ret = new double[numwindows];
+    PAA(inarray, numwindows, ret);
+    return(ret);
+  }
+
+  /**
+   * Piecewise Aggregate Approximation, storing the result in the provided
+   * array (avoids allocations when processing batches).
+   *
+   * @param inarray	input array
+   * @param numwindows	number of pieces
+   * @param out		the array to store the PAA in (at least numwindows long)
+   */
+  public static void PAA(double[] inarray, int numwindows, double[] out){
     double width=(double)inarray.length/(double)numwindows;
     int whole=(int)Math.floor(width);
     
-    double[] ret = new double[numwindows];
-    
     int currpos=0;
     double remainder1=0;
     double remainder2=width-(remainder1+whole);
@@ -52,43 +64,61 @@ public class SAXUtils {
       if (remainder1 != 0){
 	currpos++;
       }
-      for (int j=currpos;j<currpos+whole;j++){
+      int end=currpos+whole;
+      for (int j=currpos;j<end;j++){
 	sum+=inarray[j];
       }
-      currpos+=whole;
+      currpos=end;
       if (i != numwindows-1){
 	sum+=inarray[currpos]*remainder2;
       }
       remainder1=1.0-remainder2;
       whole=(int)Math.floor(width-remainder1);
       remainder2=width-(remainder1+whole);
-      ret[i]=sum/width;
+      out[i]=sum/width;
     }
-    return(ret);
   }
   
   /**
    * Convert a row in original space into SAX labels. Assumes original space has been x normalised (rownorm?).
    * 
-   * @param inarray
-   * @param numwindows
-   * @param bps
-   * @return
+   * @param inarray	input array
+   * @param numwindows	number of pieces
+   * @param bps		the breakpoints (ascending)
+   * @return		the SAX labels
    */
   public static double[] toSAX(double[] inarray, int numwindows, double[] bps){
-    double[] sax=PAA(inarray,numwindows);
-    for (int x=0;x<sax.length;x++){
-      int saxlabel=bps.length;
-      for (int i=0;i<bps.length;i++){	
-	if (sax[x] < bps[i] ){
-	  saxlabel=i;
-	  break;
-	}
-      }    
-      sax[x]=saxlabel;
-    }
+    double[] sax=new double[numwindows];
+    toSAX(inarray, numwindows, bps, sax);
     return(sax);
   }
+
+  /**
+   * Convert a row in original space into SAX labels, storing the result in
+   * the provided array. The label is the index of the first breakpoint that
+   * is larger than the PAA value (or the number of breakpoints), located via
+   * binary search.
+   *
+   * @param inarray	input array
+   * @param numwindows	number of pieces
+   * @param bps		the breakpoints (ascending)
+   * @param out		the array to store the labels in (at least numwindows long)
+   */
+  public static void toSAX(double[] inarray, int numwindows, double[] bps, double[] out){
+    PAA(inarray, numwindows, out);
+    for (int x=0;x<numwindows;x++){
+      int low=0;
+      int high=bps.length;
+      while (low < high){
+	int mid=(low + high) >>> 1;
+	if (out[x] < bps[mid])
+	  high=mid;
+	else
+	  low=mid + 1;
+      }
+      out[x]=low;
+    }
+  }
   
   /**
    * Calculate the distance matrix for use in the MINDIST function.
@@ -15,19 +15,27 @@
 
 /**
  * SavitzkyGolay.java
- * Copyright (C) 2009-2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2009-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.utils;
 
+import adams.core.Performance;
 import adams.core.TechnicalInformation;
 import adams.core.TechnicalInformation.Field;
 import adams.core.TechnicalInformation.Type;
 import adams.core.Utils;
+import adams.multiprocess.ParallelJobs;
 import org.apache.commons.math.linear.Array2DRowRealMatrix;
 import org.apache.commons.math.linear.LUDecomposition;
 import org.apache.commons.math.linear.LUDecompositionImpl;
 import org.apache.commons.math.linear.RealMatrix;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
 /**
  * A helper class for Savitzky-Golay.
  *
@@ -36,8 +44,24 @@ import org.apache.commons.math.linear.RealMatrix;
  */
 public class SavitzkyGolay {
 
+  /** the maximum number of coefficient sets to cache. */
+  public final static int MAX_CACHE_SIZE = 100;
+
+  /** the minimum number of points per chunk when applying in parallel. */
+  public final static int MIN_CHUNK_SIZE = 50000;
+
+  /** the cached coefficients (key: left/right/polynomial/derivative). */
+  protected static Map<String,double[]> m_Cache = new LinkedHashMap<String,double[]>(16, 0.75f, true) {
+    private static final long serialVersionUID = 4146404364146364452L;
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String,double[]> eldest) {
+      return size() > MAX_CACHE_SIZE;
+    }
+  };
+
   /**
-   * Determines the coefficients for the smoothing.
+   * Determines the coefficients for the smoothing. The coefficients get
+   * cached, as they only depend on the parameters.
    *
    * @param numLeft	the number of points to the left
    * @param numRight	the number of points to the right
@@ -46,12 +70,29 @@ public class SavitzkyGolay {
    * @return		the coefficients
    */
   public static double[] determineCoefficients(int numLeft, int numRight, int polyOrder, int derOrder) {
-    return determineCoefficients(numLeft, numRight, polyOrder, derOrder, false);
+    double[]	result;
+    String	key;
+
+    key = numLeft + "/" + numRight + "/" + polyOrder + "/" + derOrder;
+    synchronized(m_Cache) {
+      result = m_Cache.get(key);
+    }
+    if (result == null) {
+      result = computeCoefficients(numLeft, numRight, polyOrder, derOrder, false);
+      synchronized(m_Cache) {
+	m_Cache.put(key, result.clone());
+      }
+    }
+    else {
+      result = result.clone();
+    }
+
+    return result;
   }
 
   /**
    * Determines the coefficients for the smoothing, with optional debugging
-   * output.
+   * output. The cache is bypassed when debugging.
    *
    * @param numLeft	the number of points to the left
    * @param numRight	the number of points to the right
@@ -61,6 +102,23 @@ public class SavitzkyGolay {
    * @return		the coefficients
    */
   public static double[] determineCoefficients(int numLeft, int numRight, int polyOrder, int derOrder, boolean debug) {
+    if (!debug)
+      return determineCoefficients(numLeft, numRight, polyOrder, derOrder);
+    return computeCoefficients(numLeft, numRight, polyOrder, derOrder, debug);
+  }
+
+  /**
+   * Computes the coefficients for the smoothing, with optional debugging
+   * output.
+   *
+   * @param numLeft	the number of points to the left
+   * @param numRight	the number of points to the right
+   * @param polyOrder	the polynomial order
+   * @param derOrder	the derivative order
+   * @param debug	whether to output debugging information
+   * @return		the coefficients
+   */
+  protected static double[] computeCoefficients(int numLeft, int numRight, int polyOrder, int derOrder, boolean debug) {
     double[]		result;
     RealMatrix		A;
     int			i;
@@ -118,6 +176,84 @@ public class SavitzkyGolay {
     return result;
   }
 
+  /**
+   * Applies the coefficients to the values, moving the window one value
+   * at a time. Only windows that fit completely are evaluated, i.e., the
+   * result has (number of values - number of coefficients + 1) elements.
+   *
+   * @param values	the values to process
+   * @param coefficients	the coefficients to apply
+   * @return		the processed values
+   */
+  public static double[] apply(double[] values, double[] coefficients) {
+    return apply(values, coefficients, 1);
+  }
+
+  /**
+   * Applies the coefficients to the values, moving the window one value
+   * at a time. Only windows that fit completely are evaluated, i.e., the
+   * result has (number of values - number of coefficients + 1) elements.
+   * Large datasets get split into chunks that are processed in parallel.
+   *
+   * @param values	the values to process
+   * @param coefficients	the coefficients to apply
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @return		the processed values
+   */
+  public static double[] apply(final double[] values, final double[] coefficients, int numThreads) {
+    final double[]		result;
+    List<Callable<Integer>>	jobs;
+    int				chunkSize;
+    int				i;
+
+    result = new double[Math.max(0, values.length - coefficients.length + 1)];
+    if (result.length == 0)
+      return result;
+
+    numThreads = Performance.determineNumThreads(numThreads);
+    if ((numThreads < 2) || (result.length < 2 * MIN_CHUNK_SIZE)) {
+      apply(values, coefficients, 0, result.length, result);
+    }
+    else {
+      chunkSize = Math.max(MIN_CHUNK_SIZE, result.length / (numThreads * 4) + 1);
+      jobs      = new ArrayList<>();
+      for (i = 0; i < result.length; i += chunkSize) {
+	final int start = i;
+	final int end   = Math.min(result.length, i + chunkSize);
+	jobs.add(() -> apply(values, coefficients, start, end, result));
+      }
+      ParallelJobs.invokeAll(jobs, numThreads, "Failed to apply Savitzky-Golay coefficients!");
+    }
+
+    return result;
+  }
+
+  /**
+   * Applies the coefficients to the windows starting at the specified
+   * range of positions.
+   *
+   * @param values	the values to process
+   * @param coefficients	the coefficients to apply
+   * @param start	the first window (incl)
+   * @param end		the last window (excl)
+   * @param result	for storing the processed values
+   * @return		the number of windows processed
+   */
+  protected static int apply(double[] values, double[] coefficients, int start, int end, double[] result) {
+    int		i;
+    int		n;
+    double	value;
+
+    for (i = start; i < end; i++) {
+      value = 0;
+      for (n = 0; n < coefficients.length; n++)
+	value += coefficients[n] * values[i + n];
+      result[i] = value;
+    }
+
+    return end - start;
+  }
+
   /**
    * Returns an instance of a TechnicalInformation object, containing
    * detailed information about the technical background of this class,
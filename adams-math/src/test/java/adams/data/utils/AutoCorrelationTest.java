@@ -0,0 +1,199 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * AutoCorrelationTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.utils;
+
+import adams.data.autocorrelation.FFT;
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Tests the adams.data.utils.AutoCorrelation class. Run from commandline with: <br><br>
+ * java adams.data.utils.AutoCorrelationTest
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class AutoCorrelationTest
+  extends AdamsTestCase {
+
+  /**
+   * Initializes the test.
+   *
+   * @param name	the name of the test
+   */
+  public AutoCorrelationTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Generates a noisy sine wave.
+   *
+   * @param n		the number of points
+   * @param period	the period of the sine wave
+   * @return		the values
+   */
+  protected double[] generate(int n, int period) {
+    double[]	result;
+    int		i;
+
+    result = new double[n];
+    for (i = 0; i < n; i++)
+      result[i] = 10 + Math.sin(2 * Math.PI * i / period) + ((i * 7919) % 11) / 110.0;
+
+    return result;
+  }
+
+  /**
+   * Calculates the circular autocorrelation directly.
+   *
+   * @param x		the signal
+   * @return		the autocorrelation
+   */
+  protected double[] circular(double[] x) {
+    double[]	result;
+    int		n;
+    int		i;
+    int		j;
+
+    n      = x.length;
+    result = new double[n];
+    for (j = 0; j < n; j++) {
+      for (i = 0; i < n; i++)
+	result[j] += x[i] * x[(i + j) % n];
+    }
+
+    return result;
+  }
+
+  /**
+   * Compares the arrays.
+   *
+   * @param expected	the expected values
+   * @param actual	the actual values
+   * @param delta	the relative tolerance
+   */
+  protected void compare(double[] expected, double[] actual, double delta) {
+    int		i;
+
+    assertEquals("length", expected.length, actual.length);
+    for (i = 0; i < expected.length; i++)
+      assertEquals("lag " + i, expected[i], actual[i], delta * Math.max(1.0, Math.abs(expected[i])));
+  }
+
+  /**
+   * Tests the circular autocorrelation for even and odd lengths
+   * (incl prime lengths).
+   */
+  public void testCircular() {
+    double[]	x;
+    double[]	copy;
+
+    for (int n: new int[]{24, 100, 97, 1009, 1}) {
+      x    = generate(n, 12);
+      copy = x.clone();
+      compare(circular(x), AutoCorrelation.fft(x, false), 1e-9);
+      compare(copy, x, 0.0);
+    }
+    compare(AutoCorrelation.bruteForce(generate(24, 12)), AutoCorrelation.fft(generate(24, 12), false), 1e-9);
+  }
+
+  /**
+   * Tests the linear autocorrelation.
+   */
+  public void testLinear() {
+    double[]	x;
+    double[]	expected;
+    int		i;
+    int		j;
+
+    x        = generate(77, 10);
+    expected = new double[x.length];
+    for (j = 0; j < x.length; j++) {
+      for (i = 0; i + j < x.length; i++)
+	expected[j] += x[i] * x[i + j];
+    }
+    compare(expected, AutoCorrelation.linear(x, false), 1e-9);
+    assertEquals("normalized", 1.0, AutoCorrelation.linear(x, true)[0]);
+  }
+
+  /**
+   * Tests the period detection.
+   */
+  public void testFindPeriods() {
+    int[]	periods;
+
+    periods = AutoCorrelation.findPeriods(AutoCorrelation.linear(generate(1000, 25), true), 3);
+    assertTrue("found", periods.length > 0);
+    assertEquals("period", 25, periods[0]);
+    assertEquals("none", 0, AutoCorrelation.findPeriods(new double[]{1.0, 0.5, 0.2}, 3).length);
+  }
+
+  /**
+   * Tests the caching of the plans.
+   */
+  public void testPlans() {
+    FFTPlans.clear();
+    assertSame("cached", FFTPlans.get(97), FFTPlans.get(97));
+    assertEquals("size", 1, FFTPlans.size());
+    FFTPlans.clear();
+    assertEquals("size", 0, FFTPlans.size());
+  }
+
+  /**
+   * Tests the batch processing.
+   */
+  public void testBatch() {
+    FFT		fft;
+    double[][]	data;
+    double[][]	result;
+    int		i;
+
+    data = new double[20][];
+    for (i = 0; i < data.length; i++)
+      data[i] = generate(50 + i, 7);
+    fft = new FFT();
+    fft.setLinear(true);
+    result = fft.correlate(data, -1);
+    assertEquals("batch size", data.length, result.length);
+    for (i = 0; i < data.length; i++)
+      compare(fft.correlate(data[i]), result[i], 0.0);
+  }
+
+  /**
+   * Returns a test suite.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(AutoCorrelationTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * BatchKernelsTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.utils;
+
+import JSci.maths.Complex;
+import JSci.maths.FourierMath;
+import JSci.maths.wavelet.haar.FastHaar;
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import java.util.Arrays;
+
+/**
+ * Tests the adams.data.utils.BatchKernels class. Run from commandline with: <br><br>
+ * java adams.data.utils.BatchKernelsTest
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class BatchKernelsTest
+  extends AdamsTestCase {
+
+  /**
+   * Initializes the test.
+   *
+   * @param name	the name of the test
+   */
+  public BatchKernelsTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Generates rows of noisy sine waves.
+   *
+   * @param numRows	the number of rows
+   * @param length	the length of the rows
+   * @return		the rows
+   */
+  protected double[][] generate(int numRows, int length) {
+    double[][]	result;
+    int		i;
+    int		n;
+
+    result = new double[numRows][length];
+    for (n = 0; n < numRows; n++) {
+      for (i = 0; i < length; i++)
+	result[n][i] = Math.sin(2 * Math.PI * i / (10 + n)) + ((i * 7919 + n) % 13) / 13.0 - 0.5;
+    }
+    if (numRows > 0)
+      result[0][0] = Double.NaN;
+
+    return result;
+  }
+
+  /**
+   * Tests PAA and SAX against the single row methods, using different
+   * numbers of threads.
+   */
+  public void testSAX() {
+    double[][]	rows;
+    double[]	bps;
+    double[][]	paa;
+    double[][]	sax;
+    double[]	expected;
+    int		i;
+    int		n;
+
+    rows = generate(37, 100);
+    bps  = SAXUtils.calcBreakPoints(5);
+    for (int numThreads: new int[]{1, 2, 4, -1}) {
+      paa = BatchKernels.PAA(rows, 10, numThreads);
+      sax = BatchKernels.toSAX(rows, 10, bps, numThreads);
+      assertEquals("rows", rows.length, paa.length);
+      assertEquals("rows", rows.length, sax.length);
+      for (n = 0; n < rows.length; n++) {
+	assertTrue("PAA " + n + "/" + numThreads, Arrays.equals(SAXUtils.PAA(rows[n], 10), paa[n]));
+	assertTrue("SAX " + n + "/" + numThreads, Arrays.equals(SAXUtils.toSAX(rows[n], 10, bps), sax[n]));
+	// labels from linear scan over breakpoints
+	expected = SAXUtils.PAA(rows[n], 10);
+	for (i = 0; i < expected.length; i++) {
+	  int label = 0;
+	  while ((label < bps.length) && !(expected[i] < bps[label]))
+	    label++;
+	  expected[i] = label;
+	}
+	assertTrue("labels " + n + "/" + numThreads, Arrays.equals(expected, sax[n]));
+      }
+    }
+  }
+
+  /**
+   * Tests the wavelet and FFT batches against the single row transforms.
+   */
+  public void testTransforms() {
+    double[][]	rows;
+    float[][]	frows;
+    float[]	expected;
+    double[][]	fft;
+    Complex[]	transformed;
+    int		i;
+    int		n;
+
+    rows = generate(25, 64);
+    rows[0][0] = 0.0;
+    for (int numThreads: new int[]{1, 3}) {
+      frows = new float[rows.length][rows[0].length];
+      for (n = 0; n < rows.length; n++) {
+	for (i = 0; i < rows[n].length; i++)
+	  frows[n][i] = (float) rows[n][i];
+      }
+      BatchKernels.wavelet(frows, FastHaar::new, false, numThreads);
+      for (n = 0; n < rows.length; n++) {
+	expected = new float[rows[n].length];
+	for (i = 0; i < rows[n].length; i++)
+	  expected[i] = (float) rows[n][i];
+	new FastHaar().transform(expected);
+	assertTrue("wavelet " + n + "/" + numThreads, Arrays.equals(expected, frows[n]));
+      }
+
+      fft = BatchKernels.fft(rows, false, true, numThreads);
+      for (n = 0; n < rows.length; n++) {
+	transformed = FourierMath.transform(rows[n]);
+	assertEquals("length", transformed.length, fft[n].length);
+	for (i = 0; i < transformed.length; i++)
+	  assertEquals("fft " + n + "/" + numThreads, transformed[i].real(), fft[n][i]);
+      }
+    }
+  }
+
+  /**
+   * Tests empty batches.
+   */
+  public void testEmpty() {
+    assertEquals("PAA", 0, BatchKernels.PAA(new double[0][], 10, -1).length);
+    assertEquals("SAX", 0, BatchKernels.toSAX(new double[0][], 10, SAXUtils.calcBreakPoints(3), -1).length);
+  }
+
+  /**
+   * Returns a test suite.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(BatchKernelsTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
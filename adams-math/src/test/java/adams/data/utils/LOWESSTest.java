@@ -0,0 +1,154 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * LOWESSTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.utils;
+
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests the adams.data.utils.LOWESS class. Run from commandline with: <br><br>
+ * java adams.data.utils.LOWESSTest
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class LOWESSTest
+  extends AdamsTestCase {
+
+  /**
+   * Initializes the test.
+   *
+   * @param name	the name of the test
+   */
+  public LOWESSTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Generates a noisy sine wave with irregular spacing.
+   *
+   * @param n		the number of points
+   * @return		the x (index 0) and y (index 1) values
+   */
+  protected double[][] generate(int n) {
+    double[][]	result;
+    int		i;
+
+    result = new double[2][n];
+    for (i = 0; i < n; i++) {
+      result[0][i] = i * 10 + (i % 3);
+      result[1][i] = Math.sin(i / 50.0) + ((i * 7919) % 13) / 20.0;
+    }
+
+    return result;
+  }
+
+  /**
+   * Tests that points and arrays produce the same output.
+   */
+  public void testPoints() {
+    double[][]		data;
+    List<Point2D>	points;
+    List<Point2D>	smoothed;
+    double[]		values;
+    int			i;
+
+    data   = generate(500);
+    points = new ArrayList<>();
+    for (i = 0; i < data[0].length; i++)
+      points.add(new Point2D.Double(data[0][i], data[1][i]));
+    Collections.reverse(points);
+
+    smoothed = LOWESS.calculate(points, 20);
+    values   = LOWESS.calculate(data[0], data[1], 20);
+    assertEquals("size", values.length, smoothed.size());
+    for (i = 0; i < values.length; i++) {
+      assertEquals("x #" + i, data[0][i], smoothed.get(i).getX(), 0.0);
+      assertEquals("y #" + i, values[i], smoothed.get(i).getY(), 0.0);
+    }
+  }
+
+  /**
+   * Tests that a straight line is reproduced and that a window size of 1
+   * returns the original values.
+   */
+  public void testLine() {
+    double[]	x;
+    double[]	y;
+    double[]	smoothed;
+    int		i;
+
+    x = new double[100];
+    y = new double[100];
+    for (i = 0; i < x.length; i++) {
+      x[i] = i;
+      y[i] = 2 * i + 1;
+    }
+    smoothed = LOWESS.calculate(x, y, 10);
+    for (i = 0; i < x.length; i++)
+      assertEquals("value #" + i, y[i], smoothed[i], 1e-6);
+
+    smoothed = LOWESS.calculate(x, y, 1);
+    for (i = 0; i < x.length; i++)
+      assertEquals("value #" + i, y[i], smoothed[i], 0.0);
+  }
+
+  /**
+   * Tests that parallel evaluation produces the same output.
+   */
+  public void testParallel() {
+    double[][]	data;
+    double[]	sequential;
+    double[]	parallel;
+    int		i;
+
+    data       = generate(3 * LOWESS.MIN_CHUNK_SIZE + 17);
+    sequential = LOWESS.calculate(data[0], data[1], 30, 1);
+    parallel   = LOWESS.calculate(data[0], data[1], 30, 4);
+    for (i = 0; i < sequential.length; i++)
+      assertEquals("value #" + i, sequential[i], parallel[i], 0.0);
+  }
+
+  /**
+   * Returns a test suite.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(LOWESSTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
@@ -93,6 +93,53 @@ public class SavitzkyGolayTest
     m_Regression.compare(result.toString());
   }
 
+  /**
+   * Tests that the coefficients get cached without exposing the cached arrays.
+   */
+  public void testCache() {
+    double[]	first;
+    double[]	second;
+
+    first    = SavitzkyGolay.determineCoefficients(4, 4, 3, 1);
+    first[0] = Double.NaN;
+    second   = SavitzkyGolay.determineCoefficients(4, 4, 3, 1);
+    assertFalse("cached array modified", Double.isNaN(second[0]));
+    assertEquals("debug", second[1], SavitzkyGolay.determineCoefficients(4, 4, 3, 1, true)[1], 1e-12);
+  }
+
+  /**
+   * Tests applying the coefficients, sequentially and in parallel.
+   */
+  public void testApply() {
+    double[]	values;
+    double[]	coefficients;
+    double[]	sequential;
+    double[]	parallel;
+    double	expected;
+    int		i;
+    int		n;
+
+    values = new double[3 * SavitzkyGolay.MIN_CHUNK_SIZE + 17];
+    for (i = 0; i < values.length; i++)
+      values[i] = Math.sin(i / 100.0) + (i % 7) / 10.0;
+    coefficients = SavitzkyGolay.determineCoefficients(3, 2, 2, 0);
+
+    sequential = SavitzkyGolay.apply(values, coefficients);
+    assertEquals("length", values.length - coefficients.length + 1, sequential.length);
+    for (i = 0; i < sequential.length; i += 1000) {
+      expected = 0;
+      for (n = 0; n < coefficients.length; n++)
+	expected += coefficients[n] * values[i + n];
+      assertEquals("value #" + i, expected, sequential[i], 1e-12);
+    }
+
+    parallel = SavitzkyGolay.apply(values, coefficients, 4);
+    for (i = 0; i < sequential.length; i++)
+      assertEquals("value #" + i, sequential[i], parallel[i], 0.0);
+
+    assertEquals("too few values", 0, SavitzkyGolay.apply(new double[3], coefficients).length);
+  }
+
   /**
    * Returns a test suite.
    *
@@ -15,7 +15,7 @@
 
 /**
  * SpreadSheet.java
- * Copyright (C) 2014-2016 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.featureconverter;
 
@@ -236,4 +236,31 @@ public class SpreadSheet
     
     return result;
   }
+
+  /**
+   * Returns whether the converter can assemble rows into a single dataset.
+   *
+   * @return		true if supported
+   */
+  @Override
+  public boolean canGenerateDataset() {
+    return true;
+  }
+
+  /**
+   * Performs the actual assembly of the rows into a single dataset.
+   *
+   * @param rows	the rows generated with this converter
+   * @return		the dataset
+   */
+  @Override
+  protected adams.data.spreadsheet.SpreadSheet doGenerateDataset(List<Row> rows) {
+    adams.data.spreadsheet.SpreadSheet	result;
+
+    result = m_Header.getClone();
+    for (Row row: rows)
+      result.addRow().assign(row);
+
+    return result;
+  }
 }
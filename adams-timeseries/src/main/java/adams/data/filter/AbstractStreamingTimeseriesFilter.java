@@ -0,0 +1,209 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * AbstractStreamingTimeseriesFilter.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.filter;
+
+import adams.data.timeseries.ArrayTimeseries;
+import adams.data.timeseries.Timeseries;
+import adams.data.timeseries.TimeseriesPoint;
+import adams.data.timeseries.TimeseriesUtils;
+
+/**
+ * Ancestor for timeseries filters that process unbounded streams
+ * incrementally, i.e., point by point or in micro-batches, while only
+ * keeping a bounded amount of state.
+ * <br><br>
+ * New data gets fed in via {@link #process(Timeseries)} (or
+ * {@link #process(TimeseriesPoint)}), which returns the points that became
+ * available with this update. At the end of a stream, {@link #flush()}
+ * returns any pending points and starts a new stream. Points must arrive in
+ * ascending order of their timestamps, others get skipped.
+ * <br><br>
+ * When used as a regular filter, the timeseries gets processed as a
+ * complete stream of its own.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public abstract class AbstractStreamingTimeseriesFilter
+  extends AbstractFilter<Timeseries> {
+
+  /** for serialization. */
+  private static final long serialVersionUID = -1771430400880040312L;
+
+  /** the header to use for the output. */
+  protected Timeseries m_Header;
+
+  /** whether any point has been processed yet. */
+  protected boolean m_Started;
+
+  /** the timestamp of the last point processed. */
+  protected long m_LastTimestamp;
+
+  /**
+   * Resets the filter, including the state of the stream.
+   */
+  @Override
+  public void reset() {
+    super.reset();
+
+    resetState();
+  }
+
+  /**
+   * Discards the state of the current stream.
+   */
+  public synchronized void resetState() {
+    m_Header        = null;
+    m_Started       = false;
+    m_LastTimestamp = Long.MIN_VALUE;
+    doResetState();
+  }
+
+  /**
+   * Discards the filter-specific state of the current stream.
+   */
+  protected abstract void doResetState();
+
+  /**
+   * Processes the next point of the stream, adding any points that became
+   * available to the output.
+   *
+   * @param timestamp	the timestamp of the point (msecs since epoch)
+   * @param value	the value of the point
+   * @param output	for storing the generated points
+   */
+  protected abstract void update(long timestamp, double value, ArrayTimeseries output);
+
+  /**
+   * Adds any pending points of the current stream to the output.
+   * <br><br>
+   * Default implementation does nothing.
+   *
+   * @param output	for storing the generated points
+   */
+  protected void doFlush(ArrayTimeseries output) {
+  }
+
+  /**
+   * Creates an empty output timeseries.
+   *
+   * @return		the output timeseries
+   */
+  protected ArrayTimeseries newOutput() {
+    ArrayTimeseries	result;
+
+    result = new ArrayTimeseries();
+    if (m_Header != null)
+      result.assign(m_Header);
+
+    return result;
+  }
+
+  /**
+   * Processes the next micro-batch of the stream.
+   *
+   * @param batch	the new points
+   * @return		the points that became available
+   */
+  public synchronized Timeseries process(Timeseries batch) {
+    ArrayTimeseries	result;
+    long[]		timestamps;
+    double[]		values;
+    int			skipped;
+    int			i;
+
+    m_Header   = batch.getHeader();
+    result     = newOutput();
+    timestamps = TimeseriesUtils.toTimestampArray(batch);
+    values     = TimeseriesUtils.toDoubleArray(batch);
+    skipped    = 0;
+    for (i = 0; i < timestamps.length; i++) {
+      if (m_Started && (timestamps[i] <= m_LastTimestamp)) {
+	skipped++;
+	continue;
+      }
+      m_Started       = true;
+      m_LastTimestamp = timestamps[i];
+      update(timestamps[i], values[i], result);
+    }
+    if (skipped > 0)
+      getLogger().warning("Skipped " + skipped + " point(s) not newer than " + m_LastTimestamp);
+
+    return result;
+  }
+
+  /**
+   * Processes the next point of the stream.
+   *
+   * @param point	the new point
+   * @return		the points that became available
+   */
+  public synchronized Timeseries process(TimeseriesPoint point) {
+    ArrayTimeseries	result;
+    long		timestamp;
+
+    result    = newOutput();
+    timestamp = point.getTimestamp().getTime();
+    if (m_Started && (timestamp <= m_LastTimestamp)) {
+      getLogger().warning("Skipped point not newer than " + m_LastTimestamp + ": " + point);
+    }
+    else {
+      m_Started       = true;
+      m_LastTimestamp = timestamp;
+      update(timestamp, point.getValue(), result);
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns any pending points and starts a new stream.
+   *
+   * @return		the pending points
+   */
+  public synchronized Timeseries flush() {
+    ArrayTimeseries	result;
+
+    result = newOutput();
+    doFlush(result);
+    resetState();
+
+    return result;
+  }
+
+  /**
+   * Performs the actual filtering, processing the timeseries as a complete
+   * stream.
+   *
+   * @param data	the data to filter
+   * @return		the filtered data
+   */
+  @Override
+  protected synchronized Timeseries processData(Timeseries data) {
+    Timeseries	result;
+
+    resetState();
+    result = process(data);
+    doFlush((ArrayTimeseries) result);
+    resetState();
+
+    return result;
+  }
+}
@@ -15,7 +15,7 @@
 
 /*
  * TimeseriesDerivative.java
- * Copyright (C) 2013-2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2013-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.filter;
@@ -23,6 +23,7 @@ package adams.data.filter;
 import adams.data.container.DataPoint;
 import adams.data.timeseries.Timeseries;
 import adams.data.timeseries.TimeseriesPoint;
+import adams.data.timeseries.TimeseriesUtils;
 
 import java.util.Date;
 
@@ -99,4 +100,94 @@ public class TimeseriesDerivative
   protected DataPoint toDataPoint(Point point) {
     return new TimeseriesPoint(new Date((long) point.getX()), point.getY());
   }
+
+  /**
+   * Calculates the derivative on the primitive arrays, same as
+   * {@link #derive(java.util.List)}.
+   *
+   * @param x		the x values (input), the first n-1 get used as output
+   * @param y		the y values
+   * @return		the derived y values (n-1)
+   */
+  protected double[] derive(double[] x, double[] y) {
+    double[]	result;
+    int		i;
+    double	minAbund;
+    double	maxAbund;
+    double	minAbundInput;
+    double	maxAbundInput;
+    double	range;
+    double	factor;
+    boolean	scaling;
+
+    result        = new double[Math.max(0, y.length - 1)];
+    scaling       = ((m_ScalingRange > 0) || (m_ScalingRange == -1));
+    minAbund      = Double.MAX_VALUE;
+    maxAbund      = -Double.MAX_VALUE;
+    minAbundInput = Double.MAX_VALUE;
+    maxAbundInput = -Double.MAX_VALUE;
+    for (i = 1; i < y.length; i++) {
+      result[i - 1] = (y[i] - y[i - 1]) / (x[i] - x[i - 1]);
+      if (scaling) {
+	if (y[i - 1] > maxAbundInput)
+	  maxAbundInput = y[i - 1];
+	if (y[i - 1] < minAbundInput)
+	  minAbundInput = y[i - 1];
+	if (result[i - 1] > maxAbund)
+	  maxAbund = result[i - 1];
+	if (result[i - 1] < minAbund)
+	  minAbund = result[i - 1];
+      }
+    }
+
+    // scale?
+    if (scaling) {
+      range = maxAbund - minAbund;
+      if (range != 0) {
+	// original input scale?
+	if (m_ScalingRange == -1)
+	  factor = (maxAbundInput - minAbundInput) / range;
+	else
+	  factor = m_ScalingRange / range;
+	for (i = 0; i < result.length; i++)
+	  result[i] *= factor;
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Performs the actual filtering, operating on the primitive timestamps and
+   * values rather than on point objects.
+   *
+   * @param data	the data to filter
+   * @return		the filtered data
+   */
+  @Override
+  protected Timeseries processData(Timeseries data) {
+    Timeseries	result;
+    long[]	timestamps;
+    double[]	x;
+    double[]	y;
+    int		i;
+
+    timestamps = TimeseriesUtils.toTimestampArray(data);
+    x          = new double[timestamps.length];
+    for (i = 0; i < x.length; i++)
+      x[i] = timestamps[i];
+    y = TimeseriesUtils.toDoubleArray(data);
+
+    for (i = 0; i < m_Order; i++)
+      y = derive(x, y);
+
+    timestamps = new long[y.length];
+    for (i = 0; i < y.length; i++)
+      timestamps[i] = (long) x[i];
+
+    result = data.getHeader();
+    TimeseriesUtils.addAll(result, timestamps, y);
+
+    return result;
+  }
 }
@@ -15,7 +15,7 @@
 
 /*
  * TimeseriesFFT.java
- * Copyright (C) 2014-2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.filter;
@@ -75,6 +75,13 @@ import java.util.List;
  * &nbsp;&nbsp;&nbsp;default: true
  * </pre>
  * 
+ * <pre>-no-padding &lt;boolean&gt; (property: noPadding)
+ * &nbsp;&nbsp;&nbsp;If enabled, the data is not padded to the next power of 2 and transformed
+ * &nbsp;&nbsp;&nbsp;with cached plans that support arbitrary lengths; the padding type is ignored
+ * &nbsp;&nbsp;&nbsp;in that case.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ * 
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
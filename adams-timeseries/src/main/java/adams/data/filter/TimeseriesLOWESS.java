@@ -15,13 +15,15 @@
 
 /**
  * TimeseriesLOWESS.java
- * Copyright (C) 2013-2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2013-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.filter;
 
 import adams.data.container.DataPoint;
 import adams.data.timeseries.Timeseries;
 import adams.data.timeseries.TimeseriesPoint;
+import adams.data.timeseries.TimeseriesUtils;
+import adams.data.utils.LOWESS;
 
 import java.awt.geom.Point2D;
 import java.util.Date;
@@ -64,6 +66,15 @@ import java.util.Date;
  * &nbsp;&nbsp;&nbsp;minimum: 1
  * </pre>
  * 
+ * <pre>-num-threads &lt;int&gt; (property: numThreads)
+ * &nbsp;&nbsp;&nbsp;The number of threads to use for processing large datasets in chunks; The 
+ * &nbsp;&nbsp;&nbsp;number of threads to use for parallel execution; &gt; 0: specific number 
+ * &nbsp;&nbsp;&nbsp;of cores to use (capped by actual number of cores available, 1 = sequential 
+ * &nbsp;&nbsp;&nbsp;execution); = 0: number of cores; &lt; 0: number of free cores (eg -2 
+ * &nbsp;&nbsp;&nbsp;means 2 free cores; minimum of one core is used)
+ * &nbsp;&nbsp;&nbsp;default: 1
+ * </pre>
+ * 
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
@@ -100,4 +111,31 @@ public class TimeseriesLOWESS
   protected DataPoint newDataPoint(Point2D smoothed) {
     return new TimeseriesPoint(new Date((long) smoothed.getX()), smoothed.getY());
   }
+
+  /**
+   * Performs the actual filtering, operating on the primitive timestamps and
+   * values rather than on point objects.
+   *
+   * @param data	the data to filter
+   * @return		the filtered data
+   */
+  @Override
+  protected Timeseries processData(Timeseries data) {
+    Timeseries	result;
+    long[]	timestamps;
+    double[]	x;
+    double[]	y;
+    int		i;
+
+    timestamps = TimeseriesUtils.toTimestampArray(data);
+    x          = new double[timestamps.length];
+    for (i = 0; i < x.length; i++)
+      x[i] = timestamps[i];
+    y = LOWESS.calculate(x, TimeseriesUtils.toDoubleArray(data), m_WindowSize, m_NumThreads);
+
+    result = data.getHeader();
+    TimeseriesUtils.addAll(result, timestamps, y);
+
+    return result;
+  }
 }
@@ -15,17 +15,14 @@
 
 /*
  * TimeseriesResetTimestamps.java
- * Copyright (C) 2011-2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2011-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.filter;
 
 import adams.core.base.BaseDateTime;
 import adams.data.timeseries.Timeseries;
-import adams.data.timeseries.TimeseriesPoint;
-
-import java.util.Date;
-import java.util.List;
+import adams.data.timeseries.TimeseriesUtils;
 
 /**
  <!-- globalinfo-start -->
@@ -123,28 +120,21 @@ public class TimeseriesResetTimestamps
    */
   @Override
   protected Timeseries processData(Timeseries data) {
-    Timeseries			result;
-    List<TimeseriesPoint>	points;
-    long			newStart;
-    long			oldStart;
-    long			diff;
+    Timeseries		result;
+    long[]		timestamps;
+    long		diff;
+    int			i;
 
-    result   = data.getHeader();
-    points   = data.toList();
+    result     = data.getHeader();
+    timestamps = TimeseriesUtils.toTimestampArray(data);
 
-    if (points.size() == 0)
+    if (timestamps.length == 0)
       return result;
 
-    newStart = m_Start.dateValue().getTime();
-    oldStart = points.get(0).getTimestamp().getTime();
-    diff     = oldStart - newStart;
-
-    for (TimeseriesPoint point: points) {
-      result.add(
-	  new TimeseriesPoint(
-	      new Date(point.getTimestamp().getTime() - diff),
-	      point.getValue()));
-    }
+    diff = timestamps[0] - m_Start.dateValue().getTime();
+    for (i = 0; i < timestamps.length; i++)
+      timestamps[i] -= diff;
+    TimeseriesUtils.addAll(result, timestamps, TimeseriesUtils.toDoubleArray(data));
 
     return result;
   }
@@ -15,14 +15,14 @@
 
 /*
  * TimeseriesRound.java
- * Copyright (C) 2013-2020 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2013-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.filter;
 
 import adams.data.RoundingType;
 import adams.data.RoundingUtils;
 import adams.data.timeseries.Timeseries;
-import adams.data.timeseries.TimeseriesPoint;
+import adams.data.timeseries.TimeseriesUtils;
 
 /**
  <!-- globalinfo-start -->
@@ -159,17 +159,15 @@ public class TimeseriesRound
   @Override
   protected Timeseries processData(Timeseries data) {
     Timeseries		result;
-    TimeseriesPoint	point;
+    double[]		values;
     int			i;
-    double		value;
 
     result = data.getHeader();
-    for (i = 0; i < data.size(); i++) {
-      point = (TimeseriesPoint) data.toList().get(i);
-      value = RoundingUtils.apply(m_Type, point.getValue(), m_NumDecimals);
-      result.add(new TimeseriesPoint(point.getTimestamp(), value));
-    }
-    
+    values = TimeseriesUtils.toDoubleArray(data);
+    for (i = 0; i < values.length; i++)
+      values[i] = RoundingUtils.apply(m_Type, values[i], m_NumDecimals);
+    TimeseriesUtils.addAll(result, TimeseriesUtils.toTimestampArray(data), values);
+
     return result;
   }
 }
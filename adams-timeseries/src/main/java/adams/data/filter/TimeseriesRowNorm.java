@@ -15,16 +15,14 @@
 
 /*
  * TimeseriesRowNorm.java
- * Copyright (C) 2014-2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.filter;
 
 import adams.data.statistics.StatUtils;
 import adams.data.timeseries.Timeseries;
-import adams.data.timeseries.TimeseriesPoint;
-
-import java.util.List;
+import adams.data.timeseries.TimeseriesUtils;
 
 /**
  <!-- globalinfo-start -->
@@ -73,20 +71,13 @@ public class TimeseriesRowNorm
    */
   @Override
   protected Timeseries processData(Timeseries data) {
-    Timeseries			result;
-    List<TimeseriesPoint>	points;
-    double[]			x;
-    double[]			norm;
-    int				i;
+    Timeseries		result;
 
     result = data.getHeader();
-    points = data.toList();
-    x      = new double[points.size()];
-    for (i = 0; i < points.size(); i++)
-      x[i] = points.get(i).getValue();
-    norm   = StatUtils.rowNorm(x);
-    for (i = 0; i < points.size(); i++)
-      result.add(new TimeseriesPoint(points.get(i).getTimestamp(), norm[i]));
+    TimeseriesUtils.addAll(
+      result,
+      TimeseriesUtils.toTimestampArray(data),
+      StatUtils.rowNorm(TimeseriesUtils.toDoubleArray(data)));
 
     return result;
   }
@@ -15,7 +15,7 @@
 
 /*
  * TimeseriesSavitzkyGolay.java
- * Copyright (C) 2013-2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2013-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.filter;
@@ -23,6 +23,10 @@ package adams.data.filter;
 import adams.data.container.DataPoint;
 import adams.data.timeseries.Timeseries;
 import adams.data.timeseries.TimeseriesPoint;
+import adams.data.timeseries.TimeseriesUtils;
+import adams.data.utils.SavitzkyGolay;
+
+import java.util.Arrays;
 
 /**
  <!-- globalinfo-start -->
@@ -96,6 +100,15 @@ import adams.data.timeseries.TimeseriesPoint;
  * &nbsp;&nbsp;&nbsp;minimum: 0
  * </pre>
  * 
+ * <pre>-num-threads &lt;int&gt; (property: numThreads)
+ * &nbsp;&nbsp;&nbsp;The number of threads to use for processing large datasets in chunks; The 
+ * &nbsp;&nbsp;&nbsp;number of threads to use for parallel execution; &gt; 0: specific number 
+ * &nbsp;&nbsp;&nbsp;of cores to use (capped by actual number of cores available, 1 = sequential 
+ * &nbsp;&nbsp;&nbsp;execution); = 0: number of cores; &lt; 0: number of free cores (eg -2 
+ * &nbsp;&nbsp;&nbsp;means 2 free cores; minimum of one core is used)
+ * &nbsp;&nbsp;&nbsp;default: 1
+ * </pre>
+ * 
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
@@ -129,4 +142,35 @@ public class TimeseriesSavitzkyGolay
   protected DataPoint newDataPoint(DataPoint oldPoint, double x) {
     return new TimeseriesPoint(((TimeseriesPoint) oldPoint).getTimestamp(), x);
   }
+
+  /**
+   * Performs the actual filtering, operating on the primitive timestamps and
+   * values rather than on point objects.
+   *
+   * @param data	the data to filter
+   * @return		the filtered data
+   */
+  @Override
+  protected Timeseries processData(Timeseries data) {
+    Timeseries	result;
+    long[]	timestamps;
+    double[]	values;
+
+    // not enough data points is handled by the default implementation
+    if ((m_Coefficients == null) && (data.size() < m_NumPointsLeft + m_NumPointsRight + 1))
+      return super.processData(data);
+
+    if (m_Coefficients == null)
+      m_Coefficients = SavitzkyGolay.determineCoefficients(
+	  m_NumPointsLeft, m_NumPointsRight, m_PolynomialOrder, m_DerivativeOrder, isLoggingEnabled());
+
+    values     = SavitzkyGolay.apply(TimeseriesUtils.toDoubleArray(data), m_Coefficients, m_NumThreads);
+    timestamps = TimeseriesUtils.toTimestampArray(data);
+    timestamps = Arrays.copyOfRange(timestamps, m_NumPointsLeft, m_NumPointsLeft + values.length);
+
+    result = data.getHeader();
+    TimeseriesUtils.addAll(result, timestamps, values);
+
+    return result;
+  }
 }
@@ -15,15 +15,13 @@
 
 /**
  * TimeseriesSetStart.java
- * Copyright (C) 2013-2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2013-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.filter;
 
 import adams.core.base.BaseDateTime;
 import adams.data.timeseries.Timeseries;
-import adams.data.timeseries.TimeseriesPoint;
-
-import java.util.Date;
+import adams.data.timeseries.TimeseriesUtils;
 
 /**
  <!-- globalinfo-start -->
@@ -120,21 +118,19 @@ public class TimeseriesSetStart
   @Override
   protected Timeseries processData(Timeseries data) {
     Timeseries		result;
-    TimeseriesPoint	point;
-    TimeseriesPoint	pointNew;
-    int			i;
+    long[]		timestamps;
     long		diff;
+    int			i;
 
-    result = data.getHeader();
-    diff   = 0;
-    for (i = 0; i < data.size(); i++) {
-      point = (TimeseriesPoint) data.toList().get(i);
-      if (i == 0)
-	diff = point.getTimestamp().getTime() - m_Start.dateValue().getTime();
-      pointNew = new TimeseriesPoint(new Date(point.getTimestamp().getTime() - diff), point.getValue());
-      result.add(pointNew);
+    result     = data.getHeader();
+    timestamps = TimeseriesUtils.toTimestampArray(data);
+    if (timestamps.length > 0) {
+      diff = timestamps[0] - m_Start.dateValue().getTime();
+      for (i = 0; i < timestamps.length; i++)
+	timestamps[i] -= diff;
+      TimeseriesUtils.addAll(result, timestamps, TimeseriesUtils.toDoubleArray(data));
     }
-    
+
     return result;
   }
 }
@@ -15,7 +15,7 @@
 
 /**
  * TimeseriesShiftTimestamps.java
- * Copyright (C) 2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.filter;
 
@@ -28,7 +28,7 @@ import adams.core.base.BaseTime;
 import adams.data.DateFormatString;
 import adams.data.report.Field;
 import adams.data.timeseries.Timeseries;
-import adams.data.timeseries.TimeseriesPoint;
+import adams.data.timeseries.TimeseriesUtils;
 
 import java.util.Date;
 
@@ -325,7 +325,7 @@ public class TimeseriesShiftTimestamps
   @Override
   protected Timeseries processData(Timeseries data) {
     Timeseries		result;
-    TimeseriesPoint	point;
+    long[]		timestamps;
     int			i;
     String              oldStr;
     BaseDateTime        old;
@@ -372,10 +372,10 @@ public class TimeseriesShiftTimestamps
     diff = m_NewTimestamp.dateValue().getTime() - old.dateValue().getTime();
     if (isLoggingEnabled())
       getLogger().info("difference to old ('" + old + "'): " + diff);
-    for (i = 0; i < data.size(); i++) {
-      point = (TimeseriesPoint) data.toList().get(i);
-      result.add(new TimeseriesPoint(new Date(point.getTimestamp().getTime() + diff), point.getValue()));
-    }
+    timestamps = TimeseriesUtils.toTimestampArray(data);
+    for (i = 0; i < timestamps.length; i++)
+      timestamps[i] += diff;
+    TimeseriesUtils.addAll(result, timestamps, TimeseriesUtils.toDoubleArray(data));
     
     return result;
   }
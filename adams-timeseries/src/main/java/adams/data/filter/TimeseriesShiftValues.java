@@ -15,12 +15,12 @@
 
 /**
  * TimeseriesShiftValues.java
- * Copyright (C) 2014-2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.filter;
 
 import adams.data.timeseries.Timeseries;
-import adams.data.timeseries.TimeseriesPoint;
+import adams.data.timeseries.TimeseriesUtils;
 
 /**
  <!-- globalinfo-start -->
@@ -120,15 +120,15 @@ public class TimeseriesShiftValues
   @Override
   protected Timeseries processData(Timeseries data) {
     Timeseries		result;
-    TimeseriesPoint	point;
+    double[]		values;
     int			i;
 
     result = data.getHeader();
-    for (i = 0; i < data.size(); i++) {
-      point = (TimeseriesPoint) data.toList().get(i);
-      result.add(new TimeseriesPoint(point.getTimestamp(), point.getValue() + m_Amount));
-    }
-    
+    values = TimeseriesUtils.toDoubleArray(data);
+    for (i = 0; i < values.length; i++)
+      values[i] += m_Amount;
+    TimeseriesUtils.addAll(result, TimeseriesUtils.toTimestampArray(data), values);
+
     return result;
   }
 }
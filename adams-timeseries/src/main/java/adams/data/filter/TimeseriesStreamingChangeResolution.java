@@ -0,0 +1,173 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * TimeseriesStreamingChangeResolution.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.filter;
+
+import adams.data.timeseries.ArrayTimeseries;
+
+/**
+ <!-- globalinfo-start -->
+ * Incrementally resamples the stream with a (user-defined) fixed-length interval between data points, starting at the timestamp of the first point, similar to adams.data.filter.TimeseriesChangeResolution.<br>
+ * The values get linearly interpolated between the two points surrounding a new timestamp, i.e., only the last point needs to be kept in memory.
+ * <br><br>
+ <!-- globalinfo-end -->
+ *
+ <!-- options-start -->
+ * <pre>-logging-level &lt;OFF|SEVERE|WARNING|INFO|CONFIG|FINE|FINER|FINEST&gt; (property: loggingLevel)
+ * &nbsp;&nbsp;&nbsp;The logging level for outputting errors and debugging output.
+ * &nbsp;&nbsp;&nbsp;default: WARNING
+ * </pre>
+ *
+ * <pre>-no-id-update &lt;boolean&gt; (property: dontUpdateID)
+ * &nbsp;&nbsp;&nbsp;If enabled, suppresses updating the ID of adams.data.id.IDHandler data containers.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ *
+ * <pre>-interval &lt;double&gt; (property: interval)
+ * &nbsp;&nbsp;&nbsp;The new, fixed-length interval between data points in seconds.
+ * &nbsp;&nbsp;&nbsp;default: 30.0
+ * &nbsp;&nbsp;&nbsp;minimum: 0.01
+ * </pre>
+ *
+ <!-- options-end -->
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class TimeseriesStreamingChangeResolution
+  extends AbstractStreamingTimeseriesFilter {
+
+  /** for serialization. */
+  private static final long serialVersionUID = 6036460183412987455L;
+
+  /** the new interval in seconds. */
+  protected double m_Interval;
+
+  /** whether a previous point is available. */
+  protected boolean m_HasPrev;
+
+  /** the timestamp of the previous point. */
+  protected long m_PrevTimestamp;
+
+  /** the value of the previous point. */
+  protected double m_PrevValue;
+
+  /** the next timestamp to generate. */
+  protected long m_Next;
+
+  /**
+   * Returns a string describing the object.
+   *
+   * @return 			a description suitable for displaying in the gui
+   */
+  @Override
+  public String globalInfo() {
+    return
+      "Incrementally resamples the stream with a (user-defined) fixed-length "
+	+ "interval between data points, starting at the timestamp of the first "
+	+ "point, similar to " + TimeseriesChangeResolution.class.getName() + ".\n"
+	+ "The values get linearly interpolated between the two points "
+	+ "surrounding a new timestamp, i.e., only the last point needs to be "
+	+ "kept in memory.";
+  }
+
+  /**
+   * Adds options to the internal list of options.
+   */
+  @Override
+  public void defineOptions() {
+    super.defineOptions();
+
+    m_OptionManager.add(
+	    "interval", "interval",
+	    30.0, 10e-3, null);
+  }
+
+  /**
+   * Sets the interval (in seconds).
+   *
+   * @param value	the interval
+   */
+  public void setInterval(double value) {
+    if (getOptionManager().isValid("interval", value)) {
+      m_Interval = value;
+      reset();
+    }
+  }
+
+  /**
+   * Returns the interval (in seconds).
+   *
+   * @return		the interval
+   */
+  public double getInterval() {
+    return m_Interval;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String intervalTipText() {
+    return "The new, fixed-length interval between data points in seconds.";
+  }
+
+  /**
+   * Discards the filter-specific state of the current stream.
+   */
+  @Override
+  protected void doResetState() {
+    m_HasPrev       = false;
+    m_PrevTimestamp = 0;
+    m_PrevValue     = 0;
+    m_Next          = 0;
+  }
+
+  /**
+   * Processes the next point of the stream, adding any points that became
+   * available to the output.
+   *
+   * @param timestamp	the timestamp of the point (msecs since epoch)
+   * @param value	the value of the point
+   * @param output	for storing the generated points
+   */
+  @Override
+  protected void update(long timestamp, double value, ArrayTimeseries output) {
+    long	step;
+    double	slope;
+
+    if (!m_HasPrev) {
+      m_Next = timestamp;
+    }
+    else {
+      step  = Math.max(1, Math.round(m_Interval * 1000));
+      slope = (value - m_PrevValue) / (double) (timestamp - m_PrevTimestamp);
+      while (m_Next < timestamp) {
+	output.add(m_Next, m_PrevValue + slope * (m_Next - m_PrevTimestamp));
+	m_Next += step;
+      }
+    }
+
+    m_HasPrev       = true;
+    m_PrevTimestamp = timestamp;
+    m_PrevValue     = value;
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * TimeseriesStreamingDerivative.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.filter;
+
+import adams.data.timeseries.ArrayTimeseries;
+
+/**
+ <!-- globalinfo-start -->
+ * Incrementally computes the derivative of the specified order, like adams.data.filter.TimeseriesDerivative but without scaling.<br>
+ * The derivative of two consecutive points is associated with the timestamp of the first point, i.e., a point becomes available once its successor has arrived.
+ * <br><br>
+ <!-- globalinfo-end -->
+ *
+ <!-- options-start -->
+ * <pre>-logging-level &lt;OFF|SEVERE|WARNING|INFO|CONFIG|FINE|FINER|FINEST&gt; (property: loggingLevel)
+ * &nbsp;&nbsp;&nbsp;The logging level for outputting errors and debugging output.
+ * &nbsp;&nbsp;&nbsp;default: WARNING
+ * </pre>
+ *
+ * <pre>-no-id-update &lt;boolean&gt; (property: dontUpdateID)
+ * &nbsp;&nbsp;&nbsp;If enabled, suppresses updating the ID of adams.data.id.IDHandler data containers.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ *
+ * <pre>-order &lt;int&gt; (property: order)
+ * &nbsp;&nbsp;&nbsp;The order of the derivative to calculate.
+ * &nbsp;&nbsp;&nbsp;default: 1
+ * &nbsp;&nbsp;&nbsp;minimum: 1
+ * </pre>
+ *
+ <!-- options-end -->
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class TimeseriesStreamingDerivative
+  extends AbstractStreamingTimeseriesFilter {
+
+  /** for serialization. */
+  private static final long serialVersionUID = 2478218364092817421L;
+
+  /** the order of the derivative. */
+  protected int m_Order;
+
+  /** the last timestamp per order. */
+  protected long[] m_PrevTimestamp;
+
+  /** the last value per order. */
+  protected double[] m_PrevValue;
+
+  /** whether there is a previous point per order. */
+  protected boolean[] m_HasPrev;
+
+  /**
+   * Returns a string describing the object.
+   *
+   * @return 			a description suitable for displaying in the gui
+   */
+  @Override
+  public String globalInfo() {
+    return
+      "Incrementally computes the derivative of the specified order, like "
+	+ TimeseriesDerivative.class.getName() + " but without scaling.\n"
+	+ "The derivative of two consecutive points is associated with the "
+	+ "timestamp of the first point, i.e., a point becomes available once "
+	+ "its successor has arrived.";
+  }
+
+  /**
+   * Adds options to the internal list of options.
+   */
+  @Override
+  public void defineOptions() {
+    super.defineOptions();
+
+    m_OptionManager.add(
+	    "order", "order",
+	    1, 1, null);
+  }
+
+  /**
+   * Sets the order of the derivative to calculate.
+   *
+   * @param value	the order
+   */
+  public void setOrder(int value) {
+    if (getOptionManager().isValid("order", value)) {
+      m_Order = value;
+      reset();
+    }
+  }
+
+  /**
+   * Returns the order of the derivative to calculate.
+   *
+   * @return		the order
+   */
+  public int getOrder() {
+    return m_Order;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String orderTipText() {
+    return "The order of the derivative to calculate.";
+  }
+
+  /**
+   * Discards the filter-specific state of the current stream.
+   */
+  @Override
+  protected void doResetState() {
+    m_PrevTimestamp = null;
+    m_PrevValue     = null;
+    m_HasPrev       = null;
+  }
+
+  /**
+   * Processes the next point of the stream, adding any points that became
+   * available to the output.
+   *
+   * @param timestamp	the timestamp of the point (msecs since epoch)
+   * @param value	the value of the point
+   * @param output	for storing the generated points
+   */
+  @Override
+  protected void update(long timestamp, double value, ArrayTimeseries output) {
+    int		i;
+    long	prevTimestamp;
+    double	prevValue;
+
+    if (m_HasPrev == null) {
+      m_PrevTimestamp = new long[m_Order];
+      m_PrevValue     = new double[m_Order];
+      m_HasPrev       = new boolean[m_Order];
+    }
+
+    // cascade the point through the orders
+    for (i = 0; i < m_Order; i++) {
+      prevTimestamp      = m_PrevTimestamp[i];
+      prevValue          = m_PrevValue[i];
+      m_PrevTimestamp[i] = timestamp;
+      m_PrevValue[i]     = value;
+      if (!m_HasPrev[i]) {
+	m_HasPrev[i] = true;
+	return;
+      }
+      value     = (value - prevValue) / (double) (timestamp - prevTimestamp);
+      timestamp = prevTimestamp;
+    }
+
+    output.add(timestamp, value);
+  }
+}
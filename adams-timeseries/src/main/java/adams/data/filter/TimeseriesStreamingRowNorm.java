@@ -0,0 +1,209 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * TimeseriesStreamingRowNorm.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.filter;
+
+import adams.data.timeseries.ArrayTimeseries;
+
+/**
+ <!-- globalinfo-start -->
+ * Incrementally normalizes the values (subtracting mean, dividing by standard deviation), like adams.data.filter.TimeseriesRowNorm.<br>
+ * The statistics are calculated over the trailing window of points (including the current one) or, with a window size less than 1, over all points seen so far. Points without spread in the values get normalized to 0.
+ * <br><br>
+ <!-- globalinfo-end -->
+ *
+ <!-- options-start -->
+ * <pre>-logging-level &lt;OFF|SEVERE|WARNING|INFO|CONFIG|FINE|FINER|FINEST&gt; (property: loggingLevel)
+ * &nbsp;&nbsp;&nbsp;The logging level for outputting errors and debugging output.
+ * &nbsp;&nbsp;&nbsp;default: WARNING
+ * </pre>
+ *
+ * <pre>-no-id-update &lt;boolean&gt; (property: dontUpdateID)
+ * &nbsp;&nbsp;&nbsp;If enabled, suppresses updating the ID of adams.data.id.IDHandler data containers.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ *
+ * <pre>-window &lt;int&gt; (property: windowSize)
+ * &nbsp;&nbsp;&nbsp;The number of trailing points to calculate mean and standard deviation
+ * &nbsp;&nbsp;&nbsp;from; &lt; 1 uses all points.
+ * &nbsp;&nbsp;&nbsp;default: 100
+ * </pre>
+ *
+ <!-- options-end -->
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class TimeseriesStreamingRowNorm
+  extends AbstractStreamingTimeseriesFilter {
+
+  /** for serialization. */
+  private static final long serialVersionUID = -2318519408853612262L;
+
+  /** the window size. */
+  protected int m_WindowSize;
+
+  /** the values in the window (ring buffer). */
+  protected double[] m_Values;
+
+  /** the position of the oldest value in the ring buffer. */
+  protected int m_Head;
+
+  /** the number of values in the statistics. */
+  protected long m_Count;
+
+  /** the sum of the values. */
+  protected double m_Sum;
+
+  /** the sum of the squared values. */
+  protected double m_SumSq;
+
+  /** the number of updates since the sums were last recalculated. */
+  protected int m_Updates;
+
+  /**
+   * Returns a string describing the object.
+   *
+   * @return 			a description suitable for displaying in the gui
+   */
+  @Override
+  public String globalInfo() {
+    return
+      "Incrementally normalizes the values (subtracting mean, dividing by "
+	+ "standard deviation), like " + TimeseriesRowNorm.class.getName() + ".\n"
+	+ "The statistics are calculated over the trailing window of points "
+	+ "(including the current one) or, with a window size less than 1, over "
+	+ "all points seen so far. Points without spread in the values get "
+	+ "normalized to 0.";
+  }
+
+  /**
+   * Adds options to the internal list of options.
+   */
+  @Override
+  public void defineOptions() {
+    super.defineOptions();
+
+    m_OptionManager.add(
+	    "window", "windowSize",
+	    100);
+  }
+
+  /**
+   * Sets the window size.
+   *
+   * @param value 	the size, &lt; 1 for all points
+   */
+  public void setWindowSize(int value) {
+    m_WindowSize = value;
+    reset();
+  }
+
+  /**
+   * Returns the window size.
+   *
+   * @return 		the size, &lt; 1 for all points
+   */
+  public int getWindowSize() {
+    return m_WindowSize;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String windowSizeTipText() {
+    return "The number of trailing points to calculate mean and standard deviation from; < 1 uses all points.";
+  }
+
+  /**
+   * Discards the filter-specific state of the current stream.
+   */
+  @Override
+  protected void doResetState() {
+    m_Values  = null;
+    m_Head    = 0;
+    m_Count   = 0;
+    m_Sum     = 0;
+    m_SumSq   = 0;
+    m_Updates = 0;
+  }
+
+  /**
+   * Recalculates the sums from the window, to avoid the accumulation of
+   * rounding errors.
+   */
+  protected void recalcSums() {
+    int		i;
+    double	value;
+
+    m_Sum   = 0;
+    m_SumSq = 0;
+    for (i = 0; i < m_Count; i++) {
+      value    = m_Values[(m_Head + i) % m_WindowSize];
+      m_Sum   += value;
+      m_SumSq += value * value;
+    }
+    m_Updates = 0;
+  }
+
+  /**
+   * Processes the next point of the stream, adding any points that became
+   * available to the output.
+   *
+   * @param timestamp	the timestamp of the point (msecs since epoch)
+   * @param value	the value of the point
+   * @param output	for storing the generated points
+   */
+  @Override
+  protected void update(long timestamp, double value, ArrayTimeseries output) {
+    double	mean;
+    double	var;
+    double	old;
+
+    if (m_WindowSize > 0) {
+      if (m_Values == null)
+	m_Values = new double[m_WindowSize];
+      if (m_Count == m_WindowSize) {
+	old      = m_Values[m_Head];
+	m_Sum   -= old;
+	m_SumSq -= old * old;
+	m_Head   = (m_Head + 1) % m_WindowSize;
+	m_Count--;
+      }
+      m_Values[(int) ((m_Head + m_Count) % m_WindowSize)] = value;
+    }
+    m_Count++;
+    m_Sum   += value;
+    m_SumSq += value * value;
+    if ((m_WindowSize > 0) && (++m_Updates >= m_WindowSize))
+      recalcSums();
+
+    // population statistics, like StatCalc
+    mean = m_Sum / m_Count;
+    var  = m_SumSq / m_Count - mean * mean;
+    // ignore variance that is just rounding noise
+    if (var > 1e-12 * m_SumSq / m_Count)
+      output.add(timestamp, (value - mean) / Math.sqrt(var));
+    else
+      output.add(timestamp, 0.0);
+  }
+}
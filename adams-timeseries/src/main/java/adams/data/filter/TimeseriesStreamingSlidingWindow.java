@@ -0,0 +1,346 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * TimeseriesStreamingSlidingWindow.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.filter;
+
+import adams.data.smoothing.AbstractSlidingWindow.Measure;
+import adams.data.smoothing.TimeseriesSlidingWindow;
+import adams.data.timeseries.ArrayTimeseries;
+
+import java.util.Arrays;
+
+/**
+ <!-- globalinfo-start -->
+ * Incrementally smoothes the stream using the median&#47;average inside a sliding window, like adams.data.smoothing.TimeseriesSlidingWindow.<br>
+ * The measure is used as new value for the point in the center of the window, i.e., a point becomes available once the window to its right has been filled. The points before the first center use the first measure, the points after the last center (output when flushing) use the last one.<br>
+ * Only the points of the current window are kept in memory.
+ * <br><br>
+ <!-- globalinfo-end -->
+ *
+ <!-- options-start -->
+ * <pre>-logging-level &lt;OFF|SEVERE|WARNING|INFO|CONFIG|FINE|FINER|FINEST&gt; (property: loggingLevel)
+ * &nbsp;&nbsp;&nbsp;The logging level for outputting errors and debugging output.
+ * &nbsp;&nbsp;&nbsp;default: WARNING
+ * </pre>
+ *
+ * <pre>-no-id-update &lt;boolean&gt; (property: dontUpdateID)
+ * &nbsp;&nbsp;&nbsp;If enabled, suppresses updating the ID of adams.data.id.IDHandler data containers.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ *
+ * <pre>-window &lt;int&gt; (property: windowSize)
+ * &nbsp;&nbsp;&nbsp;The size of the sliding window.
+ * &nbsp;&nbsp;&nbsp;default: 20
+ * &nbsp;&nbsp;&nbsp;minimum: 1
+ * </pre>
+ *
+ * <pre>-measure &lt;MEDIAN|MEAN&gt; (property: measure)
+ * &nbsp;&nbsp;&nbsp;The measure to use for calculating the new value.
+ * &nbsp;&nbsp;&nbsp;default: MEDIAN
+ * </pre>
+ *
+ <!-- options-end -->
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class TimeseriesStreamingSlidingWindow
+  extends AbstractStreamingTimeseriesFilter {
+
+  /** for serialization. */
+  private static final long serialVersionUID = -2996577713212049366L;
+
+  /** the window size. */
+  protected int m_WindowSize;
+
+  /** the measure to use. */
+  protected Measure m_Measure;
+
+  /** the timestamps in the window (ring buffer). */
+  protected long[] m_Timestamps;
+
+  /** the values in the window (ring buffer). */
+  protected double[] m_Values;
+
+  /** the values in the window, sorted ascending. */
+  protected double[] m_Sorted;
+
+  /** the position of the oldest point in the ring buffer. */
+  protected int m_Head;
+
+  /** the number of points in the window. */
+  protected int m_Count;
+
+  /** whether a complete window has been processed already. */
+  protected boolean m_Filled;
+
+  /** the last measure. */
+  protected double m_LastMeasure;
+
+  /**
+   * Returns a string describing the object.
+   *
+   * @return 			a description suitable for displaying in the gui
+   */
+  @Override
+  public String globalInfo() {
+    return
+      "Incrementally smoothes the stream using the median/average inside a "
+	+ "sliding window, like " + TimeseriesSlidingWindow.class.getName() + ".\n"
+	+ "The measure is used as new value for the point in the center of the "
+	+ "window, i.e., a point becomes available once the window to its right "
+	+ "has been filled. The points before the first center use the first "
+	+ "measure, the points after the last center (output when flushing) "
+	+ "use the last one.\n"
+	+ "Only the points of the current window are kept in memory.";
+  }
+
+  /**
+   * Adds options to the internal list of options.
+   */
+  @Override
+  public void defineOptions() {
+    super.defineOptions();
+
+    m_OptionManager.add(
+	    "window", "windowSize",
+	    20, 1, null);
+
+    m_OptionManager.add(
+	    "measure", "measure",
+	    Measure.MEDIAN);
+  }
+
+  /**
+   * Sets the window size.
+   *
+   * @param value 	the size
+   */
+  public void setWindowSize(int value) {
+    if (getOptionManager().isValid("windowSize", value)) {
+      m_WindowSize = value;
+      reset();
+    }
+  }
+
+  /**
+   * Returns the window size.
+   *
+   * @return 		the size
+   */
+  public int getWindowSize() {
+    return m_WindowSize;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String windowSizeTipText() {
+    return "The size of the sliding window.";
+  }
+
+  /**
+   * Sets the measure to use.
+   *
+   * @param value 	the measure
+   */
+  public void setMeasure(Measure value) {
+    m_Measure = value;
+    reset();
+  }
+
+  /**
+   * Returns the measure in use.
+   *
+   * @return 		the measure
+   */
+  public Measure getMeasure() {
+    return m_Measure;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String measureTipText() {
+    return "The measure to use for calculating the new value.";
+  }
+
+  /**
+   * Discards the filter-specific state of the current stream.
+   */
+  @Override
+  protected void doResetState() {
+    m_Timestamps  = null;
+    m_Values      = null;
+    m_Sorted      = null;
+    m_Head        = 0;
+    m_Count       = 0;
+    m_Filled      = false;
+    m_LastMeasure = Double.NaN;
+  }
+
+  /**
+   * Returns the ring buffer position of the i-th point in the window.
+   *
+   * @param i		the index in the window (0 = oldest)
+   * @return		the position in the buffer
+   */
+  protected int pos(int i) {
+    return (m_Head + i) % m_WindowSize;
+  }
+
+  /**
+   * Calculates the measure for the current window.
+   *
+   * @return		the measure
+   */
+  protected double calcMeasure() {
+    double	result;
+    int		i;
+
+    switch (m_Measure) {
+      case MEDIAN:
+	if (m_Count % 2 == 0)
+	  result = (m_Sorted[m_Count / 2 - 1] + m_Sorted[m_Count / 2]) / 2;
+	else
+	  result = m_Sorted[m_Count / 2];
+	break;
+
+      case MEAN:
+	result = 0;
+	for (i = 0; i < m_Count; i++)
+	  result += m_Values[pos(i)];
+	result /= m_Count;
+	break;
+
+      default:
+	throw new IllegalStateException("Unhandled measure: " + m_Measure);
+    }
+
+    return result;
+  }
+
+  /**
+   * Removes the value from the sorted values.
+   *
+   * @param value	the value to remove
+   */
+  protected void removeSorted(double value) {
+    int		index;
+
+    index = Arrays.binarySearch(m_Sorted, 0, m_Count, value);
+    if (index < m_Count - 1)
+      System.arraycopy(m_Sorted, index + 1, m_Sorted, index, m_Count - index - 1);
+  }
+
+  /**
+   * Inserts the value into the sorted values.
+   *
+   * @param value	the value to insert
+   * @param count	the number of sorted values present
+   */
+  protected void insertSorted(double value, int count) {
+    int		index;
+
+    index = Arrays.binarySearch(m_Sorted, 0, count, value);
+    if (index < 0)
+      index = -index - 1;
+    if (index < count)
+      System.arraycopy(m_Sorted, index, m_Sorted, index + 1, count - index);
+    m_Sorted[index] = value;
+  }
+
+  /**
+   * Processes the next point of the stream, adding any points that became
+   * available to the output.
+   *
+   * @param timestamp	the timestamp of the point (msecs since epoch)
+   * @param value	the value of the point
+   * @param output	for storing the generated points
+   */
+  @Override
+  protected void update(long timestamp, double value, ArrayTimeseries output) {
+    int		center;
+    int		i;
+
+    if (m_Timestamps == null) {
+      m_Timestamps = new long[m_WindowSize];
+      m_Values     = new double[m_WindowSize];
+      m_Sorted     = new double[m_WindowSize];
+    }
+
+    // add point, dropping the oldest one if necessary
+    if (m_Count == m_WindowSize) {
+      if (m_Measure == Measure.MEDIAN)
+	removeSorted(m_Values[m_Head]);
+      m_Head = pos(1);
+      m_Count--;
+    }
+    m_Timestamps[pos(m_Count)] = timestamp;
+    m_Values[pos(m_Count)]     = value;
+    if (m_Measure == Measure.MEDIAN)
+      insertSorted(value, m_Count);
+    m_Count++;
+
+    if (m_Count < m_WindowSize)
+      return;
+
+    m_LastMeasure = calcMeasure();
+    center        = m_WindowSize / 2;
+
+    // points left of the first center
+    if (!m_Filled) {
+      for (i = 0; i < center; i++)
+	output.add(m_Timestamps[pos(i)], m_LastMeasure);
+      m_Filled = true;
+    }
+
+    output.add(m_Timestamps[pos(center)], m_LastMeasure);
+  }
+
+  /**
+   * Adds the points right of the last center to the output. If the window
+   * was never filled, all points use the measure of the partial window.
+   *
+   * @param output	for storing the generated points
+   */
+  @Override
+  protected void doFlush(ArrayTimeseries output) {
+    int		i;
+
+    if (m_Count == 0)
+      return;
+
+    if (!m_Filled) {
+      m_LastMeasure = calcMeasure();
+      for (i = 0; i < m_Count; i++)
+	output.add(m_Timestamps[pos(i)], m_LastMeasure);
+    }
+    else {
+      for (i = m_WindowSize / 2 + 1; i < m_Count; i++)
+	output.add(m_Timestamps[pos(i)], m_LastMeasure);
+    }
+  }
+}
@@ -15,14 +15,14 @@
 
 /**
  * TimeseriesValueSubset.java
- * Copyright (C) 2014-2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.filter;
 
 import adams.data.timeseries.Timeseries;
-import adams.data.timeseries.TimeseriesPoint;
+import adams.data.timeseries.TimeseriesUtils;
 
-import java.util.List;
+import java.util.Arrays;
 
 /**
  <!-- globalinfo-start -->
@@ -175,29 +175,28 @@ public class TimeseriesValueSubset
    */
   @Override
   protected Timeseries processData(Timeseries data) {
-    Timeseries			result;
-    List<TimeseriesPoint>	points;
-    TimeseriesPoint		point;
-    boolean			adding;
-    int				i;
+    Timeseries		result;
+    double[]		values;
+    int			start;
+    int			end;
 
     result = data.getHeader();
-    points = (List<TimeseriesPoint>) data.toList();
-    adding = false;
-
-    for (i = 0; i < points.size(); i++) {
-      point = points.get(i);
-      if ((point.getValue() >= m_Minimum) && (point.getValue() <= m_Maximum)) {
-	adding = true;
-      }
-      else {
-	if (adding)
-	  break;
-	continue;
-      }
-      result.add((TimeseriesPoint) point.getClone());
-    }
-    
+    values = TimeseriesUtils.toDoubleArray(data);
+
+    // first block of values within the range
+    start = 0;
+    while ((start < values.length) && ((values[start] < m_Minimum) || (values[start] > m_Maximum)))
+      start++;
+    end = start;
+    while ((end < values.length) && (values[end] >= m_Minimum) && (values[end] <= m_Maximum))
+      end++;
+
+    if (end > start)
+      TimeseriesUtils.addAll(
+	result,
+	Arrays.copyOfRange(TimeseriesUtils.toTimestampArray(data), start, end),
+	Arrays.copyOfRange(values, start, end));
+
     return result;
   }
 }
@@ -15,16 +15,15 @@
 
 /**
  * TimeseriesWindow.java
- * Copyright (C) 2013-2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2013-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.filter;
 
-import adams.core.DateUtils;
 import adams.core.base.BaseDateTime;
 import adams.data.timeseries.Timeseries;
-import adams.data.timeseries.TimeseriesPoint;
+import adams.data.timeseries.TimeseriesUtils;
 
-import java.util.Date;
+import java.util.Arrays;
 
 /**
  <!-- globalinfo-start -->
@@ -209,27 +208,30 @@ public class TimeseriesWindow
   @Override
   protected Timeseries processData(Timeseries data) {
     Timeseries		result;
-    TimeseriesPoint	point;
+    long[]		timestamps;
+    double[]		values;
+    long		start;
+    long		end;
+    boolean		outside;
     int			i;
-    Date		start;
-    Date		end;
-
-    result = data.getHeader();
-    start  = m_Start.dateValue();
-    end    = m_End.dateValue();
-    for (i = 0; i < data.size(); i++) {
-      point = (TimeseriesPoint) data.toList().get(i);
-      if (m_Invert) {
-	if (!(DateUtils.isBefore(start, point.getTimestamp()) || DateUtils.isAfter(end, point.getTimestamp())))
-	  continue;
-      }
-      else {
-	if (DateUtils.isBefore(start, point.getTimestamp()) || DateUtils.isAfter(end, point.getTimestamp()))
-	  continue;
-      }
-      result.add(new TimeseriesPoint(point.getTimestamp(), point.getValue()));
+    int			n;
+
+    result     = data.getHeader();
+    start      = m_Start.dateValue().getTime();
+    end        = m_End.dateValue().getTime();
+    timestamps = TimeseriesUtils.toTimestampArray(data);
+    values     = TimeseriesUtils.toDoubleArray(data);
+    n          = 0;
+    for (i = 0; i < timestamps.length; i++) {
+      outside = (timestamps[i] < start) || (timestamps[i] > end);
+      if (outside != m_Invert)
+	continue;
+      timestamps[n] = timestamps[i];
+      values[n]     = values[i];
+      n++;
     }
-    
+    TimeseriesUtils.addAll(result, Arrays.copyOf(timestamps, n), Arrays.copyOf(values, n));
+
     return result;
   }
 }
@@ -15,11 +15,12 @@
 
 /**
  * AbstractTimeseriesReader.java
- * Copyright (C) 2013 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2013-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.io.input;
 
 import adams.core.ClassLister;
+import adams.data.timeseries.ArrayTimeseries;
 import adams.data.timeseries.Timeseries;
 
 /**
@@ -34,6 +35,66 @@ public abstract class AbstractTimeseriesReader
   /** for serialization. */
   private static final long serialVersionUID = -3384980618158494184L;
 
+  /** whether to store the data in primitive arrays. */
+  protected boolean m_Compact;
+
+  /**
+   * Adds options to the internal list of options.
+   */
+  @Override
+  public void defineOptions() {
+    super.defineOptions();
+
+    m_OptionManager.add(
+	    "compact", "compact",
+	    false);
+  }
+
+  /**
+   * Sets whether to store the timeseries in primitive arrays.
+   *
+   * @param value 	true if to use arrays
+   */
+  public void setCompact(boolean value) {
+    m_Compact = value;
+    reset();
+  }
+
+  /**
+   * Returns whether to store the timeseries in primitive arrays.
+   *
+   * @return 		true if to use arrays
+   */
+  public boolean getCompact() {
+    return m_Compact;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String compactTipText() {
+    return
+	"If enabled, the timeseries get stored in primitive arrays ("
+	  + ArrayTimeseries.class.getName() + "), which uses less memory "
+	  + "and speeds up filters for large series.";
+  }
+
+  /**
+   * Creates a new, empty timeseries, taking the compact flag into account.
+   *
+   * @return		the new timeseries
+   * @see		#getCompact()
+   */
+  protected Timeseries newTimeseries() {
+    if (m_Compact)
+      return new ArrayTimeseries();
+    else
+      return new Timeseries();
+  }
+
   /**
    * Returns a list with classnames of readers.
    *
@@ -15,7 +15,7 @@
 
 /**
  * SimpleTimeseriesReader.java
- * Copyright (C) 2013-2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2013-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.io.input;
 
@@ -26,6 +26,7 @@ import adams.core.Utils;
 import adams.core.io.FileUtils;
 import adams.data.DateFormatString;
 import adams.data.report.Report;
+import adams.data.timeseries.ArrayTimeseries;
 import adams.data.timeseries.Timeseries;
 import adams.data.timeseries.TimeseriesPoint;
 
@@ -137,9 +138,8 @@ public class SimpleTimeseriesReader
   @Override
   protected void readData() {
     Timeseries		series;
-    TimeseriesPoint	point;
+    ArrayTimeseries	compact;
     String		line;
-    List<String>	content;
     List<String>	report;
     Report		sd;
     BufferedReader	reader;
@@ -152,7 +152,8 @@ public class SimpleTimeseriesReader
     fr      = null;
     fis     = null;
     dformat = m_TimestampFormat.toDateFormat();
-    series  = new Timeseries();
+    series  = newTimeseries();
+    compact = (series instanceof ArrayTimeseries) ? (ArrayTimeseries) series : null;
     
     try {
       if (m_Input.getName().endsWith(".gz")) {
@@ -163,18 +164,11 @@ public class SimpleTimeseriesReader
 	fr     = new FileReader(m_Input.getAbsolutePath());
 	reader = new BufferedReader(fr);
       }
-      
-      // read whole file
-      content  = new ArrayList<String>();
-      while (((line = reader.readLine()) != null))
-	content.add(line);
 
       // report?
-      report = new ArrayList<String>();
-      while ((content.size() > 0) && content.get(0).startsWith(Properties.COMMENT)) {
-	report.add(content.get(0));
-	content.remove(0);
-      }
+      report = new ArrayList<>();
+      while (((line = reader.readLine()) != null) && line.startsWith(Properties.COMMENT))
+	report.add(line);
       if (report.size() > 0) {
 	sd = Report.parseProperties(Properties.fromComment(Utils.flatten(report, "\n")));
 	if (sd != null) {
@@ -183,18 +177,17 @@ public class SimpleTimeseriesReader
 	}
       }
 
-      // header - ignored
-      content.remove(0);
-
+      // header (first non-comment line) - ignored
       // data points
-      while (content.size() > 0) {
-	line   = content.get(0).trim();
-	content.remove(0);
+      while ((line != null) && ((line = reader.readLine()) != null)) {
+	line = line.trim();
 	if (line.length() == 0)
 	  continue;
 	parts = line.split(",");
-	point = new TimeseriesPoint(dformat.parse(Utils.unDoubleQuote(parts[0])), Double.parseDouble(parts[1]));
-	series.add(point);
+	if (compact != null)
+	  compact.add(dformat.parse(Utils.unDoubleQuote(parts[0])).getTime(), Double.parseDouble(parts[1]));
+	else
+	  series.add(new TimeseriesPoint(dformat.parse(Utils.unDoubleQuote(parts[0])), Double.parseDouble(parts[1])));
       }
       
       m_ReadData.add(series);
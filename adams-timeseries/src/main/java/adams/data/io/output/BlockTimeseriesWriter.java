@@ -0,0 +1,182 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * BlockTimeseriesWriter.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.io.output;
+
+import adams.data.io.input.BlockTimeseriesReader;
+import adams.data.timeseries.BlockTimeseriesFile;
+import adams.data.timeseries.Timeseries;
+
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Writer for the block-indexed timeseries format, which stores the points
+ * in (optionally compressed) blocks with an index of their time and value
+ * ranges. See {@link BlockTimeseriesFile} for details.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class BlockTimeseriesWriter
+  extends AbstractTimeseriesWriter {
+
+  /** for serialization. */
+  private static final long serialVersionUID = 6205396712738419652L;
+
+  /** the number of points per block. */
+  protected int m_BlockSize;
+
+  /** whether to compress the blocks. */
+  protected boolean m_Compress;
+
+  /**
+   * Returns a string describing the object.
+   *
+   * @return 			a description suitable for displaying in the gui
+   */
+  @Override
+  public String globalInfo() {
+    return
+      "Writer for the block-indexed timeseries format.\n"
+	+ "The points are stored in blocks of fixed size, with an index of the "
+	+ "time and value ranges of the blocks, allowing range queries and "
+	+ "downsampled reads of large timeseries without decoding the whole file.";
+  }
+
+  /**
+   * Adds options to the internal list of options.
+   */
+  @Override
+  public void defineOptions() {
+    super.defineOptions();
+
+    m_OptionManager.add(
+	    "block-size", "blockSize",
+	    4096, 1, null);
+
+    m_OptionManager.add(
+	    "compress", "compress",
+	    true);
+  }
+
+  /**
+   * Returns a string describing the format (used in the file chooser).
+   *
+   * @return 			a description suitable for displaying in the
+   * 				file chooser
+   */
+  @Override
+  public String getFormatDescription() {
+    return "Block timeseries";
+  }
+
+  /**
+   * Returns the extension(s) of the format.
+   *
+   * @return 			the extension (without the dot!)
+   */
+  @Override
+  public String[] getFormatExtensions() {
+    return new String[]{BlockTimeseriesReader.FILE_FORMAT};
+  }
+
+  /**
+   * Sets the number of points per block.
+   *
+   * @param value 	the size
+   */
+  public void setBlockSize(int value) {
+    if (getOptionManager().isValid("blockSize", value)) {
+      m_BlockSize = value;
+      reset();
+    }
+  }
+
+  /**
+   * Returns the number of points per block.
+   *
+   * @return 		the size
+   */
+  public int getBlockSize() {
+    return m_BlockSize;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String blockSizeTipText() {
+    return "The number of points per block; smaller blocks allow more selective reads at the expense of a larger index.";
+  }
+
+  /**
+   * Sets whether to compress the blocks.
+   *
+   * @param value 	true if to compress
+   */
+  public void setCompress(boolean value) {
+    m_Compress = value;
+    reset();
+  }
+
+  /**
+   * Returns whether to compress the blocks.
+   *
+   * @return 		true if to compress
+   */
+  public boolean getCompress() {
+    return m_Compress;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String compressTipText() {
+    return "If enabled, the blocks get compressed (deflate).";
+  }
+
+  /**
+   * Performs the actual writing.
+   * <br><br>
+   * Writes only the first timeseries to the file.
+   *
+   * @param data	the data to write
+   * @return		true if successfully written
+   */
+  @Override
+  protected boolean writeData(List<Timeseries> data) {
+    boolean	result;
+
+    try {
+      BlockTimeseriesFile.write(m_Output, data.get(0), m_BlockSize, m_Compress);
+      result = true;
+    }
+    catch (Exception e) {
+      result = false;
+      getLogger().log(Level.SEVERE, "Failed to write timeseries to: " + m_Output, e);
+    }
+
+    return result;
+  }
+}
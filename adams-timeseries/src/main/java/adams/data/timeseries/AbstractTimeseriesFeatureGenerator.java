@@ -15,18 +15,20 @@
 
 /*
  * AbstractTimeseriesFeatureGenerator.java
- * Copyright (C) 2014-2018 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.timeseries;
 
 import adams.core.CleanUpHandler;
+import adams.core.Performance;
 import adams.core.QuickInfoSupporter;
 import adams.core.ShallowCopySupporter;
 import adams.core.base.BaseString;
 import adams.core.option.AbstractOptionHandler;
 import adams.core.option.OptionUtils;
 import adams.data.featureconverter.AbstractFeatureConverter;
+import adams.data.featureconverter.BatchFeatureGenerationHelper;
 import adams.data.featureconverter.HeaderDefinition;
 import adams.data.featureconverter.SpreadSheet;
 import adams.data.report.DataType;
@@ -34,6 +36,7 @@ import adams.data.report.Field;
 import adams.data.report.Report;
 
 import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Level;
 
@@ -326,6 +329,24 @@ public abstract class AbstractTimeseriesFeatureGenerator<T extends Timeseries>
     return result;
   }
   
+  /**
+   * Creates the header using the given timeseries, if necessary.
+   *
+   * @param timeseries	the timeseries to use for creating the header
+   * @see		#createHeader(Timeseries)
+   */
+  protected void initHeader(T timeseries) {
+    HeaderDefinition	header;
+
+    if (!m_Converter.isInitialized()) {
+      header = createHeader(timeseries);
+      if (header == null)
+	throw new IllegalStateException("Failed to create header!");
+      header = postProcessHeader(header);
+      m_Converter.generateHeader(header);
+    }
+  }
+
   /**
    * Process the given timeseries. This method will also create the header if
    * necessary.
@@ -335,20 +356,13 @@ public abstract class AbstractTimeseriesFeatureGenerator<T extends Timeseries>
    */
   public Object[] generate(T timeseries) {
     Object[]		result;
-    HeaderDefinition	header;
     List<Object>[]	data;
     int			i;
 
     checkData(timeseries);
 
     // create header if necessary
-    if (!m_Converter.isInitialized()) {
-      header = createHeader(timeseries);
-      if (header == null)
-	throw new IllegalStateException("Failed to create header!");
-      header = postProcessHeader(header);
-      m_Converter.generateHeader(header);
-    }
+    initHeader(timeseries);
 
     data   = generateRows(timeseries);
     data   = postProcessRows(timeseries, data);
@@ -359,6 +373,76 @@ public abstract class AbstractTimeseriesFeatureGenerator<T extends Timeseries>
     return result;
   }
 
+  /**
+   * Processes the given timeseries, generating the features of the
+   * timeseries in parallel. The header gets created from the first
+   * timeseries, if necessary. The rows are returned in the order of the
+   * timeseries.
+   *
+   * @param timeseries	the timeseries to process
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @return		the generated rows
+   */
+  public Object[] generate(T[] timeseries, int numThreads) {
+    return generate(Arrays.asList(timeseries), numThreads);
+  }
+
+  /**
+   * Processes the given timeseries, generating the features of the
+   * timeseries in parallel. The header gets created from the first
+   * timeseries, if necessary. The rows are returned in the order of the
+   * timeseries.
+   *
+   * @param timeseries	the timeseries to process
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @return		the generated rows
+   */
+  public Object[] generate(List<T> timeseries, int numThreads) {
+    for (T series: timeseries)
+      checkData(series);
+
+    // create header if necessary
+    if (!timeseries.isEmpty())
+      initHeader(timeseries.get(0));
+
+    return BatchFeatureGenerationHelper.generate(
+      m_Converter, timeseries, numThreads,
+      (T series) -> postProcessRows(series, generateRows(series)),
+      () -> {
+	final AbstractTimeseriesFeatureGenerator<T> generator = (AbstractTimeseriesFeatureGenerator<T>) shallowCopy(true);
+	return (T series) -> generator.postProcessRows(series, generator.generateRows(series));
+      });
+  }
+
+  /**
+   * Processes the given timeseries, generating the features of the
+   * timeseries in parallel, and assembles the rows into a single dataset.
+   * The header gets created from the first timeseries, if necessary.
+   *
+   * @param timeseries	the timeseries to process
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @return		the dataset
+   * @see		AbstractFeatureConverter#canGenerateDataset()
+   */
+  public Object generateDataset(List<T> timeseries, final int numThreads) {
+    return BatchFeatureGenerationHelper.generateDataset(m_Converter, timeseries, (List<T> list) -> generate(list, numThreads));
+  }
+
+  /**
+   * Processes the given timeseries, generating the features of the
+   * timeseries in parallel, and assembles the rows into a single dataset.
+   * The header gets created from the first timeseries, if necessary.
+   *
+   * @param timeseries	the timeseries to process
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @return		the dataset
+   * @see		AbstractFeatureConverter#canGenerateDataset()
+   */
+  public Object generateDataset(T[] timeseries, int numThreads) {
+    return generateDataset(Arrays.asList(timeseries), numThreads);
+  }
+
+
   /**
    * Compares this object with the specified object for order.  Returns a
    * negative integer, zero, or a positive integer as this object is less
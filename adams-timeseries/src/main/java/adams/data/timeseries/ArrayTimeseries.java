@@ -0,0 +1,778 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * ArrayTimeseries.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.timeseries;
+
+import adams.data.container.DataPointComparator;
+import adams.data.report.Report;
+import adams.data.statistics.TimeseriesStatistic;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+
+/**
+ * Timeseries that stores the timestamps (msecs since epoch) and values in
+ * primitive arrays rather than as a list of {@link TimeseriesPoint} objects,
+ * requiring only 16 bytes per point.
+ * <br>
+ * The {@link TimeseriesPoint} objects returned by {@link #toList()},
+ * {@link #iterator()} etc are created on the fly as {@link ArrayTimeseriesPoint}
+ * views, which write changes to their value or timestamp through to the
+ * series (located via their timestamp). Code that processes large series
+ * should use the primitive accessors like {@link #getTimestamp(int)},
+ * {@link #getValue(int)} or {@link TimeseriesUtils#toTimestampArray(Timeseries)}.
+ * <br>
+ * Appending points in chronological order (the common case when reading
+ * data) is O(1), inserting out of order requires shifting the arrays.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class ArrayTimeseries
+  extends Timeseries<TimeseriesPoint, Report, TimeseriesStatistic> {
+
+  private static final long serialVersionUID = 6043296117306591541L;
+
+  /**
+   * Point that writes changes of its value or timestamp through to the
+   * series it was obtained from. The point is located in the series via its
+   * (current) timestamp, so it stays valid when other points get inserted
+   * or removed.
+   */
+  public static class ArrayTimeseriesPoint
+    extends TimeseriesPoint {
+
+    private static final long serialVersionUID = -3524085924370960377L;
+
+    /** the owning series, null if detached. */
+    protected transient ArrayTimeseries m_Owner;
+
+    /**
+     * Initializes a detached point.
+     */
+    public ArrayTimeseriesPoint() {
+      super();
+    }
+
+    /**
+     * Initializes the point.
+     *
+     * @param owner	the series the point belongs to
+     * @param timestamp	the timestamp (msecs since epoch)
+     * @param value	the value
+     */
+    public ArrayTimeseriesPoint(ArrayTimeseries owner, long timestamp, double value) {
+      super(new Date(timestamp), value);
+      m_Owner = owner;
+    }
+
+    /**
+     * Returns the owning series.
+     *
+     * @return		the series, null if detached
+     */
+    public ArrayTimeseries getOwner() {
+      return m_Owner;
+    }
+
+    /**
+     * Sets the timestamp, moving the point in the series.
+     *
+     * @param value	the timestamp
+     */
+    @Override
+    public void setTimestamp(Date value) {
+      Date	old;
+
+      old = m_Timestamp;
+      super.setTimestamp(value);
+      if ((m_Owner != null) && (old != null))
+	m_Owner.moveTimestamp(old.getTime(), value.getTime(), m_Value);
+    }
+
+    /**
+     * Sets the value, updating the series.
+     *
+     * @param value	the value
+     */
+    @Override
+    public void setValue(double value) {
+      super.setValue(value);
+      if (m_Owner != null)
+	m_Owner.updateValue(m_Timestamp.getTime(), value);
+    }
+  }
+
+  /** the default capacity. */
+  public final static int DEFAULT_CAPACITY = 16;
+
+  /** the timestamps (msecs since epoch), sorted ascending. */
+  protected long[] m_Timestamps;
+
+  /** the values. */
+  protected double[] m_Values;
+
+  /** the number of points. */
+  protected int m_Size;
+
+  /**
+   * Initializes the timeseries.
+   */
+  public ArrayTimeseries() {
+    this("none");
+  }
+
+  /**
+   * Initializes the timeseries with the given ID.
+   *
+   * @param id		the ID of the timeseries
+   */
+  public ArrayTimeseries(String id) {
+    this(id, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Initializes the timeseries with the given ID and capacity.
+   *
+   * @param id		the ID of the timeseries
+   * @param capacity	the initial capacity
+   */
+  public ArrayTimeseries(String id, int capacity) {
+    super(id);
+
+    m_Timestamps = new long[Math.max(1, capacity)];
+    m_Values     = new double[m_Timestamps.length];
+    m_Size       = 0;
+  }
+
+  /**
+   * Creates a new point for the given index, attached to this series
+   * as parent. Changes to the point get written through to the series.
+   *
+   * @param index	the index of the point
+   * @return		the point
+   * @see		ArrayTimeseriesPoint
+   */
+  protected TimeseriesPoint createPoint(int index) {
+    TimeseriesPoint	result;
+
+    result = new ArrayTimeseriesPoint(this, m_Timestamps[index], m_Values[index]);
+    result.setParent(this);
+
+    return result;
+  }
+
+  /**
+   * Updates the value of the point with the given timestamp (if present).
+   *
+   * @param timestamp	the timestamp of the point
+   * @param value	the new value
+   */
+  protected synchronized void updateValue(long timestamp, double value) {
+    int		index;
+
+    index = indexOf(timestamp);
+    if (index < 0)
+      return;
+    m_Values[index] = value;
+    modifiedListener(true);
+  }
+
+  /**
+   * Moves the point with the old timestamp (if present) to the new
+   * timestamp.
+   *
+   * @param oldTimestamp	the old timestamp of the point
+   * @param newTimestamp	the new timestamp of the point
+   * @param value		the value of the point
+   */
+  protected synchronized void moveTimestamp(long oldTimestamp, long newTimestamp, double value) {
+    int		index;
+
+    index = indexOf(oldTimestamp);
+    if (index < 0)
+      return;
+    doRemove(index);
+    doAdd(newTimestamp, value);
+    modifiedListener(true);
+  }
+
+  /**
+   * Checks the index.
+   *
+   * @param index	the index to check
+   * @throws IndexOutOfBoundsException	if invalid index
+   */
+  protected void checkIndex(int index) {
+    if ((index < 0) || (index >= m_Size))
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + m_Size);
+  }
+
+  /**
+   * Returns the timestamp (msecs since epoch) at the specified position.
+   *
+   * @param index	the position
+   * @return		the timestamp
+   */
+  public long getTimestamp(int index) {
+    checkIndex(index);
+    return m_Timestamps[index];
+  }
+
+  /**
+   * Returns the value at the specified position.
+   *
+   * @param index	the position
+   * @return		the value
+   */
+  public double getValue(int index) {
+    checkIndex(index);
+    return m_Values[index];
+  }
+
+  /**
+   * Sets the value at the specified position.
+   *
+   * @param index	the position
+   * @param value	the new value
+   */
+  public synchronized void setValue(int index, double value) {
+    checkIndex(index);
+    m_Values[index] = value;
+    modifiedListener(true);
+  }
+
+  /**
+   * Returns a copy of the timestamps (msecs since epoch).
+   *
+   * @return		the timestamps
+   */
+  public synchronized long[] getTimestamps() {
+    return Arrays.copyOf(m_Timestamps, m_Size);
+  }
+
+  /**
+   * Returns a copy of the values.
+   *
+   * @return		the values
+   */
+  public synchronized double[] getValues() {
+    return Arrays.copyOf(m_Values, m_Size);
+  }
+
+  /**
+   * Returns the position of the timestamp.
+   *
+   * @param timestamp	the timestamp (msecs since epoch) to look for
+   * @return		the position, otherwise (-(insertion point) - 1)
+   * @see		Arrays#binarySearch(long[], int, int, long)
+   */
+  public synchronized int indexOf(long timestamp) {
+    // shortcut for appending
+    if ((m_Size == 0) || (timestamp > m_Timestamps[m_Size - 1]))
+      return -m_Size - 1;
+    return Arrays.binarySearch(m_Timestamps, 0, m_Size, timestamp);
+  }
+
+  /**
+   * Ensures that the arrays can hold the specified number of points.
+   *
+   * @param minCapacity	the minimum capacity
+   */
+  @Override
+  public synchronized void ensureCapacity(int minCapacity) {
+    int		capacity;
+
+    if (minCapacity <= m_Timestamps.length)
+      return;
+
+    capacity = Math.max(minCapacity, m_Timestamps.length + (m_Timestamps.length >> 1));
+    m_Timestamps = Arrays.copyOf(m_Timestamps, capacity);
+    m_Values     = Arrays.copyOf(m_Values, capacity);
+  }
+
+  /**
+   * Trims the arrays to the number of points.
+   */
+  @Override
+  public synchronized void trimToSize() {
+    if (m_Timestamps.length > m_Size) {
+      m_Timestamps = Arrays.copyOf(m_Timestamps, Math.max(1, m_Size));
+      m_Values     = Arrays.copyOf(m_Values, m_Timestamps.length);
+    }
+  }
+
+  /**
+   * Adds the point, replacing any existing point with the same timestamp,
+   * without notifying the listener.
+   *
+   * @param timestamp	the timestamp (msecs since epoch)
+   * @param value	the value
+   */
+  protected void doAdd(long timestamp, double value) {
+    int		index;
+
+    index = indexOf(timestamp);
+    if (index >= 0) {
+      m_Values[index] = value;
+    }
+    else {
+      index = -index - 1;
+      ensureCapacity(m_Size + 1);
+      if (index < m_Size) {
+	System.arraycopy(m_Timestamps, index, m_Timestamps, index + 1, m_Size - index);
+	System.arraycopy(m_Values, index, m_Values, index + 1, m_Size - index);
+      }
+      m_Timestamps[index] = timestamp;
+      m_Values[index]     = value;
+      m_Size++;
+    }
+  }
+
+  /**
+   * Adds the point, replacing any existing point with the same timestamp.
+   *
+   * @param timestamp	the timestamp (msecs since epoch)
+   * @param value	the value
+   * @return		true if modified
+   */
+  public synchronized boolean add(long timestamp, double value) {
+    doAdd(timestamp, value);
+    return modifiedListener(true);
+  }
+
+  /**
+   * Adds the points, replacing any existing points with the same timestamps.
+   *
+   * @param timestamps	the timestamps (msecs since epoch)
+   * @param values	the values
+   * @return		true if modified
+   */
+  public synchronized boolean addAll(long[] timestamps, double[] values) {
+    int		i;
+
+    if (timestamps.length != values.length)
+      throw new IllegalArgumentException("Number of timestamps and values differ: " + timestamps.length + " != " + values.length);
+
+    ensureCapacity(m_Size + timestamps.length);
+    for (i = 0; i < timestamps.length; i++)
+      doAdd(timestamps[i], values[i]);
+
+    return modifiedListener(timestamps.length > 0);
+  }
+
+  /**
+   * Adds the point, replacing any existing point with the same timestamp.
+   *
+   * @param point	the point to add
+   * @return		true if modified
+   */
+  @Override
+  public synchronized boolean add(TimeseriesPoint point) {
+    return add(point.getTimestamp().getTime(), point.getValue());
+  }
+
+  /**
+   * Adds the points, replacing any existing points with the same timestamps.
+   *
+   * @param points	the points to add
+   * @return		true if modified
+   */
+  @Override
+  public synchronized boolean addAll(Collection points) {
+    TimeseriesPoint	point;
+
+    ensureCapacity(m_Size + points.size());
+    for (Object obj: points) {
+      point = (TimeseriesPoint) obj;
+      doAdd(point.getTimestamp().getTime(), point.getValue());
+    }
+
+    return modifiedListener(points.size() > 0);
+  }
+
+  /**
+   * Removes the point at the specified position.
+   *
+   * @param index	the position
+   */
+  protected void doRemove(int index) {
+    if (index < m_Size - 1) {
+      System.arraycopy(m_Timestamps, index + 1, m_Timestamps, index, m_Size - index - 1);
+      System.arraycopy(m_Values, index + 1, m_Values, index, m_Size - index - 1);
+    }
+    m_Size--;
+  }
+
+  /**
+   * Removes the point with the same timestamp.
+   *
+   * @param point	the point to remove
+   * @return		true if removed
+   */
+  @Override
+  public synchronized boolean remove(Object point) {
+    int		index;
+
+    if (!(point instanceof TimeseriesPoint))
+      return false;
+
+    index = indexOf(((TimeseriesPoint) point).getTimestamp().getTime());
+    if (index < 0)
+      return false;
+    doRemove(index);
+
+    return modifiedListener(true);
+  }
+
+  /**
+   * Removes all the points with the same timestamps.
+   *
+   * @param points	the points to remove
+   * @return		true if at least one point removed
+   */
+  @Override
+  public synchronized boolean removeAll(Collection points) {
+    boolean	result;
+    int		index;
+
+    result = false;
+    for (Object point: points) {
+      if (!(point instanceof TimeseriesPoint))
+	continue;
+      index = indexOf(((TimeseriesPoint) point).getTimestamp().getTime());
+      if (index >= 0) {
+	doRemove(index);
+	result = true;
+      }
+    }
+
+    return modifiedListener(result);
+  }
+
+  /**
+   * Keeps only the points with the same timestamps.
+   *
+   * @param points	the points to keep
+   * @return		true if at least one point removed
+   */
+  @Override
+  public synchronized boolean retainAll(Collection points) {
+    ArrayTimeseries	keep;
+    int			i;
+    int			n;
+
+    keep = new ArrayTimeseries();
+    keep.addAll(points);
+    n = 0;
+    for (i = 0; i < m_Size; i++) {
+      if (keep.indexOf(m_Timestamps[i]) >= 0) {
+	m_Timestamps[n] = m_Timestamps[i];
+	m_Values[n]     = m_Values[i];
+	n++;
+      }
+    }
+    if (n == m_Size)
+      return false;
+    m_Size = n;
+
+    return modifiedListener(true);
+  }
+
+  /**
+   * Checks whether a point with the same timestamp is present.
+   *
+   * @param point	the point to look for
+   * @return		true if present
+   */
+  @Override
+  public synchronized boolean contains(Object point) {
+    if (!(point instanceof TimeseriesPoint))
+      return false;
+    return (indexOf(((TimeseriesPoint) point).getTimestamp().getTime()) >= 0);
+  }
+
+  /**
+   * Checks whether points with the same timestamps are present.
+   *
+   * @param points	the points to look for
+   * @return		true if all present
+   */
+  @Override
+  public synchronized boolean containsAll(Collection points) {
+    for (Object point: points) {
+      if (!contains(point))
+	return false;
+    }
+    return true;
+  }
+
+  /**
+   * Removes all points.
+   */
+  @Override
+  public synchronized void clear() {
+    if (m_Size > 0) {
+      m_Size = 0;
+      modifiedListener(true);
+    }
+  }
+
+  /**
+   * Returns whether the series is empty.
+   *
+   * @return		true if empty
+   */
+  @Override
+  public boolean isEmpty() {
+    return (m_Size == 0);
+  }
+
+  /**
+   * Returns the number of points.
+   *
+   * @return		the number of points
+   */
+  @Override
+  public int size() {
+    return m_Size;
+  }
+
+  /**
+   * Returns an iterator over (detached) points.
+   *
+   * @return		the iterator
+   */
+  @Override
+  public Iterator<TimeseriesPoint> iterator() {
+    return new Iterator<TimeseriesPoint>() {
+      protected int m_Index = 0;
+      @Override
+      public boolean hasNext() {
+	return (m_Index < m_Size);
+      }
+      @Override
+      public TimeseriesPoint next() {
+	if (m_Index >= m_Size)
+	  throw new NoSuchElementException();
+	return createPoint(m_Index++);
+      }
+    };
+  }
+
+  /**
+   * Returns a read-only list view, creating write-through points on access.
+   *
+   * @return		the list view
+   */
+  @Override
+  public List<TimeseriesPoint> toList() {
+    return new AbstractList<TimeseriesPoint>() {
+      @Override
+      public TimeseriesPoint get(int index) {
+	checkIndex(index);
+	return createPoint(index);
+      }
+      @Override
+      public int size() {
+	return m_Size;
+      }
+    };
+  }
+
+  /**
+   * Returns the points sorted with the given comparator.
+   *
+   * @param comparator	the comparator to use
+   * @return		the sorted points
+   */
+  @Override
+  public List<TimeseriesPoint> toList(DataPointComparator comparator) {
+    List<TimeseriesPoint>	result;
+
+    result = new ArrayList<>(toList());
+    Collections.sort(result, comparator);
+
+    return result;
+  }
+
+  /**
+   * Returns the points as tree set, using the given comparator.
+   *
+   * @param comparator	the comparator to use
+   * @return		the points
+   */
+  @Override
+  public TreeSet<TimeseriesPoint> toTreeSet(DataPointComparator comparator) {
+    TreeSet<TimeseriesPoint>	result;
+
+    result = new TreeSet<>(comparator);
+    result.addAll(toList());
+
+    return result;
+  }
+
+  /**
+   * Returns the points as array.
+   *
+   * @return		the points
+   */
+  @Override
+  public Object[] toArray() {
+    return toList().toArray();
+  }
+
+  /**
+   * Returns the points as array.
+   *
+   * @param array	the array to fill
+   * @return		the points
+   */
+  @Override
+  public Object[] toArray(Object[] array) {
+    return toList().toArray(array);
+  }
+
+  /**
+   * Determines the minimum/maximum value without creating all points.
+   */
+  @Override
+  protected synchronized void validateMinMax() {
+    int		min;
+    int		max;
+    int		i;
+
+    if ((m_MinValue != null) || (m_Size == 0))
+      return;
+
+    min = 0;
+    max = 0;
+    for (i = 1; i < m_Size; i++) {
+      if (m_Values[i] > m_Values[max])
+	max = i;
+      if (m_Values[i] < m_Values[min])
+	min = i;
+    }
+    m_MinValue = createPoint(min);
+    m_MaxValue = createPoint(max);
+  }
+
+  /**
+   * Returns the point with the exact timestamp.
+   *
+   * @param timestamp	the timestamp to look for
+   * @return		the point, null if not found
+   */
+  @Override
+  public TimeseriesPoint find(Date timestamp) {
+    int		index;
+
+    index = indexOf(timestamp.getTime());
+    if (index < 0)
+      return null;
+
+    return createPoint(index);
+  }
+
+  /**
+   * Returns the point closest to the timestamp.
+   *
+   * @param timestamp	the timestamp to look for
+   * @return		the point, null if empty
+   */
+  @Override
+  public synchronized TimeseriesPoint findClosest(Date timestamp) {
+    int		index;
+    long	time;
+
+    if (m_Size == 0)
+      return null;
+
+    time  = timestamp.getTime();
+    index = indexOf(time);
+    if (index < 0) {
+      index = -index - 1;
+      if (index >= m_Size)
+	index = m_Size - 1;
+      else if ((index > 0) && (Math.abs(time - m_Timestamps[index - 1]) <= Math.abs(m_Timestamps[index] - time)))
+	index--;
+    }
+
+    return createPoint(index);
+  }
+
+  /**
+   * Returns a new instance of the same type with the same header information.
+   *
+   * @return		the header
+   */
+  @Override
+  public Timeseries getHeader() {
+    ArrayTimeseries	result;
+
+    result = new ArrayTimeseries();
+    result.assign(this);
+
+    return result;
+  }
+
+  /**
+   * Returns a copy of the series.
+   *
+   * @return		the copy
+   */
+  @Override
+  public synchronized Object getClone() {
+    ArrayTimeseries	result;
+
+    result = new ArrayTimeseries(getID(), m_Size);
+    result.assign(this);
+    System.arraycopy(m_Timestamps, 0, result.m_Timestamps, 0, m_Size);
+    System.arraycopy(m_Values, 0, result.m_Values, 0, m_Size);
+    result.m_Size = m_Size;
+
+    return result;
+  }
+
+  /**
+   * Creates a compact copy of the timeseries.
+   *
+   * @param series	the series to convert
+   * @return		the compact series, the input if already compact
+   */
+  public static ArrayTimeseries valueOf(Timeseries series) {
+    ArrayTimeseries	result;
+
+    if (series instanceof ArrayTimeseries)
+      return (ArrayTimeseries) series;
+
+    result = new ArrayTimeseries(series.getID(), series.size());
+    result.assign(series);
+    result.addAll(TimeseriesUtils.toTimestampArray(series), TimeseriesUtils.toDoubleArray(series));
+
+    return result;
+  }
+}
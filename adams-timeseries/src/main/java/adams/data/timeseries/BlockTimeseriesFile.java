@@ -0,0 +1,684 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * BlockTimeseriesFile.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.timeseries;
+
+import adams.core.Properties;
+import adams.core.io.FileUtils;
+import adams.data.report.Report;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Time-partitioned, indexed file format for (large) timeseries. The points
+ * are stored in blocks of fixed size (optionally deflate-compressed), with
+ * an index of the min/max timestamps and values, the sum of values and the
+ * location of each block preceding the data. This allows range queries and
+ * downsampled reads that only decode the blocks that are actually required.
+ * <br><br>
+ * Layout (big endian):
+ * <pre>
+ * int     magic
+ * int     version
+ * string  ID (int length + UTF-8 bytes)
+ * string  report (in properties format, empty if none)
+ * boolean compressed
+ * int     block size
+ * long    number of points
+ * int     number of blocks
+ * index   per block: long offset, int length, int points, long min timestamp,
+ *         long max timestamp, double min value, double max value, double sum
+ * data    per block: first timestamp, timestamp deltas, values
+ * </pre>
+ * Block offsets are relative to the start of the data section.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class BlockTimeseriesFile
+  implements Closeable {
+
+  /** the magic number ("TSB1"). */
+  public final static int MAGIC = 0x54534231;
+
+  /** the format version. */
+  public final static int VERSION = 1;
+
+  /** the size of an index entry in bytes. */
+  public final static int INDEX_ENTRY_SIZE = 8 + 4 + 4 + 8 + 8 + 8 + 8 + 8;
+
+  /**
+   * How to aggregate the values in a bucket when downsampling.
+   */
+  public enum Aggregation {
+    /** the smallest value. */
+    MIN,
+    /** the largest value. */
+    MAX,
+    /** the average value. */
+    MEAN
+  }
+
+  /**
+   * The index entry of a block.
+   */
+  public static class Block {
+
+    /** the offset relative to the data section. */
+    public final long offset;
+
+    /** the length of the (compressed) data in bytes. */
+    public final int length;
+
+    /** the number of points. */
+    public final int numPoints;
+
+    /** the smallest timestamp. */
+    public final long minTimestamp;
+
+    /** the largest timestamp. */
+    public final long maxTimestamp;
+
+    /** the smallest value. */
+    public final double minValue;
+
+    /** the largest value. */
+    public final double maxValue;
+
+    /** the sum of the values. */
+    public final double sum;
+
+    /**
+     * Initializes the entry.
+     *
+     * @param offset		the offset relative to the data section
+     * @param length		the length of the (compressed) data in bytes
+     * @param numPoints		the number of points
+     * @param minTimestamp	the smallest timestamp
+     * @param maxTimestamp	the largest timestamp
+     * @param minValue		the smallest value
+     * @param maxValue		the largest value
+     * @param sum		the sum of the values
+     */
+    public Block(long offset, int length, int numPoints, long minTimestamp, long maxTimestamp, double minValue, double maxValue, double sum) {
+      this.offset       = offset;
+      this.length       = length;
+      this.numPoints    = numPoints;
+      this.minTimestamp = minTimestamp;
+      this.maxTimestamp = maxTimestamp;
+      this.minValue     = minValue;
+      this.maxValue     = maxValue;
+      this.sum          = sum;
+    }
+
+    /**
+     * Returns a short description of the block.
+     *
+     * @return		the description
+     */
+    @Override
+    public String toString() {
+      return "offset=" + offset + ", length=" + length + ", points=" + numPoints
+	+ ", timestamps=[" + minTimestamp + ";" + maxTimestamp + "]"
+	+ ", values=[" + minValue + ";" + maxValue + "]";
+    }
+  }
+
+  /** the underlying file. */
+  protected RandomAccessFile m_File;
+
+  /** the ID of the timeseries. */
+  protected String m_ID;
+
+  /** the report of the timeseries, null if none. */
+  protected Report m_Report;
+
+  /** whether the blocks are compressed. */
+  protected boolean m_Compressed;
+
+  /** the block size used for writing. */
+  protected int m_BlockSize;
+
+  /** the total number of points. */
+  protected long m_NumPoints;
+
+  /** the index. */
+  protected List<Block> m_Blocks;
+
+  /** the start of the data section. */
+  protected long m_DataStart;
+
+  /** the number of blocks that have been decoded so far. */
+  protected int m_NumBlocksDecoded;
+
+  /**
+   * Opens the file and reads the index.
+   *
+   * @param file	the file to open
+   * @throws IOException	if opening fails or not a valid file
+   */
+  public BlockTimeseriesFile(File file) throws IOException {
+    m_File = new RandomAccessFile(file.getAbsoluteFile(), "r");
+    try {
+      readIndex();
+    }
+    catch (IOException e) {
+      FileUtils.closeQuietly(m_File);
+      throw e;
+    }
+  }
+
+  /**
+   * Reads a string (length + UTF-8 bytes).
+   *
+   * @param in		the input to read from
+   * @return		the string
+   * @throws IOException	if reading fails
+   */
+  protected static String readString(RandomAccessFile in) throws IOException {
+    byte[]	bytes;
+
+    bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Writes a string (length + UTF-8 bytes).
+   *
+   * @param out		the output to write to
+   * @param s		the string to write
+   * @throws IOException	if writing fails
+   */
+  protected static void writeString(DataOutput out, String s) throws IOException {
+    byte[]	bytes;
+
+    bytes = s.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Reads the header and the index.
+   *
+   * @throws IOException	if reading fails or not a valid file
+   */
+  protected void readIndex() throws IOException {
+    String		report;
+    int			numBlocks;
+    byte[]		index;
+    DataInputStream	in;
+    int			i;
+
+    if (m_File.readInt() != MAGIC)
+      throw new IOException("Not a block timeseries file!");
+    if (m_File.readInt() > VERSION)
+      throw new IOException("Unsupported version of block timeseries file!");
+
+    m_ID = readString(m_File);
+    if (m_ID.isEmpty())
+      m_ID = null;
+    report     = readString(m_File);
+    m_Report   = report.isEmpty() ? null : Report.parseProperties(Properties.fromComment(report));
+    m_Compressed = m_File.readBoolean();
+    m_BlockSize  = m_File.readInt();
+    m_NumPoints  = m_File.readLong();
+    numBlocks    = m_File.readInt();
+
+    index = new byte[numBlocks * INDEX_ENTRY_SIZE];
+    m_File.readFully(index);
+    in       = new DataInputStream(new ByteArrayInputStream(index));
+    m_Blocks = new ArrayList<>(numBlocks);
+    for (i = 0; i < numBlocks; i++)
+      m_Blocks.add(new Block(in.readLong(), in.readInt(), in.readInt(), in.readLong(), in.readLong(), in.readDouble(), in.readDouble(), in.readDouble()));
+    m_Blocks    = Collections.unmodifiableList(m_Blocks);
+    m_DataStart = m_File.getFilePointer();
+  }
+
+  /**
+   * Returns an empty timeseries with ID and report.
+   *
+   * @return		the header
+   */
+  public ArrayTimeseries getHeader() {
+    ArrayTimeseries	result;
+
+    result = new ArrayTimeseries(m_ID);
+    if (m_Report != null)
+      result.setReport(m_Report.getClone());
+
+    return result;
+  }
+
+  /**
+   * Returns whether the blocks are compressed.
+   *
+   * @return		true if compressed
+   */
+  public boolean isCompressed() {
+    return m_Compressed;
+  }
+
+  /**
+   * Returns the block size used for writing the file.
+   *
+   * @return		the block size
+   */
+  public int getBlockSize() {
+    return m_BlockSize;
+  }
+
+  /**
+   * Returns the total number of points.
+   *
+   * @return		the number of points
+   */
+  public long getNumPoints() {
+    return m_NumPoints;
+  }
+
+  /**
+   * Returns the index.
+   *
+   * @return		the blocks
+   */
+  public List<Block> getBlocks() {
+    return m_Blocks;
+  }
+
+  /**
+   * Returns the smallest timestamp in the file.
+   *
+   * @return		the timestamp, Long.MAX_VALUE if empty
+   */
+  public long getMinTimestamp() {
+    if (m_Blocks.isEmpty())
+      return Long.MAX_VALUE;
+    return m_Blocks.get(0).minTimestamp;
+  }
+
+  /**
+   * Returns the largest timestamp in the file.
+   *
+   * @return		the timestamp, Long.MIN_VALUE if empty
+   */
+  public long getMaxTimestamp() {
+    if (m_Blocks.isEmpty())
+      return Long.MIN_VALUE;
+    return m_Blocks.get(m_Blocks.size() - 1).maxTimestamp;
+  }
+
+  /**
+   * Returns the number of blocks that have been decoded since opening the
+   * file.
+   *
+   * @return		the number of blocks
+   */
+  public int getNumBlocksDecoded() {
+    return m_NumBlocksDecoded;
+  }
+
+  /**
+   * Returns the index of the first block that could contain the timestamp
+   * or later ones.
+   *
+   * @param timestamp	the timestamp to look for
+   * @return		the index, number of blocks if none
+   */
+  protected int findBlock(long timestamp) {
+    int		low;
+    int		high;
+    int		mid;
+
+    low  = 0;
+    high = m_Blocks.size();
+    while (low < high) {
+      mid = (low + high) >>> 1;
+      if (m_Blocks.get(mid).maxTimestamp < timestamp)
+	low = mid + 1;
+      else
+	high = mid;
+    }
+
+    return low;
+  }
+
+  /**
+   * Reads and decodes the block.
+   *
+   * @param block	the block to decode
+   * @param timestamps	for storing the timestamps
+   * @param values	for storing the values
+   * @throws IOException	if reading or decoding fails
+   */
+  protected synchronized void decode(Block block, long[] timestamps, double[] values) throws IOException {
+    byte[]	data;
+    byte[]	raw;
+    Inflater	inflater;
+    ByteBuffer	buffer;
+    int		i;
+
+    data = new byte[block.length];
+    m_File.seek(m_DataStart + block.offset);
+    m_File.readFully(data);
+
+    if (m_Compressed) {
+      raw      = new byte[block.numPoints * 16];
+      inflater = new Inflater();
+      try {
+	inflater.setInput(data);
+	if (inflater.inflate(raw) != raw.length)
+	  throw new IOException("Block is truncated: " + block);
+      }
+      catch (DataFormatException e) {
+	throw new IOException("Failed to decompress block: " + block, e);
+      }
+      finally {
+	inflater.end();
+      }
+      data = raw;
+    }
+
+    buffer = ByteBuffer.wrap(data);
+    timestamps[0] = buffer.getLong();
+    for (i = 1; i < block.numPoints; i++)
+      timestamps[i] = timestamps[i - 1] + buffer.getLong();
+    for (i = 0; i < block.numPoints; i++)
+      values[i] = buffer.getDouble();
+
+    m_NumBlocksDecoded++;
+  }
+
+  /**
+   * Reads all points in the specified time range (incl. the boundaries),
+   * only decoding the blocks that overlap with the range.
+   *
+   * @param start	the start of the range (msecs since epoch)
+   * @param end		the end of the range (msecs since epoch)
+   * @param output	for storing the points
+   * @throws IOException	if reading fails
+   */
+  public void read(long start, long end, ArrayTimeseries output) throws IOException {
+    Block	block;
+    long[]	timestamps;
+    double[]	values;
+    int		i;
+    int		n;
+
+    timestamps = new long[m_BlockSize];
+    values     = new double[m_BlockSize];
+    for (i = findBlock(start); i < m_Blocks.size(); i++) {
+      block = m_Blocks.get(i);
+      if (block.minTimestamp > end)
+	break;
+      decode(block, timestamps, values);
+      if ((block.minTimestamp >= start) && (block.maxTimestamp <= end)) {
+	output.addAll(
+	  (block.numPoints == timestamps.length) ? timestamps : Arrays.copyOf(timestamps, block.numPoints),
+	  (block.numPoints == values.length) ? values : Arrays.copyOf(values, block.numPoints));
+      }
+      else {
+	for (n = 0; n < block.numPoints; n++) {
+	  if ((timestamps[n] >= start) && (timestamps[n] <= end))
+	    output.add(timestamps[n], values[n]);
+	}
+      }
+    }
+  }
+
+  /**
+   * Reads the points in the specified time range (incl. the boundaries),
+   * aggregating them into the specified number of equal-width buckets.
+   * Blocks that fall completely into a single bucket get aggregated using
+   * the statistics from the index, without decoding them. The aggregated
+   * values use the center of the bucket as timestamp, empty buckets are
+   * omitted.
+   *
+   * @param start	the start of the range (msecs since epoch)
+   * @param end		the end of the range (msecs since epoch)
+   * @param numBuckets	the number of buckets
+   * @param aggregation	how to aggregate the values in a bucket
+   * @param output	for storing the aggregated points
+   * @throws IOException	if reading fails
+   */
+  public void downsample(long start, long end, int numBuckets, Aggregation aggregation, ArrayTimeseries output) throws IOException {
+    Block	block;
+    long[]	timestamps;
+    double[]	values;
+    double[]	min;
+    double[]	max;
+    double[]	sum;
+    long[]	count;
+    long	width;
+    int		bucket;
+    int		i;
+    int		n;
+
+    if (numBuckets < 1)
+      throw new IllegalArgumentException("Number of buckets must be at least 1, provided: " + numBuckets);
+    if (m_Blocks.isEmpty())
+      return;
+
+    start = Math.max(start, getMinTimestamp());
+    end   = Math.min(end, getMaxTimestamp());
+    if (start > end)
+      return;
+
+    width = (end - start) / numBuckets + 1;
+    min   = new double[numBuckets];
+    max   = new double[numBuckets];
+    sum   = new double[numBuckets];
+    count = new long[numBuckets];
+    for (i = 0; i < numBuckets; i++) {
+      min[i] = Double.POSITIVE_INFINITY;
+      max[i] = Double.NEGATIVE_INFINITY;
+    }
+
+    timestamps = new long[m_BlockSize];
+    values     = new double[m_BlockSize];
+    for (i = findBlock(start); i < m_Blocks.size(); i++) {
+      block = m_Blocks.get(i);
+      if (block.minTimestamp > end)
+	break;
+      bucket = (int) ((block.minTimestamp - start) / width);
+      if ((block.minTimestamp >= start) && (block.maxTimestamp <= end)
+	&& (bucket == (int) ((block.maxTimestamp - start) / width))) {
+	min[bucket]    = Math.min(min[bucket], block.minValue);
+	max[bucket]    = Math.max(max[bucket], block.maxValue);
+	sum[bucket]   += block.sum;
+	count[bucket] += block.numPoints;
+	continue;
+      }
+      decode(block, timestamps, values);
+      for (n = 0; n < block.numPoints; n++) {
+	if ((timestamps[n] < start) || (timestamps[n] > end))
+	  continue;
+	bucket         = (int) ((timestamps[n] - start) / width);
+	min[bucket]    = Math.min(min[bucket], values[n]);
+	max[bucket]    = Math.max(max[bucket], values[n]);
+	sum[bucket]   += values[n];
+	count[bucket] += 1;
+      }
+    }
+
+    for (i = 0; i < numBuckets; i++) {
+      if (count[i] == 0)
+	continue;
+      switch (aggregation) {
+	case MIN:
+	  output.add(start + i * width + width / 2, min[i]);
+	  break;
+	case MAX:
+	  output.add(start + i * width + width / 2, max[i]);
+	  break;
+	case MEAN:
+	  output.add(start + i * width + width / 2, sum[i] / count[i]);
+	  break;
+	default:
+	  throw new IllegalStateException("Unhandled aggregation: " + aggregation);
+      }
+    }
+  }
+
+  /**
+   * Closes the file.
+   *
+   * @throws IOException	if closing fails
+   */
+  @Override
+  public void close() throws IOException {
+    m_File.close();
+  }
+
+  /**
+   * Writes the timeseries to the file.
+   *
+   * @param file	the file to write to
+   * @param series	the timeseries to write
+   * @param blockSize	the number of points per block
+   * @param compress	whether to compress the blocks
+   * @throws IOException	if writing fails
+   */
+  public static void write(File file, Timeseries series, int blockSize, boolean compress) throws IOException {
+    long[]			timestamps;
+    double[]			values;
+    List<byte[]>		data;
+    List<Block>			blocks;
+    ByteBuffer			buffer;
+    ByteArrayOutputStream	bos;
+    Deflater			deflater;
+    byte[]			chunk;
+    byte[]			encoded;
+    long			offset;
+    double			min;
+    double			max;
+    double			sum;
+    Report			report;
+    DataOutputStream		out;
+    FileOutputStream		fos;
+    int				start;
+    int				end;
+    int				i;
+
+    if (blockSize < 1)
+      throw new IllegalArgumentException("Block size must be at least 1, provided: " + blockSize);
+
+    timestamps = TimeseriesUtils.toTimestampArray(series);
+    values     = TimeseriesUtils.toDoubleArray(series);
+    data       = new ArrayList<>();
+    blocks     = new ArrayList<>();
+    offset     = 0;
+    chunk      = new byte[1024];
+
+    // encode blocks
+    for (start = 0; start < timestamps.length; start += blockSize) {
+      end    = Math.min(timestamps.length, start + blockSize);
+      buffer = ByteBuffer.allocate((end - start) * 16);
+      min    = Double.POSITIVE_INFINITY;
+      max    = Double.NEGATIVE_INFINITY;
+      sum    = 0;
+      buffer.putLong(timestamps[start]);
+      for (i = start + 1; i < end; i++)
+	buffer.putLong(timestamps[i] - timestamps[i - 1]);
+      for (i = start; i < end; i++) {
+	buffer.putDouble(values[i]);
+	min  = Math.min(min, values[i]);
+	max  = Math.max(max, values[i]);
+	sum += values[i];
+      }
+      encoded = buffer.array();
+      if (compress) {
+	bos      = new ByteArrayOutputStream();
+	deflater = new Deflater();
+	try {
+	  deflater.setInput(encoded);
+	  deflater.finish();
+	  while (!deflater.finished())
+	    bos.write(chunk, 0, deflater.deflate(chunk));
+	}
+	finally {
+	  deflater.end();
+	}
+	encoded = bos.toByteArray();
+      }
+      data.add(encoded);
+      blocks.add(new Block(offset, encoded.length, end - start, timestamps[start], timestamps[end - 1], min, max, sum));
+      offset += encoded.length;
+    }
+
+    fos = null;
+    out = null;
+    try {
+      fos = new FileOutputStream(file.getAbsoluteFile());
+      out = new DataOutputStream(new BufferedOutputStream(fos));
+
+      // header
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      writeString(out, (series.getID() == null) ? "" : series.getID());
+      report = series.hasReport() ? series.getReport() : null;
+      writeString(out, (report == null) ? "" : report.toProperties().toComment());
+      out.writeBoolean(compress);
+      out.writeInt(blockSize);
+      out.writeLong(timestamps.length);
+      out.writeInt(blocks.size());
+
+      // index
+      for (Block block: blocks) {
+	out.writeLong(block.offset);
+	out.writeInt(block.length);
+	out.writeInt(block.numPoints);
+	out.writeLong(block.minTimestamp);
+	out.writeLong(block.maxTimestamp);
+	out.writeDouble(block.minValue);
+	out.writeDouble(block.maxValue);
+	out.writeDouble(block.sum);
+      }
+
+      // data
+      for (byte[] encodedBlock: data)
+	out.write(encodedBlock);
+
+      out.flush();
+    }
+    finally {
+      FileUtils.closeQuietly(out);
+      FileUtils.closeQuietly(fos);
+    }
+  }
+}
@@ -0,0 +1,237 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * DominantPeriods.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.timeseries;
+
+import adams.data.featureconverter.HeaderDefinition;
+import adams.data.report.DataType;
+import adams.data.utils.AutoCorrelation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ <!-- globalinfo-start -->
+ * Detects the dominant periods of a timeseries, using the peaks of its (linear, normalized) autocorrelation, calculated via FFT.<br>
+ * For each period, the lag (in number of points), the length in msec (based on the average sampling interval) and the strength (ie the autocorrelation at that lag) are output. Missing values are output if fewer periods were found.
+ * <br><br>
+ <!-- globalinfo-end -->
+ *
+ <!-- options-start -->
+ * <pre>-logging-level &lt;OFF|SEVERE|WARNING|INFO|CONFIG|FINE|FINER|FINEST&gt; (property: loggingLevel)
+ * &nbsp;&nbsp;&nbsp;The logging level for outputting errors and debugging output.
+ * &nbsp;&nbsp;&nbsp;default: WARNING
+ * </pre>
+ *
+ * <pre>-converter &lt;adams.data.featureconverter.AbstractFeatureConverter&gt; (property: converter)
+ * &nbsp;&nbsp;&nbsp;The feature converter to use to produce the output data.
+ * &nbsp;&nbsp;&nbsp;default: adams.data.featureconverter.SpreadSheetFeatureConverter -data-row-type adams.data.spreadsheet.DenseDataRow -spreadsheet-type adams.data.spreadsheet.SpreadSheet
+ * </pre>
+ *
+ * <pre>-field &lt;adams.data.report.Field&gt; [-field ...] (property: fields)
+ * &nbsp;&nbsp;&nbsp;The fields to add to the output.
+ * &nbsp;&nbsp;&nbsp;default:
+ * </pre>
+ *
+ * <pre>-notes &lt;adams.core.base.BaseString&gt; [-notes ...] (property: notes)
+ * &nbsp;&nbsp;&nbsp;The notes to add as attributes to the generated data, eg 'PROCESS INFORMATION'
+ * &nbsp;&nbsp;&nbsp;.
+ * &nbsp;&nbsp;&nbsp;default:
+ * </pre>
+ *
+ * <pre>-num-periods &lt;int&gt; (property: numPeriods)
+ * &nbsp;&nbsp;&nbsp;The maximum number of periods to output.
+ * &nbsp;&nbsp;&nbsp;default: 3
+ * &nbsp;&nbsp;&nbsp;minimum: 1
+ * </pre>
+ *
+ * <pre>-prefix &lt;java.lang.String&gt; (property: prefix)
+ * &nbsp;&nbsp;&nbsp;The prefix to use for the features.
+ * &nbsp;&nbsp;&nbsp;default: Period-
+ * </pre>
+ *
+ <!-- options-end -->
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class DominantPeriods
+  extends AbstractTimeseriesFeatureGenerator<Timeseries> {
+
+  /** for serialization. */
+  private static final long serialVersionUID = -3411093284906245571L;
+
+  /** the maximum number of periods. */
+  protected int m_NumPeriods;
+
+  /** the prefix to use. */
+  protected String m_Prefix;
+
+  /**
+   * Returns a string describing the object.
+   *
+   * @return 			a description suitable for displaying in the gui
+   */
+  @Override
+  public String globalInfo() {
+    return
+      "Detects the dominant periods of a timeseries, using the peaks of its "
+	+ "(linear, normalized) autocorrelation, calculated via FFT.\n"
+	+ "For each period, the lag (in number of points), the length in msec "
+	+ "(based on the average sampling interval) and the strength (ie the "
+	+ "autocorrelation at that lag) are output. Missing values are output "
+	+ "if fewer periods were found.";
+  }
+
+  /**
+   * Adds options to the internal list of options.
+   */
+  @Override
+  public void defineOptions() {
+    super.defineOptions();
+
+    m_OptionManager.add(
+	    "num-periods", "numPeriods",
+	    3, 1, null);
+
+    m_OptionManager.add(
+	    "prefix", "prefix",
+	    "Period-");
+  }
+
+  /**
+   * Sets the maximum number of periods to output.
+   *
+   * @param value	the number
+   */
+  public void setNumPeriods(int value) {
+    if (getOptionManager().isValid("numPeriods", value)) {
+      m_NumPeriods = value;
+      reset();
+    }
+  }
+
+  /**
+   * Returns the maximum number of periods to output.
+   *
+   * @return		the number
+   */
+  public int getNumPeriods() {
+    return m_NumPeriods;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String numPeriodsTipText() {
+    return "The maximum number of periods to output.";
+  }
+
+  /**
+   * Sets the prefix for the features.
+   *
+   * @param value	the prefix
+   */
+  public void setPrefix(String value) {
+    m_Prefix = value;
+    reset();
+  }
+
+  /**
+   * Returns the prefix for the features.
+   *
+   * @return		the prefix
+   */
+  public String getPrefix() {
+    return m_Prefix;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String prefixTipText() {
+    return "The prefix to use for the features.";
+  }
+
+  /**
+   * Creates the header from a template timeseries.
+   *
+   * @param timeseries	the timeseries to act as a template
+   * @return		the generated header
+   */
+  @Override
+  public HeaderDefinition createHeader(Timeseries timeseries) {
+    HeaderDefinition	result;
+    int			i;
+
+    result = new HeaderDefinition();
+    for (i = 0; i < m_NumPeriods; i++) {
+      result.add(m_Prefix + (i+1) + "-lag", DataType.NUMERIC);
+      result.add(m_Prefix + (i+1) + "-msec", DataType.NUMERIC);
+      result.add(m_Prefix + (i+1) + "-strength", DataType.NUMERIC);
+    }
+
+    return result;
+  }
+
+  /**
+   * Performs the actual feature genration.
+   *
+   * @param timeseries	the timeseries to process
+   * @return		the generated features
+   */
+  @Override
+  public List<Object>[] generateRows(Timeseries timeseries) {
+    List<Object>[]	result;
+    long[]		timestamps;
+    double[]		ac;
+    int[]		periods;
+    double		interval;
+    int			i;
+
+    timestamps = TimeseriesUtils.toTimestampArray(timeseries);
+    ac         = AutoCorrelation.linear(TimeseriesUtils.toDoubleArray(timeseries), true);
+    periods    = AutoCorrelation.findPeriods(ac, m_NumPeriods);
+    interval   = 0;
+    if (timestamps.length > 1)
+      interval = (double) (timestamps[timestamps.length - 1] - timestamps[0]) / (timestamps.length - 1);
+
+    result    = new ArrayList[1];
+    result[0] = new ArrayList(m_NumPeriods * 3);
+    for (i = 0; i < m_NumPeriods; i++) {
+      if (i < periods.length) {
+	result[0].add((double) periods[i]);
+	result[0].add(periods[i] * interval);
+	result[0].add(ac[periods[i]]);
+      }
+      else {
+	result[0].add(null);
+	result[0].add(null);
+	result[0].add(null);
+      }
+    }
+
+    return result;
+  }
+}
@@ -15,7 +15,7 @@
 
 /**
  * Timeseries.java
- * Copyright (C) 2011-2016 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2011-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.timeseries;
 
@@ -122,7 +122,7 @@ public class Timeseries<P extends TimeseriesPoint, R extends Report, S extends T
     if (modified)
       invalidateMinMax();
 
-    return modified;
+    return super.modifiedListener(modified);
   }
 
   /**
@@ -15,7 +15,7 @@
 
 /**
  * TimeseriesPoint.java
- * Copyright (C) 2011-2013 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2011-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.timeseries;
 
@@ -88,6 +88,7 @@ public class TimeseriesPoint
       throw new IllegalArgumentException("Timestamp cannot be null!");
 
     m_Timestamp = value;
+    notifyParent();
   }
 
   /**
@@ -106,6 +107,7 @@ public class TimeseriesPoint
    */
   public void setValue(double value) {
     m_Value = value;
+    notifyParent();
   }
 
   /**
@@ -15,7 +15,7 @@
 
 /*
  * TimeseriesUtils.java
- * Copyright (C) 2011-2013 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2011-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.data.timeseries;
@@ -338,6 +338,8 @@ public class TimeseriesUtils
    * @return		the amplitudes as double array
    */
   public static double[] toDoubleArray(Timeseries c) {
+    if (c instanceof ArrayTimeseries)
+      return ((ArrayTimeseries) c).getValues();
     return toDoubleArray(c.toList());
   }
 
@@ -358,4 +360,49 @@ public class TimeseriesUtils
 
     return result;
   }
+
+  /**
+   * Returns the timestamps (msecs since epoch) as long array.
+   *
+   * @param c		the timeseries to get the timestamps from
+   * @return		the timestamps
+   */
+  public static long[] toTimestampArray(Timeseries c) {
+    long[]			result;
+    int				i;
+    List<TimeseriesPoint>	points;
+
+    if (c instanceof ArrayTimeseries)
+      return ((ArrayTimeseries) c).getTimestamps();
+
+    points = c.toList();
+    result = new long[points.size()];
+    for (i = 0; i < result.length; i++)
+      result[i] = points.get(i).getTimestamp().getTime();
+
+    return result;
+  }
+
+  /**
+   * Adds the timestamps/values to the timeseries. Does not create any
+   * point objects if the timeseries is an {@link ArrayTimeseries}.
+   *
+   * @param c		the timeseries to add the data to
+   * @param timestamps	the timestamps (msecs since epoch)
+   * @param values	the values
+   */
+  public static void addAll(Timeseries c, long[] timestamps, double[] values) {
+    List<TimeseriesPoint>	points;
+    int				i;
+
+    if (c instanceof ArrayTimeseries) {
+      ((ArrayTimeseries) c).addAll(timestamps, values);
+    }
+    else {
+      points = new ArrayList<>(timestamps.length);
+      for (i = 0; i < timestamps.length; i++)
+	points.add(new TimeseriesPoint(new Date(timestamps[i]), values[i]));
+      c.addAll(points);
+    }
+  }
 }
@@ -15,11 +15,12 @@
 
 /**
  * Values.java
- * Copyright (C) 2014 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.timeseries;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import adams.core.Constants;
@@ -281,17 +282,19 @@ public class Values
   public List<Object>[] generateRows(Timeseries timeseries) {
     List<Object>[]	result;
     int			i;
-    TimeseriesPoint	point;
+    long[]		timestamps;
+    double[]		values;
     DateFormat		tsformat;
     
-    result    = new ArrayList[1];
-    result[0] = new ArrayList();
-    tsformat  = m_TimestampFormat.toDateFormat();
-    for (i = 0; i < timeseries.size(); i++) {
-      point = (TimeseriesPoint) timeseries.toList().get(i);
+    values     = TimeseriesUtils.toDoubleArray(timeseries);
+    timestamps = m_AddTimestamp ? TimeseriesUtils.toTimestampArray(timeseries) : null;
+    result     = new ArrayList[1];
+    result[0]  = new ArrayList(m_AddTimestamp ? values.length * 2 : values.length);
+    tsformat   = m_TimestampFormat.toDateFormat();
+    for (i = 0; i < values.length; i++) {
       if (m_AddTimestamp)
-	result[0].add(tsformat.format(point.getTimestamp()));
-      result[0].add(point.getValue());
+	result[0].add(tsformat.format(new Date(timestamps[i])));
+      result[0].add(values[i]);
     }
     
     return result;
@@ -15,11 +15,12 @@
 
 /*
  * TimeseriesFeatureGenerator.java
- * Copyright (C) 2014-2018 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.flow.transformer;
 
 import adams.core.ObjectCopyHelper;
+import adams.core.Performance;
 import adams.core.QuickInfoHelper;
 import adams.core.VariableName;
 import adams.data.timeseries.AbstractTimeseriesFeatureGenerator;
@@ -35,7 +36,8 @@ import java.util.Hashtable;
 
 /**
  <!-- globalinfo-start -->
- * Applies a timeseries feature generator to the incoming timeseries and outputs the generated features.
+ * Applies a timeseries feature generator to the incoming timeseries and outputs the generated features.<br>
+ * Arrays of timeseries get processed in parallel, preserving their order; the features can be output as a single dataset (if supported by the converter).
  * <br><br>
  <!-- globalinfo-end -->
  *
@@ -43,6 +45,7 @@ import java.util.Hashtable;
  * Input&#47;output:<br>
  * - accepts:<br>
  * &nbsp;&nbsp;&nbsp;adams.data.timeseries.Timeseries<br>
+ * &nbsp;&nbsp;&nbsp;adams.data.timeseries.Timeseries[]<br>
  * - generates:<br>
  * &nbsp;&nbsp;&nbsp;adams.data.spreadsheet.Row<br>
  * <br><br>
@@ -81,6 +84,27 @@ import java.util.Hashtable;
  * &nbsp;&nbsp;&nbsp;default: adams.data.timeseries.Values -converter \"adams.data.featureconverter.SpreadSheetFeatureConverter -data-row-type adams.data.spreadsheet.DenseDataRow -spreadsheet-type adams.data.spreadsheet.SpreadSheet\"
  * </pre>
  * 
+ * <pre>-var-name &lt;adams.core.VariableName&gt; (property: variableName)
+ * &nbsp;&nbsp;&nbsp;The variable to monitor for resetting trainable batch filters.
+ * &nbsp;&nbsp;&nbsp;default: variable
+ * </pre>
+ * 
+ * <pre>-num-threads &lt;int&gt; (property: numThreads)
+ * &nbsp;&nbsp;&nbsp;The number of threads to use for processing arrays of timeseries; The number 
+ * &nbsp;&nbsp;&nbsp;of threads to use for parallel execution; &gt; 0: specific number of cores 
+ * &nbsp;&nbsp;&nbsp;to use (capped by actual number of cores available, 1 = sequential execution
+ * &nbsp;&nbsp;&nbsp;); = 0: number of cores; &lt; 0: number of free cores (eg -2 means 2 free 
+ * &nbsp;&nbsp;&nbsp;cores; minimum of one core is used)
+ * &nbsp;&nbsp;&nbsp;default: 1
+ * </pre>
+ * 
+ * <pre>-output-dataset &lt;boolean&gt; (property: outputDataset)
+ * &nbsp;&nbsp;&nbsp;If enabled, the features generated from arrays of timeseries get output 
+ * &nbsp;&nbsp;&nbsp;as a single dataset (if supported by the converter) rather than one token 
+ * &nbsp;&nbsp;&nbsp;per row.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ * 
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
@@ -107,6 +131,12 @@ public class TimeseriesFeatureGenerator
   /** the variable to listen to. */
   protected VariableName m_VariableName;
 
+  /** the number of threads to use for arrays of timeseries. */
+  protected int m_NumThreads;
+
+  /** whether to output a single dataset for arrays of timeseries. */
+  protected boolean m_OutputDataset;
+
   /** the generated objects. */
   protected ArrayList m_Queue;
 
@@ -119,7 +149,9 @@ public class TimeseriesFeatureGenerator
   public String globalInfo() {
     return
         "Applies a timeseries feature generator to the incoming timeseries and outputs "
-      + "the generated features.";
+      + "the generated features.\n"
+      + "Arrays of timeseries get processed in parallel, preserving their order; "
+      + "the features can be output as a single dataset (if supported by the converter).";
   }
 
   /**
@@ -136,6 +168,14 @@ public class TimeseriesFeatureGenerator
     m_OptionManager.add(
       "var-name", "variableName",
       new VariableName());
+
+    m_OptionManager.add(
+      "num-threads", "numThreads",
+      1);
+
+    m_OptionManager.add(
+      "output-dataset", "outputDataset",
+      false);
   }
 
   /**
@@ -217,6 +257,67 @@ public class TimeseriesFeatureGenerator
     return "The variable to monitor for resetting trainable batch filters.";
   }
 
+  /**
+   * Sets the number of threads to use for arrays of timeseries.
+   *
+   * @param value 	the number of threads
+   */
+  public void setNumThreads(int value) {
+    m_NumThreads = value;
+    reset();
+  }
+
+  /**
+   * Returns the number of threads to use for arrays of timeseries.
+   *
+   * @return 		the number of threads
+   */
+  public int getNumThreads() {
+    return m_NumThreads;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String numThreadsTipText() {
+    return "The number of threads to use for processing arrays of timeseries; " + Performance.getNumThreadsHelp();
+  }
+
+  /**
+   * Sets whether to output a single dataset for arrays of timeseries.
+   *
+   * @param value 	true if to output a dataset
+   */
+  public void setOutputDataset(boolean value) {
+    m_OutputDataset = value;
+    reset();
+  }
+
+  /**
+   * Returns whether to output a single dataset for arrays of timeseries.
+   *
+   * @return 		true if to output a dataset
+   */
+  public boolean getOutputDataset() {
+    return m_OutputDataset;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String outputDatasetTipText() {
+    return
+      "If enabled, the features generated from arrays of timeseries get output "
+	+ "as a single dataset (if supported by the converter) rather than one "
+	+ "token per row.";
+  }
+
   /**
    * Returns a quick info about the actor, which will be displayed in the GUI.
    *
@@ -228,6 +329,8 @@ public class TimeseriesFeatureGenerator
 
     result = QuickInfoHelper.toString(this, "algorithm", m_Algorithm, "algorithm: ");
     result += QuickInfoHelper.toString(this, "variableName", m_VariableName.paddedValue(), ", monitor: ");
+    result += QuickInfoHelper.toString(this, "numThreads", Performance.getNumThreadsQuickInfo(m_NumThreads), ", threads: ");
+    result += QuickInfoHelper.toString(this, "outputDataset", m_OutputDataset, "dataset", ", ");
 
     return result;
   }
@@ -303,7 +406,7 @@ public class TimeseriesFeatureGenerator
    * @return		the Class of objects that can be processed
    */
   public Class[] accepts() {
-    return new Class[]{Timeseries.class};
+    return new Class[]{Timeseries.class, Timeseries[].class};
   }
 
   /**
@@ -314,6 +417,8 @@ public class TimeseriesFeatureGenerator
   public Class[] generates() {
     if (m_Algorithm == null)
       return new Class[]{Object.class};
+    else if (m_OutputDataset && m_Algorithm.getConverter().canGenerateDataset())
+      return new Class[]{m_Algorithm.getRowFormat(), m_Algorithm.getDatasetFormat()};
     else
       return new Class[]{m_Algorithm.getRowFormat()};
   }
@@ -325,7 +430,8 @@ public class TimeseriesFeatureGenerator
    */
   @Override
   protected String doExecute() {
-    String	result;
+    String		result;
+    Timeseries[]	series;
 
     result = null;
 
@@ -333,7 +439,18 @@ public class TimeseriesFeatureGenerator
     try {
       if (m_ActualAlgorithm == null)
         m_ActualAlgorithm = ObjectCopyHelper.copyObject(m_Algorithm);
-      m_Queue.addAll(Arrays.asList(m_ActualAlgorithm.generate((Timeseries) m_InputToken.getPayload())));
+      if (m_InputToken.getPayload() instanceof Timeseries[]) {
+        series = (Timeseries[]) m_InputToken.getPayload();
+        if (series.length > 0) {
+          if (m_OutputDataset && m_ActualAlgorithm.getConverter().canGenerateDataset())
+            m_Queue.add(m_ActualAlgorithm.generateDataset(series, m_NumThreads));
+          else
+            m_Queue.addAll(Arrays.asList(m_ActualAlgorithm.generate(series, m_NumThreads)));
+        }
+      }
+      else {
+        m_Queue.addAll(Arrays.asList(m_ActualAlgorithm.generate((Timeseries) m_InputToken.getPayload())));
+      }
     }
     catch (Exception e) {
       result = handleException("Failed to generate features: ", e);
@@ -15,18 +15,32 @@
 
 /*
  * TimeseriesFilter.java
- * Copyright (C) 2013-2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2013-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.flow.transformer;
 
+import adams.core.Performance;
+import adams.core.QuickInfoHelper;
+import adams.data.filter.BatchFilter;
+import adams.data.filter.Filter;
 import adams.data.timeseries.Timeseries;
 import adams.db.AbstractDatabaseConnection;
+import adams.db.DatabaseConnectionHandler;
 import adams.flow.container.TimeseriesFilterContainer;
 import adams.flow.core.ActorUtils;
+import adams.flow.core.FlowContextHandler;
+import adams.multiprocess.ParallelJobs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  <!-- globalinfo-start -->
- * Filters data using the specified filter.
+ * Filters data using the specified filter.<br>
+ * The internal filter can be output alongside the filtered data when outputting a container.<br>
+ * Arrays of timeseries get filtered in parallel (unless the filter is a batch filter), preserving their order.
  * <br><br>
  <!-- globalinfo-end -->
  *
@@ -35,9 +49,11 @@ import adams.flow.core.ActorUtils;
  * - accepts:<br>
  * &nbsp;&nbsp;&nbsp;adams.data.container.DataContainer<br>
  * &nbsp;&nbsp;&nbsp;adams.data.timeseries.Timeseries<br>
+ * &nbsp;&nbsp;&nbsp;adams.data.timeseries.Timeseries[]<br>
  * - generates:<br>
  * &nbsp;&nbsp;&nbsp;adams.data.container.DataContainer<br>
  * &nbsp;&nbsp;&nbsp;adams.data.timeseries.Timeseries<br>
+ * &nbsp;&nbsp;&nbsp;adams.data.timeseries.Timeseries[]<br>
  * <br><br>
  <!-- flow-summary-end -->
  *
@@ -74,6 +90,25 @@ import adams.flow.core.ActorUtils;
  * &nbsp;&nbsp;&nbsp;default: adams.data.filter.PassThrough
  * </pre>
  * 
+ * <pre>-var-name &lt;adams.core.VariableName&gt; (property: variableName)
+ * &nbsp;&nbsp;&nbsp;The variable to monitor for resetting trainable batch filters.
+ * &nbsp;&nbsp;&nbsp;default: variable
+ * </pre>
+ * 
+ * <pre>-output-container &lt;boolean&gt; (property: outputContainer)
+ * &nbsp;&nbsp;&nbsp;If enabled, outputs the filter along side the filtered data in a adams.flow.container.TimeseriesFilterContainer.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ * 
+ * <pre>-num-threads &lt;int&gt; (property: numThreads)
+ * &nbsp;&nbsp;&nbsp;The number of threads to use for filtering arrays of timeseries; The number 
+ * &nbsp;&nbsp;&nbsp;of threads to use for parallel execution; &gt; 0: specific number of cores 
+ * &nbsp;&nbsp;&nbsp;to use (capped by actual number of cores available, 1 = sequential execution
+ * &nbsp;&nbsp;&nbsp;); = 0: number of cores; &lt; 0: number of free cores (eg -2 means 2 free 
+ * &nbsp;&nbsp;&nbsp;cores; minimum of one core is used)
+ * &nbsp;&nbsp;&nbsp;default: 1
+ * </pre>
+ * 
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
@@ -85,6 +120,110 @@ public class TimeseriesFilter
   /** for serialization. */
   private static final long serialVersionUID = -7637423921443102660L;
 
+  /** the number of threads to use for arrays of timeseries. */
+  protected int m_NumThreads;
+
+  /**
+   * Returns a string describing the object.
+   *
+   * @return 			a description suitable for displaying in the gui
+   */
+  @Override
+  public String globalInfo() {
+    return
+      super.globalInfo() + "\n"
+	+ "Arrays of timeseries get filtered in parallel (unless the filter is "
+	+ "a batch filter), preserving their order.";
+  }
+
+  /**
+   * Adds options to the internal list of options.
+   */
+  @Override
+  public void defineOptions() {
+    super.defineOptions();
+
+    m_OptionManager.add(
+      "num-threads", "numThreads",
+      1);
+  }
+
+  /**
+   * Sets the number of threads to use for arrays of timeseries.
+   *
+   * @param value 	the number of threads
+   */
+  public void setNumThreads(int value) {
+    m_NumThreads = value;
+    reset();
+  }
+
+  /**
+   * Returns the number of threads to use for arrays of timeseries.
+   *
+   * @return 		the number of threads
+   */
+  public int getNumThreads() {
+    return m_NumThreads;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String numThreadsTipText() {
+    return "The number of threads to use for filtering arrays of timeseries; " + Performance.getNumThreadsHelp();
+  }
+
+  /**
+   * Returns a quick info about the actor, which will be displayed in the GUI.
+   *
+   * @return		null if no info available, otherwise short string
+   */
+  @Override
+  public String getQuickInfo() {
+    String	result;
+
+    result  = super.getQuickInfo();
+    result += QuickInfoHelper.toString(this, "numThreads", Performance.getNumThreadsQuickInfo(m_NumThreads), ", threads: ");
+
+    return result;
+  }
+
+  /**
+   * Returns the class that the consumer accepts.
+   *
+   * @return		the Class of objects that can be processed
+   */
+  @Override
+  public Class[] accepts() {
+    List<Class>		result;
+
+    result = new ArrayList<>(Arrays.asList(super.accepts()));
+    if (!result.contains(Timeseries[].class))
+      result.add(Timeseries[].class);
+
+    return result.toArray(new Class[result.size()]);
+  }
+
+  /**
+   * Returns the class of objects that it generates.
+   *
+   * @return		the Class of the generated tokens
+   */
+  @Override
+  public Class[] generates() {
+    List<Class>		result;
+
+    result = new ArrayList<>(Arrays.asList(super.generates()));
+    if (!m_OutputContainer && !result.contains(Timeseries[].class))
+      result.add(Timeseries[].class);
+
+    return result.toArray(new Class[result.size()]);
+  }
+
   /**
    * Returns the data container class in use.
    *
@@ -117,4 +256,110 @@ public class TimeseriesFilter
 	  adams.flow.standalone.DatabaseConnectionProvider.class,
 	  adams.db.DatabaseConnection.getSingleton());
   }
+
+  /**
+   * Creates a copy of the filter for a worker thread, with the database
+   * connection and flow context set if required.
+   *
+   * @return		the copy
+   */
+  protected Filter<Timeseries> newFilter() {
+    Filter<Timeseries>	result;
+
+    result = m_Filter.shallowCopy(true);
+    if (result instanceof DatabaseConnectionHandler)
+      ((DatabaseConnectionHandler) result).setDatabaseConnection(getDatabaseConnection());
+    if (result instanceof FlowContextHandler)
+      ((FlowContextHandler) result).setFlowContext(this);
+
+    return result;
+  }
+
+  /**
+   * Filters the timeseries in parallel, each worker thread using its own
+   * copy of the filter.
+   *
+   * @param data	the timeseries to filter
+   * @return		the filtered timeseries, same order as the input
+   */
+  protected Timeseries[] filter(final Timeseries[] data) {
+    final Timeseries[]				result;
+    final ThreadLocal<Filter<Timeseries>>	filters;
+    List<Callable<Integer>>			jobs;
+    int						numThreads;
+    int						i;
+
+    result     = new Timeseries[data.length];
+    numThreads = Performance.determineNumThreads(m_NumThreads);
+    if ((numThreads < 2) || (data.length < 2)) {
+      for (i = 0; i < data.length; i++)
+	result[i] = (Timeseries) m_Filter.filter(data[i]);
+    }
+    else {
+      filters = new ThreadLocal<Filter<Timeseries>>() {
+	@Override
+	protected Filter<Timeseries> initialValue() {
+	  return newFilter();
+	}
+      };
+      jobs = new ArrayList<>();
+      for (i = 0; i < data.length; i++) {
+	final int index = i;
+	jobs.add(() -> {
+	  result[index] = filters.get().filter(data[index]);
+	  return index;
+	});
+      }
+      ParallelJobs.invokeAll(jobs, numThreads, "Failed to filter timeseries!");
+    }
+
+    return result;
+  }
+
+  /**
+   * Executes the flow item.
+   *
+   * @return		null if everything is fine, otherwise error message
+   */
+  @Override
+  protected String doExecute() {
+    String		result;
+    Timeseries[]	filtered;
+
+    if ((m_InputToken.getPayload() instanceof Timeseries[]) && !(m_Filter instanceof BatchFilter)) {
+      result = null;
+
+      if (!m_DatabaseConnectionUpdated) {
+	m_DatabaseConnectionUpdated = true;
+	if (m_Filter instanceof DatabaseConnectionHandler)
+	  ((DatabaseConnectionHandler) m_Filter).setDatabaseConnection(getDatabaseConnection());
+      }
+
+      if (!m_FlowContextUpdated) {
+	m_FlowContextUpdated = true;
+	if (m_Filter instanceof FlowContextHandler)
+	  ((FlowContextHandler) m_Filter).setFlowContext(this);
+      }
+
+      try {
+	filtered = filter((Timeseries[]) m_InputToken.getPayload());
+	for (Timeseries series: filtered) {
+	  if (series == null) {
+	    result = "No data obtained from filter: " + m_InputToken;
+	    break;
+	  }
+	}
+	if (result == null)
+	  m_OutputToken = createToken(filtered);
+      }
+      catch (Exception e) {
+	result = handleException("Failed to filter timeseries!", e);
+      }
+    }
+    else {
+      result = super.doExecute();
+    }
+
+    return result;
+  }
 }
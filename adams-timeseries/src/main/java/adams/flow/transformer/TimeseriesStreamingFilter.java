@@ -0,0 +1,242 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * TimeseriesStreamingFilter.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.flow.transformer;
+
+import adams.core.QuickInfoHelper;
+import adams.data.filter.AbstractStreamingTimeseriesFilter;
+import adams.data.filter.TimeseriesStreamingSlidingWindow;
+import adams.data.timeseries.Timeseries;
+import adams.flow.core.Token;
+
+/**
+ <!-- globalinfo-start -->
+ * Feeds the incoming timeseries (single points or micro-batches, e.g., from adams.flow.transformer.SpreadSheetRowToTimeseries) into the streaming filter and forwards the points that became available, if any.<br>
+ * The state of the stream is kept between executions, i.e., the growing series does not have to be re-filtered with every update. An empty timeseries flushes the filter, forwarding any pending points and starting a new stream.
+ * <br><br>
+ <!-- globalinfo-end -->
+ *
+ <!-- flow-summary-start -->
+ * Input&#47;output:<br>
+ * - accepts:<br>
+ * &nbsp;&nbsp;&nbsp;adams.data.timeseries.Timeseries<br>
+ * - generates:<br>
+ * &nbsp;&nbsp;&nbsp;adams.data.timeseries.Timeseries<br>
+ * <br><br>
+ <!-- flow-summary-end -->
+ *
+ <!-- options-start -->
+ * <pre>-logging-level &lt;OFF|SEVERE|WARNING|INFO|CONFIG|FINE|FINER|FINEST&gt; (property: loggingLevel)
+ * &nbsp;&nbsp;&nbsp;The logging level for outputting errors and debugging output.
+ * &nbsp;&nbsp;&nbsp;default: WARNING
+ * </pre>
+ *
+ * <pre>-name &lt;java.lang.String&gt; (property: name)
+ * &nbsp;&nbsp;&nbsp;The name of the actor.
+ * &nbsp;&nbsp;&nbsp;default: TimeseriesStreamingFilter
+ * </pre>
+ *
+ * <pre>-annotation &lt;adams.core.base.BaseAnnotation&gt; (property: annotations)
+ * &nbsp;&nbsp;&nbsp;The annotations to attach to this actor.
+ * &nbsp;&nbsp;&nbsp;default:
+ * </pre>
+ *
+ * <pre>-skip &lt;boolean&gt; (property: skip)
+ * &nbsp;&nbsp;&nbsp;If set to true, transformation is skipped and the input token is just forwarded
+ * &nbsp;&nbsp;&nbsp;as it is.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ *
+ * <pre>-stop-flow-on-error &lt;boolean&gt; (property: stopFlowOnError)
+ * &nbsp;&nbsp;&nbsp;If set to true, the flow execution at this level gets stopped in case this
+ * &nbsp;&nbsp;&nbsp;actor encounters an error; the error gets propagated; useful for critical
+ * &nbsp;&nbsp;&nbsp;actors.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ *
+ * <pre>-silent &lt;boolean&gt; (property: silent)
+ * &nbsp;&nbsp;&nbsp;If enabled, then no errors are output in the console; Note: the enclosing
+ * &nbsp;&nbsp;&nbsp;actor handler must have this enabled as well.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ *
+ * <pre>-filter &lt;adams.data.filter.AbstractStreamingTimeseriesFilter&gt; (property: filter)
+ * &nbsp;&nbsp;&nbsp;The streaming filter to use.
+ * &nbsp;&nbsp;&nbsp;default: adams.data.filter.TimeseriesStreamingSlidingWindow
+ * </pre>
+ *
+ <!-- options-end -->
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class TimeseriesStreamingFilter
+  extends AbstractTransformer {
+
+  /** for serialization. */
+  private static final long serialVersionUID = -5431064823009417264L;
+
+  /** the streaming filter. */
+  protected AbstractStreamingTimeseriesFilter m_Filter;
+
+  /**
+   * Returns a string describing the object.
+   *
+   * @return 			a description suitable for displaying in the gui
+   */
+  @Override
+  public String globalInfo() {
+    return
+      "Feeds the incoming timeseries (single points or micro-batches, e.g., "
+	+ "from " + SpreadSheetRowToTimeseries.class.getName() + ") into the "
+	+ "streaming filter and forwards the points that became available, if any.\n"
+	+ "The state of the stream is kept between executions, i.e., the growing "
+	+ "series does not have to be re-filtered with every update. An empty "
+	+ "timeseries flushes the filter, forwarding any pending points and "
+	+ "starting a new stream.";
+  }
+
+  /**
+   * Adds options to the internal list of options.
+   */
+  @Override
+  public void defineOptions() {
+    super.defineOptions();
+
+    m_OptionManager.add(
+	    "filter", "filter",
+	    new TimeseriesStreamingSlidingWindow());
+  }
+
+  /**
+   * Sets the streaming filter to use.
+   *
+   * @param value	the filter
+   */
+  public void setFilter(AbstractStreamingTimeseriesFilter value) {
+    m_Filter = value;
+    reset();
+  }
+
+  /**
+   * Returns the streaming filter in use.
+   *
+   * @return		the filter
+   */
+  public AbstractStreamingTimeseriesFilter getFilter() {
+    return m_Filter;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String filterTipText() {
+    return "The streaming filter to use.";
+  }
+
+  /**
+   * Returns a quick info about the actor, which will be displayed in the GUI.
+   *
+   * @return		null if no info available, otherwise short string
+   */
+  @Override
+  public String getQuickInfo() {
+    return QuickInfoHelper.toString(this, "filter", m_Filter);
+  }
+
+  /**
+   * Returns the class that the consumer accepts.
+   *
+   * @return		the Class of objects that can be processed
+   */
+  @Override
+  public Class[] accepts() {
+    return new Class[]{Timeseries.class};
+  }
+
+  /**
+   * Returns the class of objects that it generates.
+   *
+   * @return		the Class of the generated tokens
+   */
+  @Override
+  public Class[] generates() {
+    return new Class[]{Timeseries.class};
+  }
+
+  /**
+   * Initializes the item for flow execution.
+   *
+   * @return		null if everything is fine, otherwise error message
+   */
+  @Override
+  public String setUp() {
+    String	result;
+
+    result = super.setUp();
+
+    if (result == null)
+      m_Filter.resetState();
+
+    return result;
+  }
+
+  /**
+   * Executes the flow item.
+   *
+   * @return		null if everything is fine, otherwise error message
+   */
+  @Override
+  protected String doExecute() {
+    String	result;
+    Timeseries	input;
+    Timeseries	output;
+
+    result = null;
+
+    try {
+      input = m_InputToken.getPayload(Timeseries.class);
+      if (input.size() == 0)
+	output = m_Filter.flush();
+      else
+	output = m_Filter.process(input);
+      if (output.size() > 0)
+	m_OutputToken = new Token(output);
+    }
+    catch (Exception e) {
+      result = handleException("Failed to filter timeseries!", e);
+    }
+
+    return result;
+  }
+
+  /**
+   * Cleans up after the execution has finished.
+   */
+  @Override
+  public void wrapUp() {
+    if (m_Filter != null)
+      m_Filter.resetState();
+
+    super.wrapUp();
+  }
+}
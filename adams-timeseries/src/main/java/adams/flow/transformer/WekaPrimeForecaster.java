@@ -15,12 +15,13 @@
 
 /*
  * WekaPrimeForecaster.java
- * Copyright (C) 2013-2016 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2013-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.flow.transformer;
 
 import adams.core.MessageCollection;
+import adams.core.Performance;
 import adams.core.QuickInfoHelper;
 import adams.flow.container.WekaModelContainer;
 import adams.flow.core.CallableActorHelper;
@@ -28,13 +29,15 @@ import adams.flow.core.CallableActorReference;
 import adams.flow.core.Token;
 import adams.flow.source.WekaForecasterSetup;
 import weka.classifiers.timeseries.AbstractForecaster;
+import weka.classifiers.timeseries.PrimedForecasterCache;
 import weka.classifiers.timeseries.core.IncrementallyPrimeable;
 import weka.core.Instance;
 import weka.core.Instances;
 
 /**
  <!-- globalinfo-start -->
- * Primes a forecaster with the incoming data and outputs the updated forecaster alongside the training header (in a model container).
+ * Primes a forecaster with the incoming data and outputs the updated forecaster alongside the training header (in a model container).<br>
+ * Arrays of datasets (one per series) get primed in parallel, using copies of a snapshot of the forecaster; the relation name of a dataset is used as series ID. With caching enabled, the primed forecasters are kept per series ID (least recently used ones get evicted) and subsequent data for a series only replays the rows added since the last priming (if the forecaster can be primed incrementally). Caching also applies to single datasets.
  * <br><br>
  <!-- globalinfo-end -->
  *
@@ -43,8 +46,10 @@ import weka.core.Instances;
  * - accepts:<br>
  * &nbsp;&nbsp;&nbsp;weka.core.Instances<br>
  * &nbsp;&nbsp;&nbsp;weka.core.Instance<br>
+ * &nbsp;&nbsp;&nbsp;weka.core.Instances[]<br>
  * - generates:<br>
  * &nbsp;&nbsp;&nbsp;adams.flow.container.WekaModelContainer<br>
+ * &nbsp;&nbsp;&nbsp;adams.flow.container.WekaModelContainer[]<br>
  * <br><br>
  * Container information:<br>
  * - adams.flow.container.WekaModelContainer: Model, Header, Dataset
@@ -85,6 +90,22 @@ import weka.core.Instances;
  * &nbsp;&nbsp;&nbsp;default: WekaForecasterSetup
  * </pre>
  * 
+ * <pre>-cache-size &lt;int&gt; (property: cacheSize)
+ * &nbsp;&nbsp;&nbsp;The maximum number of primed series to cache (series ID is the relation 
+ * &nbsp;&nbsp;&nbsp;name); least recently used ones get evicted; 0 turns caching off.
+ * &nbsp;&nbsp;&nbsp;default: 0
+ * &nbsp;&nbsp;&nbsp;minimum: 0
+ * </pre>
+ * 
+ * <pre>-num-threads &lt;int&gt; (property: numThreads)
+ * &nbsp;&nbsp;&nbsp;The number of threads to use for priming arrays of datasets; The number 
+ * &nbsp;&nbsp;&nbsp;of threads to use for parallel execution; &gt; 0: specific number of cores 
+ * &nbsp;&nbsp;&nbsp;to use (capped by actual number of cores available, 1 = sequential execution
+ * &nbsp;&nbsp;&nbsp;); = 0: number of cores; &lt; 0: number of free cores (eg -2 means 2 free 
+ * &nbsp;&nbsp;&nbsp;cores; minimum of one core is used)
+ * &nbsp;&nbsp;&nbsp;default: 1
+ * </pre>
+ * 
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
@@ -99,6 +120,15 @@ public class WekaPrimeForecaster
   /** the name of the callable weka forecaster. */
   protected CallableActorReference m_Forecaster;
 
+  /** the maximum number of primed series to cache. */
+  protected int m_CacheSize;
+
+  /** the number of threads to use for priming arrays of datasets. */
+  protected int m_NumThreads;
+
+  /** the cache of primed forecasters. */
+  protected transient PrimedForecasterCache m_Cache;
+
   /**
    * Returns a string describing the object.
    *
@@ -108,7 +138,14 @@ public class WekaPrimeForecaster
   public String globalInfo() {
     return
         "Primes a forecaster with the incoming data and outputs the "
-      + "updated forecaster alongside the training header (in a model container).";
+      + "updated forecaster alongside the training header (in a model container).\n"
+      + "Arrays of datasets (one per series) get primed in parallel, using copies "
+      + "of a snapshot of the forecaster; the relation name of a dataset is used "
+      + "as series ID. With caching enabled, the primed forecasters are kept per "
+      + "series ID (least recently used ones get evicted) and subsequent data "
+      + "for a series only replays the rows added since the last priming (if the "
+      + "forecaster can be primed incrementally). Caching also applies to single "
+      + "datasets.";
   }
 
   /**
@@ -121,6 +158,24 @@ public class WekaPrimeForecaster
     m_OptionManager.add(
 	    "forecaster", "forecaster",
 	    new CallableActorReference(WekaForecasterSetup.class.getSimpleName()));
+
+    m_OptionManager.add(
+	    "cache-size", "cacheSize",
+	    0, 0, null);
+
+    m_OptionManager.add(
+	    "num-threads", "numThreads",
+	    1);
+  }
+
+  /**
+   * Resets the scheme.
+   */
+  @Override
+  protected void reset() {
+    super.reset();
+
+    m_Cache = null;
   }
 
   /**
@@ -154,6 +209,68 @@ public class WekaPrimeForecaster
 	+ WekaModelContainer.class.getName() + " or a " + AbstractForecaster.class.getName() + ".";
   }
 
+  /**
+   * Sets the maximum number of primed series to cache.
+   *
+   * @param value	the maximum, 0 to turn off caching
+   */
+  public void setCacheSize(int value) {
+    if (getOptionManager().isValid("cacheSize", value)) {
+      m_CacheSize = value;
+      reset();
+    }
+  }
+
+  /**
+   * Returns the maximum number of primed series to cache.
+   *
+   * @return		the maximum, 0 if caching turned off
+   */
+  public int getCacheSize() {
+    return m_CacheSize;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String cacheSizeTipText() {
+    return
+      "The maximum number of primed series to cache (series ID is the relation "
+	+ "name); least recently used ones get evicted; 0 turns caching off.";
+  }
+
+  /**
+   * Sets the number of threads to use for priming arrays of datasets.
+   *
+   * @param value 	the number of threads: &gt;0 = specific number (capped by # of CPUs/cores, 1 = sequential execution); 0 = # of CPUs/cores; &lt;0 = # of free CPUs/cores
+   */
+  public void setNumThreads(int value) {
+    m_NumThreads = value;
+    reset();
+  }
+
+  /**
+   * Returns the number of threads to use for priming arrays of datasets.
+   *
+   * @return 		the number of threads: &gt;0 = specific number (capped by # of CPUs/cores, 1 = sequential execution); 0 = # of CPUs/cores; &lt;0 = # of free CPUs/cores
+   */
+  public int getNumThreads() {
+    return m_NumThreads;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String numThreadsTipText() {
+    return "The number of threads to use for priming arrays of datasets; " + Performance.getNumThreadsHelp();
+  }
+
   /**
    * Returns a quick info about the actor, which will be displayed in the GUI.
    *
@@ -161,25 +278,31 @@ public class WekaPrimeForecaster
    */
   @Override
   public String getQuickInfo() {
-    return QuickInfoHelper.toString(this, "forecaster", m_Forecaster);
+    String	result;
+
+    result  = QuickInfoHelper.toString(this, "forecaster", m_Forecaster);
+    result += QuickInfoHelper.toString(this, "cacheSize", (m_CacheSize > 0 ? m_CacheSize : "off"), ", cache: ");
+    result += QuickInfoHelper.toString(this, "numThreads", Performance.getNumThreadsQuickInfo(m_NumThreads), ", threads: ");
+
+    return result;
   }
 
   /**
    * Returns the class that the consumer accepts.
    *
-   * @return		<!-- flow-accepts-start -->weka.core.Instances.class, weka.core.Instance.class<!-- flow-accepts-end -->
+   * @return		<!-- flow-accepts-start -->weka.core.Instances.class, weka.core.Instance.class, weka.core.Instances[].class<!-- flow-accepts-end -->
    */
   public Class[] accepts() {
-    return new Class[]{Instances.class, Instance.class};
+    return new Class[]{Instances.class, Instance.class, Instances[].class};
   }
 
   /**
    * Returns the class of objects that it generates.
    *
-   * @return		<!-- flow-generates-start -->adams.flow.container.WekaModelContainer.class<!-- flow-generates-end -->
+   * @return		<!-- flow-generates-start -->adams.flow.container.WekaModelContainer.class, adams.flow.container.WekaModelContainer[].class<!-- flow-generates-end -->
    */
   public Class[] generates() {
-    return new Class[]{WekaModelContainer.class};
+    return new Class[]{WekaModelContainer.class, WekaModelContainer[].class};
   }
 
   /**
@@ -210,6 +333,20 @@ public class WekaPrimeForecaster
     return result;
   }
 
+  /**
+   * Returns the cache for priming, using the specified forecaster as snapshot.
+   *
+   * @param cls		the forecaster to use
+   * @return		the cache
+   * @throws Exception	if taking the snapshot fails
+   */
+  protected PrimedForecasterCache getCache(AbstractForecaster cls) throws Exception {
+    if (m_Cache == null)
+      m_Cache = new PrimedForecasterCache(m_CacheSize);
+    m_Cache.setForecaster(cls);
+    return m_Cache;
+  }
+
   /**
    * Executes the flow item.
    *
@@ -219,8 +356,13 @@ public class WekaPrimeForecaster
   protected String doExecute() {
     String		result;
     Instances		data;
+    Instances[]		datasets;
     Instance		inst;
     AbstractForecaster	cls;
+    AbstractForecaster[]	primed;
+    String[]		ids;
+    WekaModelContainer[]	conts;
+    int			i;
 
     result = null;
 
@@ -230,9 +372,25 @@ public class WekaPrimeForecaster
 	result = "Failed to obtain forecaster!";
       
       if (result == null) {
-	if ((m_InputToken != null) && (m_InputToken.getPayload() instanceof Instances)) {
+	if ((m_InputToken != null) && (m_InputToken.getPayload() instanceof Instances[])) {
+	  datasets = (Instances[]) m_InputToken.getPayload();
+	  ids      = new String[datasets.length];
+	  for (i = 0; i < datasets.length; i++)
+	    ids[i] = datasets[i].relationName();
+	  primed = getCache(cls).prime(ids, datasets, m_NumThreads);
+	  conts  = new WekaModelContainer[datasets.length];
+	  for (i = 0; i < datasets.length; i++)
+	    conts[i] = new WekaModelContainer(primed[i], new Instances(datasets[i], 0), datasets[i]);
+	  if (isLoggingEnabled())
+	    getLogger().info("Cached series: " + m_Cache.size() + ", full primings: " + m_Cache.getNumPrimings() + ", rows replayed: " + m_Cache.getNumReplayed());
+	  m_OutputToken = new Token(conts);
+	}
+	else if ((m_InputToken != null) && (m_InputToken.getPayload() instanceof Instances)) {
 	  data = (Instances) m_InputToken.getPayload();
-	  cls.primeForecaster(data);
+	  if (m_CacheSize > 0)
+	    cls = getCache(cls).prime(data.relationName(), data);
+	  else
+	    cls.primeForecaster(data);
 	  m_OutputToken = new Token(new WekaModelContainer(cls, new Instances(data, 0), data));
 	}
 	else if ((m_InputToken != null) && (m_InputToken.getPayload() instanceof Instance)) {
@@ -255,4 +413,14 @@ public class WekaPrimeForecaster
 
     return result;
   }
+
+  /**
+   * Cleans up after the execution has finished.
+   */
+  @Override
+  public void wrapUp() {
+    m_Cache = null;
+
+    super.wrapUp();
+  }
 }
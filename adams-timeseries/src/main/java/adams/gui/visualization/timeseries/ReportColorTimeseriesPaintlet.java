@@ -15,7 +15,7 @@
 
 /**
  * ReportColorTimeseriesPaintlet.java
- * Copyright (C) 2016 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2016-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.gui.visualization.timeseries;
@@ -65,6 +65,15 @@ import java.awt.Color;
  * &nbsp;&nbsp;&nbsp;default: true
  * </pre>
  * 
+ * <pre>-level-of-detail &lt;boolean&gt; (property: levelOfDetail)
+ * &nbsp;&nbsp;&nbsp;If enabled, only the M4 envelope (first, min, max and last point per pixel 
+ * &nbsp;&nbsp;&nbsp;column) of the points in the visible range gets painted, which is considerably 
+ * &nbsp;&nbsp;&nbsp;faster for large timeseries; the lines are the same, but the rendering can 
+ * &nbsp;&nbsp;&nbsp;differ slightly, e.g., due to anti-aliasing, and markers are only painted 
+ * &nbsp;&nbsp;&nbsp;for the points in the envelope.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ * 
  * <pre>-color-field &lt;adams.data.report.Field&gt; (property: colorField)
  * &nbsp;&nbsp;&nbsp;The report field that contains the color information.
  * &nbsp;&nbsp;&nbsp;default: Color[S]
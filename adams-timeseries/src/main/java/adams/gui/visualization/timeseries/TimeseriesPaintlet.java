@@ -15,7 +15,7 @@
 
 /*
  * TimeseriesPaintlet.java
- * Copyright (C) 2011-2016 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2011-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.gui.visualization.timeseries;
@@ -29,6 +29,7 @@ import adams.gui.event.PaintEvent.PaintMoment;
 import adams.gui.visualization.container.AbstractContainer;
 import adams.gui.visualization.container.ColorContainer;
 import adams.gui.visualization.core.AxisPanel;
+import adams.gui.visualization.core.LevelOfDetail;
 import adams.gui.visualization.core.PaintletWithMarkers;
 import adams.gui.visualization.core.plot.Axis;
 
@@ -71,6 +72,14 @@ import java.util.List;
  * &nbsp;&nbsp;&nbsp;If set to true, the markers are disabled.
  * </pre>
  *
+ * <pre>-level-of-detail (property: levelOfDetail)
+ * &nbsp;&nbsp;&nbsp;If enabled, only the M4 envelope (first, min, max and last point per pixel
+ * &nbsp;&nbsp;&nbsp;column) of the points in the visible range gets painted, which is considerably
+ * &nbsp;&nbsp;&nbsp;faster for large timeseries; the lines are the same, but the rendering can
+ * &nbsp;&nbsp;&nbsp;differ slightly, e.g., due to anti-aliasing, and markers are only painted
+ * &nbsp;&nbsp;&nbsp;for the points in the envelope.
+ * </pre>
+ *
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
@@ -113,6 +122,12 @@ public class TimeseriesPaintlet
   /** whether anti-aliasing is enabled. */
   protected boolean m_AntiAliasingEnabled;
 
+  /** whether level-of-detail painting is enabled. */
+  protected boolean m_LevelOfDetail;
+
+  /** the cached level-of-detail data. */
+  protected transient LevelOfDetail.Cache m_LevelOfDetailCache;
+
   /**
    * Returns a string describing the object.
    *
@@ -145,6 +160,10 @@ public class TimeseriesPaintlet
     m_OptionManager.add(
       "anti-aliasing-enabled", "antiAliasingEnabled",
       GUIHelper.getBoolean(getClass(), "antiAliasingEnabled", true));
+
+    m_OptionManager.add(
+      "level-of-detail", "levelOfDetail",
+      false);
   }
 
   /**
@@ -298,6 +317,162 @@ public class TimeseriesPaintlet
     return "If enabled, uses anti-aliasing for drawing lines.";
   }
 
+  /**
+   * Sets whether to paint only the envelope of the points in the visible
+   * range rather than all the points.
+   *
+   * @param value	true if to paint only the envelope
+   */
+  public void setLevelOfDetail(boolean value) {
+    m_LevelOfDetail = value;
+    memberChanged();
+  }
+
+  /**
+   * Returns whether to paint only the envelope of the points in the visible
+   * range rather than all the points.
+   *
+   * @return		true if to paint only the envelope
+   */
+  public boolean getLevelOfDetail() {
+    return m_LevelOfDetail;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String levelOfDetailTipText() {
+    return
+      "If enabled, only the M4 envelope (first, min, max and last point per pixel column) "
+	+ "of the points in the visible range gets painted, which is considerably faster "
+	+ "for large timeseries; the lines are the same, but the rendering can differ "
+	+ "slightly, e.g., due to anti-aliasing, and markers are only painted for the "
+	+ "points in the envelope.";
+  }
+
+  /**
+   * Returns the level-of-detail data for the timeseries, using cached data
+   * if available.
+   *
+   * @param data	the timeseries to get the data for
+   * @return		the level-of-detail data
+   */
+  public LevelOfDetail getLevelOfDetail(Timeseries data) {
+    LevelOfDetail	result;
+    long[]		timestamps;
+    double[]		x;
+    long		modCount;
+    int			i;
+
+    if (m_LevelOfDetailCache == null)
+      m_LevelOfDetailCache = new LevelOfDetail.Cache();
+
+    modCount = data.getModificationCount();
+    result   = m_LevelOfDetailCache.get(data, modCount);
+    if (result == null) {
+      timestamps = TimeseriesUtils.toTimestampArray(data);
+      x          = new double[timestamps.length];
+      for (i = 0; i < timestamps.length; i++)
+	x[i] = timestamps[i];
+      result = new LevelOfDetail(x, TimeseriesUtils.toDoubleArray(data));
+      m_LevelOfDetailCache.put(data, modCount, result);
+    }
+
+    return result;
+  }
+
+  /**
+   * Draws the marker at the specified position.
+   *
+   * @param g		the graphics context
+   * @param marker	the type of marker to draw
+   * @param x		the X position
+   * @param y		the Y position
+   */
+  protected void drawMarker(Graphics g, MarkerShape marker, int x, int y) {
+    int[]	xs;
+    int[]	ys;
+
+    if (marker == MarkerShape.BOX) {
+      g.drawRect(
+	x - (m_MarkerExtent / 2),
+	y - (m_MarkerExtent / 2),
+	m_MarkerExtent - 1,
+	m_MarkerExtent - 1);
+    }
+    else if (marker == MarkerShape.CIRCLE) {
+      g.drawArc(
+	x - (m_MarkerExtent / 2),
+	y - (m_MarkerExtent / 2),
+	m_MarkerExtent - 1,
+	m_MarkerExtent - 1,
+	0,
+	360);
+    }
+    else if (marker == MarkerShape.TRIANGLE) {
+      xs = new int[3];
+      ys = new int[3];
+      xs[0] = x - (m_MarkerExtent / 2);
+      ys[0] = y + (m_MarkerExtent / 2);
+      xs[1] = xs[0] + m_MarkerExtent;
+      ys[1] = ys[0];
+      xs[2] = x;
+      ys[2] = ys[0] - m_MarkerExtent;
+      g.drawPolygon(xs, ys, 3);
+    }
+  }
+
+  /**
+   * Draws the M4 envelope of the visible range of the data.
+   *
+   * @param g		the graphics context
+   * @param data	the data to draw
+   * @param marker	the type of marker to draw
+   */
+  protected void drawLevelOfDetail(Graphics g, Timeseries data, MarkerShape marker) {
+    LevelOfDetail	lod;
+    int[]		indices;
+    int			currX;
+    int			currY;
+    int			prevX;
+    int			prevY;
+    int			prevMarkerX;
+    int			prevMarkerY;
+    AxisPanel		axisX;
+    AxisPanel		axisY;
+    int			i;
+
+    axisX   = getPanel().getPlot().getAxis(Axis.BOTTOM);
+    axisY   = getPanel().getPlot().getAxis(Axis.LEFT);
+    lod     = getLevelOfDetail(data);
+    indices = lod.envelope(LevelOfDetail.boundaries(axisX));
+    if (indices.length == 0)
+      return;
+
+    prevX       = axisX.valueToPos(lod.getX(indices[0]));
+    prevY       = axisY.valueToPos(lod.getY(indices[0]));
+    prevMarkerX = 0;
+    prevMarkerY = 0;
+
+    for (i = 0; i < indices.length; i++) {
+      currX = axisX.valueToPos(lod.getX(indices[i]));
+      currY = axisY.valueToPos(lod.getY(indices[i]));
+      g.drawLine(prevX, prevY, currX, currY);
+      if (marker != MarkerShape.NONE) {
+	if (Math.sqrt(Math.pow(currX - prevMarkerX, 2) + Math.pow(currY - prevMarkerY, 2)) > m_MarkerExtent * 2) {
+	  drawMarker(g, marker, currX, currY);
+	  prevMarkerX = currX;
+	  prevMarkerY = currY;
+	}
+      }
+      prevX = currX;
+      prevY = currY;
+    }
+  }
+
   /**
    * Draws the data with the given color.
    *
@@ -324,16 +499,21 @@ public class TimeseriesPaintlet
     if (data.size() == 0)
       return;
 
-    points = data.toList();
-    axisX  = getPanel().getPlot().getAxis(Axis.BOTTOM);
-    axisY  = getPanel().getPlot().getAxis(Axis.LEFT);
-
     g.setColor(color);
     if (m_AntiAliasingEnabled)
       ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
     else
       ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
 
+    if (m_LevelOfDetail) {
+      drawLevelOfDetail(g, data, marker);
+      return;
+    }
+
+    points = data.toList();
+    axisX  = getPanel().getPlot().getAxis(Axis.BOTTOM);
+    axisY  = getPanel().getPlot().getAxis(Axis.LEFT);
+
     // find the start and end points for painting
     start = TimeseriesUtils.findClosestTimestamp(points, new Date((long) Math.floor(axisX.getMinimum())));
     if (start > 0)
@@ -362,34 +542,7 @@ public class TimeseriesPaintlet
       g.drawLine(prevX, prevY, currX, currY);
       if (marker != MarkerShape.NONE) {
 	if (Math.sqrt(Math.pow(currX - prevMarkerX, 2) + Math.pow(currY - prevMarkerY, 2)) > m_MarkerExtent * 2) {
-	  if (marker == MarkerShape.BOX) {
-	    g.drawRect(
-	      currX - (m_MarkerExtent / 2),
-	      currY - (m_MarkerExtent / 2),
-	      m_MarkerExtent - 1,
-	      m_MarkerExtent - 1);
-	  }
-	  else if (marker == MarkerShape.CIRCLE) {
-	    g.drawArc(
-	      currX - (m_MarkerExtent / 2),
-	      currY - (m_MarkerExtent / 2),
-	      m_MarkerExtent - 1,
-	      m_MarkerExtent - 1,
-	      0,
-	      360);
-	  }
-	  else if (marker == MarkerShape.TRIANGLE) {
-	    int[] x = new int[3];
-	    int[] y = new int[3];
-	    x[0] = currX - (m_MarkerExtent / 2);
-	    y[0] = currY + (m_MarkerExtent / 2);
-	    x[1] = x[0] + m_MarkerExtent;
-	    y[1] = y[0];
-	    x[2] = currX;
-	    y[2] = y[0] - m_MarkerExtent;
-	    g.drawPolygon(x, y, 3);
-	  }
-
+	  drawMarker(g, marker, currX, currY);
 	  prevMarkerX = currX;
 	  prevMarkerY = currY;
 	}
@@ -434,6 +587,10 @@ public class TimeseriesPaintlet
     TimeseriesContainerManager	manager;
     TimeseriesContainer		cont;
 
+    if (m_LevelOfDetailCache == null)
+      m_LevelOfDetailCache = new LevelOfDetail.Cache();
+    m_LevelOfDetailCache.next();
+
     manager = (TimeseriesContainerManager) getDataContainerPanel().getContainerManager();
     for (i = 0; i < manager.count(); i++) {
       cont = (TimeseriesContainer) manager.get(i);
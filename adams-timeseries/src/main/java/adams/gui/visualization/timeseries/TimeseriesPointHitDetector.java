@@ -15,7 +15,7 @@
 
 /*
  * TimeseriesPointHitDetector.java
- * Copyright (C) 2011-2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2011-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.gui.visualization.timeseries;
@@ -106,6 +106,7 @@ public class TimeseriesPointHitDetector
     double			dist;
     List<TimeseriesPoint>	points;
     TimeseriesContainerModel	model;
+    TimeseriesPaintlet		paintlet;
 
     result     = new ArrayList<>();
     axisBottom = m_Owner.getPlot().getAxis(Axis.BOTTOM);
@@ -113,6 +114,9 @@ public class TimeseriesPointHitDetector
     val        = axisLeft.posToValue((int) e.getY());
     time       = (long) axisBottom.posToValue((int) e.getX());
     model      = (TimeseriesContainerModel) m_Owner.getContainerList().getContainerModel();
+    paintlet   = null;
+    if ((m_Owner.getContainerPaintlet() instanceof TimeseriesPaintlet) && ((TimeseriesPaintlet) m_Owner.getContainerPaintlet()).getLevelOfDetail())
+      paintlet = (TimeseriesPaintlet) m_Owner.getContainerPaintlet();
 
     for (i = 0; i < model.getRowCount(); i++) {
       if (!((TimeseriesContainer) model.getContainerAt(i)).isVisible())
@@ -121,11 +125,23 @@ public class TimeseriesPointHitDetector
       // check for hit
       s       = ((TimeseriesContainer) model.getContainerAt(i)).getData();
       points  = s.toList();
-      indices = TimeseriesUtils.findEnclosingTimestamps(points, new Date(time));
 
       if (getDebug())
 	getLogger().info("\n" + s.getID() + ":");
 
+      // dense data: check the min/max segment painted for the pixel columns
+      if (paintlet != null) {
+	index = paintlet.getLevelOfDetail(s).findHit(axisBottom, axisLeft, e.getX(), e.getY(), m_MinimumPixelDifference);
+	if (index > -1) {
+	  if (getDebug())
+	    getLogger().info("envelope hit!");
+	  result.add(points.get(index));
+	  continue;
+	}
+      }
+
+      indices = TimeseriesUtils.findEnclosingTimestamps(points, new Date(time));
+
       // do we have only one point available?
       if ((indices[0] == -1) || (indices[1] == -1)) {
 	index = TimeseriesUtils.findClosestTimestamp(points, new Date(time));
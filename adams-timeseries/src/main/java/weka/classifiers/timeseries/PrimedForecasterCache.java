@@ -0,0 +1,388 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * PrimedForecasterCache.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package weka.classifiers.timeseries;
+
+import adams.core.LRUCache;
+import adams.core.Performance;
+import adams.multiprocess.ParallelJobs;
+import weka.classifiers.timeseries.core.IncrementallyPrimeable;
+import weka.core.Attribute;
+import weka.core.Instances;
+import weka.core.SerializedObject;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Primes copies of a shared forecaster snapshot for many series and caches
+ * the primed forecasters per series ID (least recently used ones get evicted).
+ * If a series is primed again with data that extends the previously primed
+ * data, only the new rows get replayed, provided the forecaster implements
+ * {@link IncrementallyPrimeable}. Otherwise, a fresh copy of the snapshot
+ * gets primed with the full data. Whether the data extends the previous data
+ * is determined by comparing all the rows primed so far; data with string
+ * or relational attributes always gets primed in full.<br>
+ * The returned forecasters are copies of the cached ones, i.e., they are not
+ * affected by subsequent primings of the same series.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class PrimedForecasterCache
+  implements Serializable {
+
+  private static final long serialVersionUID = 4457946390458186218L;
+
+  /**
+   * Container for a primed forecaster.
+   */
+  public static class PrimedForecaster
+    implements Serializable {
+
+    private static final long serialVersionUID = -2208773519853298476L;
+
+    /** the primed forecaster. */
+    protected AbstractForecaster m_Forecaster;
+
+    /** the header of the data used for priming. */
+    protected Instances m_Header;
+
+    /** the number of rows that were used for priming. */
+    protected int m_NumPrimed;
+
+    /** the rows used for priming so far. */
+    protected List<double[]> m_Rows;
+
+    /**
+     * Initializes the container.
+     *
+     * @param forecaster	the forecaster to prime
+     * @param header		the header of the data
+     */
+    public PrimedForecaster(AbstractForecaster forecaster, Instances header) {
+      m_Forecaster = forecaster;
+      m_Header     = header;
+      m_NumPrimed  = 0;
+      m_Rows       = new ArrayList<>();
+    }
+
+    /**
+     * Returns the forecaster.
+     *
+     * @return		the forecaster
+     */
+    public AbstractForecaster getForecaster() {
+      return m_Forecaster;
+    }
+
+    /**
+     * Returns the number of rows that the forecaster was primed with.
+     *
+     * @return		the number of rows
+     */
+    public int getNumPrimed() {
+      return m_NumPrimed;
+    }
+
+    /**
+     * Checks whether the data extends the rows used for priming so far,
+     * i.e., whether only the delta needs replaying.
+     *
+     * @param data	the data to check
+     * @return		true if the delta can be replayed
+     */
+    public boolean canReplay(Instances data) {
+      int	i;
+
+      if (!(m_Forecaster instanceof IncrementallyPrimeable))
+	return false;
+      if ((m_NumPrimed == 0) || (data.numInstances() < m_NumPrimed))
+	return false;
+      if (!isComparable(data) || !m_Header.equalHeaders(data))
+	return false;
+      for (i = 0; i < m_NumPrimed; i++) {
+	if (!Arrays.equals(m_Rows.get(i), data.instance(i).toDoubleArray()))
+	  return false;
+      }
+
+      return true;
+    }
+
+    /**
+     * Primes the forecaster with the full data.
+     *
+     * @param data	the data to use
+     * @throws Exception	if priming fails
+     */
+    public void prime(Instances data) throws Exception {
+      m_Forecaster.primeForecaster(data);
+      m_Rows.clear();
+      update(data);
+    }
+
+    /**
+     * Replays the rows that were added since the last priming.
+     *
+     * @param data	the data to use
+     * @return		the number of rows replayed
+     * @throws Exception	if priming fails
+     * @see		#canReplay(Instances)
+     */
+    public int replay(Instances data) throws Exception {
+      int	result;
+      int	i;
+
+      result = data.numInstances() - m_NumPrimed;
+      for (i = m_NumPrimed; i < data.numInstances(); i++)
+	((IncrementallyPrimeable) m_Forecaster).primeForecasterIncremental(data.instance(i));
+      update(data);
+
+      return result;
+    }
+
+    /**
+     * Records the rows that were used for priming, if they can be compared
+     * later on.
+     *
+     * @param data	the data
+     */
+    protected void update(Instances data) {
+      int	i;
+
+      if (isComparable(data)) {
+	for (i = m_Rows.size(); i < data.numInstances(); i++)
+	  m_Rows.add(data.instance(i).toDoubleArray());
+      }
+      m_NumPrimed = data.numInstances();
+    }
+
+    /**
+     * Returns whether rows of the data can be compared via their internal
+     * values, i.e., the data has no string or relational attributes.
+     *
+     * @param data	the data to check
+     * @return		true if comparable
+     */
+    protected static boolean isComparable(Instances data) {
+      return !data.checkForStringAttributes() && !data.checkForAttributeType(Attribute.RELATIONAL);
+    }
+  }
+
+  /** the forecaster the snapshot was taken from. */
+  protected transient AbstractForecaster m_Source;
+
+  /** the snapshot of the forecaster. */
+  protected SerializedObject m_Snapshot;
+
+  /** the cached primed forecasters (series ID - forecaster). */
+  protected LRUCache<String,PrimedForecaster> m_Cache;
+
+  /** the number of full primings. */
+  protected int m_NumPrimings;
+
+  /** the number of rows replayed. */
+  protected int m_NumReplayed;
+
+  /**
+   * Initializes the cache.
+   *
+   * @param cacheSize	the maximum number of series to cache, 0 to turn off caching
+   */
+  public PrimedForecasterCache(int cacheSize) {
+    m_Cache = new LRUCache<>(Math.max(0, cacheSize));
+  }
+
+  /**
+   * Sets the forecaster to use for priming. Takes a snapshot of the
+   * forecaster and clears the cache if the snapshot differs from the current
+   * one. The snapshots get compared via their serialized form, i.e., a new
+   * instance of an unchanged forecaster (eg a fresh copy obtained from a
+   * callable actor) keeps the cached series.
+   *
+   * @param value	the forecaster
+   * @throws Exception	if the snapshot fails
+   */
+  public synchronized void setForecaster(AbstractForecaster value) throws Exception {
+    SerializedObject	snapshot;
+
+    m_Source = value;
+    snapshot = new SerializedObject(value);
+    if (snapshot.equals(m_Snapshot))
+      return;
+    m_Snapshot = snapshot;
+    m_Cache.clear();
+  }
+
+  /**
+   * Returns the current forecaster the snapshot was taken from.
+   *
+   * @return		the forecaster, null if none set
+   */
+  public synchronized AbstractForecaster getForecaster() {
+    return m_Source;
+  }
+
+  /**
+   * Returns the number of series currently cached.
+   *
+   * @return		the number of series
+   */
+  public int size() {
+    return m_Cache.sizeUsed();
+  }
+
+  /**
+   * Returns the number of full primings performed so far.
+   *
+   * @return		the number of primings
+   */
+  public synchronized int getNumPrimings() {
+    return m_NumPrimings;
+  }
+
+  /**
+   * Returns the number of rows replayed so far.
+   *
+   * @return		the number of rows
+   */
+  public synchronized int getNumReplayed() {
+    return m_NumReplayed;
+  }
+
+  /**
+   * Removes all cached series.
+   */
+  public void clear() {
+    m_Cache.clear();
+  }
+
+  /**
+   * Returns a new copy of the snapshot.
+   *
+   * @return		the copy
+   * @throws Exception	if copying fails
+   */
+  protected synchronized AbstractForecaster newForecaster() throws Exception {
+    if (m_Snapshot == null)
+      throw new IllegalStateException("No forecaster set!");
+    return (AbstractForecaster) m_Snapshot.getObject();
+  }
+
+  /**
+   * Returns a copy of the forecaster.
+   *
+   * @param forecaster	the forecaster to copy
+   * @return		the copy
+   * @throws Exception	if copying fails
+   */
+  protected AbstractForecaster copy(AbstractForecaster forecaster) throws Exception {
+    return (AbstractForecaster) new SerializedObject(forecaster).getObject();
+  }
+
+  /**
+   * Primes the forecaster for the series, replaying only the delta if
+   * possible.
+   *
+   * @param id		the ID of the series
+   * @param data	the data of the series
+   * @return		a copy of the primed forecaster
+   * @throws Exception	if priming fails
+   */
+  public AbstractForecaster prime(String id, Instances data) throws Exception {
+    PrimedForecaster	primed;
+    int			replayed;
+
+    primed = m_Cache.get(id);
+    if ((primed != null) && primed.canReplay(data)) {
+      // the cached forecaster gets primed in place, don't keep it if that fails
+      try {
+	replayed = primed.replay(data);
+      }
+      catch (Exception e) {
+	m_Cache.remove(id);
+	throw e;
+      }
+      synchronized(this) {
+	m_NumReplayed += replayed;
+      }
+    }
+    else {
+      primed = new PrimedForecaster(newForecaster(), new Instances(data, 0));
+      primed.prime(data);
+      synchronized(this) {
+	m_NumPrimings++;
+      }
+    }
+    m_Cache.put(id, primed);
+
+    return copy(primed.getForecaster());
+  }
+
+  /**
+   * Primes the forecasters for the series in parallel. Series that share
+   * the same ID get processed in order by the same thread.
+   *
+   * @param ids		the IDs of the series
+   * @param data	the data of the series
+   * @param numThreads	the number of threads to use, see {@link Performance#determineNumThreads(int)}
+   * @return		copies of the primed forecasters
+   * @throws Exception	if priming fails
+   */
+  public AbstractForecaster[] prime(String[] ids, final Instances[] data, int numThreads) throws Exception {
+    final AbstractForecaster[]		result;
+    Map<String,List<Integer>>		groups;
+    List<Callable<Integer>>		jobs;
+    int					i;
+
+    if (ids.length != data.length)
+      throw new IllegalArgumentException("Number of IDs and datasets differ: " + ids.length + " != " + data.length);
+
+    result     = new AbstractForecaster[data.length];
+    numThreads = Performance.determineNumThreads(numThreads);
+    if ((numThreads < 2) || (data.length < 2)) {
+      for (i = 0; i < data.length; i++)
+	result[i] = prime(ids[i], data[i]);
+      return result;
+    }
+
+    groups = new LinkedHashMap<>();
+    for (i = 0; i < ids.length; i++) {
+      if (!groups.containsKey(ids[i]))
+	groups.put(ids[i], new ArrayList<>());
+      groups.get(ids[i]).add(i);
+    }
+    jobs = new ArrayList<>();
+    for (final String id: groups.keySet()) {
+      final List<Integer> indices = groups.get(id);
+      jobs.add(() -> {
+	for (int index: indices)
+	  result[index] = prime(id, data[index]);
+	return indices.size();
+      });
+    }
+    ParallelJobs.invokeAll(jobs, numThreads, "Failed to prime forecasters!");
+
+    return result;
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * AbstractStreamingTimeseriesFilterTestCase.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.filter;
+
+import adams.data.timeseries.ArrayTimeseries;
+import adams.data.timeseries.Timeseries;
+import adams.test.AdamsTestCase;
+
+/**
+ * Ancestor for tests of streaming timeseries filters. Checks that feeding
+ * the data in micro-batches produces the same output as filtering the
+ * complete timeseries.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public abstract class AbstractStreamingTimeseriesFilterTestCase
+  extends AdamsTestCase {
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public AbstractStreamingTimeseriesFilterTestCase(String name) {
+    super(name);
+  }
+
+  /**
+   * Returns the filter setups to check for micro-batch equivalence.
+   *
+   * @return		the setups
+   */
+  protected abstract AbstractStreamingTimeseriesFilter[] getSetups();
+
+  /**
+   * Generates a noisy timeseries.
+   *
+   * @param size	the number of points
+   * @return		the timeseries
+   */
+  protected ArrayTimeseries generate(int size) {
+    ArrayTimeseries	result;
+    int			i;
+
+    result = new ArrayTimeseries("test", size);
+    for (i = 0; i < size; i++)
+      result.add(1000L * i, Math.sin(i / 10.0) + ((i * 7919) % 13) / 13.0);
+
+    return result;
+  }
+
+  /**
+   * Feeds the timeseries in micro-batches into the filter.
+   *
+   * @param filter	the filter to use
+   * @param data	the data to feed
+   * @param batchSize	the size of the micro-batches
+   * @return		the collected output
+   */
+  protected ArrayTimeseries stream(AbstractStreamingTimeseriesFilter filter, ArrayTimeseries data, int batchSize) {
+    ArrayTimeseries	result;
+    ArrayTimeseries	batch;
+    ArrayTimeseries	output;
+    int			i;
+    int			n;
+
+    result = new ArrayTimeseries();
+    filter.resetState();
+    for (i = 0; i < data.size(); i += batchSize) {
+      batch = new ArrayTimeseries();
+      for (n = i; (n < i + batchSize) && (n < data.size()); n++)
+	batch.add(data.getTimestamp(n), data.getValue(n));
+      output = ArrayTimeseries.valueOf(filter.process(batch));
+      result.addAll(output.getTimestamps(), output.getValues());
+    }
+    output = ArrayTimeseries.valueOf(filter.flush());
+    result.addAll(output.getTimestamps(), output.getValues());
+
+    return result;
+  }
+
+  /**
+   * Compares two timeseries.
+   *
+   * @param expected	the expected data
+   * @param actual	the actual data
+   * @param delta	the tolerance for the values
+   */
+  protected void compare(Timeseries expected, Timeseries actual, double delta) {
+    ArrayTimeseries	exp;
+    ArrayTimeseries	act;
+    int			i;
+
+    exp = ArrayTimeseries.valueOf(expected);
+    act = ArrayTimeseries.valueOf(actual);
+    assertEquals("size", exp.size(), act.size());
+    for (i = 0; i < exp.size(); i++) {
+      assertEquals("timestamp #" + i, exp.getTimestamp(i), act.getTimestamp(i));
+      assertEquals("value #" + i, exp.getValue(i), act.getValue(i), delta);
+    }
+  }
+
+  /**
+   * Tests whether the micro-batches produce the same output as filtering
+   * the complete timeseries.
+   */
+  public void testMicroBatches() {
+    ArrayTimeseries	data;
+    Timeseries		full;
+
+    data = generate(200);
+    for (AbstractStreamingTimeseriesFilter filter: getSetups()) {
+      full = filter.filter(data);
+      assertTrue("no output: " + filter.toCommandLine(), full.size() > 0);
+      compare(full, stream(filter, data, 1), 0.0);
+      compare(full, stream(filter, data, 13), 0.0);
+      compare(full, stream(filter, data, 500), 0.0);
+    }
+  }
+}
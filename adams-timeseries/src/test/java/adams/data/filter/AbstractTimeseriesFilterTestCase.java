@@ -15,14 +15,20 @@
 
 /**
  * AbstractTimeseriesFilterTestCase.java
- * Copyright (C) 2013-2016 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2013-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.filter;
 
+import adams.core.option.OptionHandler;
+import adams.core.option.OptionUtils;
+import adams.data.timeseries.ArrayTimeseries;
 import adams.data.timeseries.Timeseries;
+import adams.data.timeseries.TimeseriesUtils;
 import adams.test.AbstractTestHelper;
 import adams.test.TimeseriesTestHelper;
 
+import java.util.Arrays;
+
 /**
  * Ancestor for filter test cases.
  *
@@ -60,4 +66,42 @@ public abstract class AbstractTimeseriesFilterTestCase
   protected int[] getRegressionIgnoredLineIndices() {
     return new int[]{0};
   }
+
+  /**
+   * Runs the regression setups on the compact (array-backed) version of the
+   * input data and compares the output with the one from the list-backed
+   * input.
+   */
+  public void testArrayTimeseries() {
+    Timeseries		data;
+    Timeseries		expected;
+    Timeseries		actual;
+    String[]		input;
+    Filter[]		setups;
+    Filter		current;
+    int			i;
+
+    if (m_NoRegressionTest || m_NoDataRegressionTest)
+      return;
+
+    input  = getRegressionInputFiles();
+    setups = getRegressionSetups();
+    for (i = 0; i < input.length; i++) {
+      data = load(input[i]);
+      assertNotNull("Could not load data from " + input[i], data);
+
+      current  = (Filter) OptionUtils.shallowCopy((OptionHandler) setups[i], false);
+      expected = process(data, current);
+      current  = (Filter) OptionUtils.shallowCopy((OptionHandler) setups[i], false);
+      actual   = process(ArrayTimeseries.valueOf(data), current);
+      assertNotNull("Failed to process compact data?", actual);
+
+      assertTrue(
+	"Timestamps differ for setup #" + (i+1) + " on " + input[i],
+	Arrays.equals(TimeseriesUtils.toTimestampArray(expected), TimeseriesUtils.toTimestampArray(actual)));
+      assertTrue(
+	"Values differ for setup #" + (i+1) + " on " + input[i],
+	Arrays.equals(TimeseriesUtils.toDoubleArray(expected), TimeseriesUtils.toDoubleArray(actual)));
+    }
+  }
 }
@@ -0,0 +1,115 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * TimeseriesStreamingChangeResolutionTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.filter;
+
+import adams.data.timeseries.ArrayTimeseries;
+import adams.env.Environment;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Tests the {@link TimeseriesStreamingChangeResolution} filter.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class TimeseriesStreamingChangeResolutionTest
+  extends AbstractStreamingTimeseriesFilterTestCase {
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public TimeseriesStreamingChangeResolutionTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Returns the filter setups to check for micro-batch equivalence.
+   *
+   * @return		the setups
+   */
+  @Override
+  protected AbstractStreamingTimeseriesFilter[] getSetups() {
+    TimeseriesStreamingChangeResolution	coarse;
+    TimeseriesStreamingChangeResolution	fine;
+
+    coarse = new TimeseriesStreamingChangeResolution();
+    coarse.setInterval(2.5);
+    fine = new TimeseriesStreamingChangeResolution();
+    fine.setInterval(0.3);
+
+    return new AbstractStreamingTimeseriesFilter[]{coarse, fine};
+  }
+
+  /**
+   * Generates a linear timeseries (value = 2 * second).
+   *
+   * @param size	the number of points
+   * @return		the timeseries
+   */
+  protected ArrayTimeseries linear(int size) {
+    ArrayTimeseries	result;
+    int			i;
+
+    result = new ArrayTimeseries("linear", size);
+    for (i = 0; i < size; i++)
+      result.add(1000L * i, 2.0 * i);
+
+    return result;
+  }
+
+  /**
+   * Tests resampling a linear timeseries, which must stay on the line.
+   */
+  public void testLinear() {
+    TimeseriesStreamingChangeResolution	filter;
+    ArrayTimeseries			output;
+    int					i;
+
+    filter = new TimeseriesStreamingChangeResolution();
+    filter.setInterval(2.5);
+    output = stream(filter, linear(41), 4);
+    assertTrue("size", output.size() >= 16);
+    for (i = 0; i < output.size(); i++) {
+      assertEquals("timestamp #" + i, 2500L * i, output.getTimestamp(i));
+      assertEquals("value #" + i, output.getTimestamp(i) / 500.0, output.getValue(i), 1e-9);
+    }
+  }
+
+  /**
+   * Returns the test suite.
+   *
+   * @return		the suite
+   */
+  public static Test suite() {
+    return new TestSuite(TimeseriesStreamingChangeResolutionTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * TimeseriesStreamingDerivativeTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.filter;
+
+import adams.data.timeseries.ArrayTimeseries;
+import adams.env.Environment;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Tests the {@link TimeseriesStreamingDerivative} filter.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class TimeseriesStreamingDerivativeTest
+  extends AbstractStreamingTimeseriesFilterTestCase {
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public TimeseriesStreamingDerivativeTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Returns the filter setups to check for micro-batch equivalence.
+   *
+   * @return		the setups
+   */
+  @Override
+  protected AbstractStreamingTimeseriesFilter[] getSetups() {
+    TimeseriesStreamingDerivative	first;
+    TimeseriesStreamingDerivative	second;
+
+    first  = new TimeseriesStreamingDerivative();
+    second = new TimeseriesStreamingDerivative();
+    second.setOrder(2);
+
+    return new AbstractStreamingTimeseriesFilter[]{first, second};
+  }
+
+  /**
+   * Generates a linear timeseries (value = 2 * second).
+   *
+   * @param size	the number of points
+   * @return		the timeseries
+   */
+  protected ArrayTimeseries linear(int size) {
+    ArrayTimeseries	result;
+    int			i;
+
+    result = new ArrayTimeseries("linear", size);
+    for (i = 0; i < size; i++)
+      result.add(1000L * i, 2.0 * i);
+
+    return result;
+  }
+
+  /**
+   * Tests the derivatives of a linear timeseries.
+   */
+  public void testLinear() {
+    TimeseriesStreamingDerivative	filter;
+    ArrayTimeseries			output;
+    int					i;
+
+    filter = new TimeseriesStreamingDerivative();
+    output = stream(filter, linear(50), 7);
+    assertEquals("size", 49, output.size());
+    for (i = 0; i < output.size(); i++) {
+      assertEquals("timestamp #" + i, 1000L * i, output.getTimestamp(i));
+      assertEquals("value #" + i, 0.002, output.getValue(i), 1e-12);
+    }
+
+    filter.setOrder(2);
+    output = stream(filter, linear(50), 7);
+    assertEquals("size", 48, output.size());
+    for (i = 0; i < output.size(); i++)
+      assertEquals("value #" + i, 0.0, output.getValue(i), 1e-12);
+  }
+
+  /**
+   * Returns the test suite.
+   *
+   * @return		the suite
+   */
+  public static Test suite() {
+    return new TestSuite(TimeseriesStreamingDerivativeTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * TimeseriesStreamingRowNormTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.filter;
+
+import adams.data.timeseries.ArrayTimeseries;
+import adams.env.Environment;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Tests the {@link TimeseriesStreamingRowNorm} filter.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class TimeseriesStreamingRowNormTest
+  extends AbstractStreamingTimeseriesFilterTestCase {
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public TimeseriesStreamingRowNormTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Returns the filter setups to check for micro-batch equivalence.
+   *
+   * @return		the setups
+   */
+  @Override
+  protected AbstractStreamingTimeseriesFilter[] getSetups() {
+    TimeseriesStreamingRowNorm	window;
+    TimeseriesStreamingRowNorm	all;
+
+    window = new TimeseriesStreamingRowNorm();
+    window.setWindowSize(15);
+    all = new TimeseriesStreamingRowNorm();
+    all.setWindowSize(0);
+
+    return new AbstractStreamingTimeseriesFilter[]{window, all};
+  }
+
+  /**
+   * Tests whether the last point normalized over all points seen so far
+   * matches the batch normalization.
+   */
+  public void testBatchEquivalence() {
+    TimeseriesStreamingRowNorm	filter;
+    ArrayTimeseries		data;
+    ArrayTimeseries		batch;
+    ArrayTimeseries		output;
+
+    data   = generate(120);
+    batch  = ArrayTimeseries.valueOf(new TimeseriesRowNorm().filter(data));
+    filter = new TimeseriesStreamingRowNorm();
+    filter.setWindowSize(0);
+    output = stream(filter, data, 11);
+    assertEquals("size", data.size(), output.size());
+    assertEquals("last", batch.getValue(batch.size() - 1), output.getValue(output.size() - 1), 1e-8);
+
+    // window covering all points
+    filter.setWindowSize(data.size());
+    output = stream(filter, data, 11);
+    assertEquals("last (window)", batch.getValue(batch.size() - 1), output.getValue(output.size() - 1), 1e-8);
+  }
+
+  /**
+   * Tests constant values, which get normalized to 0.
+   */
+  public void testConstant() {
+    TimeseriesStreamingRowNorm	filter;
+    ArrayTimeseries		data;
+    ArrayTimeseries		output;
+    int				i;
+
+    data = new ArrayTimeseries("constant", 20);
+    for (i = 0; i < 20; i++)
+      data.add(1000L * i, 3.3);
+    filter = new TimeseriesStreamingRowNorm();
+    filter.setWindowSize(5);
+    output = stream(filter, data, 3);
+    for (i = 0; i < output.size(); i++)
+      assertEquals("value #" + i, 0.0, output.getValue(i), 0.0);
+  }
+
+  /**
+   * Returns the test suite.
+   *
+   * @return		the suite
+   */
+  public static Test suite() {
+    return new TestSuite(TimeseriesStreamingRowNormTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
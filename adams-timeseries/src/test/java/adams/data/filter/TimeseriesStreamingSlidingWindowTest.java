@@ -0,0 +1,117 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * TimeseriesStreamingSlidingWindowTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.filter;
+
+import adams.data.smoothing.AbstractSlidingWindow.Measure;
+import adams.data.smoothing.TimeseriesSlidingWindow;
+import adams.data.timeseries.ArrayTimeseries;
+import adams.env.Environment;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Tests the {@link TimeseriesStreamingSlidingWindow} filter.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class TimeseriesStreamingSlidingWindowTest
+  extends AbstractStreamingTimeseriesFilterTestCase {
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public TimeseriesStreamingSlidingWindowTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Returns the filter setups to check for micro-batch equivalence.
+   *
+   * @return		the setups
+   */
+  @Override
+  protected AbstractStreamingTimeseriesFilter[] getSetups() {
+    TimeseriesStreamingSlidingWindow	filter;
+
+    filter = new TimeseriesStreamingSlidingWindow();
+    filter.setWindowSize(7);
+
+    return new AbstractStreamingTimeseriesFilter[]{filter};
+  }
+
+  /**
+   * Tests whether the output is the same as the batch smoothing.
+   */
+  public void testBatchEquivalence() {
+    TimeseriesStreamingSlidingWindow	filter;
+    TimeseriesSlidingWindow		smoother;
+    ArrayTimeseries			data;
+
+    data = generate(150);
+    for (Measure measure: Measure.values()) {
+      filter = new TimeseriesStreamingSlidingWindow();
+      filter.setWindowSize(10);
+      filter.setMeasure(measure);
+      smoother = new TimeseriesSlidingWindow();
+      smoother.setWindowSize(10);
+      smoother.setMeasure(measure);
+      // batch smoothing uses float precision
+      compare(smoother.smooth(data), stream(filter, data, 9), 1e-5);
+    }
+  }
+
+  /**
+   * Tests a stream that never fills the window.
+   */
+  public void testPartialWindow() {
+    TimeseriesStreamingSlidingWindow	filter;
+    ArrayTimeseries			output;
+    int					i;
+
+    filter = new TimeseriesStreamingSlidingWindow();
+    filter.setWindowSize(10);
+    filter.setMeasure(Measure.MEAN);
+    output = stream(filter, generate(3), 1);
+    assertEquals("size", 3, output.size());
+    for (i = 0; i < output.size(); i++)
+      assertEquals("value #" + i, output.getValue(0), output.getValue(i), 0.0);
+  }
+
+  /**
+   * Returns the test suite.
+   *
+   * @return		the suite
+   */
+  public static Test suite() {
+    return new TestSuite(TimeseriesStreamingSlidingWindowTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
@@ -15,11 +15,12 @@
 
 /**
  * AbstractTimeseriesFeatureGeneratorTestCase.java
- * Copyright (C) 2011-2014 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2011-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.timeseries;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 
 import adams.core.CleanUpHandler;
@@ -263,4 +264,77 @@ public abstract class AbstractTimeseriesFeatureGeneratorTestCase
       m_TestHelper.deleteFileFromTmp(output[i]);
     }
   }
+
+  /**
+   * Generates a variant of the timeseries with the same timestamps, but
+   * different values (unless variant 0).
+   *
+   * @param series	the timeseries to generate the variant for
+   * @param variant	the variant, 0 returns the timeseries unchanged
+   * @return		the variant
+   */
+  protected Timeseries variant(Timeseries series, int variant) {
+    Timeseries		result;
+    int			i;
+
+    if (variant == 0)
+      return series;
+
+    result = series.getHeader();
+    i      = 0;
+    for (TimeseriesPoint point: series.toList()) {
+      result.add(new TimeseriesPoint(point.getTimestamp(), point.getValue() * (variant + 1) + variant * ((i % 7) - 3)));
+      i++;
+    }
+
+    return result;
+  }
+
+  /**
+   * Tests whether batch processing (in parallel) generates the same rows
+   * as processing the timeseries one by one.
+   */
+  public void testBatch() {
+    Timeseries[]			data;
+    List<Timeseries>			batch;
+    AbstractTimeseriesReader[]		readers;
+    AbstractTimeseriesFeatureGenerator[]	setups;
+    AbstractTimeseriesFeatureGenerator	parallel;
+    List<Object>			expected;
+    Object[]				actual;
+    String[]				input;
+    int					i;
+    int					n;
+
+    if (m_NoRegressionTest)
+      return;
+
+    input   = getRegressionInputFiles();
+    readers = getRegressionInputReaders();
+    setups  = getRegressionSetups();
+    for (i = 0; i < input.length; i++) {
+      data = load(input[i], readers[i]);
+      assertNotNull("Could not load data from " + input[i], data);
+      batch = new ArrayList<>();
+      for (n = 0; n < 3; n++) {
+	for (Timeseries series: data)
+	  batch.add(variant(series, n));
+      }
+
+      parallel = setups[i].shallowCopy();
+      expected = new ArrayList<>();
+      for (Object[] rows: process(batch.toArray(new Timeseries[batch.size()]), setups[i])) {
+	for (Object row: rows)
+	  expected.add(row);
+      }
+      actual = parallel.generate(batch, 2);
+      assertEquals("Number of rows differ for setup #" + (i+1), expected.size(), actual.length);
+      for (n = 0; n < actual.length; n++)
+	assertEquals("Row #" + (n+1) + " differs for setup #" + (i+1), toString(expected.get(n)), toString(actual[n]));
+
+      if (setups[i] instanceof Destroyable)
+	((Destroyable) setups[i]).destroy();
+      parallel.destroy();
+    }
+  }
 }
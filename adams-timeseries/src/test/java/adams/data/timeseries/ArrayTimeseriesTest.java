@@ -0,0 +1,126 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * ArrayTimeseriesTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.timeseries;
+
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import java.util.Date;
+
+/**
+ * Tests the {@link ArrayTimeseries} class.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class ArrayTimeseriesTest
+  extends AdamsTestCase {
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public ArrayTimeseriesTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Tests adding data, out of order and with duplicate timestamps.
+   */
+  public void testAdd() {
+    ArrayTimeseries	series;
+
+    series = new ArrayTimeseries("test", 2);
+    series.add(30L, 3.0);
+    series.add(10L, 1.0);
+    series.add(new TimeseriesPoint(new Date(20L), 2.0));
+    series.add(10L, 1.5);
+    assertEquals("size", 3, series.size());
+    assertEquals("timestamp", 10L, series.getTimestamp(0));
+    assertEquals("value", 1.5, series.getValue(0));
+    assertEquals("value", 2.0, series.getValue(1));
+    assertEquals("index", 2, series.indexOf(30L));
+    assertTrue("not found", series.indexOf(25L) < 0);
+    assertEquals("min", 1.5, series.getMinValue().getValue());
+    assertEquals("max", 3.0, series.getMaxValue().getValue());
+  }
+
+  /**
+   * Tests the lookup methods.
+   */
+  public void testFind() {
+    ArrayTimeseries	series;
+
+    series = new ArrayTimeseries();
+    series.addAll(new long[]{10L, 20L, 30L}, new double[]{1.0, 2.0, 3.0});
+    assertEquals("find", 2.0, series.find(new Date(20L)).getValue());
+    assertNull("find", series.find(new Date(25L)));
+    assertEquals("closest", 3.0, series.findClosest(new Date(27L)).getValue());
+    assertEquals("closest", 1.0, series.findClosest(new Date(0L)).getValue());
+  }
+
+  /**
+   * Tests the conversion from and to the point-based timeseries.
+   */
+  public void testConversion() {
+    Timeseries		series;
+    ArrayTimeseries	array;
+    ArrayTimeseries	clone;
+
+    series = new Timeseries("test");
+    series.add(new TimeseriesPoint(new Date(10L), 1.0));
+    series.add(new TimeseriesPoint(new Date(20L), 2.0));
+    array = ArrayTimeseries.valueOf(series);
+    assertEquals("id", "test", array.getID());
+    assertEquals("size", series.size(), array.size());
+    assertEquals("values", 2, TimeseriesUtils.toDoubleArray(array).length);
+    assertEquals("timestamps", 20L, TimeseriesUtils.toTimestampArray(array)[1]);
+
+    clone = (ArrayTimeseries) array.getClone();
+    clone.setValue(0, 5.0);
+    assertEquals("original unchanged", 1.0, array.getValue(0));
+    assertEquals("clone changed", 5.0, clone.getValue(0));
+
+    array.remove(array.toList().get(0));
+    assertEquals("size", 1, array.size());
+    assertEquals("timestamp", 20L, array.getTimestamp(0));
+  }
+
+  /**
+   * Returns a test suite.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(ArrayTimeseriesTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
@@ -0,0 +1,257 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * BlockTimeseriesFileTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.timeseries;
+
+import adams.data.report.Report;
+import adams.data.timeseries.BlockTimeseriesFile.Aggregation;
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import adams.test.TmpFile;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import java.io.File;
+
+/**
+ * Tests the {@link BlockTimeseriesFile} class.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class BlockTimeseriesFileTest
+  extends AdamsTestCase {
+
+  /** the number of points. */
+  public final static int NUM_POINTS = 1000;
+
+  /** the block size. */
+  public final static int BLOCK_SIZE = 100;
+
+  /** the temp file. */
+  protected File m_File;
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public BlockTimeseriesFileTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Called by JUnit before each test method.
+   *
+   * @throws Exception if an error occurs
+   */
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    m_File = new TmpFile("blocks.tsb");
+  }
+
+  /**
+   * Called by JUnit after each test method.
+   *
+   * @throws Exception if an error occurs
+   */
+  @Override
+  protected void tearDown() throws Exception {
+    if (m_File.exists())
+      m_File.delete();
+    super.tearDown();
+  }
+
+  /**
+   * Generates a noisy timeseries, with one point per second.
+   *
+   * @return		the timeseries
+   */
+  protected ArrayTimeseries generate() {
+    ArrayTimeseries	result;
+    Report		report;
+    int			i;
+
+    result = new ArrayTimeseries("test", NUM_POINTS);
+    for (i = 0; i < NUM_POINTS; i++)
+      result.add(1000L * i, Math.sin(i / 20.0) + ((i * 7919) % 13) / 13.0);
+    report = new Report();
+    report.setStringValue("Source", "generated");
+    result.setReport(report);
+
+    return result;
+  }
+
+  /**
+   * Writes the data and opens the file again.
+   *
+   * @param data	the data to write
+   * @param compress	whether to compress the blocks
+   * @return		the opened file
+   * @throws Exception	if writing/reading fails
+   */
+  protected BlockTimeseriesFile writeAndOpen(Timeseries data, boolean compress) throws Exception {
+    BlockTimeseriesFile.write(m_File, data, BLOCK_SIZE, compress);
+    return new BlockTimeseriesFile(m_File);
+  }
+
+  /**
+   * Tests writing and reading the complete timeseries.
+   *
+   * @throws Exception	if writing/reading fails
+   */
+  public void testRoundTrip() throws Exception {
+    ArrayTimeseries	data;
+    ArrayTimeseries	output;
+    int			i;
+
+    data = generate();
+    for (boolean compress: new boolean[]{true, false}) {
+      try (BlockTimeseriesFile file = writeAndOpen(data, compress)) {
+	assertEquals("compressed", compress, file.isCompressed());
+	assertEquals("points", NUM_POINTS, file.getNumPoints());
+	assertEquals("blocks", NUM_POINTS / BLOCK_SIZE, file.getBlocks().size());
+	assertEquals("min", 0L, file.getMinTimestamp());
+	assertEquals("max", 1000L * (NUM_POINTS - 1), file.getMaxTimestamp());
+	output = file.getHeader();
+	assertEquals("ID", "test", output.getID());
+	assertEquals("report", "generated", output.getReport().getStringValue("Source"));
+	file.read(Long.MIN_VALUE, Long.MAX_VALUE, output);
+	assertEquals("size", data.size(), output.size());
+	for (i = 0; i < data.size(); i++) {
+	  assertEquals("timestamp #" + i, data.getTimestamp(i), output.getTimestamp(i));
+	  assertEquals("value #" + i, data.getValue(i), output.getValue(i), 0.0);
+	}
+      }
+    }
+  }
+
+  /**
+   * Tests range queries only decoding the overlapping blocks.
+   *
+   * @throws Exception	if writing/reading fails
+   */
+  public void testRange() throws Exception {
+    ArrayTimeseries	data;
+    ArrayTimeseries	output;
+    int			i;
+
+    data = generate();
+    try (BlockTimeseriesFile file = writeAndOpen(data, true)) {
+      output = new ArrayTimeseries();
+      file.read(250500L, 399000L, output);
+      assertEquals("size", 149, output.size());
+      for (i = 0; i < output.size(); i++) {
+	assertEquals("timestamp #" + i, data.getTimestamp(251 + i), output.getTimestamp(i));
+	assertEquals("value #" + i, data.getValue(251 + i), output.getValue(i), 0.0);
+      }
+      assertEquals("decoded", 2, file.getNumBlocksDecoded());
+
+      output = new ArrayTimeseries();
+      file.read(2000000L, 3000000L, output);
+      assertEquals("size", 0, output.size());
+      assertEquals("decoded", 2, file.getNumBlocksDecoded());
+    }
+  }
+
+  /**
+   * Tests the downsampling against aggregating the raw points.
+   *
+   * @throws Exception	if writing/reading fails
+   */
+  public void testDownsample() throws Exception {
+    ArrayTimeseries	data;
+    ArrayTimeseries	output;
+    double[]		min;
+    double[]		max;
+    double[]		sum;
+    int[]		count;
+    long		width;
+    int			bucket;
+    int			i;
+    int			n;
+
+    data = generate();
+    for (int numBuckets: new int[]{3, 10, 64}) {
+      width = (data.getTimestamp(data.size() - 1) - data.getTimestamp(0)) / numBuckets + 1;
+      min   = new double[numBuckets];
+      max   = new double[numBuckets];
+      sum   = new double[numBuckets];
+      count = new int[numBuckets];
+      for (i = 0; i < numBuckets; i++) {
+	min[i] = Double.POSITIVE_INFINITY;
+	max[i] = Double.NEGATIVE_INFINITY;
+      }
+      for (i = 0; i < data.size(); i++) {
+	bucket         = (int) ((data.getTimestamp(i) - data.getTimestamp(0)) / width);
+	min[bucket]    = Math.min(min[bucket], data.getValue(i));
+	max[bucket]    = Math.max(max[bucket], data.getValue(i));
+	sum[bucket]   += data.getValue(i);
+	count[bucket] += 1;
+      }
+
+      for (Aggregation aggregation: Aggregation.values()) {
+	try (BlockTimeseriesFile file = writeAndOpen(data, true)) {
+	  output = new ArrayTimeseries();
+	  file.downsample(Long.MIN_VALUE, Long.MAX_VALUE, numBuckets, aggregation, output);
+	  if (numBuckets == 3)
+	    assertTrue("blocks skipped", file.getNumBlocksDecoded() < file.getBlocks().size());
+	  n = 0;
+	  for (i = 0; i < numBuckets; i++) {
+	    if (count[i] == 0)
+	      continue;
+	    assertEquals("timestamp #" + i, i * width + width / 2, output.getTimestamp(n));
+	    switch (aggregation) {
+	      case MIN:
+		assertEquals("min #" + i, min[i], output.getValue(n), 0.0);
+		break;
+	      case MAX:
+		assertEquals("max #" + i, max[i], output.getValue(n), 0.0);
+		break;
+	      case MEAN:
+		assertEquals("mean #" + i, sum[i] / count[i], output.getValue(n), 1e-9);
+		break;
+	    }
+	    n++;
+	  }
+	  assertEquals("buckets", n, output.size());
+	}
+      }
+    }
+  }
+
+  /**
+   * Returns the test suite.
+   *
+   * @return		the suite
+   */
+  public static Test suite() {
+    return new TestSuite(BlockTimeseriesFileTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
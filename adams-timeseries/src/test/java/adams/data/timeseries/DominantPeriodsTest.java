@@ -0,0 +1,161 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * DominantPeriodsTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package adams.data.timeseries;
+
+import adams.data.io.input.AbstractTimeseriesReader;
+import adams.data.io.input.SimpleTimeseriesReader;
+import adams.env.Environment;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Test class for the DominantPeriods feature generator. Run from the command line with: <br><br>
+ * java adams.data.timeseries.DominantPeriodsTest
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class DominantPeriodsTest
+  extends AbstractTimeseriesFeatureGeneratorTestCase {
+
+  /**
+   * Constructs the test case. Called by subclasses.
+   *
+   * @param name 	the name of the test
+   */
+  public DominantPeriodsTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Generates a timeseries with one point per second.
+   *
+   * @param n		the number of points
+   * @param period	the period of the sine wave, 0 for a linear ramp
+   * @return		the timeseries
+   */
+  protected Timeseries generate(int n, int period) {
+    Timeseries	result;
+    int		i;
+    double	value;
+
+    result = new Timeseries();
+    for (i = 0; i < n; i++) {
+      if (period > 0)
+	value = 5.0 + Math.sin(2 * Math.PI * i / period);
+      else
+	value = i;
+      result.add(new TimeseriesPoint(new Date(i * 1000L), value));
+    }
+
+    return result;
+  }
+
+  /**
+   * Tests the detection of a known period.
+   */
+  public void testKnownPeriod() {
+    DominantPeriods	generator;
+    List<Object>[]	rows;
+
+    generator = new DominantPeriods();
+    generator.setNumPeriods(2);
+    rows = generator.generateRows(generate(100, 10));
+    assertEquals("#rows", 1, rows.length);
+    assertEquals("#features", 6, rows[0].size());
+    assertEquals("lag", 10.0, (Double) rows[0].get(0), 0.0);
+    assertEquals("msec", 10000.0, (Double) rows[0].get(1), 0.0);
+    assertEquals("strength", 0.9, (Double) rows[0].get(2), 1e-8);
+    assertEquals("lag of second period", 20.0, (Double) rows[0].get(3), 0.0);
+    assertEquals("msec of second period", 20000.0, (Double) rows[0].get(4), 0.0);
+
+    // no periodicity
+    rows = generator.generateRows(generate(100, 0));
+    assertEquals("#features", 6, rows[0].size());
+    for (Object feature: rows[0])
+      assertNull("no period expected", feature);
+  }
+
+  /**
+   * Returns the filenames (without path) of the input data files to use
+   * in the regression test.
+   *
+   * @return		the filenames
+   */
+  @Override
+  protected String[] getRegressionInputFiles() {
+    return new String[]{
+	"periodic.sts",
+	"periodic.sts",
+    };
+  }
+
+  /**
+   * Returns the timeseries filereaders to use in the regression test for
+   * loading the timeseries files.
+   *
+   * @return		the readers
+   */
+  @Override
+  protected AbstractTimeseriesReader[] getRegressionInputReaders() {
+    return new AbstractTimeseriesReader[]{
+	new SimpleTimeseriesReader(),
+	new SimpleTimeseriesReader(),
+    };
+  }
+
+  /**
+   * Returns the setups to use in the regression test.
+   *
+   * @return		the setups
+   */
+  @Override
+  protected AbstractTimeseriesFeatureGenerator[] getRegressionSetups() {
+    DominantPeriods[]	result;
+
+    result = new DominantPeriods[2];
+    result[0] = new DominantPeriods();
+    result[1] = new DominantPeriods();
+    result[1].setNumPeriods(1);
+
+    return result;
+  }
+
+  /**
+   * Returns the test suite.
+   *
+   * @return		the suite
+   */
+  public static Test suite() {
+    return new TestSuite(DominantPeriodsTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
@@ -0,0 +1,320 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * PrimedForecasterCacheTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package weka.classifiers.timeseries;
+
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import weka.classifiers.evaluation.NumericPrediction;
+import weka.classifiers.functions.LinearRegression;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+import weka.core.SerializedObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the PrimedForecasterCache class. Run from commandline with: <br><br>
+ * java weka.classifiers.timeseries.PrimedForecasterCacheTest
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class PrimedForecasterCacheTest
+  extends AdamsTestCase {
+
+  /** the number of steps to forecast. */
+  public final static int STEPS = 5;
+
+  /** the tolerance for comparing forecasts. */
+  public final static double DELTA = 1e-8;
+
+  /**
+   * Initializes the test.
+   *
+   * @param name	the name of the test
+   */
+  public PrimedForecasterCacheTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Generates a series.
+   *
+   * @param id		the ID of the series, used as relation name
+   * @param offset	the offset for the values
+   * @param n		the number of rows
+   * @return		the series
+   */
+  protected Instances generate(String id, double offset, int n) {
+    Instances			result;
+    ArrayList<Attribute>	atts;
+    int				i;
+
+    atts = new ArrayList<>();
+    atts.add(new Attribute("value"));
+    result = new Instances(id, atts, n);
+    for (i = 0; i < n; i++)
+      result.add(new DenseInstance(1.0, new double[]{offset + i * 0.1 + Math.sin(i / 3.0)}));
+
+    return result;
+  }
+
+  /**
+   * Returns a trained forecaster.
+   *
+   * @return		the forecaster
+   * @throws Exception	if training fails
+   */
+  protected AbstractForecaster newForecaster() throws Exception {
+    WekaForecaster	result;
+
+    result = new WekaForecaster();
+    result.setFieldsToForecast("value");
+    result.setBaseForecaster(new LinearRegression());
+    result.getTSLagMaker().setMinLag(1);
+    result.getTSLagMaker().setMaxLag(3);
+    result.buildForecaster(generate("train", 0.0, 100));
+
+    return result;
+  }
+
+  /**
+   * Returns the forecasts of the primed forecaster.
+   *
+   * @param forecaster	the forecaster to use
+   * @return		the forecasts
+   * @throws Exception	if forecasting fails
+   */
+  protected double[] forecast(AbstractForecaster forecaster) throws Exception {
+    double[]				result;
+    List<List<NumericPrediction>>	preds;
+    int					i;
+
+    preds  = forecaster.forecast(STEPS);
+    result = new double[preds.size()];
+    for (i = 0; i < preds.size(); i++)
+      result[i] = preds.get(i).get(0).predicted();
+
+    return result;
+  }
+
+  /**
+   * Compares two forecasts.
+   *
+   * @param msg		the message prefix
+   * @param expected	the expected forecasts
+   * @param actual	the actual forecasts
+   */
+  protected void assertForecasts(String msg, double[] expected, double[] actual) {
+    int		i;
+
+    assertEquals(msg + ": #steps", expected.length, actual.length);
+    for (i = 0; i < expected.length; i++)
+      assertEquals(msg + ": step " + i, expected[i], actual[i], DELTA);
+  }
+
+  /**
+   * Tests replaying the delta against full priming.
+   *
+   * @throws Exception	if test fails
+   */
+  public void testReplay() throws Exception {
+    PrimedForecasterCache	cache;
+    AbstractForecaster		source;
+    AbstractForecaster		full;
+    Instances			data;
+    double[]			expected;
+
+    source = newForecaster();
+    cache  = new PrimedForecasterCache(10);
+    cache.setForecaster(source);
+
+    cache.prime("a", generate("a", 1.0, 50));
+    assertEquals("#primings", 1, cache.getNumPrimings());
+
+    // extension gets replayed
+    data = generate("a", 1.0, 60);
+    full = newForecaster();
+    full.primeForecaster(data);
+    expected = forecast(full);
+    assertForecasts("replayed", expected, forecast(cache.prime("a", data)));
+    assertEquals("#primings after replay", 1, cache.getNumPrimings());
+    assertEquals("#replayed", 10, cache.getNumReplayed());
+
+    // same length and last row, but different prefix
+    data = generate("a", 1.0, 60);
+    data.instance(5).setValue(0, 42.0);
+    cache.prime("a", data);
+    assertEquals("#primings after changed prefix", 2, cache.getNumPrimings());
+  }
+
+  /**
+   * Tests that the returned forecasters are not affected by later primings.
+   *
+   * @throws Exception	if test fails
+   */
+  public void testCopies() throws Exception {
+    PrimedForecasterCache	cache;
+    AbstractForecaster		first;
+    AbstractForecaster		second;
+    AbstractForecaster[]	primed;
+    double[]			expected;
+
+    cache = new PrimedForecasterCache(10);
+    cache.setForecaster(newForecaster());
+    first    = cache.prime("a", generate("a", 1.0, 50));
+    expected = forecast(first);
+    second   = cache.prime("a", generate("a", 1.0, 70));
+    assertNotSame("same forecaster", first, second);
+    assertForecasts("after replay", expected, forecast(first));
+
+    // same ID twice in one batch
+    primed = cache.prime(
+      new String[]{"b", "b"},
+      new Instances[]{generate("b", 2.0, 40), generate("b", 2.0, 45)},
+      1);
+    assertNotSame("same forecaster for same ID", primed[0], primed[1]);
+  }
+
+  /**
+   * Tests that only changed forecasters invalidate the cached series.
+   *
+   * @throws Exception	if test fails
+   */
+  public void testSnapshot() throws Exception {
+    PrimedForecasterCache	cache;
+    AbstractForecaster		source;
+    WekaForecaster		other;
+
+    source = newForecaster();
+    cache  = new PrimedForecasterCache(10);
+    cache.setForecaster(source);
+    cache.prime("a", generate("a", 1.0, 50));
+
+    // new instance of the same forecaster
+    cache.setForecaster((AbstractForecaster) new SerializedObject(source).getObject());
+    assertEquals("#cached after same forecaster", 1, cache.size());
+    cache.prime("a", generate("a", 1.0, 55));
+    assertEquals("#primings after same forecaster", 1, cache.getNumPrimings());
+    assertEquals("#replayed after same forecaster", 5, cache.getNumReplayed());
+
+    // different forecaster
+    other = new WekaForecaster();
+    other.setFieldsToForecast("value");
+    other.setBaseForecaster(new LinearRegression());
+    other.getTSLagMaker().setMinLag(1);
+    other.getTSLagMaker().setMaxLag(2);
+    other.buildForecaster(generate("train", 0.0, 100));
+    cache.setForecaster(other);
+    assertEquals("#cached after different forecaster", 0, cache.size());
+  }
+
+  /**
+   * Tests the eviction of series.
+   *
+   * @throws Exception	if test fails
+   */
+  public void testEviction() throws Exception {
+    PrimedForecasterCache	cache;
+
+    cache = new PrimedForecasterCache(2);
+    cache.setForecaster(newForecaster());
+    cache.prime("a", generate("a", 1.0, 50));
+    cache.prime("b", generate("b", 2.0, 50));
+    cache.prime("c", generate("c", 3.0, 50));
+    assertEquals("#cached", 2, cache.size());
+    assertEquals("#primings", 3, cache.getNumPrimings());
+
+    // "a" got evicted
+    cache.prime("a", generate("a", 1.0, 55));
+    assertEquals("#primings after eviction", 4, cache.getNumPrimings());
+    assertEquals("#replayed after eviction", 0, cache.getNumReplayed());
+
+    // "c" is still cached
+    cache.prime("c", generate("c", 3.0, 55));
+    assertEquals("#primings for cached", 4, cache.getNumPrimings());
+    assertEquals("#replayed for cached", 5, cache.getNumReplayed());
+
+    // caching turned off
+    cache = new PrimedForecasterCache(0);
+    cache.setForecaster(newForecaster());
+    cache.prime("a", generate("a", 1.0, 50));
+    cache.prime("a", generate("a", 1.0, 55));
+    assertEquals("#primings without cache", 2, cache.getNumPrimings());
+  }
+
+  /**
+   * Tests sequential against parallel priming.
+   *
+   * @throws Exception	if test fails
+   */
+  public void testParallel() throws Exception {
+    PrimedForecasterCache	sequential;
+    PrimedForecasterCache	parallel;
+    AbstractForecaster		source;
+    String[]			ids;
+    Instances[]			data;
+    AbstractForecaster[]	expected;
+    AbstractForecaster[]	actual;
+    int				i;
+
+    ids  = new String[]{"a", "b", "c", "a", "d", "b", "e", "a"};
+    data = new Instances[ids.length];
+    for (i = 0; i < ids.length; i++)
+      data[i] = generate(ids[i], ids[i].charAt(0) - 'a', 30 + i * 5);
+
+    source     = newForecaster();
+    sequential = new PrimedForecasterCache(10);
+    sequential.setForecaster(source);
+    parallel   = new PrimedForecasterCache(10);
+    parallel.setForecaster(source);
+    for (int round = 0; round < 2; round++) {
+      expected = sequential.prime(ids, data, 1);
+      actual   = parallel.prime(ids, data, 4);
+      for (i = 0; i < ids.length; i++)
+	assertForecasts("round " + round + ", series " + i, forecast(expected[i]), forecast(actual[i]));
+    }
+    assertEquals("#primings", sequential.getNumPrimings(), parallel.getNumPrimings());
+    assertEquals("#replayed", sequential.getNumReplayed(), parallel.getNumReplayed());
+  }
+
+  /**
+   * Returns a test suite.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(PrimedForecasterCacheTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
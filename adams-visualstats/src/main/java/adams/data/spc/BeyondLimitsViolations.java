@@ -15,7 +15,7 @@
 
 /**
  * BeyondLimitsViolations.java
- * Copyright (C) 2015 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.spc;
@@ -40,7 +40,8 @@ import gnu.trove.list.array.TIntArrayList;
  * @version $Revision$
  */
 public class BeyondLimitsViolations
-  extends AbstractViolationFinder {
+  extends AbstractViolationFinder
+  implements IncrementalViolationFinder {
 
   private static final long serialVersionUID = 6050852088287348188L;
 
@@ -79,4 +80,26 @@ public class BeyondLimitsViolations
 
     return result.toArray();
   }
+
+  /**
+   * Resets the state, nothing to do.
+   */
+  @Override
+  public void resetState() {
+  }
+
+  /**
+   * Checks the next data point.
+   *
+   * @param index	the index of the data point
+   * @param value	the value of the data point
+   * @param limits	the limits for the data point
+   * @return		the index if below lower or above upper limit, otherwise -1
+   */
+  @Override
+  public int update(int index, double value, Limits limits) {
+    if ((value < limits.getLower()) || (value > limits.getUpper()))
+      return index;
+    return -1;
+  }
 }
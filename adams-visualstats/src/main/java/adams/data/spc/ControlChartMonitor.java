@@ -0,0 +1,206 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/**
+ * ControlChartMonitor.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package adams.data.spc;
+
+import adams.data.spc.event.ViolationEvent;
+import adams.data.spc.event.ViolationListener;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Monitors a stream of data with an incremental control chart. The state of
+ * the chart and the violation finder gets updated with each sample, rather
+ * than recalculating everything from scratch. Violations get sent to the
+ * registered listeners.
+ * <br><br>
+ * Violation finders that don't implement {@link IncrementalViolationFinder}
+ * only get to see the current data point.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class ControlChartMonitor
+  implements Serializable {
+
+  private static final long serialVersionUID = -4236478720957346529L;
+
+  /** the chart in use. */
+  protected IncrementalControlChart m_Chart;
+
+  /** the violation finder in use. */
+  protected ViolationFinder m_ViolationFinder;
+
+  /** the number of data points generated so far. */
+  protected int m_NumPoints;
+
+  /** the last limits. */
+  protected Limits m_Limits;
+
+  /** the listeners. */
+  protected transient Set<ViolationListener> m_ViolationListeners;
+
+  /**
+   * Initializes the monitor.
+   *
+   * @param chart	the chart to use
+   * @param finder	the violation finder to use
+   */
+  public ControlChartMonitor(IncrementalControlChart chart, ViolationFinder finder) {
+    m_Chart           = chart;
+    m_ViolationFinder = finder;
+    reset();
+  }
+
+  /**
+   * Resets the state of chart and violation finder.
+   */
+  public void reset() {
+    m_Chart.resetState();
+    if (m_ViolationFinder instanceof IncrementalViolationFinder)
+      ((IncrementalViolationFinder) m_ViolationFinder).resetState();
+    m_NumPoints = 0;
+    m_Limits    = null;
+  }
+
+  /**
+   * Returns the chart in use.
+   *
+   * @return		the chart
+   */
+  public IncrementalControlChart getChart() {
+    return m_Chart;
+  }
+
+  /**
+   * Returns the violation finder in use.
+   *
+   * @return		the violation finder
+   */
+  public ViolationFinder getViolationFinder() {
+    return m_ViolationFinder;
+  }
+
+  /**
+   * Returns the number of data points generated so far.
+   *
+   * @return		the number of points
+   */
+  public int getNumPoints() {
+    return m_NumPoints;
+  }
+
+  /**
+   * Returns the limits of the last data point.
+   *
+   * @return		the limits, null if no data point generated yet
+   */
+  public Limits getLimits() {
+    return m_Limits;
+  }
+
+  /**
+   * Returns the listeners, instantiates them if necessary.
+   *
+   * @return		the listeners
+   */
+  protected synchronized Set<ViolationListener> getViolationListeners() {
+    if (m_ViolationListeners == null)
+      m_ViolationListeners = new HashSet<>();
+    return m_ViolationListeners;
+  }
+
+  /**
+   * Adds the listener to be notified of violations.
+   *
+   * @param l		the listener to add
+   */
+  public void addViolationListener(ViolationListener l) {
+    getViolationListeners().add(l);
+  }
+
+  /**
+   * Removes the listener.
+   *
+   * @param l		the listener to remove
+   */
+  public void removeViolationListener(ViolationListener l) {
+    getViolationListeners().remove(l);
+  }
+
+  /**
+   * Notifies all listeners of the violation.
+   *
+   * @param e		the event to send
+   */
+  protected void notifyViolationListeners(ViolationEvent e) {
+    for (ViolationListener l: getViolationListeners().toArray(new ViolationListener[0]))
+      l.violationDetected(e);
+  }
+
+  /**
+   * Checks the prepared value for violations and updates the counter.
+   *
+   * @param prepared	the prepared value, NaN if none
+   * @return		the prepared value
+   */
+  protected double check(double prepared) {
+    int		index;
+
+    if (Double.isNaN(prepared))
+      return prepared;
+
+    m_Limits = m_Chart.getCurrentLimits();
+    if (m_ViolationFinder instanceof IncrementalViolationFinder) {
+      index = ((IncrementalViolationFinder) m_ViolationFinder).update(m_NumPoints, prepared, m_Limits);
+    }
+    else {
+      index = -1;
+      if (m_ViolationFinder.find(new double[]{prepared}, new Limits[]{m_Limits}).length > 0)
+	index = m_NumPoints;
+    }
+    if (index > -1)
+      notifyViolationListeners(new ViolationEvent(this, index, prepared, m_Limits));
+    m_NumPoints++;
+
+    return prepared;
+  }
+
+  /**
+   * Adds the value.
+   *
+   * @param value	the value to add
+   * @return		the prepared value, NaN if none available yet
+   */
+  public double add(Number value) {
+    return check(((IncrementalIndividualsControlChart) m_Chart).update(value));
+  }
+
+  /**
+   * Adds the sample.
+   *
+   * @param sample	the sample to add
+   * @return		the prepared value, NaN if none available yet
+   */
+  public double add(Number[] sample) {
+    return check(((IncrementalMatrixControlChart) m_Chart).update(sample));
+  }
+}
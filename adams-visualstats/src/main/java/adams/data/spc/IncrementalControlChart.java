@@ -0,0 +1,51 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/**
+ * IncrementalControlChart.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package adams.data.spc;
+
+/**
+ * Interface for control charts that can update their state one sample at
+ * a time, with constant cost per sample. The limits reflect all the samples
+ * seen so far.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public interface IncrementalControlChart
+  extends ControlChart {
+
+  /**
+   * Resets the state, i.e., removes all samples.
+   */
+  public void resetState();
+
+  /**
+   * Returns the number of samples processed so far.
+   *
+   * @return		the number of samples
+   */
+  public int getNumSamples();
+
+  /**
+   * Returns the limits based on the samples processed so far.
+   *
+   * @return		the limits, null if not enough data yet
+   */
+  public Limits getCurrentLimits();
+}
@@ -0,0 +1,38 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/**
+ * IncrementalMatrixControlChart.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package adams.data.spc;
+
+/**
+ * Interface for matrix control charts that can be updated incrementally.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public interface IncrementalMatrixControlChart
+  extends IncrementalControlChart, MatrixControlChart {
+
+  /**
+   * Adds the sample to the state.
+   *
+   * @param sample	the sample to add
+   * @return		the prepared value, NaN if none available yet
+   */
+  public double update(Number[] sample);
+}
@@ -0,0 +1,46 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/**
+ * IncrementalViolationFinder.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package adams.data.spc;
+
+/**
+ * Interface for violation finders that can check data points one at a time.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public interface IncrementalViolationFinder
+  extends ViolationFinder {
+
+  /**
+   * Resets the state, i.e., forgets all previous data points.
+   */
+  public void resetState();
+
+  /**
+   * Checks the next data point.
+   *
+   * @param index	the index of the data point
+   * @param value	the value of the data point
+   * @param limits	the limits for the data point
+   * @return		the index of the data point that is now flagged as
+   * 			violation, -1 if none
+   */
+  public int update(int index, double value, Limits limits);
+}
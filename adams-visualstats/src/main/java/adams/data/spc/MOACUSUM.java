@@ -15,7 +15,7 @@
 
 /**
  * MOACUSUM.java
- * Copyright (C) 2017 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2017-2026 University of Waikato, Hamilton, NZ
  * Copyright (C) 2014 - 2015 Apache Software Foundation
  */
 
@@ -80,7 +80,7 @@ import java.util.List;
 )
 public class MOACUSUM
   extends AbstractControlChart
-  implements IndividualsControlChart {
+  implements IncrementalIndividualsControlChart {
 
   private static final long serialVersionUID = -8104165645635976186L;
 
@@ -93,6 +93,18 @@ public class MOACUSUM
   /** the lambda parameter. */
   protected double m_Lambda;
 
+  /** the number of samples processed so far. */
+  protected int m_NumSamples;
+
+  /** the running mean. */
+  protected double m_Mean;
+
+  /** the cumulative sum for upward shifts. */
+  protected double m_SumHigh;
+
+  /** the cumulative sum for downward shifts. */
+  protected double m_SumLow;
+
   /**
    * Returns a string describing the object.
    *
@@ -303,4 +315,65 @@ public class MOACUSUM
 
     return result.toArray();
   }
+
+  /**
+   * Resets the scheme.
+   */
+  @Override
+  protected void reset() {
+    super.reset();
+    resetState();
+  }
+
+  /**
+   * Resets the state, i.e., removes all samples.
+   */
+  @Override
+  public void resetState() {
+    m_NumSamples = 0;
+    m_Mean       = 0.0;
+    m_SumHigh    = 0.0;
+    m_SumLow     = 0.0;
+  }
+
+  /**
+   * Returns the number of samples processed so far.
+   *
+   * @return		the number of samples
+   */
+  @Override
+  public int getNumSamples() {
+    return m_NumSamples;
+  }
+
+  /**
+   * Adds the value to the state.
+   *
+   * @param value	the value to add
+   * @return		the test statistic, NaN if fewer than the minimum
+   * 			number of values processed so far
+   */
+  @Override
+  public double update(Number value) {
+    double	x;
+
+    x         = value.doubleValue();
+    m_NumSamples++;
+    m_Mean    = m_Mean + (x - m_Mean) / m_NumSamples;
+    m_SumHigh = Math.max(0, m_SumHigh + x - m_Mean - m_Delta);
+    m_SumLow  = Math.max(0, m_SumLow + m_Mean - m_Delta - x);
+    if (m_NumSamples < m_MinNumValues)
+      return Double.NaN;
+    return Math.max(m_SumHigh, m_SumLow);
+  }
+
+  /**
+   * Returns the limits, which are determined by the threshold.
+   *
+   * @return		the limits
+   */
+  @Override
+  public Limits getCurrentLimits() {
+    return new Limits(0.0, m_Lambda / 2, m_Lambda);
+  }
 }
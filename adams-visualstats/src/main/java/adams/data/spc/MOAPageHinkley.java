@@ -15,7 +15,7 @@
 
 /**
  * MOACUSUM.java
- * Copyright (C) 2017 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2017-2026 University of Waikato, Hamilton, NZ
  * Copyright (C) 2014 - 2015 Apache Software Foundation
  */
 
@@ -85,7 +85,7 @@ import java.util.List;
 )
 public class MOAPageHinkley
   extends AbstractControlChart
-  implements IndividualsControlChart {
+  implements IncrementalIndividualsControlChart {
 
   private static final long serialVersionUID = -8104165645635976186L;
 
@@ -101,6 +101,15 @@ public class MOAPageHinkley
   /** the alpha parameter. */
   protected double m_Alpha;
 
+  /** the number of samples processed so far. */
+  protected int m_NumSamples;
+
+  /** the running mean. */
+  protected double m_Mean;
+
+  /** the cumulative sum. */
+  protected double m_Sum;
+
   /**
    * Returns a string describing the object.
    *
@@ -344,4 +353,63 @@ public class MOAPageHinkley
 
     return result.toArray();
   }
+
+  /**
+   * Resets the scheme.
+   */
+  @Override
+  protected void reset() {
+    super.reset();
+    resetState();
+  }
+
+  /**
+   * Resets the state, i.e., removes all samples.
+   */
+  @Override
+  public void resetState() {
+    m_NumSamples = 0;
+    m_Mean       = 0.0;
+    m_Sum        = 0.0;
+  }
+
+  /**
+   * Returns the number of samples processed so far.
+   *
+   * @return		the number of samples
+   */
+  @Override
+  public int getNumSamples() {
+    return m_NumSamples;
+  }
+
+  /**
+   * Adds the value to the state.
+   *
+   * @param value	the value to add
+   * @return		the test statistic, NaN if fewer than the minimum
+   * 			number of values processed so far
+   */
+  @Override
+  public double update(Number value) {
+    double	x;
+
+    x      = value.doubleValue();
+    m_NumSamples++;
+    m_Mean = m_Mean + (x - m_Mean) / m_NumSamples;
+    m_Sum  = m_Alpha * m_Sum + (x - m_Mean - m_Delta);
+    if (m_NumSamples < m_MinNumValues)
+      return Double.NaN;
+    return m_Sum;
+  }
+
+  /**
+   * Returns the limits, which are determined by the threshold.
+   *
+   * @return		the limits
+   */
+  @Override
+  public Limits getCurrentLimits() {
+    return new Limits(-m_Lambda, 0.0, m_Lambda);
+  }
 }
@@ -15,7 +15,7 @@
 
 /**
  * NullViolations.java
- * Copyright (C) 2015 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.spc;
@@ -38,7 +38,8 @@ package adams.data.spc;
  * @version $Revision$
  */
 public class NullViolations
-  extends AbstractViolationFinder {
+  extends AbstractViolationFinder
+  implements IncrementalViolationFinder {
 
   private static final long serialVersionUID = 6050852088287348188L;
 
@@ -62,4 +63,24 @@ public class NullViolations
   protected int[] doFind(double[] data, Limits[] limits) {
     return new int[0];
   }
+
+  /**
+   * Resets the state, nothing to do.
+   */
+  @Override
+  public void resetState() {
+  }
+
+  /**
+   * Checks the next data point.
+   *
+   * @param index	the index of the data point
+   * @param value	the value of the data point
+   * @param limits	the limits for the data point
+   * @return		always -1
+   */
+  @Override
+  public int update(int index, double value, Limits limits) {
+    return -1;
+  }
 }
@@ -15,7 +15,7 @@
 
 /**
  * OnOneSideViolations.java
- * Copyright (C) 2015 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.spc;
@@ -46,13 +46,23 @@ import gnu.trove.list.array.TIntArrayList;
  * @version $Revision$
  */
 public class OnOneSideViolations
-  extends AbstractViolationFinder {
+  extends AbstractViolationFinder
+  implements IncrementalViolationFinder {
 
   private static final long serialVersionUID = 6050852088287348188L;
 
   /** the minimum number of data points on one side before flagging as violation. */
   protected int m_MinPoints;
 
+  /** the side of the current sequence (-1, 0, 1). */
+  protected int m_Side;
+
+  /** the start of the current sequence. */
+  protected int m_RunStart;
+
+  /** the length of the current sequence. */
+  protected int m_RunLength;
+
   /**
    * Returns a string describing the object.
    *
@@ -147,4 +157,53 @@ public class OnOneSideViolations
 
     return result.toArray();
   }
+
+  /**
+   * Resets the scheme.
+   */
+  @Override
+  protected void reset() {
+    super.reset();
+    resetState();
+  }
+
+  /**
+   * Resets the state, i.e., forgets the current sequence.
+   */
+  @Override
+  public void resetState() {
+    m_Side      = 0;
+    m_RunStart  = -1;
+    m_RunLength = 0;
+  }
+
+  /**
+   * Checks the next data point. A sequence gets flagged only once, when it
+   * reaches the minimum length.
+   *
+   * @param index	the index of the data point
+   * @param value	the value of the data point
+   * @param limits	the limits for the data point
+   * @return		the start of the sequence if it just reached the
+   * 			minimum length, otherwise -1
+   */
+  @Override
+  public int update(int index, double value, Limits limits) {
+    int		side;
+
+    side = (int) Math.signum(value - limits.getCenter());
+    if ((m_RunLength == 0) || ((side != 0) && (m_Side != 0) && (side != m_Side))) {
+      m_RunStart  = index;
+      m_RunLength = 1;
+    }
+    else {
+      m_RunLength++;
+    }
+    if (side != 0)
+      m_Side = side;
+
+    if (m_RunLength == m_MinPoints)
+      return m_RunStart;
+    return -1;
+  }
 }
@@ -15,7 +15,7 @@
 
 /**
  * PChart.java
- * Copyright (C) 2015 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.spc;
@@ -56,10 +56,16 @@ import java.util.List;
  */
 public class PChart
   extends AbstractControlChartWithSampleSize
-  implements IndividualsControlChart {
+  implements IncrementalIndividualsControlChart {
 
   private static final long serialVersionUID = 4352909660548550374L;
 
+  /** the number of samples processed so far. */
+  protected int m_NumSamples;
+
+  /** the sum of all values so far. */
+  protected double m_SumValues;
+
   /**
    * Returns a string describing the object.
    *
@@ -136,4 +142,63 @@ public class PChart
   public double[] prepare(Number[] data) {
     return SPCUtils.prepare_data_p(data, m_SampleSize);
   }
+
+  /**
+   * Resets the scheme.
+   */
+  @Override
+  protected void reset() {
+    super.reset();
+    resetState();
+  }
+
+  /**
+   * Resets the state, i.e., removes all samples.
+   */
+  @Override
+  public void resetState() {
+    m_NumSamples = 0;
+    m_SumValues  = 0.0;
+  }
+
+  /**
+   * Returns the number of samples processed so far.
+   *
+   * @return		the number of samples
+   */
+  @Override
+  public int getNumSamples() {
+    return m_NumSamples;
+  }
+
+  /**
+   * Adds the value to the state.
+   *
+   * @param value	the value to add
+   * @return		the prepared value
+   */
+  @Override
+  public double update(Number value) {
+    m_NumSamples++;
+    m_SumValues += value.doubleValue();
+    return value.doubleValue() / (double) m_SampleSize;
+  }
+
+  /**
+   * Returns the limits based on the samples processed so far.
+   *
+   * @return		the limits, null if no samples processed yet
+   */
+  @Override
+  public Limits getCurrentLimits() {
+    double	pbar;
+    double	sd;
+
+    if (m_NumSamples == 0)
+      return null;
+
+    pbar = m_SumValues / ((double) m_SampleSize * m_NumSamples);
+    sd   = Math.sqrt(pbar * (1 - pbar) / (double) m_SampleSize);
+    return new Limits(Math.max(0, pbar - 3 * sd), pbar, Math.min(1.0, pbar + 3 * sd));
+  }
 }
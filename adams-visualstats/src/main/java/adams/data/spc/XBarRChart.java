@@ -15,7 +15,7 @@
 
 /**
  * XBarRChart.java
- * Copyright (C) 2015 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.spc;
@@ -61,13 +61,28 @@ import java.util.List;
  */
 public class XBarRChart
   extends AbstractControlChartWithSampleSize
-  implements SamplesControlChart {
+  implements SamplesControlChart, IncrementalMatrixControlChart {
 
   private static final long serialVersionUID = 4352909660548550374L;
 
   /** whether to generate mean or variation data. */
   protected boolean m_Variation;
 
+  /** the number of samples processed so far. */
+  protected int m_NumSamples;
+
+  /** the sample size in use (incremental mode). */
+  protected int m_StateSampleSize;
+
+  /** the sum of all values so far. */
+  protected double m_SumValues;
+
+  /** the number of values so far. */
+  protected int m_NumValues;
+
+  /** the sum of the sample ranges so far. */
+  protected double m_SumRanges;
+
   /**
    * Returns a string describing the object.
    *
@@ -224,4 +239,95 @@ public class XBarRChart
     else
       return SPCUtils.prepare_data_x_bar_rs_x(data, getActualSampleSize(data));
   }
+
+  /**
+   * Resets the scheme.
+   */
+  @Override
+  protected void reset() {
+    super.reset();
+    resetState();
+  }
+
+  /**
+   * Resets the state, i.e., removes all samples.
+   */
+  @Override
+  public void resetState() {
+    m_NumSamples      = 0;
+    m_StateSampleSize = 0;
+    m_NumValues       = 0;
+    m_SumValues       = 0.0;
+    m_SumRanges       = 0.0;
+  }
+
+  /**
+   * Returns the number of samples processed so far.
+   *
+   * @return		the number of samples
+   */
+  @Override
+  public int getNumSamples() {
+    return m_NumSamples;
+  }
+
+  /**
+   * Adds the sample to the state.
+   *
+   * @param sample	the sample to add
+   * @return		the range or the mean of the sample
+   */
+  @Override
+  public double update(Number[] sample) {
+    double	min;
+    double	max;
+    double	sum;
+    double	value;
+    int		i;
+
+    if (m_NumSamples == 0)
+      m_StateSampleSize = (m_SampleSize > 0) ? m_SampleSize : sample.length;
+
+    min = Double.POSITIVE_INFINITY;
+    max = Double.NEGATIVE_INFINITY;
+    sum = 0.0;
+    for (i = 0; i < sample.length; i++) {
+      value = sample[i].doubleValue();
+      min   = Math.min(min, value);
+      max   = Math.max(max, value);
+      sum  += value;
+    }
+    m_NumSamples++;
+    m_NumValues += sample.length;
+    m_SumValues += sum;
+    m_SumRanges += max - min;
+
+    if (m_Variation)
+      return max - min;
+    else
+      return sum / sample.length;
+  }
+
+  /**
+   * Returns the limits based on the samples processed so far.
+   *
+   * @return		the limits, null if no samples processed yet
+   */
+  @Override
+  public Limits getCurrentLimits() {
+    double	rbar;
+    double	xbar;
+    int		n;
+
+    if (m_NumSamples == 0)
+      return null;
+
+    n    = m_StateSampleSize;
+    rbar = m_SumRanges / m_NumSamples;
+    xbar = m_SumValues / m_NumValues;
+    if (m_Variation)
+      return new Limits(SPCUtils.D3[n] * rbar, rbar, SPCUtils.D4[n] * rbar);
+    else
+      return new Limits(xbar - SPCUtils.A2[n] * rbar, xbar, xbar + SPCUtils.A2[n] * rbar);
+  }
 }
@@ -15,7 +15,7 @@
 
 /**
  * XBarSChart.java
- * Copyright (C) 2015 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.spc;
@@ -24,6 +24,7 @@ import adams.core.TechnicalInformation;
 import adams.core.TechnicalInformation.Field;
 import adams.core.TechnicalInformation.Type;
 import adams.data.statistics.SPCUtils;
+import adams.data.statistics.StatUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -61,13 +62,28 @@ import java.util.List;
  */
 public class XBarSChart
   extends AbstractControlChartWithSampleSize
-  implements SamplesControlChart {
+  implements SamplesControlChart, IncrementalMatrixControlChart {
 
   private static final long serialVersionUID = 4352909660548550374L;
 
   /** whether to generate mean or standard deviation data. */
   protected boolean m_StandardDeviation;
 
+  /** the number of samples processed so far. */
+  protected int m_NumSamples;
+
+  /** the sample size in use (incremental mode). */
+  protected int m_StateSampleSize;
+
+  /** the sum of all values so far. */
+  protected double m_SumValues;
+
+  /** the number of values so far. */
+  protected int m_NumValues;
+
+  /** the sum of the sample standard deviations so far. */
+  protected double m_SumStdDevs;
+
   /**
    * Returns a string describing the object.
    *
@@ -224,4 +240,90 @@ public class XBarSChart
     else
       return SPCUtils.prepare_data_x_bar_rs_x(data, getActualSampleSize(data));
   }
+
+  /**
+   * Resets the scheme.
+   */
+  @Override
+  protected void reset() {
+    super.reset();
+    resetState();
+  }
+
+  /**
+   * Resets the state, i.e., removes all samples.
+   */
+  @Override
+  public void resetState() {
+    m_NumSamples      = 0;
+    m_StateSampleSize = 0;
+    m_NumValues       = 0;
+    m_SumValues       = 0.0;
+    m_SumStdDevs      = 0.0;
+  }
+
+  /**
+   * Returns the number of samples processed so far.
+   *
+   * @return		the number of samples
+   */
+  @Override
+  public int getNumSamples() {
+    return m_NumSamples;
+  }
+
+  /**
+   * Adds the sample to the state.
+   *
+   * @param sample	the sample to add
+   * @return		the standard deviation or the mean of the sample
+   */
+  @Override
+  public double update(Number[] sample) {
+    double	stdev;
+    double	mean;
+    double	sum;
+    int		i;
+
+    if (m_NumSamples == 0)
+      m_StateSampleSize = (m_SampleSize > 0) ? m_SampleSize : sample.length;
+
+    sum = 0.0;
+    for (i = 0; i < sample.length; i++)
+      sum += sample[i].doubleValue();
+    mean  = sum / sample.length;
+    stdev = StatUtils.stddev(sample, true);
+    m_NumSamples++;
+    m_NumValues  += sample.length;
+    m_SumValues  += sum;
+    m_SumStdDevs += stdev;
+
+    if (m_StandardDeviation)
+      return stdev;
+    else
+      return mean;
+  }
+
+  /**
+   * Returns the limits based on the samples processed so far.
+   *
+   * @return		the limits, null if no samples processed yet
+   */
+  @Override
+  public Limits getCurrentLimits() {
+    double	sbar;
+    double	xbar;
+    int		n;
+
+    if (m_NumSamples == 0)
+      return null;
+
+    n    = m_StateSampleSize;
+    sbar = m_SumStdDevs / m_NumSamples;
+    xbar = m_SumValues / m_NumValues;
+    if (m_StandardDeviation)
+      return new Limits(SPCUtils.B3[n] * sbar, sbar, SPCUtils.B4[n] * sbar);
+    else
+      return new Limits(xbar - SPCUtils.A3[n] * sbar, xbar, xbar + SPCUtils.A3[n] * sbar);
+  }
 }
@@ -0,0 +1,98 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/**
+ * ViolationEvent.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package adams.data.spc.event;
+
+import adams.data.spc.Limits;
+
+import java.util.EventObject;
+
+/**
+ * Event that gets sent when a control chart violation was detected.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class ViolationEvent
+  extends EventObject {
+
+  private static final long serialVersionUID = 2306129434733612155L;
+
+  /** the index of the data point flagged as violation. */
+  protected int m_Index;
+
+  /** the value of the data point that triggered the violation. */
+  protected double m_Value;
+
+  /** the limits in use. */
+  protected Limits m_Limits;
+
+  /**
+   * Initializes the event.
+   *
+   * @param source	the object that detected the violation
+   * @param index	the index of the data point flagged as violation
+   * @param value	the value of the data point that triggered the violation
+   * @param limits	the limits in use
+   */
+  public ViolationEvent(Object source, int index, double value, Limits limits) {
+    super(source);
+
+    m_Index  = index;
+    m_Value  = value;
+    m_Limits = limits;
+  }
+
+  /**
+   * Returns the index of the data point flagged as violation.
+   *
+   * @return		the index
+   */
+  public int getIndex() {
+    return m_Index;
+  }
+
+  /**
+   * Returns the value of the data point that triggered the violation.
+   *
+   * @return		the value
+   */
+  public double getValue() {
+    return m_Value;
+  }
+
+  /**
+   * Returns the limits that were in use.
+   *
+   * @return		the limits
+   */
+  public Limits getLimits() {
+    return m_Limits;
+  }
+
+  /**
+   * Returns the event as string.
+   *
+   * @return		a string representation of the event
+   */
+  @Override
+  public String toString() {
+    return "index=" + m_Index + ", value=" + m_Value + ", limits: " + m_Limits;
+  }
+}
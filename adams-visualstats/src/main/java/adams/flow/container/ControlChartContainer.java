@@ -15,7 +15,7 @@
 
 /**
  * ControlChartContainer.java
- * Copyright (C) 2015-2016 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.flow.container;
@@ -53,6 +53,12 @@ public class ControlChartContainer
   /** the identifier for the limits (array of Limits). */
   public final static String VALUE_LIMITS = "Limits";
 
+  /** the identifier for the index of the first prepared data point in the stream (incremental mode). */
+  public final static String VALUE_OFFSET = "Offset";
+
+  /** the identifier for the indices of the violations in the stream (incremental mode). */
+  public final static String VALUE_VIOLATIONS = "Violations";
+
   /**
    * Initializes the container with dummy values.
    * <br><br>
@@ -87,6 +93,24 @@ public class ControlChartContainer
     store(VALUE_LIMITS,    limits);
   }
 
+  /**
+   * Initializes the container with data generated in incremental mode.
+   *
+   * @param algorithm	the algorithm used for generating the data
+   * @param chart	the name of the chart, can be null
+   * @param data        the original data
+   * @param prepared	the prepared/processed data
+   * @param limits	the limits
+   * @param offset	the index of the first prepared data point in the stream
+   * @param violations	the indices of the violations in the stream
+   */
+  public ControlChartContainer(ControlChart algorithm, String chart, Object data, Object prepared, Limits[] limits, int offset, int[] violations) {
+    this(algorithm, chart, data, prepared, limits);
+
+    store(VALUE_OFFSET,     offset);
+    store(VALUE_VIOLATIONS, violations);
+  }
+
   /**
    * Initializes the help strings.
    */
@@ -98,6 +122,8 @@ public class ControlChartContainer
     addHelp(VALUE_DATA, "original data", Object.class);
     addHelp(VALUE_PREPARED, "prepared/processed data", Object.class);
     addHelp(VALUE_LIMITS, "limits; ", Limits[].class);
+    addHelp(VALUE_OFFSET, "index of first prepared data point (incremental mode)", Integer.class);
+    addHelp(VALUE_VIOLATIONS, "indices of violations (incremental mode)", int[].class);
   }
 
   /**
@@ -116,6 +142,8 @@ public class ControlChartContainer
     result.add(VALUE_DATA);
     result.add(VALUE_PREPARED);
     result.add(VALUE_LIMITS);
+    result.add(VALUE_OFFSET);
+    result.add(VALUE_VIOLATIONS);
 
     return result.iterator();
   }
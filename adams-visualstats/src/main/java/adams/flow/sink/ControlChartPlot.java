@@ -15,7 +15,7 @@
 
 /*
  * ControlChartPlot.java
- * Copyright (C) 2015-2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.flow.sink;
@@ -27,6 +27,7 @@ import adams.data.DecimalFormatString;
 import adams.data.sequence.XYSequence;
 import adams.data.sequence.XYSequencePointComparator.Comparison;
 import adams.data.spc.ControlChart;
+import adams.data.sequence.XYSequencePoint;
 import adams.data.spc.IndividualsControlChart;
 import adams.data.spc.Limits;
 import adams.data.spc.MatrixControlChart;
@@ -59,18 +60,21 @@ import adams.gui.visualization.core.axis.FancyTickGenerator;
 import adams.gui.visualization.core.axis.TickGenerator;
 import adams.gui.visualization.core.axis.Type;
 import adams.gui.visualization.core.plot.Axis;
+import adams.gui.visualization.core.plot.ContentPanel;
 import adams.gui.visualization.sequence.MultiPaintlet;
 import adams.gui.visualization.sequence.XYSequenceContainer;
 import adams.gui.visualization.sequence.XYSequenceContainerManager;
 import adams.gui.visualization.sequence.XYSequencePaintlet;
 import gnu.trove.set.hash.TIntHashSet;
 
+import java.awt.Rectangle;
 import java.util.HashMap;
 
 /**
  <!-- globalinfo-start -->
  * Actor for generating control chart plots.<br>
- * The plot needs to be initialized with a class adams.flow.container.ControlChartContainer. After that, individual numbers or arrays, depending on the control chart algorithm used, can be plotted. The last limits encountered (lower&#47;center&#47;upper) are used for all subsequent values. A vertical indicator is used to separate the data that was used for determining the limits and all subsequent data.
+ * The plot needs to be initialized with a class adams.flow.container.ControlChartContainer. After that, individual numbers or arrays, depending on the control chart algorithm used, can be plotted. The last limits encountered (lower&#47;center&#47;upper) are used for all subsequent values. A vertical indicator is used to separate the data that was used for determining the limits and all subsequent data.<br>
+ * Containers generated in incremental mode (i.e., with an offset) get appended to the existing chart instead. With tail redraw enabled, appending only repaints the region right of the previously last point as long as the new points fit within the current axes.
  * <br><br>
  <!-- globalinfo-end -->
  *
@@ -89,7 +93,7 @@ import java.util.HashMap;
  * &nbsp;&nbsp;&nbsp;int[]<br>
  * <br><br>
  * Container information:<br>
- * - adams.flow.container.ControlChartContainer: Algor, Chart, Data, Prepared, Limits
+ * - adams.flow.container.ControlChartContainer: Algor, Chart, Data, Prepared, Limits, Offset, Violations
  * <br><br>
  <!-- flow-summary-end -->
  *
@@ -220,6 +224,13 @@ import java.util.HashMap;
  * &nbsp;&nbsp;&nbsp;default: adams.flow.sink.sequenceplotter.PassThrough
  * </pre>
  * 
+ * <pre>-tail-redraw &lt;boolean&gt; (property: tailRedraw)
+ * &nbsp;&nbsp;&nbsp;If enabled, appending data only repaints the tail of the plot, as long
+ * &nbsp;&nbsp;&nbsp;as the new data fits within the current axes; requires the PassThrough
+ * &nbsp;&nbsp;&nbsp;post-processor.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ * 
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
@@ -270,9 +281,21 @@ public class ControlChartPlot
   /** the limits to use. */
   protected Limits m_Limits;
 
+  /** whether to only repaint the tail when appending data. */
+  protected boolean m_TailRedraw;
+
   /** for keeping track of the tokens. */
   protected NamedCounter m_Counter;
 
+  /** the fraction of points to reserve on the X axis when using tail redraw. */
+  public final static double TAIL_HEADROOM = 0.25;
+
+  /** the minimum number of points to reserve on the X axis when using tail redraw. */
+  public final static int MIN_TAIL_HEADROOM = 10;
+
+  /** the padding in pixels left of the previously last point when repainting the tail. */
+  public final static int TAIL_PADDING = 10;
+
   /**
    * Returns a string describing the object.
    *
@@ -287,7 +310,11 @@ public class ControlChartPlot
 	+ "algorithm used, can be plotted. The last limits encountered "
 	+ "(lower/center/upper) are used for all subsequent values. A vertical "
         + "indicator is used to separate the data that was used for determining "
-	+ "the limits and all subsequent data.";
+	+ "the limits and all subsequent data.\n"
+	+ "Containers generated in incremental mode (i.e., with an offset) get "
+	+ "appended to the existing chart instead. With tail redraw enabled, "
+	+ "appending only repaints the region right of the previously last point "
+	+ "as long as the new points fit within the current axes.";
   }
 
   /**
@@ -336,6 +363,10 @@ public class ControlChartPlot
     m_OptionManager.add(
       "post-processor", "postProcessor",
       new PassThrough());
+
+    m_OptionManager.add(
+      "tail-redraw", "tailRedraw",
+      false);
   }
 
   /**
@@ -722,6 +753,38 @@ public class ControlChartPlot
     return "The post-processor to use on the sequences after a token has been added.";
   }
 
+  /**
+   * Sets whether to only repaint the tail of the plot when appending data.
+   *
+   * @param value 	true if to repaint only the tail
+   */
+  public void setTailRedraw(boolean value) {
+    m_TailRedraw = value;
+    reset();
+  }
+
+  /**
+   * Returns whether to only repaint the tail of the plot when appending data.
+   *
+   * @return 		true if to repaint only the tail
+   */
+  public boolean getTailRedraw() {
+    return m_TailRedraw;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String tailRedrawTipText() {
+    return
+      "If enabled, appending data only repaints the tail of the plot, as long "
+	+ "as the new data fits within the current axes; requires the PassThrough "
+	+ "post-processor.";
+  }
+
   /**
    * Returns a quick info about the actor, which will be displayed in the GUI.
    *
@@ -733,6 +796,7 @@ public class ControlChartPlot
 
     result = super.getQuickInfo();
     result += QuickInfoHelper.toString(this, "violoationFinder", m_ViolationFinder, ", violations: ");
+    result += QuickInfoHelper.toString(this, "tailRedraw", m_TailRedraw, "tail redraw", ", ");
 
     return result;
   }
@@ -742,8 +806,11 @@ public class ControlChartPlot
    */
   @Override
   public void clearPanel() {
-    if (m_Panel != null)
+    if (m_Panel != null) {
       ((SequencePlotterPanel) m_Panel).getContainerManager().clear();
+      if (m_TailRedraw)
+	((SequencePlotterPanel) m_Panel).getPlot().getAxis(Axis.BOTTOM).setManualMaximum(null);
+    }
     m_Chart  = null;
     m_Limits = null;
   }
@@ -793,6 +860,153 @@ public class ControlChartPlot
     };
   }
 
+  /**
+   * Finishes appending data to the chart. If tail redraw is enabled, the
+   * post-processor is {@link PassThrough} and the data fits within the
+   * X axis, only the region right of the previously last point gets
+   * repainted. Otherwise, the manager gets updated and the sequences
+   * post-processed as usual.
+   *
+   * @param manager	the container manager (currently updating)
+   * @param fromX	the X value from which to repaint (eg previously last point)
+   * @param full	whether a full update is required
+   * @return		true if only the tail got repainted
+   */
+  protected boolean finishAppend(XYSequenceContainerManager manager, double fromX, boolean full) {
+    AxisPanel		axisX;
+    ContentPanel		content;
+    int			lastX;
+    int			left;
+
+    if (m_TailRedraw && (m_PostProcessor instanceof PassThrough)) {
+      axisX = ((SequencePlotterPanel) m_Panel).getPlot().getAxis(Axis.BOTTOM);
+      lastX = m_Counter.current(m_ChartName);
+      if (!full && (axisX.getManualMaximum() != null) && (lastX <= axisX.getManualMaximum())) {
+	manager.finishUpdate(false);
+	content = ((SequencePlotterPanel) m_Panel).getPlot().getContent();
+	left    = Math.max(0, axisX.valueToPos(fromX) - TAIL_PADDING);
+	content.repaint(new Rectangle(left, 0, content.getWidth() - left, content.getHeight()));
+	return true;
+      }
+      // reserve space for subsequent points
+      if ((axisX.getManualMaximum() == null) || (lastX > axisX.getManualMaximum()))
+	axisX.setManualMaximum((double) lastX + Math.max(MIN_TAIL_HEADROOM, Math.ceil(lastX * TAIL_HEADROOM)));
+    }
+
+    manager.finishUpdate();
+
+    // post-process
+    m_PostProcessor.postProcess(manager, m_ChartName);
+
+    return false;
+  }
+
+  /**
+   * Appends the data from a container that was generated in incremental
+   * mode, i.e., one that contains an offset and the violations.
+   *
+   * @param manager	the container manager (currently updating)
+   * @param chartCont	the container to append
+   * @return		true if only the tail got repainted
+   * @see		#finishAppend(XYSequenceContainerManager, double, boolean)
+   */
+  protected boolean appendIncremental(XYSequenceContainerManager manager, ControlChartContainer chartCont) {
+    XYSequenceContainer		cont;
+    XYSequence			seq;
+    XYSequencePoint		existing;
+    SequencePlotPoint		point;
+    String 			chartName;
+    double[]			prepared;
+    Limits[]			limits;
+    Limits			current;
+    int				offset;
+    int[]			violations;
+    TIntHashSet			violationSet;
+    HashMap<String,Object>	meta;
+    AxisPanel 			axisY;
+    double			min;
+    double			max;
+    double			fromX;
+    boolean			full;
+    int				prevX;
+    int				x;
+    int				i;
+
+    chartName   = (String) chartCont.getValue(ControlChartContainer.VALUE_CHART);
+    prepared    = (double[]) chartCont.getValue(ControlChartContainer.VALUE_PREPARED);
+    limits      = (Limits[]) chartCont.getValue(ControlChartContainer.VALUE_LIMITS);
+    offset      = (Integer) chartCont.getValue(ControlChartContainer.VALUE_OFFSET);
+    violations  = (int[]) chartCont.getValue(ControlChartContainer.VALUE_VIOLATIONS);
+    if (violations == null)
+      violations = new int[0];
+    violationSet = new TIntHashSet(violations);
+    m_Chart      = (ControlChart) chartCont.getValue(ControlChartContainer.VALUE_ALGORITHM);
+    if (chartName == null)
+      chartName = m_Chart.getName();
+    m_ChartName = chartName;
+    m_Limits    = limits[limits.length - 1];
+    full        = false;
+
+    // find or create new plot
+    if (manager.indexOf(m_ChartName) == -1) {
+      seq = new SequencePlotSequence();
+      seq.setComparison(Comparison.X_AND_Y);
+      seq.setID(m_ChartName);
+      cont = manager.newContainer(seq);
+      manager.add(cont);
+      full = true;
+    }
+    else {
+      cont = manager.get(manager.indexOf(m_ChartName));
+      seq = cont.getData();
+    }
+
+    // append points
+    prevX = m_Counter.current(m_ChartName);
+    min   = Double.MAX_VALUE;
+    max   = -Double.MAX_VALUE;
+    for (i = 0; i < prepared.length; i++) {
+      current = (limits.length == prepared.length) ? limits[i] : limits[0];
+      meta    = new HashMap<>();
+      meta.put("lower", current.getLower());
+      meta.put("center", current.getCenter());
+      meta.put("upper", current.getUpper());
+      meta.put("violation", violationSet.contains(offset + i));
+      min = StatUtils.min(new double[]{min, current.getLower(), current.getCenter(), current.getUpper(), prepared[i]});
+      max = StatUtils.max(new double[]{max, current.getLower(), current.getCenter(), current.getUpper(), prepared[i]});
+      x     = m_Counter.next(m_ChartName);
+      point = new SequencePlotPoint("" + x, x, prepared[i]);
+      point.setMetaData(meta);
+      seq.add(point);
+    }
+
+    // violations can refer to points that were plotted already (eg start of a run)
+    fromX = prevX;
+    for (int violation: violations) {
+      if (violation >= offset)
+	continue;
+      x        = prevX + 1 + violation - offset;
+      existing = seq.find(x);
+      if ((existing instanceof SequencePlotPoint) && (((SequencePlotPoint) existing).getMetaData() != null)) {
+	((SequencePlotPoint) existing).getMetaData().put("violation", true);
+	fromX = Math.min(fromX, x);
+      }
+    }
+
+    // grow Y range if necessary
+    axisY = ((SequencePlotterPanel) m_Panel).getPlot().getAxis(Axis.LEFT);
+    if ((axisY.getManualMinimum() == null) || (min < axisY.getManualMinimum())) {
+      axisY.setManualMinimum(min);
+      full = true;
+    }
+    if ((axisY.getManualMaximum() == null) || (max > axisY.getManualMaximum())) {
+      axisY.setManualMaximum(max);
+      full = true;
+    }
+
+    return finishAppend(manager, fromX, full);
+  }
+
   /**
    * Displays the token (the panel and dialog have already been created at
    * this stage).
@@ -827,7 +1041,11 @@ public class ControlChartPlot
     manager = ((SequencePlotterPanel) m_Panel).getContainerManager();
     manager.startUpdate();
 
-    if (token.getPayload() instanceof ControlChartContainer) {
+    if ((token.getPayload() instanceof ControlChartContainer) && ((ControlChartContainer) token.getPayload()).hasValue(ControlChartContainer.VALUE_OFFSET)) {
+      if (appendIncremental(manager, (ControlChartContainer) token.getPayload()))
+	return;
+    }
+    else if (token.getPayload() instanceof ControlChartContainer) {
       // extract data from container
       chartCont   = (ControlChartContainer) token.getPayload();
       chartName   = (String) chartCont.getValue(ControlChartContainer.VALUE_CHART);
@@ -919,6 +1137,10 @@ public class ControlChartPlot
       axisY.setManualMinimum(min);
       axisY.setManualMaximum(max);
 
+      // tail redraw reserves space on the X axis, which a batch may exceed
+      if (m_TailRedraw)
+	axisX.setManualMaximum(null);
+
       manager.finishUpdate();
 
       // post-process
@@ -948,10 +1170,8 @@ public class ControlChartPlot
 	point.setMetaData(meta);
 	seq.add(point);
 
-	manager.finishUpdate();
-
-	// post-process
-	m_PostProcessor.postProcess(manager, m_ChartName);
+	if (finishAppend(manager, x - 1, false))
+	  return;
       }
       else {
 	throw new IllegalArgumentException(m_Chart.getName() + " cannot process class: " + Utils.classToString(token.getPayload()));
@@ -998,10 +1218,8 @@ public class ControlChartPlot
 	point.setMetaData(meta);
 	seq.add(point);
 
-	manager.finishUpdate();
-
-	// post-process
-	m_PostProcessor.postProcess(manager, m_ChartName);
+	if (finishAppend(manager, x - 1, false))
+	  return;
       }
       else {
 	throw new IllegalArgumentException(m_Chart.getName() + " cannot process class: " + Utils.classToString(token.getPayload()));
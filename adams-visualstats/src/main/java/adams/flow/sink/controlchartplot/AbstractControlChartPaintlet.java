@@ -15,13 +15,21 @@
 
 /**
  * AbstractControlChartPaintlet.java
- * Copyright (C) 2015 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.flow.sink.controlchartplot;
 
+import adams.data.sequence.XYSequencePoint;
+import adams.data.sequence.XYSequenceUtils;
+import adams.gui.visualization.core.AxisPanel;
+import adams.gui.visualization.core.plot.Axis;
 import adams.gui.visualization.sequence.AbstractXYSequencePaintlet;
 
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.List;
+
 /**
  * Ancestor for control chart paintlets.
  *
@@ -32,4 +40,43 @@ public abstract class AbstractControlChartPaintlet
   extends AbstractXYSequencePaintlet {
 
   private static final long serialVersionUID = -5692031045167584838L;
+
+  /**
+   * Determines the range of points to draw, i.e., the points within the
+   * X axis range plus one point either side. If the graphics context has
+   * a clip (e.g., when only the tail of the plot gets repainted), the range
+   * gets restricted to the clip.
+   *
+   * @param g		the graphics context
+   * @param points	the points to draw (sorted by X)
+   * @return		the first and last index (both incl)
+   */
+  protected int[] determineRange(Graphics g, List<XYSequencePoint> points) {
+    AxisPanel	axisX;
+    Rectangle	clip;
+    double	min;
+    double	max;
+    int		start;
+    int		end;
+
+    axisX = getPanel().getPlot().getAxis(Axis.BOTTOM);
+    min   = axisX.getMinimum();
+    max   = axisX.getMaximum();
+    clip  = g.getClipBounds();
+    if (clip != null) {
+      min = Math.max(min, axisX.posToValue(clip.x));
+      max = Math.min(max, axisX.posToValue(clip.x + clip.width));
+      if (min > max)
+	min = max;
+    }
+
+    start = XYSequenceUtils.findClosestX(points, Math.floor(min));
+    if (start > 0)
+      start--;
+    end = XYSequenceUtils.findClosestX(points, Math.ceil(max));
+    if (end < points.size() - 1)
+      end++;
+
+    return new int[]{start, end};
+  }
 }
@@ -15,14 +15,13 @@
 
 /*
  * ChartPaintlet.java
- * Copyright (C) 2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.flow.sink.controlchartplot;
 
 import adams.data.sequence.XYSequence;
 import adams.data.sequence.XYSequencePoint;
-import adams.data.sequence.XYSequenceUtils;
 import adams.flow.sink.sequenceplotter.SequencePlotPoint;
 import adams.gui.core.AntiAliasingSupporter;
 import adams.gui.core.GUIHelper;
@@ -179,6 +178,7 @@ public class ChartPaintlet
     int				i;
     int				start;
     int				end;
+    int[]			range;
     HashMap<String,Object>	meta;
 
     points = data.toList();
@@ -188,12 +188,9 @@ public class ChartPaintlet
     g.setColor(color);
     GUIHelper.configureAntiAliasing(g, m_AntiAliasingEnabled);
 
-    start = XYSequenceUtils.findClosestX(points, Math.floor(axisX.getMinimum()));
-    if (start > 0)
-      start--;
-    end = XYSequenceUtils.findClosestX(points, Math.ceil(axisX.getMaximum()));
-    if (end < data.size() - 1)
-      end++;
+    range = determineRange(g, points);
+    start = range[0];
+    end   = range[1];
 
     prevX = axisX.valueToPos(points.get(start).getX());
     prevY = axisY.valueToPos(points.get(start).getY());
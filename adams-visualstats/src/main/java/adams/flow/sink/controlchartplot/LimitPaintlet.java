@@ -15,14 +15,13 @@
 
 /*
  * LimitPaintlet.java
- * Copyright (C) 2015-2018 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.flow.sink.controlchartplot;
 
 import adams.data.sequence.XYSequence;
 import adams.data.sequence.XYSequencePoint;
-import adams.data.sequence.XYSequenceUtils;
 import adams.flow.sink.sequenceplotter.SequencePlotPoint;
 import adams.gui.core.AntiAliasingSupporter;
 import adams.gui.core.GUIHelper;
@@ -254,6 +253,7 @@ public class LimitPaintlet
     int				i;
     int				start;
     int				end;
+    int[]			range;
     HashMap<String,Object>	currMeta;
     HashMap<String,Object>	prevMeta;
     boolean			isStart;
@@ -265,12 +265,9 @@ public class LimitPaintlet
 
     GUIHelper.configureAntiAliasing(g, m_AntiAliasingEnabled);
 
-    start = XYSequenceUtils.findClosestX(points, Math.floor(axisX.getMinimum()));
-    if (start > 0)
-      start--;
-    end = XYSequenceUtils.findClosestX(points, Math.ceil(axisX.getMaximum()));
-    if (end < data.size() - 1)
-      end++;
+    range = determineRange(g, points);
+    start = range[0];
+    end   = range[1];
 
     for (i = start + 1; i <= end; i++) {
       // previous point
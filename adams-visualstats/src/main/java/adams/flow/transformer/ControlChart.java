@@ -15,21 +15,30 @@
 
 /*
  * ControlChart.java
- * Copyright (C) 2015 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2015-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.flow.transformer;
 
 import adams.core.QuickInfoHelper;
 import adams.core.Utils;
+import adams.data.spc.ControlChartMonitor;
+import adams.data.spc.IncrementalControlChart;
 import adams.data.spc.IndividualsControlChart;
 import adams.data.spc.Limits;
 import adams.data.spc.MatrixControlChart;
+import adams.data.spc.NullViolations;
 import adams.data.spc.UChart;
+import adams.data.spc.ViolationFinder;
+import adams.data.spc.event.ViolationEvent;
+import adams.data.spc.event.ViolationListener;
 import adams.data.statistics.StatUtils;
 import adams.flow.container.ControlChartContainer;
 import adams.flow.core.Unknown;
+import gnu.trove.list.array.TDoubleArrayList;
+import gnu.trove.list.array.TIntArrayList;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -51,7 +60,7 @@ import java.util.List;
  * &nbsp;&nbsp;&nbsp;adams.flow.container.ControlChartContainer<br>
  * <br><br>
  * Container information:<br>
- * - adams.flow.container.ControlChartContainer: Algor, Chart, Data, Prepared, Limits
+ * - adams.flow.container.ControlChartContainer: Algor, Chart, Data, Prepared, Limits, Offset, Violations
  * <br><br>
  <!-- flow-summary-end -->
  *
@@ -98,13 +107,26 @@ import java.util.List;
  * &nbsp;&nbsp;&nbsp;default: adams.data.spc.UChart
  * </pre>
  * 
+ * <pre>-incremental &lt;boolean&gt; (property: incremental)
+ * &nbsp;&nbsp;&nbsp;If enabled, the state of the chart gets updated with each incoming value 
+ * &nbsp;&nbsp;&nbsp;or sample (chart must implement adams.data.spc.IncrementalControlChart) 
+ * &nbsp;&nbsp;&nbsp;and only the data for the new samples gets output.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ * 
+ * <pre>-violation-finder &lt;adams.data.spc.ViolationFinder&gt; (property: violationFinder)
+ * &nbsp;&nbsp;&nbsp;The algorithm for locating violations in incremental mode.
+ * &nbsp;&nbsp;&nbsp;default: adams.data.spc.NullViolations
+ * </pre>
+ * 
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
  * @version $Revision: 6264 $
  */
 public class ControlChart
-  extends AbstractArrayProvider {
+  extends AbstractArrayProvider
+  implements ViolationListener {
 
   /** for serialization. */
   private static final long serialVersionUID = 4013915680601748582L;
@@ -112,6 +134,18 @@ public class ControlChart
   /** the control chart to use. */
   protected adams.data.spc.ControlChart m_Chart;
 
+  /** whether to update the chart incrementally. */
+  protected boolean m_Incremental;
+
+  /** the violation finder to use in incremental mode. */
+  protected ViolationFinder m_ViolationFinder;
+
+  /** the monitor in use (incremental mode). */
+  protected transient ControlChartMonitor m_Monitor;
+
+  /** the violations of the current token (incremental mode). */
+  protected transient TIntArrayList m_Violations;
+
   /**
    * Returns a string describing the object.
    *
@@ -119,7 +153,12 @@ public class ControlChart
    */
   @Override
   public String globalInfo() {
-    return "Applies a control chart algorithm to the data.";
+    return
+      "Applies a control chart algorithm to the data.\n"
+	+ "In incremental mode, the state of the chart (and the violation finder) "
+	+ "gets updated with each value or sample that passes through, with the "
+	+ "limits reflecting all the data seen so far. Only the data for the "
+	+ "new samples gets output, incl the indices of any violations.";
   }
 
   /**
@@ -132,6 +171,24 @@ public class ControlChart
     m_OptionManager.add(
 	    "chart", "chart",
 	    new UChart());
+
+    m_OptionManager.add(
+	    "incremental", "incremental",
+	    false);
+
+    m_OptionManager.add(
+	    "violation-finder", "violationFinder",
+	    new NullViolations());
+  }
+
+  /**
+   * Resets the scheme.
+   */
+  @Override
+  protected void reset() {
+    super.reset();
+
+    m_Monitor = null;
   }
 
   /**
@@ -184,6 +241,67 @@ public class ControlChart
     return "The control chart algorithm to use.";
   }
 
+  /**
+   * Sets whether to update the chart incrementally.
+   *
+   * @param value	true if incremental
+   */
+  public void setIncremental(boolean value) {
+    m_Incremental = value;
+    reset();
+  }
+
+  /**
+   * Returns whether to update the chart incrementally.
+   *
+   * @return		true if incremental
+   */
+  public boolean getIncremental() {
+    return m_Incremental;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String incrementalTipText() {
+    return
+      "If enabled, the state of the chart gets updated with each incoming value "
+	+ "or sample (chart must implement " + IncrementalControlChart.class.getName() + ") "
+	+ "and only the data for the new samples gets output.";
+  }
+
+  /**
+   * Sets the algorithm for locating violations in incremental mode.
+   *
+   * @param value	the algorithm
+   */
+  public void setViolationFinder(ViolationFinder value) {
+    m_ViolationFinder = value;
+    reset();
+  }
+
+  /**
+   * Returns the algorithm for locating violations in incremental mode.
+   *
+   * @return		the algorithm
+   */
+  public ViolationFinder getViolationFinder() {
+    return m_ViolationFinder;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String violationFinderTipText() {
+    return "The algorithm for locating violations in incremental mode.";
+  }
+
   /**
    * Returns a quick info about the actor, which will be displayed in the GUI.
    *
@@ -191,7 +309,31 @@ public class ControlChart
    */
   @Override
   public String getQuickInfo() {
-    return QuickInfoHelper.toString(this, "chart", m_Chart);
+    String	result;
+
+    result  = QuickInfoHelper.toString(this, "chart", m_Chart);
+    result += QuickInfoHelper.toString(this, "incremental", m_Incremental, "incremental", ", ");
+
+    return result;
+  }
+
+  /**
+   * Initializes the item for flow execution.
+   *
+   * @return		null if everything is fine, otherwise error message
+   */
+  @Override
+  public String setUp() {
+    String	result;
+
+    result = super.setUp();
+
+    if (result == null) {
+      if (m_Incremental && !(m_Chart instanceof IncrementalControlChart))
+	result = "Chart does not support incremental mode: " + m_Chart.getClass().getName();
+    }
+
+    return result;
   }
   
   /**
@@ -202,6 +344,10 @@ public class ControlChart
   public Class[] accepts() {
     if (m_Chart == null)
       return new Class[]{Unknown.class};
+    else if (m_Incremental && (m_Chart instanceof IndividualsControlChart))
+      return new Class[]{Double.class, Float.class, Integer.class, Double[].class, double[].class, Float[].class, float[].class, Integer[].class, int[].class};
+    else if (m_Incremental && (m_Chart instanceof MatrixControlChart))
+      return new Class[]{Double[].class, double[].class, Float[].class, float[].class, Integer[].class, int[].class, Double[][].class, double[][].class, Float[][].class, float[][].class, Integer[][].class, int[][].class};
     else if (m_Chart instanceof IndividualsControlChart)
       return new Class[]{Double[].class, double[].class, Float[].class, float[].class, Integer[].class, int[].class};
     else if (m_Chart instanceof MatrixControlChart)
@@ -210,6 +356,135 @@ public class ControlChart
       throw new IllegalStateException("Unhandled control chart type: " + m_Chart.getClass().getName());
   }
 
+  /**
+   * Turns the data into an array of numbers.
+   *
+   * @param data	the data to convert
+   * @return		the numbers, null if not an array
+   */
+  protected Number[] toNumberArray(Object data) {
+    if (data instanceof Double[])
+      return (Double[]) data;
+    else if (data instanceof double[])
+      return StatUtils.toNumberArray((double[]) data);
+    else if (data instanceof Float[])
+      return (Float[]) data;
+    else if (data instanceof float[])
+      return StatUtils.toNumberArray((float[]) data);
+    else if (data instanceof Integer[])
+      return (Integer[]) data;
+    else if (data instanceof int[])
+      return StatUtils.toNumberArray((int[]) data);
+    else
+      return null;
+  }
+
+  /**
+   * Turns the data into a matrix of numbers.
+   *
+   * @param data	the data to convert
+   * @return		the numbers, null if not a matrix
+   */
+  protected Number[][] toNumberMatrix(Object data) {
+    if (data instanceof Double[][])
+      return (Double[][]) data;
+    else if (data instanceof double[][])
+      return StatUtils.toNumberMatrix((double[][]) data);
+    else if (data instanceof Float[][])
+      return (Float[][]) data;
+    else if (data instanceof float[][])
+      return StatUtils.toNumberMatrix((float[][]) data);
+    else if (data instanceof Integer[][])
+      return (Integer[][]) data;
+    else if (data instanceof int[][])
+      return StatUtils.toNumberMatrix((int[][]) data);
+    else
+      return null;
+  }
+
+  /**
+   * Gets called when a violation was detected in incremental mode.
+   *
+   * @param e		the event
+   */
+  @Override
+  public void violationDetected(ViolationEvent e) {
+    if (isLoggingEnabled())
+      getLogger().info("Violation: " + e);
+    if (m_Violations != null)
+      m_Violations.add(e.getIndex());
+  }
+
+  /**
+   * Updates the chart incrementally with the data.
+   *
+   * @param data	the data to process
+   * @return		the container, null if no data points generated
+   */
+  protected ControlChartContainer updateIncrementally(Object data) {
+    TDoubleArrayList	prepared;
+    List<Limits>	limits;
+    Number[]		numberArray;
+    Number[][]		numberMatrix;
+    int			offset;
+    double		value;
+
+    if (m_Monitor == null) {
+      m_Monitor = new ControlChartMonitor((IncrementalControlChart) m_Chart, m_ViolationFinder);
+      m_Monitor.addViolationListener(this);
+    }
+
+    if (m_Chart instanceof IndividualsControlChart) {
+      if (data instanceof Number)
+	numberMatrix = new Number[][]{{(Number) data}};
+      else if ((numberArray = toNumberArray(data)) != null)
+	numberMatrix = new Number[][]{numberArray};
+      else
+	throw new IllegalStateException("Unhandled data type: " + Utils.classToString(data));
+    }
+    else {
+      if ((numberArray = toNumberArray(data)) != null)
+	numberMatrix = new Number[][]{numberArray};
+      else if ((numberMatrix = toNumberMatrix(data)) == null)
+	throw new IllegalStateException("Unhandled data type: " + Utils.classToString(data));
+    }
+
+    offset       = m_Monitor.getNumPoints();
+    prepared     = new TDoubleArrayList();
+    limits       = new ArrayList<>();
+    m_Violations = new TIntArrayList();
+    try {
+      for (Number[] row: numberMatrix) {
+	if (m_Chart instanceof IndividualsControlChart) {
+	  for (Number n: row) {
+	    value = m_Monitor.add(n);
+	    if (!Double.isNaN(value)) {
+	      prepared.add(value);
+	      limits.add(m_Monitor.getLimits());
+	    }
+	  }
+	}
+	else {
+	  value = m_Monitor.add(row);
+	  if (!Double.isNaN(value)) {
+	    prepared.add(value);
+	    limits.add(m_Monitor.getLimits());
+	  }
+	}
+      }
+
+      if (prepared.size() == 0)
+	return null;
+
+      return new ControlChartContainer(
+	m_Chart, null, data, prepared.toArray(), limits.toArray(new Limits[0]),
+	offset, m_Violations.toArray());
+    }
+    finally {
+      m_Violations = null;
+    }
+  }
+
   /**
    * Executes the flow item.
    *
@@ -230,20 +505,14 @@ public class ControlChart
     m_Queue.clear();
     try {
       data = m_InputToken.getPayload();
-      if (m_Chart instanceof IndividualsControlChart) {
-	if (data instanceof Double[])
-	  numberArray = (Double[]) data;
-	else if (data instanceof double[])
-	  numberArray = StatUtils.toNumberArray((double[]) data);
-	else if (data instanceof Float[])
-	  numberArray = (Float[]) data;
-	else if (data instanceof float[])
-	  numberArray = StatUtils.toNumberArray((float[]) data);
-	else if (data instanceof Integer[])
-	  numberArray = (Integer[]) data;
-	else if (data instanceof int[])
-	  numberArray = StatUtils.toNumberArray((int[]) data);
-	else
+      if (m_Incremental) {
+	cont = updateIncrementally(data);
+	if (cont != null)
+	  m_Queue.add(cont);
+      }
+      else if (m_Chart instanceof IndividualsControlChart) {
+	numberArray = toNumberArray(data);
+	if (numberArray == null)
 	  throw new IllegalStateException("Unhandled data type: " + Utils.classToString(data));
 	stats    = ((IndividualsControlChart) m_Chart).calculate(numberArray);
 	prepared = ((IndividualsControlChart) m_Chart).prepare(numberArray);
@@ -251,19 +520,8 @@ public class ControlChart
 	m_Queue.add(cont);
       }
       else if (m_Chart instanceof MatrixControlChart) {
-	if (data instanceof Double[][])
-	  numberMatrix = (Double[][]) data;
-	else if (data instanceof double[][])
-	  numberMatrix = StatUtils.toNumberMatrix((double[][]) data);
-	else if (data instanceof Float[][])
-	  numberMatrix = (Float[][]) data;
-	else if (data instanceof float[][])
-	  numberMatrix = StatUtils.toNumberMatrix((float[][]) data);
-	else if (data instanceof Integer[][])
-	  numberMatrix = (Integer[][]) data;
-	else if (data instanceof int[][])
-	  numberMatrix = StatUtils.toNumberMatrix((int[][]) data);
-	else
+	numberMatrix = toNumberMatrix(data);
+	if (numberMatrix == null)
 	  throw new IllegalStateException("Unhandled data type: " + Utils.classToString(data));
 	stats    = ((MatrixControlChart) m_Chart).calculate(numberMatrix);
 	prepared = ((MatrixControlChart) m_Chart).prepare(numberMatrix);
@@ -0,0 +1,220 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * IncrementalControlChartTest.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+
+package adams.data.spc;
+
+import adams.data.spc.event.ViolationEvent;
+import adams.data.spc.event.ViolationListener;
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the incremental control charts and violation finders against
+ * their batch counterparts. Run from commandline with: <br><br>
+ * java adams.data.spc.IncrementalControlChartTest
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class IncrementalControlChartTest
+  extends AdamsTestCase {
+
+  /** the tolerance for comparing doubles. */
+  public final static double DELTA = 1e-8;
+
+  /**
+   * Initializes the test.
+   *
+   * @param name	the name of the test
+   */
+  public IncrementalControlChartTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Generates count-like values.
+   *
+   * @param n		the number of values
+   * @return		the values
+   */
+  protected Number[] generate(int n) {
+    Number[]	result;
+    int		i;
+
+    result = new Number[n];
+    for (i = 0; i < n; i++)
+      result[i] = 5.0 + ((i * 7919) % 11) / 2.0 + Math.sin(i / 5.0);
+
+    return result;
+  }
+
+  /**
+   * Generates samples.
+   *
+   * @param n		the number of samples
+   * @param size	the size of the samples
+   * @return		the samples
+   */
+  protected Number[][] generate(int n, int size) {
+    Number[][]	result;
+    Number[]	values;
+    int		i;
+
+    values = generate(n * size);
+    result = new Number[n][size];
+    for (i = 0; i < values.length; i++)
+      result[i / size][i % size] = values[i];
+
+    return result;
+  }
+
+  /**
+   * Compares two limits.
+   *
+   * @param msg		the message prefix
+   * @param expected	the expected limits
+   * @param actual	the actual limits
+   */
+  protected void assertLimits(String msg, Limits expected, Limits actual) {
+    assertNotNull(msg + ": limits", actual);
+    assertEquals(msg + ": lower", expected.getLower(), actual.getLower(), DELTA);
+    assertEquals(msg + ": center", expected.getCenter(), actual.getCenter(), DELTA);
+    assertEquals(msg + ": upper", expected.getUpper(), actual.getUpper(), DELTA);
+  }
+
+  /**
+   * Tests the individuals charts.
+   */
+  public void testIndividuals() {
+    Number[]		data;
+    double[]		prepared;
+    List<Number>	prepList;
+    double		value;
+
+    data = generate(50);
+    for (IncrementalIndividualsControlChart chart: new IncrementalIndividualsControlChart[]{new CChart(), new MOACUSUM(), new MOAPageHinkley()}) {
+      prepared = chart.prepare(data);
+      chart.resetState();
+      prepList = new ArrayList<>();
+      for (Number n: data) {
+	value = chart.update(n);
+	if (!Double.isNaN(value))
+	  prepList.add(value);
+      }
+      assertEquals(chart.getName() + ": #prepared", prepared.length, prepList.size());
+      for (int i = 0; i < prepared.length; i++)
+	assertEquals(chart.getName() + ": prepared " + i, prepared[i], prepList.get(i).doubleValue(), DELTA);
+      assertLimits(chart.getName(), chart.calculate(data).get(0), chart.getCurrentLimits());
+    }
+  }
+
+  /**
+   * Tests the matrix charts.
+   */
+  public void testMatrix() {
+    Number[][]	data;
+    double[]	prepared;
+    int		i;
+
+    data = generate(30, 5);
+    for (boolean variation: new boolean[]{false, true}) {
+      for (IncrementalMatrixControlChart chart: new IncrementalMatrixControlChart[]{new XBarRChart(), new XBarSChart()}) {
+	if (chart instanceof XBarRChart)
+	  ((XBarRChart) chart).setVariation(variation);
+	else
+	  ((XBarSChart) chart).setVariation(variation);
+	prepared = chart.prepare(data);
+	assertNull(chart.getName() + ": no limits", chart.getCurrentLimits());
+	for (i = 0; i < data.length; i++)
+	  assertEquals(chart.getName() + ": prepared " + i, prepared[i], chart.update(data[i]), DELTA);
+	assertEquals(chart.getName() + ": #samples", data.length, chart.getNumSamples());
+	assertLimits(chart.getName() + "/" + variation, chart.calculate(data).get(0), chart.getCurrentLimits());
+      }
+    }
+  }
+
+  /**
+   * Tests the incremental violation finders and the events of the monitor.
+   */
+  public void testViolations() {
+    OnOneSideViolations		oneSide;
+    ControlChartMonitor		monitor;
+    final List<ViolationEvent>	events;
+    Limits			limits;
+    int				i;
+
+    limits = new Limits(-3.0, 0.0, 3.0);
+
+    // beyond limits
+    assertEquals("inside", -1, new BeyondLimitsViolations().update(0, 2.5, limits));
+    assertEquals("above", 4, new BeyondLimitsViolations().update(4, 3.5, limits));
+    assertEquals("below", 7, new BeyondLimitsViolations().update(7, -3.5, limits));
+
+    // run on one side: flagged once, with the index of the run's start
+    oneSide = new OnOneSideViolations();
+    oneSide.setMinPoints(4);
+    assertEquals("0", -1, oneSide.update(0, 1.0, limits));
+    assertEquals("1", -1, oneSide.update(1, -1.0, limits));
+    assertEquals("2", -1, oneSide.update(2, -1.0, limits));
+    assertEquals("3", -1, oneSide.update(3, -2.0, limits));
+    assertEquals("4", 1, oneSide.update(4, -0.5, limits));
+    assertEquals("5", -1, oneSide.update(5, -0.5, limits));
+    oneSide.resetState();
+    assertEquals("reset", -1, oneSide.update(6, -0.5, limits));
+
+    // monitor
+    events  = new ArrayList<>();
+    monitor = new ControlChartMonitor(new CChart(), new BeyondLimitsViolations());
+    monitor.addViolationListener((ViolationEvent e) -> events.add(e));
+    for (i = 0; i < 20; i++)
+      monitor.add(10);
+    assertEquals("no violations", 0, events.size());
+    monitor.add(100);
+    assertEquals("violation", 1, events.size());
+    assertEquals("index", 20, events.get(0).getIndex());
+    assertEquals("value", 100.0, events.get(0).getValue(), DELTA);
+    assertEquals("#points", 21, monitor.getNumPoints());
+    monitor.reset();
+    assertEquals("#points after reset", 0, monitor.getNumPoints());
+  }
+
+  /**
+   * Returns a test suite.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(IncrementalControlChartTest.class);
+  }
+
+  /**
+   * Runs the test from commandline.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    Environment.setEnvironmentClass(Environment.class);
+    runTest(suite());
+  }
+}
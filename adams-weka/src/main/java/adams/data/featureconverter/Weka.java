@@ -15,7 +15,7 @@
 
 /**
  * WekaFeatureConverter.java
- * Copyright (C) 2014 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2014-2026 University of Waikato, Hamilton, New Zealand
  */
 package adams.data.featureconverter;
 
@@ -147,4 +147,31 @@ public class Weka
     
     return result;
   }
+
+  /**
+   * Returns whether the converter can assemble rows into a single dataset.
+   *
+   * @return		true if supported
+   */
+  @Override
+  public boolean canGenerateDataset() {
+    return true;
+  }
+
+  /**
+   * Performs the actual assembly of the rows into a single dataset.
+   *
+   * @param rows	the rows generated with this converter
+   * @return		the dataset
+   */
+  @Override
+  protected Instances doGenerateDataset(List<Instance> rows) {
+    Instances	result;
+
+    result = new Instances(m_Header, rows.size());
+    for (Instance row: rows)
+      result.add(row);
+
+    return result;
+  }
 }
@@ -15,7 +15,7 @@
 
 /**
  * PLS1.java
- * Copyright (C) 2006-2016 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2006-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.instancesanalysis.pls;
@@ -295,7 +295,7 @@ public class PLS1
     Matrix y;
     Matrix W, w;
     Matrix T, t, t_trans;
-    Matrix P, p, p_trans;
+    Matrix P, p;
     double b;
     Matrix b_hat;
     int j;
@@ -332,11 +332,10 @@ public class PLS1
 
 	// 4. step: pj
 	p = X_trans.times(t).times(1 / t_trans.times(t).get(0, 0));
-	p_trans = p.transpose();
 	MatrixHelper.setVector(p, P, j);
 
-	// 5. step: Xj+1
-	X = X.minus(t.times(p_trans));
+	// 5. step: Xj+1 (in-place)
+	MatrixHelper.minusOuterInPlace(X, t, p);
 	y = y.minus(t.times(b));
       }
 
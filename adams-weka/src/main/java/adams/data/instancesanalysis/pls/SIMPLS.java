@@ -15,7 +15,7 @@
 
 /*
  * SIMPLS.java
- * Copyright (C) 2006-2018 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2006-2026 University of Waikato, Hamilton, NZ
  */
 
 package adams.data.instancesanalysis.pls;
@@ -300,30 +300,31 @@ public class SIMPLS
   protected Instances doTransform(Instances data, Map<String,Object> params) throws Exception {
     Matrix A, A_trans;
     Matrix M;
-    Matrix X, X_trans;
+    Matrix X;
     Matrix X_new;
     Matrix Y, y;
     Matrix C, c;
     Matrix Q, q;
     Matrix W, w;
-    Matrix P, p, p_trans;
-    Matrix v, v_trans;
+    Matrix P, p;
+    Matrix v;
     Matrix T;
     Instances result;
     int h;
+    double[] buffer;
 
     if (!isInitialized()) {
       // init
       X = MatrixHelper.getX(data);
-      X_trans = X.transpose();
       Y = MatrixHelper.getY(data);
-      A = X_trans.times(Y);
-      M = X_trans.times(X);
+      A = MatrixHelper.transposeTimes(X, Y);
+      M = MatrixHelper.crossProduct(X);
       C = Matrix.identity(data.numAttributes() - 1,
         data.numAttributes() - 1);
       W = new Matrix(data.numAttributes() - 1, getNumComponents());
       P = new Matrix(data.numAttributes() - 1, getNumComponents());
       Q = new Matrix(1, getNumComponents());
+      buffer = new double[data.numAttributes() - 1];
 
       for (h = 0; h < getNumComponents(); h++) {
         // 1. qh as dominant EigenVector of Ah'*Ah
@@ -332,13 +333,12 @@ public class SIMPLS
 
         // 2. wh=Ah*qh, ch=wh'*Mh*wh, wh=wh/sqrt(ch), store wh in W as column
         w = A.times(q);
-        c = w.transpose().times(M).times(w);
+        c = new Matrix(1, 1, MatrixHelper.quadraticForm(M, w, buffer));
         w = w.times(1.0 / StrictMath.sqrt(c.get(0, 0)));
         MatrixHelper.setVector(w, W, h);
 
         // 3. ph=Mh*wh, store ph in P as column
         p = M.times(w);
-        p_trans = p.transpose();
         MatrixHelper.setVector(p, P, h);
 
         // 4. qh=Ah'*wh, store qh in Q as column
@@ -348,11 +348,10 @@ public class SIMPLS
         // 5. vh=Ch*ph, vh=vh/||vh||
         v = C.times(p);
         MatrixHelper.normalizeVector(v);
-        v_trans = v.transpose();
 
-        // 6. Ch+1=Ch-vh*vh', Mh+1=Mh-ph*ph'
-        C = C.minus(v.times(v_trans));
-        M = M.minus(p.times(p_trans));
+        // 6. Ch+1=Ch-vh*vh', Mh+1=Mh-ph*ph' (in-place)
+        MatrixHelper.minusOuterInPlace(C, v, v);
+        MatrixHelper.minusOuterInPlace(M, p, p);
 
         // 7. Ah+1=ChAh (actually Ch+1)
         A = C.times(A);
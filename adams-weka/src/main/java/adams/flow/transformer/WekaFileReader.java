@@ -408,7 +408,7 @@ public class WekaFileReader
       exts   = FileUtils.getExtensions(obj.toString().toLowerCase());
       if ((exts != null) && (exts.length > 0)) {
         ext    = exts[0];
-        isArff = (ext.equals("arff") || ext.equals("arff.gz"));
+        isArff = (ext.equals("arff") || ext.equals("arff.gz") || ext.equals("arff.zst"));
       }
       else {
         ext    = "";
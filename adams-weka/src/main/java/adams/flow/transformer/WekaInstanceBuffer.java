@@ -15,17 +15,19 @@
 
 /*
  * WekaInstanceBuffer.java
- * Copyright (C) 2009-2013 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2009-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package adams.flow.transformer;
 
 import adams.core.QuickInfoHelper;
+import adams.data.weka.InstancesViewCreator;
 import adams.flow.core.Token;
 import weka.core.BinarySparseInstance;
 import weka.core.DenseInstance;
 import weka.core.Instance;
 import weka.core.Instances;
+import weka.core.InstancesRingBuffer;
 import weka.core.SparseInstance;
 
 import java.util.ArrayList;
@@ -39,7 +41,8 @@ import java.util.List;
  * 1. Instance -&gt; Instances (row -&gt; dataset)<br>
  * Buffers weka.core.Instance objects and outputs a weka.core.Instances object, whenever the interval condition has been met.<br>
  * 2. Instances -&gt; Instance (dataset -&gt; row)<br>
- * Outputs all the weka.core.Instance objects that the incoming weka.core.Instances object contains.
+ * Outputs all the weka.core.Instance objects that the incoming weka.core.Instances object contains.<br>
+ * When using a window size greater than 0, the buffer only retains the most recent instances (ring buffer). Sliding windows are obtained with an interval smaller than the window size, tumbling windows by using the window size as interval and clearing the buffer.
  * <br><br>
  <!-- globalinfo-end -->
  *
@@ -103,12 +106,27 @@ import java.util.List;
  * &nbsp;&nbsp;&nbsp;of INSTANCE_TO_INSTANCES).
  * </pre>
  * 
+ * <pre>-window-size &lt;int&gt; (property: windowSize)
+ * &nbsp;&nbsp;&nbsp;The maximum number of instances to retain in the buffer (in case of INSTANCE_TO_INSTANCES
+ * &nbsp;&nbsp;&nbsp;); uses a ring buffer with primitive storage; -1 for unbounded.
+ * &nbsp;&nbsp;&nbsp;default: -1
+ * &nbsp;&nbsp;&nbsp;minimum: -1
+ * </pre>
+ * 
+ * <pre>-create-view &lt;boolean&gt; (property: createView)
+ * &nbsp;&nbsp;&nbsp;If enabled, the window gets output as view of the ring buffer instead of
+ * &nbsp;&nbsp;&nbsp;a copy (only when using a window size); the view is only valid until the 
+ * &nbsp;&nbsp;&nbsp;next instance arrives.
+ * &nbsp;&nbsp;&nbsp;default: false
+ * </pre>
+ * 
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
  */
 public class WekaInstanceBuffer
-  extends AbstractTransformer {
+  extends AbstractTransformer
+  implements InstancesViewCreator {
 
   /** for serialization. */
   private static final long serialVersionUID = 6774529845778672623L;
@@ -119,6 +137,9 @@ public class WekaInstanceBuffer
   /** the key for storing the current iterator in the backup. */
   public final static String BACKUP_ITERATOR = "iterator";
 
+  /** the key for storing the current ring buffer in the backup. */
+  public final static String BACKUP_RING = "ring";
+
   /**
    * Defines how the buffer actor operates.
    *
@@ -149,7 +170,16 @@ public class WekaInstanceBuffer
   
   /** whether to clear the buffer once it has been forwarded. */
   protected boolean m_ClearBuffer;
-  
+
+  /** the maximum number of instances to retain (-1 for unbounded). */
+  protected int m_WindowSize;
+
+  /** whether to output views of the ring buffer. */
+  protected boolean m_CreateView;
+
+  /** the ring buffer (if window size is used). */
+  protected InstancesRingBuffer m_Ring;
+
   /**
    * Returns a string describing the object.
    *
@@ -164,7 +194,11 @@ public class WekaInstanceBuffer
       + "object, whenever the interval condition has been met.\n"
       + "2. Instances -> Instance (dataset -> row)\n"
       + "Outputs all the weka.core.Instance objects that the incoming "
-      + "weka.core.Instances object contains.";
+      + "weka.core.Instances object contains.\n"
+      + "When using a window size greater than 0, the buffer only retains "
+      + "the most recent instances (ring buffer). Sliding windows are obtained "
+      + "with an interval smaller than the window size, tumbling windows by "
+      + "using the window size as interval and clearing the buffer.";
   }
 
   /**
@@ -189,6 +223,14 @@ public class WekaInstanceBuffer
     m_OptionManager.add(
 	    "clear-buffer", "clearBuffer",
 	    false);
+
+    m_OptionManager.add(
+	    "window-size", "windowSize",
+	    -1, -1, null);
+
+    m_OptionManager.add(
+	    "create-view", "createView",
+	    false);
   }
 
   /**
@@ -203,10 +245,13 @@ public class WekaInstanceBuffer
 
     result  = QuickInfoHelper.toString(this, "operation", m_Operation);
     result += QuickInfoHelper.toString(this, "interval", m_Interval, ", interval: ");
+    if (m_WindowSize > 0)
+      result += QuickInfoHelper.toString(this, "windowSize", m_WindowSize, ", window: ");
     
     options = new ArrayList<String>();
     QuickInfoHelper.add(options, QuickInfoHelper.toString(this, "checkHeader", m_CheckHeader, "check header"));
     QuickInfoHelper.add(options, QuickInfoHelper.toString(this, "clearBuffer", m_ClearBuffer, "clear"));
+    QuickInfoHelper.add(options, QuickInfoHelper.toString(this, "createView", m_CreateView, "view"));
     result += QuickInfoHelper.flatten(options);
 
     return result;
@@ -334,6 +379,75 @@ public class WekaInstanceBuffer
 	+ "(in case of " + Operation.INSTANCE_TO_INSTANCES + ").";
   }
 
+  /**
+   * Sets the maximum number of instances to retain in the buffer.
+   *
+   * @param value	the window size, -1 for unbounded
+   */
+  public void setWindowSize(int value) {
+    if ((value == -1) || (value > 0)) {
+      m_WindowSize = value;
+      reset();
+    }
+    else {
+      getLogger().warning("Window size must be -1 (unbounded) or greater than 0, provided: " + value);
+    }
+  }
+
+  /**
+   * Returns the maximum number of instances to retain in the buffer.
+   *
+   * @return		the window size, -1 for unbounded
+   */
+  public int getWindowSize() {
+    return m_WindowSize;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String windowSizeTipText() {
+    return
+        "The maximum number of instances to retain in the buffer (in case of "
+	+ Operation.INSTANCE_TO_INSTANCES + "); uses a ring buffer with primitive "
+	+ "storage; -1 for unbounded.";
+  }
+
+  /**
+   * Sets whether to output views of the ring buffer.
+   *
+   * @param value	true if to create a view only
+   */
+  public void setCreateView(boolean value) {
+    m_CreateView = value;
+    reset();
+  }
+
+  /**
+   * Returns whether to output views of the ring buffer.
+   *
+   * @return		true if to create view only
+   */
+  public boolean getCreateView() {
+    return m_CreateView;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String createViewTipText() {
+    return
+        "If enabled, the window gets output as view of the ring buffer instead "
+	+ "of a copy (only when using a window size); the view is only valid "
+	+ "until the next instance arrives.";
+  }
+
   /**
    * Returns the class that the consumer accepts.
    *
@@ -371,6 +485,7 @@ public class WekaInstanceBuffer
 
     pruneBackup(BACKUP_BUFFER);
     pruneBackup(BACKUP_ITERATOR);
+    pruneBackup(BACKUP_RING);
   }
 
   /**
@@ -388,6 +503,8 @@ public class WekaInstanceBuffer
       result.put(BACKUP_BUFFER, m_Buffer);
     if (m_Iterator != null)
       result.put(BACKUP_ITERATOR, m_Iterator);
+    if (m_Ring != null)
+      result.put(BACKUP_RING, m_Ring);
 
     return result;
   }
@@ -407,6 +524,10 @@ public class WekaInstanceBuffer
       m_Iterator = (Iterator<Instance>) state.get(BACKUP_ITERATOR);
       state.remove(BACKUP_ITERATOR);
     }
+    if (state.containsKey(BACKUP_RING)) {
+      m_Ring = (InstancesRingBuffer) state.get(BACKUP_RING);
+      state.remove(BACKUP_RING);
+    }
 
     super.restoreState(state);
   }
@@ -420,6 +541,44 @@ public class WekaInstanceBuffer
 
     m_Buffer   = null;
     m_Iterator = null;
+    m_Ring     = null;
+  }
+
+  /**
+   * Buffers the instances using the ring buffer, outputting the current
+   * window whenever the interval condition has been met.
+   *
+   * @param insts	the instances to buffer
+   */
+  protected void bufferWindow(Instance[] insts) {
+    Instance	inst;
+    int		n;
+
+    for (n = 0; n < insts.length; n++) {
+      inst = insts[n];
+
+      if ((m_Ring != null) && m_CheckHeader) {
+	if (!m_Ring.getHeader().equalHeaders(inst.dataset())) {
+	  getLogger().info("Header changed, resetting buffer");
+	  m_Ring = null;
+	}
+      }
+
+      if (m_Ring == null)
+	m_Ring = new InstancesRingBuffer(inst.dataset(), m_WindowSize);
+
+      // string and relational values get added to the buffer's header
+      m_Ring.add(inst);
+
+      if (m_Ring.getTotalAdded() % m_Interval == 0) {
+	if (m_CreateView)
+	  m_OutputToken = new Token(m_Ring.window());
+	else
+	  m_OutputToken = new Token(m_Ring.windowCopy());
+	if (m_ClearBuffer)
+	  m_Ring.clear();
+      }
+    }
   }
 
   /**
@@ -447,6 +606,11 @@ public class WekaInstanceBuffer
 	insts = (Instance[]) m_InputToken.getPayload();
       }
 
+      if (m_WindowSize > 0) {
+	bufferWindow(insts);
+	return result;
+      }
+
       for (n = 0; n < insts.length; n++) {
 	inst = insts[n];
 
@@ -565,6 +729,7 @@ public class WekaInstanceBuffer
   public void wrapUp() {
     m_Iterator = null;
     m_Buffer   = null;
+    m_Ring     = null;
 
     super.wrapUp();
   }
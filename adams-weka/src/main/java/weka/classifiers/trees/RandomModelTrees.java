@@ -15,12 +15,14 @@
 
 /*
  *    RandomModelTrees.java
- *    Copyright (C) 2009,2016 University of Waikato
+ *    Copyright (C) 2009-2026 University of Waikato
  *
  */
 
 package weka.classifiers.trees;
 
+import adams.core.Performance;
+import adams.multiprocess.ParallelJobs;
 import weka.classifiers.RandomizableClassifier;
 import weka.classifiers.functions.LinearRegressionJ;
 import weka.classifiers.meta.Corr;
@@ -42,6 +44,7 @@ import java.util.Enumeration;
 import java.util.List;
 import java.util.Random;
 import java.util.Vector;
+import java.util.concurrent.Callable;
 
 // this version: ONLY do MAX-DEPTH, no -M anymore (for simplicity ...)
 /**
@@ -59,9 +62,13 @@ public class RandomModelTrees
   implements OptionHandler, WeightedInstancesHandler {
 
   /** for serialization. */
-  private static final long serialVersionUID = -3131038090987633675L;
+  private static final long serialVersionUID = 2604173839451172863L;
 
-  protected Node[] m_node;
+  /** the trees, only used during building. */
+  protected transient Node[] m_node;
+
+  /** the flattened trees used for predictions. */
+  protected FlatModelTree[] m_flat;
 
   /** The number of iterations. */
   protected int m_numIterations = 0;
@@ -74,6 +81,9 @@ public class RandomModelTrees
 
   protected double m_ridge = 0.0;
 
+  /** the number of threads to use. */
+  protected int m_numThreads = 1;
+
   /**
    * Returns a string describing classifier.
    *
@@ -113,6 +123,11 @@ public class RandomModelTrees
 	+ "\t(default 0 = max(2, log2(#ex)-log2(#attr)-1))",
 	"M", 1, "-M <num>"));
 
+    newVector.addElement(new Option(
+	"\tNumber of threads for building and batch prediction.\n"
+	+ "\t(default 1)",
+	"num-threads", 1, "-num-threads <num>"));
+
     Enumeration enum1 = super.listOptions();
     while (enum1.hasMoreElements()) {
       newVector.addElement(enum1.nextElement());
@@ -159,6 +174,13 @@ public class RandomModelTrees
       setRidge(0.0);
     }
 
+    tmpStr = Utils.getOption("num-threads", options);
+    if (tmpStr.length() > 0) {
+      setNumThreads(Integer.parseInt(tmpStr));
+    } else {
+      setNumThreads(1);
+    }
+
     super.setOptions(options);
   }
 
@@ -170,7 +192,7 @@ public class RandomModelTrees
   public String [] getOptions() {
 
     String [] superOptions = super.getOptions();
-    String [] options = new String [superOptions.length + 8];
+    String [] options = new String [superOptions.length + 10];
 
     options[0] = "-K";
     options[1] = "" + getTrials();
@@ -184,7 +206,10 @@ public class RandomModelTrees
     options[6] = "-R";
     options[7] = "" + getRidge();
 
-    System.arraycopy(superOptions, 0, options, 8, superOptions.length);
+    options[8] = "-num-threads";
+    options[9] = "" + getNumThreads();
+
+    System.arraycopy(superOptions, 0, options, 10, superOptions.length);
 
     return options;
   }
@@ -271,6 +296,24 @@ public class RandomModelTrees
     return "The maximum height of the trees.";
   }
 
+  public int getNumThreads() {
+    return m_numThreads;
+  }
+
+  public void setNumThreads(int n) {
+    m_numThreads = n;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the explorer/experimenter gui
+   */
+  public String numThreadsTipText() {
+    return "The number of threads to use for building the trees and for batch predictions; " + Performance.getNumThreadsHelp();
+  }
+
   /**
    * Returns default capabilities of the classifier.
    *
@@ -307,10 +350,16 @@ public class RandomModelTrees
     }
 
     m_node = new Node[numIterations];
+    m_flat = null;
+    // one seed per tree, to be independent of the number of threads
     Random r = new Random(getSeed());
+    long[] seeds = new long[numIterations];
+    for (int j = 0; j < seeds.length; j++) {
+      seeds[j] = r.nextLong();
+    }
 
     int n = data.numInstances();
-    List<Instance> all = new ArrayList<Instance>(n);
+    final List<Instance> all = new ArrayList<Instance>(n);
     for(int i = 0; i < n; i++) {
       all.add(data.instance(i));
     }
@@ -345,10 +394,33 @@ public class RandomModelTrees
     if (getDebug())
       System.out.println("effective parameters: n = " + numIterations + " r = " + ridge + " k = " + trials + " m = " + maxHeight);
 
-    Comparator<Instance>[] comparators = getComparators(data.numAttributes());
+    final Comparator<Instance>[] comparators = getComparators(data.numAttributes());
+    final int fMaxHeight = maxHeight;
+    final double fRidge = ridge;
+    final int fTrials = trials;
+
+    // each tree sorts its own copy of the data
+    int numThreads = Math.min(Performance.determineNumThreads(m_numThreads), m_node.length);
+    if (numThreads <= 1) {
+      for(int j = 0; j < m_node.length; j++) {
+	m_node[j] = new Node(new ArrayList<Instance>(all),new Random(seeds[j]),maxHeight,ridge,trials,comparators);
+      }
+    }
+    else {
+      List<Callable<Node>> jobs = new ArrayList<Callable<Node>>();
+      for (final long seed: seeds) {
+	jobs.add(new Callable<Node>() {
+	  public Node call() throws Exception {
+	    return new Node(new ArrayList<Instance>(all),new Random(seed),fMaxHeight,fRidge,fTrials,comparators);
+	  }
+	});
+      }
+      m_node = ParallelJobs.invokeAll(jobs, numThreads, "Failed to build trees!").toArray(new Node[seeds.length]);
+    }
 
+    m_flat = new FlatModelTree[m_node.length];
     for(int j = 0; j < m_node.length; j++) {
-      m_node[j] = new Node(all,r,maxHeight,ridge,trials,comparators);
+      m_flat[j] = new FlatModelTree(m_node[j]);
       /* Bagging does not seem to work as well ???
 	List<Instance> bag = new ArrayList<Instance>(n);
       for(int i = 0; i < n; i++) {
@@ -357,6 +429,7 @@ public class RandomModelTrees
       m_node[j] = new Node(bag,r, maxHeight,ridge,trials);
       */
     }
+    m_node = null;
   }
 
   public Comparator<Instance>[] getComparators(int k) {
@@ -385,17 +458,74 @@ public class RandomModelTrees
    */
   public double classifyInstance(Instance instance) throws Exception {
 
-    double sum = 0.0;
-    for(Node node: m_node) {
-      sum += node.classifyInstance(instance);
-    }
-    double result = sum/m_node.length;
+    double result = predict(instance);
     if (getDebug()) {
       System.out.println("xxx " + result);
     }
     return result;
   }
 
+  /**
+   * Averages the predictions of the trees.
+   *
+   * @param instance the instance to predict
+   * @return the prediction
+   */
+  protected double predict(Instance instance) {
+    double sum = 0.0;
+    for(FlatModelTree tree: m_flat) {
+      sum += tree.classifyInstance(instance);
+    }
+    return sum/m_flat.length;
+  }
+
+  /**
+   * Returns true, as the predictions are computed in parallel.
+   *
+   * @return true
+   */
+  @Override
+  public boolean implementsMoreEfficientBatchPrediction() {
+    return true;
+  }
+
+  /**
+   * Batch prediction method, distributes the instances across the threads.
+   *
+   * @param insts the instances to get predictions for
+   * @return array of predictions (one element each)
+   * @exception Exception if predictions can't be computed successfully
+   */
+  @Override
+  public double[][] distributionsForInstances(final Instances insts) throws Exception {
+    final double[][] result = new double[insts.numInstances()][];
+    int numThreads = Math.min(Performance.determineNumThreads(m_numThreads), insts.numInstances());
+
+    if (numThreads <= 1) {
+      for(int i = 0; i < insts.numInstances(); i++) {
+	result[i] = new double[]{predict(insts.instance(i))};
+      }
+      return result;
+    }
+
+    List<Callable<Boolean>> jobs = new ArrayList<Callable<Boolean>>();
+    for(int t = 0; t < numThreads; t++) {
+      final int offset = t;
+      final int step = numThreads;
+      jobs.add(new Callable<Boolean>() {
+	public Boolean call() {
+	  for(int i = offset; i < insts.numInstances(); i += step) {
+	    result[i] = new double[]{predict(insts.instance(i))};
+	  }
+	  return true;
+	}
+      });
+    }
+    ParallelJobs.invokeAll(jobs, numThreads, "Failed to compute predictions!");
+
+    return result;
+  }
+
   /**
    * Returns description of the bagged classifier.
    *
@@ -403,13 +533,13 @@ public class RandomModelTrees
    */
   public String toStringOLD() {
 
-    if (m_node == null) {
+    if (m_flat == null) {
       return "RandomModelTrees: No model built yet.";
     }
     StringBuffer text = new StringBuffer();
     text.append("RandomModelTrees: \n\n");
-    for(Node node: m_node) {
-      node.toString(0,text,m_data);
+    for(FlatModelTree tree: m_flat) {
+      tree.toString(0,0,text,m_data);
       text.append("\n\n");
       text.append("-------------------------------------");
     }
@@ -417,7 +547,7 @@ public class RandomModelTrees
   }
 
   public String toString() {
-    if (m_node == null) {
+    if (m_flat == null) {
       return "RandomModelTrees: No model built yet.";
     }
     StringBuffer text = new StringBuffer();
@@ -452,6 +582,113 @@ public class RandomModelTrees
 }
 
 
+// array-based version of Node, nodes are stored in depth-first order
+class FlatModelTree implements Serializable {
+
+  private static final long serialVersionUID = -5208541927430781664L;
+
+  // -1 for leaves
+  protected int[] splitIndex;
+  protected double[] splitValue;
+  protected int[] less;
+  protected int[] more;
+  protected double[] min;
+  protected double[] max;
+  protected double[][] coeffs;
+  protected int[][] subset;
+  protected int count;
+
+
+  public FlatModelTree(Node root) {
+    int size = count(root);
+    splitIndex = new int[size];
+    splitValue = new double[size];
+    less = new int[size];
+    more = new int[size];
+    min = new double[size];
+    max = new double[size];
+    coeffs = new double[size][];
+    subset = new int[size][];
+    count = 0;
+    add(root);
+  }
+
+
+  protected int count(Node node) {
+    if (node.splitIndex == -1) return 1;
+    return 1 + count(node.less) + count(node.more);
+  }
+
+
+  protected int add(Node node) {
+    int index = count++;
+    splitIndex[index] = node.splitIndex;
+    splitValue[index] = node.splitValue;
+    if (node.splitIndex == -1) {
+      min[index] = node.min;
+      max[index] = node.max;
+      coeffs[index] = node.m_coeffs;
+      subset[index] = node.m_subset;
+    } else {
+      less[index] = add(node.less);
+      more[index] = add(node.more);
+    }
+    return index;
+  }
+
+
+  public double classifyInstance(Instance instance) {
+    int index = 0;
+    while (splitIndex[index] != -1) {
+      if (instance.value(splitIndex[index]) < splitValue[index]) index = less[index];
+      else index = more[index];
+    }
+    double v = leafPrediction(index, instance);
+    if (Double.isNaN(v)) return 0.5*(min[index]+max[index]);
+    if (v > max[index]) return max[index];
+    if (v < min[index]) return min[index];
+    return v;
+  }
+
+
+  public double leafPrediction(int index, Instance instance) {
+    double[] c = coeffs[index];
+    int[] s = subset[index];
+    if (s != null) {
+      double sum = c[c.length-1];
+      for(int i = 0; i < s.length; i++) {
+	sum += c[i] * instance.value(s[i]);
+      }
+      return sum;
+    } else {
+      int offset = 0;
+      double sum = 0.0;
+      for(int i = 0; i < instance.numAttributes(); i++) {
+	if (i != instance.classIndex()) {
+	  sum += c[offset++] * instance.value(i);
+	}
+      }
+      sum += c[offset];
+      return sum;
+    }
+  }
+
+
+  public void toString(int index, int indent, StringBuffer sb, Instances header) {
+    for(int i = 0; i < indent; i++) sb.append("| ");
+    if (splitIndex[index] == -1) {
+      sb.append("target = " + splitValue[index] + "\n");
+    } else {
+      sb.append(header.attribute(splitIndex[index]).name() + " < " + splitValue[index] + "\n");
+      toString(less[index],indent+1,sb,header);
+      for(int i = 0; i < indent; i++) sb.append("| ");
+      sb.append(header.attribute(splitIndex[index]).name() + " > " + splitValue[index] + "\n");
+      toString(more[index],indent+1,sb,header);
+    }
+  }
+}
+
+
 // could remove m_subset ...
 class Node implements Serializable {
 
@@ -575,77 +812,6 @@ class Node implements Serializable {
   }
 
 
-  public double classifyInstance(Instance instance) throws Exception {
-    if (splitIndex == -1) {
-      double v = leafPrediction(instance);
-      if (Double.isNaN(v)) return 0.5*(min+max);
-      if (v > max) return max;
-      if (v < min) return min;
-      return v;
-    }
-    if (instance.value(splitIndex) < splitValue) return less.classifyInstance(instance);
-    return more.classifyInstance(instance);
-  }
-
-
-  public double leafPrediction(Instance instance) throws Exception {
-    //if (m_coeffs != null) {
-    if (m_subset != null) {
-      double sum = m_coeffs[m_coeffs.length-1];
-      for(int i = 0; i < m_subset.length; i++) {
-	sum += m_coeffs[i] * instance.value(m_subset[i]);
-      }
-      return sum;
-    } else {
-      int offset = 0;
-      double sum = 0.0;
-      for(int i = 0; i < instance.numAttributes(); i++) {
-	if (i != instance.classIndex()) {
-	  sum += m_coeffs[offset++] * instance.value(i);
-	}
-      }
-      sum += m_coeffs[offset];
-      return sum;
-    }
-  }
-
-
-
-
-  // printing ...
-
-  public void prefix(int indent, StringBuffer sb) {
-    for(int i = 0; i < indent; i++) sb.append("| ");
-  }
-
-  public void toString(int indent, StringBuffer sb, List<String> models, Instances header) {
-    prefix(indent,sb);
-    if (splitIndex == -1) {
-      sb.append("LM" + models.size() + "\n");
-      //models.add(lr.toString());
-    } else {
-      sb.append(header.attribute(splitIndex).name() + " < " + splitValue + "\n");
-      less.toString(indent+1,sb,models,header);
-      prefix(indent,sb);
-      sb.append(header.attribute(splitIndex).name() + " > " + splitValue + "\n");
-      more.toString(indent+1,sb,models,header);
-    }
-  }
-
-  public void toString(int indent, StringBuffer sb, Instances header) {
-    prefix(indent,sb);
-    if (splitIndex == -1) {
-      sb.append("target = " + splitValue + "\n");
-    } else {
-      sb.append(header.attribute(splitIndex).name() + " < " + splitValue + "\n");
-      less.toString(indent+1,sb,header);
-      prefix(indent,sb);
-      sb.append(header.attribute(splitIndex).name() + " > " + splitValue + "\n");
-      more.toString(indent+1,sb,header);
-    }
-  }
-
-
   //
   // maybe we should simply find the best split for some attribute ?
   //
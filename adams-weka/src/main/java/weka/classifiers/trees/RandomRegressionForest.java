@@ -15,12 +15,14 @@
 
 /*
  *    RandomRegressionForest.java
- *    Copyright (C) 2007 University of Waikato
+ *    Copyright (C) 2007-2026 University of Waikato
  *
  */
 
 package weka.classifiers.trees;
 
+import adams.core.Performance;
+import adams.multiprocess.ParallelJobs;
 import weka.classifiers.RandomizableClassifier;
 import weka.classifiers.functions.LinearRegressionJ;
 import weka.core.Capabilities;
@@ -36,10 +38,12 @@ import weka.filters.supervised.attribute.PLSFilter;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Random;
 import java.util.Vector;
+import java.util.concurrent.Callable;
 
 /**
  <!-- globalinfo-start -->
@@ -63,6 +67,10 @@ import java.util.Vector;
  *  Number of PLS components.
  *  (default 20)</pre>
  *
+ * <pre> -num-threads &lt;num&gt;
+ *  Number of threads for building and batch prediction.
+ *  (default 1)</pre>
+ *
  * <pre> -S &lt;num&gt;
  *  Random number seed.
  *  (default 1)</pre>
@@ -81,10 +89,10 @@ public class RandomRegressionForest
   implements WeightedInstancesHandler {
 
   /** for serialization */
-  private static final long serialVersionUID = -3779643299723247400L;
+  private static final long serialVersionUID = 8157337246807532130L;
 
-  /** the generated nodes */
-  protected Node[] m_Node;
+  /** the generated trees (flattened) */
+  protected FlatTree[] m_Node;
 
   /** The number of iterations. */
   protected int m_NumIterations = 100;
@@ -104,6 +112,9 @@ public class RandomRegressionForest
   /** the mean */
   protected double m_Mean = 0.0;
 
+  /** the number of threads to use */
+  protected int m_NumThreads = 1;
+
   /**
    * Returns a string describing this classifier.
    *
@@ -140,6 +151,11 @@ public class RandomRegressionForest
 	+ "\t(default 20)",
 	"C", 1, "-C <num>"));
 
+    result.addElement(new Option(
+	"\tNumber of threads for building and batch prediction.\n"
+	+ "\t(default 1)",
+	"num-threads", 1, "-num-threads <num>"));
+
     Enumeration enm = super.listOptions();
     while (enm.hasMoreElements())
       result.addElement(enm.nextElement());
@@ -165,6 +181,10 @@ public class RandomRegressionForest
    *  Number of PLS components.
    *  (default 20)</pre>
    *
+   * <pre> -num-threads &lt;num&gt;
+   *  Number of threads for building and batch prediction.
+   *  (default 1)</pre>
+   *
    * <pre> -S &lt;num&gt;
    *  Random number seed.
    *  (default 1)</pre>
@@ -202,6 +222,13 @@ public class RandomRegressionForest
       setNumIterations(100);
     }
 
+    tmpStr = Utils.getOption("num-threads", options);
+    if (tmpStr.length() != 0) {
+      setNumThreads(Integer.parseInt(tmpStr));
+    } else {
+      setNumThreads(1);
+    }
+
     super.setOptions(options);
   }
 
@@ -226,6 +253,9 @@ public class RandomRegressionForest
     result.add("-N");
     result.add("" + getNumIterations());
 
+    result.add("-num-threads");
+    result.add("" + getNumThreads());
+
     options = super.getOptions();
     for (i = 0; i < options.length; i++)
       result.add(options[i]);
@@ -317,6 +347,34 @@ public class RandomRegressionForest
     return m_PLS;
   }
 
+  /**
+   * Returns the tip text for this property
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the explorer/experimenter gui
+   */
+  public String numThreadsTipText() {
+    return "The number of threads to use for building the trees and for batch predictions; " + Performance.getNumThreadsHelp();
+  }
+
+  /**
+   * Sets the number of threads to use.
+   *
+   * @param value	the number of threads
+   */
+  public void setNumThreads(int value) {
+    m_NumThreads = value;
+  }
+
+  /**
+   * Gets the number of threads to use.
+   *
+   * @return		the number of threads
+   */
+  public int getNumThreads() {
+    return m_NumThreads;
+  }
+
   /**
    * Centers the class value in the data.
    *
@@ -381,16 +439,51 @@ public class RandomRegressionForest
 
     m_Data = data; // keep for printing ???
 
-    m_Node = new Node[getNumIterations()];
+    // one seed per tree, to be independent of the number of threads
     Random r = new Random(getSeed());
-
-    for (int j = 0; j < m_Node.length; j++) {
-      m_Node[j] = new Node(data,r,m_Min);
+    long[] seeds = new long[getNumIterations()];
+    for (int j = 0; j < seeds.length; j++)
+      seeds[j] = r.nextLong();
+
+    final Instances train = data;
+    m_Node = new FlatTree[seeds.length];
+    int numThreads = Math.min(Performance.determineNumThreads(m_NumThreads), seeds.length);
+    if (numThreads <= 1) {
+      for (int j = 0; j < m_Node.length; j++)
+	m_Node[j] = new FlatTree(new Node(train, new Random(seeds[j]), m_Min));
+    }
+    else {
+      List<Callable<FlatTree>> jobs = new ArrayList<Callable<FlatTree>>();
+      for (final long seed: seeds) {
+	jobs.add(new Callable<FlatTree>() {
+	  public FlatTree call() throws Exception {
+	    return new FlatTree(new Node(train, new Random(seed), m_Min));
+	  }
+	});
+      }
+      m_Node = ParallelJobs.invokeAll(jobs, numThreads, "Failed to build trees!").toArray(new FlatTree[seeds.length]);
     }
 
     m_Data = new Instances(m_Data,0); // cleanOUT
   }
 
+  /**
+   * Returns the prediction of the forest for an already PLS-transformed
+   * instance.
+   *
+   * @param instance	the transformed instance
+   * @return		the prediction
+   * @throws Exception	if prediction fails
+   */
+  protected double predict(Instance instance) throws Exception {
+    double sum = 0.0;
+    for (FlatTree tree: m_Node) {
+      sum += tree.classifyInstance(instance);
+    }
+
+    return m_Mean + sum/m_Node.length;
+  }
+
   /**
    * Calculates the class membership probabilities for the given test instance.
    *
@@ -403,12 +496,55 @@ public class RandomRegressionForest
     m_PLSFilter.batchFinished();
     instance = m_PLSFilter.output();
 
-    double sum = 0.0;
-    for (Node node: m_Node) {
-      sum += node.classifyInstance(instance);
+    return predict(instance);
+  }
+
+  /**
+   * Returns true, as the PLS transformation is applied to the whole batch
+   * and the predictions are computed in parallel.
+   *
+   * @return		true
+   */
+  @Override
+  public boolean implementsMoreEfficientBatchPrediction() {
+    return true;
+  }
+
+  /**
+   * Batch prediction method. Transforms the data in one go and distributes
+   * the instances across the threads.
+   *
+   * @param insts 	the instances to get predictions for
+   * @return 		array of predictions (one element each)
+   * @throws Exception 	if predictions can't be computed successfully
+   */
+  @Override
+  public double[][] distributionsForInstances(Instances insts) throws Exception {
+    final Instances data = Filter.useFilter(insts, m_PLSFilter);
+    final double[][] result = new double[data.numInstances()][];
+    int numThreads = Math.min(Performance.determineNumThreads(m_NumThreads), data.numInstances());
+
+    if (numThreads <= 1) {
+      for (int i = 0; i < data.numInstances(); i++)
+	result[i] = new double[]{predict(data.instance(i))};
+      return result;
     }
 
-    return m_Mean + sum/m_Node.length;
+    List<Callable<Boolean>> jobs = new ArrayList<Callable<Boolean>>();
+    for (int t = 0; t < numThreads; t++) {
+      final int offset = t;
+      final int step = numThreads;
+      jobs.add(new Callable<Boolean>() {
+	public Boolean call() throws Exception {
+	  for (int i = offset; i < data.numInstances(); i += step)
+	    result[i] = new double[]{predict(data.instance(i))};
+	  return true;
+	}
+      });
+    }
+    ParallelJobs.invokeAll(jobs, numThreads, "Failed to compute predictions!");
+
+    return result;
   }
 
   /**
@@ -424,8 +560,8 @@ public class RandomRegressionForest
     StringBuffer text = new StringBuffer();
     text.append("RandomRegressionForest: \n\n");
     List<String> models = new ArrayList<String>();
-    for (Node node: m_Node) {
-      node.toString(0,text,models);
+    for (FlatTree tree: m_Node) {
+      tree.toString(0,0,text,models);
       text.append("\n\n");
       text.append("-------------------------------------");
     }
@@ -524,22 +660,6 @@ public class RandomRegressionForest
       m_LinearReg.buildClassifier(data);
     }
 
-    /**
-     * classifies the given instance
-     *
-     * @param instance		the instance to classify
-     * @return			the regression value
-     * @throws Exception	if the classification fails
-     */
-    public double classifyInstance(Instance instance) throws Exception {
-      if (m_LinearReg != null)
-	return m_LinearReg.classifyInstance(instance);
-      else if (instance.value(m_SplitIndex) < m_SplitValue)
-	return m_Less.classifyInstance(instance);
-      else
-	return m_More.classifyInstance(instance);
-    }
-
     /**
      * determines a random split for the data, tries 10 pairs.
      *
@@ -599,36 +719,128 @@ public class RandomRegressionForest
       }
       return ((smaller >= min) && (larger >= min));
     }
+  }
+
+  /**
+   * Array-based representation of a tree, for faster predictions and
+   * smaller serialized models. Nodes are stored in depth-first order.
+   *
+   * @author Bernhard Pfahringer (bernhard@cs.waikato.ac.nz)
+   */
+  public class FlatTree
+    implements Serializable {
+
+    /** for serialization */
+    private static final long serialVersionUID = 4125773380442061738L;
+
+    /** the split attributes (-1 for leaves) */
+    protected int[] m_SplitIndex;
+
+    /** the split values */
+    protected double[] m_SplitValue;
+
+    /** the node indices of the "less" branches */
+    protected int[] m_Less;
+
+    /** the node indices of the "more" branches */
+    protected int[] m_More;
+
+    /** the leaf models */
+    protected LinearRegressionJ[] m_LinearReg;
+
+    /** the number of nodes */
+    protected int m_Count;
 
     /**
-     * generates the tree structure prefix
+     * Flattens the given tree.
      *
-     * @param indent	the depth
-     * @param sb	the StringBuffer to add the prefix to
+     * @param root	the root of the tree
      */
-    public void prefix(int indent, StringBuffer sb) {
-      for (int i = 0; i < indent; i++)
-	sb.append("| ");
+    public FlatTree(Node root) {
+      int size = count(root);
+      m_SplitIndex = new int[size];
+      m_SplitValue = new double[size];
+      m_Less       = new int[size];
+      m_More       = new int[size];
+      m_LinearReg  = new LinearRegressionJ[size];
+      m_Count      = 0;
+      add(root);
+    }
+
+    /**
+     * Counts the nodes in the tree.
+     *
+     * @param node	the node to start from
+     * @return		the number of nodes
+     */
+    protected int count(Node node) {
+      if (node.m_LinearReg != null)
+	return 1;
+      return 1 + count(node.m_Less) + count(node.m_More);
+    }
+
+    /**
+     * Adds the node and its sub-nodes.
+     *
+     * @param node	the node to add
+     * @return		the index of the node
+     */
+    protected int add(Node node) {
+      int index = m_Count++;
+      if (node.m_LinearReg != null) {
+	m_SplitIndex[index] = -1;
+	m_LinearReg[index]  = node.m_LinearReg;
+      }
+      else {
+	m_SplitIndex[index] = node.m_SplitIndex;
+	m_SplitValue[index] = node.m_SplitValue;
+	m_Less[index]       = add(node.m_Less);
+	m_More[index]       = add(node.m_More);
+      }
+      return index;
+    }
+
+    /**
+     * classifies the given instance
+     *
+     * @param instance		the instance to classify
+     * @return			the regression value
+     * @throws Exception	if the classification fails
+     */
+    public double classifyInstance(Instance instance) throws Exception {
+      int index = 0;
+      while (m_SplitIndex[index] != -1) {
+	if (instance.value(m_SplitIndex[index]) < m_SplitValue[index])
+	  index = m_Less[index];
+	else
+	  index = m_More[index];
+      }
+      return m_LinearReg[index].classifyInstance(instance);
     }
 
     /**
      * Generates a string representation of the node.
      *
+     * @param index	the node index
      * @param indent	the depth
      * @param sb	the StringBuffer to add the output to
      * @param models	the list to add the generated output to
      */
-    public void toString(int indent, StringBuffer sb, List<String> models) {
-      prefix(indent, sb);
-      if (m_SplitIndex == -1) {
+    public void toString(int index, int indent, StringBuffer sb, List<String> models) {
+      char[] prefix = new char[indent * 2];
+      Arrays.fill(prefix, ' ');
+      for (int i = 0; i < indent; i++)
+	prefix[i * 2] = '|';
+      sb.append(prefix);
+      if (m_SplitIndex[index] == -1) {
 	sb.append("LM" + models.size() + "\n");
-	models.add(m_LinearReg.toString());
+	models.add(m_LinearReg[index].toString());
       } else {
-	sb.append(m_Data.attribute(m_SplitIndex).name() + " < " + m_SplitValue + "\n");
-	m_Less.toString(indent+1, sb, models);
-	prefix(indent, sb);
-	sb.append(m_Data.attribute(m_SplitIndex).name() + " > " + m_SplitValue + "\n");
-	m_More.toString(indent+1, sb, models);
+	sb.append(m_Data.attribute(m_SplitIndex[index]).name() + " < " + m_SplitValue[index] + "\n");
+	toString(m_Less[index], indent+1, sb, models);
+	sb.append(prefix);
+	sb.append(m_Data.attribute(m_SplitIndex[index]).name() + " > " + m_SplitValue[index] + "\n");
+	toString(m_More[index], indent+1, sb, models);
       }
     }
   }
@@ -0,0 +1,128 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/**
+ * HashableInstanceHelper.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package weka.core;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Helper class for duplicate removal and joins based on
+ * {@link HashableInstanceUsingValues}.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class HashableInstanceHelper {
+
+  /**
+   * Wraps the instance.
+   *
+   * @param inst	the instance to wrap
+   * @param exclClass	whether to exclude the class
+   * @param exclWeight	whether to exclude the weight
+   * @param use128Bit	whether to use 128-bit hashes
+   * @return		the wrapped instance
+   */
+  public static HashableInstanceUsingValues wrap(Instance inst, boolean exclClass, boolean exclWeight, boolean use128Bit) {
+    HashableInstanceUsingValues	result;
+
+    result = new HashableInstanceUsingValues(inst);
+    result.setExcludeClass(exclClass);
+    result.setExcludeWeight(exclWeight);
+    result.setUse128Bit(use128Bit);
+
+    return result;
+  }
+
+  /**
+   * Adds all the instances from the source to the target that haven't
+   * been encountered yet.
+   *
+   * @param source	the instances to add
+   * @param target	the dataset to add the unique instances to
+   * @param seen	the hashes encountered so far
+   * @param exclClass	whether to exclude the class
+   * @param exclWeight	whether to exclude the weight
+   * @param use128Bit	whether to use 128-bit hashes
+   */
+  protected static void addUnique(Instances source, Instances target, Set<HashableInstanceUsingValues> seen, boolean exclClass, boolean exclWeight, boolean use128Bit) {
+    int		i;
+
+    for (i = 0; i < source.numInstances(); i++) {
+      if (seen.add(wrap(source.instance(i), exclClass, exclWeight, use128Bit)))
+	target.add(source.instance(i));
+    }
+  }
+
+  /**
+   * Removes all duplicates from the dataset, keeping the first occurrence.
+   * The order of the remaining instances is preserved.
+   *
+   * @param data	the data to process
+   * @param exclClass	whether to exclude the class
+   * @param exclWeight	whether to exclude the weight
+   * @param use128Bit	whether to use 128-bit hashes
+   * @return		the new dataset without duplicates
+   */
+  public static Instances removeDuplicates(Instances data, boolean exclClass, boolean exclWeight, boolean use128Bit) {
+    Instances				result;
+    Set<HashableInstanceUsingValues>	seen;
+
+    result = new Instances(data, data.numInstances());
+    seen   = new HashSet<>(data.numInstances() * 2);
+    addUnique(data, result, seen, exclClass, exclWeight, use128Bit);
+    result.compactify();
+
+    return result;
+  }
+
+  /**
+   * Joins the two datasets (same structure), removing any duplicates. The
+   * first occurrence is kept, with the instances of the first dataset
+   * preceding the ones of the second dataset.
+   * <br><br>
+   * NB: string and relational values are compared via their index, hence
+   * the datasets must share their string/relational values.
+   *
+   * @param first	the first dataset
+   * @param second	the second dataset
+   * @param exclClass	whether to exclude the class
+   * @param exclWeight	whether to exclude the weight
+   * @param use128Bit	whether to use 128-bit hashes
+   * @return		the joined dataset without duplicates
+   * @throws IllegalArgumentException	if the headers are not compatible
+   */
+  public static Instances join(Instances first, Instances second, boolean exclClass, boolean exclWeight, boolean use128Bit) {
+    Instances				result;
+    Set<HashableInstanceUsingValues>	seen;
+    String				msg;
+
+    msg = first.equalHeadersMsg(second);
+    if (msg != null)
+      throw new IllegalArgumentException("Datasets are not compatible: " + msg);
+
+    result = new Instances(first, first.numInstances() + second.numInstances());
+    seen   = new HashSet<>((first.numInstances() + second.numInstances()) * 2);
+    addUnique(first, result, seen, exclClass, exclWeight, use128Bit);
+    addUnique(second, result, seen, exclClass, exclWeight, use128Bit);
+    result.compactify();
+
+    return result;
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/**
+ * HashableInstanceUsingValues.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, New Zealand
+ */
+package weka.core;
+
+import java.util.Arrays;
+
+/**
+ * Hashes the raw internal double values of the wrapped instance, without
+ * generating any string representations. Nominal, string and relational
+ * values are therefore hashed via their index. Only non-zero values
+ * contribute to the hash, which makes dense and sparse instances with the
+ * same content hash the same.
+ * <br><br>
+ * By default, a 64-bit hash is computed (folded into the 32-bit hashcode).
+ * With {@link #setUse128Bit(boolean)} a 128-bit hash gets computed as well,
+ * which is used by {@link #equals(Object)} to reduce the collision rate.
+ * <br><br>
+ * NB: since string and relational values are hashed via their index,
+ * instances should share the same header when compared.
+ *
+ * @author  fracpete (fracpete at waikato dot ac dot nz)
+ */
+public class HashableInstanceUsingValues
+  extends AbstractHashableInstance {
+
+  /** for serialization. */
+  private static final long serialVersionUID = 2425829283524133467L;
+
+  /** the seed for the first 64 bits. */
+  protected final static long SEED1 = 0x9E3779B97F4A7C15L;
+
+  /** the seed for the second 64 bits. */
+  protected final static long SEED2 = 0xC2B2AE3D27D4EB4FL;
+
+  /** the index used for the weight. */
+  protected final static int WEIGHT_INDEX = -1;
+
+  /** whether to compute a 128-bit hash. */
+  protected boolean m_Use128Bit;
+
+  /** the cached 128-bit hash. */
+  protected long[] m_Hash128;
+
+  /**
+   * Initializes the wrapper. Class and weight are included in hashcode by default.
+   *
+   * @param data	the instance to wrap
+   */
+  public HashableInstanceUsingValues(Instance data) {
+    super(data);
+
+    m_Use128Bit = false;
+    m_Hash128   = null;
+  }
+
+  /**
+   * Assigns all the data, apart from wrapped instance, that the provided
+   * hashable instance provides.
+   *
+   * @param inst	the hashable instance to get the data from
+   */
+  @Override
+  protected void assign(AbstractHashableInstance inst) {
+    super.assign(inst);
+    if (inst instanceof HashableInstanceUsingValues)
+      setUse128Bit(((HashableInstanceUsingValues) inst).getUse128Bit());
+  }
+
+  /**
+   * Sets whether to compute a 128-bit hash, which gets used for equality.
+   *
+   * @param value	true if to use 128 bits
+   */
+  public void setUse128Bit(boolean value) {
+    invalidateHashCode();
+    m_Use128Bit = value;
+  }
+
+  /**
+   * Returns whether to compute a 128-bit hash, which gets used for equality.
+   *
+   * @return		true if to use 128 bits
+   */
+  public boolean getUse128Bit() {
+    return m_Use128Bit;
+  }
+
+  /**
+   * Invalidates the hash code.
+   */
+  @Override
+  protected void invalidateHashCode() {
+    super.invalidateHashCode();
+    m_Hash128 = null;
+  }
+
+  /**
+   * Finalizer step of MurmurHash3 for 64-bit values.
+   *
+   * @param k		the value to mix
+   * @return		the mixed value
+   */
+  protected static long mix(long k) {
+    k ^= k >>> 33;
+    k *= 0xFF51AFD7ED558CCDL;
+    k ^= k >>> 33;
+    k *= 0xC4CEB9FE1A85EC53L;
+    k ^= k >>> 33;
+    return k;
+  }
+
+  /**
+   * Hashes the value with the given index.
+   *
+   * @param index	the attribute index
+   * @param value	the internal value
+   * @return		the hashed key
+   */
+  protected static long key(int index, double value) {
+    // NB: doubleToLongBits collapses all NaNs (= missing values) into one
+    return mix(Double.doubleToLongBits(value) ^ ((long) index * SEED1));
+  }
+
+  /**
+   * Computes the 128-bit hash.
+   *
+   * @return		the hash (2 longs)
+   */
+  protected long[] computeHash128() {
+    long	h1;
+    long	h2;
+    long	k;
+    int		i;
+    int		index;
+    int		classIndex;
+    double	value;
+
+    h1         = SEED1;
+    h2         = SEED2;
+    classIndex = m_Data.classIndex();
+
+    if (m_Data instanceof SparseInstance) {
+      for (i = 0; i < m_Data.numValues(); i++) {
+	index = m_Data.index(i);
+	if (index == classIndex && m_ExcludeClass)
+	  continue;
+	value = m_Data.valueSparse(i);
+	if (value == 0)
+	  continue;
+	k  = key(index, value);
+	h1 = Long.rotateLeft(h1 ^ k, 27) * 5 + 0x52DCE729L;
+	h2 = Long.rotateLeft(h2 ^ mix(k + SEED2), 31) * 5 + 0x38495AB5L;
+      }
+    }
+    else {
+      for (i = 0; i < m_Data.numAttributes(); i++) {
+	if (i == classIndex && m_ExcludeClass)
+	  continue;
+	value = m_Data.value(i);
+	if (value == 0)
+	  continue;
+	k  = key(i, value);
+	h1 = Long.rotateLeft(h1 ^ k, 27) * 5 + 0x52DCE729L;
+	h2 = Long.rotateLeft(h2 ^ mix(k + SEED2), 31) * 5 + 0x38495AB5L;
+      }
+    }
+
+    if (!m_ExcludeWeight) {
+      k  = key(WEIGHT_INDEX, m_Data.weight());
+      h1 = Long.rotateLeft(h1 ^ k, 27) * 5 + 0x52DCE729L;
+      h2 = Long.rotateLeft(h2 ^ mix(k + SEED2), 31) * 5 + 0x38495AB5L;
+    }
+
+    return new long[]{mix(h1 + h2), mix(h2 + h1 * SEED2)};
+  }
+
+  /**
+   * Returns the 128-bit hash, computes it if necessary.
+   *
+   * @return		the hash (2 longs), do not modify
+   */
+  public synchronized long[] hash128() {
+    if (m_Hash128 == null)
+      m_Hash128 = computeHash128();
+    return m_Hash128;
+  }
+
+  /**
+   * Returns the 64-bit hash, computes it if necessary.
+   *
+   * @return		the hash
+   */
+  public long hash64() {
+    return hash128()[0];
+  }
+
+  /**
+   * Computes the hashcode.
+   *
+   * @return		the hash code
+   * @see		#m_ExcludeClass
+   * @see		#m_ExcludeWeight
+   */
+  @Override
+  protected int computeHashCode() {
+    long	hash;
+
+    hash = hash64();
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+  /**
+   * Returns only true if the same class and the same hash. Uses the 128-bit
+   * hash if both instances use 128 bits, otherwise the 64-bit one.
+   *
+   * @return		true if same class and hash
+   */
+  @Override
+  public boolean equals(Object obj) {
+    HashableInstanceUsingValues	other;
+
+    if (obj == null)
+      return false;
+    if (obj.getClass() != getClass())
+      return false;
+    other = (HashableInstanceUsingValues) obj;
+    if (getUse128Bit() && other.getUse128Bit())
+      return Arrays.equals(hash128(), other.hash128());
+    else
+      return (hash64() == other.hash64());
+  }
+}
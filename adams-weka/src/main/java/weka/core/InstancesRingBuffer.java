@@ -0,0 +1,320 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * InstancesRingBuffer.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package weka.core;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded buffer of instances with ring-buffer semantics: once the capacity
+ * has been reached, the oldest instance gets overwritten. The instances and
+ * their value arrays are pre-allocated and get re-used, i.e., adding
+ * instances only copies the values.
+ * <br><br>
+ * The current window can be obtained as a view ({@link #window()}), which
+ * shares the rows with the buffer. Such a view is only valid until the next
+ * instance gets added. Use {@link #windowCopy()} for an independent dataset.
+ * <br><br>
+ * String and relational values are stored as indices in the header of the
+ * buffer (see {@link #getHeader()}). Values of instances that belong to a
+ * different dataset get added to the header automatically. Once a pool of
+ * values has grown to more than twice the capacity, the header gets replaced
+ * with one that only contains the values still in use.
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class InstancesRingBuffer
+  implements Serializable {
+
+  private static final long serialVersionUID = -3387245718221440133L;
+
+  /** the dataset holding the slots. */
+  protected Instances m_Data;
+
+  /** the indices of the string and relational attributes. */
+  protected int[] m_PoolAttributes;
+
+  /** the capacity. */
+  protected int m_Capacity;
+
+  /** the position of the oldest instance. */
+  protected int m_Start;
+
+  /** the number of buffered instances. */
+  protected int m_Size;
+
+  /** the total number of instances added since creation/clearing. */
+  protected long m_Added;
+
+  /**
+   * Initializes the buffer.
+   *
+   * @param header	the header to use (gets copied)
+   * @param capacity	the maximum number of instances to keep
+   */
+  public InstancesRingBuffer(Instances header, int capacity) {
+    ArrayList<Integer>	pools;
+    int			i;
+
+    if (capacity < 1)
+      throw new IllegalArgumentException("Capacity must be at least 1, provided: " + capacity);
+
+    m_Capacity = capacity;
+    m_Data     = new Instances(header, capacity);
+    for (i = 0; i < capacity; i++)
+      m_Data.add(new DenseInstance(1.0, new double[header.numAttributes()]));
+
+    pools = new ArrayList<>();
+    for (i = 0; i < header.numAttributes(); i++) {
+      if (header.attribute(i).isString() || header.attribute(i).isRelationValued())
+	pools.add(i);
+    }
+    m_PoolAttributes = new int[pools.size()];
+    for (i = 0; i < pools.size(); i++)
+      m_PoolAttributes[i] = pools.get(i);
+
+    // the pools must not be shared with the header
+    clear();
+    if (m_PoolAttributes.length > 0)
+      prunePools();
+  }
+
+  /**
+   * Removes all instances from the buffer (the rows get retained).
+   */
+  public void clear() {
+    m_Start = 0;
+    m_Size  = 0;
+    m_Added = 0;
+  }
+
+  /**
+   * Returns the header of the buffer. The header gets replaced when the
+   * pools of string and relational values get pruned.
+   *
+   * @return		the header
+   */
+  public Instances getHeader() {
+    return m_Data;
+  }
+
+  /**
+   * Returns the capacity of the buffer.
+   *
+   * @return		the capacity
+   */
+  public int getCapacity() {
+    return m_Capacity;
+  }
+
+  /**
+   * Returns the number of instances currently in the buffer.
+   *
+   * @return		the number of instances
+   */
+  public int size() {
+    return m_Size;
+  }
+
+  /**
+   * Returns whether the buffer has reached its capacity.
+   *
+   * @return		true if full
+   */
+  public boolean isFull() {
+    return (m_Size == m_Capacity);
+  }
+
+  /**
+   * Returns the total number of instances added since creation or the last
+   * {@link #clear()}.
+   *
+   * @return		the number of instances
+   */
+  public long getTotalAdded() {
+    return m_Added;
+  }
+
+  /**
+   * Returns the value array of the instance in the slot, which gets
+   * overwritten in place.
+   *
+   * @param slot	the slot
+   * @return		the values
+   */
+  protected double[] row(int slot) {
+    return ((AbstractInstance) m_Data.instance(slot)).m_AttValues;
+  }
+
+  /**
+   * Adds the instance, overwriting the oldest one if the buffer is full.
+   * The values get copied into the buffer's rows. String and relational
+   * values of instances that belong to a different dataset get added to
+   * the header of the buffer.
+   *
+   * @param inst	the instance to add
+   */
+  public void add(Instance inst) {
+    int		slot;
+    double[]	row;
+    boolean	map;
+    boolean	prune;
+    int		i;
+
+    slot = (m_Start + m_Size) % m_Capacity;
+    if (m_Size == m_Capacity)
+      m_Start = (m_Start + 1) % m_Capacity;
+    else
+      m_Size++;
+    m_Added++;
+
+    row = row(slot);
+    if (inst instanceof DenseInstance) {
+      for (i = 0; i < row.length; i++)
+	row[i] = inst.value(i);
+    }
+    else {
+      for (i = 0; i < row.length; i++)
+	row[i] = 0.0;
+      for (i = 0; i < inst.numValues(); i++)
+	row[inst.index(i)] = inst.valueSparse(i);
+    }
+    m_Data.instance(slot).setWeight(inst.weight());
+
+    if (m_PoolAttributes.length > 0) {
+      map = (inst.dataset() != null) && (inst.dataset() != m_Data);
+      prune = false;
+      for (int index: m_PoolAttributes) {
+	if (map && !Utils.isMissingValue(row[index])) {
+	  if (m_Data.attribute(index).isString())
+	    row[index] = m_Data.attribute(index).addStringValue(inst.stringValue(index));
+	  else
+	    row[index] = m_Data.attribute(index).addRelation(inst.relationalValue(index));
+	}
+	prune = prune || (m_Data.attribute(index).numValues() > 2 * m_Capacity);
+      }
+      if (prune)
+	prunePools();
+    }
+  }
+
+  /**
+   * Replaces the header with one that only contains the string and relational
+   * values used by the buffered instances, re-mapping their values. The
+   * instances of the slots get re-attached to the new header.
+   */
+  protected void prunePools() {
+    ArrayList<Attribute>	atts;
+    Attribute			att;
+    Attribute			pruned;
+    Instances			data;
+    int[]			slots;
+    double[]			row;
+    int				i;
+
+    atts = new ArrayList<>();
+    for (i = 0; i < m_Data.numAttributes(); i++)
+      atts.add(m_Data.attribute(i));
+
+    slots = slots();
+    for (int index: m_PoolAttributes) {
+      att = m_Data.attribute(index);
+      if (att.isString())
+	pruned = new Attribute(att.name(), (List<String>) null, att.getMetadata());
+      else
+	pruned = new Attribute(att.name(), new Instances(att.relation(), 0), att.getMetadata());
+      pruned.setWeight(att.weight());
+      for (int slot: slots) {
+	row = row(slot);
+	if (Utils.isMissingValue(row[index]))
+	  continue;
+	if (att.isString())
+	  row[index] = pruned.addStringValue(att.value((int) row[index]));
+	else
+	  row[index] = pruned.addRelation(att.relation((int) row[index]));
+      }
+      atts.set(index, pruned);
+    }
+
+    data = new Instances(m_Data.relationName(), atts, m_Capacity);
+    data.setClassIndex(m_Data.classIndex());
+    for (i = 0; i < m_Capacity; i++)
+      data.add(m_Data.instance(i));
+    m_Data = data;
+  }
+
+  /**
+   * Returns the instance at the specified position in the window (0 is the
+   * oldest). The instance shares its values with the buffer.
+   *
+   * @param index	the position
+   * @return		the instance
+   */
+  public Instance get(int index) {
+    if ((index < 0) || (index >= m_Size))
+      throw new IndexOutOfBoundsException("Index " + index + " out of range [0," + m_Size + ")");
+    return m_Data.instance((m_Start + index) % m_Capacity);
+  }
+
+  /**
+   * Returns the slot indices of the buffered instances, from oldest to newest.
+   *
+   * @return		the indices
+   */
+  protected int[] slots() {
+    int[]	result;
+    int		i;
+
+    result = new int[m_Size];
+    for (i = 0; i < m_Size; i++)
+      result[i] = (m_Start + i) % m_Capacity;
+
+    return result;
+  }
+
+  /**
+   * Returns the current window as view, from oldest to newest. The view
+   * shares the data with the buffer and is only valid until the next
+   * instance gets added.
+   *
+   * @return		the view
+   */
+  public Instances window() {
+    return new InstancesView(m_Data, slots());
+  }
+
+  /**
+   * Returns a copy of the current window, from oldest to newest.
+   *
+   * @return		the copy
+   */
+  public Instances windowCopy() {
+    Instances	result;
+    int		i;
+
+    result = new Instances(m_Data, m_Size);
+    for (i = 0; i < m_Size; i++)
+      result.add(new DenseInstance(get(i).weight(), get(i).toDoubleArray()));
+
+    return result;
+  }
+}
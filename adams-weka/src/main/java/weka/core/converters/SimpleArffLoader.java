@@ -15,11 +15,12 @@
 
 /*
  * SimpleArffLoader.java
- * Copyright (C) 2017-2020 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2017-2026 University of Waikato, Hamilton, NZ
  */
 
 package weka.core.converters;
 
+import adams.core.Performance;
 import adams.core.Utils;
 import adams.core.io.FileUtils;
 import adams.data.DateFormatString;
@@ -37,27 +38,32 @@ import weka.core.WeightedInstancesHandler;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Vector;
-import java.util.zip.GZIPInputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
- * A simple ARFF loader, only supports batch loading.
+ * A simple ARFF loader, supports batch and incremental loading. In batch
+ * mode, the data section can be parsed in parallel chunks (unless the data
+ * contains string or date attributes). Files can be gzip or zstd compressed
+ * (the latter requires the adams-compress module).
  *
  * @author FracPete (fracpete at waikato dot ac dot nz)
  */
 public class SimpleArffLoader
   extends AbstractFileLoader
-  implements WeightedInstancesHandler, OptionHandler {
+  implements IncrementalConverter, WeightedInstancesHandler, OptionHandler {
 
   private static final long serialVersionUID = 8692708185900983930L;
 
@@ -67,12 +73,27 @@ public class SimpleArffLoader
 
   public static final String KEYWORD_DATA = "@data";
 
-  /** the currently loaded data. */
-  protected Instances m_Data;
+  /** the default number of lines per chunk for parallel parsing. */
+  public static final int DEFAULT_CHUNK_SIZE = 5000;
 
   /** whether to force compression. */
   protected boolean m_ForceCompression;
 
+  /** the number of threads to use for parsing. */
+  protected int m_NumThreads = 1;
+
+  /** the number of lines per chunk for parallel parsing. */
+  protected int m_ChunkSize = DEFAULT_CHUNK_SIZE;
+
+  /** the structure of the data. */
+  protected Instances m_Structure;
+
+  /** the reader positioned at the data section. */
+  protected transient BufferedReader m_Reader;
+
+  /** the number of lines read so far. */
+  protected int m_LineIndex;
+
   /**
    * Initializes the loader.
    */
@@ -87,7 +108,68 @@ public class SimpleArffLoader
    * @return		the description
    */
   public String globalInfo() {
-    return "Simple ARFF loading functionality of ADAMS. No incremental loading possible. Does not support relational attributes.";
+    return
+      "Simple ARFF loading functionality of ADAMS. Does not support relational attributes.\n"
+	+ "Supports gzip and zstd (requires adams-compress) compressed files.\n"
+	+ "In batch mode, the data can be parsed in parallel chunks, unless it "
+	+ "contains string or date attributes.";
+  }
+
+  /**
+   * Sets the number of threads to use for parsing the data in batch mode.
+   *
+   * @param value the number of threads
+   */
+  public void setNumThreads(int value) {
+    m_NumThreads = value;
+  }
+
+  /**
+   * Returns the number of threads to use for parsing the data in batch mode.
+   *
+   * @return the number of threads
+   */
+  public int getNumThreads() {
+    return m_NumThreads;
+  }
+
+  /**
+   * Tip text suitable for displaying int the GUI
+   *
+   * @return a description of this property as a String
+   */
+  public String numThreadsTipText() {
+    return "The number of threads for parsing the data in batch mode; " + Performance.getNumThreadsHelp();
+  }
+
+  /**
+   * Sets the number of lines per chunk when parsing in parallel.
+   *
+   * @param value the number of lines
+   */
+  public void setChunkSize(int value) {
+    if (value > 0)
+      m_ChunkSize = value;
+    else
+      System.err.println("Chunk size must be at least 1, provided: " + value);
+  }
+
+  /**
+   * Returns the number of lines per chunk when parsing in parallel.
+   *
+   * @return the number of lines
+   */
+  public int getChunkSize() {
+    return m_ChunkSize;
+  }
+
+  /**
+   * Tip text suitable for displaying int the GUI
+   *
+   * @return a description of this property as a String
+   */
+  public String chunkSizeTipText() {
+    return "The number of lines per chunk when parsing the data in parallel.";
   }
 
   /**
@@ -126,6 +208,8 @@ public class SimpleArffLoader
   public Enumeration<Option> listOptions() {
     Vector<Option> result = new Vector<>();
     result.add(new Option("\tTreat file as gzip-compressed.", "force-compression", 0, "-force-compression"));
+    result.add(new Option("\tThe number of threads for parsing the data in batch mode.\n\t(default: 1)", "num-threads", 1, "-num-threads <int>"));
+    result.add(new Option("\tThe number of lines per chunk for parallel parsing.\n\t(default: " + DEFAULT_CHUNK_SIZE + ")", "chunk-size", 1, "-chunk-size <int>"));
     return result.elements();
   }
 
@@ -139,6 +223,10 @@ public class SimpleArffLoader
     List<String> result = new ArrayList<>();
     if (getForceCompression())
       result.add("-force-compression");
+    result.add("-num-threads");
+    result.add("" + getNumThreads());
+    result.add("-chunk-size");
+    result.add("" + getChunkSize());
     return result.toArray(new String[result.size()]);
   }
 
@@ -152,7 +240,21 @@ public class SimpleArffLoader
    */
   @Override
   public void setOptions(String[] options) throws Exception {
+    String	tmpStr;
+
     setForceCompression(weka.core.Utils.getFlag("force-compression", options));
+
+    tmpStr = weka.core.Utils.getOption("num-threads", options);
+    if (tmpStr.length() > 0)
+      setNumThreads(Integer.parseInt(tmpStr));
+    else
+      setNumThreads(1);
+
+    tmpStr = weka.core.Utils.getOption("chunk-size", options);
+    if (tmpStr.length() > 0)
+      setChunkSize(Integer.parseInt(tmpStr));
+    else
+      setChunkSize(DEFAULT_CHUNK_SIZE);
   }
 
   /**
@@ -172,7 +274,7 @@ public class SimpleArffLoader
    */
   @Override
   public String[] getFileExtensions() {
-    return new String[]{".arff", ".arff.gz"};
+    return new String[]{".arff", ".arff.gz", ".arff.zst"};
   }
 
   /**
@@ -191,7 +293,19 @@ public class SimpleArffLoader
   @Override
   public void reset() throws IOException {
     super.reset();
-    m_Data = null;
+    m_Structure = null;
+    m_LineIndex = 0;
+    closeReader();
+  }
+
+  /**
+   * Closes the reader, if necessary.
+   */
+  protected void closeReader() {
+    if (m_Reader != null) {
+      FileUtils.closeQuietly(m_Reader);
+      m_Reader = null;
+    }
   }
 
   /**
@@ -552,83 +666,218 @@ public class SimpleArffLoader
   }
 
   /**
-   * Performs the actual reading.
+   * Parses a single data line.
+   *
+   * @param header	the dataset header
+   * @param line	the trimmed, non-empty line to parse
+   * @return		the parsed instance
+   * @throws Exception	if parsing fails
+   */
+  protected Instance parseLine(Instances header, String line) throws Exception {
+    if (line.startsWith("{"))
+      return parseSparse(header, line);
+    else
+      return parseDense(header, line);
+  }
+
+  /**
+   * Reads the next data line, skipping empty lines and comments.
+   *
+   * @param reader	the reader to read from
+   * @return		the trimmed line, null if no more lines
+   * @throws IOException	if reading fails
+   */
+  protected String nextDataLine(BufferedReader reader) throws IOException {
+    String	line;
+
+    while ((line = reader.readLine()) != null) {
+      m_LineIndex++;
+      line = line.trim();
+      if (line.isEmpty())
+	continue;
+      if (line.startsWith("%"))
+	continue;
+      return line;
+    }
+
+    return null;
+  }
+
+  /**
+   * Reads the header, leaving the reader positioned at the start of the data
+   * section.
    *
    * @param reader	the reader to read from
-   * @return		the spreadsheet or null in case of an error
+   * @return		the structure
+   * @throws Exception	if reading fails or no data section present
    */
-  protected Instances read(BufferedReader reader) {
-    Instances 			result;
+  protected Instances readHeader(BufferedReader reader) throws Exception {
     String			line;
     String			lower;
-    boolean			header;
-    int 			lineIndex;
     ArrayList<Attribute>	atts;
     String			relName;
-    Attribute			att;
-    Instance			inst;
 
-    result = null;
+    atts    = new ArrayList<>();
+    relName = m_sourceFile.getName();
+    while ((line = nextDataLine(reader)) != null) {
+      lower = line.toLowerCase();
+      if (lower.startsWith(KEYWORD_RELATION)) {
+	relName = line.substring(KEYWORD_RELATION.length()).trim();
+	relName = Utils.unquote(relName);
+      }
+      else if (lower.startsWith(KEYWORD_ATTRIBUTE)) {
+	atts.add(createAttribute(line));
+      }
+      else if (lower.startsWith(KEYWORD_DATA)) {
+	return new Instances(relName, atts, 0);
+      }
+    }
+
+    throw new IOException("No " + KEYWORD_DATA + " section found!");
+  }
+
+  /**
+   * Returns whether the data can be parsed in parallel. String attributes
+   * (shared string pool) and date attributes (date format) cannot be
+   * parsed concurrently.
+   *
+   * @param header	the header to check
+   * @return		true if parallel parsing is possible
+   */
+  protected boolean canParseInParallel(Instances header) {
+    return !header.checkForStringAttributes() && !header.checkForAttributeType(Attribute.DATE);
+  }
 
-    lineIndex = 0;
-    header    = true;
-    atts      = new ArrayList<>();
-    relName   = m_sourceFile.getName();
+  /**
+   * Parses the chunk of lines.
+   *
+   * @param header	the header to use
+   * @param lines	the lines to parse
+   * @return		the instances
+   * @throws Exception	if parsing fails
+   */
+  protected List<Instance> parseChunk(Instances header, List<String> lines) throws Exception {
+    List<Instance>	result;
+
+    result = new ArrayList<>(lines.size());
+    for (String line: lines) {
+      try {
+	result.add(parseLine(header, line));
+      }
+      catch (Exception e) {
+	throw new IllegalStateException("Failed to parse line: " + line, e);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Reads the data section.
+   *
+   * @param reader	the reader positioned at the data section
+   * @param header	the structure of the data
+   * @return		the data
+   * @throws Exception	if reading fails
+   */
+  protected Instances readData(BufferedReader reader, final Instances header) throws Exception {
+    Instances				result;
+    String				line;
+    int					numThreads;
+    ExecutorService			executor;
+    Deque<Future<List<Instance>>>	pending;
+    List<String>			chunk;
+
+    result     = new Instances(header, 0);
+    numThreads = Performance.determineNumThreads(m_NumThreads);
+
+    // sequential
+    if ((numThreads <= 1) || !canParseInParallel(header)) {
+      while ((line = nextDataLine(reader)) != null)
+	result.add(parseLine(result, line));
+      return result;
+    }
+
+    // parallel, keeping the order of the chunks
+    executor = Executors.newFixedThreadPool(numThreads);
+    pending  = new ArrayDeque<>();
     try {
-      while ((line = reader.readLine()) != null) {
-	lineIndex++;
-
-	line = line.trim();
-	if (line.isEmpty())
-	  continue;
-	if (line.startsWith("%"))
-	  continue;
-
-	if (header) {
-	  lower = line.toLowerCase();
-	  if (lower.startsWith(KEYWORD_RELATION)) {
-	    relName = line.substring(KEYWORD_RELATION.length()).trim();
-	    relName = Utils.unquote(relName);
-	  }
-	  else if (lower.startsWith(KEYWORD_ATTRIBUTE)) {
-	    att = createAttribute(line);
-	    atts.add(att);
-	  }
-	  else if (lower.startsWith(KEYWORD_DATA)) {
-	    header = false;
-	    result = new Instances(relName, atts, 0);
-	  }
-	}
-	else if (line.startsWith("{")) {
-	  inst = parseSparse(result, line);
-	  result.add(inst);
+      chunk = new ArrayList<>(m_ChunkSize);
+      while (true) {
+	line = nextDataLine(reader);
+	if (line != null)
+	  chunk.add(line);
+	if ((chunk.size() == m_ChunkSize) || ((line == null) && !chunk.isEmpty())) {
+	  final List<String> lines = chunk;
+	  pending.add(executor.submit(new Callable<List<Instance>>() {
+	    @Override
+	    public List<Instance> call() throws Exception {
+	      return parseChunk(header, lines);
+	    }
+	  }));
+	  chunk = new ArrayList<>(m_ChunkSize);
 	}
-	else {
-	  inst = parseDense(result, line);
-	  result.add(inst);
+	// limit the number of chunks in memory
+	while ((pending.size() > numThreads * 2) || ((line == null) && !pending.isEmpty())) {
+	  for (Instance inst: pending.removeFirst().get())
+	    result.add(inst);
 	}
+	if (line == null)
+	  break;
       }
     }
-    catch (Exception e) {
-      System.err.println("Failed to read ARFF data from reader (line #" + (lineIndex +1) + ")!");
-      e.printStackTrace();
-      result = null;
+    finally {
+      executor.shutdownNow();
     }
 
     return result;
   }
 
   /**
-   * Returns the structure of the dataset.
+   * Checks the source file.
+   *
+   * @throws IOException	if file missing or directory
+   */
+  protected void checkSourceFile() throws IOException {
+    if (m_sourceFile == null)
+      throw new IOException("No source file set!");
+    if (!m_sourceFile.exists())
+      throw new IOException("File does not exist: " + m_sourceFile);
+    if (m_sourceFile.isDirectory())
+      throw new IOException("File points to directory: " + m_sourceFile);
+  }
+
+  /**
+   * Opens the file and reads the header, if necessary.
+   *
+   * @throws IOException	if failed to read
+   */
+  protected void initStructure() throws IOException {
+    if (m_Structure != null)
+      return;
+
+    checkSourceFile();
+    m_LineIndex = 0;
+    m_Reader    = SimpleArffStreams.openReader(m_sourceFile, m_ForceCompression, SimpleArffStreams.DEFAULT_BUFFER_SIZE);
+    try {
+      m_Structure = readHeader(m_Reader);
+    }
+    catch (Exception e) {
+      closeReader();
+      throw new IOException("Failed to read header (line #" + m_LineIndex + "): " + m_sourceFile, e);
+    }
+  }
+
+  /**
+   * Returns the structure of the dataset. Only reads the header.
    *
    * @return		the structure
    * @throws IOException	if failed to read
    */
   @Override
   public Instances getStructure() throws IOException {
-    if (m_Data == null)
-      return new Instances(getDataSet(), 0);
-    return new Instances(m_Data, 0);
+    initStructure();
+    return new Instances(m_Structure, 0);
   }
 
   /**
@@ -640,60 +889,68 @@ public class SimpleArffLoader
   @Override
   public Instances getDataSet() throws IOException {
     Instances		result;
-    FileReader		freader;
-    BufferedReader	breader;
-    FileInputStream	fis;
-    GZIPInputStream	gis;
 
-    if (m_Data != null)
-      return m_Data;
+    if (getRetrieval() == INCREMENTAL)
+      throw new IOException("Cannot mix getting instances in both incremental and batch modes");
+    setRetrieval(BATCH);
 
-    if (!m_sourceFile.exists())
-      throw new IOException("File does not exist: " + m_sourceFile);
-    if (m_sourceFile.isDirectory())
-      throw new IOException("File points to directory: " + m_sourceFile);
-
-    freader = null;
-    breader = null;
-    gis     = null;
-    fis     = null;
     try {
-      if (m_sourceFile.getName().endsWith(".gz") || m_ForceCompression) {
-	fis     = new FileInputStream(m_sourceFile);
-	gis     = new GZIPInputStream(fis);
-	breader = new BufferedReader(new InputStreamReader(gis));
-      }
-      else {
-        freader = new FileReader(m_sourceFile.getAbsolutePath());
-        breader = new BufferedReader(freader);
-      }
-      result  = read(breader);
+      initStructure();
+      result = readData(m_Reader, m_Structure);
     }
     catch (Exception e) {
-      System.err.println("Failed to read: " + m_sourceFile);
+      System.err.println("Failed to read (line #" + m_LineIndex + "): " + m_sourceFile);
       e.printStackTrace();
       result = null;
     }
     finally {
-      FileUtils.closeQuietly(breader);
-      FileUtils.closeQuietly(freader);
-      FileUtils.closeQuietly(gis);
-      FileUtils.closeQuietly(fis);
+      // the reader is exhausted, next call has to start from scratch
+      closeReader();
+      m_Structure = null;
     }
 
     return result;
   }
 
   /**
-   * Not supported.
+   * Reads the next instance from the file.
    *
    * @param structure	the structure
-   * @return		the instance
-   * @throws IOException	always
+   * @return		the next instance, null if no more available
+   * @throws IOException	if reading fails
    */
   @Override
   public Instance getNextInstance(Instances structure) throws IOException {
-    throw new IOException("Incremental mode not supported!");
+    String	line;
+    Instance	result;
+
+    if (getRetrieval() == BATCH)
+      throw new IOException("Cannot mix getting instances in both incremental and batch modes");
+    setRetrieval(INCREMENTAL);
+
+    initStructure();
+    if (m_Reader == null)
+      return null;
+
+    try {
+      line = nextDataLine(m_Reader);
+      if (line == null) {
+	closeReader();
+	return null;
+      }
+      result = parseLine(m_Structure, line);
+      result.setDataset(structure);
+    }
+    catch (IOException e) {
+      closeReader();
+      throw e;
+    }
+    catch (Exception e) {
+      closeReader();
+      throw new IOException("Failed to parse line #" + m_LineIndex + ": " + m_sourceFile, e);
+    }
+
+    return result;
   }
 
   /**
@@ -15,15 +15,18 @@
 
 /*
  * SimpleArffSaver.java
- * Copyright (C) 2017-2018 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2017-2026 University of Waikato, Hamilton, New Zealand
  *
  */
 
 package weka.core.converters;
 
+import adams.core.Performance;
 import adams.core.io.FileUtils;
+import weka.core.Attribute;
 import weka.core.Capabilities;
 import weka.core.Capabilities.Capability;
+import weka.core.Instance;
 import weka.core.Instances;
 import weka.core.Option;
 import weka.core.RevisionUtils;
@@ -32,17 +35,22 @@ import weka.core.WeightedInstancesHandler;
 
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Enumeration;
 import java.util.Vector;
-import java.util.zip.GZIPOutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  <!-- globalinfo-start -->
- * Writes the Instances to an ARFF file in batch mode.
+ * Writes the Instances to an ARFF file in batch or incremental mode.<br>
+ * Supports gzip and zstd (requires adams-compress) compression, based on the file extension.<br>
+ * In batch mode, the rows can be formatted in parallel blocks.
  * <br><br>
  <!-- globalinfo-end -->
  *
@@ -59,6 +67,14 @@ import java.util.zip.GZIPOutputStream;
  *  The maximum number of digits to print after the decimal
  *  place for numeric values (default: 6)</pre>
  * 
+ * <pre> -num-threads &lt;int&gt;
+ *  The number of threads for formatting the rows in batch mode.
+ *  (default: 1)</pre>
+ * 
+ * <pre> -block-size &lt;int&gt;
+ *  The number of rows per block to format and write.
+ *  (default: 5000)</pre>
+ * 
  <!-- options-end -->
  *
  * @author FracPete (fracpete at waikato dot ac dot nz)
@@ -66,7 +82,7 @@ import java.util.zip.GZIPOutputStream;
  */
 public class SimpleArffSaver
   extends AbstractFileSaver
-  implements BatchConverter, WeightedInstancesHandler {
+  implements BatchConverter, IncrementalConverter, WeightedInstancesHandler {
 
   /** for serialization */
   private static final long serialVersionUID = -6155802217430401683L;
@@ -74,12 +90,24 @@ public class SimpleArffSaver
   /** the default number of decimal places. */
   public final static int DEFAULT_MAX_DECIMAL_PLACES = 6;
 
+  /** the default number of rows per block. */
+  public final static int DEFAULT_BLOCK_SIZE = 5000;
+
   /** the file to write to. */
   protected File m_OutputFile;
 
   /** Max number of decimal places for numeric values */
   protected int m_MaxDecimalPlaces = DEFAULT_MAX_DECIMAL_PLACES;
 
+  /** the number of threads to use for formatting. */
+  protected int m_NumThreads = 1;
+
+  /** the number of rows per block. */
+  protected int m_BlockSize = DEFAULT_BLOCK_SIZE;
+
+  /** the writer for incremental mode. */
+  protected transient BufferedWriter m_IncrementalWriter;
+
   /**
    * Constructor
    */
@@ -95,7 +123,10 @@ public class SimpleArffSaver
    * 			displaying in the explorer/experimenter gui
    */
   public String globalInfo() {
-    return "Writes the Instances to an ARFF file in batch mode.";
+    return
+      "Writes the Instances to an ARFF file in batch or incremental mode.\n"
+	+ "Supports gzip and zstd (requires adams-compress) compression, based on the file extension.\n"
+	+ "In batch mode, the rows can be formatted in parallel blocks.";
   }
 
   /**
@@ -118,6 +149,16 @@ public class SimpleArffSaver
 	+ "\tplace for numeric values (default: " + DEFAULT_MAX_DECIMAL_PLACES + ")",
       "decimal", 1, "-decimal <num>"));
 
+    result.addElement(new Option(
+      "\tThe number of threads for formatting the rows in batch mode.\n"
+	+ "\t(default: 1)",
+      "num-threads", 1, "-num-threads <int>"));
+
+    result.addElement(new Option(
+      "\tThe number of rows per block to format and write.\n"
+	+ "\t(default: " + DEFAULT_BLOCK_SIZE + ")",
+      "block-size", 1, "-block-size <int>"));
+
     return result.elements();
   }
 
@@ -127,6 +168,8 @@ public class SimpleArffSaver
 
     m_OutputFile       = null;
     m_MaxDecimalPlaces = DEFAULT_MAX_DECIMAL_PLACES;
+    m_NumThreads       = 1;
+    m_BlockSize        = DEFAULT_BLOCK_SIZE;
   }
 
   /**
@@ -145,6 +188,12 @@ public class SimpleArffSaver
     result.add("-decimal");
     result.add("" + getMaxDecimalPlaces());
 
+    result.add("-num-threads");
+    result.add("" + getNumThreads());
+
+    result.add("-block-size");
+    result.add("" + getBlockSize());
+
     options = super.getOptions();
     for (i = 0; i < options.length; i++)
       result.add(options[i]);
@@ -168,6 +217,18 @@ public class SimpleArffSaver
     else
       setMaxDecimalPlaces(DEFAULT_MAX_DECIMAL_PLACES);
 
+    tmpStr = Utils.getOption("num-threads", options);
+    if (tmpStr.length() > 0)
+      setNumThreads(Integer.parseInt(tmpStr));
+    else
+      setNumThreads(1);
+
+    tmpStr = Utils.getOption("block-size", options);
+    if (tmpStr.length() > 0)
+      setBlockSize(Integer.parseInt(tmpStr));
+    else
+      setBlockSize(DEFAULT_BLOCK_SIZE);
+
     super.setOptions(options);
   }
 
@@ -200,6 +261,65 @@ public class SimpleArffSaver
       + "point for numeric values";
   }
 
+  /**
+   * Sets the number of threads to use for formatting the rows in batch mode.
+   *
+   * @param value 	the number of threads
+   */
+  public void setNumThreads(int value) {
+    m_NumThreads = value;
+  }
+
+  /**
+   * Returns the number of threads to use for formatting the rows in batch mode.
+   *
+   * @return 		the number of threads
+   */
+  public int getNumThreads() {
+    return m_NumThreads;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return tip text for this property suitable for displaying in the
+   *         explorer/experimenter gui
+   */
+  public String numThreadsTipText() {
+    return "The number of threads for formatting the rows in batch mode; " + Performance.getNumThreadsHelp();
+  }
+
+  /**
+   * Sets the number of rows per block to format and write.
+   *
+   * @param value 	the number of rows
+   */
+  public void setBlockSize(int value) {
+    if (value > 0)
+      m_BlockSize = value;
+    else
+      System.err.println("Block size must be at least 1, provided: " + value);
+  }
+
+  /**
+   * Returns the number of rows per block to format and write.
+   *
+   * @return 		the number of rows
+   */
+  public int getBlockSize() {
+    return m_BlockSize;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return tip text for this property suitable for displaying in the
+   *         explorer/experimenter gui
+   */
+  public String blockSizeTipText() {
+    return "The number of rows per block to format and write.";
+  }
+
   /**
    * Returns a description of the file type.
    *
@@ -217,7 +337,7 @@ public class SimpleArffSaver
    */
   @Override
   public String[] getFileExtensions() {
-    return new String[]{".arff", ".arff.gz"};
+    return new String[]{".arff", ".arff.gz", ".arff.zst"};
   }
 
   /**
@@ -264,6 +384,100 @@ public class SimpleArffSaver
     throw new IOException("Writing to an outputstream not supported");
   }
 
+  /**
+   * Writes the header of the dataset.
+   *
+   * @param writer	the writer to use
+   * @param data	the dataset to write the header for
+   * @throws IOException	if writing fails
+   */
+  protected void writeHeader(BufferedWriter writer, Instances data) throws IOException {
+    int		i;
+
+    writer.write(Instances.ARFF_RELATION);
+    writer.write(" ");
+    writer.write(Utils.quote(data.relationName()));
+    writer.write("\n\n");
+
+    for (i = 0; i < data.numAttributes(); i++) {
+      writer.write(data.attribute(i).toString());
+      writer.write("\n");
+    }
+    writer.write("\n");
+
+    writer.write(Instances.ARFF_DATA);
+    writer.write("\n");
+  }
+
+  /**
+   * Formats the specified block of rows.
+   *
+   * @param data	the dataset to format
+   * @param from	the first row (incl)
+   * @param to		the last row (excl)
+   * @return		the formatted rows
+   */
+  protected String formatBlock(Instances data, int from, int to) {
+    StringBuilder	result;
+    int			i;
+
+    result = new StringBuilder((to - from) * 16 * data.numAttributes());
+    for (i = from; i < to; i++) {
+      result.append(data.instance(i).toStringMaxDecimalDigits(m_MaxDecimalPlaces));
+      result.append("\n");
+    }
+
+    return result.toString();
+  }
+
+  /**
+   * Writes the rows of the dataset in blocks. If more than one thread is
+   * to be used, the blocks get formatted in parallel, but written in order.
+   *
+   * @param writer	the writer to use
+   * @param data	the dataset to write
+   * @throws Exception	if formatting or writing fails
+   */
+  protected void writeRows(BufferedWriter writer, final Instances data) throws Exception {
+    int				numThreads;
+    int				i;
+    ExecutorService		executor;
+    Deque<Future<String>>	pending;
+
+    numThreads = Performance.determineNumThreads(m_NumThreads);
+
+    // sequential (date formatting is not thread-safe)
+    if ((numThreads <= 1) || data.checkForAttributeType(Attribute.DATE)) {
+      for (i = 0; i < data.numInstances(); i += m_BlockSize)
+	writer.write(formatBlock(data, i, Math.min(i + m_BlockSize, data.numInstances())));
+      return;
+    }
+
+    // parallel, keeping the order of the blocks
+    executor = Executors.newFixedThreadPool(numThreads);
+    pending  = new ArrayDeque<>();
+    try {
+      for (i = 0; i < data.numInstances(); i += m_BlockSize) {
+	final int from = i;
+	final int to   = Math.min(i + m_BlockSize, data.numInstances());
+	pending.add(executor.submit(new Callable<String>() {
+	  @Override
+	  public String call() throws Exception {
+	    return formatBlock(data, from, to);
+	  }
+	}));
+	// limit the number of blocks in memory
+	while (pending.size() > numThreads * 2)
+	  writer.write(pending.removeFirst().get());
+      }
+      while (!pending.isEmpty())
+	writer.write(pending.removeFirst().get());
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
   /**
    * Writes a Batch of instances
    *
@@ -272,12 +486,8 @@ public class SimpleArffSaver
    */
   @Override
   public void writeBatch() throws IOException {
-    FileOutputStream		fos;
-    GZIPOutputStream		gos;
-    OutputStreamWriter		ow;
     BufferedWriter		bw;
     Instances			data;
-    int				i;
 
     if (getInstances() == null)
       throw new IOException("No instances to save!");
@@ -291,52 +501,84 @@ public class SimpleArffSaver
     setRetrieval(BATCH);
     setWriteMode(WRITE);
 
-    fos  = null;
-    gos  = null;
-    ow   = null;
     bw   = null;
     data = getInstances();
     try {
-      fos = new FileOutputStream(m_OutputFile.getAbsoluteFile());
-      if (m_OutputFile.getName().endsWith(".gz")) {
-	gos = new GZIPOutputStream(fos);
-	ow  = new OutputStreamWriter(gos);
-	bw  = new BufferedWriter(ow);
+      bw = SimpleArffStreams.openWriter(m_OutputFile, SimpleArffStreams.DEFAULT_BUFFER_SIZE);
+      writeHeader(bw, data);
+      writeRows(bw, data);
+    }
+    catch (Exception e) {
+      System.err.println("Failed to write data to: " + m_OutputFile);
+      e.printStackTrace();
+    }
+    finally {
+      FileUtils.closeQuietly(bw);
+    }
+  }
+
+  /**
+   * Writes the instance in incremental mode. The header gets written with
+   * the first call, a null instance finishes the file.
+   *
+   * @param inst	the instance to write, null to finish
+   * @throws IOException	if writing fails
+   */
+  @Override
+  public void writeIncremental(Instance inst) throws IOException {
+    int		writeMode;
+
+    if ((getRetrieval() == BATCH) || (getRetrieval() == NONE))
+      throw new IOException("Batch and incremental saving cannot be mixed.");
+
+    if (m_OutputFile == null)
+      throw new IOException("No output file set!");
+
+    writeMode = getWriteMode();
+    if (writeMode == WAIT) {
+      if (getInstances() == null) {
+	setWriteMode(CANCEL);
+	if (inst != null)
+	  System.err.println("Structure (header information) has to be set in advance");
       }
       else {
-	ow  = new OutputStreamWriter(fos);
-	bw  = new BufferedWriter(ow);
+	setWriteMode(STRUCTURE_READY);
       }
+      writeMode = getWriteMode();
+    }
 
-      // header
-      bw.write(Instances.ARFF_RELATION);
-      bw.write(" ");
-      bw.write(Utils.quote(data.relationName()));
-      bw.write("\n\n");
+    if (writeMode == CANCEL) {
+      FileUtils.closeQuietly(m_IncrementalWriter);
+      m_IncrementalWriter = null;
+      cancel();
+      return;
+    }
 
-      for (i = 0; i < data.numAttributes(); i++) {
-	bw.write(data.attribute(i).toString());
-	bw.write("\n");
+    try {
+      if (writeMode == STRUCTURE_READY) {
+	setWriteMode(WRITE);
+	m_IncrementalWriter = SimpleArffStreams.openWriter(m_OutputFile, SimpleArffStreams.DEFAULT_BUFFER_SIZE);
+	writeHeader(m_IncrementalWriter, getInstances());
+	writeMode = getWriteMode();
       }
-      bw.write("\n");
 
-      bw.write(Instances.ARFF_DATA);
-      bw.write("\n");
-
-      for (i = 0; i < data.numInstances(); i++) {
-	bw.write(data.instance(i).toStringMaxDecimalDigits(m_MaxDecimalPlaces));
-	bw.write("\n");
+      if (writeMode == WRITE) {
+	if (inst != null) {
+	  m_IncrementalWriter.write(inst.toStringMaxDecimalDigits(m_MaxDecimalPlaces));
+	  m_IncrementalWriter.write("\n");
+	}
+	else {
+	  m_IncrementalWriter.flush();
+	  FileUtils.closeQuietly(m_IncrementalWriter);
+	  m_IncrementalWriter = null;
+	  resetStructure();
+	}
       }
     }
-    catch (Exception e) {
-      System.err.println("Failed to write data to: " + m_OutputFile);
-      e.printStackTrace();
-    }
-    finally {
-      FileUtils.closeQuietly(bw);
-      FileUtils.closeQuietly(ow);
-      FileUtils.closeQuietly(gos);
-      FileUtils.closeQuietly(fos);
+    catch (IOException e) {
+      FileUtils.closeQuietly(m_IncrementalWriter);
+      m_IncrementalWriter = null;
+      throw e;
     }
   }
 
@@ -0,0 +1,160 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * SimpleArffStreams.java
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package weka.core.converters;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Helper class for opening (compressed) streams for the simple ARFF
+ * loader/saver. Gzip is always available, zstd requires the zstd-jni library
+ * on the classpath (as shipped with the adams-compress module).
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class SimpleArffStreams {
+
+  /** the extension for gzip compressed files. */
+  public final static String EXT_GZIP = ".gz";
+
+  /** the extension for zstd compressed files. */
+  public final static String EXT_ZSTD = ".zst";
+
+  /** the default buffer size in bytes. */
+  public final static int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+  /** the class for zstd input streams. */
+  public final static String ZSTD_INPUT = "com.github.luben.zstd.ZstdInputStream";
+
+  /** the class for zstd output streams. */
+  public final static String ZSTD_OUTPUT = "com.github.luben.zstd.ZstdOutputStream";
+
+  /**
+   * Returns whether the file is zstd compressed, based on its extension.
+   *
+   * @param file	the file to check
+   * @return		true if zstd compressed
+   */
+  public static boolean isZstd(File file) {
+    return file.getName().toLowerCase().endsWith(EXT_ZSTD);
+  }
+
+  /**
+   * Returns whether the file is gzip compressed, based on its extension.
+   *
+   * @param file	the file to check
+   * @return		true if gzip compressed
+   */
+  public static boolean isGzip(File file) {
+    return file.getName().toLowerCase().endsWith(EXT_GZIP);
+  }
+
+  /**
+   * Wraps the stream in the specified zstd stream class.
+   *
+   * @param classname	the stream class
+   * @param streamCls	the class of the stream to wrap
+   * @param stream	the stream to wrap
+   * @return		the wrapped stream
+   * @throws IOException	if zstd is not available or instantiation fails
+   */
+  protected static Object wrapZstd(String classname, Class streamCls, Object stream) throws IOException {
+    Class	cls;
+
+    try {
+      cls = Class.forName(classname);
+    }
+    catch (Exception e) {
+      throw new IOException("zstd support not available (requires adams-compress module)!", e);
+    }
+
+    try {
+      return cls.getConstructor(streamCls).newInstance(stream);
+    }
+    catch (Exception e) {
+      throw new IOException("Failed to instantiate " + classname + "!", e);
+    }
+  }
+
+  /**
+   * Opens a buffered reader for the file, decompressing it if necessary.
+   *
+   * @param file		the file to read
+   * @param forceGzip		whether to treat the file as gzip compressed
+   * @param bufferSize		the buffer size in bytes
+   * @return			the reader
+   * @throws IOException	if opening fails
+   */
+  public static BufferedReader openReader(File file, boolean forceGzip, int bufferSize) throws IOException {
+    InputStream		in;
+
+    in = new FileInputStream(file.getAbsoluteFile());
+    try {
+      if (isZstd(file))
+	in = (InputStream) wrapZstd(ZSTD_INPUT, InputStream.class, in);
+      else if (isGzip(file) || forceGzip)
+	in = new GZIPInputStream(in, 65536);
+    }
+    catch (IOException e) {
+      in.close();
+      throw e;
+    }
+
+    return new BufferedReader(new InputStreamReader(in), bufferSize);
+  }
+
+  /**
+   * Opens a buffered writer for the file, compressing the output if
+   * the file extension suggests it.
+   *
+   * @param file		the file to write to
+   * @param bufferSize		the buffer size in bytes
+   * @return			the writer
+   * @throws IOException	if opening fails
+   */
+  public static BufferedWriter openWriter(File file, int bufferSize) throws IOException {
+    OutputStream	out;
+
+    out = new FileOutputStream(file.getAbsoluteFile());
+    try {
+      if (isZstd(file))
+	out = (OutputStream) wrapZstd(ZSTD_OUTPUT, OutputStream.class, out);
+      else if (isGzip(file))
+	out = new GZIPOutputStream(out, 65536);
+    }
+    catch (IOException e) {
+      out.close();
+      throw e;
+    }
+
+    return new BufferedWriter(new OutputStreamWriter(out), bufferSize);
+  }
+}
@@ -15,7 +15,7 @@
 
 /*
  * MatrixHelper.java
- * Copyright (C) 2016-2018 University of Waikato, Hamilton, NZ
+ * Copyright (C) 2016-2026 University of Waikato, Hamilton, NZ
  */
 
 package weka.core.matrix;
@@ -25,6 +25,9 @@ import weka.core.Instance;
 import weka.core.Instances;
 import weka.core.Utils;
 
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
 /**
  * Some matrix operations.
  *
@@ -32,6 +35,12 @@ import weka.core.Utils;
  */
 public class MatrixHelper {
 
+  /** the block size used by the blocked kernels. */
+  public final static int BLOCK_SIZE = 64;
+
+  /** the minimum number of multiply-adds before kernels run in parallel. */
+  public final static long PARALLEL_THRESHOLD = 1000000L;
+
   /**
    * returns the data as matrix
    *
@@ -302,6 +311,195 @@ public class MatrixHelper {
     }
   }
 
+  /**
+   * Executes the tasks, in parallel if the amount of work is large enough.
+   * Each task writes to its own part of the output, hence the results are
+   * the same regardless of the number of threads.
+   *
+   * @param numTasks	the number of tasks
+   * @param work	the approximate number of multiply-adds overall
+   * @param task	the task to execute for each index
+   */
+  protected static void forEachTask(int numTasks, long work, IntConsumer task) {
+    int		i;
+
+    if ((work < PARALLEL_THRESHOLD) || (numTasks < 2)) {
+      for (i = 0; i < numTasks; i++)
+	task.accept(i);
+    }
+    else {
+      IntStream.range(0, numTasks).parallel().forEach(task);
+    }
+  }
+
+  /**
+   * Computes X'*X, without materializing X'. Accumulates the rows of X into
+   * the upper triangle, processing blocks of result rows in parallel for
+   * large matrices. The summation order is the same as for
+   * {@link Matrix#times(Matrix)}.
+   *
+   * @param X		the matrix (n x m)
+   * @return		the cross-product (m x m)
+   */
+  public static Matrix crossProduct(Matrix X) {
+    final double[][]	x;
+    final double[][]	result;
+    final int		m;
+    final int		n;
+    final int		blocks;
+    int			i;
+    int			j;
+
+    x      = X.getArray();
+    m      = X.getColumnDimension();
+    n      = X.getRowDimension();
+    result = new double[m][m];
+    blocks = (m + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+    forEachTask(blocks, (long) m * m * n / 2, (int ib) -> {
+      int iFrom = ib * BLOCK_SIZE;
+      int iTo = Math.min(m, iFrom + BLOCK_SIZE);
+      for (int r = 0; r < n; r++) {
+	double[] xrow = x[r];
+	for (int ii = iFrom; ii < iTo; ii++) {
+	  double v = xrow[ii];
+	  double[] res = result[ii];
+	  for (int jj = ii; jj < m; jj++)
+	    res[jj] += v * xrow[jj];
+	}
+      }
+    });
+
+    // mirror
+    for (i = 0; i < m; i++) {
+      for (j = i + 1; j < m; j++)
+	result[j][i] = result[i][j];
+    }
+
+    return new Matrix(result, m, m);
+  }
+
+  /**
+   * Computes A'*B, without materializing A'. The summation order is the
+   * same as for {@link Matrix#times(Matrix)}.
+   *
+   * @param A		the first matrix (n x m)
+   * @param B		the second matrix (n x k)
+   * @return		the product (m x k)
+   */
+  public static Matrix transposeTimes(Matrix A, Matrix B) {
+    final double[][]	a;
+    final double[][]	b;
+    final double[][]	result;
+    final int		m;
+    final int		n;
+    final int		k;
+    final int		blocks;
+
+    if (A.getRowDimension() != B.getRowDimension())
+      throw new IllegalArgumentException("Matrix inner dimensions must agree: " + A.getRowDimension() + " != " + B.getRowDimension());
+
+    a      = A.getArray();
+    b      = B.getArray();
+    m      = A.getColumnDimension();
+    n      = A.getRowDimension();
+    k      = B.getColumnDimension();
+    result = new double[m][k];
+    blocks = (m + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+    forEachTask(blocks, (long) m * n * k, (int ib) -> {
+      int iFrom = ib * BLOCK_SIZE;
+      int iTo = Math.min(m, iFrom + BLOCK_SIZE);
+      for (int r = 0; r < n; r++) {
+	double[] arow = a[r];
+	double[] brow = b[r];
+	for (int i = iFrom; i < iTo; i++) {
+	  double v = arow[i];
+	  double[] res = result[i];
+	  for (int c = 0; c < k; c++)
+	    res[c] += v * brow[c];
+	}
+      }
+    });
+
+    return new Matrix(result, m, k);
+  }
+
+  /**
+   * Computes the quadratic form w'*M*w. The summation order is the same as
+   * for w.transpose().times(M).times(w).
+   *
+   * @param M		the square matrix (m x m)
+   * @param w		the column vector (m x 1)
+   * @param buffer	the buffer to use for the intermediate row vector (length m), null to allocate
+   * @return		the result
+   */
+  public static double quadraticForm(Matrix M, Matrix w, double[] buffer) {
+    double[][]	mat;
+    double[][]	vec;
+    double[]	u;
+    double	result;
+    int		m;
+    int		i;
+    int		j;
+
+    mat = M.getArray();
+    vec = w.getArray();
+    m   = M.getRowDimension();
+    u   = (buffer == null) ? new double[m] : buffer;
+    for (j = 0; j < m; j++)
+      u[j] = 0;
+
+    for (i = 0; i < m; i++) {
+      double wi = vec[i][0];
+      double[] row = mat[i];
+      for (j = 0; j < m; j++)
+	u[j] += wi * row[j];
+    }
+
+    result = 0;
+    for (j = 0; j < m; j++)
+      result += u[j] * vec[j][0];
+
+    return result;
+  }
+
+  /**
+   * Performs the in-place rank-1 update M = M - u*v', avoiding the
+   * allocation of the outer product. Rows are updated in parallel for
+   * large matrices.
+   *
+   * @param M		the matrix to update (m x k)
+   * @param u		the column vector (m x 1)
+   * @param v		the column vector (k x 1)
+   */
+  public static void minusOuterInPlace(Matrix M, Matrix u, Matrix v) {
+    final double[][]	mat;
+    final double[]	ud;
+    final double[]	vd;
+    final int		m;
+    final int		k;
+    final int		blocks;
+
+    mat    = M.getArray();
+    m      = M.getRowDimension();
+    k      = M.getColumnDimension();
+    ud     = u.getColumnPackedCopy();
+    vd     = v.getColumnPackedCopy();
+    blocks = (m + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+    forEachTask(blocks, (long) m * k, (int ib) -> {
+      int iFrom = ib * BLOCK_SIZE;
+      int iTo = Math.min(m, iFrom + BLOCK_SIZE);
+      for (int i = iFrom; i < iTo; i++) {
+	double ui = ud[i];
+	double[] row = mat[i];
+	for (int j = 0; j < k; j++)
+	  row[j] -= ui * vd[j];
+      }
+    });
+  }
+
   /**
    * Compares the two matrices.
    *
@@ -15,15 +15,17 @@
 
 /*
  * FFT.java
- * Copyright (C) 2021 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2021-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package weka.filters.unsupervised.attribute;
 
 import JSci.maths.Complex;
 import JSci.maths.FourierMath;
+import adams.core.Performance;
 import adams.data.padding.PaddingHelper;
 import adams.data.padding.PaddingType;
+import adams.data.utils.BatchKernels;
 import weka.core.Attribute;
 import weka.core.Capabilities;
 import weka.core.Capabilities.Capability;
@@ -78,6 +80,10 @@ import java.util.Vector;
  *  Whether to return imaginary or real part is returned.
  *  (default: imaginary)</pre>
  *
+ * <pre> -num-threads &lt;int&gt;
+ *  The number of threads to use for parallel execution; &gt; 0: specific number of cores to use (capped by actual number of cores available, 1 = sequential execution); = 0: number of cores; &lt; 0: number of free cores (eg -2 means 2 free cores; minimum of one core is used)
+ *  (default: 1)</pre>
+ *
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
@@ -99,6 +105,9 @@ public class FFT
   /** whether to return complex or real part of the transformation. */
   protected boolean m_Real;
 
+  /** the number of threads to use for batches. */
+  protected int m_NumThreads = 1;
+
   /**
    * Returns a string describing this classifier.
    *
@@ -152,6 +161,11 @@ public class FFT
 	+ "\t(default: imaginary)",
 	"real", 0, "-real"));
 
+    result.addElement(new Option(
+	"\t" + numThreadsTipText() + "\n"
+	+ "\t(default: 1)",
+	"num-threads", 1, "-num-threads <int>"));
+
     return result.elements();
   }
 
@@ -165,12 +179,20 @@ public class FFT
    * @see    		#reset()
    */
   public void setOptions(String[] options) throws Exception {
+    String	tmpStr;
+
     reset();
 
     setInverseTransform(Utils.getFlag("inverse", options));
 
     setReal(Utils.getFlag("real", options));
 
+    tmpStr = Utils.getOption("num-threads", options);
+    if (tmpStr.length() > 0)
+      setNumThreads(Integer.parseInt(tmpStr));
+    else
+      setNumThreads(1);
+
     super.setOptions(options);
   }
 
@@ -190,6 +212,9 @@ public class FFT
     if (m_Real)
       result.add("-real");
 
+    result.add("-num-threads");
+    result.add("" + getNumThreads());
+
     return result.toArray(new String[0]);
   }
 
@@ -251,6 +276,35 @@ public class FFT
     return "If enabled, the real part instead of imaginary one is returned.";
   }
 
+  /**
+   * Sets the number of threads to use for processing batches.
+   *
+   * @param value 	the number of threads: &gt;0 = specific number (capped by # of CPUs/cores, 1 = sequential execution); 0 = # of CPUs/cores; &lt;0 = # of free CPUs/cores
+   */
+  public void setNumThreads(int value) {
+    m_NumThreads = value;
+    reset();
+  }
+
+  /**
+   * Returns the number of threads to use for processing batches.
+   *
+   * @return 		the number of threads: &gt;0 = specific number (capped by # of CPUs/cores, 1 = sequential execution); 0 = # of CPUs/cores; &lt;0 = # of free CPUs/cores
+   */
+  public int getNumThreads() {
+    return m_NumThreads;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String numThreadsTipText() {
+    return Performance.getNumThreadsHelp();
+  }
+
   /**
    * Returns the Capabilities of this filter. Derived filters have to
    * override this method to enable capabilities.
@@ -320,55 +374,53 @@ public class FFT
   }
 
   /**
-   * processes the given instance (may change the provided instance) and
-   * returns the modified version.
+   * Extracts the attribute values (excluding the class) from the instance
+   * and pads them to the next power of 2.
    *
-   * @param instance    the instance to process
-   * @return            the modified data
-   * @throws Exception  in case the processing goes wrong
+   * @param instance	the instance to get the values from
+   * @return		the padded values
    */
-  protected Instance process(Instance instance) throws Exception {
-    Instance	result;
-    double[]	valuesOld;
-    double[]	values;
-    Complex[]	transformed;
-    boolean	hasClass;
+  protected double[] toRow(Instance instance) {
+    double[]	result;
     int		count;
     int		i;
     int		n;
 
-    hasClass = (instance.classIndex() > -1);
-    count    = instance.numAttributes();
-    if (hasClass)
+    count = instance.numAttributes();
+    if (instance.classIndex() > -1)
       count--;
 
     // get original values
-    valuesOld = new double[count];
-    n         = 0;
+    result = new double[count];
+    n      = 0;
     for (i = 0; i < instance.numAttributes(); i++) {
       if (i == instance.classIndex())
 	continue;
-      valuesOld[n] = instance.value(i);
+      result[n] = instance.value(i);
       n++;
     }
 
     // pad
-    valuesOld = PaddingHelper.padPow2(valuesOld, PaddingType.ZERO);
+    return PaddingHelper.padPow2(result, PaddingType.ZERO);
+  }
 
-    // transform
-    if (m_InverseTransform)
-      transformed = FourierMath.inverseTransform(valuesOld);
-    else
-      transformed = FourierMath.transform(valuesOld);
+  /**
+   * Generates the output instance from the transformed values.
+   *
+   * @param instance	the original instance
+   * @param transformed	the real or imaginary parts
+   * @return		the new instance
+   */
+  protected Instance toInstance(Instance instance, double[] transformed) {
+    Instance	result;
+    double[]	values;
+    boolean	hasClass;
+
+    hasClass = (instance.classIndex() > -1);
 
     // generate output
-    values = new double[valuesOld.length + (hasClass ? 1 : 0)];
-    for (i = 0; i < transformed.length; i++) {
-      if (m_Real)
-	values[i] = transformed[i].real();
-      else
-	values[i] = transformed[i].imag();
-    }
+    values = new double[transformed.length + (hasClass ? 1 : 0)];
+    System.arraycopy(transformed, 0, values, 0, transformed.length);
 
     // add class value
     if (hasClass) {
@@ -387,6 +439,67 @@ public class FFT
     return result;
   }
 
+  /**
+   * processes the given instance (may change the provided instance) and
+   * returns the modified version.
+   *
+   * @param instance    the instance to process
+   * @return            the modified data
+   * @throws Exception  in case the processing goes wrong
+   */
+  protected Instance process(Instance instance) throws Exception {
+    double[]	valuesOld;
+    double[]	values;
+    Complex[]	transformed;
+    int		i;
+
+    valuesOld = toRow(instance);
+
+    // transform
+    if (m_InverseTransform)
+      transformed = FourierMath.inverseTransform(valuesOld);
+    else
+      transformed = FourierMath.transform(valuesOld);
+
+    values = new double[transformed.length];
+    for (i = 0; i < transformed.length; i++) {
+      if (m_Real)
+	values[i] = transformed[i].real();
+      else
+	values[i] = transformed[i].imag();
+    }
+
+    return toInstance(instance, values);
+  }
+
+  /**
+   * Processes the given data (may change the provided dataset) and returns
+   * the modified version. All rows get transformed in one go, using the
+   * specified number of threads.
+   *
+   * @param instances   the data to process
+   * @return            the modified data
+   * @throws Exception  in case the processing goes wrong
+   */
+  @Override
+  protected Instances process(Instances instances) throws Exception {
+    Instances	result;
+    double[][]	rows;
+    double[][]	transformed;
+    int		i;
+
+    rows = new double[instances.numInstances()][];
+    for (i = 0; i < instances.numInstances(); i++)
+      rows[i] = toRow(instances.instance(i));
+    transformed = BatchKernels.fft(rows, m_InverseTransform, m_Real, m_NumThreads);
+
+    result = new Instances(getOutputFormat(), instances.numInstances());
+    for (i = 0; i < instances.numInstances(); i++)
+      result.add(toInstance(instances.instance(i), transformed[i]));
+
+    return result;
+  }
+
   /**
    * Returns the revision string.
    *
@@ -15,7 +15,7 @@
 
 /*
  * FastWavelet.java
- * Copyright (C) 2009-2010 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2009-2026 University of Waikato, Hamilton, New Zealand
  *
  */
 
@@ -26,7 +26,9 @@ import JSci.maths.wavelet.cdf2_4.FastCDF2_4;
 import JSci.maths.wavelet.daubechies2.FastDaubechies2;
 import JSci.maths.wavelet.haar.FastHaar;
 import JSci.maths.wavelet.symmlet8.FastSymmlet8;
+import adams.core.Performance;
 import adams.core.option.OptionUtils;
+import adams.data.utils.BatchKernels;
 import weka.core.Attribute;
 import weka.core.Capabilities;
 import weka.core.Capabilities.Capability;
@@ -96,6 +98,10 @@ import java.util.Vector;
  *  normal space again).
  *  (default: off)</pre>
  *
+ * <pre> -num-threads &lt;int&gt;
+ *  The number of threads to use for parallel execution; &gt; 0: specific number of cores to use (capped by actual number of cores available, 1 = sequential execution); = 0: number of cores; &lt; 0: number of free cores (eg -2 means 2 free cores; minimum of one core is used)
+ *  (default: 1)</pre>
+ *
  * <pre>
  * Options specific to filter weka.filters.MultiFilter ('-F'):
  * </pre>
@@ -153,6 +159,9 @@ public class FastWavelet
   /** whether to perform inverse transformation. */
   protected boolean m_InverseTransform = false;
 
+  /** the number of threads to use for transforming the rows. */
+  protected int m_NumThreads = 1;
+
   /**
    * default constructor.
    */
@@ -251,6 +260,11 @@ public class FastWavelet
 	+ "\t(default: off)",
 	"inverse", 0, "-inverse"));
 
+    result.addElement(new Option(
+	"\t" + numThreadsTipText() + "\n"
+	+ "\t(default: 1)",
+	"num-threads", 1, "-num-threads <int>"));
+
     if (getFilter() instanceof OptionHandler) {
       result.addElement(new Option(
 	  "",
@@ -299,6 +313,9 @@ public class FastWavelet
     if (getInverseTransform())
       result.add("-inverse");
 
+    result.add("-num-threads");
+    result.add("" + getNumThreads());
+
     return (String[]) result.toArray(new String[result.size()]);
   }
 
@@ -328,6 +345,10 @@ public class FastWavelet
    *  normal space again).
    *  (default: off)</pre>
    *
+   * <pre> -num-threads &lt;int&gt;
+   *  The number of threads to use for parallel execution; &gt; 0: specific number of cores to use (capped by actual number of cores available, 1 = sequential execution); = 0: number of cores; &lt; 0: number of free cores (eg -2 means 2 free cores; minimum of one core is used)
+   *  (default: 1)</pre>
+   *
    * <pre>
    * Options specific to filter weka.filters.MultiFilter ('-F'):
    * </pre>
@@ -378,6 +399,12 @@ public class FastWavelet
 
     setInverseTransform(Utils.getFlag("inverse", options));
 
+    tmpStr = Utils.getOption("num-threads", options);
+    if (tmpStr.length() != 0)
+      setNumThreads(Integer.parseInt(tmpStr));
+    else
+      setNumThreads(1);
+
     super.setOptions(options);
   }
 
@@ -497,6 +524,35 @@ public class FastWavelet
     return m_InverseTransform;
   }
 
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the explorer/experimenter gui
+   */
+  public String numThreadsTipText() {
+    return Performance.getNumThreadsHelp();
+  }
+
+  /**
+   * Sets the number of threads to use for transforming the rows.
+   *
+   * @param value 	the number of threads: &gt;0 = specific number (capped by # of CPUs/cores, 1 = sequential execution); 0 = # of CPUs/cores; &lt;0 = # of free CPUs/cores
+   */
+  public void setNumThreads(int value) {
+    m_NumThreads = value;
+    reset();
+  }
+
+  /**
+   * Returns the number of threads to use for transforming the rows.
+   *
+   * @return 		the number of threads: &gt;0 = specific number (capped by # of CPUs/cores, 1 = sequential execution); 0 = # of CPUs/cores; &lt;0 = # of free CPUs/cores
+   */
+  public int getNumThreads() {
+    return m_NumThreads;
+  }
+
   /**
    * returns the next bigger number that's a power of 2. If the number is
    * already a power of 2 then this will be returned. The number will be at
@@ -660,6 +716,26 @@ public class FastWavelet
       return pad(new Instances(inputFormat, 0));
   }
 
+  /**
+   * Instantiates the transform for the selected algorithm.
+   *
+   * @return		the transform
+   */
+  protected FWT newFWT() {
+    switch (m_Algorithm) {
+      case ALGORITHM_HAAR:
+	return new FastHaar();
+      case ALGORITHM_CDF2_4:
+	return new FastCDF2_4();
+      case ALGORITHM_DAUBECHIES2:
+	return new FastDaubechies2();
+      case ALGORITHM_SYMMLET8:
+	return new FastSymmlet8();
+      default:
+	throw new IllegalStateException("Unhandled algorithm type: " + m_Algorithm);
+    }
+  }
+
   /**
    * processes the instances using the HAAR/JSci algorithm.
    *
@@ -675,7 +751,8 @@ public class FastWavelet
     double[]	newVal;
     double[]	clsVal;
     Attribute	clsAtt;
-    FWT		fwt;
+    float[][]	rows;
+    int		n;
 
     // prepare data (pad and remove class attribute)
     clsIdx  = instances.classIndex();
@@ -693,36 +770,19 @@ public class FastWavelet
       instances = pad(instances);
     result = new Instances(instances, 0);
 
-    // set up algorithm
-    switch (m_Algorithm) {
-      case ALGORITHM_HAAR:
-	fwt = new FastHaar();
-	break;
-      case ALGORITHM_CDF2_4:
-	fwt = new FastCDF2_4();
-	break;
-      case ALGORITHM_DAUBECHIES2:
-	fwt = new FastDaubechies2();
-	break;
-      case ALGORITHM_SYMMLET8:
-	fwt = new FastSymmlet8();
-	break;
-      default:
-	throw new IllegalStateException("Unhandled algorithm type: " + m_Algorithm);
-    }
-
     // transform data
+    rows = new float[instances.numInstances()][];
     for (i = 0; i < instances.numInstances(); i++) {
-      newVal = instances.instance(i).toDoubleArray();
-      float[] vals = new float[newVal.length];
-      for (int n = 0; n < newVal.length; n++)
-	vals[n] = (float) newVal[n];
-      if (m_InverseTransform)
-	fwt.invTransform(vals);
-      else
-	fwt.transform(vals);
-      for (int n = 0; n < newVal.length; n++)
-	newVal[n] = vals[n];
+      newVal  = instances.instance(i).toDoubleArray();
+      rows[i] = new float[newVal.length];
+      for (n = 0; n < newVal.length; n++)
+	rows[i][n] = (float) newVal[n];
+    }
+    BatchKernels.wavelet(rows, this::newFWT, m_InverseTransform, m_NumThreads);
+    for (i = 0; i < rows.length; i++) {
+      newVal = new double[rows[i].length];
+      for (n = 0; n < newVal.length; n++)
+	newVal[n] = rows[i][n];
       result.add(new DenseInstance(1, newVal));
     }
 
@@ -15,12 +15,14 @@
 
 /**
  * PAA.java
- * Copyright (C) 2010 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2010-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package weka.filters.unsupervised.attribute;
 
+import adams.core.Performance;
 import adams.data.statistics.StatCalc;
+import adams.data.utils.BatchKernels;
 import weka.core.Attribute;
 import weka.core.Capabilities;
 import weka.core.Capabilities.Capability;
@@ -51,6 +53,10 @@ import java.util.Vector;
  *  Only every n-th point will be output (&gt;0).
  *  (default: 1)</pre>
  *
+ * <pre> -num-threads &lt;int&gt;
+ *  The number of threads to use for parallel execution; &gt; 0: specific number of cores to use (capped by actual number of cores available, 1 = sequential execution); = 0: number of cores; &lt; 0: number of free cores (eg -2 means 2 free cores; minimum of one core is used)
+ *  (default: 1)</pre>
+ *
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
@@ -66,6 +72,9 @@ public class PAA
   /** number of windows. */
   protected int m_windows = 80;
 
+  /** the number of threads to use for batches. */
+  protected int m_NumThreads = 1;
+
   /**
    * Returns a string describing this classifier.
    *
@@ -91,6 +100,10 @@ public class PAA
 	+ "\t(default: 80)",
 	"windows", 80, "-windows <int>"));
 
+    result.addElement(new Option(
+	"\t" + numThreadsTipText() + "\n"
+	+ "\t(default: 1)",
+	"num-threads", 1, "-num-threads <int>"));
 
     return result.elements();
   }
@@ -115,6 +128,12 @@ public class PAA
       setWindows(Integer.parseInt(tmpStr));
     else
       setWindows(80);
+
+    tmpStr = Utils.getOption("num-threads", options);
+    if (tmpStr.length() > 0)
+      setNumThreads(Integer.parseInt(tmpStr));
+    else
+      setNumThreads(1);
   }
 
   /**
@@ -130,6 +149,9 @@ public class PAA
     result.add("-windows");
     result.add("" + getWindows());
 
+    result.add("-num-threads");
+    result.add("" + getNumThreads());
+
     return result.toArray(new String[result.size()]);
   }
 
@@ -172,6 +194,35 @@ public class PAA
     return "number of windows for PAA (>0).";
   }
 
+  /**
+   * Sets the number of threads to use for processing batches.
+   *
+   * @param value 	the number of threads: &gt;0 = specific number (capped by # of CPUs/cores, 1 = sequential execution); 0 = # of CPUs/cores; &lt;0 = # of free CPUs/cores
+   */
+  public void setNumThreads(int value) {
+    m_NumThreads = value;
+    reset();
+  }
+
+  /**
+   * Returns the number of threads to use for processing batches.
+   *
+   * @return 		the number of threads: &gt;0 = specific number (capped by # of CPUs/cores, 1 = sequential execution); 0 = # of CPUs/cores; &lt;0 = # of free CPUs/cores
+   */
+  public int getNumThreads() {
+    return m_NumThreads;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String numThreadsTipText() {
+    return Performance.getNumThreadsHelp();
+  }
+
   /**
    * Returns the Capabilities of this filter. Derived filters have to
    * override this method to enable capabilities.
@@ -269,45 +320,50 @@ public class PAA
   }
 
   /**
-   * processes the given instance (may change the provided instance) and
-   * returns the modified version.
+   * Extracts the attribute values (excluding the class) from the instance.
    *
-   * @param instance    the instance to process
-   * @return            the modified data
-   * @throws Exception  in case the processing goes wrong
+   * @param instance	the instance to get the values from
+   * @return		the values
    */
-  protected Instance process(Instance instance) throws Exception {
-    Instance	result;
-    double[]	values;
-    boolean	hasClass;
+  protected double[] toRow(Instance instance) {
+    double[]	result;
     int		count;
+    int		i;
 
     if (getDebug()){
       double[] stats=getMeanStdev(instance);
       System.err.println("Instance mean="+stats[0]+", sd="+stats[1]);
     }
-    hasClass = (instance.classIndex() > -1);
 
-    //valuesOld = instance.toDoubleArray();
-    double[] ivals=new double[instance.numAttributes()-1];
-    count = 0;
-    for (int i=0;i<instance.numAttributes();i++){
-      if (i == instance.classIndex()) {
+    result = new double[instance.numAttributes() - (instance.classIndex() > -1 ? 1 : 0)];
+    count  = 0;
+    for (i = 0; i < instance.numAttributes(); i++) {
+      if (i == instance.classIndex())
 	continue;
-      }
-      ivals[count]=instance.value(i);
+      result[count] = instance.value(i);
       count++;
     }
 
+    return result;
+  }
 
-    double[] paavalues=adams.data.utils.SAXUtils.PAA(ivals, getWindows());
+  /**
+   * Generates the output instance from the approximation.
+   *
+   * @param instance	the original instance
+   * @param paavalues	the approximation
+   * @return		the new instance
+   */
+  protected Instance toInstance(Instance instance, double[] paavalues) {
+    Instance	result;
+    double[]	values;
 
     values    = new double[getOutputFormat().numAttributes()];
     for (int i=0;i<paavalues.length;i++){
       values[i]=paavalues[i];
     }
     // add class value
-    if (hasClass)
+    if (instance.classIndex() > -1)
       values[values.length - 1] = instance.classValue();
 
     // create instance
@@ -319,6 +375,46 @@ public class PAA
     return result;
   }
 
+  /**
+   * processes the given instance (may change the provided instance) and
+   * returns the modified version.
+   *
+   * @param instance    the instance to process
+   * @return            the modified data
+   * @throws Exception  in case the processing goes wrong
+   */
+  protected Instance process(Instance instance) throws Exception {
+    return toInstance(instance, adams.data.utils.SAXUtils.PAA(toRow(instance), getWindows()));
+  }
+
+  /**
+   * Processes the given data (may change the provided dataset) and returns
+   * the modified version. The approximations of all rows get calculated
+   * in one go, using the specified number of threads.
+   *
+   * @param instances   the data to process
+   * @return            the modified data
+   * @throws Exception  in case the processing goes wrong
+   */
+  @Override
+  protected Instances process(Instances instances) throws Exception {
+    Instances	result;
+    double[][]	rows;
+    double[][]	paa;
+    int		i;
+
+    rows = new double[instances.numInstances()][];
+    for (i = 0; i < instances.numInstances(); i++)
+      rows[i] = toRow(instances.instance(i));
+    paa = BatchKernels.PAA(rows, getWindows(), m_NumThreads);
+
+    result = new Instances(getOutputFormat(), instances.numInstances());
+    for (i = 0; i < instances.numInstances(); i++)
+      result.add(toInstance(instances.instance(i), paa[i]));
+
+    return result;
+  }
+
   /**
    * Returns the revision string.
    *
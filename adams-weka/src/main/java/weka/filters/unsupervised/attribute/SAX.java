@@ -15,7 +15,7 @@
 
 /**
  * SAX.java
- * Copyright (C) 2010 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2010-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package weka.filters.unsupervised.attribute;
@@ -35,7 +35,9 @@ import weka.core.Option;
 import weka.core.RevisionUtils;
 import weka.core.Utils;
 import weka.filters.SimpleStreamFilter;
+import adams.core.Performance;
 import adams.data.statistics.StatCalc;
+import adams.data.utils.BatchKernels;
 
 /**
  <!-- globalinfo-start -->
@@ -50,6 +52,10 @@ import adams.data.statistics.StatCalc;
  *  Only every n-th point will be output (&gt;0).
  *  (default: 1)</pre>
  *
+ * <pre> -num-threads &lt;int&gt;
+ *  The number of threads to use for parallel execution; &gt; 0: specific number of cores to use (capped by actual number of cores available, 1 = sequential execution); = 0: number of cores; &lt; 0: number of free cores (eg -2 means 2 free cores; minimum of one core is used)
+ *  (default: 1)</pre>
+ *
  <!-- options-end -->
  *
  * @author  fracpete (fracpete at waikato dot ac dot nz)
@@ -72,6 +78,9 @@ public class SAX
   
   /** breakpoints. */
   protected double[] m_bps=null;
+
+  /** the number of threads to use for batches. */
+  protected int m_NumThreads = 1;
   
   /**
    * Returns a string describing this classifier.
@@ -107,7 +116,12 @@ public class SAX
 	"\tTrue: output nominal attributes \n"
 	+ "\tFalse: output numeric.",
 	"D", 0, "-D"));
-    
+
+    result.addElement(new Option(
+	"\t" + numThreadsTipText() + "\n"
+	+ "\t(default: 1)",
+	"num-threads", 1, "-num-threads <int>"));
+
     return result.elements();
   }
 
@@ -138,6 +152,12 @@ public class SAX
       setWindows(Integer.parseInt(tmpStr));
     else
       setWindows(80);
+
+    tmpStr = Utils.getOption("num-threads", options);
+    if (tmpStr.length() > 0)
+      setNumThreads(Integer.parseInt(tmpStr));
+    else
+      setNumThreads(1);
   }
 
   /**
@@ -160,6 +180,9 @@ public class SAX
     result.add("-windows");
     result.add("" + getWindows());
 
+    result.add("-num-threads");
+    result.add("" + getNumThreads());
+
     return result.toArray(new String[result.size()]);
   }
 
@@ -262,6 +285,44 @@ public class SAX
     return "number of windows for PAA (>0).";
   }
 
+  /**
+   * Sets the number of threads to use for processing batches.
+   *
+   * @param value 	the number of threads: &gt;0 = specific number (capped by # of CPUs/cores, 1 = sequential execution); 0 = # of CPUs/cores; &lt;0 = # of free CPUs/cores
+   */
+  public void setNumThreads(int value) {
+    m_NumThreads = value;
+    reset();
+  }
+
+  /**
+   * Returns the number of threads to use for processing batches.
+   *
+   * @return 		the number of threads: &gt;0 = specific number (capped by # of CPUs/cores, 1 = sequential execution); 0 = # of CPUs/cores; &lt;0 = # of free CPUs/cores
+   */
+  public int getNumThreads() {
+    return m_NumThreads;
+  }
+
+  /**
+   * Returns the tip text for this property.
+   *
+   * @return 		tip text for this property suitable for
+   * 			displaying in the GUI or for listing the options.
+   */
+  public String numThreadsTipText() {
+    return Performance.getNumThreadsHelp();
+  }
+
+  /**
+   * Resets the filter, i.e., the breakpoints get recalculated.
+   */
+  @Override
+  protected void reset() {
+    super.reset();
+    m_bps = null;
+  }
+
   /**
    * Returns the Capabilities of this filter. Derived filters have to
    * override this method to enable capabilities.
@@ -369,47 +430,61 @@ public class SAX
   }
   
   /**
-   * processes the given instance (may change the provided instance) and
-   * returns the modified version.
+   * Extracts the attribute values (excluding the class) from the instance.
    *
-   * @param instance    the instance to process
-   * @return            the modified data
-   * @throws Exception  in case the processing goes wrong
+   * @param instance	the instance to get the values from
+   * @return		the values
    */
-  protected Instance process(Instance instance) throws Exception {
-    Instance	result;
-    double[]	values;
-    boolean	hasClass;
+  protected double[] toRow(Instance instance) {
+    double[]	result;
     int		count;
+    int		i;
 
     if (getDebug()){
       double[] stats=getMeanStdev(instance);
       System.err.println("Instance mean="+stats[0]+", sd="+stats[1]);
     }
-    hasClass = (instance.classIndex() > -1);
 
-    //valuesOld = instance.toDoubleArray();
-    double[] ivals=new double[instance.numAttributes()-1];
-    count = 0;
-    for (int i=0;i<instance.numAttributes();i++){
-      if (i == instance.classIndex()) {
+    result = new double[instance.numAttributes() - (instance.classIndex() > -1 ? 1 : 0)];
+    count  = 0;
+    for (i = 0; i < instance.numAttributes(); i++) {
+      if (i == instance.classIndex())
 	continue;
-      }
-      ivals[count]=instance.value(i);
+      result[count] = instance.value(i);
       count++;
     }
-    
-    if (m_bps == null){
-      m_bps=adams.data.utils.SAXUtils.calcBreakPoints(getBins());
-    }
-    double[] saxvalues=adams.data.utils.SAXUtils.toSAX(ivals, getWindows(), m_bps);
-    
+
+    return result;
+  }
+
+  /**
+   * Returns the breakpoints, calculates them if necessary.
+   *
+   * @return		the breakpoints
+   */
+  protected double[] getBreakPoints() {
+    if (m_bps == null)
+      m_bps = adams.data.utils.SAXUtils.calcBreakPoints(getBins());
+    return m_bps;
+  }
+
+  /**
+   * Generates the output instance from the SAX labels.
+   *
+   * @param instance	the original instance
+   * @param saxvalues	the labels
+   * @return		the new instance
+   */
+  protected Instance toInstance(Instance instance, double[] saxvalues) {
+    Instance	result;
+    double[]	values;
+
     values    = new double[getOutputFormat().numAttributes()];
     for (int i=0;i<saxvalues.length;i++){
       values[i]=saxvalues[i];
     }
     // add class value
-    if (hasClass)
+    if (instance.classIndex() > -1)
       values[values.length - 1] = instance.classValue();
 
     // create instance
@@ -421,6 +496,46 @@ public class SAX
     return result;
   }
 
+  /**
+   * processes the given instance (may change the provided instance) and
+   * returns the modified version.
+   *
+   * @param instance    the instance to process
+   * @return            the modified data
+   * @throws Exception  in case the processing goes wrong
+   */
+  protected Instance process(Instance instance) throws Exception {
+    return toInstance(instance, adams.data.utils.SAXUtils.toSAX(toRow(instance), getWindows(), getBreakPoints()));
+  }
+
+  /**
+   * Processes the given data (may change the provided dataset) and returns
+   * the modified version. The labels of all rows get calculated in one go,
+   * using the specified number of threads.
+   *
+   * @param instances   the data to process
+   * @return            the modified data
+   * @throws Exception  in case the processing goes wrong
+   */
+  @Override
+  protected Instances process(Instances instances) throws Exception {
+    Instances	result;
+    double[][]	rows;
+    double[][]	sax;
+    int		i;
+
+    rows = new double[instances.numInstances()][];
+    for (i = 0; i < instances.numInstances(); i++)
+      rows[i] = toRow(instances.instance(i));
+    sax = BatchKernels.toSAX(rows, getWindows(), getBreakPoints(), m_NumThreads);
+
+    result = new Instances(getOutputFormat(), instances.numInstances());
+    for (i = 0; i < instances.numInstances(); i++)
+      result.add(toInstance(instances.instance(i), sax[i]));
+
+    return result;
+  }
+
   /**
    * Returns the revision string.
    *
@@ -15,11 +15,15 @@
 
 /**
  * AbstractAdamsClassifierTest.java
- * Copyright (C) 2011-2016 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2011-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package weka.classifiers;
 
+import weka.core.Attribute;
+import weka.core.BatchPredictor;
+import weka.core.Instances;
+import weka.core.TestInstances;
 import weka.test.AdamsTestHelper;
 import adams.env.Environment;
 
@@ -75,4 +79,53 @@ public abstract class AbstractAdamsClassifierTest
 
     return result;
   }
+
+  /**
+   * Generates a regression dataset with numeric attributes only.
+   *
+   * @param numInstances	the number of rows
+   * @param numNumeric		the number of numeric attributes
+   * @return			the dataset
+   * @throws Exception		if generation fails
+   */
+  protected Instances generateRegressionData(int numInstances, int numNumeric) throws Exception {
+    TestInstances	test;
+
+    test = new TestInstances();
+    test.setSeed(42);
+    test.setNumInstances(numInstances);
+    test.setNumNominal(0);
+    test.setNumNumeric(numNumeric);
+    test.setClassType(Attribute.NUMERIC);
+    return test.generate();
+  }
+
+  /**
+   * Trains both classifiers on the data and checks that they make the same
+   * predictions, single and batch ones.
+   *
+   * @param msg		the message prefix
+   * @param expected	the classifier generating the expected predictions
+   * @param actual	the classifier generating the actual predictions
+   * @param data	the data to train and predict with
+   * @throws Exception	if training or prediction fails
+   */
+  protected void assertSamePredictions(String msg, Classifier expected, Classifier actual, Instances data) throws Exception {
+    double[][]	distExpected;
+    double[][]	distActual;
+    int		i;
+
+    expected.buildClassifier(data);
+    actual.buildClassifier(data);
+    for (i = 0; i < data.numInstances(); i++)
+      assertEquals(msg + ": prediction " + i, expected.classifyInstance(data.instance(i)), actual.classifyInstance(data.instance(i)), 0.0);
+
+    if ((expected instanceof BatchPredictor) && (actual instanceof BatchPredictor)) {
+      distExpected = ((BatchPredictor) expected).distributionsForInstances(data);
+      distActual   = ((BatchPredictor) actual).distributionsForInstances(data);
+      assertEquals(msg + ": #batch predictions", distExpected.length, distActual.length);
+      for (i = 0; i < distExpected.length; i++)
+	assertEquals(msg + ": batch prediction " + i, distExpected[i][0], distActual[i][0], 0.0);
+    }
+  }
 }
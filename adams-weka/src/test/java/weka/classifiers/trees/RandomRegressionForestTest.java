@@ -14,7 +14,7 @@
  */
 
 /*
- * Copyright (C) 2009-2013 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2009-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package weka.classifiers.trees;
@@ -25,6 +25,7 @@ import junit.textui.TestRunner;
 import weka.classifiers.AbstractAdamsClassifierTest;
 import weka.classifiers.Classifier;
 import weka.classifiers.rules.ZeroR;
+import weka.core.Instances;
 
 /**
  * Tests RandomRegressionForest. Run from the command line with:<br><br>
@@ -57,6 +58,38 @@ public class RandomRegressionForestTest
     return new ZeroR();
   }
 
+  /**
+   * Returns a RandomRegressionForest with a small number of trees.
+   *
+   * @param numThreads	the number of threads to use
+   * @return		the classifier
+   */
+  protected RandomRegressionForest newForest(int numThreads) {
+    RandomRegressionForest	result;
+
+    result = new RandomRegressionForest();
+    result.setSeed(1);
+    result.setNumIterations(5);
+    result.setNumThreads(numThreads);
+    result.setPLS(3);
+
+    return result;
+  }
+
+  /**
+   * Tests whether the forest is the same for a fixed seed, regardless of
+   * the number of threads.
+   *
+   * @throws Exception	if test fails
+   */
+  public void testNumThreads() throws Exception {
+    Instances	data;
+
+    data = generateRegressionData(100, 5);
+    assertSamePredictions("1 vs 4 threads", newForest(1), newForest(4), data);
+    assertSamePredictions("1 vs all threads", newForest(1), newForest(0), data);
+  }
+
   /**
    * Returns the test suite.
    *
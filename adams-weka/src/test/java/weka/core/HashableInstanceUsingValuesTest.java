@@ -0,0 +1,122 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package weka.core;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import junit.textui.TestRunner;
+import weka.test.AdamsTestHelper;
+
+/**
+ * Tests HashableInstanceUsingValues. Run from the command line with:<br><br>
+ * java weka.core.HashableInstanceUsingValuesTest
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ * @version $Revision$
+ */
+public class HashableInstanceUsingValuesTest
+  extends AbstractHashableInstanceTestCase {
+
+  /**
+   * Constructs the <code>HashableInstanceUsingValuesTest</code>.
+   *
+   * @param name 	the name of the test
+   */
+  public HashableInstanceUsingValuesTest(String name) {
+    super(name);
+  }
+  
+  /**
+   * Wraps the instance.
+   * 
+   * @param data	the instance to wrap
+   * @param exclClass	whether to exclude the class
+   * @param exclWeight	whether to exclude the weight
+   * @return		the wrapped instance
+   */
+  @Override
+  protected HashableInstanceUsingValues wrap(Instance data, boolean exclClass, boolean exclWeight) {
+    HashableInstanceUsingValues	result;
+    
+    result = new HashableInstanceUsingValues(data);
+    result.setExcludeClass(exclClass);
+    result.setExcludeWeight(exclWeight);
+    
+    return result;
+  }
+
+  /**
+   * Tests the 128-bit hashes and the duplicate removal.
+   */
+  public void testRemoveDuplicates() {
+    TestInstances	test;
+    Instances		data;
+    Instances		doubled;
+    Instances		dedup;
+    Instances		joined;
+    int			i;
+
+    test = new TestInstances();
+    test.setNumInstances(20);
+    test.setNumNominal(0);
+    test.setNumNumeric(5);
+    try {
+      data = test.generate();
+    }
+    catch (Exception e) {
+      e.printStackTrace();
+      fail("Failed to generate test data: " + e);
+      data = null;
+    }
+
+    doubled = new Instances(data);
+    for (i = 0; i < data.numInstances(); i++)
+      doubled.add(new SparseInstance(data.instance(i)));
+
+    for (i = 0; i < data.numInstances(); i++)
+      assertTrue("128-bit equals", HashableInstanceHelper.wrap(data.instance(i), false, false, true).equals(HashableInstanceHelper.wrap(doubled.instance(i + data.numInstances()), false, false, true)));
+
+    dedup = HashableInstanceHelper.removeDuplicates(doubled, false, false, false);
+    assertEquals("number of instances (64-bit)", data.numInstances(), dedup.numInstances());
+    dedup = HashableInstanceHelper.removeDuplicates(doubled, false, false, true);
+    assertEquals("number of instances (128-bit)", data.numInstances(), dedup.numInstances());
+    joined = HashableInstanceHelper.join(data, doubled, false, false, true);
+    assertEquals("number of instances (join)", data.numInstances(), joined.numInstances());
+  }
+
+  /**
+   * Returns a suite for this test.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(HashableInstanceUsingValuesTest.class);
+  }
+
+  /**
+   * Runs the test from the command-line.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    AdamsTestHelper.setRegressionRoot();
+    TestRunner.run(suite());
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package weka.core;
+
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import junit.textui.TestRunner;
+import weka.test.AdamsTestHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests InstancesRingBuffer. Run from the command line with:<br><br>
+ * java weka.core.InstancesRingBufferTest
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class InstancesRingBufferTest
+  extends AdamsTestCase {
+
+  static {
+    AdamsTestHelper.setRegressionRoot();
+  }
+
+  /**
+   * Constructs the <code>InstancesRingBufferTest</code>.
+   *
+   * @param name 	the name of the test
+   */
+  public InstancesRingBufferTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Called by JUnit before each test method.
+   *
+   * @throws Exception if an error occurs
+   */
+  @Override
+  protected void setUp() throws Exception {
+    Environment.setEnvironmentClass(adams.env.Environment.class);
+
+    super.setUp();
+  }
+
+  /**
+   * Generates a simple numeric header.
+   *
+   * @return		the header
+   */
+  protected Instances newHeader() {
+    ArrayList<Attribute>	atts;
+
+    atts = new ArrayList<>();
+    atts.add(new Attribute("a"));
+    atts.add(new Attribute("b"));
+    return new Instances("test", atts, 0);
+  }
+
+  /**
+   * Tests the ring-buffer semantics.
+   */
+  public void testWindow() {
+    InstancesRingBuffer	buffer;
+    Instances		window;
+    Instances		copy;
+    int			i;
+
+    buffer = new InstancesRingBuffer(newHeader(), 3);
+    for (i = 0; i < 5; i++)
+      buffer.add(new DenseInstance(1.0, new double[]{i, i * 10}));
+
+    assertTrue("full", buffer.isFull());
+    assertEquals("size", 3, buffer.size());
+    assertEquals("added", 5, buffer.getTotalAdded());
+
+    window = buffer.window();
+    copy   = buffer.windowCopy();
+    assertEquals("view size", 3, window.numInstances());
+    assertEquals("copy size", 3, copy.numInstances());
+    for (i = 0; i < 3; i++) {
+      assertEquals("view value", (double) (i + 2), window.instance(i).value(0));
+      assertEquals("copy value", (double) (i + 2) * 10, copy.instance(i).value(1));
+    }
+
+    // sparse instances get stored densely
+    buffer.add(new SparseInstance(2.0, new double[]{0, 7}));
+    assertEquals("last value", 7.0, buffer.get(2).value(1));
+    assertEquals("last weight", 2.0, buffer.get(2).weight());
+    assertEquals("copy unchanged", 4.0, copy.instance(2).value(0));
+
+    buffer.clear();
+    assertEquals("cleared", 0, buffer.size());
+  }
+
+  /**
+   * Tests that the instances of the slots get re-used.
+   */
+  public void testReuse() {
+    InstancesRingBuffer	buffer;
+    Instance		slot;
+    int			i;
+
+    buffer = new InstancesRingBuffer(newHeader(), 3);
+    for (i = 0; i < 3; i++)
+      buffer.add(new DenseInstance(1.0, new double[]{i, i * 10}));
+    slot = buffer.get(0);
+    for (i = 3; i < 6; i++)
+      buffer.add(new DenseInstance(3.0, new double[]{i, i * 10}));
+    assertSame("same instance", slot, buffer.get(0));
+    assertEquals("value", 3.0, slot.value(0));
+    assertEquals("weight", 3.0, slot.weight());
+  }
+
+  /**
+   * Tests that string values get added to the header and that the pool
+   * gets pruned.
+   */
+  public void testStringPool() {
+    ArrayList<Attribute>	atts;
+    Instances			source;
+    InstancesRingBuffer		buffer;
+    Instances			copy;
+    Instance			inst;
+    int				i;
+
+    atts = new ArrayList<>();
+    atts.add(new Attribute("a"));
+    atts.add(new Attribute("s", (List<String>) null));
+    source = new Instances("source", atts, 0);
+
+    buffer = new InstancesRingBuffer(source, 3);
+    copy   = null;
+    for (i = 0; i < 100; i++) {
+      inst = new DenseInstance(1.0, new double[]{i, source.attribute(1).addStringValue("v" + i)});
+      inst.setDataset(source);
+      buffer.add(inst);
+      if (i == 50)
+	copy = buffer.windowCopy();
+      assertTrue("pool size at #" + i, buffer.getHeader().attribute(1).numValues() <= 2 * 3);
+    }
+
+    for (i = 0; i < 3; i++) {
+      assertEquals("value", 97.0 + i, buffer.get(i).value(0));
+      assertEquals("string", "v" + (97 + i), buffer.get(i).stringValue(1));
+      assertEquals("string in copy", "v" + (97 + i), buffer.windowCopy().instance(i).stringValue(1));
+    }
+    for (i = 0; i < 3; i++)
+      assertEquals("earlier copy", "v" + (48 + i), copy.instance(i).stringValue(1));
+
+    // missing values
+    inst = new DenseInstance(1.0, new double[]{100, Utils.missingValue()});
+    inst.setDataset(source);
+    buffer.add(inst);
+    assertTrue("missing", buffer.get(2).isMissing(1));
+  }
+
+  /**
+   * Tests serializing a buffer (no default constructor available).
+   */
+  @Override
+  public void testSerializable() {
+    InstancesRingBuffer	buffer;
+    SerializedObject	obj;
+
+    buffer = new InstancesRingBuffer(newHeader(), 2);
+    buffer.add(new DenseInstance(1.0, new double[]{1, 2}));
+    try {
+      obj = new SerializedObject(buffer);
+      buffer = (InstancesRingBuffer) obj.getObject();
+      assertEquals("size", 1, buffer.size());
+    }
+    catch (Exception e) {
+      e.printStackTrace();
+      fail("Failed to serialize buffer: " + e);
+    }
+  }
+
+  /**
+   * Returns a suite for this test.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(InstancesRingBufferTest.class);
+  }
+
+  /**
+   * Runs the test from the command-line.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    AdamsTestHelper.setRegressionRoot();
+    TestRunner.run(suite());
+  }
+}
@@ -14,13 +14,21 @@
  */
 
 /*
- * Copyright (C) 2017 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2017-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package weka.core.converters;
 
 import junit.framework.Test;
 import junit.framework.TestSuite;
+import weka.core.Attribute;
+import weka.core.Instance;
+import weka.core.Instances;
+import weka.core.TestInstances;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
 
 /**
  * Tests SimpleArffLoader/SimpleArffSaver. Run from the command line with:<br><br>
@@ -68,6 +76,220 @@ public class SimpleArffTest
   public void testLoaderWithStream() {
   }
 
+  /**
+   * Generates a dataset.
+   *
+   * @param numString	the number of string attributes
+   * @return		the dataset
+   * @throws Exception	if generation fails
+   */
+  protected Instances generate(int numString) throws Exception {
+    TestInstances	test;
+
+    test = new TestInstances();
+    test.setSeed(42);
+    test.setNumInstances(1000);
+    test.setNumNominal(2);
+    test.setNumNumeric(3);
+    test.setNumString(numString);
+    test.setNumDate(0);
+    test.setNumRelational(0);
+    test.setClassType(Attribute.NOMINAL);
+    return test.generate();
+  }
+
+  /**
+   * Returns a temp file with the specified name.
+   *
+   * @param name	the name of the file
+   * @return		the file
+   */
+  protected File tempFile(String name) {
+    File	result;
+
+    result = new File(System.getProperty("java.io.tmpdir") + File.separator + "simplearff-" + name);
+    result.deleteOnExit();
+
+    return result;
+  }
+
+  /**
+   * Saves the data in batch mode.
+   *
+   * @param data	the data to save
+   * @param file	the file to save to
+   * @param numThreads	the number of threads to use
+   * @throws Exception	if saving fails
+   */
+  protected void save(Instances data, File file, int numThreads) throws Exception {
+    SimpleArffSaver	saver;
+
+    saver = new SimpleArffSaver();
+    saver.setNumThreads(numThreads);
+    saver.setBlockSize(37);
+    saver.setDestination(file);
+    saver.setInstances(data);
+    saver.writeBatch();
+  }
+
+  /**
+   * Loads the data in batch mode.
+   *
+   * @param file	the file to load
+   * @param numThreads	the number of threads to use
+   * @return		the data
+   * @throws Exception	if loading fails
+   */
+  protected Instances load(File file, int numThreads) throws Exception {
+    SimpleArffLoader	loader;
+
+    loader = new SimpleArffLoader();
+    loader.setNumThreads(numThreads);
+    loader.setChunkSize(41);
+    loader.setFile(file);
+    return loader.getDataSet();
+  }
+
+  /**
+   * Compares the two datasets.
+   *
+   * @param msg		the message prefix
+   * @param expected	the expected data
+   * @param actual	the actual data
+   */
+  protected void assertData(String msg, Instances expected, Instances actual) {
+    int		i;
+
+    assertNotNull(msg + ": no data", actual);
+    assertNull(msg + ": headers differ", expected.equalHeadersMsg(actual));
+    assertEquals(msg + ": #rows", expected.numInstances(), actual.numInstances());
+    for (i = 0; i < expected.numInstances(); i++)
+      assertEquals(msg + ": row " + i, expected.instance(i).toString(), actual.instance(i).toString());
+  }
+
+  /**
+   * Tests saving and loading the data, sequentially and in parallel.
+   *
+   * @throws Exception	if test fails
+   */
+  public void testRoundTrip() throws Exception {
+    Instances	data;
+    Instances	loaded;
+    File	file;
+    File	fileParallel;
+
+    for (int numString: new int[]{0, 1}) {
+      data         = generate(numString);
+      file         = tempFile(numString + "-seq.arff");
+      fileParallel = tempFile(numString + "-par.arff");
+      save(data, file, 1);
+      save(data, fileParallel, 4);
+      assertTrue(
+	"sequential and parallel output differ (#string=" + numString + ")",
+	Arrays.equals(Files.readAllBytes(file.toPath()), Files.readAllBytes(fileParallel.toPath())));
+
+      loaded = load(file, 1);
+      assertData("sequential (#string=" + numString + ")", data, loaded);
+      assertData("parallel (#string=" + numString + ")", loaded, load(file, 4));
+      assertData("auto (#string=" + numString + ")", loaded, load(file, 0));
+    }
+  }
+
+  /**
+   * Tests the compressed formats against plain text.
+   *
+   * @throws Exception	if test fails
+   */
+  public void testCompression() throws Exception {
+    Instances	data;
+    Instances	plain;
+    File	file;
+
+    data  = generate(1);
+    file  = tempFile("plain.arff");
+    save(data, file, 1);
+    plain = load(file, 1);
+
+    file = tempFile("compressed.arff.gz");
+    save(data, file, 4);
+    assertData("gzip", plain, load(file, 4));
+
+    // zstd is only available if adams-compress is on the classpath
+    try {
+      Class.forName(SimpleArffStreams.ZSTD_INPUT);
+    }
+    catch (Exception e) {
+      return;
+    }
+    file = tempFile("compressed.arff" + SimpleArffStreams.EXT_ZSTD);
+    save(data, file, 4);
+    assertData("zstd", plain, load(file, 4));
+  }
+
+  /**
+   * Tests incremental loading and saving against batch mode.
+   *
+   * @throws Exception	if test fails
+   */
+  public void testIncremental() throws Exception {
+    Instances		data;
+    Instances		structure;
+    Instances		loaded;
+    Instance		inst;
+    SimpleArffLoader	loader;
+    SimpleArffSaver	saver;
+    File		file;
+    File		fileInc;
+    int			i;
+
+    data = generate(1);
+    file = tempFile("batch.arff");
+    save(data, file, 1);
+
+    // loading
+    loader = new SimpleArffLoader();
+    loader.setFile(file);
+    structure = loader.getStructure();
+    loaded    = new Instances(structure, 0);
+    while ((inst = loader.getNextInstance(structure)) != null)
+      loaded.add(inst);
+    assertData("incremental loading", load(file, 1), loaded);
+
+    // saving
+    fileInc = tempFile("incremental.arff");
+    saver   = new SimpleArffSaver();
+    saver.setRetrieval(AbstractSaver.INCREMENTAL);
+    saver.setDestination(fileInc);
+    saver.setInstances(new Instances(data, 0));
+    for (i = 0; i < data.numInstances(); i++)
+      saver.writeIncremental(data.instance(i));
+    saver.writeIncremental(null);
+    assertTrue(
+      "incremental and batch output differ",
+      Arrays.equals(Files.readAllBytes(file.toPath()), Files.readAllBytes(fileInc.toPath())));
+  }
+
+  /**
+   * Tests whether the dataset can be retrieved repeatedly.
+   *
+   * @throws Exception	if test fails
+   */
+  public void testRepeatedGetDataSet() throws Exception {
+    SimpleArffLoader	loader;
+    Instances		first;
+    File		file;
+
+    file = tempFile("repeated.arff");
+    save(generate(0), file, 1);
+
+    loader = new SimpleArffLoader();
+    loader.setNumThreads(4);
+    loader.setFile(file);
+    first = loader.getDataSet();
+    assertNotNull("first call", first);
+    assertData("second call", first, loader.getDataSet());
+  }
+
   /**
    * returns a test suite
    * 
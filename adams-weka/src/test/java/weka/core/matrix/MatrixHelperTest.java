@@ -0,0 +1,214 @@
+/*
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Copyright (C) 2026 University of Waikato, Hamilton, NZ
+ */
+
+package weka.core.matrix;
+
+import adams.env.Environment;
+import adams.test.AdamsTestCase;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import junit.textui.TestRunner;
+import weka.test.AdamsTestHelper;
+
+import java.util.Random;
+
+/**
+ * Tests the kernels of MatrixHelper against the plain Matrix operations.
+ * The kernels use the same summation order, hence the results have to be
+ * identical. Run from the command line with:<br><br>
+ * java weka.core.matrix.MatrixHelperTest
+ *
+ * @author FracPete (fracpete at waikato dot ac dot nz)
+ */
+public class MatrixHelperTest
+  extends AdamsTestCase {
+
+  static {
+    AdamsTestHelper.setRegressionRoot();
+  }
+
+  /**
+   * Constructs the <code>MatrixHelperTest</code>.
+   *
+   * @param name 	the name of the test
+   */
+  public MatrixHelperTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Called by JUnit before each test method.
+   *
+   * @throws Exception if an error occurs
+   */
+  @Override
+  protected void setUp() throws Exception {
+    Environment.setEnvironmentClass(adams.env.Environment.class);
+
+    super.setUp();
+  }
+
+  /**
+   * Generates a random matrix.
+   *
+   * @param rows	the number of rows
+   * @param cols	the number of columns
+   * @param seed	the seed for the random number generator
+   * @return		the matrix
+   */
+  protected Matrix generate(int rows, int cols, long seed) {
+    Matrix	result;
+    Random	rnd;
+    int		i;
+    int		j;
+
+    rnd    = new Random(seed);
+    result = new Matrix(rows, cols);
+    for (i = 0; i < rows; i++) {
+      for (j = 0; j < cols; j++)
+	result.set(i, j, rnd.nextGaussian() * 10.0);
+    }
+
+    return result;
+  }
+
+  /**
+   * Compares the two matrices, cell by cell, without tolerance.
+   *
+   * @param msg		the message prefix
+   * @param expected	the expected matrix
+   * @param actual	the actual matrix
+   */
+  protected void assertMatrix(String msg, Matrix expected, Matrix actual) {
+    int		i;
+    int		j;
+
+    assertEquals(msg + ": rows", expected.getRowDimension(), actual.getRowDimension());
+    assertEquals(msg + ": columns", expected.getColumnDimension(), actual.getColumnDimension());
+    for (i = 0; i < expected.getRowDimension(); i++) {
+      for (j = 0; j < expected.getColumnDimension(); j++)
+	assertEquals(msg + ": [" + i + "," + j + "]", expected.get(i, j), actual.get(i, j), 0.0);
+    }
+  }
+
+  /**
+   * Tests the cross-product X'*X.
+   */
+  public void testCrossProduct() {
+    Matrix	X;
+
+    // sequential
+    X = generate(7, 5, 1);
+    assertMatrix("7x5", X.transpose().times(X), MatrixHelper.crossProduct(X));
+
+    // parallel, spans several blocks
+    X = generate(300, 200, 2);
+    assertMatrix("300x200", X.transpose().times(X), MatrixHelper.crossProduct(X));
+  }
+
+  /**
+   * Tests the product A'*B.
+   */
+  public void testTransposeTimes() {
+    Matrix	A;
+    Matrix	B;
+
+    // sequential
+    A = generate(7, 5, 3);
+    B = generate(7, 1, 4);
+    assertMatrix("7x5/7x1", A.transpose().times(B), MatrixHelper.transposeTimes(A, B));
+
+    // parallel, spans several blocks
+    A = generate(300, 200, 5);
+    B = generate(300, 50, 6);
+    assertMatrix("300x200/300x50", A.transpose().times(B), MatrixHelper.transposeTimes(A, B));
+
+    // inner dimensions differ
+    try {
+      MatrixHelper.transposeTimes(generate(3, 2, 7), generate(4, 2, 8));
+      fail("Inner dimensions differ, but no exception thrown!");
+    }
+    catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  /**
+   * Tests the quadratic form w'*M*w.
+   */
+  public void testQuadraticForm() {
+    Matrix	M;
+    Matrix	w;
+    double[]	buffer;
+
+    M = generate(50, 50, 9);
+    w = generate(50, 1, 10);
+    assertEquals("no buffer", w.transpose().times(M).times(w).get(0, 0), MatrixHelper.quadraticForm(M, w, null), 0.0);
+
+    // the buffer gets re-initialized
+    buffer = new double[50];
+    MatrixHelper.quadraticForm(M, generate(50, 1, 11), buffer);
+    assertEquals("reused buffer", w.transpose().times(M).times(w).get(0, 0), MatrixHelper.quadraticForm(M, w, buffer), 0.0);
+  }
+
+  /**
+   * Tests the in-place rank-1 update M - u*v'.
+   */
+  public void testMinusOuterInPlace() {
+    Matrix	M;
+    Matrix	u;
+    Matrix	v;
+    Matrix	expected;
+
+    // sequential
+    M = generate(7, 5, 12);
+    u = generate(7, 1, 13);
+    v = generate(5, 1, 14);
+    expected = M.minus(u.times(v.transpose()));
+    MatrixHelper.minusOuterInPlace(M, u, v);
+    assertMatrix("7x5", expected, M);
+
+    // parallel, spans several blocks
+    M = generate(1200, 1000, 15);
+    u = generate(1200, 1, 16);
+    v = generate(1000, 1, 17);
+    expected = M.minus(u.times(v.transpose()));
+    MatrixHelper.minusOuterInPlace(M, u, v);
+    assertMatrix("1200x1000", expected, M);
+  }
+
+  /**
+   * Returns a suite for this test.
+   *
+   * @return		the test suite
+   */
+  public static Test suite() {
+    return new TestSuite(MatrixHelperTest.class);
+  }
+
+  /**
+   * Runs the test from the command-line.
+   *
+   * @param args	ignored
+   */
+  public static void main(String[] args) {
+    AdamsTestHelper.setRegressionRoot();
+    TestRunner.run(suite());
+  }
+}
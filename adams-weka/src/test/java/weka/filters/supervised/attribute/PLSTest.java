@@ -14,7 +14,7 @@
  */
 
 /*
- * Copyright (C) 2006-2013 University of Waikato, Hamilton, New Zealand
+ * Copyright (C) 2006-2026 University of Waikato, Hamilton, New Zealand
  */
 
 package weka.filters.supervised.attribute;
@@ -24,6 +24,8 @@ import junit.framework.TestSuite;
 import weka.core.Attribute;
 import weka.core.Instances;
 import weka.core.TestInstances;
+import weka.core.matrix.Matrix;
+import weka.core.matrix.MatrixHelper;
 import weka.filters.AbstractAdamsFilterTest;
 import weka.filters.Filter;
 import adams.data.instancesanalysis.pls.AbstractPLS;
@@ -151,6 +153,172 @@ public class PLSTest
     performTest(new SIMPLS());
   }
 
+  /**
+   * Compares the two matrices, cell by cell, without tolerance.
+   *
+   * @param msg		the message prefix
+   * @param expected	the expected matrix
+   * @param actual	the actual matrix
+   */
+  protected void assertMatrix(String msg, Matrix expected, Matrix actual) {
+    assertNotNull(msg + ": matrix", actual);
+    assertEquals(msg + ": rows", expected.getRowDimension(), actual.getRowDimension());
+    assertEquals(msg + ": columns", expected.getColumnDimension(), actual.getColumnDimension());
+    for (int i = 0; i < expected.getRowDimension(); i++) {
+      for (int j = 0; j < expected.getColumnDimension(); j++)
+	assertEquals(msg + ": [" + i + "," + j + "]", expected.get(i, j), actual.get(i, j), 0.0);
+    }
+  }
+
+  /**
+   * Computes the PLS1 matrices W, P, b_hat and r_hat using plain matrix
+   * operations, i.e., the way PLS1 computed them before the kernels of
+   * {@link MatrixHelper} were used.
+   *
+   * @param data	the data to use
+   * @param numComponents	the number of components
+   * @return		the matrices W, P, b_hat and r_hat
+   */
+  protected Matrix[] referencePLS1(Instances data, int numComponents) {
+    Matrix X, X_trans;
+    Matrix y;
+    Matrix W, w;
+    Matrix t, t_trans;
+    Matrix P, p;
+    Matrix b_hat;
+    double b;
+    int j;
+
+    X = MatrixHelper.getX(data);
+    y = MatrixHelper.getY(data);
+    X_trans = X.transpose();
+    W = new Matrix(data.numAttributes() - 1, numComponents);
+    P = new Matrix(data.numAttributes() - 1, numComponents);
+    b_hat = new Matrix(numComponents, 1);
+
+    for (j = 0; j < numComponents; j++) {
+      w = X_trans.times(y);
+      MatrixHelper.normalizeVector(w);
+      MatrixHelper.setVector(w, W, j);
+      t = X.times(w);
+      t_trans = t.transpose();
+      b = t_trans.times(y).get(0, 0) / t_trans.times(t).get(0, 0);
+      b_hat.set(j, 0, b);
+      p = X_trans.times(t).times(1 / t_trans.times(t).get(0, 0));
+      MatrixHelper.setVector(p, P, j);
+      X = X.minus(t.times(p.transpose()));
+      y = y.minus(t.times(b));
+    }
+
+    return new Matrix[]{
+      W,
+      P,
+      b_hat,
+      W.times(((P.transpose()).times(W)).inverse()).times(b_hat),
+    };
+  }
+
+  /**
+   * Computes the SIMPLS matrices W and B using plain matrix operations,
+   * i.e., the way SIMPLS computed them before the kernels of
+   * {@link MatrixHelper} were used.
+   *
+   * @param data	the data to use
+   * @param numComponents	the number of components
+   * @return		the matrices W and B
+   */
+  protected Matrix[] referenceSIMPLS(Instances data, int numComponents) {
+    Matrix A, A_trans;
+    Matrix M;
+    Matrix X, X_trans;
+    Matrix Y;
+    Matrix C, c;
+    Matrix Q, q;
+    Matrix W, w;
+    Matrix P, p, p_trans;
+    Matrix v, v_trans;
+    int h;
+
+    X = MatrixHelper.getX(data);
+    X_trans = X.transpose();
+    Y = MatrixHelper.getY(data);
+    A = X_trans.times(Y);
+    M = X_trans.times(X);
+    C = Matrix.identity(data.numAttributes() - 1, data.numAttributes() - 1);
+    W = new Matrix(data.numAttributes() - 1, numComponents);
+    P = new Matrix(data.numAttributes() - 1, numComponents);
+    Q = new Matrix(1, numComponents);
+
+    for (h = 0; h < numComponents; h++) {
+      A_trans = A.transpose();
+      q = MatrixHelper.getDominantEigenVector(A_trans.times(A));
+      w = A.times(q);
+      c = w.transpose().times(M).times(w);
+      w = w.times(1.0 / StrictMath.sqrt(c.get(0, 0)));
+      MatrixHelper.setVector(w, W, h);
+      p = M.times(w);
+      p_trans = p.transpose();
+      MatrixHelper.setVector(p, P, h);
+      q = A_trans.times(w);
+      MatrixHelper.setVector(q, Q, h);
+      v = C.times(p);
+      MatrixHelper.normalizeVector(v);
+      v_trans = v.transpose();
+      C = C.minus(v.times(v_trans));
+      M = M.minus(p.times(p_trans));
+      A = C.times(A);
+    }
+
+    return new Matrix[]{
+      W,
+      W.times(Q.transpose()),
+    };
+  }
+
+  /**
+   * Tests that PLS1 produces the same matrices as the plain matrix
+   * operations.
+   *
+   * @throws Exception	if transformation fails
+   */
+  public void testPLS1Unchanged() throws Exception {
+    PLS1	algorithm;
+    Matrix[]	expected;
+
+    algorithm = new PLS1();
+    algorithm.setNumComponents(NUM_ATTS);
+    algorithm.setReplaceMissing(false);
+    algorithm.setPreprocessingType(PreprocessingType.NONE);
+    algorithm.transform(new Instances(m_Instances));
+
+    expected = referencePLS1(m_Instances, NUM_ATTS);
+    assertMatrix("W", expected[0], algorithm.getMatrix("W"));
+    assertMatrix("P", expected[1], algorithm.getMatrix("P"));
+    assertMatrix("b_hat", expected[2], algorithm.getMatrix("b_hat"));
+    assertMatrix("RegVector", expected[3], algorithm.getMatrix("RegVector"));
+  }
+
+  /**
+   * Tests that SIMPLS produces the same matrices as the plain matrix
+   * operations.
+   *
+   * @throws Exception	if transformation fails
+   */
+  public void testSIMPLSUnchanged() throws Exception {
+    SIMPLS	algorithm;
+    Matrix[]	expected;
+
+    algorithm = new SIMPLS();
+    algorithm.setNumComponents(NUM_ATTS);
+    algorithm.setReplaceMissing(false);
+    algorithm.setPreprocessingType(PreprocessingType.NONE);
+    algorithm.transform(new Instances(m_Instances));
+
+    expected = referenceSIMPLS(m_Instances, NUM_ATTS);
+    assertMatrix("W", expected[0], algorithm.getMatrix("W"));
+    assertMatrix("B", expected[1], algorithm.getMatrix("B"));
+  }
+
   public static Test suite() {
     return new TestSuite(PLSTest.class);
   }